@@ -359,8 +359,10 @@ public enum Builtins {
 	COUNT_DISTINCT_APPROX_ROW("rowCountDistinctApprox", false, true),
 	COUNT_DISTINCT_APPROX_COL("colCountDistinctApprox", false, true),
 	CVLM("cvlm", true, false),
+	GROUPBY("groupby", false, true),
 	GROUPEDAGG("aggregate", "groupedAggregate", false, true),
 	INVCDF("icdf", false, true),
+	JOIN("join", false, true),
 	LISTNV("list", false, true), //note: builtin and parbuiltin
 	LOWER_TRI("lower.tri", false, true),
 	ORDER("order", false, true),
@@ -384,10 +386,12 @@ public enum Builtins {
 	TOKENIZE("tokenize", false, true),
 	TOSTRING("toString", false, true),
 	TRANSFORMAPPLY("transformapply", false, true),
+	TRANSFORMAPPLYFILE("transformapplyfile", false, true),
 	TRANSFORMCOLMAP("transformcolmap", false, true),
 	TRANSFORMDECODE("transformdecode", false, true),
 	TRANSFORMENCODE("transformencode", false, true),
 	TRANSFORMMETA("transformmeta", false, true),
+	TRANSFORMUPDATE("transformupdate", false, true),
 	UNDER_SAMPLING("underSampling", true),
 	UNIQUE("unique", false, true),
 	UPPER_TRI("upper.tri", false, true),
@@ -773,9 +773,9 @@ public interface Types {
 	
 	/** Parameterized operations that require named variable arguments */
 	public enum ParamBuiltinOp {
-		AUTODIFF, CDF, CONTAINS, INVALID, INVCDF, GROUPEDAGG, RMEMPTY, REPLACE, REXPAND,
+		AUTODIFF, CDF, CONTAINS, INVALID, INVCDF, GROUPBY, GROUPEDAGG, JOIN, RMEMPTY, REPLACE, REXPAND,
 		LOWER_TRI, UPPER_TRI,
-		TRANSFORMAPPLY, TRANSFORMDECODE, TRANSFORMCOLMAP, TRANSFORMMETA,
+		TRANSFORMAPPLY, TRANSFORMAPPLYFILE, TRANSFORMDECODE, TRANSFORMCOLMAP, TRANSFORMMETA,
 		TOKENIZE, TOSTRING, LIST, PARAMSERV
 	}
 	
@@ -841,6 +841,10 @@ public interface Types {
 		FEDERATED, // A federated matrix
 		PROTO,  // protocol buffer representation
 		HDF5,   // Hierarchical Data Format (HDF)
+		PARQUET, // Apache Parquet columnar representation
+		ARROW,  // Apache Arrow IPC file (Feather v2) representation
+		NATIVE, // native binary block representation for local file systems
+		COLUMNAR, // columnar binary frame representation with per-column encodings
 		UNKNOWN;
 		
 		public boolean isIJV() {
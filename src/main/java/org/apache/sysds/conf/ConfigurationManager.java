@@ -216,6 +216,10 @@ public class ConfigurationManager{
 		return getDMLConfig().getBooleanValue(DMLConfig.PARALLEL_ENCODE_STAGED);
 	}
 
+	public static boolean isCodegenTransformApply() {
+		return getDMLConfig().getBooleanValue(DMLConfig.PARALLEL_ENCODE_CODEGEN);
+	}
+
 	public static int getNumberTokenizeBlocks(){
 		return getDMLConfig().getIntValue(DMLConfig.PARALLEL_TOKENIZE_NUM_BLOCKS);
 	}
@@ -250,6 +254,14 @@ public class ConfigurationManager{
 		return compress.isEnabled();
 	}
 
+	public static boolean isCompressedIndexedIO(){
+		return getDMLConfig().getBooleanValue(DMLConfig.COMPRESSED_IO_INDEXED);
+	}
+
+	public static boolean isCompressedFrameRead(){
+		return getDMLConfig().getBooleanValue(DMLConfig.COMPRESSED_FRAME_READ);
+	}
+
 	public static CompressConfig getCompressConfig(){
 		return CompressConfig.valueOf(getDMLConfig().getTextValue(DMLConfig.COMPRESSED_LINALG).toUpperCase());
 	}
@@ -271,6 +283,11 @@ public class ConfigurationManager{
 			|| OptimizerUtils.ASYNC_PREFETCH);
 	}
 
+	public static boolean isAsyncWriteEnabled() {
+		return (getDMLConfig().getBooleanValue(DMLConfig.ASYNC_WRITE)
+			|| OptimizerUtils.ASYNC_WRITE);
+	}
+
 	public static boolean isMaxPrallelizeEnabled() {
 		return (getLinearizationOrder() == DagLinearizer.MAX_PARALLELIZE
 			|| OptimizerUtils.MAX_PARALLELIZE_ORDER);
@@ -76,18 +76,23 @@ public class DMLConfig
 	public static final String PARALLEL_ENCODE_APPLY_BLOCKS = "sysds.parallel.encode.applyBlocks";
 	public static final String PARALLEL_ENCODE_BUILD_BLOCKS = "sysds.parallel.encode.buildBlocks";
 	public static final String PARALLEL_ENCODE_NUM_THREADS  = "sysds.parallel.encode.numThreads";
+	public static final String PARALLEL_ENCODE_CODEGEN = "sysds.parallel.encode.codegen"; // boolean: generated, fused transformapply kernels
 	public static final String PARALLEL_TOKENIZE = "sysds.parallel.tokenize";
 	public static final String PARALLEL_TOKENIZE_NUM_BLOCKS = "sysds.parallel.tokenize.numBlocks";
 	public static final String COMPRESSED_LINALG    = "sysds.compressed.linalg";
 	public static final String COMPRESSED_LOSSY     = "sysds.compressed.lossy";
+	public static final String COMPRESSED_LOSSY_ERROR = "sysds.compressed.lossy.error";
+	public static final String COMPRESSED_IO_INDEXED = "sysds.compressed.io.indexed";
 	public static final String COMPRESSED_VALID_COMPRESSIONS = "sysds.compressed.valid.compressions";
 	public static final String COMPRESSED_OVERLAPPING = "sysds.compressed.overlapping"; 
 	public static final String COMPRESSED_SAMPLING_RATIO = "sysds.compressed.sampling.ratio"; 
 	public static final String COMPRESSED_SOFT_REFERENCE_COUNT = "sysds.compressed.softreferencecount"; 
 	public static final String COMPRESSED_COCODE    = "sysds.compressed.cocode"; 
+	public static final String COMPRESSED_COCODE_BUDGET = "sysds.compressed.cocode.budget";
 	public static final String COMPRESSED_COST_MODEL= "sysds.compressed.costmodel";
 	public static final String COMPRESSED_TRANSPOSE = "sysds.compressed.transpose";
 	public static final String COMPRESSED_TRANSFORMENCODE = "sysds.compressed.transformencode";
+	public static final String COMPRESSED_FRAME_READ = "sysds.compressed.frame.read";
 	public static final String NATIVE_BLAS          = "sysds.native.blas";
 	public static final String NATIVE_BLAS_DIR      = "sysds.native.blas.directory";
 	public static final String DAG_LINEARIZATION    = "sysds.compile.linearization";
@@ -135,6 +140,7 @@ public class DMLConfig
 	public static final String ASYNC_PREFETCH = "sysds.async.prefetch";  // boolean: enable asynchronous prefetching spark/gpu intermediates
 	public static final String ASYNC_SPARK_BROADCAST = "sysds.async.broadcast";  // boolean: enable asynchronous broadcasting CP intermediates
 	public static final String ASYNC_SPARK_CHECKPOINT = "sysds.async.checkpoint";  // boolean: enable compile-time persisting of Spark intermediates
+	public static final String ASYNC_WRITE = "sysds.async.write";  // boolean: enable asynchronous persistent writes of CP intermediates
 	//internal config
 	public static final String DEFAULT_SHARED_DIR_PERMISSION = "777"; //for local fs and DFS
 	
@@ -163,16 +169,21 @@ public class DMLConfig
 		_defaultVals.put(PARALLEL_ENCODE_APPLY_BLOCKS, "-1");
 		_defaultVals.put(PARALLEL_ENCODE_BUILD_BLOCKS, "-1");
 		_defaultVals.put(PARALLEL_ENCODE_NUM_THREADS, "-1");
+		_defaultVals.put(PARALLEL_ENCODE_CODEGEN, "false");
 		_defaultVals.put(COMPRESSED_LINALG,      Compression.CompressConfig.FALSE.name() );
 		_defaultVals.put(COMPRESSED_LOSSY,       "false" );
+		_defaultVals.put(COMPRESSED_LOSSY_ERROR, "0.01" );
+		_defaultVals.put(COMPRESSED_IO_INDEXED,  "false" );
 		_defaultVals.put(COMPRESSED_VALID_COMPRESSIONS, "SDC,DDC");
 		_defaultVals.put(COMPRESSED_OVERLAPPING, "true" );
 		_defaultVals.put(COMPRESSED_SAMPLING_RATIO, "0.01");
 		_defaultVals.put(COMPRESSED_SOFT_REFERENCE_COUNT, "true");
 		_defaultVals.put(COMPRESSED_COCODE,      "AUTO");
+		_defaultVals.put(COMPRESSED_COCODE_BUDGET, "-1");
 		_defaultVals.put(COMPRESSED_COST_MODEL,  "AUTO");
 		_defaultVals.put(COMPRESSED_TRANSPOSE,   "auto");
 		_defaultVals.put(COMPRESSED_TRANSFORMENCODE, "false");
+		_defaultVals.put(COMPRESSED_FRAME_READ, "false");
 		_defaultVals.put(DAG_LINEARIZATION,      DagLinearizer.DEPTH_FIRST.name());
 		_defaultVals.put(CODEGEN,                "false" );
 		_defaultVals.put(CODEGEN_API,            GeneratorAPI.JAVA.name() );
@@ -212,6 +223,7 @@ public class DMLConfig
 		_defaultVals.put(ASYNC_PREFETCH,   "false" );
 		_defaultVals.put(ASYNC_SPARK_BROADCAST,  "false" );
 		_defaultVals.put(ASYNC_SPARK_CHECKPOINT,  "false" );
+		_defaultVals.put(ASYNC_WRITE,  "false" );
 	}
 	
 	public DMLConfig() {
@@ -456,16 +468,17 @@ public class DMLConfig
 		String[] tmpConfig = new String[] { 
 			LOCAL_TMP_DIR,SCRATCH_SPACE,OPTIMIZATION_LEVEL, DEFAULT_BLOCK_SIZE,
 			CP_PARALLEL_OPS, CP_PARALLEL_IO, PARALLEL_ENCODE, NATIVE_BLAS, NATIVE_BLAS_DIR,
-			COMPRESSED_LINALG, COMPRESSED_LOSSY, COMPRESSED_VALID_COMPRESSIONS, COMPRESSED_OVERLAPPING,
-			COMPRESSED_SAMPLING_RATIO, COMPRESSED_SOFT_REFERENCE_COUNT,
-			COMPRESSED_COCODE, COMPRESSED_TRANSPOSE, COMPRESSED_TRANSFORMENCODE, DAG_LINEARIZATION,
+			COMPRESSED_LINALG, COMPRESSED_LOSSY, COMPRESSED_LOSSY_ERROR, COMPRESSED_VALID_COMPRESSIONS,
+			COMPRESSED_IO_INDEXED, COMPRESSED_OVERLAPPING, COMPRESSED_SAMPLING_RATIO, COMPRESSED_SOFT_REFERENCE_COUNT,
+			COMPRESSED_COCODE, COMPRESSED_COCODE_BUDGET, COMPRESSED_TRANSPOSE, COMPRESSED_TRANSFORMENCODE, COMPRESSED_FRAME_READ,
+			DAG_LINEARIZATION,
 			CODEGEN, CODEGEN_API, CODEGEN_COMPILER, CODEGEN_OPTIMIZER, CODEGEN_PLANCACHE, CODEGEN_LITERALS,
 			STATS_MAX_WRAP_LEN, LINEAGECACHESPILL, COMPILERASSISTED_RW, BUFFERPOOL_LIMIT, MEMORY_MANAGER,
 			PRINT_GPU_MEMORY_INFO, AVAILABLE_GPUS, SYNCHRONIZE_GPU, EAGER_CUDA_FREE, GPU_RULE_BASED_PLACEMENT,
 			FLOATING_POINT_PRECISION, GPU_EVICTION_POLICY, LOCAL_SPARK_NUM_THREADS, EVICTION_SHADOW_BUFFERSIZE,
 			GPU_MEMORY_ALLOCATOR, GPU_MEMORY_UTILIZATION_FACTOR, USE_SSL_FEDERATED_COMMUNICATION,
 			DEFAULT_FEDERATED_INITIALIZATION_TIMEOUT, FEDERATED_TIMEOUT, FEDERATED_MONITOR_FREQUENCY, FEDERATED_COMPRESSION,
-			ASYNC_PREFETCH, ASYNC_SPARK_BROADCAST, ASYNC_SPARK_CHECKPOINT, IO_COMPRESSION_CODEC
+			ASYNC_PREFETCH, ASYNC_SPARK_BROADCAST, ASYNC_SPARK_CHECKPOINT, ASYNC_WRITE, IO_COMPRESSION_CODEC
 		}; 
 		
 		StringBuilder sb = new StringBuilder();
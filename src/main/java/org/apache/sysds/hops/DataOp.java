@@ -41,6 +41,7 @@ import org.apache.sysds.parser.DataExpression;
 import static org.apache.sysds.parser.DataExpression.FED_RANGES;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
+import org.apache.sysds.runtime.util.IndexRange;
 import org.apache.sysds.runtime.util.LocalFileUtils;
 
 /**
@@ -57,6 +58,10 @@ public class DataOp extends Hop {
 	private long _inBlocksize = -1;
 	private boolean _hasOnlyRDD = false;
 	
+	//row/column range (0-based) and source characteristics of partial reads
+	private IndexRange _readRange = null;
+	private DataCharacteristics _readSourceDC = null;
+	
 	private boolean _recompileRead = true;
 
 	/**
@@ -255,6 +260,26 @@ public class DataOp extends Hop {
 		return _paramIndexMap.get(name);
 	}
 	
+	/**
+	 * Restricts a persistent read to the given row/column range of the source file,
+	 * where the output dimensions of this hop refer to the range.
+	 * 
+	 * @param ix row and column range (0-based, inclusive)
+	 * @param dc data characteristics of the source file
+	 */
+	public void setReadRange(IndexRange ix, DataCharacteristics dc) {
+		_readRange = ix;
+		_readSourceDC = dc;
+	}
+	
+	public IndexRange getReadRange() {
+		return _readRange;
+	}
+	
+	public boolean hasReadRange() {
+		return _readRange != null;
+	}
+	
 	public void setOnlyRDD(boolean flag) {
 		_hasOnlyRDD = flag;
 	}
@@ -297,6 +322,8 @@ public class DataOp extends Hop {
 				l = new Data(_op, null, inputLops, getName(), null, 
 						getDataType(), getValueType(), getFileFormat());
 				l.getOutputParameters().setDimensions(getDim1(), getDim2(), _inBlocksize, getNnz(), getUpdateType());
+				if( _readRange != null )
+					((Data)l).setReadRange(_readRange, _readSourceDC);
 				break;
 				
 			case PERSISTENTWRITE:
@@ -373,6 +400,8 @@ public class DataOp extends Hop {
 		String s = new String("");
 		s += _op.toString();
 		s += " "+getName();
+		if( _readRange != null )
+			s += " "+_readRange.add(1);
 		return s;
 	}
 
@@ -553,6 +582,8 @@ public class DataOp extends Hop {
 		ret._fileName = _fileName;
 		ret._inFormat = _inFormat;
 		ret._inBlocksize = _inBlocksize;
+		ret._readRange = _readRange;
+		ret._readSourceDC = _readSourceDC;
 		ret._recompileRead = _recompileRead;
 		ret._paramIndexMap = (HashMap<String, Integer>) _paramIndexMap.clone();
 		//note: no deep cp of params since read-only 
@@ -578,6 +609,7 @@ public class DataOp extends Hop {
 			&& _fileName.equals(that2._fileName)
 			&& _inFormat == that2._inFormat
 			&& _inBlocksize == that2._inBlocksize
+			&& isEqualReadRange(that2)
 			&& _paramIndexMap!=null && that2._paramIndexMap!=null );
 		
 		//above conditions also ensure consistency with regard to 
@@ -596,6 +628,15 @@ public class DataOp extends Hop {
 		return ret;
 	}
 
+	private boolean isEqualReadRange(DataOp that) {
+		if( _readRange == null || that._readRange == null )
+			return _readRange == that._readRange;
+		return _readRange.rowStart == that._readRange.rowStart
+			&& _readRange.rowEnd == that._readRange.rowEnd
+			&& _readRange.colStart == that._readRange.colStart
+			&& _readRange.colEnd == that._readRange.colEnd;
+	}
+
 	/**
 	 * Remove an input from the list of inputs and from the parameter index map.
 	 * Parameter index map values higher than the index of the removed input
@@ -208,6 +208,12 @@ public class OptimizerUtils
 	 */
 	public static boolean ALLOW_SPLIT_HOP_DAGS = true;
 	
+	/**
+	 * Enables a specific hop dag rewrite that pushes right indexing with constant bounds
+	 * into persistent reads in order to read only the requested rows and columns.
+	 */
+	public static boolean ALLOW_PUSHDOWN_READ_INDEXING = true;
+	
 	/**
 	 * Enables a specific rewrite that enables update in place for loop variables that are
 	 * only read/updated via cp leftindexing.
@@ -299,6 +305,13 @@ public class OptimizerUtils
 	public static boolean ASYNC_BROADCAST_SPARK = false;
 	public static boolean ASYNC_CHECKPOINT_SPARK = false;
 
+	/**
+	 * Enable asynchronous persistent writes, which return immediately and write the output in the
+	 * background. Subsequent reads or writes of the same file and the end of program execution
+	 * wait for pending writes.
+	 */
+	public static boolean ASYNC_WRITE = false;
+
 	/**
 	 * Heuristic-based instruction ordering to maximize inter-operator PARALLELISM.
 	 * Place the Spark operator chains first and trigger them to execute in parallel.
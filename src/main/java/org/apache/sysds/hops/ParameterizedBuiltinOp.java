@@ -158,7 +158,8 @@ public class ParameterizedBuiltinOp extends MultiThreadedHop {
 	public boolean isMultiThreadedOpType() {
 		return HopRewriteUtils.isValidOp(_op, 
 			ParamBuiltinOp.GROUPEDAGG, ParamBuiltinOp.REXPAND,
-			ParamBuiltinOp.PARAMSERV, ParamBuiltinOp.CONTAINS);
+			ParamBuiltinOp.PARAMSERV, ParamBuiltinOp.CONTAINS, ParamBuiltinOp.JOIN,
+			ParamBuiltinOp.GROUPBY);
 	}
 	
 	@Override
@@ -190,11 +191,14 @@ public class ParameterizedBuiltinOp extends MultiThreadedHop {
 			case CONTAINS:
 			case CDF:
 			case INVCDF: 
+			case GROUPBY:
+			case JOIN:
 			case REPLACE:
 			case LOWER_TRI:
 			case UPPER_TRI:
 			case TOKENIZE:
 			case TRANSFORMAPPLY:
+			case TRANSFORMAPPLYFILE:
 			case TRANSFORMDECODE:
 			case TRANSFORMCOLMAP:
 			case TRANSFORMMETA:
@@ -703,7 +707,7 @@ public class ParameterizedBuiltinOp extends MultiThreadedHop {
 		if( _op == ParamBuiltinOp.TRANSFORMAPPLY){
 			Hop spec = getParameterHop("spec");
 			if(spec instanceof LiteralOp && ((LiteralOp) spec).getStringValue().contains("word_embedding")
-				&& memo.hasInputStatistics(this)){
+				&& getParameterHop("embedding") != null && memo.hasInputStatistics(this)){
 				//Special case for WordEmbedding Operator
 				//Step 1) Compute hop output memory estimate (incl size inference)
 				DataCharacteristics idc = memo.getAllInputStats(getTargetHop());
@@ -763,9 +767,12 @@ public class ParameterizedBuiltinOp extends MultiThreadedHop {
 		// the parameter server could have a central instruction
 		// to determine the local or remote workers
 		if (_op == ParamBuiltinOp.TRANSFORMCOLMAP || _op == ParamBuiltinOp.TRANSFORMMETA
+				|| _op == ParamBuiltinOp.TRANSFORMAPPLYFILE
 				|| _op == ParamBuiltinOp.TOSTRING || _op == ParamBuiltinOp.LIST
 				|| _op == ParamBuiltinOp.CDF || _op == ParamBuiltinOp.INVCDF
-				|| _op == ParamBuiltinOp.PARAMSERV) {
+				|| _op == ParamBuiltinOp.PARAMSERV || _op == ParamBuiltinOp.JOIN
+				|| _op == ParamBuiltinOp.GROUPBY
+				|| (_op == ParamBuiltinOp.TOKENIZE && getDataType().isMatrix())) {
 			_etype = ExecType.CP;
 		}
 
@@ -912,6 +919,26 @@ public class ParameterizedBuiltinOp extends MultiThreadedHop {
 				setDim2( 3 ); //fixed schema
 				break;
 			}
+			case JOIN: {
+				//rows are data-dependent, cols are left cols plus right cols except for semi joins
+				Hop target = getTargetHop();
+				Hop right = getParameterHop("right");
+				Hop type = getParameterHop("type");
+				if( type instanceof LiteralOp && "semi".equalsIgnoreCase(((LiteralOp)type).getStringValue()) )
+					setDim2( target.getDim2() );
+				else if( type instanceof LiteralOp && target.dimsKnown() && right.dimsKnown() )
+					setDim2( target.getDim2() + right.getDim2() );
+				break;
+			}
+			case GROUPBY: {
+				//rows are data-dependent, cols are key cols plus one col per aggregate
+				long nkeys = getNumColumnIndexes(getParameterHop("by"));
+				long ncols = getNumColumnIndexes(getParameterHop("cols"));
+				Hop fn = getParameterHop("fn");
+				if( nkeys >= 0 && ncols >= 0 && fn instanceof LiteralOp )
+					setDim2( nkeys + Math.max(ncols, ((LiteralOp)fn).getStringValue().split(",").length) );
+				break;
+			}
 			case LIST: {
 				setDim1( getInput().size() );
 				setDim2(1);
@@ -923,6 +950,12 @@ public class ParameterizedBuiltinOp extends MultiThreadedHop {
 		}
 	}
 	
+	private static long getNumColumnIndexes(Hop hop) {
+		//scalar column index or vector of column indexes
+		return hop.getDataType().isScalar() ? 1 :
+			hop.dimsKnown() ? hop.getLength() : -1;
+	}
+	
 	@Override
 	@SuppressWarnings("unchecked")
 	public Object clone() throws CloneNotSupportedException 
@@ -950,6 +983,7 @@ public class ParameterizedBuiltinOp extends MultiThreadedHop {
 		
 		ParameterizedBuiltinOp that2 = (ParameterizedBuiltinOp)that;	
 		boolean ret = (_op == that2._op
+					  && _op != ParamBuiltinOp.TRANSFORMAPPLYFILE //side effects
 					  && _paramIndexMap!=null && that2._paramIndexMap!=null
 					  && _paramIndexMap.size() == that2._paramIndexMap.size()
 					  && _outputEmptyBlocks == that2._outputEmptyBlocks
@@ -391,6 +391,10 @@ public class ReorgOp extends MultiThreadedHop
 			checkAndSetInvalidCPDimsAndSize();
 		}
 
+		//native sort of frames only supported in CP
+		if( _op == ReOrgOp.SORT && getInput().get(0).getDataType().isFrame() )
+			_etype = ExecType.CP;
+
 		//mark for recompile (forever)
 		setRequiresRecompileIfNecessary();
 		
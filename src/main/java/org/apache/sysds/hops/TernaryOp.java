@@ -152,7 +152,8 @@ public class TernaryOp extends MultiThreadedHop
 			|| _op == OpOp3.MINUS_MULT
 			|| _op == OpOp3.PLUS_MULT
 			|| _op == OpOp3.QUANTILE
-			|| _op == OpOp3.INTERQUANTILE;
+			|| _op == OpOp3.INTERQUANTILE
+			|| _op == OpOp3.MAP;
 	}
 	
 	@Override
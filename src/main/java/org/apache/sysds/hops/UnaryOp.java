@@ -122,7 +122,8 @@ public class UnaryOp extends MultiThreadedHop
 	@Override
 	public boolean isMultiThreadedOpType() {
 		return isCumulativeUnaryOperation()
-			|| isExpensiveUnaryOperation();
+			|| isExpensiveUnaryOperation()
+			|| _op == OpOp1.CHOLESKY;
 	}
 	
 	@Override
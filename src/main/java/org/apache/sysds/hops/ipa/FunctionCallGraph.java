@@ -563,12 +563,13 @@ public class FunctionCallGraph
 					ret |= rHasSideEffects(csb);
 		}
 		else if( sb.getHops() != null ) {
-			//check for print, printf, pwrite, function calls, all of
-			//which can only appear as root nodes in the DAG
+			//check for print, printf, pwrite, transformapplyfile, function calls,
+			//all of which can only appear as root nodes in the DAG
 			for( Hop root : sb.getHops() ) {
 				ret |= HopRewriteUtils.isUnary(root, OpOp1.PRINT)
 					|| HopRewriteUtils.isNary(root, OpOpN.PRINTF)
 					|| HopRewriteUtils.isData(root, OpOpData.PERSISTENTWRITE)
+					|| HopRewriteUtils.isParameterizedBuiltinOp(root, ParamBuiltinOp.TRANSFORMAPPLYFILE)
 					|| root instanceof FunctionOp;
 			}
 		}
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Set;
 
 import org.apache.sysds.common.Types.OpOpData;
+import org.apache.sysds.common.Types.ParamBuiltinOp;
 import org.apache.sysds.hops.FunctionOp;
 import org.apache.sysds.hops.Hop;
 import org.apache.sysds.hops.rewrite.HopRewriteUtils;
@@ -84,7 +85,7 @@ public class IPAPassEliminateDeadCode extends IPAPass
 							fgraph.removeFunctionCall(fkey, (FunctionOp) root, sbs.get(i));
 						}
 						roots.remove(j); j--;
-						rRemoveOpFromDAG(root);
+						rRemoveOpFromDAG(root, roots);
 					}
 				}
 			}
@@ -103,13 +104,18 @@ public class IPAPassEliminateDeadCode extends IPAPass
 				.allMatch(var -> !varNames.contains(var));
 	}
 	
-	private static void rRemoveOpFromDAG(Hop current) {
+	private static void rRemoveOpFromDAG(Hop current, List<Hop> roots) {
 		// cleanup child to parent links and
 		// recurse on operators ready for cleanup
 		for( Hop input : current.getInput() ) {
 			input.getParent().remove(current);
-			if( input.getParent().isEmpty() )
-				rRemoveOpFromDAG(input);
+			if( !input.getParent().isEmpty() )
+				continue;
+			// keep builtins with side effects (e.g., file writes) as roots
+			if( HopRewriteUtils.isParameterizedBuiltinOp(input, ParamBuiltinOp.TRANSFORMAPPLYFILE) )
+				roots.add(input);
+			else
+				rRemoveOpFromDAG(input, roots);
 		}
 		//cleanup parent to child links
 		current.getInput().clear();
@@ -1598,6 +1598,11 @@ public class Recompiler {
 		long cols = mc.getCols();
 		long nnz = mc.getNonZeros();
 		
+		//partial reads are not backed by a file of the expected size and format
+		//(the read range is only compiled for slices that fit into memory)
+		if( obj.hasReadRange() )
+			return true;
+		
 		//check valid cp reblock recompilation hook
 		if(    !ConfigurationManager.isDynamicRecompilation()
 			|| !OptimizerUtils.isHybridExecutionMode() )
@@ -90,6 +90,8 @@ public class ProgramRewriter{
 				_dagRuleSet.add( new RewriteCommonSubexpressionElimination()     );
 			if( OptimizerUtils.ALLOW_AUTO_VECTORIZATION )
 				_dagRuleSet.add( new RewriteIndexingVectorization()              ); //dependency: cse, simplifications
+			if( OptimizerUtils.ALLOW_PUSHDOWN_READ_INDEXING )
+				_dagRuleSet.add( new RewritePushdownReadIndexing()               ); //dependency: cse, vectorization
 			_dagRuleSet.add( new RewriteInjectSparkPReadCheckpointing()          ); //dependency: reblock
 			
 			//add statement block rewrite rules
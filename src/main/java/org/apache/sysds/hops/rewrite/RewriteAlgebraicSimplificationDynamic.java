@@ -977,7 +977,7 @@ public class RewriteAlgebraicSimplificationDynamic extends HopRewriteRule
 			ReorgOp rhi = (ReorgOp)hi;
 			Hop input = rhi.getInput().get(0);
 			
-			if( HopRewriteUtils.isEmpty(input) ) //empty input
+			if( input.getDataType().isMatrix() && HopRewriteUtils.isEmpty(input) ) //empty input
 			{
 				//reorg-operation-specific rewrite  
 				Hop hnew = null;
@@ -1528,6 +1528,7 @@ public class RewriteAlgebraicSimplificationStatic extends HopRewriteRule
 	{
 		//order(order(X,2),1) -> order(X, (12)), 
 		if( HopRewriteUtils.isReorg(hi, ReOrgOp.SORT)
+			&& hi.getInput().get(0).getDataType().isMatrix()
 			&& hi.getInput().get(1) instanceof LiteralOp //scalar by
 			&& hi.getInput().get(2) instanceof LiteralOp //scalar desc
 			&& HopRewriteUtils.isLiteralOfValue(hi.getInput().get(3), false) ) //not ixret 
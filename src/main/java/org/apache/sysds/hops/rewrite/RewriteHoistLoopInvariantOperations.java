@@ -31,6 +31,7 @@ import java.util.stream.Collectors;
 
 import org.apache.sysds.common.Types.OpOpDG;
 import org.apache.sysds.common.Types.OpOpData;
+import org.apache.sysds.common.Types.ParamBuiltinOp;
 import org.apache.sysds.hops.DataOp;
 import org.apache.sysds.hops.FunctionOp;
 import org.apache.sysds.hops.Hop;
@@ -139,6 +140,7 @@ public class RewriteHoistLoopInvariantOperations extends StatementBlockRewriteRu
 		
 		//flag operation if all inputs are loop invariant
 		boolean invariant = !HopRewriteUtils.isDataGenOp(hop, OpOpDG.RAND)
+			&& !HopRewriteUtils.isParameterizedBuiltinOp(hop, ParamBuiltinOp.TRANSFORMAPPLYFILE)
 			&& (!(hop instanceof FunctionOp) || _sideEffectFreeFuns)
 			&& !HopRewriteUtils.isData(hop, OpOpData.TRANSIENTREAD)
 			&& !HopRewriteUtils.isData(hop, OpOpData.TRANSIENTWRITE);
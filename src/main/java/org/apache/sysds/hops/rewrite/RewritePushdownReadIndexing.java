@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.hops.rewrite;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.OpOpData;
+import org.apache.sysds.hops.DataOp;
+import org.apache.sysds.hops.Hop;
+import org.apache.sysds.hops.IndexingOp;
+import org.apache.sysds.hops.LiteralOp;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.util.IndexRange;
+
+/**
+ * Rule: PushdownReadIndexing. If a persistent read is only consumed by a right
+ * indexing operation with constant bounds, we push the row/column range into the
+ * read, which allows the readers to skip non-overlapping blocks, splits, and columns
+ * instead of reading the entire file, e.g., X = read($1); X = X[1:1000, 5:10].
+ * The range is restricted to slices that fit into the local memory budget, because
+ * partial reads are always materialized in memory.
+ */
+public class RewritePushdownReadIndexing extends HopRewriteRule
+{
+	@Override
+	public ArrayList<Hop> rewriteHopDAGs(ArrayList<Hop> roots, ProgramRewriteStatus state) {
+		if( roots == null )
+			return null;
+		
+		//collect right indexing over persistent reads
+		List<IndexingOp> cand = new ArrayList<>();
+		Hop.resetVisitStatus(roots);
+		for( Hop h : roots )
+			collectPushdownCandidates(h, cand);
+		Hop.resetVisitStatus(roots);
+		
+		//push row/column ranges into reads
+		for( IndexingOp ix : cand )
+			pushdownReadIndexing(ix);
+		
+		return roots;
+	}
+
+	@Override
+	public Hop rewriteHopDAG(Hop root, ProgramRewriteStatus state) {
+		//do nothing, reads do not occur in predicates
+		return root;
+	}
+	
+	private static void collectPushdownCandidates(Hop hop, List<IndexingOp> cand) {
+		if( hop.isVisited() )
+			return;
+		
+		//process childs
+		for( Hop c : hop.getInput() )
+			collectPushdownCandidates(c, cand);
+		
+		//process current hop
+		if( hop instanceof IndexingOp && isPushdownCandidate((IndexingOp) hop) )
+			cand.add((IndexingOp) hop);
+		
+		hop.setVisited();
+	}
+	
+	private static boolean isPushdownCandidate(IndexingOp ix) {
+		Hop in = ix.getInput().get(0);
+		if( !(HopRewriteUtils.isData(in, OpOpData.PERSISTENTREAD) && in.getParent().size() == 1) )
+			return false;
+		DataOp read = (DataOp) in;
+		if( read.hasReadRange() || read.getFileFormat() == FileFormat.FEDERATED
+			|| !(read.getDataType() == DataType.MATRIX || (read.getDataType() == DataType.FRAME && read.dimsKnown())) )
+			return false;
+		
+		//check for constant and valid bounds (1-based, inclusive)
+		for( int i = 1; i <= 4; i++ )
+			if( !(ix.getInput().get(i) instanceof LiteralOp) )
+				return false;
+		long rl = HopRewriteUtils.getIntValueSafe(ix.getInput().get(1));
+		long ru = HopRewriteUtils.getIntValueSafe(ix.getInput().get(2));
+		long cl = HopRewriteUtils.getIntValueSafe(ix.getInput().get(3));
+		long cu = HopRewriteUtils.getIntValueSafe(ix.getInput().get(4));
+		if( rl < 1 || rl > ru || cl < 1 || cl > cu
+			|| (read.rowsKnown() && ru > read.getDim1()) || (read.colsKnown() && cu > read.getDim2()) )
+			return false;
+		
+		//check for partial read and slice size
+		boolean entire = rl == 1 && ru == read.getDim1() && cl == 1 && cu == read.getDim2();
+		return !entire && OptimizerUtils.estimateSize(ru - rl + 1, cu - cl + 1)
+			< OptimizerUtils.getLocalMemBudget();
+	}
+	
+	private static void pushdownReadIndexing(IndexingOp ix) {
+		DataOp read = (DataOp) ix.getInput().get(0);
+		long rl = HopRewriteUtils.getIntValueSafe(ix.getInput().get(1));
+		long ru = HopRewriteUtils.getIntValueSafe(ix.getInput().get(2));
+		long cl = HopRewriteUtils.getIntValueSafe(ix.getInput().get(3));
+		long cu = HopRewriteUtils.getIntValueSafe(ix.getInput().get(4));
+		
+		//set 0-based range and source characteristics, and update the output size
+		read.setReadRange(new IndexRange(rl - 1, ru - 1, cl - 1, cu - 1), new MatrixCharacteristics(
+			read.getDim1(), read.getDim2(), read.getBlocksize(), read.getNnz()));
+		read.setDim1(ru - rl + 1);
+		read.setDim2(cu - cl + 1);
+		read.setNnz(-1);
+		
+		//rewire indexing consumers to the read
+		HopRewriteUtils.rewireAllParentChildReferences(ix, read);
+		HopRewriteUtils.cleanupUnreferenced(ix);
+		
+		LOG.debug("Applied pushdownReadIndexing (line " + ix.getBeginLine() + ").");
+	}
+}
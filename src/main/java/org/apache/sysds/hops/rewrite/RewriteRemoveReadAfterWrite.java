@@ -94,7 +94,7 @@ public class RewriteRemoveReadAfterWrite extends HopRewriteRule
 		if( hop instanceof DataOp )
 		{
 			DataOp dop = (DataOp)hop;
-			if( dop.getOp()==OpOpData.PERSISTENTREAD )
+			if( dop.getOp()==OpOpData.PERSISTENTREAD && !dop.hasReadRange() )
 				pReads.put(dop.getFileName(), dop);
 			else if( dop.getOp()==OpOpData.PERSISTENTWRITE ) {
 				Hop fname = dop.getInput().get(dop.getParameterIndex(DataExpression.IO_FILENAME));
@@ -321,6 +321,8 @@ public class RewriteSplitDagDataDependentOperators extends StatementBlockRewrite
 			|| (HopRewriteUtils.isData(hop, OpOpData.SQLREAD) & !noSplitRequired)
 			|| (HopRewriteUtils.isParameterizedBuiltinOp(hop, ParamBuiltinOp.GROUPEDAGG) 
 				&& !((ParameterizedBuiltinOp)hop).isKnownNGroups() && !noSplitRequired)
+			|| (HopRewriteUtils.isParameterizedBuiltinOp(hop, ParamBuiltinOp.JOIN) && !noSplitRequired)
+			|| (HopRewriteUtils.isParameterizedBuiltinOp(hop, ParamBuiltinOp.GROUPBY) && !noSplitRequired)
 			|| ((HopRewriteUtils.isUnary(hop, OpOp1.COMPRESS) || hop.requiresCompression()) &&
 				(!HopRewriteUtils.hasOnlyWriteParents(hop, true, true)))
 			|| (HopRewriteUtils.isAggUnaryOp(hop, AggOp.UNIQUE) & !noSplitRequired);
@@ -28,6 +28,8 @@ import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.common.Types.ExecType;
 import org.apache.sysds.parser.DataExpression;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.meta.DataCharacteristics;
+import org.apache.sysds.runtime.util.IndexRange;
 
 /**
  * Lop to represent data objects. Data objects represent matrices, vectors, 
@@ -36,10 +38,13 @@ import org.apache.sysds.runtime.instructions.InstructionUtils;
 public class Data extends Lop
 {
 	public static final String PREAD_PREFIX = "pREAD";
+	public static final String READ_RANGE_PREFIX = "pRANGE=";
 	private final FileFormat formatType;
 	private final OpOpData _op;
 	private final boolean literal_var;
 	private HashMap<String, Lop> _inputParams;
+	private IndexRange _readRange = null;
+	private DataCharacteristics _readSourceDC = null;
 
 	/**
 	 * Method to create literal LOPs.
@@ -127,6 +132,18 @@ public class Data extends Lop
 		lps.setProperties ( inputs, ExecType.INVALID);
 	}
 
+	/**
+	 * Sets the row/column range (0-based, inclusive) of a persistent read, which only reads
+	 * the given range of the source file with the given data characteristics.
+	 * 
+	 * @param ix row and column range
+	 * @param dc data characteristics of the source file
+	 */
+	public void setReadRange(IndexRange ix, DataCharacteristics dc) {
+		_readRange = ix;
+		_readSourceDC = dc;
+	}
+
 	/**
 	 * method to get format type for input, output files.
 	 * @return file format
@@ -449,12 +466,28 @@ public class Data extends Lop
 				sb.append( createVarHDF5Helper() );
 			}
 
+			// Format-specific properties
+			if ( oparams.getFormat() == FileFormat.PARQUET ) {
+				sb.append(OPERAND_DELIMITOR);
+				sb.append( createVarParquetHelper() );
+			}
+
 			// Frame-specific properties
 			if( getDataType()==DataType.FRAME ) {
 				Data schema = (Data) getNamedInputLop(DataExpression.SCHEMAPARAM);
 				sb.append( OPERAND_DELIMITOR );
 				sb.append( (schema!=null) ? schema.prepScalarLabel() : "*" );
 			}
+
+			// Partial read of row/column range (always last operand)
+			if( _readRange != null ) {
+				sb.append( OPERAND_DELIMITOR );
+				sb.append( READ_RANGE_PREFIX );
+				sb.append( _readRange.rowStart + "," + _readRange.rowEnd + "," );
+				sb.append( _readRange.colStart + "," + _readRange.colEnd + "," );
+				sb.append( _readSourceDC.getRows() + "," + _readSourceDC.getCols() + "," );
+				sb.append( _readSourceDC.getNonZeros() );
+			}
 			return sb.toString();
 		}
 		else {
@@ -581,4 +614,14 @@ public class Data extends Lop
 		}
 		return sb.toString();
 	}
+
+	private String createVarParquetHelper() {
+		Data columns = (Data) getNamedInputLop(DataExpression.PARQUET_COLUMNS);
+		if( columns == null )
+			return "*";
+		if( columns.isVariable() )
+			throw new LopsException(printErrorLocation() + "Parameter "
+				+ DataExpression.PARQUET_COLUMNS + " must be a literal.");
+		return columns.getStringValue();
+	}
 }
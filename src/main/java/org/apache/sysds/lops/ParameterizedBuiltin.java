@@ -173,9 +173,12 @@ public class ParameterizedBuiltin extends Lop
 				break;
 
 			case CONTAINS:
+			case GROUPBY:
+			case JOIN:
 			case REPLACE:
 			case TOKENIZE:
 			case TRANSFORMAPPLY:
+			case TRANSFORMAPPLYFILE:
 			case TRANSFORMDECODE:
 			case TRANSFORMCOLMAP:
 			case TRANSFORMMETA:
@@ -216,7 +219,8 @@ public class ParameterizedBuiltin extends Lop
 		}
 		
 		if( getExecType()==ExecType.CP 
-			&& (_operation==ParamBuiltinOp.REXPAND || _operation==ParamBuiltinOp.CONTAINS ) ) {
+			&& (_operation==ParamBuiltinOp.REXPAND || _operation==ParamBuiltinOp.CONTAINS
+				|| _operation==ParamBuiltinOp.JOIN || _operation==ParamBuiltinOp.GROUPBY) ) {
 			sb.append( "k" );
 			sb.append( Lop.NAME_VALUE_SEPARATOR );
 			sb.append( _numThreads );
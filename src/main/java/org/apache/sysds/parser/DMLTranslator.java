@@ -1056,6 +1056,10 @@ public class DMLTranslator
 						case CSV:
 						case LIBSVM:
 						case HDF5:
+						case PARQUET:
+						case NATIVE:
+						case COLUMNAR:
+						case ARROW:
 							// write output in textcell format
 							ae.setOutputParams(ae.getDim1(), ae.getDim2(), ae.getNnz(), ae.getUpdateType(), -1);
 							break;
@@ -1170,6 +1174,10 @@ public class DMLTranslator
 							updatedLiveOut.addVariable(target.getName(), target);
 							output.add(transientwrite);
 						}
+						//keep builtins with side effects (e.g., file writes) with unused outputs as roots
+						else if( HopRewriteUtils.isParameterizedBuiltinOp(ae, ParamBuiltinOp.TRANSFORMAPPLYFILE) ) {
+							output.add(ae);
+						}
 					} 
 					// CASE: target is indexed identifier (left-hand side indexed expression)
 					else {
@@ -1927,9 +1935,12 @@ public class DMLTranslator
 		Hop currBuiltinOp = null;
 		switch (source.getOpCode()) {
 			case TRANSFORMENCODE:
+			case TRANSFORMUPDATE:
 				ArrayList<Hop> inputs = new ArrayList<>();
 				inputs.add( processExpression(source.getVarParam("target"), null, hops) );
 				inputs.add( processExpression(source.getVarParam("spec"), null, hops) );
+				if( source.getOpCode() == Builtins.TRANSFORMUPDATE )
+					inputs.add( processExpression(source.getVarParam("meta"), null, hops) );
 				String[] outputNames = new String[targetList.size()]; 
 				outputNames[0] = targetList.get(0).getName();
 				outputNames[1] = targetList.get(1).getName();
@@ -2000,13 +2011,16 @@ public class DMLTranslator
 					target.getValueType(), source.getOpCode(), paramHops);
 				break;
 			case CONTAINS:
+			case GROUPBY:
 			case GROUPEDAGG:
+			case JOIN:
 			case RMEMPTY:
 			case REPLACE:
 			case LOWER_TRI:
 			case UPPER_TRI:
 			case TOKENIZE:
 			case TRANSFORMAPPLY:
+			case TRANSFORMAPPLYFILE:
 			case TRANSFORMDECODE:
 			case TRANSFORMCOLMAP:
 			case TRANSFORMMETA:
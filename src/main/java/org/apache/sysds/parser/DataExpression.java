@@ -114,6 +114,9 @@ public class DataExpression extends DataIdentifier
 
 	// Parameter names relevant to reading/writing dataset name/hdf5 files
 	public static final String HDF5_DATASET_NAME = "dataset";
+
+	// Parameter names relevant to reading parquet files (comma-separated projected column names)
+	public static final String PARQUET_COLUMNS = "columns";
 	
 	public static final String DELIM_SPARSE = "sparse";  // applicable only for write
 	
@@ -156,7 +159,9 @@ public class DataExpression extends DataIdentifier
 			// Parameters related to delimited/libsvm files.
 			LIBSVM_INDEX_DELIM,
 			//Parameters related to dataset name/HDF4 files.
-			HDF5_DATASET_NAME));
+			HDF5_DATASET_NAME,
+			// Parameters related to parquet files.
+			PARQUET_COLUMNS));
 	
 	/* Default Values for delimited (CSV/LIBSVM) files */
 	public static final String  DEFAULT_DELIM_DELIMITER = ",";
@@ -1162,6 +1167,10 @@ public class DataExpression extends DataIdentifier
 			}
 			
 			boolean isHDF5 = (formatTypeString != null && formatTypeString.equalsIgnoreCase(FileFormat.HDF5.toString()));
+			boolean isParquet = (formatTypeString != null && formatTypeString.equalsIgnoreCase(FileFormat.PARQUET.toString()));
+			boolean isArrow = (formatTypeString != null && formatTypeString.equalsIgnoreCase(FileFormat.ARROW.toString()));
+			boolean isNative = (formatTypeString != null && formatTypeString.equalsIgnoreCase(FileFormat.NATIVE.toString()));
+			boolean isColumnar = (formatTypeString != null && formatTypeString.equalsIgnoreCase(FileFormat.COLUMNAR.toString()));
 
 			dataTypeString = (getVarParam(DATATYPEPARAM) == null) ? null : getVarParam(DATATYPEPARAM).toString();
 			
@@ -1187,7 +1196,7 @@ public class DataExpression extends DataIdentifier
 				// initialize size of target data identifier to UNKNOWN
 				getOutput().setDimensions(-1, -1);
 				
-				if (!isCSV && !isLIBSVM && !isHDF5 && ConfigurationManager.getCompilerConfig()
+				if (!isCSV && !isLIBSVM && !isHDF5 && !isParquet && !isArrow && !isNative && !isColumnar && ConfigurationManager.getCompilerConfig()
 						.getBool(ConfigType.REJECT_READ_WRITE_UNKNOWNS) //skip check for csv/libsvm format / jmlc api
 					&& (getVarParam(READROWPARAM) == null || getVarParam(READCOLPARAM) == null) ) {
 						raiseValidateError("Missing or incomplete dimension information in read statement: "
@@ -1221,6 +1230,18 @@ public class DataExpression extends DataIdentifier
 					}
 					getOutput().setDimensions(-1, dim2 + 1);
 				}
+
+				if(getVarParam(PARQUET_COLUMNS) != null) {
+					if(!isParquet || isMatrix)
+						raiseValidateError("Parameter " + PARQUET_COLUMNS + " is only supported for frames in "
+							+ "format parquet.", conditional, LanguageErrorCodes.INVALID_PARAMETERS);
+					else if(!(getVarParam(PARQUET_COLUMNS) instanceof StringIdentifier))
+						raiseValidateError("Parameter " + PARQUET_COLUMNS + " must be a string literal of "
+							+ "comma-separated column names.", conditional, LanguageErrorCodes.INVALID_PARAMETERS);
+					else // the projection determines the number of columns
+						getOutput().setDimensions(getOutput().getDim1(),
+							getVarParam(PARQUET_COLUMNS).toString().split(",").length);
+				}
 				
 				// initialize block dimensions to UNKNOWN 
 				getOutput().setBlocksize(-1);
@@ -35,6 +35,7 @@ import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.ParamBuiltinOp;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.parser.LanguageException.LanguageErrorCodes;
+import org.apache.sysds.runtime.transform.meta.TfMetaUtils;
 import org.apache.sysds.runtime.util.CollectionUtils;
 import org.apache.wink.json4j.JSONObject;
 
@@ -207,18 +208,30 @@ public class ParameterizedBuiltinFunctionExpression extends DataIdentifier
 			validateContains(output, conditional);
 			break;
 		
+		case JOIN:
+			validateJoin(output, conditional);
+			break;
+		
+		case GROUPBY:
+			validateGroupBy(output, conditional);
+			break;
+		
 		case ORDER:
 			validateOrder(output, conditional);
 			break;
 
 		case TOKENIZE:
-			validateTokenize(output, conditional);
+			validateTokenize(output, constVars, conditional);
 			break;
 		
 		case TRANSFORMAPPLY:
 			validateTransformApply(output, conditional);
 			break;
 		
+		case TRANSFORMAPPLYFILE:
+			validateTransformApplyFile(output, conditional);
+			break;
+		
 		case TRANSFORMDECODE:
 			validateTransformDecode(output, conditional);
 			break;
@@ -270,7 +283,7 @@ public class ParameterizedBuiltinFunctionExpression extends DataIdentifier
 
 		default: //always unconditional (because unsupported operation)
 			//handle common issue of transformencode
-			if( getOpCode()==Builtins.TRANSFORMENCODE )
+			if( multipleReturns() )
 				raiseValidateError("Parameterized function "+ getOpCode() +" requires a multi-assignment statement "
 						+ "for data and metadata.", false, LanguageErrorCodes.UNSUPPORTED_EXPRESSION);
 			else
@@ -320,7 +333,11 @@ public class ParameterizedBuiltinFunctionExpression extends DataIdentifier
 				DataIdentifier out2 = (DataIdentifier) getOutputs()[1];
 				
 				validateTransformEncode(out1, out2, conditional);
-				break;	
+				break;
+			case TRANSFORMUPDATE:
+				validateTransformUpdate((DataIdentifier) getOutputs()[0],
+					(DataIdentifier) getOutputs()[1], conditional);
+				break;
 			default: //always unconditional (because unsupported operation)
 				raiseValidateError("Unsupported parameterized function "+ getOpCode(), false, LanguageErrorCodes.INVALID_PARAMETERS);
 		}
@@ -597,19 +614,26 @@ public class ParameterizedBuiltinFunctionExpression extends DataIdentifier
 		}
 	}
 
-	private void validateTokenize(DataIdentifier output, boolean conditional)
+	private void validateTokenize(DataIdentifier output, HashMap<String, ConstIdentifier> constVars, boolean conditional)
 	{
 		//validate data / metadata (recode maps)
 		checkDataType(false, "tokenize", TF_FN_PARAM_DATA, DataType.FRAME, conditional);
 
-		//validate specification
+		//validate specification (propagated constant specs, as the output type depends on the spec)
+		Expression spec = getVarParam(TF_FN_PARAM_SPEC);
+		if( spec instanceof DataIdentifier && constVars.containsKey(((DataIdentifier)spec).getName()) && !conditional )
+			_varParams.put(TF_FN_PARAM_SPEC, constVars.get(((DataIdentifier)spec).getName()));
 		checkDataValueType(false, "tokenize", TF_FN_PARAM_SPEC, DataType.SCALAR, ValueType.STRING, conditional);
 		validateTransformSpec(TF_FN_PARAM_SPEC, conditional);
 
-		//set output dimensions
-		output.setDataType(DataType.FRAME);
-		output.setValueType(ValueType.STRING);
-		output.setDimensions(-1, -1);
+		//set output dimensions (sparse format yields a documents x hashed features matrix, which
+		//requires a spec known at compile time, otherwise the output is a frame of tokens)
+		spec = getVarParam(TF_FN_PARAM_SPEC);
+		boolean sparse = spec instanceof StringIdentifier
+			&& TfMetaUtils.isSparseTokenizeSpec(((StringIdentifier)spec).getValue());
+		output.setDataType(sparse ? DataType.MATRIX : DataType.FRAME);
+		output.setValueType(sparse ? ValueType.FP64 : ValueType.STRING);
+		output.setDimensions(sparse ? getVarParam(TF_FN_PARAM_DATA).getOutput().getDim1() : -1, -1);
 	}
 
 	// example: A = transformapply(target=X, meta=M, spec=s)
@@ -632,6 +656,35 @@ public class ParameterizedBuiltinFunctionExpression extends DataIdentifier
 		output.setDimensions(-1, -1);
 	}
 	
+	// example: n = transformapplyfile(file=fin, output=fout, meta=M, spec=s)
+	private void validateTransformApplyFile(DataIdentifier output, boolean conditional) 
+	{
+		//check for invalid parameters
+		Set<String> valid = CollectionUtils.asSet("file", "output", TF_FN_PARAM_MTD2, TF_FN_PARAM_SPEC,
+			TF_FN_PARAM_EMBD, "header", "sep", "chunksize");
+		checkInvalidParameters(getOpCode(), getVarParams(), valid);
+		
+		//validate input and output files, and metadata (recode maps)
+		checkDataValueType(false, "transformapplyfile", "file", DataType.SCALAR, ValueType.STRING, conditional);
+		checkDataValueType(false, "transformapplyfile", "output", DataType.SCALAR, ValueType.STRING, conditional);
+		checkDataType(false, "transformapplyfile", TF_FN_PARAM_MTD2, DataType.FRAME, conditional);
+		checkDataType(true, "transformapplyfile", TF_FN_PARAM_EMBD, DataType.MATRIX, conditional);
+		
+		//validate specification
+		checkDataValueType(false, "transformapplyfile", TF_FN_PARAM_SPEC, DataType.SCALAR, ValueType.STRING, conditional);
+		validateTransformSpec(TF_FN_PARAM_SPEC, conditional);
+		
+		//validate optional csv and streaming properties
+		checkOptionalBooleanParam(getVarParam("header"), "header", conditional);
+		checkDataValueType(true, "transformapplyfile", "sep", DataType.SCALAR, ValueType.STRING, conditional);
+		checkDataType(true, "transformapplyfile", "chunksize", DataType.SCALAR, conditional);
+		
+		//set output (number of encoded rows)
+		output.setDataType(DataType.SCALAR);
+		output.setValueType(ValueType.INT64);
+		output.setDimensions(0, 0);
+	}
+	
 	private void validateTransformDecode(DataIdentifier output, boolean conditional) 
 	{
 		//validate data / metadata (recode maps) 
@@ -697,6 +750,26 @@ public class ParameterizedBuiltinFunctionExpression extends DataIdentifier
 		output2.setDimensions(-1, -1);
 	}
 	
+	// example: [X, M] = transformupdate(target=F, spec=s, meta=M0)
+	private void validateTransformUpdate(DataIdentifier output1, DataIdentifier output2, boolean conditional) 
+	{
+		//validate data / metadata (recode maps) of previous batches
+		checkDataType(false, "transformupdate", TF_FN_PARAM_DATA, DataType.FRAME, conditional);
+		checkDataType(false, "transformupdate", TF_FN_PARAM_MTD2, DataType.FRAME, conditional);
+		
+		//validate specification
+		checkDataValueType(false, "transformupdate", TF_FN_PARAM_SPEC, DataType.SCALAR, ValueType.STRING, conditional);
+		validateTransformSpec(TF_FN_PARAM_SPEC, conditional);
+		
+		//set output dimensions 
+		output1.setDataType(DataType.MATRIX);
+		output1.setValueType(ValueType.FP64);
+		output1.setDimensions(-1, -1);
+		output2.setDataType(DataType.FRAME);
+		output2.setValueType(ValueType.STRING);
+		output2.setDimensions(-1, -1);
+	}
+	
 	private void validateTransformSpec(String pname, boolean conditional) {
 		Expression data = getVarParam(pname);
 		if( data instanceof StringIdentifier ) {
@@ -750,6 +823,93 @@ public class ParameterizedBuiltinFunctionExpression extends DataIdentifier
 		output.setBooleanProperties();
 	}
 	
+	// example: C = join(target=A, right=B, lkeys=1, rkeys=2, type="left")
+	private void validateJoin(DataIdentifier output, boolean conditional) {
+		checkInvalidParameters(getOpCode(), getVarParams(),
+			CollectionUtils.asSet("target", "right", "lkeys", "rkeys", "type"));
+		
+		//check existence and correctness of arguments
+		Expression target = getVarParam("target");
+		checkEmptyTargetParam(target, conditional);
+		DataType dt = target.getOutput().getDataType();
+		if( !dt.isMatrixOrFrame() )
+			raiseValidateError("Input 'target' of join must be a matrix or frame.",
+				conditional, LanguageErrorCodes.INVALID_PARAMETERS);
+		checkDataType(false, "join", "right", dt, conditional);
+		
+		Expression lkeys = getVarParam("lkeys");
+		if( lkeys == null )
+			raiseValidateError("Named parameter 'lkeys' missing. Please specify the key columns.",
+				conditional, LanguageErrorCodes.INVALID_PARAMETERS);
+		else if( !(lkeys.getOutput().getDataType().isScalar() || lkeys.getOutput().getDataType().isMatrix()) )
+			raiseValidateError("Named parameter 'lkeys' must be a scalar or matrix of column indexes.",
+				conditional, LanguageErrorCodes.INVALID_PARAMETERS);
+		Expression rkeys = getVarParam("rkeys");
+		if( rkeys == null ) //default handling
+			addVarParam("rkeys", lkeys);
+		else if( !(rkeys.getOutput().getDataType().isScalar() || rkeys.getOutput().getDataType().isMatrix()) )
+			raiseValidateError("Named parameter 'rkeys' must be a scalar or matrix of column indexes.",
+				conditional, LanguageErrorCodes.INVALID_PARAMETERS);
+		
+		checkStringParam(true, "join", "type", conditional);
+		Expression type = getVarParam("type");
+		if( type == null ) //default handling
+			addVarParam("type", new StringIdentifier("inner", this));
+		else if( type instanceof StringIdentifier
+			&& !CollectionUtils.asSet("inner", "left", "semi").contains(type.toString().toLowerCase()) )
+			raiseValidateError("Named parameter 'type' has an invalid value '" + type.toString()
+				+ "'. Please specify 'inner', 'left', or 'semi'.", conditional, LanguageErrorCodes.INVALID_PARAMETERS);
+		
+		//output has data-dependent number of rows
+		Identifier left = target.getOutput();
+		Identifier right = getVarParam("right").getOutput();
+		boolean semi = getVarParam("type").toString().equalsIgnoreCase("semi");
+		output.setDataType(dt);
+		output.setValueType(dt.isFrame() ? ValueType.STRING : ValueType.FP64);
+		output.setDimensions(-1, semi ? left.getDim2() :
+			(left.getDim2() >= 0 && right.getDim2() >= 0) ? left.getDim2() + right.getDim2() : -1);
+	}
+	
+	// example: R = groupby(target=X, by=1, cols=3, fn="sum,count,mean")
+	private void validateGroupBy(DataIdentifier output, boolean conditional) {
+		checkInvalidParameters(getOpCode(), getVarParams(),
+			CollectionUtils.asSet("target", "by", "cols", "fn"));
+		
+		//check existence and correctness of arguments
+		Expression target = getVarParam("target");
+		checkEmptyTargetParam(target, conditional);
+		DataType dt = target.getOutput().getDataType();
+		if( !dt.isMatrixOrFrame() )
+			raiseValidateError("Input 'target' of groupby must be a matrix or frame.",
+				conditional, LanguageErrorCodes.INVALID_PARAMETERS);
+		
+		for( String name : new String[]{"by", "cols"} ) {
+			Expression param = getVarParam(name);
+			if( param == null )
+				raiseValidateError("Named parameter '" + name + "' missing. Please specify the column indexes.",
+					conditional, LanguageErrorCodes.INVALID_PARAMETERS);
+			else if( !(param.getOutput().getDataType().isScalar() || param.getOutput().getDataType().isMatrix()) )
+				raiseValidateError("Named parameter '" + name + "' must be a scalar or matrix of column indexes.",
+					conditional, LanguageErrorCodes.INVALID_PARAMETERS);
+		}
+		
+		checkStringParam(false, "groupby", "fn", conditional);
+		Expression fn = getVarParam("fn");
+		if( fn instanceof StringIdentifier ) {
+			for( String f : fn.toString().split(",") )
+				if( !CollectionUtils.asSet("sum", "count", "min", "max", "mean", "var", "variance")
+					.contains(f.trim().toLowerCase()) )
+					raiseValidateError("Named parameter 'fn' has an invalid aggregate '" + f.trim() + "'. Please "
+						+ "specify a comma-separated list of 'sum', 'count', 'min', 'max', 'mean', or 'var'.",
+						conditional, LanguageErrorCodes.INVALID_PARAMETERS);
+		}
+		
+		//output has data-dependent number of rows
+		output.setDataType(dt);
+		output.setValueType(dt.isFrame() ? ValueType.STRING : ValueType.FP64);
+		output.setDimensions(-1, -1);
+	}
+	
 	private void validateReplace(DataIdentifier output, boolean conditional) {
 		//check existence and correctness of arguments
 		Expression target = getVarParam("target");
@@ -784,7 +944,9 @@ public class ParameterizedBuiltinFunctionExpression extends DataIdentifier
 	private void validateOrder(DataIdentifier output, boolean conditional) {
 		//check existence and correctness of arguments
 		Expression target = getVarParam("target");
-		checkTargetParam(target, conditional);
+		boolean frame = target != null && target.getOutput().getDataType().isFrame();
+		if( !frame )
+			checkTargetParam(target, conditional);
 		
 		//check for unsupported parameters
 		for(String param : getVarParams().keySet())
@@ -805,7 +967,8 @@ public class ParameterizedBuiltinFunctionExpression extends DataIdentifier
 		if( decreasing == null ) { //default: ascending
 			addVarParam("decreasing", new BooleanIdentifier(false));
 		}
-		else if( decreasing.getOutput().getDataType() != DataType.SCALAR ){
+		else if( decreasing.getOutput().getDataType() != DataType.SCALAR //frames allow a vector of per-key orderings
+			&& !(frame && decreasing.getOutput().getDataType().isMatrix()) ){
 			raiseValidateError("Ordering 'decreasing' is of type '"+decreasing.getOutput().getDataType()+"', '"+decreasing.getOutput().getValueType()+"'. Please, specify 'decreasing' as a scalar boolean.", conditional, LanguageErrorCodes.INVALID_PARAMETERS);
 		}
 		
@@ -820,6 +983,18 @@ public class ParameterizedBuiltinFunctionExpression extends DataIdentifier
 		long dim2 = ( indexreturn instanceof BooleanIdentifier ) ? 
 				((BooleanIdentifier)indexreturn).getValue() ? 1: target.getOutput().getDim2() : -1; 
 		
+		if( frame ) {
+			// Output is a frame with same dims as input, or a matrix of row indexes
+			if( !(indexreturn instanceof BooleanIdentifier) )
+				raiseValidateError("Return type 'index.return' of order over frames must be a boolean literal.",
+					conditional, LanguageErrorCodes.INVALID_PARAMETERS);
+			boolean ixret = indexreturn instanceof BooleanIdentifier && ((BooleanIdentifier)indexreturn).getValue();
+			output.setDataType(ixret ? DataType.MATRIX : DataType.FRAME);
+			output.setValueType(ixret ? ValueType.FP64 : ValueType.STRING);
+			output.setDimensions(target.getOutput().getDim1(), dim2 );
+			return;
+		}
+		
 		// Output is a matrix with same dims as input
 		output.setDataType(DataType.MATRIX);
 		output.setValueType(ValueType.FP64);
@@ -1189,6 +1364,6 @@ public class ParameterizedBuiltinFunctionExpression extends DataIdentifier
 
 	@Override
 	public boolean multipleReturns() {
-		return (_opcode == Builtins.TRANSFORMENCODE);
+		return (_opcode == Builtins.TRANSFORMENCODE || _opcode == Builtins.TRANSFORMUPDATE);
 	}
 }
@@ -857,6 +857,7 @@ public class CPCostUtils {
                         throw new RuntimeException("ParameterizedBuiltin operation with opcode 'groupedagg' of type INVALID is not supported");
                     case "tokenize":
                     case "transformapply":
+                    case "transformapplyfile":
                     case "transformdecode":
                     case "transformcolmap":
                     case "transformmeta":
@@ -47,6 +47,7 @@ import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
 import org.apache.sysds.runtime.compress.lib.CLALibAppend;
 import org.apache.sysds.runtime.compress.lib.CLALibBinaryCellOp;
 import org.apache.sysds.runtime.compress.lib.CLALibCMOps;
+import org.apache.sysds.runtime.compress.lib.CLALibCTable;
 import org.apache.sysds.runtime.compress.lib.CLALibCompAgg;
 import org.apache.sysds.runtime.compress.lib.CLALibDecompress;
 import org.apache.sysds.runtime.compress.lib.CLALibMMChain;
@@ -816,10 +817,7 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public MatrixBlock groupedAggOperations(MatrixValue tgt, MatrixValue wghts, MatrixValue ret, int ngroups,
 		Operator op, int k) {
-		printDecompressWarning("groupedAggOperations");
-		MatrixBlock left = getUncompressed();
-		MatrixBlock right = getUncompressed(wghts);
-		return left.groupedAggOperations(left, right, ret, ngroups, op, k);
+		return CLALibCTable.groupedAgg(this, (MatrixBlock) tgt, (MatrixBlock) wghts, (MatrixBlock) ret, ngroups, op, k);
 	}
 
 	@Override
@@ -832,18 +830,13 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public void ctableOperations(Operator op, double scalar, MatrixValue that, CTableMap resultMap,
 		MatrixBlock resultBlock) {
-		printDecompressWarning("ctableOperations Var 1");
-		MatrixBlock left = getUncompressed();
-		MatrixBlock right = getUncompressed(that);
-		left.ctableOperations(op, scalar, right, resultMap, resultBlock);
+		CLALibCTable.ctable(op, this, scalar, (MatrixBlock) that, resultMap, resultBlock);
 	}
 
 	@Override
 	public void ctableOperations(Operator op, double scalar, double scalar2, CTableMap resultMap,
 		MatrixBlock resultBlock) {
-		printDecompressWarning("ctableOperations Var 2");
-		MatrixBlock tmp = getUncompressed();
-		tmp.ctableOperations(op, scalar, scalar2, resultMap, resultBlock);
+		CLALibCTable.ctable(op, this, scalar, scalar2, resultMap, resultBlock);
 	}
 
 	@Override
@@ -857,10 +850,7 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public void ctableOperations(Operator op, MatrixValue that, double scalar, boolean ignoreZeros, CTableMap resultMap,
 		MatrixBlock resultBlock) {
-		printDecompressWarning("ctableOperations Var 4");
-		MatrixBlock left = getUncompressed();
-		MatrixBlock right = getUncompressed(that);
-		left.ctableOperations(op, right, scalar, ignoreZeros, resultMap, resultBlock);
+		CLALibCTable.ctable(op, this, (MatrixBlock) that, scalar, ignoreZeros, resultMap, resultBlock);
 	}
 
 	@Override
@@ -875,10 +865,7 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public void ctableOperations(Operator op, MatrixValue that, MatrixValue that2, CTableMap resultMap,
 		MatrixBlock resultBlock) {
-		MatrixBlock left = getUncompressed("ctableOperations Var 7");
-		MatrixBlock right1 = getUncompressed(that);
-		MatrixBlock right2 = getUncompressed(that2);
-		left.ctableOperations(op, right1, right2, resultMap, resultBlock);
+		CLALibCTable.ctable(op, this, (MatrixBlock) that, (MatrixBlock) that2, resultMap, resultBlock);
 	}
 
 	@Override
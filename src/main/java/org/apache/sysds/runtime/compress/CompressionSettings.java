@@ -81,6 +81,12 @@ public class CompressionSettings {
 	/** True if lossy compression is enabled */
 	public final boolean lossy;
 
+	/**
+	 * The maximum error of lossy quantized dictionaries relative to the largest absolute value in each column. Column
+	 * groups exceeding the bound keep exact dictionaries.
+	 */
+	public final double lossyMaxError;
+
 	/** The selected method for column partitioning used in CoCoding compressed columns */
 	public final PartitionerType columnPartitioner;
 
@@ -128,11 +134,15 @@ public class CompressionSettings {
 	/** The sorting type used in sorting/joining offsets to create SDC groups */
 	public final SORT_TYPE sdcSortType;
 
+	/** The time budget in milliseconds for co-coding planning, less than or equal to zero means unlimited */
+	public final double coCodeTimeBudget;
+
 	protected CompressionSettings(double samplingRatio, double samplePower, boolean allowSharedDictionary,
 		String transposeInput, int seed, boolean lossy, EnumSet<CompressionType> validCompressions,
 		boolean sortValuesByLength, PartitionerType columnPartitioner, int maxColGroupCoCode, double coCodePercentage,
 		int minimumSampleSize, int maxSampleSize, EstimationType estimationType, CostType costComputationType,
-		double minimumCompressionRatio, boolean isInSparkInstruction, SORT_TYPE sdcSortType) {
+		double minimumCompressionRatio, boolean isInSparkInstruction, SORT_TYPE sdcSortType, double coCodeTimeBudget,
+		double lossyMaxError) {
 		this.samplingRatio = samplingRatio;
 		this.samplePower = samplePower;
 		this.allowSharedDictionary = allowSharedDictionary;
@@ -151,6 +161,8 @@ public class CompressionSettings {
 		this.minimumCompressionRatio = minimumCompressionRatio;
 		this.isInSparkInstruction = isInSparkInstruction;
 		this.sdcSortType = sdcSortType;
+		this.coCodeTimeBudget = coCodeTimeBudget;
+		this.lossyMaxError = lossyMaxError;
 		if(LOG.isDebugEnabled())
 			LOG.debug(this.toString());
 	}
@@ -166,7 +178,11 @@ public class CompressionSettings {
 		sb.append("\t Valid Compressions: " + validCompressions);
 		sb.append("\t Share dict: " + allowSharedDictionary);
 		sb.append("\t Partitioner: " + columnPartitioner);
+		if(coCodeTimeBudget > 0)
+			sb.append("\t CoCode Budget: " + coCodeTimeBudget + "ms");
 		sb.append("\t Lossy: " + lossy);
+		if(lossy)
+			sb.append("\t Lossy Max Error: " + lossyMaxError);
 		sb.append("\t Cost Computation Type: " + costComputationType);
 		if(samplingRatio < 1.0)
 			sb.append("\t Estimation Type: " + estimationType);
@@ -55,6 +55,8 @@ public class CompressionSettingsBuilder {
 	private double minimumCompressionRatio = 1.0;
 	private boolean isInSparkInstruction = false;
 	private SORT_TYPE sdcSortType = SORT_TYPE.MATERIALIZE;
+	private double coCodeTimeBudget = -1;
+	private double lossyMaxError = 0.01;
 
 	public CompressionSettingsBuilder() {
 
@@ -68,6 +70,8 @@ public class CompressionSettingsBuilder {
 		columnPartitioner = PartitionerType.valueOf(conf.getTextValue(DMLConfig.COMPRESSED_COCODE));
 		costType = CostType.valueOf(conf.getTextValue(DMLConfig.COMPRESSED_COST_MODEL));
 		transposeInput = conf.getTextValue(DMLConfig.COMPRESSED_TRANSPOSE);
+		coCodeTimeBudget = conf.getDoubleValue(DMLConfig.COMPRESSED_COCODE_BUDGET);
+		lossyMaxError = conf.getDoubleValue(DMLConfig.COMPRESSED_LOSSY_ERROR);
 		seed = DMLScript.SEED;
 
 	}
@@ -90,6 +94,8 @@ public class CompressionSettingsBuilder {
 		this.maxColGroupCoCode = that.maxColGroupCoCode;
 		this.coCodePercentage = that.coCodePercentage;
 		this.minimumSampleSize = that.minimumSampleSize;
+		this.coCodeTimeBudget = that.coCodeTimeBudget;
+		this.lossyMaxError = that.lossyMaxError;
 		return this;
 	}
 
@@ -104,6 +110,18 @@ public class CompressionSettingsBuilder {
 		return this;
 	}
 
+	/**
+	 * Set the maximum error allowed for lossy quantized dictionaries, relative to the largest absolute value in each
+	 * column. Only used if lossy compression is enabled.
+	 * 
+	 * @param lossyMaxError The maximum relative error
+	 * @return The CompressionSettingsBuilder
+	 */
+	public CompressionSettingsBuilder setLossyMaxError(double lossyMaxError) {
+		this.lossyMaxError = lossyMaxError;
+		return this;
+	}
+
 	/**
 	 * Set the sampling ratio in percent to sample the input matrix. Input value should be in range 0.0 - 1.0
 	 * 
@@ -325,6 +343,18 @@ public class CompressionSettingsBuilder {
 		return this;
 	}
 
+	/**
+	 * Set the time budget for the co-coding planning. If the budget is exceeded the co-coding algorithms stop joining
+	 * column groups and return the groups found so far.
+	 * 
+	 * @param coCodeTimeBudget The time budget in milliseconds, less than or equal to zero means unlimited
+	 * @return The CompressionSettingsBuilder
+	 */
+	public CompressionSettingsBuilder setCoCodeTimeBudget(double coCodeTimeBudget) {
+		this.coCodeTimeBudget = coCodeTimeBudget;
+		return this;
+	}
+
 	/**
 	 * Create the CompressionSettings object to use in the compression.
 	 * 
@@ -334,6 +364,6 @@ public class CompressionSettingsBuilder {
 		return new CompressionSettings(samplingRatio, samplePower, allowSharedDictionary, transposeInput, seed, lossy,
 			validCompressions, sortValuesByLength, columnPartitioner, maxColGroupCoCode, coCodePercentage,
 			minimumSampleSize, maxSampleSize, estimationType, costType, minimumCompressionRatio, isInSparkInstruction,
-			sdcSortType);
+			sdcSortType, coCodeTimeBudget, lossyMaxError);
 	}
 }
@@ -38,10 +38,38 @@ public abstract class AColumnCoCoder {
 	protected final ACostEstimate _cest;
 	protected final CompressionSettings _cs;
 
+	/** The start time of the co-coding, used to respect the planning time budget */
+	private long _startTime;
+
 	protected AColumnCoCoder(AComEst sizeEstimator, ACostEstimate costEstimator, CompressionSettings cs) {
 		_sest = sizeEstimator;
 		_cest = costEstimator;
 		_cs = cs;
+		_startTime = System.nanoTime();
+	}
+
+	/**
+	 * Share the time budget of another co-coder, such that nested co-coders account for the time already spent.
+	 * 
+	 * @param parent The co-coder that started the planning
+	 */
+	protected void shareBudget(AColumnCoCoder parent) {
+		_startTime = parent._startTime;
+	}
+
+	/**
+	 * Get if the planning time budget is exceeded, in which case the co-coders should stop joining column groups and
+	 * return the current state.
+	 * 
+	 * @return If the time budget is exceeded
+	 */
+	protected boolean isOverBudget() {
+		if(_cs.coCodeTimeBudget <= 0)
+			return false;
+		final boolean over = (System.nanoTime() - _startTime) / 1e6 > _cs.coCodeTimeBudget;
+		if(over && LOG.isDebugEnabled())
+			LOG.debug("CoCode planning time budget of " + _cs.coCodeTimeBudget + "ms exceeded");
+		return over;
 	}
 
 	/**
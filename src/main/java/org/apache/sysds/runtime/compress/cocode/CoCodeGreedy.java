@@ -37,6 +37,9 @@ import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
 
 public class CoCodeGreedy extends AColumnCoCoder {
 
+	/** Minimum number of groups in the work set before the combinations of a joined group are evaluated in parallel */
+	private static final int PAR_COMBINE_THRESHOLD = 16;
+
 	private final MemorizerV2 mem;
 
 	protected CoCodeGreedy(AComEst sizeEstimator, ACostEstimate costEstimator, CompressionSettings cs) {
@@ -80,8 +83,8 @@ public class CoCodeGreedy extends AColumnCoCoder {
 			CompressedSizeInfoColGroup secondTmp = null;
 			ColIndexes secondSelectedJ = null, secondSelected1 = null, secondSelected2 = null;
 
-			// Process merging iterations until no more change
-			while(workSet.size() > 1) {
+			// Process merging iterations until no more change or the planning budget is exceeded
+			while(workSet.size() > 1 && !isOverBudget()) {
 				if(secondChange != 0)
 					mem.incst4();
 				// maintain selected
@@ -159,6 +162,8 @@ public class CoCodeGreedy extends AColumnCoCoder {
 					// ColIndexes combined = new ColIndexes(tmp.getColumns());
 					mem.put(selectedJ, tmp); // add back the new combination to memorizer
 					workSet.add(selectedJ);
+					if(k > 1 && workSet.size() > PAR_COMBINE_THRESHOLD)
+						parallelCombineWith(selectedJ, workSet, pool);
 					if(selectedJ.contains(secondSelected1, secondSelected2)) {
 						secondTmp = null;
 						secondSelectedJ = null;
@@ -203,6 +208,29 @@ public class CoCodeGreedy extends AColumnCoCoder {
 		}
 	}
 
+	/**
+	 * Evaluate the combinations of a newly joined group with all other groups in the work set in parallel, such that
+	 * the next sequential scan over all pairs only hits memorized candidates.
+	 * 
+	 * @param c       The newly joined group
+	 * @param workSet The current work set
+	 * @param pool    The thread pool to use
+	 */
+	protected void parallelCombineWith(ColIndexes c, List<ColIndexes> workSet, ExecutorService pool) {
+		try {
+			final List<CombineTask> tasks = new ArrayList<>();
+			for(ColIndexes o : workSet)
+				if(o != c)
+					tasks.add(new CombineTask(c, o));
+
+			for(Future<Object> t : pool.invokeAll(tasks))
+				t.get();
+		}
+		catch(Exception e) {
+			throw new DMLCompressionException("Failed parallel combine of joined group", e);
+		}
+	}
+
 	protected class CombineTask implements Callable<Object> {
 		private final ColIndexes _c1, _c2;
 
@@ -43,7 +43,7 @@ public class MemorizerV2 {
 		put(new ColIndexes(g.getColumns()), g);
 	}
 
-	public void put(ColIndexes key, CompressedSizeInfoColGroup val) {
+	public synchronized void put(ColIndexes key, CompressedSizeInfoColGroup val) {
 		final IColIndex gi = key._indexes;
 		final int bucketID = gi.get(0);
 		Map<ColIndexes, CompressedSizeInfoColGroup> bucket = mem[bucketID];
@@ -52,8 +52,9 @@ public class MemorizerV2 {
 		bucket.put(key, val);
 	}
 
-	public CompressedSizeInfoColGroup get(ColIndexes c) {
-		return mem[c._indexes.get(0)].get(c);
+	public synchronized CompressedSizeInfoColGroup get(ColIndexes c) {
+		final Map<ColIndexes, CompressedSizeInfoColGroup> bucket = mem[c._indexes.get(0)];
+		return bucket == null ? null : bucket.get(c);
 	}
 
 	public void remove(ColIndexes c1, ColIndexes c2) {
@@ -75,9 +76,7 @@ public class MemorizerV2 {
 						throw new DMLCompressionException(
 							"Combination returned less distinct values on: \n" + left + "\nand\n" + right + "\nEq\n" + g);
 				}
-				synchronized(this) {
-					put(cI, g);
-				}
+				put(cI, g);
 			}
 
 		}
@@ -22,6 +22,7 @@ package org.apache.sysds.runtime.compress.colgroup;
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.DMLCompressionException;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.AQuantizedDictionary;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.IDictionary;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.DictLibMatrixMult;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
@@ -310,6 +311,12 @@ public abstract class APreAgg extends AColGroupValue {
 	}
 
 	public void mmWithDictionary(MatrixBlock preAgg, MatrixBlock tmpRes, MatrixBlock ret, int k, int rl, int ru) {
+		if(_dict instanceof AQuantizedDictionary && isDenseMMPreAgg(preAgg, ret, rl, ru)) {
+			// dequantize on the fly directly into the result
+			((AQuantizedDictionary) _dict).MMPreAggDense(preAgg.getDenseBlockValues(), ru - rl, _colIndexes,
+				ret.getDenseBlockValues(), rl, ret.getNumColumns());
+			return;
+		}
 		// Shallow copy the preAgg to allow sparse PreAgg multiplication but do not remove the original dense allocation
 		// since the dense allocation is reused.
 		final MatrixBlock preAggCopy = new MatrixBlock();
@@ -325,6 +332,15 @@ public abstract class APreAgg extends AColGroupValue {
 		}
 	}
 
+	private boolean isDenseMMPreAgg(MatrixBlock preAgg, MatrixBlock ret, int rl, int ru) {
+		// the kernels require a dense contiguous pre aggregate with one column per dictionary entry,
+		// and a dense contiguous output
+		return !preAgg.isInSparseFormat() && preAgg.isAllocated() && preAgg.getDenseBlock().isContiguous() //
+			&& preAgg.getNumRows() >= ru - rl //
+			&& preAgg.getNumColumns() == _dict.getNumberOfValues(_colIndexes.size()) //
+			&& !ret.isInSparseFormat() && ret.isAllocated() && ret.getDenseBlock().isContiguous();
+	}
+
 	protected abstract int numRowsToMultiply();
 
 	public abstract void leftMMIdentityPreAggregateDense(MatrixBlock that, MatrixBlock ret, int rl, int ru, int cl,
@@ -240,6 +240,18 @@ public class ColGroupFactory {
 		AColGroup g = compress(cg);
 		if(ce != null && ce.shouldSparsify() && nCol >= 4)
 			g = sparsifyFOR(g);
+		if(cs.lossy)
+			g = quantize(g);
+		return g;
+	}
+
+	private AColGroup quantize(AColGroup g) {
+		if(g instanceof ColGroupDDC) {
+			final ColGroupDDC ddc = (ColGroupDDC) g;
+			final IDictionary d = ddc.getDictionary();
+			final IDictionary q = DictionaryFactory.quantize(d, g.getNumCols(), cs.lossyMaxError);
+			return q == d ? g : ddc.copyAndSet(q);
+		}
 		return g;
 	}
 
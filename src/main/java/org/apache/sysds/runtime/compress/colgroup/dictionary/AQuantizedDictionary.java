@@ -0,0 +1,582 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.colgroup.dictionary;
+
+import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.ValueFunction;
+import org.apache.sysds.runtime.instructions.cp.CM_COV_Object;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
+
+/**
+ * Abstract class for lossy dictionaries that store their values in a quantized low precision format.
+ * 
+ * The values are dequantized on the fly in the per row access methods and in the matrix multiplication kernels. All
+ * other operations decompress the dictionary into an exact double dictionary before processing, meaning that
+ * dictionaries returned from transforming operations are not quantized anymore.
+ */
+public abstract class AQuantizedDictionary extends ADictionary {
+
+	private static final long serialVersionUID = -3148219746302513217L;
+
+	/** The number of columns in the dictionary */
+	protected final int _nCol;
+
+	protected AQuantizedDictionary(int nCol) {
+		_nCol = nCol;
+	}
+
+	/**
+	 * Get the number of columns this dictionary was quantized with.
+	 * 
+	 * @return The number of columns
+	 */
+	public int getNumCols() {
+		return _nCol;
+	}
+
+	/**
+	 * Get the number of quantized cells in this dictionary.
+	 * 
+	 * @return The number of cells
+	 */
+	protected abstract int size();
+
+	/**
+	 * Matrix multiply a dense pre aggregated left side with this dictionary, dequantizing the values on the fly, and add
+	 * the result to the given columns of the dense output.
+	 * 
+	 * @param preAgg  The dense pre aggregate with one row per output row and one column per dictionary entry
+	 * @param nRows   The number of rows in the pre aggregate
+	 * @param cols    The column indexes in the output to add into
+	 * @param ret     The dense output values
+	 * @param rl      The row offset in the output
+	 * @param nColRet The number of columns in the output
+	 */
+	public abstract void MMPreAggDense(double[] preAgg, int nRows, IColIndex cols, double[] ret, int rl, int nColRet);
+
+	/**
+	 * Decompress this dictionary into an exact double dictionary containing the dequantized values.
+	 * 
+	 * @return The double dictionary
+	 */
+	public Dictionary decompress() {
+		return Dictionary.createNoCheck(getValues());
+	}
+
+	/**
+	 * Get the maximum absolute difference between the dequantized values and the given values, relative to the largest
+	 * absolute value in each column.
+	 * 
+	 * @param values The linearized original values
+	 * @return The maximum relative error over all columns
+	 */
+	public double getMaxRelativeError(double[] values) {
+		final double[] maxAbs = new double[_nCol];
+		final double[] maxErr = new double[_nCol];
+		for(int i = 0; i < values.length; i++) {
+			final int c = i % _nCol;
+			maxAbs[c] = Math.max(maxAbs[c], Math.abs(values[i]));
+			maxErr[c] = Math.max(maxErr[c], Math.abs(values[i] - getValue(i)));
+		}
+		double err = 0;
+		for(int c = 0; c < _nCol; c++)
+			if(maxErr[c] > 0)
+				err = Math.max(err, maxAbs[c] == 0 ? Double.POSITIVE_INFINITY : maxErr[c] / maxAbs[c]);
+		return err;
+	}
+
+	@Override
+	public double[] getValues() {
+		final double[] ret = new double[size()];
+		for(int i = 0; i < ret.length; i++)
+			ret[i] = getValue(i);
+		return ret;
+	}
+
+	@Override
+	public int getNumberOfValues(int nCol) {
+		return size() / nCol;
+	}
+
+	@Override
+	public double getSparsity() {
+		return 1;
+	}
+
+	@Override
+	public double aggregate(double init, Builtin fn) {
+		double ret = init;
+		for(int i = 0; i < size(); i++)
+			ret = fn.execute(ret, getValue(i));
+		return ret;
+	}
+
+	@Override
+	public boolean containsValue(double pattern) {
+		if(Double.isNaN(pattern))
+			return false;
+		for(int i = 0; i < size(); i++)
+			if(getValue(i) == pattern)
+				return true;
+		return false;
+	}
+
+	@Override
+	public double[] sumAllRowsToDouble(int nrColumns) {
+		final int numVals = getNumberOfValues(nrColumns);
+		final double[] ret = new double[numVals];
+		for(int k = 0; k < numVals; k++)
+			for(int c = 0; c < nrColumns; c++)
+				ret[k] += getValue(k, c, nrColumns);
+		return ret;
+	}
+
+	@Override
+	public void colSum(double[] c, int[] counts, IColIndex colIndexes) {
+		final int nCol = colIndexes.size();
+		for(int k = 0; k < counts.length; k++) {
+			final int cnt = counts[k];
+			for(int j = 0; j < nCol; j++)
+				c[colIndexes.get(j)] += getValue(k, j, nCol) * cnt;
+		}
+	}
+
+	@Override
+	public double sum(int[] counts, int nCol) {
+		double out = 0;
+		for(int k = 0; k < counts.length; k++) {
+			double rowSum = 0;
+			for(int j = 0; j < nCol; j++)
+				rowSum += getValue(k, j, nCol);
+			out += rowSum * counts[k];
+		}
+		return out;
+	}
+
+	@Override
+	public long getNumberNonZeros(int[] counts, int nCol) {
+		long nnz = 0;
+		for(int k = 0; k < counts.length; k++) {
+			long rowCount = 0;
+			for(int j = 0; j < nCol; j++)
+				if(getValue(k, j, nCol) != 0)
+					rowCount++;
+			nnz += rowCount * counts[k];
+		}
+		return nnz;
+	}
+
+	@Override
+	public void addToEntry(double[] v, int fr, int to, int nCol) {
+		final int st = to * nCol;
+		for(int j = 0; j < nCol; j++)
+			v[st + j] += getValue(fr, j, nCol);
+	}
+
+	@Override
+	public void addToEntry(double[] v, int fr, int to, int nCol, int rep) {
+		final int st = to * nCol;
+		for(int j = 0; j < nCol; j++)
+			v[st + j] += getValue(fr, j, nCol) * rep;
+	}
+
+	@Override
+	public void addToEntryVectorized(double[] v, int f1, int f2, int f3, int f4, int f5, int f6, int f7, int f8, int t1,
+		int t2, int t3, int t4, int t5, int t6, int t7, int t8, int nCol) {
+		addToEntry(v, f1, t1, nCol);
+		addToEntry(v, f2, t2, nCol);
+		addToEntry(v, f3, t3, nCol);
+		addToEntry(v, f4, t4, nCol);
+		addToEntry(v, f5, t5, nCol);
+		addToEntry(v, f6, t6, nCol);
+		addToEntry(v, f7, t7, nCol);
+		addToEntry(v, f8, t8, nCol);
+	}
+
+	@Override
+	public void multiplyScalar(double v, double[] ret, int off, int dictIdx, IColIndex cols) {
+		final int nCol = cols.size();
+		for(int j = 0; j < nCol; j++)
+			ret[off + cols.get(j)] += v * getValue(dictIdx, j, nCol);
+	}
+
+	@Override
+	public IDictionary preaggValuesFromDense(int numVals, IColIndex colIndexes, IColIndex aggregateColumns, double[] b,
+		int cut) {
+		final int cz = colIndexes.size();
+		final int az = aggregateColumns.size();
+		final double[] ret = new double[numVals * az];
+		for(int k = 0, off = 0; k < numVals; k++, off += az) {
+			for(int h = 0; h < cz; h++) {
+				final double v = getValue(k, h, cz);
+				if(v != 0) {
+					final int idb = colIndexes.get(h) * cut;
+					for(int i = 0; i < az; i++)
+						ret[off + i] += v * b[idb + aggregateColumns.get(i)];
+				}
+			}
+		}
+		return Dictionary.create(ret);
+	}
+
+	@Override
+	public String getString(int colIndexes) {
+		return decompress().getString(colIndexes);
+	}
+
+	@Override
+	public boolean equals(IDictionary o) {
+		if(o instanceof AQuantizedDictionary)
+			return decompress().equals(((AQuantizedDictionary) o).decompress());
+		return decompress().equals(o);
+	}
+
+	@Override
+	public CM_COV_Object centralMoment(CM_COV_Object ret, ValueFunction fn, int[] counts, int nRows) {
+		return decompress().centralMoment(ret, fn, counts, nRows);
+	}
+
+	@Override
+	public CM_COV_Object centralMomentWithDefault(CM_COV_Object ret, ValueFunction fn, int[] counts, double def,
+		int nRows) {
+		return decompress().centralMomentWithDefault(ret, fn, counts, def, nRows);
+	}
+
+	@Override
+	public CM_COV_Object centralMomentWithReference(CM_COV_Object ret, ValueFunction fn, int[] counts, double reference,
+		int nRows) {
+		return decompress().centralMomentWithReference(ret, fn, counts, reference, nRows);
+	}
+
+	@Override
+	public double aggregateWithReference(double init, Builtin fn, double[] reference, boolean def) {
+		return decompress().aggregateWithReference(init, fn, reference, def);
+	}
+
+	@Override
+	public double[] aggregateRows(Builtin fn, int nCol) {
+		return decompress().aggregateRows(fn, nCol);
+	}
+
+	@Override
+	public double[] aggregateRowsWithDefault(Builtin fn, double[] defaultTuple) {
+		return decompress().aggregateRowsWithDefault(fn, defaultTuple);
+	}
+
+	@Override
+	public double[] aggregateRowsWithReference(Builtin fn, double[] reference) {
+		return decompress().aggregateRowsWithReference(fn, reference);
+	}
+
+	@Override
+	public void aggregateCols(double[] c, Builtin fn, IColIndex colIndexes) {
+		decompress().aggregateCols(c, fn, colIndexes);
+	}
+
+	@Override
+	public void aggregateColsWithReference(double[] c, Builtin fn, IColIndex colIndexes, double[] reference,
+		boolean def) {
+		decompress().aggregateColsWithReference(c, fn, colIndexes, reference, def);
+	}
+
+	@Override
+	public IDictionary applyScalarOp(ScalarOperator op) {
+		return decompress().applyScalarOp(op);
+	}
+
+	@Override
+	public IDictionary applyScalarOpAndAppend(ScalarOperator op, double v0, int nCol) {
+		return decompress().applyScalarOpAndAppend(op, v0, nCol);
+	}
+
+	@Override
+	public IDictionary applyUnaryOp(UnaryOperator op) {
+		return decompress().applyUnaryOp(op);
+	}
+
+	@Override
+	public IDictionary applyUnaryOpAndAppend(UnaryOperator op, double v0, int nCol) {
+		return decompress().applyUnaryOpAndAppend(op, v0, nCol);
+	}
+
+	@Override
+	public IDictionary applyScalarOpWithReference(ScalarOperator op, double[] reference, double[] newReference) {
+		return decompress().applyScalarOpWithReference(op, reference, newReference);
+	}
+
+	@Override
+	public IDictionary applyUnaryOpWithReference(UnaryOperator op, double[] reference, double[] newReference) {
+		return decompress().applyUnaryOpWithReference(op, reference, newReference);
+	}
+
+	@Override
+	public IDictionary binOpLeft(BinaryOperator op, double[] v, IColIndex colIndexes) {
+		return decompress().binOpLeft(op, v, colIndexes);
+	}
+
+	@Override
+	public IDictionary binOpLeftAndAppend(BinaryOperator op, double[] v, IColIndex colIndexes) {
+		return decompress().binOpLeftAndAppend(op, v, colIndexes);
+	}
+
+	@Override
+	public IDictionary binOpLeftWithReference(BinaryOperator op, double[] v, IColIndex colIndexes, double[] reference,
+		double[] newReference) {
+		return decompress().binOpLeftWithReference(op, v, colIndexes, reference, newReference);
+	}
+
+	@Override
+	public IDictionary binOpRight(BinaryOperator op, double[] v, IColIndex colIndexes) {
+		return decompress().binOpRight(op, v, colIndexes);
+	}
+
+	@Override
+	public IDictionary binOpRightAndAppend(BinaryOperator op, double[] v, IColIndex colIndexes) {
+		return decompress().binOpRightAndAppend(op, v, colIndexes);
+	}
+
+	@Override
+	public IDictionary binOpRight(BinaryOperator op, double[] v) {
+		return decompress().binOpRight(op, v);
+	}
+
+	@Override
+	public IDictionary binOpRightWithReference(BinaryOperator op, double[] v, IColIndex colIndexes, double[] reference,
+		double[] newReference) {
+		return decompress().binOpRightWithReference(op, v, colIndexes, reference, newReference);
+	}
+
+	@Override
+	public double[] sumAllRowsToDoubleWithDefault(double[] defaultTuple) {
+		return decompress().sumAllRowsToDoubleWithDefault(defaultTuple);
+	}
+
+	@Override
+	public double[] sumAllRowsToDoubleWithReference(double[] reference) {
+		return decompress().sumAllRowsToDoubleWithReference(reference);
+	}
+
+	@Override
+	public double[] sumAllRowsToDoubleSq(int nrColumns) {
+		return decompress().sumAllRowsToDoubleSq(nrColumns);
+	}
+
+	@Override
+	public double[] sumAllRowsToDoubleSqWithDefault(double[] defaultTuple) {
+		return decompress().sumAllRowsToDoubleSqWithDefault(defaultTuple);
+	}
+
+	@Override
+	public double[] sumAllRowsToDoubleSqWithReference(double[] reference) {
+		return decompress().sumAllRowsToDoubleSqWithReference(reference);
+	}
+
+	@Override
+	public double[] productAllRowsToDouble(int nrColumns) {
+		return decompress().productAllRowsToDouble(nrColumns);
+	}
+
+	@Override
+	public double[] productAllRowsToDoubleWithDefault(double[] defaultTuple) {
+		return decompress().productAllRowsToDoubleWithDefault(defaultTuple);
+	}
+
+	@Override
+	public double[] productAllRowsToDoubleWithReference(double[] reference) {
+		return decompress().productAllRowsToDoubleWithReference(reference);
+	}
+
+	@Override
+	public void colSumSq(double[] c, int[] counts, IColIndex colIndexes) {
+		decompress().colSumSq(c, counts, colIndexes);
+	}
+
+	@Override
+	public void colSumSqWithReference(double[] c, int[] counts, IColIndex colIndexes, double[] reference) {
+		decompress().colSumSqWithReference(c, counts, colIndexes, reference);
+	}
+
+	@Override
+	public double sumSq(int[] counts, int nCol) {
+		return decompress().sumSq(counts, nCol);
+	}
+
+	@Override
+	public double sumSqWithReference(int[] counts, double[] reference) {
+		return decompress().sumSqWithReference(counts, reference);
+	}
+
+	@Override
+	public boolean containsValueWithReference(double pattern, double[] reference) {
+		return decompress().containsValueWithReference(pattern, reference);
+	}
+
+	@Override
+	public long getNumberNonZerosWithReference(int[] counts, double[] reference, int nRows) {
+		return decompress().getNumberNonZerosWithReference(counts, reference, nRows);
+	}
+
+	@Override
+	public IDictionary subtractTuple(double[] tuple) {
+		return decompress().subtractTuple(tuple);
+	}
+
+	@Override
+	public MatrixBlockDictionary getMBDict(int nCol) {
+		return decompress().getMBDict(nCol);
+	}
+
+	@Override
+	public IDictionary scaleTuples(int[] scaling, int nCol) {
+		return decompress().scaleTuples(scaling, nCol);
+	}
+
+	@Override
+	public IDictionary replace(double pattern, double replace, int nCol) {
+		return decompress().replace(pattern, replace, nCol);
+	}
+
+	@Override
+	public IDictionary replaceWithReference(double pattern, double replace, double[] reference) {
+		return decompress().replaceWithReference(pattern, replace, reference);
+	}
+
+	@Override
+	public void product(double[] ret, int[] counts, int nCol) {
+		decompress().product(ret, counts, nCol);
+	}
+
+	@Override
+	public void productWithDefault(double[] ret, int[] counts, double[] def, int defCount) {
+		decompress().productWithDefault(ret, counts, def, defCount);
+	}
+
+	@Override
+	public void productWithReference(double[] ret, int[] counts, double[] reference, int refCount) {
+		decompress().productWithReference(ret, counts, reference, refCount);
+	}
+
+	@Override
+	public void colProduct(double[] res, int[] counts, IColIndex colIndexes) {
+		decompress().colProduct(res, counts, colIndexes);
+	}
+
+	@Override
+	public void colProductWithReference(double[] res, int[] counts, IColIndex colIndexes, double[] reference) {
+		decompress().colProductWithReference(res, counts, colIndexes, reference);
+	}
+
+	@Override
+	public IDictionary rexpandCols(int max, boolean ignore, boolean cast, int nCol) {
+		return decompress().rexpandCols(max, ignore, cast, nCol);
+	}
+
+	@Override
+	public IDictionary rexpandColsWithReference(int max, boolean ignore, boolean cast, int reference) {
+		return decompress().rexpandColsWithReference(max, ignore, cast, reference);
+	}
+
+	@Override
+	public void TSMMWithScaling(int[] counts, IColIndex rows, IColIndex cols, MatrixBlock ret) {
+		decompress().TSMMWithScaling(counts, rows, cols, ret);
+	}
+
+	@Override
+	public void MMDict(IDictionary right, IColIndex rowsLeft, IColIndex colsRight, MatrixBlock result) {
+		decompress().MMDict(right, rowsLeft, colsRight, result);
+	}
+
+	@Override
+	public void MMDictScaling(IDictionary right, IColIndex rowsLeft, IColIndex colsRight, MatrixBlock result,
+		int[] scaling) {
+		decompress().MMDictScaling(right, rowsLeft, colsRight, result, scaling);
+	}
+
+	@Override
+	public void MMDictDense(double[] left, IColIndex rowsLeft, IColIndex colsRight, MatrixBlock result) {
+		decompress().MMDictDense(left, rowsLeft, colsRight, result);
+	}
+
+	@Override
+	public void MMDictScalingDense(double[] left, IColIndex rowsLeft, IColIndex colsRight, MatrixBlock result,
+		int[] scaling) {
+		decompress().MMDictScalingDense(left, rowsLeft, colsRight, result, scaling);
+	}
+
+	@Override
+	public void MMDictSparse(SparseBlock left, IColIndex rowsLeft, IColIndex colsRight, MatrixBlock result) {
+		decompress().MMDictSparse(left, rowsLeft, colsRight, result);
+	}
+
+	@Override
+	public void MMDictScalingSparse(SparseBlock left, IColIndex rowsLeft, IColIndex colsRight, MatrixBlock result,
+		int[] scaling) {
+		decompress().MMDictScalingSparse(left, rowsLeft, colsRight, result, scaling);
+	}
+
+	@Override
+	public void TSMMToUpperTriangle(IDictionary right, IColIndex rowsLeft, IColIndex colsRight, MatrixBlock result) {
+		decompress().TSMMToUpperTriangle(right, rowsLeft, colsRight, result);
+	}
+
+	@Override
+	public void TSMMToUpperTriangleDense(double[] left, IColIndex rowsLeft, IColIndex colsRight, MatrixBlock result) {
+		decompress().TSMMToUpperTriangleDense(left, rowsLeft, colsRight, result);
+	}
+
+	@Override
+	public void TSMMToUpperTriangleSparse(SparseBlock left, IColIndex rowsLeft, IColIndex colsRight,
+		MatrixBlock result) {
+		decompress().TSMMToUpperTriangleSparse(left, rowsLeft, colsRight, result);
+	}
+
+	@Override
+	public void TSMMToUpperTriangleScaling(IDictionary right, IColIndex rowsLeft, IColIndex colsRight, int[] scale,
+		MatrixBlock result) {
+		decompress().TSMMToUpperTriangleScaling(right, rowsLeft, colsRight, scale, result);
+	}
+
+	@Override
+	public void TSMMToUpperTriangleDenseScaling(double[] left, IColIndex rowsLeft, IColIndex colsRight, int[] scale,
+		MatrixBlock result) {
+		decompress().TSMMToUpperTriangleDenseScaling(left, rowsLeft, colsRight, scale, result);
+	}
+
+	@Override
+	public void TSMMToUpperTriangleSparseScaling(SparseBlock left, IColIndex rowsLeft, IColIndex colsRight, int[] scale,
+		MatrixBlock result) {
+		decompress().TSMMToUpperTriangleSparseScaling(left, rowsLeft, colsRight, scale, result);
+	}
+
+	@Override
+	public IDictionary cbind(IDictionary that, int nCol) {
+		return decompress().cbind(that, nCol);
+	}
+
+	@Override
+	public IDictionary reorder(int[] reorder) {
+		return decompress().reorder(reorder);
+	}
+}
@@ -148,6 +148,79 @@ public class DictLibMatrixMult {
 		left.TSMMToUpperTriangleScaling(left, rowsLeft, colsRight, scale, result);
 	}
 
+	/**
+	 * Matrix multiply a dense pre aggregate with an int8 quantized dictionary. The codes are multiplied with the pre
+	 * aggregate and the per column scale and offset are applied once per output cell.
+	 * 
+	 * @param preAgg  The dense pre aggregate values with one column per dictionary entry
+	 * @param codes   The quantized dictionary codes
+	 * @param scale   The scale per column
+	 * @param offset  The offset per column
+	 * @param nRows   The number of rows in the pre aggregate
+	 * @param cols    The output column indexes
+	 * @param ret     The dense output to add into
+	 * @param rl      The output row offset
+	 * @param nColRet The number of columns in the output
+	 */
+	protected static void MMPreAggDenseInt8(double[] preAgg, byte[] codes, double[] scale, double[] offset, int nRows,
+		IColIndex cols, double[] ret, int rl, int nColRet) {
+		final int nCol = cols.size();
+		final int nVals = codes.length / nCol;
+		final double[] tmp = new double[nCol];
+		for(int r = 0; r < nRows; r++) {
+			final int offP = r * nVals;
+			double rowSum = 0;
+			for(int k = 0; k < nVals; k++) {
+				final double p = preAgg[offP + k];
+				if(p != 0) {
+					rowSum += p;
+					final int offD = k * nCol;
+					for(int c = 0; c < nCol; c++)
+						tmp[c] += p * codes[offD + c];
+				}
+			}
+			final int offR = (rl + r) * nColRet;
+			for(int c = 0; c < nCol; c++) {
+				ret[offR + cols.get(c)] += tmp[c] * scale[c] + rowSum * offset[c];
+				tmp[c] = 0;
+			}
+		}
+	}
+
+	/**
+	 * Matrix multiply a dense pre aggregate with a half precision dictionary, converting the values on the fly.
+	 * 
+	 * @param preAgg  The dense pre aggregate values with one column per dictionary entry
+	 * @param values  The half precision dictionary values
+	 * @param nRows   The number of rows in the pre aggregate
+	 * @param cols    The output column indexes
+	 * @param ret     The dense output to add into
+	 * @param rl      The output row offset
+	 * @param nColRet The number of columns in the output
+	 */
+	protected static void MMPreAggDenseFP16(double[] preAgg, short[] values, int nRows, IColIndex cols, double[] ret,
+		int rl, int nColRet) {
+		final int nCol = cols.size();
+		final int nVals = values.length / nCol;
+		final double[] tmp = new double[nCol];
+		for(int r = 0; r < nRows; r++) {
+			final int offP = r * nVals;
+			for(int k = 0; k < nVals; k++) {
+				final double p = preAgg[offP + k];
+				if(p != 0) {
+					final int offD = k * nCol;
+					for(int c = 0; c < nCol; c++)
+						tmp[c] += p * FP16Dictionary.toFloat(values[offD + c]);
+				}
+			}
+			final int offR = (rl + r) * nColRet;
+			for(int c = 0; c < nCol; c++) {
+				ret[offR + cols.get(c)] += tmp[c];
+				tmp[c] = 0;
+			}
+		}
+	}
+
 	protected static void TSMMDictsDenseWithScaling(double[] dv, IColIndex rowsLeft, IColIndex colsRight, int[] scaling,
 		MatrixBlock result) {
 		final int commonDim = Math.min(dv.length / rowsLeft.size(), dv.length / colsRight.size());
@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.compress.colgroup.dictionary;
 
 import java.io.DataInput;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Map;
 
 import org.apache.commons.lang3.NotImplementedException;
@@ -47,7 +48,7 @@ public interface DictionaryFactory {
 	static final Log LOG = LogFactory.getLog(DictionaryFactory.class.getName());
 
 	public enum Type {
-		FP64_DICT, MATRIX_BLOCK_DICT, INT8_DICT, IDENTITY, IDENTITY_SLICE, PLACE_HOLDER
+		FP64_DICT, MATRIX_BLOCK_DICT, INT8_DICT, IDENTITY, IDENTITY_SLICE, PLACE_HOLDER, FP16_DICT, INT8_SCALED_DICT
 	}
 
 	public static IDictionary read(DataInput in) throws IOException {
@@ -56,7 +57,11 @@ public interface DictionaryFactory {
 			case FP64_DICT:
 				return Dictionary.read(in);
 			case INT8_DICT:
+				return QDictionary.readLegacy(in);
+			case INT8_SCALED_DICT:
 				return QDictionary.read(in);
+			case FP16_DICT:
+				return FP16Dictionary.read(in);
 			case PLACE_HOLDER:
 				return PlaceHolderDict.read(in);
 			case IDENTITY:
@@ -72,13 +77,45 @@ public interface DictionaryFactory {
 
 	public static long getInMemorySize(int nrValues, int nrColumns, double tupleSparsity, boolean lossy) {
 		if(lossy)
-			return QDictionary.getInMemorySize(nrValues * nrColumns);
+			return QDictionary.getInMemorySize(nrValues * nrColumns, nrColumns);
 		else if(nrColumns > 1 && tupleSparsity < 0.4)
 			return MatrixBlockDictionary.getInMemorySize(nrValues, nrColumns, tupleSparsity);
 		else
 			return Dictionary.getInMemorySize(nrValues * nrColumns);
 	}
 
+	/**
+	 * Quantize a dictionary into a lossy int8 or half precision dictionary if the error bound allows it. The int8 format
+	 * is tried first, then half precision, and if neither satisfy the error bound the dictionary is returned as is.
+	 * 
+	 * @param dict     The dictionary to quantize
+	 * @param nCol     The number of columns in the dictionary
+	 * @param maxError The maximum allowed error relative to the largest absolute value in each column
+	 * @return The quantized dictionary or the input dictionary
+	 */
+	public static IDictionary quantize(IDictionary dict, int nCol, double maxError) {
+		final double[] values;
+		if(dict instanceof Dictionary)
+			values = dict.getValues();
+		else if(dict instanceof MatrixBlockDictionary &&
+			!((MatrixBlockDictionary) dict).getMatrixBlock().isInSparseFormat()) {
+			final MatrixBlock mb = ((MatrixBlockDictionary) dict).getMatrixBlock();
+			values = Arrays.copyOf(mb.getDenseBlockValues(), mb.getNumRows() * nCol);
+		}
+		else // already quantized, sparse or special dictionaries
+			return dict;
+
+		IDictionary ret = QDictionary.create(values, nCol, maxError);
+		if(ret == null)
+			ret = FP16Dictionary.create(values, nCol, maxError);
+		if(ret == null || ret.getInMemorySize() >= dict.getInMemorySize()) {
+			if(LOG.isDebugEnabled())
+				LOG.debug("Quantization exceeded the error bound " + maxError + " or did not reduce size, keeping exact dictionary");
+			return dict;
+		}
+		return ret;
+	}
+
 	public static IDictionary create(DblArrayCountHashMap map, int nCols, boolean addZeroTuple, double sparsity) {
 
 		final ACount<DblArray>[] vals = map.extractValues();
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.colgroup.dictionary;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex;
+import org.apache.sysds.utils.MemoryEstimates;
+
+/**
+ * Lossy dictionary that stores the values as IEEE 754 half precision floating point numbers in a short array.
+ */
+public class FP16Dictionary extends AQuantizedDictionary {
+
+	private static final long serialVersionUID = -2361085723457032140L;
+
+	protected final short[] _values;
+
+	protected FP16Dictionary(short[] values, int nCol) {
+		super(nCol);
+		_values = values;
+	}
+
+	/**
+	 * Quantize the given values into a half precision dictionary.
+	 * 
+	 * @param values   The linearized values, row major with nCol columns
+	 * @param nCol     The number of columns
+	 * @param maxError The maximum allowed error relative to the largest absolute value in each column
+	 * @return The quantized dictionary or null if the values are not finite in half precision or the error bound is
+	 *         exceeded
+	 */
+	public static FP16Dictionary create(double[] values, int nCol, double maxError) {
+		final short[] codes = new short[values.length];
+		for(int i = 0; i < values.length; i++) {
+			codes[i] = toHalf((float) values[i]);
+			if((codes[i] & 0x7c00) == 0x7c00) // infinite or NaN
+				return null;
+		}
+		final FP16Dictionary ret = new FP16Dictionary(codes, nCol);
+		return ret.getMaxRelativeError(values) <= maxError ? ret : null;
+	}
+
+	/**
+	 * Convert a float to half precision with round to nearest even.
+	 * 
+	 * @param f The float value
+	 * @return The half precision bits
+	 */
+	public static short toHalf(float f) {
+		final int bits = Float.floatToRawIntBits(f);
+		final int sign = (bits >>> 16) & 0x8000;
+		final int abs = bits & 0x7fffffff;
+		if(abs >= 0x7f800000) // infinite or NaN
+			return (short) (sign | 0x7c00 | (abs > 0x7f800000 ? 0x200 : 0));
+		else if(abs >= 0x477ff000) // rounds to infinite
+			return (short) (sign | 0x7c00);
+		else if(abs < 0x38800000) // sub normal in half precision
+			return (short) (sign | (int) Math.rint(Float.intBitsToFloat(abs) * 0x1p24f));
+		final int mant = abs & 0x7fffff;
+		final int rest = mant & 0x1fff;
+		int h = ((abs >>> 23) - 112) << 10 | (mant >>> 13);
+		if(rest > 0x1000 || (rest == 0x1000 && (h & 1) == 1))
+			h++;
+		return (short) (sign | h);
+	}
+
+	/**
+	 * Convert half precision bits to a float.
+	 * 
+	 * @param h The half precision bits
+	 * @return The float value
+	 */
+	public static float toFloat(short h) {
+		final int bits = h & 0xffff;
+		final int sign = (bits & 0x8000) << 16;
+		final int exp = (bits >>> 10) & 0x1f;
+		final int mant = bits & 0x3ff;
+		if(exp == 0x1f)
+			return Float.intBitsToFloat(sign | 0x7f800000 | (mant << 13));
+		else if(exp == 0) {
+			final float v = mant * 0x1p-24f;
+			return sign == 0 ? v : -v;
+		}
+		return Float.intBitsToFloat(sign | ((exp + 112) << 23) | (mant << 13));
+	}
+
+	@Override
+	public double getValue(int i) {
+		return toFloat(_values[i]);
+	}
+
+	@Override
+	public final double getValue(int r, int c, int nCol) {
+		return toFloat(_values[r * nCol + c]);
+	}
+
+	public short[] getValuesShort() {
+		return _values;
+	}
+
+	@Override
+	protected int size() {
+		return _values.length;
+	}
+
+	@Override
+	public void MMPreAggDense(double[] preAgg, int nRows, IColIndex cols, double[] ret, int rl, int nColRet) {
+		DictLibMatrixMult.MMPreAggDenseFP16(preAgg, _values, nRows, cols, ret, rl, nColRet);
+	}
+
+	@Override
+	public long getInMemorySize() {
+		return getInMemorySize(_values.length);
+	}
+
+	public static long getInMemorySize(int valuesCount) {
+		// object + values array + nCol
+		return 16 + (long) MemoryEstimates.charArrayCost(valuesCount) + 4;
+	}
+
+	@Override
+	public FP16Dictionary clone() {
+		return new FP16Dictionary(_values.clone(), _nCol);
+	}
+
+	@Override
+	public IDictionary sliceOutColumnRange(int idxStart, int idxEnd, int previousNumberOfColumns) {
+		final int nTuples = getNumberOfValues(previousNumberOfColumns);
+		final int nColOut = idxEnd - idxStart;
+		final short[] newValues = new short[nColOut * nTuples];
+		for(int v = 0; v < nTuples; v++)
+			System.arraycopy(_values, v * previousNumberOfColumns + idxStart, newValues, v * nColOut, nColOut);
+		return new FP16Dictionary(newValues, nColOut);
+	}
+
+	@Override
+	public void write(DataOutput out) throws IOException {
+		out.writeByte(DictionaryFactory.Type.FP16_DICT.ordinal());
+		out.writeInt(_nCol);
+		out.writeInt(_values.length);
+		for(int i = 0; i < _values.length; i++)
+			out.writeShort(_values[i]);
+	}
+
+	public static FP16Dictionary read(DataInput in) throws IOException {
+		final int nCol = in.readInt();
+		final short[] values = new short[in.readInt()];
+		for(int i = 0; i < values.length; i++)
+			values[i] = in.readShort();
+		return new FP16Dictionary(values, nCol);
+	}
+
+	@Override
+	public long getExactSizeOnDisk() {
+		return 1 + 4 + 4 + 2L * _values.length;
+	}
+
+	@Override
+	public DictType getDictType() {
+		return DictType.FP16;
+	}
+}
@@ -39,7 +39,7 @@ public interface IDictionary {
 	public static final Log LOG = LogFactory.getLog(IDictionary.class.getName());
 
 	public static enum DictType {
-		Delta, Dict, MatrixBlock, UInt8, Identity, IdentitySlice;
+		Delta, Dict, MatrixBlock, UInt8, Identity, IdentitySlice, FP16;
 	}
 
 	/**
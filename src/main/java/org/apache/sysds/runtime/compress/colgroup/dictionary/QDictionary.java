@@ -23,55 +23,90 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 
-import org.apache.commons.lang3.NotImplementedException;
 import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex;
-import org.apache.sysds.runtime.data.SparseBlock;
-import org.apache.sysds.runtime.functionobjects.Builtin;
-import org.apache.sysds.runtime.functionobjects.ValueFunction;
-import org.apache.sysds.runtime.instructions.cp.CM_COV_Object;
-import org.apache.sysds.runtime.matrix.data.MatrixBlock;
-import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
-import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
-import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
 import org.apache.sysds.utils.MemoryEstimates;
 
 /**
- * This dictionary class aims to encapsulate the storage and operations over unique floating point values of a column
- * group. The primary reason for its introduction was to provide an entry point for specialization such as shared
- * dictionaries, which require additional information.
+ * Lossy dictionary that quantizes the values into signed 8 bit integers with a scale and offset per column.
+ * 
+ * A value is dequantized as code * scale[col] + offset[col]. If a column contains zero the offset is zero, such that
+ * zero values are kept exact.
  */
-public class QDictionary extends ADictionary {
+public class QDictionary extends AQuantizedDictionary {
 
 	private static final long serialVersionUID = 2100501253343438897L;
 
-	protected double _scale;
-	protected byte[] _values;
+	protected final byte[] _values;
+	protected final double[] _scale;
+	protected final double[] _offset;
 
-	protected QDictionary(byte[] values, double scale) {
+	protected QDictionary(byte[] values, double[] scale, double[] offset) {
+		super(scale.length);
 		_values = values;
 		_scale = scale;
-	}
+		_offset = offset;
+	}
+
+	/**
+	 * Quantize the given values into an int8 dictionary.
+	 * 
+	 * @param values   The linearized values, row major with nCol columns
+	 * @param nCol     The number of columns
+	 * @param maxError The maximum allowed error relative to the largest absolute value in each column
+	 * @return The quantized dictionary or null if the values contain non finite values or the error bound is exceeded
+	 */
+	public static QDictionary create(double[] values, int nCol, double maxError) {
+		final double[] min = new double[nCol];
+		final double[] max = new double[nCol];
+		for(int i = 0; i < values.length; i++) {
+			final double v = values[i];
+			if(Double.isNaN(v) || Double.isInfinite(v))
+				return null;
+			final int c = i % nCol;
+			min[c] = i < nCol ? v : Math.min(min[c], v);
+			max[c] = i < nCol ? v : Math.max(max[c], v);
+		}
 
-	@Override
-	public double[] getValues() {
-		if(_values == null) {
-			return new double[0];
+		final double[] scale = new double[nCol];
+		final double[] offset = new double[nCol];
+		for(int c = 0; c < nCol; c++) {
+			if(min[c] <= 0 && max[c] >= 0) // keep zero exact
+				scale[c] = Math.max(-min[c], max[c]) / 127;
+			else {
+				offset[c] = (max[c] + min[c]) / 2;
+				scale[c] = (max[c] - min[c]) / 254;
+			}
 		}
-		double[] res = new double[_values.length];
-		for(int i = 0; i < _values.length; i++) {
-			res[i] = getValue(i);
+
+		final byte[] codes = new byte[values.length];
+		for(int i = 0; i < values.length; i++) {
+			final int c = i % nCol;
+			if(scale[c] != 0)
+				codes[i] = (byte) Math.max(-127, Math.min(127, Math.round((values[i] - offset[c]) / scale[c])));
 		}
-		return res;
+
+		final QDictionary ret = new QDictionary(codes, scale, offset);
+		return ret.getMaxRelativeError(values) <= maxError ? ret : null;
 	}
 
 	@Override
 	public double getValue(int i) {
-		return _values[i] * _scale;
+		final int c = i % _nCol;
+		return _values[i] * _scale[c] + _offset[c];
 	}
 
 	@Override
 	public final double getValue(int r, int c, int nCol) {
-		return _values[r * nCol + c] * _scale;
+		return _values[r * nCol + c] * _scale[c] + _offset[c];
+	}
+
+	@Override
+	public double[] getValues() {
+		final double[] ret = new double[_values.length];
+		for(int i = 0; i < _values.length; i += _nCol)
+			for(int c = 0; c < _nCol; c++)
+				ret[i + c] = _values[i + c] * _scale[c] + _offset[c];
+		return ret;
 	}
 
 	public byte getValueByte(int i) {
@@ -82,553 +117,108 @@ public class QDictionary extends ADictionary {
 		return _values;
 	}
 
-	public double getScale() {
+	public double[] getScale() {
 		return _scale;
 	}
 
-	@Override
-	public long getInMemorySize() {
-		// object + values array + double
-		return getInMemorySize(size());
-	}
-
-	public static long getInMemorySize(int valuesCount) {
-		// object + values array + double
-		return 16 + (long) MemoryEstimates.byteArrayCost(valuesCount) + 8;
-	}
-
-	@Override
-	public double aggregate(double init, Builtin fn) {
-		// full aggregate can disregard tuple boundaries
-		int len = size();
-		double ret = init;
-		for(int i = 0; i < len; i++)
-			ret = fn.execute(ret, getValue(i));
-		return ret;
+	public double[] getOffset() {
+		return _offset;
 	}
 
 	@Override
-	public double aggregateWithReference(double init, Builtin fn, double[] reference, boolean def) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public double[] aggregateRows(Builtin fn, final int nCol) {
-		if(nCol == 1)
-			return getValues();
-		final int nRows = _values.length / nCol;
-		double[] res = new double[nRows];
-		for(int i = 0; i < nRows; i++) {
-			final int off = i * nCol;
-			res[i] = _values[off];
-			for(int j = off + 1; j < off + nCol; j++)
-				res[i] = fn.execute(res[i], _values[j] * _scale);
-		}
-		return res;
-	}
-
-	@Override
-	public double[] aggregateRowsWithDefault(Builtin fn, double[] defaultTuple) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public double[] aggregateRowsWithReference(Builtin fn, double[] reference) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public QDictionary applyScalarOp(ScalarOperator op) {
-		throw new NotImplementedException();
+	protected int size() {
+		return _values.length;
 	}
 
 	@Override
-	public IDictionary applyScalarOpAndAppend(ScalarOperator op, double v0, int nCol) {
-		throw new NotImplementedException();
+	public void multiplyScalar(double v, double[] ret, int off, int dictIdx, IColIndex cols) {
+		final int offD = dictIdx * _nCol;
+		for(int j = 0; j < _nCol; j++)
+			ret[off + cols.get(j)] += v * (_values[offD + j] * _scale[j] + _offset[j]);
 	}
 
 	@Override
-	public IDictionary applyUnaryOp(UnaryOperator op) {
-		throw new NotImplementedException();
+	public void MMPreAggDense(double[] preAgg, int nRows, IColIndex cols, double[] ret, int rl, int nColRet) {
+		DictLibMatrixMult.MMPreAggDenseInt8(preAgg, _values, _scale, _offset, nRows, cols, ret, rl, nColRet);
 	}
 
 	@Override
-	public IDictionary applyUnaryOpAndAppend(UnaryOperator op, double v0, int nCol) {
-		throw new NotImplementedException();
+	public long getInMemorySize() {
+		return getInMemorySize(_values.length, _nCol);
 	}
 
-	@Override
-	public IDictionary applyScalarOpWithReference(ScalarOperator op, double[] reference, double[] newReference) {
-		throw new NotImplementedException();
+	public static long getInMemorySize(int valuesCount, int nCol) {
+		// object + values array + scale and offset arrays + nCol
+		return 16 + (long) MemoryEstimates.byteArrayCost(valuesCount) + 2 * (long) MemoryEstimates.doubleArrayCost(nCol) + 4;
 	}
 
 	@Override
-	public IDictionary applyUnaryOpWithReference(UnaryOperator op, double[] reference, double[] newReference) {
-		throw new NotImplementedException();
-	}
-
-	private int size() {
-		return _values.length;
+	public QDictionary clone() {
+		return new QDictionary(_values.clone(), _scale.clone(), _offset.clone());
 	}
 
 	@Override
-	public QDictionary clone() {
-		return new QDictionary(_values.clone(), _scale);
+	public IDictionary sliceOutColumnRange(int idxStart, int idxEnd, int previousNumberOfColumns) {
+		final int nTuples = getNumberOfValues(previousNumberOfColumns);
+		final int nColOut = idxEnd - idxStart;
+		final byte[] newValues = new byte[nColOut * nTuples];
+		for(int v = 0; v < nTuples; v++)
+			System.arraycopy(_values, v * previousNumberOfColumns + idxStart, newValues, v * nColOut, nColOut);
+		final double[] newScale = new double[nColOut];
+		final double[] newOffset = new double[nColOut];
+		System.arraycopy(_scale, idxStart, newScale, 0, nColOut);
+		System.arraycopy(_offset, idxStart, newOffset, 0, nColOut);
+		return new QDictionary(newValues, newScale, newOffset);
 	}
 
 	@Override
 	public void write(DataOutput out) throws IOException {
-		out.writeByte(DictionaryFactory.Type.INT8_DICT.ordinal());
-		out.writeDouble(_scale);
+		out.writeByte(DictionaryFactory.Type.INT8_SCALED_DICT.ordinal());
+		out.writeInt(_nCol);
+		for(int c = 0; c < _nCol; c++) {
+			out.writeDouble(_scale[c]);
+			out.writeDouble(_offset[c]);
+		}
 		out.writeInt(_values.length);
-		for(int i = 0; i < _values.length; i++)
-			out.writeByte(_values[i]);
+		out.write(_values);
 	}
 
 	public static QDictionary read(DataInput in) throws IOException {
-		double scale = in.readDouble();
-		int numVals = in.readInt();
-		byte[] values = new byte[numVals];
-		for(int i = 0; i < numVals; i++) {
-			values[i] = in.readByte();
-		}
-		return new QDictionary(values, scale);
-	}
-
-	@Override
-	public long getExactSizeOnDisk() {
-		return 1 + 8 + 4 + size();
-	}
-
-	@Override
-	public int getNumberOfValues(int nCol) {
-		return (_values == null) ? 0 : _values.length / nCol;
-	}
-
-	@Override
-	public double[] sumAllRowsToDouble(int nrColumns) {
-		if(nrColumns == 1)
-			return getValues(); // shallow copy of values
-
-		final int numVals = getNumberOfValues(nrColumns);
-		double[] ret = new double[numVals];
-		for(int k = 0; k < numVals; k++)
-			ret[k] = sumRow(k, nrColumns);
-
-		return ret;
-	}
-
-	@Override
-	public double[] sumAllRowsToDoubleWithDefault(double[] defaultTuple) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public double[] sumAllRowsToDoubleWithReference(double[] reference) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public double[] sumAllRowsToDoubleSq(int nrColumns) {
-		final int numVals = getNumberOfValues(nrColumns);
-		double[] ret = new double[numVals];
-		for(int k = 0; k < numVals; k++)
-			ret[k] = sumRowSq(k, nrColumns);
-		return ret;
-	}
-
-	@Override
-	public double[] sumAllRowsToDoubleSqWithDefault(double[] defaultTuple) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public double[] sumAllRowsToDoubleSqWithReference(double[] reference) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public double[] productAllRowsToDouble(int nCol) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public double[] productAllRowsToDoubleWithDefault(double[] defaultTuple) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public double[] productAllRowsToDoubleWithReference(double[] reference) {
-		throw new NotImplementedException();
-	}
-
-	private double sumRow(int k, int nrColumns) {
-		if(_values == null)
-			return 0;
-		int valOff = k * nrColumns;
-
-		int res = 0;
-		for(int i = 0; i < nrColumns; i++) {
-			res += _values[valOff + i];
-		}
-		return res * _scale;
-	}
-
-	private double sumRowSq(int k, int nrColumns) {
-		if(_values == null)
-			return 0;
-		int valOff = k * nrColumns;
-		double res = 0.0;
-		for(int i = 0; i < nrColumns; i++)
-			res += (_values[valOff + i] * _values[valOff + i]) * _scale * _scale;
-		return res;
-	}
-
-	@Override
-	public void colSum(double[] c, int[] counts, IColIndex colIndexes) {
-		throw new NotImplementedException("Not Implemented");
-	}
-
-	@Override
-	public void colSumSq(double[] c, int[] counts, IColIndex colIndexes) {
-		throw new NotImplementedException("Not Implemented");
-	}
-
-	@Override
-	public void colProduct(double[] res, int[] counts, IColIndex colIndexes) {
-		throw new NotImplementedException("Not Implemented");
-	}
-
-	@Override
-	public void colProductWithReference(double[] res, int[] counts, IColIndex colIndexes, double[] reference) {
-		throw new NotImplementedException("Not Implemented");
-	}
-
-	@Override
-	public void colSumSqWithReference(double[] c, int[] counts, IColIndex colIndexes, double[] reference) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public double sum(int[] counts, int ncol) {
-		throw new NotImplementedException("Not Implemented");
-	}
-
-	@Override
-	public double sumSq(int[] counts, int ncol) {
-		throw new NotImplementedException("Not Implemented");
-	}
-
-	@Override
-	public double sumSqWithReference(int[] counts, double[] reference) {
-		throw new NotImplementedException("Not Implemented");
-	}
-
-	public String getString(int colIndexes) {
-		StringBuilder sb = new StringBuilder();
-		for(int i = 0; i < size(); i++) {
-			sb.append(_values[i]);
-			sb.append((i) % (colIndexes) == colIndexes - 1 ? "\n" : " ");
-		}
-		return sb.toString();
-	}
-
-	public Dictionary makeDoubleDictionary() {
-		double[] doubleValues = getValues();
-		return Dictionary.create(doubleValues);
-	}
-
-	public IDictionary sliceOutColumnRange(int idxStart, int idxEnd, int previousNumberOfColumns) {
-		int numberTuples = getNumberOfValues(previousNumberOfColumns);
-		int tupleLengthAfter = idxEnd - idxStart;
-		byte[] newDictValues = new byte[tupleLengthAfter * numberTuples];
-		int orgOffset = idxStart;
-		int targetOffset = 0;
-		for(int v = 0; v < numberTuples; v++) {
-			for(int c = 0; c < tupleLengthAfter; c++, orgOffset++, targetOffset++) {
-				newDictValues[targetOffset] = _values[orgOffset];
-			}
-			orgOffset += previousNumberOfColumns - idxEnd + idxStart;
-		}
-		return new QDictionary(newDictValues, _scale);
-	}
-
-	@Override
-	public boolean containsValue(double pattern) {
-		if(Double.isNaN(pattern) || Double.isInfinite(pattern))
-			return false;
-		throw new NotImplementedException("Not contains value on Q Dictionary");
-	}
-
-	@Override
-	public boolean containsValueWithReference(double pattern, double[] reference) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public long getNumberNonZeros(int[] counts, int nCol) {
-		long nnz = 0;
-		final int nRow = _values.length / nCol;
-		for(int i = 0; i < nRow; i++) {
-			long rowCount = 0;
-			final int off = i * nCol;
-			for(int j = off; j < off + nCol; j++) {
-				if(_values[j] != 0)
-					rowCount++;
-			}
-			nnz += rowCount * counts[i];
+		final int nCol = in.readInt();
+		final double[] scale = new double[nCol];
+		final double[] offset = new double[nCol];
+		for(int c = 0; c < nCol; c++) {
+			scale[c] = in.readDouble();
+			offset[c] = in.readDouble();
 		}
-		return nnz;
+		final byte[] values = new byte[in.readInt()];
+		in.readFully(values);
+		return new QDictionary(values, scale, offset);
 	}
 
-	@Override
-	public long getNumberNonZerosWithReference(int[] counts, double[] reference, int nRows) {
-		throw new NotImplementedException("not implemented yet");
+	/**
+	 * Read the previous int8 layout with a single scale and no offset (written as INT8_DICT). Since this layout does
+	 * not record the number of columns, the values are read into an exact double dictionary.
+	 * 
+	 * @param in The data input
+	 * @return The dequantized dictionary
+	 * @throws IOException If the read fails
+	 */
+	public static Dictionary readLegacy(DataInput in) throws IOException {
+		final double scale = in.readDouble();
+		final double[] values = new double[in.readInt()];
+		for(int i = 0; i < values.length; i++)
+			values[i] = in.readByte() * scale;
+		return Dictionary.createNoCheck(values);
 	}
 
 	@Override
-	public void addToEntry(double[] v, int fr, int to, int nCol) {
-		throw new NotImplementedException("Not implemented yet");
-	}
-
-	@Override
-	public void addToEntry(double[] v, int fr, int to, int nCol, int rep) {
-		throw new NotImplementedException("Not implemented yet");
-	}
-
-	@Override
-	public void addToEntryVectorized(double[] v, int f1, int f2, int f3, int f4, int f5, int f6, int f7, int f8, int t1,
-		int t2, int t3, int t4, int t5, int t6, int t7, int t8, int nCol) {
-		throw new NotImplementedException("Not implemented yet");
+	public long getExactSizeOnDisk() {
+		return 1 + 4 + 16L * _nCol + 4 + _values.length;
 	}
 
 	@Override
 	public DictType getDictType() {
 		return DictType.UInt8;
 	}
-
-	@Override
-	public IDictionary subtractTuple(double[] tuple) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public MatrixBlockDictionary getMBDict(int nCol) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public void aggregateCols(double[] c, Builtin fn, IColIndex colIndexes) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public void aggregateColsWithReference(double[] c, Builtin fn, IColIndex colIndexes, double[] reference,
-		boolean def) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public IDictionary scaleTuples(int[] scaling, int nCol) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public IDictionary preaggValuesFromDense(int numVals, IColIndex colIndexes, IColIndex aggregateColumns, double[] b,
-		int cut) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public IDictionary replace(double pattern, double replace, int nCol) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public IDictionary replaceWithReference(double pattern, double replace, double[] reference) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public void product(double[] ret, int[] counts, int nCol) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public void productWithDefault(double[] ret, int[] counts, double[] def, int defCount) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public void productWithReference(double[] ret, int[] counts, double[] reference, int refCount) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public IDictionary binOpLeft(BinaryOperator op, double[] v, IColIndex colIndexes) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public IDictionary binOpLeftAndAppend(BinaryOperator op, double[] v, IColIndex colIndexes) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public IDictionary binOpRight(BinaryOperator op, double[] v, IColIndex colIndexes) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public IDictionary binOpRightAndAppend(BinaryOperator op, double[] v, IColIndex colIndexes) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public IDictionary binOpRight(BinaryOperator op, double[] v) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public IDictionary binOpLeftWithReference(BinaryOperator op, double[] v, IColIndex colIndexes, double[] reference,
-		double[] newReference) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public IDictionary binOpRightWithReference(BinaryOperator op, double[] v, IColIndex colIndexes, double[] reference,
-		double[] newReference) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public CM_COV_Object centralMoment(CM_COV_Object ret, ValueFunction fn, int[] counts, int nRows) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public CM_COV_Object centralMomentWithDefault(CM_COV_Object ret, ValueFunction fn, int[] counts, double def,
-		int nRows) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public CM_COV_Object centralMomentWithReference(CM_COV_Object ret, ValueFunction fn, int[] counts, double reference,
-		int nRows) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public IDictionary rexpandCols(int max, boolean ignore, boolean cast, int nCol) {
-		throw new NotImplementedException();
-		// byte[] newDictValues = new byte[_values.length * max];
-		// for(int i = 0, offset = 0; i < _values.length; i++, offset += max) {
-		// int val = _values[i] - 1;
-		// newDictValues[offset + val] = 1;
-		// }
-
-		// return new QDictionary(newDictValues, 1.0);
-	}
-
-	@Override
-	public IDictionary rexpandColsWithReference(int max, boolean ignore, boolean cast, int reference) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public double getSparsity() {
-		return 1;
-	}
-
-	@Override
-	public void multiplyScalar(double v, double[] ret, int off, int dictIdx, IColIndex cols) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public void TSMMWithScaling(int[] counts, IColIndex rows, IColIndex cols, MatrixBlock ret) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public void MMDict(IDictionary right, IColIndex rowsLeft, IColIndex colsRight, MatrixBlock result) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public void MMDictDense(double[] left, IColIndex rowsLeft, IColIndex colsRight, MatrixBlock result) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public void MMDictSparse(SparseBlock left, IColIndex rowsLeft, IColIndex colsRight, MatrixBlock result) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public void TSMMToUpperTriangle(IDictionary right, IColIndex rowsLeft, IColIndex colsRight, MatrixBlock result) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public void TSMMToUpperTriangleDense(double[] left, IColIndex rowsLeft, IColIndex colsRight, MatrixBlock result) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public void TSMMToUpperTriangleSparse(SparseBlock left, IColIndex rowsLeft, IColIndex colsRight,
-		MatrixBlock result) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public void TSMMToUpperTriangleScaling(IDictionary right, IColIndex rowsLeft, IColIndex colsRight, int[] scale,
-		MatrixBlock result) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public void TSMMToUpperTriangleDenseScaling(double[] left, IColIndex rowsLeft, IColIndex colsRight, int[] scale,
-		MatrixBlock result) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public void TSMMToUpperTriangleSparseScaling(SparseBlock left, IColIndex rowsLeft, IColIndex colsRight, int[] scale,
-		MatrixBlock result) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public boolean equals(IDictionary o) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public IDictionary cbind(IDictionary that, int nCol) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public IDictionary reorder(int[] reorder) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public void MMDictScaling(IDictionary right, IColIndex rowsLeft, IColIndex colsRight, MatrixBlock result,
-		int[] scaling) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public void MMDictScalingDense(double[] left, IColIndex rowsLeft, IColIndex colsRight, MatrixBlock result,
-		int[] scaling) {
-		throw new NotImplementedException();
-	}
-
-	@Override
-	public void MMDictScalingSparse(SparseBlock left, IColIndex rowsLeft, IColIndex colsRight, MatrixBlock result,
-		int[] scaling) {
-		throw new NotImplementedException();
-	}
 }
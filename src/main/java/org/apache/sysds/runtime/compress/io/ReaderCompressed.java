@@ -30,6 +30,7 @@ import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.io.SequenceFile.Reader;
@@ -47,6 +48,7 @@ import org.apache.sysds.runtime.io.MatrixReader;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.IndexRange;
 
 public final class ReaderCompressed extends MatrixReader {
 
@@ -78,6 +80,28 @@ public final class ReaderCompressed extends MatrixReader {
 		return readCompressedMatrix(fname, job, fs, (int) rlen, (int) clen, blen);
 	}
 
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz, IndexRange ix)
+		throws IOException, DMLRuntimeException {
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		if(fs instanceof LocalFileSystem) {
+			// only read the column groups overlapping the requested columns,
+			// reusing the index and open file of previous range reads
+			try(ReaderCompressedIndexed r = ReaderCompressedIndexed.get(fname)) {
+				if(r != null) {
+					checkValidIndexRange(ix, r.getNumRows(), r.getNumColumns());
+					MatrixBlock ret = r.sliceColumns((int) ix.colStart, (int) ix.colEnd, k);
+					if(ix.rowStart > 0 || ix.rowEnd < r.getNumRows() - 1)
+						ret = ret.slice((int) ix.rowStart, (int) ix.rowEnd);
+					return ret;
+				}
+			}
+		}
+		return super.readMatrixFromHDFS(fname, rlen, clen, blen, estnnz, ix);
+	}
+
 	@Override
 	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz)
 		throws IOException, DMLRuntimeException {
@@ -86,6 +110,11 @@ public final class ReaderCompressed extends MatrixReader {
 
 	private MatrixBlock readCompressedMatrix(String fname, JobConf job, FileSystem fs, int rlen, int clen, int blen)
 		throws IOException {
+		if(fs instanceof LocalFileSystem && ReaderCompressedIndexed.isIndexedFormat(fname)) {
+			try(ReaderCompressedIndexed r = ReaderCompressedIndexed.open(fname)) {
+				return r.read(k);
+			}
+		}
 		if(k > 1) 
 			return readCompressedMatrixParallel(fname, job, fs, rlen, clen, blen);
 		else
@@ -0,0 +1,365 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.io;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.DMLCompressionException;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupIO;
+import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
+import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex;
+import org.apache.sysds.runtime.compress.lib.CLALibSlice;
+import org.apache.sysds.runtime.util.ByteBufferDataInput;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Lazy reader for the indexed compressed file layout written by {@link WriterCompressedIndexed}.
+ * 
+ * Opening the reader only parses the header and the column group index. The column groups are materialized on first
+ * access by memory mapping their byte range in the file, such that slicing out a few columns of a wide matrix only
+ * reads the column groups covering these columns.
+ * 
+ * Repeated range reads of the same file reuse open readers from a small cache (see {@link #get(String)}), which keeps
+ * the parsed index and the open file, but releases the materialized column groups once a reader is no longer used.
+ */
+public final class ReaderCompressedIndexed implements Closeable {
+	protected static final Log LOG = LogFactory.getLog(ReaderCompressedIndexed.class.getName());
+
+	/** Magic number in the beginning of the file, "CLAI" */
+	public static final int MAGIC = 0x434c4149;
+	/** Version of the layout */
+	public static final byte VERSION = 1;
+
+	/** Maximum number of cached open readers */
+	public static final int READER_CACHE_SIZE = 16;
+
+	/** Cached open readers by absolute file name, in least-recently-used order */
+	private static final LinkedHashMap<String, ReaderCompressedIndexed> _readers = new LinkedHashMap<>();
+
+	private final RandomAccessFile _file;
+	private final FileChannel _channel;
+	/** Length and modification time of the file when opened, to detect stale cached readers */
+	private final long _fileLength;
+	private final long _fileModified;
+
+	/** Number of users of this reader, and if it is still in the reader cache (guarded by the class) */
+	private int _refs = 1;
+	private boolean _cached = false;
+
+	private final int _nRows;
+	private final int _nCols;
+	private final long _nnz;
+	private final boolean _overlapping;
+
+	private final IColIndex[] _cols;
+	private final long[] _offsets;
+	private final long[] _lengths;
+	/** The materialized column groups, null if not read yet */
+	private final AColGroup[] _groups;
+
+	private ReaderCompressedIndexed(File f) throws IOException {
+		_fileLength = f.length();
+		_fileModified = f.lastModified();
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(f)))) {
+			if(in.readInt() != MAGIC)
+				throw new DMLCompressionException("Invalid indexed compressed file: " + f);
+			final byte version = in.readByte();
+			if(version != VERSION)
+				throw new DMLCompressionException("Unsupported indexed compressed file version: " + version);
+			_nRows = in.readInt();
+			_nCols = in.readInt();
+			_nnz = in.readLong();
+			_overlapping = in.readBoolean();
+			final int nGroups = in.readInt();
+			_cols = new IColIndex[nGroups];
+			_offsets = new long[nGroups];
+			_lengths = new long[nGroups];
+			for(int i = 0; i < nGroups; i++) {
+				_offsets[i] = in.readLong();
+				_lengths[i] = in.readLong();
+				final int[] cols = new int[in.readInt()];
+				for(int j = 0; j < cols.length; j++)
+					cols[j] = in.readInt();
+				_cols[i] = ColIndexFactory.create(cols);
+			}
+			_groups = new AColGroup[nGroups];
+		}
+		_file = new RandomAccessFile(f, "r");
+		_channel = _file.getChannel();
+	}
+
+	/**
+	 * Open a local file in the indexed compressed layout, reading only the header and column group index.
+	 * 
+	 * @param fname The file name
+	 * @return The lazy reader
+	 * @throws IOException If the file could not be opened
+	 */
+	public static ReaderCompressedIndexed open(String fname) throws IOException {
+		return new ReaderCompressedIndexed(getFile(fname));
+	}
+
+	/**
+	 * Get a cached open reader of a local file in the indexed compressed layout, or open and cache a new one. The
+	 * returned reader must be closed after use, which releases its materialized column groups but keeps the file open
+	 * for subsequent reads until the reader is evicted from the cache.
+	 * 
+	 * @param fname The file name
+	 * @return The lazy reader, or null if the file is not in the indexed compressed layout
+	 * @throws IOException If the file could not be opened
+	 */
+	public static ReaderCompressedIndexed get(String fname) throws IOException {
+		final File f = getFile(fname);
+		final String key = f.getAbsolutePath();
+		synchronized(ReaderCompressedIndexed.class) {
+			// constant time get and maintain usage order
+			ReaderCompressedIndexed r = _readers.remove(key);
+			if(r != null && r._fileLength == f.length() && r._fileModified == f.lastModified() && f.isFile()) {
+				_readers.put(key, r);
+				r._refs++;
+				return r;
+			}
+			if(r != null)
+				r.evict();
+			if(!isIndexedFormat(fname))
+				return null;
+			if(_readers.size() >= READER_CACHE_SIZE) {
+				// evict least recently used (i.e., first) entry
+				Iterator<ReaderCompressedIndexed> iter = _readers.values().iterator();
+				ReaderCompressedIndexed lru = iter.next();
+				iter.remove();
+				lru.evict();
+			}
+			r = new ReaderCompressedIndexed(f);
+			r._cached = true;
+			_readers.put(key, r);
+			return r;
+		}
+	}
+
+	/**
+	 * Remove a cached reader of the given file, e.g., before the file is overwritten.
+	 * 
+	 * @param fname The file name
+	 * @throws IOException If the reader could not be closed
+	 */
+	public static void invalidate(String fname) throws IOException {
+		synchronized(ReaderCompressedIndexed.class) {
+			ReaderCompressedIndexed r = _readers.remove(getFile(fname).getAbsolutePath());
+			if(r != null)
+				r.evict();
+		}
+	}
+
+	public static synchronized int getNumCachedReaders() {
+		return _readers.size();
+	}
+
+	/**
+	 * Check if the given file name is a local file in the indexed compressed layout.
+	 * 
+	 * @param fname The file name
+	 * @return If the file starts with the indexed layout magic number
+	 */
+	public static boolean isIndexedFormat(String fname) {
+		final File f = getFile(fname);
+		if(!f.isFile() || f.length() < 4)
+			return false;
+		try(DataInputStream in = new DataInputStream(new FileInputStream(f))) {
+			return in.readInt() == MAGIC;
+		}
+		catch(IOException e) {
+			return false;
+		}
+	}
+
+	private static File getFile(String fname) {
+		return new File(new Path(fname).toUri().getPath());
+	}
+
+	public int getNumRows() {
+		return _nRows;
+	}
+
+	public int getNumColumns() {
+		return _nCols;
+	}
+
+	public int getNumColGroups() {
+		return _groups.length;
+	}
+
+	/**
+	 * Get the number of column groups materialized so far.
+	 * 
+	 * @return The number of read column groups
+	 */
+	public synchronized int getNumReadColGroups() {
+		int c = 0;
+		for(AColGroup g : _groups)
+			if(g != null)
+				c++;
+		return c;
+	}
+
+	/**
+	 * Materialize all column groups and return the full compressed matrix.
+	 * 
+	 * @param k The parallelization degree
+	 * @return The compressed matrix
+	 */
+	public CompressedMatrixBlock read(int k) {
+		final List<Integer> ids = new ArrayList<>(_groups.length);
+		for(int i = 0; i < _groups.length; i++)
+			ids.add(i);
+		final CompressedMatrixBlock ret = new CompressedMatrixBlock(_nRows, _nCols, _nnz, _overlapping,
+			getColGroups(ids, k));
+		return ret;
+	}
+
+	/**
+	 * Slice out a range of columns, only materializing the column groups that contain any of the columns.
+	 * 
+	 * @param cl The lower column index, inclusive
+	 * @param cu The upper column index, inclusive
+	 * @param k  The parallelization degree
+	 * @return The compressed matrix of the sliced columns
+	 */
+	public CompressedMatrixBlock sliceColumns(int cl, int cu, int k) {
+		if(cl < 0 || cu >= _nCols || cl > cu)
+			throw new DMLRuntimeException("Invalid column slice [" + cl + ", " + cu + "] of " + _nCols + " columns");
+		if(cl == 0 && cu == _nCols - 1)
+			return read(k);
+
+		final List<Integer> ids = new ArrayList<>();
+		for(int i = 0; i < _cols.length; i++)
+			if(containsAny(_cols[i], cl, cu))
+				ids.add(i);
+
+		// the other groups are not needed since the slice only keeps the given columns
+		final CompressedMatrixBlock tmp = new CompressedMatrixBlock(_nRows, _nCols, -1, _overlapping,
+			getColGroups(ids, k));
+		return CLALibSlice.sliceColumns(tmp, cl, cu);
+	}
+
+	private static boolean containsAny(IColIndex cols, int cl, int cu) {
+		for(int j = 0; j < cols.size(); j++) {
+			final int c = cols.get(j);
+			if(c >= cl && c <= cu)
+				return true;
+		}
+		return false;
+	}
+
+	private List<AColGroup> getColGroups(List<Integer> ids, int k) {
+		final List<AColGroup> ret = new ArrayList<>(ids.size());
+		if(k <= 1 || ids.size() <= 1) {
+			for(int i : ids)
+				ret.add(getColGroup(i));
+			return ret;
+		}
+
+		final ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			final List<Callable<AColGroup>> tasks = new ArrayList<>(ids.size());
+			for(int i : ids)
+				tasks.add(() -> getColGroup(i));
+			for(Future<AColGroup> f : pool.invokeAll(tasks))
+				ret.add(f.get());
+			return ret;
+		}
+		catch(Exception e) {
+			throw new DMLCompressionException("Failed reading indexed compressed column groups", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private AColGroup getColGroup(int i) {
+		synchronized(this) {
+			if(_groups[i] != null)
+				return _groups[i];
+		}
+		final AColGroup g = readColGroup(i);
+		synchronized(this) {
+			if(_groups[i] == null)
+				_groups[i] = g;
+			return _groups[i];
+		}
+	}
+
+	private AColGroup readColGroup(int i) {
+		try {
+			final MappedByteBuffer buff = _channel.map(FileChannel.MapMode.READ_ONLY, _offsets[i], _lengths[i]);
+			return ColGroupIO.readGroups(new ByteBufferDataInput(buff), _nRows).get(0);
+		}
+		catch(IOException e) {
+			throw new DMLCompressionException("Failed reading column group " + i, e);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		synchronized(ReaderCompressedIndexed.class) {
+			if(--_refs > 0)
+				return;
+			if(!_cached) {
+				_channel.close();
+				_file.close();
+				return;
+			}
+		}
+		// keep the index and open file of cached readers, but not the materialized groups
+		synchronized(this) {
+			Arrays.fill(_groups, null);
+		}
+	}
+
+	private void evict() throws IOException {
+		_cached = false;
+		if(_refs == 0) {
+			_channel.close();
+			_file.close();
+		}
+	}
+}
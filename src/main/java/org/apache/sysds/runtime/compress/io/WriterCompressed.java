@@ -31,6 +31,7 @@ import java.util.concurrent.locks.ReentrantLock;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.io.SequenceFile.Writer;
@@ -56,6 +57,7 @@ import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.meta.MatrixCharacteristics;
 import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.HDFSTool;
 import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
 
 public final class WriterCompressed extends MatrixWriter {
@@ -149,6 +151,14 @@ public final class WriterCompressed extends MatrixWriter {
 
 		int k = OptimizerUtils.getParallelBinaryWriteParallelism();
 
+		if(fs instanceof LocalFileSystem && ConfigurationManager.isCompressedIndexedIO()) {
+			// single file layout with column group index, read lazily by ReaderCompressedIndexed
+			HDFSTool.deleteFileIfExistOnHDFS(new Path(fname), job);
+			HDFSTool.deleteFileIfExistOnHDFS(new Path(fname + ".dict"), job);
+			WriterCompressedIndexed.write(src, fname, k);
+			return;
+		}
+
 		k =  Math.min(k, (int)(src.getInMemorySize() /  InfrastructureAnalyzer.getBlockSize(fs)));
 		final int rlen = src.getNumRows();
 		final int clen = src.getNumColumns();
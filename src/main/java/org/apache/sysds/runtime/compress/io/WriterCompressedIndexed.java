@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.io;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupIO;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
+import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Writer for the indexed compressed file layout. The layout is a single local file containing a header, an index with
+ * the columns and byte ranges of each column group, followed by the serialized column groups. This allows
+ * {@link ReaderCompressedIndexed} to memory map the file and only materialize the column groups that are accessed.
+ * 
+ * <pre>
+ * int     magic
+ * byte    version
+ * int     rows
+ * int     columns
+ * long    non zeros
+ * boolean overlapping
+ * int     number of groups
+ * per group: long offset, long length, int number of columns, int[] columns
+ * per group: serialized column group
+ * </pre>
+ */
+public final class WriterCompressedIndexed {
+
+	/** Size of the header before the column group index */
+	private static final long HEADER_SIZE = 4 + 1 + 4 + 4 + 8 + 1 + 4;
+
+	/** Number of columns per uncompressed group if the input is not compressible */
+	private static final int UNCOMPRESSED_GROUP_COLS = 16;
+
+	private WriterCompressedIndexed() {
+		// private constructor
+	}
+
+	/**
+	 * Write the given matrix in the indexed compressed layout to a local file. If the matrix is not already compressed
+	 * it is compressed first.
+	 * 
+	 * @param src   The matrix to write
+	 * @param fname The local file name
+	 * @param k     The parallelization degree used for compressing
+	 * @throws IOException If the file could not be written
+	 */
+	public static void write(MatrixBlock src, String fname, int k) throws IOException {
+		if(src == null)
+			throw new DMLRuntimeException("Null matrix block invalid");
+		if(fname == null)
+			throw new DMLRuntimeException("Invalid missing path.");
+
+		final CompressedMatrixBlock cmb = getCompressed(src, k);
+		final List<AColGroup> groups = cmb.getColGroups();
+		final int nGroups = groups.size();
+
+		// close cached readers of a previous file, before it is overwritten
+		ReaderCompressedIndexed.invalidate(fname);
+
+		final File f = new File(new Path(fname).toUri().getPath());
+		try(FileOutputStream fos = new FileOutputStream(f);
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos))) {
+			out.writeInt(ReaderCompressedIndexed.MAGIC);
+			out.writeByte(ReaderCompressedIndexed.VERSION);
+			out.writeInt(cmb.getNumRows());
+			out.writeInt(cmb.getNumColumns());
+			out.writeLong(cmb.getNonZeros());
+			out.writeBoolean(cmb.isOverlapping());
+			out.writeInt(nGroups);
+			// placeholder byte ranges, since the estimated disk size of some groups is not exact
+			for(AColGroup g : groups) {
+				final IColIndex cols = g.getColIndices();
+				out.writeLong(-1);
+				out.writeLong(-1);
+				out.writeInt(cols.size());
+				for(int j = 0; j < cols.size(); j++)
+					out.writeInt(cols.get(j));
+			}
+
+			// stream the groups and record their byte ranges
+			final FileChannel channel = fos.getChannel();
+			final long[] offsets = new long[nGroups];
+			final long[] lengths = new long[nGroups];
+			for(int i = 0; i < nGroups; i++) {
+				out.flush();
+				offsets[i] = channel.position();
+				ColGroupIO.writeGroups(out, Collections.singletonList(groups.get(i)));
+				out.flush();
+				lengths[i] = channel.position() - offsets[i];
+			}
+
+			// fill in the byte ranges of the index
+			final ByteBuffer range = ByteBuffer.allocate(16);
+			long pos = HEADER_SIZE;
+			for(int i = 0; i < nGroups; i++) {
+				range.clear();
+				range.putLong(offsets[i]).putLong(lengths[i]).flip();
+				while(range.hasRemaining())
+					channel.write(range, pos + range.position());
+				pos += 8 + 8 + 4 + 4L * groups.get(i).getColIndices().size();
+			}
+		}
+	}
+
+	private static CompressedMatrixBlock getCompressed(MatrixBlock src, int k) {
+		final MatrixBlock c = src instanceof CompressedMatrixBlock ? src : //
+			CompressedMatrixBlockFactory.compress(src, k).getLeft();
+		if(c instanceof CompressedMatrixBlock)
+			return (CompressedMatrixBlock) c;
+
+		// not compressible, split into uncompressed groups to keep column access lazy
+		final int nCol = src.getNumColumns();
+		final List<AColGroup> groups = new ArrayList<>();
+		for(int cl = 0; cl < nCol; cl += UNCOMPRESSED_GROUP_COLS) {
+			final int cu = Math.min(cl + UNCOMPRESSED_GROUP_COLS, nCol);
+			groups.add(ColGroupUncompressed.create(ColIndexFactory.create(cl, cu), src, false));
+		}
+		return new CompressedMatrixBlock(src.getNumRows(), nCol, src.getNonZeros(), false, groups);
+	}
+
+}
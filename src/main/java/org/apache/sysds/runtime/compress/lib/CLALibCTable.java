@@ -0,0 +1,515 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressionSettings;
+import org.apache.sysds.runtime.compress.colgroup.ADictBasedColGroup;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupConst;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.IDictionary;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.functionobjects.CTable;
+import org.apache.sysds.runtime.functionobjects.KahanPlus;
+import org.apache.sysds.runtime.instructions.cp.KahanObject;
+import org.apache.sysds.runtime.matrix.data.CTableMap;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysds.runtime.matrix.operators.CMOperator;
+import org.apache.sysds.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
+import org.apache.sysds.runtime.matrix.operators.Operator;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
+
+/**
+ * Contingency tables and grouped aggregates on compressed column vectors.
+ *
+ * If the grouping input is a single column encoded in one DDC (or constant) column group, all rows sharing a
+ * dictionary entry fall into the same cell of the output. We therefore aggregate counts and weights per code of the
+ * mapping and only evaluate the ctable function once per distinct value (or pair of values), instead of once per row
+ * of the decompressed input.
+ */
+public final class CLALibCTable {
+	protected static final Log LOG = LogFactory.getLog(CLALibCTable.class.getName());
+
+	private CLALibCTable() {
+		// private constructor
+	}
+
+	/**
+	 * D = ctable(A, v2, w)
+	 *
+	 * @param op          The operator
+	 * @param a           The compressed input A
+	 * @param v2          The scalar column index
+	 * @param w           The scalar weight
+	 * @param resultMap   The result map, used if the result block is null
+	 * @param resultBlock The result block
+	 */
+	public static void ctable(Operator op, CompressedMatrixBlock a, double v2, double w, CTableMap resultMap,
+		MatrixBlock resultBlock) {
+		final AColGroup g = getSingleColumnGroup(a);
+		if(g == null) {
+			a.getUncompressed("ctableOperations Var 2").ctableOperations(op, v2, w, resultMap, resultBlock);
+			return;
+		}
+
+		final double[] values = getValues(g);
+		final int[] counts = g instanceof ColGroupConst ? new int[] {a.getNumRows()} : ((ColGroupDDC) g).getCounts();
+		final CTable ctable = CTable.getCTableFnObject();
+		for(int i = 0; i < values.length; i++)
+			if(counts[i] > 0)
+				ctable.execute(values[i], v2, w * counts[i], false, resultMap, resultBlock);
+
+		if(resultBlock != null)
+			resultBlock.recomputeNonZeros();
+	}
+
+	/**
+	 * D = ctable(A, v2, W)
+	 *
+	 * @param op          The operator
+	 * @param a           The compressed input A
+	 * @param v2          The scalar column index
+	 * @param w           The weights column vector
+	 * @param resultMap   The result map, used if the result block is null
+	 * @param resultBlock The result block
+	 */
+	public static void ctable(Operator op, CompressedMatrixBlock a, double v2, MatrixBlock w, CTableMap resultMap,
+		MatrixBlock resultBlock) {
+		final AColGroup g = getSingleColumnGroup(a);
+		if(g == null || w.getNumColumns() != 1) {
+			final MatrixBlock left = a.getUncompressed("ctableOperations Var 1");
+			left.ctableOperations(op, v2, CompressedMatrixBlock.getUncompressed(w), resultMap, resultBlock);
+			return;
+		}
+
+		final double[] values = getValues(g);
+		final AMapToData map = getMap(g);
+		final MatrixBlock wu = CompressedMatrixBlock.getUncompressed(w, "ctable weights");
+		final CodeAgg agg = aggregate(map, null, values.length, 1, wu, a.getNumRows(), getNumThreads());
+		final CTable ctable = CTable.getCTableFnObject();
+		for(int i = 0; i < values.length; i++)
+			if(agg.counts[i] > 0)
+				ctable.execute(values[i], v2, agg.sums[i], false, resultMap, resultBlock);
+
+		if(resultBlock != null)
+			resultBlock.recomputeNonZeros();
+	}
+
+	/**
+	 * D = ctable(A, B, w)
+	 *
+	 * @param op          The operator
+	 * @param a           The compressed input A
+	 * @param b           The input B
+	 * @param w           The scalar weight
+	 * @param ignoreZeros If zero pairs should be ignored
+	 * @param resultMap   The result map, used if the result block is null
+	 * @param resultBlock The result block
+	 */
+	public static void ctable(Operator op, CompressedMatrixBlock a, MatrixBlock b, double w, boolean ignoreZeros,
+		CTableMap resultMap, MatrixBlock resultBlock) {
+		final AColGroup ga = getSingleColumnGroup(a);
+		final AColGroup gb = b instanceof CompressedMatrixBlock ? getSingleColumnGroup((CompressedMatrixBlock) b) : null;
+		if(ga == null || gb == null || !isPairAggregateFeasible(ga, gb, a.getNumRows())) {
+			final MatrixBlock left = a.getUncompressed("ctableOperations Var 4");
+			left.ctableOperations(op, CompressedMatrixBlock.getUncompressed(b), w, ignoreZeros, resultMap, resultBlock);
+			return;
+		}
+
+		final double[] va = getValues(ga);
+		final double[] vb = getValues(gb);
+		final CodeAgg agg = aggregate(getMap(ga), getMap(gb), va.length, vb.length, null, a.getNumRows(),
+			getNumThreads());
+		emitPairs(va, vb, agg.counts, null, w, ignoreZeros, resultMap, resultBlock);
+	}
+
+	/**
+	 * D = ctable(A, B, W)
+	 *
+	 * @param op          The operator
+	 * @param a           The compressed input A
+	 * @param b           The input B
+	 * @param w           The weights
+	 * @param resultMap   The result map, used if the result block is null
+	 * @param resultBlock The result block
+	 */
+	public static void ctable(Operator op, CompressedMatrixBlock a, MatrixBlock b, MatrixBlock w, CTableMap resultMap,
+		MatrixBlock resultBlock) {
+		final AColGroup ga = getSingleColumnGroup(a);
+		final AColGroup gb = b instanceof CompressedMatrixBlock ? getSingleColumnGroup((CompressedMatrixBlock) b) : null;
+		if(ga == null || gb == null || w.getNumColumns() != 1 || !isPairAggregateFeasible(ga, gb, a.getNumRows())) {
+			final MatrixBlock left = a.getUncompressed("ctableOperations Var 7");
+			left.ctableOperations(op, CompressedMatrixBlock.getUncompressed(b), CompressedMatrixBlock.getUncompressed(w),
+				resultMap, resultBlock);
+			return;
+		}
+
+		final double[] va = getValues(ga);
+		final double[] vb = getValues(gb);
+		final MatrixBlock wu = CompressedMatrixBlock.getUncompressed(w, "ctable weights");
+		final CodeAgg agg = aggregate(getMap(ga), getMap(gb), va.length, vb.length, wu, a.getNumRows(),
+			getNumThreads());
+		emitPairs(va, vb, agg.counts, agg.sums, 1, false, resultMap, resultBlock);
+	}
+
+	/**
+	 * Grouped aggregate with compressed groups. Counts and sums over a column vector target are computed per code of
+	 * the groups mapping, all other cases fall back to a decompressed grouped aggregate.
+	 *
+	 * @param groups  The compressed groups column vector
+	 * @param target  The target
+	 * @param weights The weights, can be null
+	 * @param ret     The result block, can be null
+	 * @param ngroups The number of groups, if unknown less than or equal to zero
+	 * @param op      The aggregate operator
+	 * @param k       The parallelization degree
+	 * @return The grouped aggregate
+	 */
+	public static MatrixBlock groupedAgg(CompressedMatrixBlock groups, MatrixBlock target, MatrixBlock weights,
+		MatrixBlock ret, int ngroups, Operator op, int k) {
+		final AColGroup g = getSingleColumnGroup(groups);
+		if(g == null || !isSupportedGroupedAgg(groups, target, weights, op)) {
+			final MatrixBlock left = groups.getUncompressed("groupedAggOperations", k);
+			return left.groupedAggOperations(CompressedMatrixBlock.getUncompressed(target),
+				weights == null ? null : CompressedMatrixBlock.getUncompressed(weights), ret, ngroups, op, k);
+		}
+
+		final double[] values = getValues(g);
+		final AMapToData map = getMap(g);
+		final int nRows = groups.getNumRows();
+		final MatrixBlock tu = CompressedMatrixBlock.getUncompressed(target, "groupedAggOperations target");
+		final MatrixBlock wu = weights == null ? null : CompressedMatrixBlock.getUncompressed(weights,
+			"groupedAggOperations weights");
+
+		final int[] counts = g instanceof ColGroupConst ? new int[] {nRows} : ((ColGroupDDC) g).getCounts();
+		if(ngroups <= 0)
+			ngroups = getNumGroups(values, counts);
+
+		// map each code to its group, and aggregate the per code values into the groups
+		final KahanObject[] buff = new KahanObject[ngroups];
+		for(int i = 0; i < ngroups; i++)
+			buff[i] = new KahanObject(0, 0);
+		final KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+		if(op instanceof CMOperator) {
+			for(int i = 0; i < values.length; i++)
+				aggregateGroup(values[i], counts[i], counts[i], 0, ngroups, buff, kplus);
+		}
+		else {
+			final KahanObject[] codeSums = aggregateKahan(map, values.length, tu, wu, nRows, k);
+			for(int i = 0; i < values.length; i++)
+				aggregateGroup(values[i], counts[i], codeSums[i]._sum, codeSums[i]._correction, ngroups, buff, kplus);
+		}
+
+		final MatrixBlock result = ret == null ? new MatrixBlock(ngroups, 1, false) : ret;
+		result.reset(ngroups, 1, false);
+		result.allocateDenseBlock();
+		final double[] c = result.getDenseBlockValues();
+		for(int i = 0; i < ngroups; i++)
+			c[i] = buff[i]._sum;
+		result.recomputeNonZeros();
+		result.examSparsity();
+		return result;
+	}
+
+	private static void aggregateGroup(double v, int count, double sum, double corr, int ngroups, KahanObject[] buff,
+		KahanPlus kplus) {
+		if(count == 0)
+			return;
+		final int grp = (int) v;
+		if(grp > ngroups)
+			return;
+		else if(grp <= 0)
+			throw new DMLRuntimeException("Invalid value (" + v + ") encountered in 'groups' while computing groupedAggregate");
+		kplus.execute(buff[grp - 1], sum, corr);
+	}
+
+	private static int getNumGroups(double[] values, int[] counts) {
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for(int i = 0; i < values.length; i++) {
+			if(counts[i] > 0) {
+				min = Math.min(min, values[i]);
+				max = Math.max(max, values[i]);
+			}
+		}
+		if(min <= 0)
+			throw new DMLRuntimeException("Invalid value (" + min + ") encountered in 'groups' while computing groupedAggregate");
+		return (int) max;
+	}
+
+	private static boolean isSupportedGroupedAgg(CompressedMatrixBlock groups, MatrixBlock target, MatrixBlock weights,
+		Operator op) {
+		final int nRows = groups.getNumRows();
+		if(target.getNumColumns() != 1 || target.getNumRows() != nRows)
+			return false;
+		else if(weights != null && (weights.getNumColumns() != 1 || weights.getNumRows() != nRows))
+			return false;
+		else if(op instanceof CMOperator)
+			return weights == null && ((CMOperator) op).getAggOpType() == AggregateOperationTypes.COUNT;
+		else if(op instanceof AggregateOperator)
+			return ((AggregateOperator) op).increOp.fn instanceof KahanPlus;
+		return false;
+	}
+
+	private static boolean isPairAggregateFeasible(AColGroup ga, AColGroup gb, int nRows) {
+		// only use the dense pair aggregation if the pair space is not larger than the input
+		final long nPairs = (long) getNumValues(ga) * getNumValues(gb);
+		return nPairs <= Math.max(nRows, CompressionSettings.BITMAP_BLOCK_SZ);
+	}
+
+	private static void emitPairs(double[] va, double[] vb, int[] counts, double[] sums, double w, boolean ignoreZeros,
+		CTableMap resultMap, MatrixBlock resultBlock) {
+		final CTable ctable = CTable.getCTableFnObject();
+		final int nB = vb.length;
+		for(int i = 0; i < va.length; i++) {
+			for(int j = 0; j < nB; j++) {
+				final int off = i * nB + j;
+				if(counts[off] > 0)
+					ctable.execute(va[i], vb[j], sums == null ? w * counts[off] : sums[off], ignoreZeros, resultMap,
+						resultBlock);
+			}
+		}
+		if(resultBlock != null)
+			resultBlock.recomputeNonZeros();
+	}
+
+	/**
+	 * Get the single column group of a compressed column vector if it is a DDC or constant group.
+	 *
+	 * @param a The compressed block
+	 * @return The column group or null if not supported
+	 */
+	private static AColGroup getSingleColumnGroup(CompressedMatrixBlock a) {
+		if(a.getNumColumns() != 1 || a.isOverlapping())
+			return null;
+		final List<AColGroup> groups = a.getColGroups();
+		if(groups.size() != 1)
+			return null;
+		final AColGroup g = groups.get(0);
+		return g instanceof ColGroupDDC || g instanceof ColGroupConst ? g : null;
+	}
+
+	private static double[] getValues(AColGroup g) {
+		final IDictionary dict = ((ADictBasedColGroup) g).getDictionary();
+		final double[] ret = new double[dict.getNumberOfValues(1)];
+		for(int i = 0; i < ret.length; i++)
+			ret[i] = dict.getValue(i, 0, 1);
+		return ret;
+	}
+
+	private static int getNumValues(AColGroup g) {
+		return ((ADictBasedColGroup) g).getDictionary().getNumberOfValues(1);
+	}
+
+	private static AMapToData getMap(AColGroup g) {
+		return g instanceof ColGroupDDC ? ((ColGroupDDC) g).getMapToData() : null;
+	}
+
+	private static int getNumThreads() {
+		return ConfigurationManager.isParallelMatrixOperations() ? InfrastructureAnalyzer.getLocalParallelism() : 1;
+	}
+
+	/**
+	 * Aggregate counts and (if weights are given) sums of weights per code, or per pair of codes if a second mapping
+	 * is given. Null mappings refer to constant groups with a single code.
+	 */
+	private static CodeAgg aggregate(AMapToData ma, AMapToData mb, int nA, int nB, MatrixBlock w, int nRows, int k) {
+		final int blkz = Math.max((int) Math.ceil((double) nRows / k), CompressionSettings.BITMAP_BLOCK_SZ);
+		if(k <= 1 || blkz >= nRows)
+			return new CodeAggTask(ma, mb, nA, nB, w, 0, nRows).call();
+
+		final ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			final List<CodeAggTask> tasks = new ArrayList<>();
+			for(int i = 0; i < nRows; i += blkz)
+				tasks.add(new CodeAggTask(ma, mb, nA, nB, w, i, Math.min(i + blkz, nRows)));
+			CodeAgg ret = null;
+			for(Future<CodeAgg> f : pool.invokeAll(tasks)) {
+				if(ret == null)
+					ret = f.get();
+				else
+					ret.add(f.get());
+			}
+			return ret;
+		}
+		catch(Exception e) {
+			throw new DMLRuntimeException("Failed parallel compressed ctable", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private static KahanObject[] aggregateKahan(AMapToData map, int nVals, MatrixBlock in, MatrixBlock scale, int nRows,
+		int k) {
+		final int blkz = Math.max((int) Math.ceil((double) nRows / k), CompressionSettings.BITMAP_BLOCK_SZ);
+		if(k <= 1 || blkz >= nRows)
+			return new KahanAggTask(map, nVals, in, scale, 0, nRows).call();
+
+		final ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			final List<KahanAggTask> tasks = new ArrayList<>();
+			for(int i = 0; i < nRows; i += blkz)
+				tasks.add(new KahanAggTask(map, nVals, in, scale, i, Math.min(i + blkz, nRows)));
+			final KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+			KahanObject[] ret = null;
+			for(Future<KahanObject[]> f : pool.invokeAll(tasks)) {
+				final KahanObject[] tmp = f.get();
+				if(ret == null)
+					ret = tmp;
+				else
+					for(int i = 0; i < nVals; i++)
+						kplus.execute(ret[i], tmp[i]._sum, tmp[i]._correction);
+			}
+			return ret;
+		}
+		catch(Exception e) {
+			throw new DMLRuntimeException("Failed parallel compressed grouped aggregate", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private static double[] getDenseValues(MatrixBlock m) {
+		return m == null || m.isInSparseFormat() || m.isEmpty() || !m.getDenseBlock().isContiguous() ? null : m
+			.getDenseBlockValues();
+	}
+
+	private static class CodeAgg {
+		/** Number of rows (with non NaN weight) per code */
+		private final int[] counts;
+		/** Sum of weights per code, null if no weights */
+		private final double[] sums;
+
+		private CodeAgg(int n, boolean weighted) {
+			counts = new int[n];
+			sums = weighted ? new double[n] : null;
+		}
+
+		private void add(CodeAgg that) {
+			for(int i = 0; i < counts.length; i++)
+				counts[i] += that.counts[i];
+			if(sums != null)
+				for(int i = 0; i < sums.length; i++)
+					sums[i] += that.sums[i];
+		}
+	}
+
+	private static class CodeAggTask implements Callable<CodeAgg> {
+		private final AMapToData _ma;
+		private final AMapToData _mb;
+		private final int _nA;
+		private final int _nB;
+		private final MatrixBlock _w;
+		private final int _rl;
+		private final int _ru;
+
+		protected CodeAggTask(AMapToData ma, AMapToData mb, int nA, int nB, MatrixBlock w, int rl, int ru) {
+			_ma = ma;
+			_mb = mb;
+			_nA = nA;
+			_nB = nB;
+			_w = w;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public CodeAgg call() {
+			final CodeAgg ret = new CodeAgg(_nA * _nB, _w != null);
+			final int[] counts = ret.counts;
+			if(_w == null) {
+				for(int r = _rl; r < _ru; r++)
+					counts[code(r)]++;
+				return ret;
+			}
+
+			final double[] sums = ret.sums;
+			final double[] wv = getDenseValues(_w);
+			for(int r = _rl; r < _ru; r++) {
+				// NaN weights are skipped in ctable
+				final double v = wv != null ? wv[r] : _w.get(r, 0);
+				if(!Double.isNaN(v)) {
+					final int c = code(r);
+					counts[c]++;
+					sums[c] += v;
+				}
+			}
+			return ret;
+		}
+
+		private int code(int r) {
+			final int a = _ma == null ? 0 : _ma.getIndex(r);
+			return _mb == null ? a * _nB : a * _nB + _mb.getIndex(r);
+		}
+	}
+
+	private static class KahanAggTask implements Callable<KahanObject[]> {
+		private final AMapToData _map;
+		private final int _nVals;
+		private final MatrixBlock _in;
+		private final MatrixBlock _scale;
+		private final int _rl;
+		private final int _ru;
+
+		protected KahanAggTask(AMapToData map, int nVals, MatrixBlock in, MatrixBlock scale, int rl, int ru) {
+			_map = map;
+			_nVals = nVals;
+			_in = in;
+			_scale = scale;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public KahanObject[] call() {
+			final KahanObject[] ret = new KahanObject[_nVals];
+			for(int i = 0; i < _nVals; i++)
+				ret[i] = new KahanObject(0, 0);
+			if(_in.isEmpty())
+				return ret;
+			final KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+			final double[] iv = getDenseValues(_in);
+			final double[] sv = getDenseValues(_scale);
+			for(int r = _rl; r < _ru; r++) {
+				final double v = iv != null ? iv[r] : _in.get(r, 0);
+				if(v == 0)
+					continue; // sparse-safe
+				final double s = _scale == null ? 1 : sv != null ? sv[r] : _scale.get(r, 0);
+				kplus.execute2(ret[_map == null ? 0 : _map.getIndex(r)], v * s);
+			}
+			return ret;
+		}
+	}
+}
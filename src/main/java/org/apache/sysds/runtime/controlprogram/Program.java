@@ -28,6 +28,7 @@ import org.apache.sysds.parser.DMLProgram;
 import org.apache.sysds.parser.FunctionDictionary;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.DMLScriptException;
+import org.apache.sysds.runtime.controlprogram.caching.AsyncWriteManager;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 
 public class Program 
@@ -153,16 +154,28 @@ public class Program
 	}
 
 	public void execute(ExecutionContext ec) {
+		// scope asynchronous writes to this execution, which keeps
+		// concurrent sessions (e.g., JMLC, MLContext) independent
+		Object owner = AsyncWriteManager.getOwner();
+		AsyncWriteManager.setOwner(ec);
 		try{
 			for (int i=0; i<_programBlocks.size(); i++)
 				_programBlocks.get(i).execute(ec);
+			// ensure all pending asynchronous writes are persisted
+			// (for all APIs, i.e., DMLScript, MLContext, and JMLC)
+			AsyncWriteManager.waitForAll(true);
 		}
 		catch(DMLScriptException e) {
+			AsyncWriteManager.waitForAll(false);
 			throw e;
 		}
 		catch(Exception e) {
+			AsyncWriteManager.waitForAll(false);
 			throw new DMLRuntimeException(e);
 		}
+		finally {
+			AsyncWriteManager.setOwner(owner);
+		}
 	}
 
 	public Program clone(boolean deep) {
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.controlprogram.caching;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Registry of pending asynchronous persistent writes. Write tasks run on a background thread pool, while subsequent
+ * reads or writes of the same file and the end of program execution wait for completion. Pending writes are tagged
+ * with the owner of the submitting thread (e.g., the execution context of a program execution), which allows
+ * concurrent sessions (e.g., JMLC or MLContext) to bound and drain only their own writes. The number of pending
+ * writes per owner is bounded, which limits the memory held by in-flight output blocks.
+ */
+public class AsyncWriteManager {
+	private static final Log LOG = LogFactory.getLog(AsyncWriteManager.class.getName());
+
+	/** Maximum number of pending writes per owner before new writes block on the oldest one */
+	public static final int MAX_PENDING_WRITES = 8;
+
+	/** Pending writes by normalized file name, in submission order */
+	private static final Map<String, PendingWrite> _pending = new LinkedHashMap<>();
+
+	/** Owner of writes submitted by the current thread, null for writes outside a program execution */
+	private static final ThreadLocal<Object> _owner = new ThreadLocal<>();
+
+	private AsyncWriteManager() {
+		// private constructor for code coverage.
+	}
+
+	/**
+	 * Gets the owner of asynchronous writes submitted by the current thread.
+	 * 
+	 * @return owner, or null if not set
+	 */
+	public static Object getOwner() {
+		return _owner.get();
+	}
+
+	/**
+	 * Sets the owner of asynchronous writes submitted by the current thread.
+	 * 
+	 * @param owner owner, or null to reset
+	 */
+	public static void setOwner(Object owner) {
+		if(owner == null)
+			_owner.remove();
+		else
+			_owner.set(owner);
+	}
+
+	/**
+	 * Submits an asynchronous write of the given file, after previous writes of the same file completed.
+	 * 
+	 * @param fname file name
+	 * @param task  write task
+	 */
+	public static void submit(String fname, Callable<Void> task) {
+		Object owner = getOwner();
+		String key = normalize(fname);
+		waitFor(fname);
+		for(String oldest = getOldest(owner); oldest != null && getNumPending(owner) >= MAX_PENDING_WRITES;
+			oldest = getOldest(owner))
+			waitFor(oldest);
+		synchronized(_pending) {
+			_pending.put(key, new PendingWrite(owner, CommonThreadPool.getDynamicPool().submit(() -> {
+				try {
+					return task.call();
+				}
+				catch(Exception ex) {
+					LOG.error("Asynchronous write of " + fname + " failed.", ex);
+					throw ex;
+				}
+			})));
+		}
+	}
+
+	/**
+	 * Checks if there is a pending write of the given file, independent of its owner.
+	 * 
+	 * @param fname file name
+	 * @return true if a write is pending
+	 */
+	public static boolean isPending(String fname) {
+		synchronized(_pending) {
+			return !_pending.isEmpty() && _pending.containsKey(normalize(fname));
+		}
+	}
+
+	/**
+	 * Gets the number of pending writes of the current thread's owner.
+	 * 
+	 * @return number of pending writes
+	 */
+	public static int getNumPending() {
+		return getNumPending(getOwner());
+	}
+
+	/**
+	 * Waits for a pending write of the given file, if any, independent of its owner.
+	 * 
+	 * @param fname file name
+	 * @throws DMLRuntimeException if the write failed
+	 */
+	public static void waitFor(String fname) {
+		PendingWrite w;
+		synchronized(_pending) {
+			if(_pending.isEmpty())
+				return;
+			w = _pending.remove(normalize(fname));
+		}
+		if(w != null)
+			waitFor(fname, w._future);
+	}
+
+	/**
+	 * Waits for all pending writes of the current thread's owner, and raises the first error if requested.
+	 * 
+	 * @param raiseErrors if true, failed writes raise an exception after all writes completed
+	 * @throws DMLRuntimeException if a write failed and raiseErrors is true
+	 */
+	public static void waitForAll(boolean raiseErrors) {
+		Object owner = getOwner();
+		List<Map.Entry<String, PendingWrite>> pending = new ArrayList<>();
+		synchronized(_pending) {
+			Iterator<Map.Entry<String, PendingWrite>> iter = _pending.entrySet().iterator();
+			while(iter.hasNext()) {
+				Map.Entry<String, PendingWrite> e = iter.next();
+				if(e.getValue()._owner == owner) {
+					pending.add(e);
+					iter.remove();
+				}
+			}
+		}
+		DMLRuntimeException err = null;
+		for(Map.Entry<String, PendingWrite> e : pending) {
+			try {
+				waitFor(e.getKey(), e.getValue()._future);
+			}
+			catch(DMLRuntimeException ex) {
+				err = (err == null) ? ex : err;
+			}
+		}
+		if(err != null && raiseErrors)
+			throw err;
+	}
+
+	private static void waitFor(String fname, Future<?> f) {
+		try {
+			f.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException("Asynchronous write of " + fname + " failed.", ex);
+		}
+	}
+
+	private static int getNumPending(Object owner) {
+		synchronized(_pending) {
+			int count = 0;
+			for(PendingWrite w : _pending.values())
+				count += (w._owner == owner) ? 1 : 0;
+			return count;
+		}
+	}
+
+	private static String getOldest(Object owner) {
+		synchronized(_pending) {
+			for(Map.Entry<String, PendingWrite> e : _pending.entrySet())
+				if(e.getValue()._owner == owner)
+					return e.getKey();
+			return null;
+		}
+	}
+
+	private static String normalize(String fname) {
+		return new Path(fname).toString();
+	}
+
+	private static class PendingWrite {
+		private final Object _owner;
+		private final Future<?> _future;
+
+		private PendingWrite(Object owner, Future<?> future) {
+			_owner = owner;
+			_future = future;
+		}
+	}
+}
@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.lang.ref.SoftReference;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang3.mutable.MutableBoolean;
@@ -58,6 +59,7 @@ import org.apache.sysds.runtime.meta.MatrixCharacteristics;
 import org.apache.sysds.runtime.meta.MetaData;
 import org.apache.sysds.runtime.meta.MetaDataFormat;
 import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.IndexRange;
 import org.apache.sysds.runtime.util.LocalFileUtils;
 import org.apache.sysds.utils.Statistics;
 import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
@@ -202,8 +204,17 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 	 */
 	private boolean _dirtyFlag = false;
 	
+	/**
+	 * Source file, source characteristics, and row/column range (0-based) of a partial read,
+	 * where the data is read as a slice of the source file and not backed by {@link #_hdfsFileName}.
+	 */
+	private String _readSource = null;
+	private DataCharacteristics _readSourceDC = null;
+	private IndexRange _readRange = null;
+	
 	// additional private flags and meta data
 	private int     _numReadThreads = 0;   //number of threads for read from HDFS
+	private volatile String _asyncWriteFile = null; //pending asynchronous write of the in-memory data
 	private boolean _cleanupFlag = true;   //flag if obj unpinned (cleanup enabled)	
 	private String  _cacheFileName = null; //local eviction file name
 	private boolean _requiresLocalWrite = false; //flag if local write for read obj
@@ -244,6 +255,9 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 		_hdfsFileExists = that._hdfsFileExists; 
 		_gpuObjects = that._gpuObjects;
 		_dirtyFlag = that._dirtyFlag;
+		_readSource = that._readSource;
+		_readSourceDC = that._readSourceDC;
+		_readRange = that._readRange;
 		_compressed = that._compressed;
 		_compressedSize = that._compressedSize;
 		_fedMapping = that._fedMapping;
@@ -304,12 +318,44 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 	 * @return true if dirty
 	 */
 	public boolean isDirty() {
-		return _dirtyFlag;
+		//partial reads are never backed by the associated file
+		return _dirtyFlag || _readRange != null;
 	}
 
 	public void setDirty(boolean flag) {
 		_dirtyFlag = flag;
 	}
+	
+	/**
+	 * Configures this data object to be read as the given row/column range of the
+	 * source file instead of reading the associated file (e.g., for right indexing
+	 * pushed down into persistent reads).
+	 * 
+	 * @param fname source file name
+	 * @param dc data characteristics of the source file
+	 * @param ix row and column range (0-based, inclusive)
+	 */
+	public void setReadRange(String fname, DataCharacteristics dc, IndexRange ix) {
+		_readSource = fname;
+		_readSourceDC = dc;
+		_readRange = ix;
+	}
+	
+	public boolean hasReadRange() {
+		return _readRange != null;
+	}
+	
+	public IndexRange getReadRange() {
+		return _readRange;
+	}
+	
+	public String getReadSource() {
+		return _readSource;
+	}
+	
+	public DataCharacteristics getReadSourceCharacteristics() {
+		return _readSourceDC;
+	}
 
 	public FileFormatProperties getFileFormatProperties() {
 		return _formatProps;
@@ -849,6 +895,11 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 		if( LOG.isTraceEnabled() )
 			LOG.trace("Exporting " + this.getDebugName() + " to " + fName + " in format " + outputFormat);
 		
+		//wait for pending asynchronous writes of the source or target file
+		if( _hdfsFileName != null )
+			AsyncWriteManager.waitFor(_hdfsFileName);
+		AsyncWriteManager.waitFor(fName);
+		
 		if( DMLScript.USE_ACCELERATOR && _gpuObjects != null ) {
 			boolean copiedFromGPU = false;
 			for (Map.Entry<GPUContext, GPUObject> kv : _gpuObjects.entrySet()) {
@@ -910,12 +961,21 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 				acquire( false, _data==null ); //incl. read matrix if evicted
 			}
 
-			// b) write the matrix 
+			// b) write the matrix (asynchronously for persistent writes, if enabled)
 			try {
 				writeMetaData( fName, outputFormat, formatProperties );
-				writeBlobToHDFS( fName, outputFormat, replication, formatProperties );
-				if ( !pWrite )
+				Callable<Void> task = (pWrite && !federatedWrite && ConfigurationManager.isAsyncWriteEnabled()) ?
+					createAsyncWriteTask( _data, fName, outputFormat, replication, formatProperties ) : null;
+				if( task != null ) {
+					AsyncWriteManager.submit(fName, task);
+					_asyncWriteFile = fName;
+				}
+				else
+					writeBlobToHDFS( fName, outputFormat, replication, formatProperties );
+				if ( !pWrite ) {
 					setDirty(false);
+					setReadRange(null, null, null);
+				}
 			}
 			catch (Exception e) {
 				throw new DMLRuntimeException("Export to " + fName + " failed.", e);
@@ -1078,6 +1138,7 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 
 	//HDFS read
 	protected T readBlobFromHDFS(String fname) throws IOException {
+		AsyncWriteManager.waitFor(fname);
 		MetaDataFormat iimd = (MetaDataFormat) _metaData;
 		DataCharacteristics dc = iimd.getDataCharacteristics();
 		return readBlobFromHDFS(fname, dc.getDims());
@@ -1105,6 +1166,34 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 	protected abstract void writeBlobToHDFS(String fname, String ofmt, int rep, FileFormatProperties fprop)
 		throws IOException;
 
+	/**
+	 * Creates a task that writes the given in-memory data to HDFS, independent of subsequent modifications
+	 * of this cacheable data object (e.g., cleanup or metadata updates).
+	 * 
+	 * @param data  the data to write
+	 * @param fname file name
+	 * @param ofmt  output format
+	 * @param rep   replication factor
+	 * @param fprop file format properties
+	 * @return the write task, or null if asynchronous writes are not supported for this object
+	 */
+	protected Callable<Void> createAsyncWriteTask(T data, String fname, String ofmt, int rep,
+		FileFormatProperties fprop) {
+		return null;
+	}
+
+	/**
+	 * Waits for a pending asynchronous write of the in-memory data, which pins the data until it is
+	 * written. This method needs to be called before the in-memory data is modified in place.
+	 */
+	public void waitForAsyncWrite() {
+		String fname = _asyncWriteFile;
+		if( fname != null ) {
+			_asyncWriteFile = null;
+			AsyncWriteManager.waitFor(fname);
+		}
+	}
+
 	protected abstract void writeBlobFromRDDtoHDFS(RDDObject rdd, String fname, String ofmt)
 		throws IOException;
 
@@ -26,6 +26,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.FileFormat;
 import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.parser.DataExpression;
 import org.apache.sysds.runtime.DMLRuntimeException;
@@ -34,6 +35,8 @@ import org.apache.sysds.runtime.controlprogram.federated.FederatedRange;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
 import org.apache.sysds.runtime.controlprogram.federated.FederationMap;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.ColumnMetadata;
+import org.apache.sysds.runtime.frame.data.lib.FrameLibCompress;
 import org.apache.sysds.runtime.instructions.spark.data.RDDObject;
 import org.apache.sysds.runtime.io.FileFormatProperties;
 import org.apache.sysds.runtime.io.FrameReaderFactory;
@@ -46,10 +49,12 @@ import org.apache.sysds.runtime.meta.MatrixCharacteristics;
 import org.apache.sysds.runtime.meta.MetaData;
 import org.apache.sysds.runtime.meta.MetaDataFormat;
 import org.apache.sysds.runtime.util.UtilFunctions;
+import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
 
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 
 
@@ -196,10 +201,18 @@ public class FrameObject extends CacheableData<FrameBlock>
 		ValueType[] lschema = (_schema != null) ? _schema : UtilFunctions.nCopies(clen >= 1 ? (int) clen : 1,
 			ValueType.STRING);
 
-		// read the frame block
-		FrameBlock data = isFederated() ? acquireReadAndRelease() : FrameReaderFactory
-			.createFrameReader(iimd.getFileFormat(), getFileFormatProperties())
-			.readFrameFromHDFS(fname, lschema, dc.getRows(), dc.getCols());
+		// read the frame block (entire file or row/column range of the source file)
+		FrameBlock data = null;
+		if(isFederated())
+			data = acquireReadAndRelease();
+		else if(hasReadRange() && fname.equals(_hdfsFileName)) {
+			DataCharacteristics sdc = getReadSourceCharacteristics();
+			data = FrameReaderFactory.createFrameReader(iimd.getFileFormat(), getFileFormatProperties())
+				.readFrameFromHDFS(getReadSource(), lschema, sdc.getRows(), sdc.getCols(), getReadRange());
+		}
+		else
+			data = FrameReaderFactory.createFrameReader(iimd.getFileFormat(), getFileFormatProperties())
+				.readFrameFromHDFS(fname, lschema, dc.getRows(), dc.getCols());
 
 		if(iimd.getFileFormat() == FileFormat.CSV)
 			_metaData = _metaData instanceof MetaDataFormat ? new MetaDataFormat(data.getDataCharacteristics(),
@@ -208,6 +221,10 @@ public class FrameObject extends CacheableData<FrameBlock>
 		// sanity check correct output
 		if(data == null)
 			throw new IOException("Unable to load frame from file: " + fname);
+
+		// dictionary encode low-cardinality string columns if enabled
+		if(ConfigurationManager.isCompressedFrameRead() && !isFederated())
+			data = FrameLibCompress.compressStrings(data, InfrastructureAnalyzer.getLocalParallelism());
 		return data;
 	}
 
@@ -293,6 +310,27 @@ public class FrameObject extends CacheableData<FrameBlock>
 		writer.writeFrameToHDFS(_data, fname, getNumRows(), getNumColumns());
 	}
 
+	@Override
+	protected Callable<Void> createAsyncWriteTask(FrameBlock data, String fname, String ofmt, int rep,
+		FileFormatProperties fprop) {
+		if(data == null)
+			return null;
+		MetaDataFormat iimd = (MetaDataFormat) _metaData;
+		FileFormat fmt = (ofmt != null ? FileFormat.safeValueOf(ofmt) : iimd.getFileFormat());
+		FrameWriter writer = FrameWriterFactory.createFrameWriter(fmt, fprop);
+		long rlen = getNumRows(), clen = getNumColumns();
+		// frames have no in-place updates (column arrays are copied on write), but the frame
+		// block itself might be modified (e.g., column names, metadata, or column references)
+		FrameBlock snapshot = data.copyShallow();
+		for(int j = 0; j < snapshot.getNumColumns(); j++)
+			if(!data.isColumnMetadataDefault(j))
+				snapshot.setColumnMetadata(j, new ColumnMetadata(data.getColumnMetadata(j)));
+		return () -> {
+			writer.writeFrameToHDFS(snapshot, fname, rlen, clen);
+			return null;
+		};
+	}
+
 	@Override
 	protected void writeBlobFromRDDtoHDFS(RDDObject rdd, String fname, String ofmt)
 		throws IOException, DMLRuntimeException 
@@ -22,6 +22,7 @@ package org.apache.sysds.runtime.controlprogram.caching;
 import java.io.IOException;
 import java.lang.ref.SoftReference;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.mutable.MutableBoolean;
@@ -152,6 +153,9 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 	}
 
 	public void setUpdateType(UpdateType flag) {
+		// in-place updates must not modify a block that is still being written
+		if( flag.isInPlace() )
+			waitForAsyncWrite();
 		_updateType = flag;
 	}
 
@@ -442,8 +446,18 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 		// Read matrix and maintain meta data,
 		// if the MatrixObject is federated there is nothing extra to read, and therefore only acquire read and release
 		int blen = mc.getBlocksize() <= 0 ? ConfigurationManager.getBlocksize() : mc.getBlocksize();
-		MatrixBlock newData = isFederated() ? acquireReadAndRelease() : DataConverter.readMatrixFromHDFS(fname,
-			iimd.getFileFormat(), rlen, clen, blen, mc.getNonZeros(), getFileFormatProperties());
+		MatrixBlock newData = null;
+		if(isFederated())
+			newData = acquireReadAndRelease();
+		else if(hasReadRange() && fname.equals(_hdfsFileName)) {
+			// partial read of the source file (e.g., right indexing pushed into read)
+			DataCharacteristics dc = getReadSourceCharacteristics();
+			newData = DataConverter.readMatrixFromHDFS(getReadSource(), iimd.getFileFormat(), dc.getRows(),
+				dc.getCols(), blen, dc.getNonZeros(), getFileFormatProperties(), getReadRange());
+		}
+		else
+			newData = DataConverter.readMatrixFromHDFS(fname, iimd.getFileFormat(), rlen, clen, blen,
+				mc.getNonZeros(), getFileFormatProperties());
 
 		if(iimd.getFileFormat() == FileFormat.CSV) {
 			_metaData = _metaData instanceof MetaDataFormat ? new MetaDataFormat(newData.getDataCharacteristics(),
@@ -572,6 +586,26 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 			CacheStatistics.incrementHDFSWrites();
 	}
 
+	@Override
+	protected Callable<Void> createAsyncWriteTask(MatrixBlock data, String fname, String ofmt, int rep,
+		FileFormatProperties fprop) {
+		// in-place updates might modify the block while writing
+		if(data == null || isFederated() || getUpdateType().isInPlace())
+			return null;
+		MetaDataFormat iimd = (MetaDataFormat) _metaData;
+		FileFormat fmt = (ofmt != null ? FileFormat.safeValueOf(ofmt) : iimd.getFileFormat());
+		DataCharacteristics mc = new MatrixCharacteristics(iimd.getDataCharacteristics());
+		if( fmt == FileFormat.BINARY && fprop != null )
+			mc.setBlocksize(fprop.getBlocksize());
+		boolean diag = _diag;
+		return () -> {
+			DataConverter.writeMatrixToHDFS(data, fname, fmt, mc, rep, fprop, diag);
+			if(DMLScript.STATISTICS)
+				CacheStatistics.incrementHDFSWrites();
+			return null;
+		};
+	}
+
 	@Override
 	protected void writeBlobFromRDDtoHDFS(RDDObject rdd, String fname, String outputFormat)
 		throws IOException, DMLRuntimeException {
@@ -26,6 +26,7 @@ import org.apache.sysds.conf.CompilerConfig;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.AsyncWriteManager;
 import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
 
 /**
@@ -40,6 +41,7 @@ public class LocalParWorker extends ParWorker implements Runnable
 {
 	protected final LocalTaskQueue<Task> _taskQueue;
 	protected final CompilerConfig _cconf;
+	protected final Object _asyncWriteOwner;
 	protected final boolean _stopped;
 	protected final int _max_retry;
 	protected Collection<String> _fnNames = null;
@@ -48,6 +50,7 @@ public class LocalParWorker extends ParWorker implements Runnable
 		super(ID, body);
 		_taskQueue = q;
 		_cconf = cconf;
+		_asyncWriteOwner = AsyncWriteManager.getOwner();
 		_stopped   = false;
 		_max_retry = max_retry;
 	}
@@ -86,6 +89,9 @@ public class LocalParWorker extends ParWorker implements Runnable
 		//setup compiler config for worker thread
 		ConfigurationManager.setLocalConfig(_cconf);
 		
+		//setup owner of asynchronous writes (of the parent program)
+		AsyncWriteManager.setOwner(_asyncWriteOwner);
+		
 		// continuous execution (execute tasks until (1) stopped or (2) no more tasks)
 		Task lTask = null; 
 		try {
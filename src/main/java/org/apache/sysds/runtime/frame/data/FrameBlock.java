@@ -52,15 +52,19 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.codegen.CodegenUtils;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
+import org.apache.sysds.runtime.frame.data.columns.ACompressedArray;
 import org.apache.sysds.runtime.frame.data.columns.Array;
 import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
 import org.apache.sysds.runtime.frame.data.columns.ColumnMetadata;
+import org.apache.sysds.runtime.frame.data.columns.DDCArray;
 import org.apache.sysds.runtime.frame.data.iterators.IteratorFactory;
 import org.apache.sysds.runtime.frame.data.lib.FrameFromMatrixBlock;
 import org.apache.sysds.runtime.frame.data.lib.FrameLibAppend;
 import org.apache.sysds.runtime.frame.data.lib.FrameLibApplySchema;
 import org.apache.sysds.runtime.frame.data.lib.FrameLibDetectSchema;
+import org.apache.sysds.runtime.frame.data.lib.FrameLibMap;
 import org.apache.sysds.runtime.frame.data.lib.FrameLibRemoveEmpty;
+import org.apache.sysds.runtime.frame.data.lib.FrameLibSort;
 import org.apache.sysds.runtime.frame.data.lib.FrameUtil;
 import org.apache.sysds.runtime.functionobjects.ValueComparisonFunction;
 import org.apache.sysds.runtime.instructions.cp.BooleanObject;
@@ -1053,7 +1057,9 @@ public class FrameBlock implements CacheBlock<FrameBlock>, Externalizable {
 
 		// copy data to output and partial overwrite w/ rhs
 		for(int j = 0; j < getNumColumns(); j++) {
-			Array tmp = _coldata[j].clone();
+			// decompress modified columns, because compressed arrays are immutable
+			Array tmp = (j >= cl && j <= cu && _coldata[j] instanceof ACompressedArray) ? //
+				((ACompressedArray<?>) _coldata[j]).decompress() : _coldata[j].clone();
 			if(j >= cl && j <= cu) {
 				// fast-path for homogeneous column schemas
 				if(_schema[j] == rhsFrame._schema[j - cl])
@@ -1464,6 +1470,10 @@ public class FrameBlock implements CacheBlock<FrameBlock>, Externalizable {
 	}
 
 	public FrameBlock map(String lambdaExpr, long margin) {
+		return map(lambdaExpr, margin, 1);
+	}
+
+	public FrameBlock map(String lambdaExpr, long margin, int k) {
 		if(!lambdaExpr.contains("->")) {
 			String args = lambdaExpr.substring(lambdaExpr.indexOf('(') + 1, lambdaExpr.indexOf(')'));
 			if(args.contains(",")) {
@@ -1479,6 +1489,8 @@ public class FrameBlock implements CacheBlock<FrameBlock>, Externalizable {
 		}
 		if(lambdaExpr.contains("jaccardSim"))
 			return mapDist(getCompiledFunction(lambdaExpr, margin));
+		if(margin == 0)
+			return FrameLibMap.map(this, lambdaExpr, k);
 		return map(getCompiledFunction(lambdaExpr, margin), margin);
 	}
 
@@ -1700,28 +1712,64 @@ public class FrameBlock implements CacheBlock<FrameBlock>, Externalizable {
 				"Pattern and replacement types should be same: " + patternType + " " + replacementType);
 
 		for(int i = 0; i < ret.getNumColumns(); i++) {
+			if(!ValueType.isSameTypeString(_schema[i], patternType) && _schema[i] != ValueType.STRING)
+				continue;
+			T patternNew = (T) UtilFunctions.stringToObject(_schema[i], pattern);
+			T replacementNew = (T) UtilFunctions.stringToObject(_schema[i], replacement);
 			Array colData = ret._coldata[i];
-			for(int j = 0;
-				j < colData.size() &&
-					(ValueType.isSameTypeString(_schema[i], patternType) || _schema[i] == ValueType.STRING);
-				j++) {
-				T patternNew = (T) UtilFunctions.stringToObject(_schema[i], pattern);
-				T replacementNew = (T) UtilFunctions.stringToObject(_schema[i], replacement);
-
-				Object ent = colData.get(j);
-				if(ent != null && ent.toString().equals(patternNew.toString()))
-					colData.set(j, replacementNew);
-				else if(ent instanceof String && ent.equals(pattern))
-					colData.set(j, replacement);
+			if(colData instanceof DDCArray && ((DDCArray) colData).getDict() != null) {
+				// replace in the dictionary of distinct values only, and reuse the mapping
+				DDCArray ddc = (DDCArray) colData;
+				Array dict = ddc.getDict().clone();
+				replaceCells(dict, patternNew, replacementNew, pattern, replacement);
+				ret._coldata[i] = ddc.setDict(dict);
 			}
+			else
+				replaceCells(colData, patternNew, replacementNew, pattern, replacement);
 		}
 		return ret;
 	}
 
+	@SuppressWarnings("unchecked")
+	private static <T> void replaceCells(Array<T> colData, T patternNew, T replacementNew, String pattern,
+		String replacement) {
+		for(int j = 0; j < colData.size(); j++) {
+			Object ent = colData.get(j);
+			if(ent != null && ent.toString().equals(patternNew.toString()))
+				colData.set(j, replacementNew);
+			else if(ent instanceof String && ent.equals(pattern))
+				colData.set(j, (T) replacement);
+		}
+	}
+
 	public FrameBlock removeEmptyOperations(boolean rows, boolean emptyReturn, MatrixBlock select) {
 		return FrameLibRemoveEmpty.removeEmpty(this, rows, emptyReturn, select);
 	}
 
+	/**
+	 * Sort the rows of this frame by the given key columns, with typed comparisons per column.
+	 * 
+	 * @param by   The 0-based key columns, in order of priority
+	 * @param desc The sort order per key column, or a single order for all keys
+	 * @param k    The parallelization degree
+	 * @return The sorted frame
+	 */
+	public FrameBlock sortOperations(int[] by, boolean[] desc, int k) {
+		return FrameLibSort.sort(this, by, desc, k);
+	}
+
+	/**
+	 * Sort the rows of this frame by the given key columns and return the 1-based row indexes of the sorted order.
+	 * 
+	 * @param by   The 0-based key columns, in order of priority
+	 * @param desc The sort order per key column, or a single order for all keys
+	 * @param k    The parallelization degree
+	 * @return The sorted row indexes as column vector
+	 */
+	public MatrixBlock sortIndexes(int[] by, boolean[] desc, int k) {
+		return FrameLibSort.sortIndexesAsMatrix(this, by, desc, k);
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
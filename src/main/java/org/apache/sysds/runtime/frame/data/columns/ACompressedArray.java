@@ -34,6 +34,21 @@ public abstract class ACompressedArray<T> extends Array<T> {
 		super(size);
 	}
 
+	/**
+	 * Decompress this array into an uncompressed array of the same value type, which can be modified.
+	 * 
+	 * @return the uncompressed array
+	 */
+	@SuppressWarnings("unchecked")
+	public Array<T> decompress() {
+		final int n = size();
+		final Array<T> ret = (Array<T>) (containsNull() ? //
+			ArrayFactory.allocateOptional(getValueType(), n) : ArrayFactory.allocate(getValueType(), n));
+		for(int i = 0; i < n; i++)
+			ret.set(i, get(i));
+		return ret;
+	}
+
 	@Override
 	public Object get() {
 		throw new DMLCompressionException("Invalid to call 'get' to access primitive array on CompressedArray");
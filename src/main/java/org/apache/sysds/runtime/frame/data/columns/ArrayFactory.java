@@ -288,6 +288,11 @@ public interface ArrayFactory {
 	 */
 	@SuppressWarnings("unchecked")
 	public static <C> Array<C> append(Array<?> a, Array<?> b) {
+		// compressed arrays are immutable, hence we append their uncompressed form
+		if(a instanceof ACompressedArray)
+			a = ((ACompressedArray<?>) a).decompress();
+		if(b instanceof ACompressedArray)
+			b = ((ACompressedArray<?>) b).decompress();
 
 		// get common highest datatype.
 		final ValueType ta = a.getValueType();
@@ -18,9 +18,22 @@
  */
 package org.apache.sysds.runtime.frame.data.lib;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.workload.WTreeRoot;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.ACompressedArray;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.DDCArray;
 import org.apache.sysds.runtime.frame.data.compress.CompressedFrameBlockFactory;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 
 public interface FrameLibCompress {
 
@@ -31,4 +44,61 @@ public interface FrameLibCompress {
 	public static FrameBlock compress(FrameBlock in, int k, WTreeRoot root) {
 		return CompressedFrameBlockFactory.compress(in, k, root);
 	}
+
+	/**
+	 * Dictionary encode (DDC) the low-cardinality string columns of a frame, e.g., categorical columns of a frame that
+	 * was just read. In contrast to {@link #compress(FrameBlock, int)}, this does not change value types or analyze
+	 * other columns, and the cardinality is first estimated on a prefix sample such that high-cardinality columns are
+	 * skipped cheaply. String operations such as map and replace then evaluate once per distinct value.
+	 * 
+	 * @param in The input frame
+	 * @param k  The parallelization degree
+	 * @return The frame with dictionary-encoded string columns, or the input frame if no column was encoded
+	 */
+	public static FrameBlock compressStrings(FrameBlock in, int k) {
+		final int ncol = in.getNumColumns();
+		final Array<?>[] cols = new Array<?>[ncol];
+		final ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			final List<Future<?>> tasks = new ArrayList<>();
+			for(int j = 0; j < ncol; j++) {
+				final int cix = j;
+				tasks.add(pool.submit(() -> {
+					cols[cix] = compressString(in.getColumn(cix));
+				}));
+			}
+			for(Future<?> f : tasks)
+				f.get();
+		}
+		catch(Exception e) {
+			throw new DMLRuntimeException("Failed to dictionary encode string columns.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		boolean changed = false;
+		for(int j = 0; j < ncol; j++)
+			changed |= cols[j] != in.getColumn(j);
+		if(!changed)
+			return in;
+		final FrameBlock ret = new FrameBlock(cols, in.getColumnNames(false));
+		ret.setColumnMetadata(in.getColumnMetadata());
+		return ret;
+	}
+
+	private static Array<?> compressString(Array<?> col) {
+		final int sampleSize = 10000; // rows of the prefix sample
+		final double maxDistinctRatio = 0.1; // max ratio of distinct values in the sample
+		if(col.getValueType() != ValueType.STRING || col instanceof ACompressedArray)
+			return col;
+		final int nrow = col.size();
+		final int n = Math.min(nrow, sampleSize);
+		final int maxDistinct = (int) Math.ceil(n * maxDistinctRatio);
+		final Set<Object> distinct = new HashSet<>();
+		for(int i = 0; i < n; i++)
+			if(distinct.add(col.get(i)) && distinct.size() > maxDistinct)
+				return col;
+		return DDCArray.compressToDDC(col);
+	}
 }
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.frame.data.lib;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.DoubleArray;
+import org.apache.sysds.runtime.matrix.data.LibMatrixGroupBy;
+import org.apache.sysds.runtime.matrix.data.LibMatrixGroupBy.AggFn;
+import org.apache.sysds.runtime.matrix.data.LibMatrixGroupBy.GroupAggregates;
+import org.apache.sysds.runtime.matrix.data.LibMatrixJoin.JoinKeys;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Native grouped aggregation of a frame, see {@link LibMatrixGroupBy} for the shared hash aggregation. Key columns are
+ * encoded into long codes directly from the typed column arrays (as in {@link FrameLibJoin}), such that string keys
+ * keep their exact values. The output contains the typed key columns of the first row per group followed by one FP64
+ * column per aggregate.
+ */
+public class FrameLibGroupBy {
+
+	private FrameLibGroupBy() {
+		// private constructor
+	}
+
+	/**
+	 * Group the rows of a frame by the given key columns and compute the given aggregates per group.
+	 *
+	 * @param in   The input frame
+	 * @param keys The 0-based key columns
+	 * @param cols The 0-based value columns, one per aggregate
+	 * @param fns  The aggregate functions
+	 * @param k    The parallelization degree
+	 * @return The grouped aggregates
+	 */
+	public static FrameBlock groupBy(FrameBlock in, int[] keys, int[] cols, AggFn[] fns, int k) {
+		LibMatrixGroupBy.validate(in.getNumColumns(), keys, cols, fns);
+		final int n = in.getNumRows();
+		final JoinKeys codes = new JoinKeys(keys.length, n);
+		for(int j = 0; j < keys.length; j++)
+			encodeKeys(in.getColumn(keys[j]), codes, j);
+		final double[][] values = extractValues(in, cols, k);
+		final GroupAggregates agg = LibMatrixGroupBy.aggregate(codes, values, fns, k);
+
+		final int ncol = keys.length + fns.length;
+		final ValueType[] schema = new ValueType[ncol];
+		final String[] names = new String[ncol];
+		for(int j = 0; j < keys.length; j++) {
+			schema[j] = in.getSchema()[keys[j]];
+			names[j] = in.getColumnName(keys[j]);
+		}
+		for(int j = 0; j < fns.length; j++) {
+			schema[keys.length + j] = ValueType.FP64;
+			names[keys.length + j] = fns[j].name().toLowerCase() + "_" + in.getColumnName(cols[j]);
+		}
+		if(agg.getNumGroups() == 0)
+			return new FrameBlock(schema, names);
+
+		final Array<?>[] out = new Array<?>[ncol];
+		for(int j = 0; j < keys.length; j++)
+			out[j] = in.getColumn(keys[j]).select(agg.getFirstRows());
+		for(int j = 0; j < fns.length; j++)
+			out[keys.length + j] = new DoubleArray(agg.getValues(j));
+		return new FrameBlock(out, names);
+	}
+
+	private static void encodeKeys(Array<?> a, JoinKeys keys, int key) {
+		if(a == null)
+			return; // unallocated empty input
+		final ValueType vt = a.getValueType();
+		if(FrameLibJoin.isInteger(vt))
+			FrameLibJoin.encodeLong(a, keys, key);
+		else if(vt.isNumeric())
+			FrameLibJoin.encodeDouble(a, keys, key);
+		else
+			FrameLibJoin.encodeRecode(a, a.getRecodeMap(), keys, key);
+	}
+
+	private static double[][] extractValues(FrameBlock in, int[] cols, int k) {
+		final double[][] ret = new double[cols.length][];
+		final ExecutorService pool = CommonThreadPool.get(Math.min(k, cols.length));
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for(int j = 0; j < cols.length; j++) {
+				// share the values of repeated columns across aggregates
+				for(int j2 = 0; j2 < j && ret[j] == null; j2++)
+					if(cols[j2] == cols[j])
+						ret[j] = ret[j2];
+				if(ret[j] != null)
+					continue;
+				final double[] vals = new double[in.getNumRows()];
+				final Array<?> a = in.getColumn(cols[j]);
+				ret[j] = vals;
+				tasks.add(pool.submit(() -> extractValues(a, vals)));
+			}
+			for(Future<?> f : tasks)
+				f.get();
+		}
+		catch(Exception e) {
+			throw new DMLRuntimeException(e);
+		}
+		finally {
+			pool.shutdown();
+		}
+		return ret;
+	}
+
+	private static void extractValues(Array<?> a, double[] vals) {
+		if(a == null)
+			return;
+		final boolean nulls = a.containsNull();
+		for(int i = 0; i < vals.length; i++)
+			vals[i] = (nulls && a.get(i) == null) ? Double.NaN : a.getAsDouble(i);
+	}
+}
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.frame.data.lib;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
+import org.apache.sysds.runtime.frame.data.columns.OptionalArray;
+import org.apache.sysds.runtime.frame.data.columns.StringArray;
+import org.apache.sysds.runtime.matrix.data.LibMatrixJoin;
+import org.apache.sysds.runtime.matrix.data.LibMatrixJoin.JoinKeys;
+import org.apache.sysds.runtime.matrix.data.LibMatrixJoin.JoinType;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Native hash join of two frames on one or more key columns, see {@link LibMatrixJoin} for the shared hash table and
+ * output order. Key columns are encoded pairwise into long codes directly from the typed column arrays: integer
+ * columns by value, other numeric columns by their double value, and all remaining columns through the recode map of
+ * the left column. The output columns are gathered column-wise from the input arrays.
+ */
+public class FrameLibJoin {
+
+	private FrameLibJoin() {
+		// private constructor
+	}
+
+	/**
+	 * Join two frames on the given key columns. The output contains the columns of the left input followed by the
+	 * columns of the right input (except for semi joins that only return left columns). Null or NaN keys never match,
+	 * and the right columns of unmatched rows in left joins are null.
+	 * 
+	 * @param left  The left input
+	 * @param right The right input
+	 * @param lkeys The 0-based key columns of the left input
+	 * @param rkeys The 0-based key columns of the right input
+	 * @param type  The join type
+	 * @param k     The parallelization degree
+	 * @return The joined frame
+	 */
+	public static FrameBlock join(FrameBlock left, FrameBlock right, int[] lkeys, int[] rkeys, JoinType type, int k) {
+		LibMatrixJoin.validateKeys(left.getNumColumns(), right.getNumColumns(), lkeys, rkeys);
+		final JoinKeys lk = new JoinKeys(lkeys.length, left.getNumRows());
+		final JoinKeys rk = new JoinKeys(rkeys.length, right.getNumRows());
+		for(int j = 0; j < lkeys.length; j++)
+			encodeKeys(left.getColumn(lkeys[j]), right.getColumn(rkeys[j]), lk, rk, j);
+		final int[][] ix = LibMatrixJoin.joinIndexes(lk, rk, type, k);
+
+		final boolean semi = type == JoinType.SEMI;
+		final int lcols = left.getNumColumns();
+		final int ncol = lcols + (semi ? 0 : right.getNumColumns());
+		final ValueType[] schema = semi ? left.getSchema() : ArrayUtils.addAll(left.getSchema(), right.getSchema());
+		final String[] names = getColumnNames(left, right, semi);
+		if(ix[0].length == 0)
+			return new FrameBlock(schema, names);
+
+		final Array<?>[] cols = new Array<?>[ncol];
+		final ExecutorService pool = CommonThreadPool.get(Math.min(k, ncol));
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for(int c = 0; c < ncol; c++) {
+				final int cix = c;
+				if(c < lcols)
+					tasks.add(pool.submit(() -> cols[cix] = left.getColumn(cix).select(ix[0])));
+				else
+					tasks.add(pool.submit(() -> cols[cix] = selectOuter(right, cix - lcols, ix[1])));
+			}
+			for(Future<?> f : tasks)
+				f.get();
+		}
+		catch(Exception e) {
+			throw new DMLRuntimeException(e);
+		}
+		finally {
+			pool.shutdown();
+		}
+		return new FrameBlock(cols, names);
+	}
+
+	private static void encodeKeys(Array<?> a, Array<?> b, JoinKeys lk, JoinKeys rk, int key) {
+		if(a == null || b == null)
+			return; // unallocated empty input, no matches possible
+		final ValueType at = a.getValueType();
+		final ValueType bt = b.getValueType();
+		if(isInteger(at) && isInteger(bt)) {
+			encodeLong(a, lk, key);
+			encodeLong(b, rk, key);
+		}
+		else if(at.isNumeric() && bt.isNumeric()) {
+			encodeDouble(a, lk, key);
+			encodeDouble(b, rk, key);
+		}
+		else if(at == bt) {
+			// recode map of the left column, values not in the map cannot match
+			final Map<?, Long> map = a.getRecodeMap();
+			encodeRecode(a, map, lk, key);
+			encodeRecode(b, map, rk, key);
+		}
+		else {
+			// different non-numeric types are compared by their string representation
+			final Map<String, Long> map = new HashMap<>();
+			for(int i = 0; i < a.size(); i++) {
+				final Object v = a.get(i);
+				if(v != null)
+					map.putIfAbsent(v.toString(), (long) map.size());
+			}
+			encodeString(a, map, lk, key);
+			encodeString(b, map, rk, key);
+		}
+	}
+
+	protected static boolean isInteger(ValueType vt) {
+		return vt == ValueType.INT32 || vt == ValueType.INT64 || vt == ValueType.UINT4 || vt == ValueType.UINT8;
+	}
+
+	protected static void encodeLong(Array<?> a, JoinKeys keys, int key) {
+		final long[] codes = keys.getCodes(key);
+		for(int i = 0; i < a.size(); i++) {
+			final Object v = a.get(i);
+			if(v == null)
+				keys.setInvalid(i);
+			else
+				codes[i] = ((Number) v).longValue();
+		}
+	}
+
+	protected static void encodeDouble(Array<?> a, JoinKeys keys, int key) {
+		final long[] codes = keys.getCodes(key);
+		final boolean nulls = a.containsNull();
+		for(int i = 0; i < a.size(); i++) {
+			final double v = a.getAsDouble(i);
+			if(Double.isNaN(v) || (nulls && a.get(i) == null))
+				keys.setInvalid(i);
+			else
+				codes[i] = LibMatrixJoin.encodeKey(v);
+		}
+	}
+
+	protected static void encodeRecode(Array<?> a, Map<?, Long> map, JoinKeys keys, int key) {
+		final long[] codes = keys.getCodes(key);
+		for(int i = 0; i < a.size(); i++) {
+			final Object v = a.get(i);
+			final Long code = (v != null) ? map.get(v) : null;
+			if(code == null)
+				keys.setInvalid(i);
+			else
+				codes[i] = code;
+		}
+	}
+
+	private static void encodeString(Array<?> a, Map<String, Long> map, JoinKeys keys, int key) {
+		final long[] codes = keys.getCodes(key);
+		for(int i = 0; i < a.size(); i++) {
+			final Object v = a.get(i);
+			final Long code = (v != null) ? map.get(v.toString()) : null;
+			if(code == null)
+				keys.setInvalid(i);
+			else
+				codes[i] = code;
+		}
+	}
+
+	private static Array<?> selectOuter(FrameBlock right, int c, int[] ridx) {
+		if(right.getNumRows() == 0)
+			return ArrayFactory.allocateOptional(right.getSchema()[c], ridx.length);
+		final Array<?> col = right.getColumn(c);
+		boolean unmatched = false;
+		for(int i = 0; i < ridx.length && !unmatched; i++)
+			unmatched = ridx[i] < 0;
+		if(!unmatched)
+			return col.select(ridx);
+
+		// gather with a valid dummy row, and null the right values of unmatched rows
+		final int[] sel = new int[ridx.length];
+		for(int i = 0; i < ridx.length; i++)
+			sel[i] = Math.max(ridx[i], 0);
+		final Array<?> ret = toOptional(col.select(sel));
+		for(int i = 0; i < ridx.length; i++)
+			if(ridx[i] < 0)
+				ret.set(i, (String) null);
+		return ret;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static Array<?> toOptional(Array<?> a) {
+		return (a instanceof OptionalArray || a instanceof StringArray) ? a : new OptionalArray((Array) a, false);
+	}
+
+	private static String[] getColumnNames(FrameBlock left, FrameBlock right, boolean semi) {
+		if(semi)
+			return left.getColumnNames(false);
+		else if(left.getColumnNames(false) == null && right.getColumnNames(false) == null)
+			return null;
+		return ArrayUtils.addAll(left.getColumnNames(), right.getColumnNames());
+	}
+}
@@ -0,0 +1,406 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.frame.data.lib;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.codegen.CodegenUtils;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
+import org.apache.sysds.runtime.frame.data.columns.DDCArray;
+import org.apache.sysds.runtime.frame.data.columns.DoubleArray;
+import org.apache.sysds.runtime.frame.data.columns.IntegerArray;
+import org.apache.sysds.runtime.frame.data.columns.LongArray;
+import org.apache.sysds.runtime.frame.data.columns.OptionalArray;
+import org.apache.sysds.runtime.frame.data.columns.StringArray;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.UtilFunctions;
+import org.codehaus.janino.SimpleCompiler;
+
+/**
+ * Columnar, cell-wise frame map. The lambda expression is compiled once into a {@link MapKernel} that processes a row
+ * range of a column array, and the compiled kernels are cached by their generated source (with least-recently-used
+ * eviction, because the sources embed arbitrary user expressions).
+ * 
+ * Untyped lambdas such as <code>x -&gt; x.toUpperCase()</code> keep the string semantics of
+ * {@link FrameBlock#map(String, long)}. Lambdas with a declared primitive parameter such as
+ * <code>(double x) -&gt; x * 2</code> read the column values as primitives without string conversion (directly from
+ * the underlying arrays for matching column types), and produce a typed output column (INT64, FP64, BOOLEAN, or
+ * STRING) according to the result type of the expression.
+ * 
+ * Dictionary-encoded columns ({@link DDCArray}) are mapped by evaluating the lambda once per distinct value of the
+ * dictionary, and the result reuses the existing row mapping.
+ */
+public class FrameLibMap {
+	protected static final Log LOG = LogFactory.getLog(FrameLibMap.class.getName());
+
+	/** Minimum number of rows per parallel task */
+	private static final int MIN_BLOCK_SIZE = 8192;
+
+	/** Maximum number of cached kernels */
+	public static final int KERNEL_CACHE_SIZE = 256;
+
+	private static final String NAME = "%CLASS_NAME%";
+	private static final LinkedHashMap<String, MapKernel> _kernels = new LinkedHashMap<>();
+	private static final AtomicInteger _seq = new AtomicInteger(0);
+
+	private static final String[] IMPORTS = {"org.apache.sysds.runtime.util.UtilFunctions",
+		"org.apache.sysds.runtime.util.PorterStemmer", "org.apache.sysds.runtime.frame.data.columns.Array",
+		"org.apache.sysds.runtime.frame.data.lib.FrameLibMap.MapKernel", "java.util.Arrays"};
+
+	private FrameLibMap() {
+		// private constructor
+	}
+
+	/**
+	 * Apply the given lambda expression to all cells of the frame. Null cells remain null.
+	 * 
+	 * @param in         The input frame
+	 * @param lambdaExpr The lambda expression, e.g., <code>x -&gt; x.trim()</code> or <code>(double x) -&gt; x / 2</code>
+	 * @param k          The parallelization degree
+	 * @return The mapped frame
+	 */
+	public static FrameBlock map(FrameBlock in, String lambdaExpr, int k) {
+		final String[] parts = lambdaExpr.split("->");
+		if(parts.length != 2)
+			throw new DMLRuntimeException("Unsupported lambda expression: " + lambdaExpr);
+		final String[] param = parts[0].replaceAll("[()]", "").trim().split("\\s+");
+		final String expr = parts[1].trim();
+		if(parts[0].contains(","))
+			// multi-argument lambdas are only supported by the row-based map
+			return in.map(FrameBlock.getCompiledFunction(lambdaExpr, 0), 0);
+
+		// derive parameter and result types, and get compiled kernel
+		final ValueType ptype = (param.length == 1) ? ValueType.STRING : getParamType(param[0]);
+		final String pname = param[param.length - 1];
+		final ValueType rtype = (ptype == ValueType.STRING) ? ValueType.STRING : getResultType(ptype, pname, expr);
+		final MapKernel kernel = getKernel(ptype, pname, rtype, expr);
+
+		final int nrow = in.getNumRows();
+		final int ncol = in.getNumColumns();
+		if(nrow == 0)
+			return new FrameBlock(UtilFunctions.nCopies(ncol, rtype));
+		final Object[] inputs = new Object[ncol];
+		final boolean[][] nulls = new boolean[ncol][];
+		final Object[] outputs = new Object[ncol];
+		final int[] lens = new int[ncol];
+		final int nblk = Math.max(1, Math.min((k + ncol - 1) / ncol, (nrow + MIN_BLOCK_SIZE - 1) / MIN_BLOCK_SIZE));
+		final int blklen = (nrow + nblk - 1) / nblk;
+
+		final ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			// prepare typed inputs and outputs per column
+			List<Future<?>> tasks = new ArrayList<>();
+			for(int j = 0; j < ncol; j++) {
+				final int cix = j;
+				tasks.add(pool.submit(() -> {
+					// dictionary-encoded columns evaluate the lambda once per distinct value
+					final Array<?> col = getDictOrColumn(in.getColumn(cix));
+					lens[cix] = col.size();
+					nulls[cix] = getNulls(col, lens[cix]);
+					inputs[cix] = getInput(col, ptype, nulls[cix], lens[cix]);
+					outputs[cix] = allocateOutput(rtype, lens[cix]);
+				}));
+			}
+			for(Future<?> f : tasks)
+				f.get();
+
+			// apply the kernel on row blocks of all columns
+			tasks.clear();
+			for(int j = 0; j < ncol; j++) {
+				for(int rl = 0; rl < lens[j]; rl += blklen) {
+					final int cix = j, rl2 = rl, ru2 = Math.min(lens[j], rl + blklen);
+					tasks.add(pool.submit(() -> kernel.apply(inputs[cix], nulls[cix], outputs[cix], rl2, ru2)));
+				}
+			}
+			for(Future<?> f : tasks)
+				f.get();
+		}
+		catch(Exception e) {
+			throw new DMLRuntimeException("Failed to execute frame map.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		final Array<?>[] cols = new Array<?>[ncol];
+		for(int j = 0; j < ncol; j++) {
+			cols[j] = createOutput(rtype, outputs[j], nulls[j]);
+			if(isDict(in.getColumn(j))) // reuse the mapping of dictionary-encoded columns
+				cols[j] = ((DDCArray<?>) in.getColumn(j)).setDict(cols[j]);
+		}
+		return new FrameBlock(cols);
+	}
+
+	private static boolean isDict(Array<?> col) {
+		return col instanceof DDCArray && ((DDCArray<?>) col).getDict() != null;
+	}
+
+	private static Array<?> getDictOrColumn(Array<?> col) {
+		return isDict(col) ? ((DDCArray<?>) col).getDict() : col;
+	}
+
+	private static ValueType getParamType(String type) {
+		switch(type) {
+			case "double":
+				return ValueType.FP64;
+			case "long":
+				return ValueType.INT64;
+			case "int":
+				return ValueType.INT32;
+			case "String":
+				return ValueType.STRING;
+			default:
+				throw new DMLRuntimeException("Unsupported lambda parameter type '" + type + "', "
+					+ "expected double, long, int, or String.");
+		}
+	}
+
+	private static String getJavaType(ValueType vt) {
+		switch(vt) {
+			case FP64:
+				return "double";
+			case INT64:
+				return "long";
+			case INT32:
+				return "int";
+			case BOOLEAN:
+				return "boolean";
+			default:
+				return "String";
+		}
+	}
+
+	/**
+	 * Infer the result type of a typed lambda by probing the most specific primitive type the expression is assignable
+	 * to. Expressions of any other type are converted to strings.
+	 */
+	private static ValueType getResultType(ValueType ptype, String pname, String expr) {
+		for(ValueType vt : new ValueType[] {ValueType.INT64, ValueType.FP64, ValueType.BOOLEAN}) {
+			StringBuilder sb = new StringBuilder();
+			appendImports(sb);
+			sb.append("public class MapTypeProbe {\n");
+			sb.append("  public static void probe(" + getJavaType(ptype) + " " + pname + ") {\n");
+			sb.append("    " + getJavaType(vt) + " _r = (" + expr + ");\n");
+			sb.append("  }\n}\n");
+			try {
+				SimpleCompiler compiler = new SimpleCompiler();
+				if(CodegenUtils._mainClassLoader != null)
+					compiler.setParentClassLoader(CodegenUtils._mainClassLoader);
+				compiler.cook(sb.toString());
+				return vt;
+			}
+			catch(Exception ex) {
+				// not assignable, probe next type
+			}
+		}
+		return ValueType.STRING;
+	}
+
+	private static MapKernel getKernel(ValueType ptype, String pname, ValueType rtype, String expr) {
+		final String src = generateCode(ptype, pname, rtype, expr);
+		MapKernel kernel = getCachedKernel(src);
+		if(kernel != null)
+			return kernel;
+		String name = "FrameMapKernel" + _seq.incrementAndGet();
+		if(LOG.isTraceEnabled())
+			LOG.trace("Generated frame map kernel:\n" + CodegenUtils.printWithLineNumber(src));
+		try {
+			kernel = (MapKernel) CodegenUtils.compileClass(name, src.replace(NAME, name)).getDeclaredConstructor()
+				.newInstance();
+		}
+		catch(ReflectiveOperationException ex) {
+			throw new DMLRuntimeException("Failed to compile frame map kernel.", ex);
+		}
+		putCachedKernel(src, kernel);
+		return kernel;
+	}
+
+	private static synchronized MapKernel getCachedKernel(String src) {
+		// constant time get and maintain usage order
+		MapKernel kernel = _kernels.remove(src);
+		if(kernel != null)
+			_kernels.put(src, kernel);
+		return kernel;
+	}
+
+	private static synchronized void putCachedKernel(String src, MapKernel kernel) {
+		if(_kernels.size() >= KERNEL_CACHE_SIZE) {
+			// remove least recently used (i.e., first) entry, incl. its class cache entry
+			Iterator<MapKernel> iter = _kernels.values().iterator();
+			CodegenUtils.clearClassCache(iter.next().getClass());
+			iter.remove();
+		}
+		_kernels.put(src, kernel);
+	}
+
+	public static synchronized int getNumCachedKernels() {
+		return _kernels.size();
+	}
+
+	private static String generateCode(ValueType ptype, String pname, ValueType rtype, String expr) {
+		final String rt = getJavaType(rtype);
+		StringBuilder sb = new StringBuilder();
+		appendImports(sb);
+		sb.append("public class " + NAME + " extends MapKernel {\n");
+		sb.append("  public void apply(Object _in, boolean[] _nulls, Object _out, int _rl, int _ru) {\n");
+		if(ptype == ValueType.STRING) {
+			// string semantics of the row-based map
+			sb.append("    Array _a = (Array) _in;\n");
+			sb.append("    String[] _c = (String[]) _out;\n");
+			sb.append("    for(int _i = _rl; _i < _ru; _i++) {\n");
+			sb.append("      Object _v = _a.get(_i);\n");
+			sb.append("      if(_v == null) continue;\n");
+			sb.append("      String " + pname + " = String.valueOf(_v);\n");
+			sb.append("      _c[_i] = String.valueOf(" + expr + ");\n");
+		}
+		else {
+			final String pt = getJavaType(ptype);
+			sb.append("    " + pt + "[] _a = (" + pt + "[]) _in;\n");
+			sb.append("    " + rt + "[] _c = (" + rt + "[]) _out;\n");
+			sb.append("    for(int _i = _rl; _i < _ru; _i++) {\n");
+			sb.append("      if(_nulls != null && _nulls[_i]) continue;\n");
+			sb.append("      " + pt + " " + pname + " = _a[_i];\n");
+			if(rtype == ValueType.STRING)
+				sb.append("      _c[_i] = String.valueOf(" + expr + ");\n");
+			else
+				sb.append("      _c[_i] = (" + expr + ");\n");
+		}
+		sb.append("    }\n");
+		sb.append("  }\n");
+		sb.append("}\n");
+		return sb.toString();
+	}
+
+	private static void appendImports(StringBuilder sb) {
+		for(String imp : IMPORTS)
+			sb.append("import " + imp + ";\n");
+	}
+
+	private static boolean[] getNulls(Array<?> col, int nrow) {
+		if(!col.containsNull())
+			return null;
+		final boolean[] ret = new boolean[nrow];
+		for(int i = 0; i < nrow; i++)
+			ret[i] = col.get(i) == null;
+		return ret;
+	}
+
+	private static Object getInput(Array<?> col, ValueType ptype, boolean[] nulls, int nrow) {
+		switch(ptype) {
+			case FP64: {
+				if(col instanceof DoubleArray)
+					return ((DoubleArray) col).get();
+				final double[] ret = new double[nrow];
+				for(int i = 0; i < nrow; i++)
+					if(nulls == null || !nulls[i])
+						ret[i] = col.getAsDouble(i);
+				return ret;
+			}
+			case INT64: {
+				if(col instanceof LongArray)
+					return ((LongArray) col).get();
+				final long[] ret = new long[nrow];
+				for(int i = 0; i < nrow; i++)
+					if(nulls == null || !nulls[i])
+						ret[i] = (long) col.getAsDouble(i);
+				return ret;
+			}
+			case INT32: {
+				if(col instanceof IntegerArray)
+					return ((IntegerArray) col).get();
+				final int[] ret = new int[nrow];
+				for(int i = 0; i < nrow; i++)
+					if(nulls == null || !nulls[i])
+						ret[i] = (int) col.getAsDouble(i);
+				return ret;
+			}
+			default:
+				return col;
+		}
+	}
+
+	private static Object allocateOutput(ValueType rtype, int nrow) {
+		switch(rtype) {
+			case FP64:
+				return new double[nrow];
+			case INT64:
+				return new long[nrow];
+			case BOOLEAN:
+				return new boolean[nrow];
+			default:
+				return new String[nrow];
+		}
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static Array<?> createOutput(ValueType rtype, Object out, boolean[] nulls) {
+		final Array<?> ret;
+		switch(rtype) {
+			case FP64:
+				ret = ArrayFactory.create((double[]) out);
+				break;
+			case INT64:
+				ret = ArrayFactory.create((long[]) out);
+				break;
+			case BOOLEAN:
+				ret = ArrayFactory.create((boolean[]) out);
+				break;
+			default:
+				return new StringArray((String[]) out);
+		}
+		if(nulls == null)
+			return ret;
+		// keep null cells of typed outputs as nulls
+		final boolean[] notNull = new boolean[nulls.length];
+		for(int i = 0; i < nulls.length; i++)
+			notNull[i] = !nulls[i];
+		return new OptionalArray((Array) ret, ArrayFactory.create(notNull));
+	}
+
+	/**
+	 * Base class of generated map kernels, which map the cells of a row range of one column. Kernels are stateless and
+	 * can be shared across threads.
+	 */
+	public static abstract class MapKernel {
+		/**
+		 * Map the row range [rl, ru) of the input into the output.
+		 * 
+		 * @param in    The input column, as primitive array for typed kernels and as Array otherwise
+		 * @param nulls The null indicators of the input, or null if there are no nulls
+		 * @param out   The primitive or string array of the output column
+		 * @param rl    The row lower bound (inclusive)
+		 * @param ru    The row upper bound (exclusive)
+		 */
+		public abstract void apply(Object in, boolean[] nulls, Object out, int rl, int ru);
+	}
+}
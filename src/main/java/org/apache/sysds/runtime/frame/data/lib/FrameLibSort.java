@@ -0,0 +1,386 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.frame.data.lib;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.DDCArray;
+import org.apache.sysds.runtime.frame.data.columns.DoubleArray;
+import org.apache.sysds.runtime.frame.data.columns.LongArray;
+import org.apache.sysds.runtime.frame.data.columns.StringArray;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Native multi-key sort of frames. Rows are ordered by typed comparators on the key columns (integers and booleans as
+ * long, floating point values as double, and strings lexicographically), each ascending or descending. The sort is a
+ * stable merge sort over row indexes, parallelized over row blocks for large frames, such that ties retain the input
+ * order. Nulls are ordered after all other values, i.e., last for ascending and first for descending keys.
+ */
+public class FrameLibSort {
+
+	/** Minimum number of rows per parallel sort task */
+	private static final int MIN_PAR_ROWS = 16384;
+	/** Run length below which insertion sort is used */
+	private static final int INSERTION_SORT_THRESHOLD = 32;
+
+	private FrameLibSort() {
+		// private constructor
+	}
+
+	/**
+	 * Sort the rows of a frame by the given key columns.
+	 * 
+	 * @param in   The input frame
+	 * @param by   The 0-based key columns, in order of priority
+	 * @param desc The sort order per key column, or a single order for all keys
+	 * @param k    The parallelization degree
+	 * @return The sorted frame
+	 */
+	public static FrameBlock sort(FrameBlock in, int[] by, boolean[] desc, int k) {
+		final int[] ix = sortIndexes(in, by, desc, k);
+		final int ncol = in.getNumColumns();
+		if(ix.length == 0)
+			return new FrameBlock(in.getSchema(), in.getColumnNames(false));
+
+		final Array<?>[] cols = new Array<?>[ncol];
+		final ExecutorService pool = CommonThreadPool.get(Math.min(k, ncol));
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for(int c = 0; c < ncol; c++) {
+				final int cix = c;
+				tasks.add(pool.submit(() -> cols[cix] = in.getColumn(cix).select(ix)));
+			}
+			for(Future<?> f : tasks)
+				f.get();
+		}
+		catch(Exception e) {
+			throw new DMLRuntimeException("Failed to sort frame.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+		return new FrameBlock(cols, in.getColumnNames(false));
+	}
+
+	/**
+	 * Sort the rows of a frame by the given key columns, and return the 1-based row indexes of the sorted order as
+	 * column vector.
+	 * 
+	 * @param in   The input frame
+	 * @param by   The 0-based key columns, in order of priority
+	 * @param desc The sort order per key column, or a single order for all keys
+	 * @param k    The parallelization degree
+	 * @return The sorted row indexes
+	 */
+	public static MatrixBlock sortIndexesAsMatrix(FrameBlock in, int[] by, boolean[] desc, int k) {
+		final int[] ix = sortIndexes(in, by, desc, k);
+		final MatrixBlock ret = new MatrixBlock(ix.length, 1, false);
+		ret.allocateDenseBlock();
+		final double[] c = ret.getDenseBlockValues();
+		for(int i = 0; i < ix.length; i++)
+			c[i] = ix[i] + 1;
+		ret.setNonZeros(ix.length);
+		return ret;
+	}
+
+	/**
+	 * Sort the rows of a frame by the given key columns.
+	 * 
+	 * @param in   The input frame
+	 * @param by   The 0-based key columns, in order of priority
+	 * @param desc The sort order per key column, or a single order for all keys
+	 * @param k    The parallelization degree
+	 * @return The 0-based row indexes of the sorted order
+	 */
+	public static int[] sortIndexes(FrameBlock in, int[] by, boolean[] desc, int k) {
+		if(by.length == 0 || (desc.length != 1 && desc.length != by.length))
+			throw new DMLRuntimeException("Invalid frame sort specification: " + by.length + " key columns and "
+				+ desc.length + " orderings.");
+		final SortKey[] keys = new SortKey[by.length];
+		for(int j = 0; j < by.length; j++) {
+			if(by[j] < 0 || by[j] >= in.getNumColumns())
+				throw new DMLRuntimeException("Invalid frame sort column: " + (by[j] + 1) + " not in range [1, "
+					+ in.getNumColumns() + "].");
+			keys[j] = createKey(in.getColumn(by[j]), desc[desc.length == 1 ? 0 : j]);
+		}
+
+		final int n = in.getNumRows();
+		final int[] ix = new int[n];
+		for(int i = 0; i < n; i++)
+			ix[i] = i;
+		sort(ix, new RowComparator(keys), k);
+		return ix;
+	}
+
+	private static SortKey createKey(Array<?> a, boolean desc) {
+		final int n = a.size();
+		if(a instanceof DDCArray && ((DDCArray<?>) a).getDict() != null) {
+			// order the distinct values once, and compare rows by the rank of their value
+			final DDCArray<?> ddc = (DDCArray<?>) a;
+			final long[] ranks = rankDictionary(ddc.getDict());
+			final long[] values = new long[n];
+			for(int i = 0; i < n; i++)
+				values[i] = ranks[ddc.getMap().getIndex(i)];
+			return new LongKey(values, null, desc);
+		}
+
+		final boolean[] nulls = getNulls(a);
+		switch(a.getValueType()) {
+			case FP32:
+			case FP64: {
+				final double[] values = (a instanceof DoubleArray) ? ((DoubleArray) a).get() : new double[n];
+				if(!(a instanceof DoubleArray))
+					for(int i = 0; i < n; i++)
+						if(nulls == null || !nulls[i])
+							values[i] = a.getAsDouble(i);
+				return new DoubleKey(values, nulls, desc);
+			}
+			case BOOLEAN:
+			case UINT4:
+			case UINT8:
+			case INT32:
+			case INT64:
+			case CHARACTER: {
+				final long[] values = (a instanceof LongArray) ? ((LongArray) a).get() : new long[n];
+				if(!(a instanceof LongArray))
+					for(int i = 0; i < n; i++)
+						if(nulls == null || !nulls[i])
+							values[i] = getAsLong(a, i);
+				return new LongKey(values, nulls, desc);
+			}
+			default: {
+				if(a instanceof StringArray)
+					return new StringKey(((StringArray) a).get(), desc);
+				final String[] values = new String[n];
+				for(int i = 0; i < n; i++) {
+					final Object v = a.get(i);
+					values[i] = v == null ? null : v.toString();
+				}
+				return new StringKey(values, desc);
+			}
+		}
+	}
+
+	private static long getAsLong(Array<?> a, int i) {
+		final Object v = a.get(i);
+		return (v instanceof Long || v instanceof Integer) ? ((Number) v).longValue() : (long) a.getAsDouble(i);
+	}
+
+	private static boolean[] getNulls(Array<?> a) {
+		if(!a.containsNull())
+			return null;
+		final boolean[] ret = new boolean[a.size()];
+		for(int i = 0; i < ret.length; i++)
+			ret[i] = a.get(i) == null;
+		return ret;
+	}
+
+	private static long[] rankDictionary(Array<?> dict) {
+		final int n = dict.size();
+		final SortKey key = createKey(dict, false);
+		final RowComparator cmp = new RowComparator(new SortKey[] {key});
+		final int[] ix = new int[n];
+		for(int i = 0; i < n; i++)
+			ix[i] = i;
+		mergeSort(ix, new int[n], 0, n, cmp);
+		// equal values (e.g., multiple nulls) obtain equal ranks
+		final long[] ranks = new long[n];
+		for(int i = 1; i < n; i++)
+			ranks[ix[i]] = ranks[ix[i - 1]] + (key.compare(ix[i - 1], ix[i]) != 0 ? 1 : 0);
+		return ranks;
+	}
+
+	private static void sort(int[] ix, RowComparator cmp, int k) {
+		final int n = ix.length;
+		final int[] tmp = new int[n];
+		final int nblk = Math.min(k, n / MIN_PAR_ROWS);
+		if(nblk <= 1) {
+			mergeSort(ix, tmp, 0, n, cmp);
+			return;
+		}
+
+		final int blen = (n + nblk - 1) / nblk;
+		final ExecutorService pool = CommonThreadPool.get(nblk);
+		try {
+			// sort row blocks in parallel
+			List<Future<?>> tasks = new ArrayList<>();
+			for(int lo = 0; lo < n; lo += blen) {
+				final int lo2 = lo, hi2 = Math.min(n, lo + blen);
+				tasks.add(pool.submit(() -> mergeSort(ix, tmp, lo2, hi2, cmp)));
+			}
+			for(Future<?> f : tasks)
+				f.get();
+
+			// merge pairs of sorted runs in parallel until a single run remains
+			int[] src = ix, dst = tmp;
+			for(int len = blen; len < n; len *= 2) {
+				tasks.clear();
+				for(int lo = 0; lo < n; lo += 2 * len) {
+					final int[] src2 = src, dst2 = dst;
+					final int lo2 = lo, mid2 = Math.min(n, lo + len), hi2 = Math.min(n, lo + 2 * len);
+					tasks.add(pool.submit(() -> merge(src2, dst2, lo2, mid2, hi2, cmp)));
+				}
+				for(Future<?> f : tasks)
+					f.get();
+				final int[] t = src;
+				src = dst;
+				dst = t;
+			}
+			if(src != ix)
+				System.arraycopy(src, 0, ix, 0, n);
+		}
+		catch(Exception e) {
+			throw new DMLRuntimeException("Failed to sort frame.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	/** Stable sort of a[lo, hi) using tmp[lo, hi) as buffer. */
+	private static void mergeSort(int[] a, int[] tmp, int lo, int hi, RowComparator cmp) {
+		if(hi - lo <= INSERTION_SORT_THRESHOLD) {
+			for(int i = lo + 1; i < hi; i++) {
+				final int v = a[i];
+				int j = i - 1;
+				for(; j >= lo && cmp.compare(a[j], v) > 0; j--)
+					a[j + 1] = a[j];
+				a[j + 1] = v;
+			}
+			return;
+		}
+		final int mid = (lo + hi) >>> 1;
+		mergeSort(a, tmp, lo, mid, cmp);
+		mergeSort(a, tmp, mid, hi, cmp);
+		if(cmp.compare(a[mid - 1], a[mid]) <= 0)
+			return; // already in order
+		System.arraycopy(a, lo, tmp, lo, hi - lo);
+		merge(tmp, a, lo, mid, hi, cmp);
+	}
+
+	/** Stable merge of the sorted runs src[lo, mid) and src[mid, hi) into dst[lo, hi). */
+	private static void merge(int[] src, int[] dst, int lo, int mid, int hi, RowComparator cmp) {
+		int i = lo, j = mid;
+		for(int p = lo; p < hi; p++) {
+			if(j >= hi || (i < mid && cmp.compare(src[i], src[j]) <= 0))
+				dst[p] = src[i++];
+			else
+				dst[p] = src[j++];
+		}
+	}
+
+	private static final class RowComparator {
+		private final SortKey[] _keys;
+
+		private RowComparator(SortKey[] keys) {
+			_keys = keys;
+		}
+
+		private int compare(int a, int b) {
+			for(SortKey key : _keys) {
+				final int c = key.compare(a, b);
+				if(c != 0)
+					return c;
+			}
+			return 0;
+		}
+	}
+
+	private static abstract class SortKey {
+		protected final boolean _desc;
+
+		protected SortKey(boolean desc) {
+			_desc = desc;
+		}
+
+		/** Compare rows a and b according to the sort order of this key, with nulls ordered as largest values. */
+		protected final int compare(int a, int b) {
+			final int c = compareAsc(a, b);
+			return _desc ? -c : c;
+		}
+
+		protected abstract int compareAsc(int a, int b);
+
+		protected static int compareNulls(boolean[] nulls, int a, int b) {
+			return Boolean.compare(nulls[a], nulls[b]);
+		}
+	}
+
+	private static final class LongKey extends SortKey {
+		private final long[] _values;
+		private final boolean[] _nulls;
+
+		private LongKey(long[] values, boolean[] nulls, boolean desc) {
+			super(desc);
+			_values = values;
+			_nulls = nulls;
+		}
+
+		@Override
+		protected int compareAsc(int a, int b) {
+			if(_nulls != null && (_nulls[a] || _nulls[b]))
+				return compareNulls(_nulls, a, b);
+			return Long.compare(_values[a], _values[b]);
+		}
+	}
+
+	private static final class DoubleKey extends SortKey {
+		private final double[] _values;
+		private final boolean[] _nulls;
+
+		private DoubleKey(double[] values, boolean[] nulls, boolean desc) {
+			super(desc);
+			_values = values;
+			_nulls = nulls;
+		}
+
+		@Override
+		protected int compareAsc(int a, int b) {
+			if(_nulls != null && (_nulls[a] || _nulls[b]))
+				return compareNulls(_nulls, a, b);
+			return Double.compare(_values[a], _values[b]);
+		}
+	}
+
+	private static final class StringKey extends SortKey {
+		private final String[] _values;
+
+		private StringKey(String[] values, boolean desc) {
+			super(desc);
+			_values = values;
+		}
+
+		@Override
+		protected int compareAsc(int a, int b) {
+			final String va = _values[a], vb = _values[b];
+			if(va == null || vb == null)
+				return Boolean.compare(va == null, vb == null);
+			return va.compareTo(vb);
+		}
+	}
+}
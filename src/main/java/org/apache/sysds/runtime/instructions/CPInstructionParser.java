@@ -226,6 +226,8 @@ public class CPInstructionParser extends InstructionParser {
 		// Parameterized Builtin Functions
 		String2CPInstructionType.put( "autoDiff" ,      CPType.ParameterizedBuiltin);
 		String2CPInstructionType.put( "contains",       CPType.ParameterizedBuiltin);
+		String2CPInstructionType.put( "join",           CPType.ParameterizedBuiltin);
+		String2CPInstructionType.put( "groupby",        CPType.ParameterizedBuiltin);
 		String2CPInstructionType.put("paramserv",       CPType.ParameterizedBuiltin);
 		String2CPInstructionType.put( "nvlist",         CPType.ParameterizedBuiltin);
 		String2CPInstructionType.put( "cdf",            CPType.ParameterizedBuiltin);
@@ -239,10 +241,12 @@ public class CPInstructionParser extends InstructionParser {
 		String2CPInstructionType.put( "toString",       CPType.ParameterizedBuiltin);
 		String2CPInstructionType.put( "tokenize",       CPType.ParameterizedBuiltin);
 		String2CPInstructionType.put( "transformapply", CPType.ParameterizedBuiltin);
+		String2CPInstructionType.put( "transformapplyfile", CPType.ParameterizedBuiltin);
 		String2CPInstructionType.put( "transformdecode",CPType.ParameterizedBuiltin);
 		String2CPInstructionType.put( "transformcolmap",CPType.ParameterizedBuiltin);
 		String2CPInstructionType.put( "transformmeta",  CPType.ParameterizedBuiltin);
 		String2CPInstructionType.put( "transformencode",CPType.MultiReturnParameterizedBuiltin);
+		String2CPInstructionType.put( "transformupdate",CPType.MultiReturnParameterizedBuiltin);
 		
 		// Ternary Instruction Opcodes
 		String2CPInstructionType.put( "+*",      CPType.Ternary);
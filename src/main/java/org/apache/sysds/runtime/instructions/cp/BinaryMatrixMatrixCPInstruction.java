@@ -26,6 +26,7 @@ import org.apache.sysds.runtime.matrix.data.LibCommonsMath;
 import org.apache.sysds.runtime.matrix.data.LibMatrixBincell;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.MultiThreadedOperator;
 import org.apache.sysds.runtime.matrix.operators.Operator;
 
 public class BinaryMatrixMatrixCPInstruction extends BinaryCPInstruction {
@@ -80,8 +81,12 @@ public class BinaryMatrixMatrixCPInstruction extends BinaryCPInstruction {
 			retBlock = inBlock1;
 		}
 		else {
-			if(LibCommonsMath.isSupportedMatrixMatrixOperation(getOpcode()) && !compressedLeft && !compressedRight)
-				retBlock = LibCommonsMath.matrixMatrixOperations(inBlock1, inBlock2, getOpcode());
+			if(LibCommonsMath.isSupportedMatrixMatrixOperation(getOpcode())) {
+				// solve on small compressed inputs, e.g., compressed gram matrices, runs on the decompressed blocks
+				final MatrixBlock in1 = compressedLeft ? ((CompressedMatrixBlock) inBlock1).getUncompressed() : inBlock1;
+				final MatrixBlock in2 = compressedRight ? ((CompressedMatrixBlock) inBlock2).getUncompressed() : inBlock2;
+				retBlock = LibCommonsMath.matrixMatrixOperations(in1, in2, getOpcode(), getNumThreads());
+			}
 			else {
 				// Perform computation using input matrices, and produce the result matrix
 				BinaryOperator bop = (BinaryOperator) _optr;
@@ -100,4 +105,12 @@ public class BinaryMatrixMatrixCPInstruction extends BinaryCPInstruction {
 		// Attach result matrix with MatrixObject associated with output_name
 		ec.setMatrixOutput(output.getName(), retBlock);
 	}
+
+	private int getNumThreads() {
+		if(_optr instanceof MultiThreadedOperator)
+			return ((MultiThreadedOperator) _optr).getNumThreads();
+		// commons math operations have no operator, but the parallelization degree is the last operand
+		final String[] parts = InstructionUtils.getInstructionPartsWithValueType(instString);
+		return parts.length == 5 ? Integer.parseInt(parts[4]) : 1;
+	}
 }
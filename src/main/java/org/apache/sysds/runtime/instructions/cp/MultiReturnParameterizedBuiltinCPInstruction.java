@@ -42,7 +42,12 @@ public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPI
 
 	private MultiReturnParameterizedBuiltinCPInstruction(Operator op, CPOperand input1, CPOperand input2,
 		ArrayList<CPOperand> outputs, String opcode, String istr) {
-		super(CPType.MultiReturnBuiltin, op, input1, input2, outputs.get(0), opcode, istr);
+		this(op, input1, input2, null, outputs, opcode, istr);
+	}
+
+	private MultiReturnParameterizedBuiltinCPInstruction(Operator op, CPOperand input1, CPOperand input2,
+		CPOperand input3, ArrayList<CPOperand> outputs, String opcode, String istr) {
+		super(CPType.MultiReturnBuiltin, op, input1, input2, input3, outputs.get(0), opcode, istr);
 		_outputs = outputs;
 	}
 
@@ -71,6 +76,15 @@ public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPI
 			outputs.add(new CPOperand(parts[4], ValueType.STRING, DataType.FRAME));
 			return new MultiReturnParameterizedBuiltinCPInstruction(null, in1, in2, outputs, opcode, str);
 		}
+		else if(opcode.equalsIgnoreCase("transformupdate")) {
+			// three inputs (data, spec, meta) and two outputs
+			CPOperand in1 = new CPOperand(parts[1]);
+			CPOperand in2 = new CPOperand(parts[2]);
+			CPOperand in3 = new CPOperand(parts[3]);
+			outputs.add(new CPOperand(parts[4], ValueType.FP64, DataType.MATRIX));
+			outputs.add(new CPOperand(parts[5], ValueType.STRING, DataType.FRAME));
+			return new MultiReturnParameterizedBuiltinCPInstruction(null, in1, in2, in3, outputs, opcode, str);
+		}
 		else {
 			throw new DMLRuntimeException("Invalid opcode in MultiReturnBuiltin instruction: " + opcode);
 		}
@@ -79,6 +93,10 @@ public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPI
 
 	@Override
 	public void processInstruction(ExecutionContext ec) {
+		if(getOpcode().equalsIgnoreCase("transformupdate")) {
+			processTransformUpdate(ec);
+			return;
+		}
 		// obtain and pin input frame
 		FrameBlock fin = ec.getFrameInput(input1.getName());
 		String spec = ec.getScalarInput(input2).getStringValue();
@@ -98,6 +116,29 @@ public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPI
 		ec.setFrameOutput(getOutput(1).getName(), meta);
 	}
 
+	private void processTransformUpdate(ExecutionContext ec) {
+		// obtain and pin input frames
+		FrameBlock fin = ec.getFrameInput(input1.getName());
+		String spec = ec.getScalarInput(input2).getStringValue();
+		FrameBlock min = ec.getFrameInput(input3.getName());
+		String[] colnames = fin.getColumnNames();
+		int k = OptimizerUtils.getTransformNumThreads();
+
+		// execute block transform update (incremental build and apply),
+		// w/o previous metadata equivalent to transform encode (incl. recorded counts)
+		FrameBlock prev = (min.getNumRows() == 0) ? null : min;
+		MultiColumnEncoder encoder = EncoderFactory.createEncoder(spec, colnames, fin.getNumColumns(), prev);
+		MatrixBlock data = encoder.update(fin, prev, k);
+		FrameBlock meta = encoder.getMetaData(new FrameBlock(fin.getNumColumns(), ValueType.STRING), k);
+		meta.setColumnNames(colnames);
+
+		// release input and outputs
+		ec.releaseFrameInput(input1.getName());
+		ec.releaseFrameInput(input3.getName());
+		ec.setMatrixOutput(getOutput(0).getName(), data);
+		ec.setFrameOutput(getOutput(1).getName(), meta);
+	}
+
 	@Override
 	public boolean hasSingleLineage() {
 		return false;
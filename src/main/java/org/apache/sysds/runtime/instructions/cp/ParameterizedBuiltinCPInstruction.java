@@ -19,6 +19,7 @@
 
 package org.apache.sysds.runtime.instructions.cp;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -35,6 +36,7 @@ import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.lops.Lop;
+import org.apache.sysds.parser.DataExpression;
 import org.apache.sysds.parser.ParameterizedBuiltinFunctionExpression;
 import org.apache.sysds.parser.Statement;
 import org.apache.sysds.runtime.DMLRuntimeException;
@@ -47,11 +49,20 @@ import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContextFactory;
 import org.apache.sysds.runtime.data.TensorBlock;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.lib.FrameLibGroupBy;
+import org.apache.sysds.runtime.frame.data.lib.FrameLibJoin;
 import org.apache.sysds.runtime.functionobjects.ParameterizedBuiltin;
 import org.apache.sysds.runtime.functionobjects.ValueFunction;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.FrameChunkIterator;
+import org.apache.sysds.runtime.io.FrameReaderTextCSV;
 import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.lineage.LineageItemUtils;
+import org.apache.sysds.runtime.matrix.data.LibMatrixGroupBy;
+import org.apache.sysds.runtime.matrix.data.LibMatrixGroupBy.AggFn;
+import org.apache.sysds.runtime.matrix.data.LibMatrixJoin;
+import org.apache.sysds.runtime.matrix.data.LibMatrixJoin.JoinType;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.Operator;
 import org.apache.sysds.runtime.matrix.operators.SimpleOperator;
@@ -60,9 +71,11 @@ import org.apache.sysds.runtime.transform.decode.Decoder;
 import org.apache.sysds.runtime.transform.decode.DecoderFactory;
 import org.apache.sysds.runtime.transform.encode.EncoderFactory;
 import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.runtime.transform.encode.StreamingEncode;
 import org.apache.sysds.runtime.transform.meta.TfMetaUtils;
 import org.apache.sysds.runtime.transform.tokenize.Tokenizer;
 import org.apache.sysds.runtime.transform.tokenize.TokenizerFactory;
+import org.apache.sysds.runtime.transform.tokenize.TokenizerSparse;
 import org.apache.sysds.runtime.util.AutoDiff;
 import org.apache.sysds.runtime.util.DataConverter;
 
@@ -150,9 +163,9 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			func = ParameterizedBuiltin.getParameterizedBuiltinFnObject(opcode);
 			return new ParameterizedBuiltinCPInstruction(new SimpleOperator(func), paramsMap, out, opcode, str);
 		}
-		else if(opcode.equals("transformapply") || opcode.equals("transformdecode")
-			|| opcode.equalsIgnoreCase("contains") || opcode.equals("transformcolmap")
-			|| opcode.equals("transformmeta") || opcode.equals("tokenize")
+		else if(opcode.equals("transformapply") || opcode.equals("transformapplyfile") || opcode.equals("transformdecode")
+			|| opcode.equalsIgnoreCase("contains") || opcode.equals("join") || opcode.equals("groupby")
+			|| opcode.equals("transformcolmap") || opcode.equals("transformmeta") || opcode.equals("tokenize")
 			|| opcode.equals("toString") || opcode.equals("nvlist") || opcode.equals("autoDiff")) {
 			return new ParameterizedBuiltinCPInstruction(null, paramsMap, out, opcode, str);
 		}
@@ -262,6 +275,43 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 				ec.releaseMatrixInput(params.get("pattern"));
 			ec.setScalarOutput(output.getName(), new BooleanObject(ret));
 		}
+		else if(opcode.equalsIgnoreCase("join")) {
+			int k = Integer.parseInt(params.get("k")); //num threads
+			JoinType type = JoinType.parse(params.get("type"));
+			int[] lkeys = getColumnIndexes(ec, params.get("lkeys"));
+			int[] rkeys = getColumnIndexes(ec, params.get("rkeys"));
+			if(ec.isFrameObject(params.get("target"))) {
+				FrameBlock ret = FrameLibJoin.join(ec.getFrameInput(params.get("target")),
+					ec.getFrameInput(params.get("right")), lkeys, rkeys, type, k);
+				ec.releaseFrameInput(params.get("target"));
+				ec.releaseFrameInput(params.get("right"));
+				ec.setFrameOutput(output.getName(), ret);
+			}
+			else {
+				MatrixBlock ret = LibMatrixJoin.join(ec.getMatrixInput(params.get("target")),
+					ec.getMatrixInput(params.get("right")), lkeys, rkeys, type, k);
+				ec.releaseMatrixInput(params.get("target"), params.get("right"));
+				ec.setMatrixOutput(output.getName(), ret);
+			}
+		}
+		else if(opcode.equalsIgnoreCase("groupby")) {
+			int k = Integer.parseInt(params.get("k")); //num threads
+			int[] keys = getColumnIndexes(ec, params.get("by"));
+			int[] cols = getColumnIndexes(ec, params.get("cols"));
+			AggFn[] fns = AggFn.parseList(params.get("fn"));
+			fns = LibMatrixGroupBy.broadcastFunctions(fns, cols.length);
+			cols = LibMatrixGroupBy.broadcastColumns(cols, fns.length);
+			if(ec.isFrameObject(params.get("target"))) {
+				FrameBlock ret = FrameLibGroupBy.groupBy(ec.getFrameInput(params.get("target")), keys, cols, fns, k);
+				ec.releaseFrameInput(params.get("target"));
+				ec.setFrameOutput(output.getName(), ret);
+			}
+			else {
+				MatrixBlock ret = LibMatrixGroupBy.groupBy(ec.getMatrixInput(params.get("target")), keys, cols, fns, k);
+				ec.releaseMatrixInput(params.get("target"));
+				ec.setMatrixOutput(output.getName(), ret);
+			}
+		}
 		else if(opcode.equalsIgnoreCase("replace")) {
 			if(ec.isFrameObject(params.get("target"))){
 				FrameBlock target = ec.getFrameInput(params.get("target"));
@@ -312,13 +362,21 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			// acquire locks
 			FrameBlock data = ec.getFrameInput(params.get("target"));
 
-			// compute tokenizer
-			Tokenizer tokenizer = TokenizerFactory.createTokenizer(getParameterMap().get("spec"),
-				Integer.parseInt(getParameterMap().get("max_tokens")));
-			FrameBlock fbout = tokenizer.tokenize(data, OptimizerUtils.getTokenizeNumThreads());
+			// compute tokenizer (streaming with sparse matrix output, or token representation with frame output)
+			int maxTokens = Integer.parseInt(getParameterMap().get("max_tokens"));
+			if(output.getDataType().isMatrix()) {
+				TokenizerSparse tokenizer = TokenizerFactory.createSparseTokenizer(getParameterMap().get("spec"),
+					maxTokens);
+				MatrixBlock mbout = tokenizer.tokenize(data, OptimizerUtils.getTokenizeNumThreads());
+				ec.setMatrixOutput(output.getName(), mbout);
+			}
+			else {
+				Tokenizer tokenizer = TokenizerFactory.createTokenizer(getParameterMap().get("spec"), maxTokens);
+				FrameBlock fbout = tokenizer.tokenize(data, OptimizerUtils.getTokenizeNumThreads());
+				ec.setFrameOutput(output.getName(), fbout);
+			}
 
 			// release locks
-			ec.setFrameOutput(output.getName(), fbout);
 			ec.releaseFrameInput(params.get("target"));
 		}
 		else if(opcode.equalsIgnoreCase("transformapply")) {
@@ -340,6 +398,34 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			if(params.get("embedding") != null)
 				ec.releaseMatrixInput(params.get("embedding"));
 		}
+		else if(opcode.equalsIgnoreCase("transformapplyfile")) {
+			// acquire locks
+			FrameBlock meta = ec.getFrameInput(params.get("meta"));
+			MatrixBlock embeddings = params.get("embedding") != null ? ec.getMatrixInput(params.get("embedding")) : null;
+			String delim = params.getOrDefault("sep", DataExpression.DEFAULT_DELIM_DELIMITER);
+			boolean header = Boolean.parseBoolean(params.getOrDefault("header", "false"));
+			int chunkRows = params.get("chunksize") != null ? (int) Double.parseDouble(params.get("chunksize")) :
+				StreamingEncode.DEFAULT_CHUNK_ROWS;
+
+			// compute streaming transformapply from input to output file
+			FileFormatPropertiesCSV iprops = new FileFormatPropertiesCSV(header, delim, false);
+			FileFormatPropertiesCSV oprops = new FileFormatPropertiesCSV(false, delim, false);
+			long nrow = -1;
+			try(FrameChunkIterator in = new FrameReaderTextCSV(iprops)
+				.readFrameChunks(params.get("file"), null, null, -1, -1, chunkRows)) {
+				nrow = StreamingEncode.encode(in, params.get("spec"), meta, embeddings, params.get("output"), oprops,
+					OptimizerUtils.getTransformNumThreads());
+			}
+			catch(IOException ex) {
+				throw new DMLRuntimeException(ex);
+			}
+
+			// release locks
+			ec.setScalarOutput(output.getName(), new IntObject(nrow));
+			ec.releaseFrameInput(params.get("meta"));
+			if(params.get("embedding") != null)
+				ec.releaseMatrixInput(params.get("embedding"));
+		}
 		else if(opcode.equalsIgnoreCase("transformdecode")) {
 			// acquire locks
 			MatrixBlock data = ec.getMatrixInput(params.get("target"));
@@ -501,6 +587,22 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			return Pair.of(output.getName(),
 				new LineageItem(getOpcode(), LineageItemUtils.getLineage(ec, target, pattern)));
 		}
+		else if(opcode.equalsIgnoreCase("join")) {
+			CPOperand[] operands = Arrays.stream(new String[] {"target", "right", "lkeys", "rkeys", "type"})
+				.map(n -> ec.containsVariable(params.get(n)) ?
+					new CPOperand(params.get(n), ec.getVariable(params.get(n))) : getStringLiteral(n))
+				.toArray(CPOperand[]::new);
+			return Pair.of(output.getName(),
+				new LineageItem(getOpcode(), LineageItemUtils.getLineage(ec, operands)));
+		}
+		else if(opcode.equalsIgnoreCase("groupby")) {
+			CPOperand[] operands = Arrays.stream(new String[] {"target", "by", "cols", "fn"})
+				.map(n -> ec.containsVariable(params.get(n)) ?
+					new CPOperand(params.get(n), ec.getVariable(params.get(n))) : getStringLiteral(n))
+				.toArray(CPOperand[]::new);
+			return Pair.of(output.getName(),
+				new LineageItem(getOpcode(), LineageItemUtils.getLineage(ec, operands)));
+		}
 		else if(opcode.equalsIgnoreCase("groupedagg")) {
 			CPOperand target = getTargetOperand();
 			CPOperand groups = new CPOperand(params.get(Statement.GAGG_GROUPS), ValueType.FP64, DataType.MATRIX);
@@ -555,6 +657,14 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			return Pair.of(output.getName(),
 				new LineageItem(getOpcode(), LineageItemUtils.getLineage(ec, target, meta, spec)));
 		}
+		else if(opcode.equalsIgnoreCase("transformapplyfile")) {
+			CPOperand file = getStringLiteral("file");
+			CPOperand out = getStringLiteral("output");
+			CPOperand meta = getLiteral("meta", ValueType.UNKNOWN, DataType.FRAME);
+			CPOperand spec = getStringLiteral("spec");
+			return Pair.of(output.getName(),
+				new LineageItem(getOpcode(), LineageItemUtils.getLineage(ec, file, out, meta, spec)));
+		}
 		else if (opcode.equalsIgnoreCase("nvlist") || opcode.equalsIgnoreCase("autoDiff")) {
 			List<String> names = new ArrayList<>(params.keySet());
 			CPOperand[] listOperands = names.stream().map(n -> ec.containsVariable(params.get(n)) 
@@ -570,6 +680,19 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 		}
 	}
 
+	private static int[] getColumnIndexes(ExecutionContext ec, String name) {
+		//scalar literal or matrix of 1-based column indexes
+		if(!ec.containsVariable(name) || !ec.getVariable(name).getDataType().isMatrix())
+			return new int[] {(int) Double.parseDouble(name) - 1};
+		MatrixBlock mb = ec.getMatrixInput(name);
+		int[] ret = new int[(int) mb.getLength()];
+		for(int i = 0, pos = 0; i < mb.getNumRows(); i++)
+			for(int j = 0; j < mb.getNumColumns(); j++)
+				ret[pos++] = (int) mb.get(i, j) - 1;
+		ec.releaseMatrixInput(name);
+		return ret;
+	}
+
 	public CacheableData<?> getTarget(ExecutionContext ec) {
 		return ec.getCacheableData(params.get("target"));
 	}
@@ -23,6 +23,7 @@ import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.functionobjects.DiagIndex;
 import org.apache.sysds.runtime.functionobjects.RevIndex;
 import org.apache.sysds.runtime.functionobjects.RollIndex;
@@ -140,6 +141,11 @@ public class ReorgCPInstruction extends UnaryCPInstruction {
 	
 	@Override
 	public void processInstruction(ExecutionContext ec) {
+		if( input1.getDataType().isFrame() ) {
+			processFrameSortInstruction(ec);
+			return;
+		}
+		
 		//acquire inputs
 		MatrixBlock matBlock = ec.getMatrixInput(input1.getName());
 		ReorgOperator r_op = (ReorgOperator) _optr;
@@ -169,6 +175,40 @@ public class ReorgCPInstruction extends UnaryCPInstruction {
 			ec.getMatrixObject(output.getName()).setDiag(true);
 	}
 
+	private void processFrameSortInstruction(ExecutionContext ec) {
+		if( !(((ReorgOperator) _optr).fn instanceof SortIndex) )
+			throw new DMLRuntimeException("Unsupported reorg operation over frames: " + getOpcode());
+		
+		//acquire inputs (1-based key columns, and scalar or per-key orderings)
+		FrameBlock fb = ec.getFrameInput(input1.getName());
+		int[] cols = _col.getDataType().isMatrix() ? DataConverter.convertToIntVector(ec.getMatrixInput(_col.getName())) :
+			new int[]{(int)ec.getScalarInput(_col).getLongValue()};
+		for( int i=0; i<cols.length; i++ )
+			cols[i]--;
+		boolean[] desc;
+		if( _desc.getDataType().isMatrix() ) {
+			double[] tmp = DataConverter.convertToDoubleVector(ec.getMatrixInput(_desc.getName()), false, false);
+			desc = new boolean[tmp.length];
+			for( int i=0; i<tmp.length; i++ )
+				desc[i] = tmp[i] != 0;
+		}
+		else
+			desc = new boolean[]{ec.getScalarInput(_desc).getBooleanValue()};
+		boolean ixret = ec.getScalarInput(_ixret).getBooleanValue();
+		int k = ((ReorgOperator) _optr).getNumThreads();
+		
+		//execute operation and release inputs/outputs
+		if( ixret )
+			ec.setMatrixOutput(output.getName(), fb.sortIndexes(cols, desc, k));
+		else
+			ec.setFrameOutput(output.getName(), fb.sortOperations(cols, desc, k));
+		if( _col.getDataType().isMatrix() )
+			ec.releaseMatrixInput(_col.getName());
+		if( _desc.getDataType().isMatrix() )
+			ec.releaseMatrixInput(_desc.getName());
+		ec.releaseFrameInput(input1.getName());
+	}
+
 	public CPOperand getIxRet() {
 		return _ixret;
 	}
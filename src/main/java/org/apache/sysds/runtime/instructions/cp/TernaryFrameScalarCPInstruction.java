@@ -37,7 +37,8 @@ public class TernaryFrameScalarCPInstruction extends TernaryCPInstruction
 		ScalarObject margin = ec.getScalarInput(input3);
 		String stringExpression = ec.getScalarInput(input2).getStringValue();
 		//compute results
-		FrameBlock outBlock = inBlock.map(stringExpression, margin.getLongValue());
+		int k = ((TernaryOperator) _optr).getNumThreads();
+		FrameBlock outBlock = inBlock.map(stringExpression, margin.getLongValue(), k);
 		// Attach result frame with FrameBlock associated with output_name
 		ec.setFrameOutput(output.getName(), outBlock);
 		// Release the memory occupied by input frames
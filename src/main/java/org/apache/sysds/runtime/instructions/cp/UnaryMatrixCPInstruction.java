@@ -22,6 +22,7 @@ package org.apache.sysds.runtime.instructions.cp;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
 import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.matrix.data.LibCommonsMath;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -40,7 +41,7 @@ public class UnaryMatrixCPInstruction extends UnaryCPInstruction {
 		MatrixBlock retBlock = null;
 		
 		if(LibCommonsMath.isSupportedUnaryOperation(getOpcode())) {
-			retBlock = LibCommonsMath.unaryOperations(inBlock, getOpcode());
+			retBlock = LibCommonsMath.unaryOperations(inBlock, getOpcode(), getNumThreads());
 			ec.releaseMatrixInput(input1.getName());
 		}
 		else {
@@ -63,4 +64,10 @@ public class UnaryMatrixCPInstruction extends UnaryCPInstruction {
 	public LineageItem getCacheLineageItem(LineageItem input) {
 		return new LineageItem(getOpcode(), new LineageItem[]{input});
 	}
+
+	private int getNumThreads() {
+		// commons math operations have no operator, but the parallelization degree is the last operand
+		final String[] parts = InstructionUtils.getInstructionPartsWithValueType(instString);
+		return parts.length == 4 ? Integer.parseInt(parts[3]) : 1;
+	}
 }
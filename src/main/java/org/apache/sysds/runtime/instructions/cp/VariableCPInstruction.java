@@ -33,6 +33,7 @@ import org.apache.sysds.common.Types.OpOp1;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.conf.CompilerConfig.ConfigType;
 import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.lops.Lop;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
@@ -50,6 +51,7 @@ import org.apache.sysds.runtime.io.FileFormatProperties;
 import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
 import org.apache.sysds.runtime.io.FileFormatPropertiesHDF5;
 import org.apache.sysds.runtime.io.FileFormatPropertiesLIBSVM;
+import org.apache.sysds.runtime.io.FileFormatPropertiesParquet;
 import org.apache.sysds.runtime.io.ListReader;
 import org.apache.sysds.runtime.io.ListWriter;
 import org.apache.sysds.runtime.io.WriterHDF5;
@@ -66,6 +68,7 @@ import org.apache.sysds.runtime.meta.MetaDataFormat;
 import org.apache.sysds.runtime.meta.TensorCharacteristics;
 import org.apache.sysds.runtime.util.DataConverter;
 import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.IndexRange;
 import org.apache.sysds.runtime.util.ProgramConverter;
 import org.apache.sysds.utils.Statistics;
 
@@ -141,6 +144,9 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 	// CSV and LIBSVM related members (used only in createvar instructions)
 	private final FileFormatProperties _formatProperties;
 
+	// row/column range (0-based) and source rows, cols, nnz of partial reads (used only in createvar instructions)
+	private final long[] _readRange;
+
 	private VariableCPInstruction(VariableOperationCode op, CPOperand in1, CPOperand in2, CPOperand in3, CPOperand out,
 			MetaData meta, FileFormatProperties fprops, String schema, UpdateType utype, String sopcode, String istr, int k) {
 		super(CPType.Variable, sopcode, istr);
@@ -156,9 +162,18 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 		_updateType = utype;
 		_containsPreadPrefix = in1 != null && in1.getName()
 			.contains(org.apache.sysds.lops.Data.PREAD_PREFIX);
+		_readRange = (op == VariableOperationCode.CreateVariable) ? parseReadRange(istr) : null;
 		this.k = k;
 	}
 
+	private static long[] parseReadRange(String istr) {
+		String last = (istr != null) ? istr.substring(istr.lastIndexOf(Lop.OPERAND_DELIMITOR) + 1) : null;
+		if( last == null || !last.startsWith(org.apache.sysds.lops.Data.READ_RANGE_PREFIX) )
+			return null;
+		String[] parts = last.substring(org.apache.sysds.lops.Data.READ_RANGE_PREFIX.length()).split(",");
+		return Arrays.stream(parts).mapToLong(Long::parseLong).toArray();
+	}
+
 
 	private VariableCPInstruction(VariableOperationCode op, CPOperand in1, CPOperand in2, CPOperand in3, CPOperand out,
 			MetaData meta, FileFormatProperties fprops, String schema, UpdateType utype, String sopcode, String istr) {
@@ -370,6 +385,9 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 		switch (voc) {
 
 		case CreateVariable:
+			// strip optional read range of partial reads (last operand, parsed by the constructor)
+			if( parts[parts.length-1].startsWith(org.apache.sysds.lops.Data.READ_RANGE_PREFIX) )
+				parts = Arrays.copyOf(parts, parts.length-1);
 			// variable name
 			DataType dt = DataType.valueOf(parts[4]);
 			//TODO choose correct value type for tensor
@@ -402,6 +420,11 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 				if(parts.length < 11 + extSchema)
 					throw new DMLRuntimeException("Invalid number of operands in createvar instruction: " + str);
 			}
+			else if(fmt.equalsIgnoreCase("parquet")) {
+				// 12 inputs: createvar corresponding to READ -- includes projected columns
+				if(parts.length != 6 && parts.length != 11 + extSchema && parts.length != 12 + extSchema)
+					throw new DMLRuntimeException("Invalid number of operands in createvar instruction: " + str);
+			}
 			else {
 				if ( parts.length != 6 && parts.length != 11+extSchema )
 					throw new DMLRuntimeException("Invalid number of operands in createvar instruction: " + str);
@@ -503,6 +526,11 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 				return new VariableCPInstruction(VariableOperationCode.CreateVariable,
 					in1, in2, in3, iimd, updateType, fmtProperties, schema, opcode, str);
 			}
+			else if(fmt.equalsIgnoreCase("parquet") && parts.length == 12 + extSchema) {
+				FileFormatProperties fmtProperties = FileFormatPropertiesParquet.parse(parts[11]);
+				return new VariableCPInstruction(VariableOperationCode.CreateVariable,
+					in1, in2, in3, iimd, updateType, fmtProperties, schema, opcode, str);
+			}
 			else {
 				return new VariableCPInstruction(VariableOperationCode.CreateVariable, in1, in2, in3, iimd, updateType, schema, opcode, str);
 			}
@@ -727,6 +755,8 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 				setCacheableDataFields(fobj);
 				if( _schema != null )
 					fobj.setSchema(_schema); //after metadata
+				if( _readRange != null && fobj.getSchema() != null && fobj.getSchema().length > 1 )
+					fobj.setSchema(fobj.getSchema((int)_readRange[2], (int)_readRange[3]));
 				ec.setVariable(getInput1().getName(), fobj);
 				break;
 			}
@@ -750,6 +780,9 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 		//create new variable for symbol table and cache
 		//(existing objects gets cleared through rmvar instructions)
 		String fname = getInput2().getName();
+		// partial reads are never backed by the source file (see setCacheableDataFields)
+		if( _readRange != null )
+			return OptimizerUtils.getUniqueTempFileName();
 		// check if unique filename needs to be generated
 		if( Boolean.parseBoolean(getInput3().getName()) ) {
 			fname = getUniqueFileName(fname);
@@ -764,6 +797,12 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 		obj.enableCleanup(!getInput1().getName()
 			.startsWith(org.apache.sysds.lops.Data.PREAD_PREFIX));
 		obj.setFileFormatProperties(_formatProperties);
+		if( _readRange != null ) {
+			DataCharacteristics dc = new MatrixCharacteristics(_readRange[4], _readRange[5],
+				obj.getBlocksize(), _readRange[6]);
+			obj.setReadRange(getInput2().getName(), dc,
+				new IndexRange(_readRange[0], _readRange[1], _readRange[2], _readRange[3]));
+		}
 	}
 
 	/**
@@ -0,0 +1,649 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.arrow.flatbuf.Block;
+import org.apache.arrow.flatbuf.Bool;
+import org.apache.arrow.flatbuf.Buffer;
+import org.apache.arrow.flatbuf.CompressionType;
+import org.apache.arrow.flatbuf.Endianness;
+import org.apache.arrow.flatbuf.Field;
+import org.apache.arrow.flatbuf.FieldNode;
+import org.apache.arrow.flatbuf.FloatingPoint;
+import org.apache.arrow.flatbuf.Footer;
+import org.apache.arrow.flatbuf.Int;
+import org.apache.arrow.flatbuf.Message;
+import org.apache.arrow.flatbuf.MessageHeader;
+import org.apache.arrow.flatbuf.MetadataVersion;
+import org.apache.arrow.flatbuf.Precision;
+import org.apache.arrow.flatbuf.RecordBatch;
+import org.apache.arrow.flatbuf.Schema;
+import org.apache.arrow.flatbuf.Type;
+import org.apache.arrow.flatbuf.Utf8;
+import org.apache.commons.io.IOUtils;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.BitSetArray;
+import org.apache.sysds.runtime.frame.data.columns.BooleanArray;
+import org.apache.sysds.runtime.frame.data.columns.DoubleArray;
+import org.apache.sysds.runtime.frame.data.columns.FloatArray;
+import org.apache.sysds.runtime.frame.data.columns.IntegerArray;
+import org.apache.sysds.runtime.frame.data.columns.LongArray;
+import org.apache.sysds.runtime.frame.data.columns.StringArray;
+
+import com.github.luben.zstd.Zstd;
+import com.google.flatbuffers.FlatBufferBuilder;
+
+import net.jpountz.lz4.LZ4FrameInputStream;
+
+/**
+ * Utilities for reading and writing frames in the Arrow IPC file format (Feather v2). The flatbuffer metadata is
+ * handled through the arrow-format classes, while the column buffers are decoded directly from (memory-mapped) byte
+ * buffers with bulk copies into the primitive arrays of the frame columns, which avoids the Arrow Java allocator.
+ */
+public final class ArrowIOUtils {
+
+	protected static final byte[] MAGIC = "ARROW1".getBytes(StandardCharsets.US_ASCII);
+
+	/** Marker in front of every encapsulated IPC message */
+	private static final int CONTINUATION = 0xFFFFFFFF;
+
+	/** Maximum number of rows per written record batch */
+	protected static final int BATCH_SIZE = 64 * 1024;
+
+	private ArrowIOUtils() {
+		// private constructor
+	}
+
+	/** A record batch of an Arrow file with its row offset in the overall read */
+	protected static final class Batch {
+		protected final RecordBatch batch;
+		protected final ByteBuffer body;
+		protected final int rowOffset;
+
+		protected Batch(RecordBatch batch, ByteBuffer body, int rowOffset) {
+			this.batch = batch;
+			this.body = body;
+			this.rowOffset = rowOffset;
+		}
+
+		protected int getNumRows() {
+			return (int) batch.length();
+		}
+	}
+
+	protected static Footer readFooter(ByteBuffer buf) {
+		final int len = buf.limit();
+		if(len < 2 * MAGIC.length + 6 || !hasMagic(buf, 0) || !hasMagic(buf, len - MAGIC.length))
+			throw new DMLRuntimeException("Invalid Arrow IPC file: missing magic bytes.");
+		final int footerLen = buf.getInt(len - MAGIC.length - 4);
+		return Footer.getRootAsFooter(slice(buf, len - MAGIC.length - 4 - footerLen, footerLen));
+	}
+
+	protected static List<Batch> readBatches(ByteBuffer buf, Footer footer, int rowOffset) {
+		final List<Batch> ret = new ArrayList<>(footer.recordBatchesLength());
+		for(int i = 0; i < footer.recordBatchesLength(); i++) {
+			final Block b = footer.recordBatches(i);
+			final Message m = readMessage(buf, (int) b.offset());
+			if(m.headerType() != MessageHeader.RecordBatch)
+				throw new DMLRuntimeException("Invalid Arrow IPC file: expected record batch but got "
+					+ MessageHeader.name(m.headerType()));
+			final RecordBatch rb = (RecordBatch) m.header(new RecordBatch());
+			final ByteBuffer body = slice(buf, (int) (b.offset() + b.metaDataLength()), (int) b.bodyLength());
+			ret.add(new Batch(rb, body, rowOffset));
+			rowOffset += (int) rb.length();
+		}
+		return ret;
+	}
+
+	protected static ValueType toValueType(Field f) {
+		if(f.dictionary() != null)
+			throw new DMLRuntimeException("Unsupported dictionary encoded Arrow column: " + f.name());
+		switch(f.typeType()) {
+			case Type.FloatingPoint:
+				final short p = ((FloatingPoint) f.type(new FloatingPoint())).precision();
+				if(p == Precision.HALF)
+					throw new DMLRuntimeException("Unsupported half precision Arrow column: " + f.name());
+				return p == Precision.DOUBLE ? ValueType.FP64 : ValueType.FP32;
+			case Type.Int:
+				final Int t = (Int) f.type(new Int());
+				return t.bitWidth() == 64 || (t.bitWidth() == 32 && !t.isSigned()) ? ValueType.INT64 : ValueType.INT32;
+			case Type.Bool:
+				return ValueType.BOOLEAN;
+			case Type.Utf8:
+			case Type.LargeUtf8:
+				return ValueType.STRING;
+			default:
+				throw new DMLRuntimeException(
+					"Unsupported Arrow type " + Type.name(f.typeType()) + " of column: " + f.name());
+		}
+	}
+
+	protected static ValueType[] toValueTypes(Schema schema) {
+		final ValueType[] ret = new ValueType[schema.fieldsLength()];
+		for(int i = 0; i < ret.length; i++)
+			ret[i] = toValueType(schema.fields(i));
+		return ret;
+	}
+
+	protected static String[] getColumnNames(Schema schema) {
+		final String[] ret = new String[schema.fieldsLength()];
+		for(int i = 0; i < ret.length; i++)
+			ret[i] = schema.fields(i).name();
+		return ret;
+	}
+
+	/**
+	 * Decode all columns of a record batch into the given frame, at the row offset of the batch.
+	 * 
+	 * @param schema The Arrow schema of the file
+	 * @param b      The record batch
+	 * @param dest   The output frame
+	 * @throws IOException If a compressed buffer cannot be decoded
+	 */
+	protected static void readBatch(Schema schema, Batch b, FrameBlock dest) throws IOException {
+		final RecordBatch rb = b.batch;
+		final byte codec = rb.compression() != null ? rb.compression().codec() : -1;
+		int buf = 0;
+		for(int j = 0; j < schema.fieldsLength(); j++) {
+			final Field f = schema.fields(j);
+			final FieldNode node = rb.nodes(j);
+			final int n = (int) node.length();
+			final ByteBuffer valid = node.nullCount() > 0 ? getBuffer(b, buf, codec) : null;
+			final Array<?> a = dest.getColumn(j);
+			switch(f.typeType()) {
+				case Type.FloatingPoint:
+					if(((FloatingPoint) f.type(new FloatingPoint())).precision() == Precision.DOUBLE)
+						readDouble(getBuffer(b, buf + 1, codec), a, b.rowOffset, n);
+					else
+						readFloat(getBuffer(b, buf + 1, codec), a, b.rowOffset, n);
+					buf += 2;
+					break;
+				case Type.Int:
+					final Int t = (Int) f.type(new Int());
+					readInt(getBuffer(b, buf + 1, codec), t.bitWidth(), t.isSigned(), a, b.rowOffset, n);
+					buf += 2;
+					break;
+				case Type.Bool:
+					readBoolean(getBuffer(b, buf + 1, codec), a, b.rowOffset, n);
+					buf += 2;
+					break;
+				case Type.Utf8:
+				case Type.LargeUtf8:
+					readString(getBuffer(b, buf + 1, codec), getBuffer(b, buf + 2, codec),
+						f.typeType() == Type.LargeUtf8, a, b.rowOffset, n);
+					buf += 3;
+					break;
+				default:
+					throw new DMLRuntimeException(
+						"Unsupported Arrow type " + Type.name(f.typeType()) + " of column: " + f.name());
+			}
+			if(valid != null && valid.limit() > 0)
+				setNulls(valid, a, b.rowOffset, n);
+		}
+	}
+
+	private static void readDouble(ByteBuffer data, Array<?> a, int rl, int n) {
+		if(a instanceof DoubleArray)
+			data.asDoubleBuffer().get(((DoubleArray) a).get(), rl, n);
+		else
+			for(int i = 0; i < n; i++)
+				a.set(rl + i, data.getDouble(i * 8));
+	}
+
+	private static void readFloat(ByteBuffer data, Array<?> a, int rl, int n) {
+		if(a instanceof FloatArray)
+			data.asFloatBuffer().get(((FloatArray) a).get(), rl, n);
+		else
+			for(int i = 0; i < n; i++)
+				a.set(rl + i, data.getFloat(i * 4));
+	}
+
+	private static void readInt(ByteBuffer data, int width, boolean signed, Array<?> a, int rl, int n) {
+		if(width == 32 && signed && a instanceof IntegerArray)
+			data.asIntBuffer().get(((IntegerArray) a).get(), rl, n);
+		else if(width == 64 && a instanceof LongArray)
+			data.asLongBuffer().get(((LongArray) a).get(), rl, n);
+		else if(a instanceof LongArray) {
+			final long[] v = ((LongArray) a).get();
+			for(int i = 0; i < n; i++)
+				v[rl + i] = getInt(data, i, width, signed);
+		}
+		else if(a instanceof StringArray) {
+			final String[] v = ((StringArray) a).get();
+			for(int i = 0; i < n; i++)
+				v[rl + i] = Long.toString(getInt(data, i, width, signed));
+		}
+		else
+			for(int i = 0; i < n; i++)
+				a.set(rl + i, (double) getInt(data, i, width, signed));
+	}
+
+	private static long getInt(ByteBuffer data, int i, int width, boolean signed) {
+		switch(width) {
+			case 8:
+				return signed ? data.get(i) : data.get(i) & 0xFFL;
+			case 16:
+				return signed ? data.getShort(i * 2) : data.getShort(i * 2) & 0xFFFFL;
+			case 32:
+				return signed ? data.getInt(i * 4) : data.getInt(i * 4) & 0xFFFFFFFFL;
+			default:
+				return data.getLong(i * 8);
+		}
+	}
+
+	private static void readBoolean(ByteBuffer data, Array<?> a, int rl, int n) {
+		if(a instanceof BitSetArray && (rl & 63) == 0) {
+			// arrow bitmaps are LSB first, which matches the little endian words of the bitset
+			final long[] w = ((BitSetArray) a).getLongs();
+			final int nb = (n + 7) >> 3;
+			for(int k = 0; k < nb; k++) {
+				long v = data.get(k) & 0xFFL;
+				if(k == nb - 1 && (n & 7) != 0)
+					v &= (1L << (n & 7)) - 1;
+				w[(rl >> 6) + (k >> 3)] |= v << ((k & 7) << 3);
+			}
+		}
+		else if(a instanceof BooleanArray) {
+			final boolean[] v = ((BooleanArray) a).get();
+			for(int i = 0; i < n; i++)
+				v[rl + i] = isSet(data, i);
+		}
+		else
+			for(int i = 0; i < n; i++)
+				a.set(rl + i, Boolean.toString(isSet(data, i)));
+	}
+
+	private static void readString(ByteBuffer offsets, ByteBuffer data, boolean large, Array<?> a, int rl, int n) {
+		final byte[] bytes = new byte[data.limit()];
+		data.duplicate().get(bytes);
+		final String[] v = a instanceof StringArray ? ((StringArray) a).get() : null;
+		for(int i = 0; i < n; i++) {
+			final int s = large ? (int) offsets.getLong(i * 8) : offsets.getInt(i * 4);
+			final int e = large ? (int) offsets.getLong(i * 8 + 8) : offsets.getInt(i * 4 + 4);
+			final String str = new String(bytes, s, e - s, StandardCharsets.UTF_8);
+			if(v != null)
+				v[rl + i] = str;
+			else
+				a.set(rl + i, str);
+		}
+	}
+
+	private static void setNulls(ByteBuffer valid, Array<?> a, int rl, int n) {
+		for(int i = 0; i < n; i++) {
+			if(isSet(valid, i))
+				continue;
+			else if(a instanceof StringArray)
+				a.set(rl + i, (String) null);
+			else if(a instanceof DoubleArray || a instanceof FloatArray)
+				a.set(rl + i, Double.NaN);
+			else
+				a.set(rl + i, 0);
+		}
+	}
+
+	private static ByteBuffer getBuffer(Batch b, int i, byte codec) throws IOException {
+		final Buffer desc = b.batch.buffers(i);
+		final ByteBuffer raw = slice(b.body, (int) desc.offset(), (int) desc.length());
+		if(codec < 0 || raw.limit() == 0)
+			return raw;
+		// compressed buffers are prefixed with the uncompressed length, or -1 if not compressed
+		final long len = raw.getLong(0);
+		final ByteBuffer src = slice(raw, 8, raw.limit() - 8);
+		if(len == -1)
+			return src;
+		final byte[] in = new byte[src.limit()];
+		src.duplicate().get(in);
+		final byte[] out;
+		if(codec == CompressionType.LZ4_FRAME) {
+			out = new byte[(int) len];
+			try(LZ4FrameInputStream is = new LZ4FrameInputStream(new ByteArrayInputStream(in))) {
+				IOUtils.readFully(is, out);
+			}
+		}
+		else if(codec == CompressionType.ZSTD)
+			out = Zstd.decompress(in, (int) len);
+		else
+			throw new DMLRuntimeException("Unsupported Arrow compression codec: " + codec);
+		return ByteBuffer.wrap(out).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private static Message readMessage(ByteBuffer buf, int off) {
+		// encapsulated messages start with a continuation marker, except for pre 0.15 files
+		final int first = buf.getInt(off);
+		return first == CONTINUATION ? Message.getRootAsMessage(slice(buf, off + 8, buf.getInt(off + 4))) : Message
+			.getRootAsMessage(slice(buf, off + 4, first));
+	}
+
+	private static boolean isSet(ByteBuffer bitmap, int i) {
+		return (bitmap.get(i >> 3) & (1 << (i & 7))) != 0;
+	}
+
+	private static boolean hasMagic(ByteBuffer buf, int off) {
+		for(int i = 0; i < MAGIC.length; i++)
+			if(buf.get(off + i) != MAGIC[i])
+				return false;
+		return true;
+	}
+
+	protected static ByteBuffer slice(ByteBuffer buf, int off, int len) {
+		final ByteBuffer ret = buf.duplicate();
+		ret.position(off);
+		ret.limit(off + len);
+		return ret.slice().order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/**
+	 * Write the given row range of a frame as a complete Arrow IPC file.
+	 * 
+	 * @param os  The output stream, not closed by this method
+	 * @param src The frame to write
+	 * @param rl  The row lower bound (inclusive)
+	 * @param ru  The row upper bound (exclusive)
+	 * @throws IOException If the write fails
+	 */
+	protected static void writeFrame(OutputStream os, FrameBlock src, int rl, int ru) throws IOException {
+		final ArrowOutput out = new ArrowOutput(os);
+		out.write(MAGIC);
+		out.pad();
+
+		// schema message without body
+		FlatBufferBuilder fbb = new FlatBufferBuilder(1024);
+		int schema = createSchema(fbb, src);
+		fbb.finish(Message.createMessage(fbb, MetadataVersion.V5, MessageHeader.Schema, schema, 0, 0));
+		writeMessage(out, fbb.sizedByteArray(), new ArrayList<>());
+
+		// record batches of bounded size
+		final List<long[]> blocks = new ArrayList<>();
+		for(int bl = rl; bl < ru; bl += BATCH_SIZE)
+			blocks.add(writeBatch(out, src, bl, Math.min(bl + BATCH_SIZE, ru)));
+
+		// end of stream marker
+		out.writeInt(CONTINUATION);
+		out.writeInt(0);
+
+		// footer with schema and record batch index
+		fbb = new FlatBufferBuilder(1024);
+		schema = createSchema(fbb, src);
+		Footer.startDictionariesVector(fbb, 0);
+		final int dicts = fbb.endVector();
+		Footer.startRecordBatchesVector(fbb, blocks.size());
+		for(int i = blocks.size() - 1; i >= 0; i--)
+			Block.createBlock(fbb, blocks.get(i)[0], (int) blocks.get(i)[1], blocks.get(i)[2]);
+		final int batches = fbb.endVector();
+		fbb.finish(Footer.createFooter(fbb, MetadataVersion.V5, schema, dicts, batches, 0));
+		final byte[] footer = fbb.sizedByteArray();
+		out.write(footer);
+		out.writeInt(footer.length);
+		out.write(MAGIC);
+	}
+
+	private static int createSchema(FlatBufferBuilder fbb, FrameBlock src) {
+		final ValueType[] schema = src.getSchema();
+		final String[] names = src.getColumnNames();
+		final int[] fields = new int[schema.length];
+		for(int j = 0; j < schema.length; j++) {
+			final int name = fbb.createString(names[j]);
+			final byte typeType;
+			final int type;
+			switch(schema[j]) {
+				case FP64:
+				case FP32:
+					typeType = Type.FloatingPoint;
+					type = FloatingPoint.createFloatingPoint(fbb,
+						schema[j] == ValueType.FP64 ? Precision.DOUBLE : Precision.SINGLE);
+					break;
+				case UINT4:
+				case UINT8:
+				case INT32:
+				case INT64:
+					typeType = Type.Int;
+					type = Int.createInt(fbb, schema[j] == ValueType.INT64 ? 64 : 32, true);
+					break;
+				case BOOLEAN:
+					typeType = Type.Bool;
+					Bool.startBool(fbb);
+					type = Bool.endBool(fbb);
+					break;
+				default:
+					typeType = Type.Utf8;
+					Utf8.startUtf8(fbb);
+					type = Utf8.endUtf8(fbb);
+			}
+			final int children = Field.createChildrenVector(fbb, new int[0]);
+			fields[j] = Field.createField(fbb, name, true, typeType, type, 0, children, 0);
+		}
+		return Schema.createSchema(fbb, Endianness.Little, Schema.createFieldsVector(fbb, fields), 0, 0);
+	}
+
+	private static long[] writeBatch(ArrowOutput out, FrameBlock src, int rl, int ru) throws IOException {
+		final int n = ru - rl;
+		final int nCol = src.getNumColumns();
+		final long[] nulls = new long[nCol];
+		final List<byte[]> buffers = new ArrayList<>(nCol * 3);
+		for(int j = 0; j < nCol; j++)
+			nulls[j] = encodeColumn(src.getColumn(j), src.getSchema()[j], rl, n, buffers);
+
+		final FlatBufferBuilder fbb = new FlatBufferBuilder(1024);
+		RecordBatch.startNodesVector(fbb, nCol);
+		for(int j = nCol - 1; j >= 0; j--)
+			FieldNode.createFieldNode(fbb, n, nulls[j]);
+		final int nodes = fbb.endVector();
+		long bodyLen = 0;
+		final long[] offsets = new long[buffers.size()];
+		for(int i = 0; i < buffers.size(); i++) {
+			offsets[i] = bodyLen;
+			bodyLen += align(buffers.get(i).length);
+		}
+		RecordBatch.startBuffersVector(fbb, buffers.size());
+		for(int i = buffers.size() - 1; i >= 0; i--)
+			Buffer.createBuffer(fbb, offsets[i], buffers.get(i).length);
+		final int bufs = fbb.endVector();
+		final int rb = RecordBatch.createRecordBatch(fbb, n, nodes, bufs, 0);
+		fbb.finish(Message.createMessage(fbb, MetadataVersion.V5, MessageHeader.RecordBatch, rb, bodyLen, 0));
+		return writeMessage(out, fbb.sizedByteArray(), buffers);
+	}
+
+	/**
+	 * Encode a row range of a frame column into its Arrow buffers (validity, [offsets,] values).
+	 * 
+	 * @return The number of null values
+	 */
+	private static long encodeColumn(Array<?> a, ValueType vt, int rl, int n, List<byte[]> buffers) {
+		final byte[] valid = new byte[(n + 7) >> 3];
+		boolean primitive = false; // primitive arrays cannot contain nulls
+		long nulls = 0;
+		switch(vt) {
+			case FP64: {
+				final ByteBuffer data = ByteBuffer.allocate(n * 8).order(ByteOrder.LITTLE_ENDIAN);
+				if(a instanceof DoubleArray) {
+					data.asDoubleBuffer().put(((DoubleArray) a).get(), rl, n);
+					primitive = true;
+				}
+				else
+					for(int i = 0; i < n; i++)
+						if(isValid(a, rl + i, i, valid))
+							data.putDouble(i * 8, a.getAsDouble(rl + i));
+				nulls = addBuffers(buffers, primitive ? 0 : n - countValid(valid, n), valid, data.array());
+				break;
+			}
+			case FP32: {
+				final ByteBuffer data = ByteBuffer.allocate(n * 4).order(ByteOrder.LITTLE_ENDIAN);
+				if(a instanceof FloatArray) {
+					data.asFloatBuffer().put(((FloatArray) a).get(), rl, n);
+					primitive = true;
+				}
+				else
+					for(int i = 0; i < n; i++)
+						if(isValid(a, rl + i, i, valid))
+							data.putFloat(i * 4, (float) a.getAsDouble(rl + i));
+				nulls = addBuffers(buffers, primitive ? 0 : n - countValid(valid, n), valid, data.array());
+				break;
+			}
+			case INT64: {
+				final ByteBuffer data = ByteBuffer.allocate(n * 8).order(ByteOrder.LITTLE_ENDIAN);
+				if(a instanceof LongArray) {
+					data.asLongBuffer().put(((LongArray) a).get(), rl, n);
+					primitive = true;
+				}
+				else
+					for(int i = 0; i < n; i++)
+						if(isValid(a, rl + i, i, valid))
+							data.putLong(i * 8, ((Number) a.get(rl + i)).longValue());
+				nulls = addBuffers(buffers, primitive ? 0 : n - countValid(valid, n), valid, data.array());
+				break;
+			}
+			case UINT4:
+			case UINT8:
+			case INT32: {
+				final ByteBuffer data = ByteBuffer.allocate(n * 4).order(ByteOrder.LITTLE_ENDIAN);
+				if(a instanceof IntegerArray) {
+					data.asIntBuffer().put(((IntegerArray) a).get(), rl, n);
+					primitive = true;
+				}
+				else
+					for(int i = 0; i < n; i++)
+						if(isValid(a, rl + i, i, valid))
+							data.putInt(i * 4, ((Number) a.get(rl + i)).intValue());
+				nulls = addBuffers(buffers, primitive ? 0 : n - countValid(valid, n), valid, data.array());
+				break;
+			}
+			case BOOLEAN: {
+				final byte[] data = new byte[(n + 7) >> 3];
+				if(a instanceof BitSetArray && (rl & 63) == 0) {
+					final long[] w = ((BitSetArray) a).getLongs();
+					for(int k = 0; k < data.length; k++)
+						data[k] = (byte) (w[(rl >> 6) + (k >> 3)] >>> ((k & 7) << 3));
+					if((n & 7) != 0)
+						data[data.length - 1] &= (1 << (n & 7)) - 1;
+					primitive = true;
+				}
+				else
+					for(int i = 0; i < n; i++)
+						if(isValid(a, rl + i, i, valid) && (Boolean) a.get(rl + i))
+							data[i >> 3] |= 1 << (i & 7);
+				nulls = addBuffers(buffers, primitive ? 0 : n - countValid(valid, n), valid, data);
+				break;
+			}
+			default: {
+				// strings and all other value types are written as utf8 strings
+				final ByteBuffer offsets = ByteBuffer.allocate((n + 1) * 4).order(ByteOrder.LITTLE_ENDIAN);
+				final ByteArrayOutputStream data = new ByteArrayOutputStream();
+				for(int i = 0; i < n; i++) {
+					if(isValid(a, rl + i, i, valid)) {
+						final byte[] s = a.get(rl + i).toString().getBytes(StandardCharsets.UTF_8);
+						data.write(s, 0, s.length);
+						if(data.size() < 0)
+							throw new DMLRuntimeException("Arrow string column exceeds the 2GB buffer limit.");
+					}
+					offsets.putInt((i + 1) * 4, data.size());
+				}
+				nulls = n - countValid(valid, n);
+				buffers.add(nulls > 0 ? valid : new byte[0]);
+				buffers.add(offsets.array());
+				buffers.add(data.toByteArray());
+			}
+		}
+		return nulls;
+	}
+
+	private static boolean isValid(Array<?> a, int r, int i, byte[] valid) {
+		if(a.get(r) == null)
+			return false;
+		valid[i >> 3] |= 1 << (i & 7);
+		return true;
+	}
+
+	private static long addBuffers(List<byte[]> buffers, long nulls, byte[] valid, byte[] data) {
+		// the validity bitmap may be omitted if there are no nulls
+		buffers.add(nulls > 0 ? valid : new byte[0]);
+		buffers.add(data);
+		return nulls;
+	}
+
+	private static int countValid(byte[] valid, int n) {
+		int c = 0;
+		for(byte b : valid)
+			c += Integer.bitCount(b & 0xFF);
+		return Math.min(c, n);
+	}
+
+	private static long[] writeMessage(ArrowOutput out, byte[] meta, List<byte[]> body) throws IOException {
+		final long start = out.pos;
+		// the metadata is padded such that the body starts 8 byte aligned
+		final int padded = (int) align(meta.length + 8) - 8;
+		out.writeInt(CONTINUATION);
+		out.writeInt(padded);
+		out.write(meta);
+		out.pad();
+		final long bodyStart = out.pos;
+		for(byte[] b : body) {
+			out.write(b);
+			out.pad();
+		}
+		return new long[] {start, 8 + padded, out.pos - bodyStart};
+	}
+
+	private static long align(long len) {
+		return (len + 7) & ~7L;
+	}
+
+	/** Output stream wrapper that tracks the written position for alignment and block offsets */
+	private static class ArrowOutput {
+		private final OutputStream _os;
+		private long pos = 0;
+
+		private ArrowOutput(OutputStream os) {
+			_os = os;
+		}
+
+		private void write(byte[] b) throws IOException {
+			_os.write(b);
+			pos += b.length;
+		}
+
+		private void writeInt(int v) throws IOException {
+			_os.write(v);
+			_os.write(v >>> 8);
+			_os.write(v >>> 16);
+			_os.write(v >>> 24);
+			pos += 4;
+		}
+
+		private void pad() throws IOException {
+			while((pos & 7) != 0) {
+				_os.write(0);
+				pos++;
+			}
+		}
+	}
+}
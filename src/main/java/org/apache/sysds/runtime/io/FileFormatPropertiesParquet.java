@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+public class FileFormatPropertiesParquet extends FileFormatProperties implements Serializable {
+	private static final long serialVersionUID = 3826581944927130812L;
+
+	/** The projected column names, or null for all columns */
+	private final String[] columns;
+
+	public FileFormatPropertiesParquet() {
+		this.columns = null;
+	}
+
+	public FileFormatPropertiesParquet(String[] columns) {
+		this.columns = columns;
+	}
+
+	/**
+	 * Parse the projected columns from their instruction representation, which is a comma-separated list of column
+	 * names or "*" for all columns.
+	 *
+	 * @param columns the comma-separated column names
+	 * @return the file format properties
+	 */
+	public static FileFormatPropertiesParquet parse(String columns) {
+		if(columns == null || columns.equals("*") || columns.trim().isEmpty())
+			return new FileFormatPropertiesParquet();
+		final String[] names = columns.split(",");
+		for(int i = 0; i < names.length; i++)
+			names[i] = names[i].trim();
+		return new FileFormatPropertiesParquet(names);
+	}
+
+	public String[] getColumns() {
+		return columns;
+	}
+
+	@Override
+	public String toString() {
+		return " columns " + (columns == null ? "*" : Arrays.toString(columns));
+	}
+}
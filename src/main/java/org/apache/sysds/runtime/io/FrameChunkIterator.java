@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+
+/**
+ * Iterator over bounded row chunks of a frame file, which allows processing files larger than memory. Each chunk is
+ * an independent frame block with the full schema; the iterator needs to be closed to release open readers.
+ */
+public interface FrameChunkIterator extends Iterator<FrameBlock>, Closeable {
+
+	/**
+	 * Gets the number of rows returned by this iterator so far.
+	 * 
+	 * @return number of rows
+	 */
+	public long getNumRowsRead();
+}
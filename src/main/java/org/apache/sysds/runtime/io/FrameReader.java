@@ -22,6 +22,7 @@ package org.apache.sysds.runtime.io;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.NoSuchElementException;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -32,6 +33,7 @@ import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.IndexRange;
 import org.apache.sysds.runtime.util.UtilFunctions;
 
 /**
@@ -57,6 +59,27 @@ public abstract class FrameReader {
 		return readFrameFromHDFS(fname, getDefSchema(clen), getDefColNames(clen), rlen, clen);
 	}
 
+	/**
+	 * Reads the given row and column range of a frame file. Formats that can skip rows or parse only the requested
+	 * columns override this method; the default implementation reads the full frame and returns a slice of it.
+	 * 
+	 * @param fname  the file name
+	 * @param schema the schema of the requested columns
+	 * @param rlen   the number of rows of the file
+	 * @param clen   the number of columns of the file
+	 * @param ix     the row and column range (0-based, inclusive)
+	 * @return frame block of the requested range
+	 * @throws IOException if IOException occurs
+	 */
+	public FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, long rlen, long clen, IndexRange ix)
+		throws IOException, DMLRuntimeException {
+		MatrixReader.checkValidIndexRange(ix, rlen, clen);
+		ValueType[] lschema = UtilFunctions.nCopies((int) clen, ValueType.STRING);
+		System.arraycopy(schema, 0, lschema, (int) ix.colStart, schema.length);
+		FrameBlock ret = readFrameFromHDFS(fname, lschema, getDefColNames(clen), rlen, clen);
+		return ret.slice((int) ix.rowStart, (int) ix.rowEnd, (int) ix.colStart, (int) ix.colEnd);
+	}
+
 	public abstract FrameBlock readFrameFromInputStream(InputStream is, ValueType[] schema, String[] names, long rlen,
 		long clen) throws IOException, DMLRuntimeException;
 
@@ -72,6 +95,58 @@ public abstract class FrameReader {
 		return readFrameFromInputStream(is, getDefSchema(clen), getDefColNames(clen), rlen, clen);
 	}
 
+	/**
+	 * Reads the given frame file as a sequence of frame blocks with at most chunkRows rows each. Formats with
+	 * line-based text representations override this method to stream the file without materializing it; the default
+	 * implementation reads the full frame and returns slices of it.
+	 * 
+	 * @param fname     the file name
+	 * @param schema    the schema, or null for the default schema
+	 * @param names     the column names, or null for the default names
+	 * @param rlen      the number of rows, or -1 if unknown
+	 * @param clen      the number of columns, or -1 if unknown
+	 * @param chunkRows the maximum number of rows per chunk
+	 * @return iterator over frame chunks
+	 * @throws IOException if IOException occurs
+	 */
+	public FrameChunkIterator readFrameChunks(String fname, ValueType[] schema, String[] names, long rlen, long clen,
+		int chunkRows) throws IOException
+	{
+		if(chunkRows <= 0)
+			throw new DMLRuntimeException("Invalid chunk size: " + chunkRows);
+		ValueType[] lschema = schema != null ? schema : getDefSchema(clen);
+		String[] lnames = names != null ? names : getDefColNames(lschema.length);
+		FrameBlock fb = readFrameFromHDFS(fname, lschema, lnames, rlen, clen);
+		return new FrameChunkIterator() {
+			private int _rl = 0;
+
+			@Override
+			public boolean hasNext() {
+				return _rl < fb.getNumRows();
+			}
+
+			@Override
+			public FrameBlock next() {
+				if(!hasNext())
+					throw new NoSuchElementException();
+				int ru = Math.min(_rl + chunkRows, fb.getNumRows());
+				FrameBlock ret = fb.slice(_rl, ru - 1);
+				_rl = ru;
+				return ret;
+			}
+
+			@Override
+			public long getNumRowsRead() {
+				return _rl;
+			}
+
+			@Override
+			public void close() {
+				_rl = fb.getNumRows();
+			}
+		};
+	}
+
 	public ValueType[] getDefSchema(long clen) throws DMLRuntimeException {
 		int lclen = Math.max((int) clen, 1);
 		return UtilFunctions.nCopies(lclen, ValueType.STRING);
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.arrow.flatbuf.Footer;
+import org.apache.arrow.flatbuf.Schema;
+import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.ArrowIOUtils.Batch;
+
+/**
+ * Frame reader for the Arrow IPC file format (Feather v2). Local files are memory-mapped, and fixed-width columns are
+ * bulk copied from the mapped buffers into the primitive arrays of the frame. Floating point nulls are read as NaN,
+ * other numeric nulls as zero.
+ */
+public class FrameReaderArrow extends FrameReader {
+
+	@Override
+	public FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names, long rlen, long clen)
+		throws IOException {
+		// prepare file access
+		final JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		final Path path = new Path(fname);
+		final FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		// check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		// read the files of a directory in part file order
+		final Path[] files = IOUtilFunctions.getSequenceFilePaths(fs, path);
+		Arrays.sort(files);
+		final List<ByteBuffer> buffers = new ArrayList<>(files.length);
+		for(Path p : files)
+			buffers.add(readBuffer(fs, p));
+		final FrameBlock ret = readArrowFrame(buffers, schema);
+		if(rlen >= 0 && rlen != ret.getNumRows())
+			throw new IOException("Mismatch in number of rows: " + ret.getNumRows() + " vs metadata " + rlen);
+		return ret;
+	}
+
+	@Override
+	public FrameBlock readFrameFromInputStream(InputStream is, ValueType[] schema, String[] names, long rlen,
+		long clen) throws IOException {
+		return readArrowFrame(ByteBuffer.wrap(IOUtils.toByteArray(is)), schema);
+	}
+
+	/**
+	 * Read a frame from a buffer containing a complete Arrow IPC file.
+	 * 
+	 * @param buf    The buffer
+	 * @param schema The requested schema, or null to use the Arrow types
+	 * @return The frame
+	 * @throws IOException If the decoding fails
+	 */
+	public static FrameBlock readArrowFrame(ByteBuffer buf, ValueType[] schema) throws IOException {
+		final List<ByteBuffer> buffers = new ArrayList<>(1);
+		buffers.add(buf);
+		return readArrowFrame(buffers, schema);
+	}
+
+	private static FrameBlock readArrowFrame(List<ByteBuffer> buffers, ValueType[] schema) throws IOException {
+		// obtain the schema and record batches of all files
+		Schema arrowSchema = null;
+		final List<Batch> batches = new ArrayList<>();
+		int nRows = 0;
+		for(ByteBuffer buf : buffers) {
+			final Footer footer = ArrowIOUtils.readFooter(buf.order(ByteOrder.LITTLE_ENDIAN));
+			if(arrowSchema == null)
+				arrowSchema = footer.schema();
+			for(Batch b : ArrowIOUtils.readBatches(buf, footer, nRows)) {
+				batches.add(b);
+				nRows += b.getNumRows();
+			}
+		}
+
+		// use a given schema if it is not the default all-string schema, otherwise the arrow types
+		final ValueType[] outSchema = isDefaultSchema(schema, arrowSchema.fieldsLength()) ? ArrowIOUtils
+			.toValueTypes(arrowSchema) : schema;
+		final FrameBlock ret = createOutputFrameBlock(outSchema, ArrowIOUtils.getColumnNames(arrowSchema), nRows);
+
+		// core read of all record batches into disjoint row ranges
+		for(Batch b : batches)
+			ArrowIOUtils.readBatch(arrowSchema, b, ret);
+		return ret;
+	}
+
+	private static boolean isDefaultSchema(ValueType[] schema, int nCol) {
+		if(schema == null || schema.length != nCol)
+			return true;
+		for(ValueType vt : schema)
+			if(vt != ValueType.STRING)
+				return false;
+		return true;
+	}
+
+	private static ByteBuffer readBuffer(FileSystem fs, Path path) throws IOException {
+		final long len = fs.getFileStatus(path).getLen();
+		if(len > Integer.MAX_VALUE)
+			throw new DMLRuntimeException("Arrow files larger than 2GB are not supported, split into part files: " + path);
+		if(fs instanceof LocalFileSystem) {
+			// memory-map local files, the mapping stays valid after the channel is closed
+			final File f = new File(path.toUri().getPath());
+			try(FileChannel ch = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+				return ch.map(FileChannel.MapMode.READ_ONLY, 0, len);
+			}
+		}
+		final byte[] data = new byte[(int) len];
+		try(FSDataInputStream in = fs.open(path)) {
+			in.readFully(0, data);
+		}
+		return ByteBuffer.wrap(data);
+	}
+}
@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
+import org.apache.sysds.runtime.frame.data.columns.ColumnMetadata;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.IndexRange;
+
+/**
+ * Frame reader for the columnar binary frame format written by {@link FrameWriterColumnar}. The reader first decodes
+ * the footer with the column directory, and then reads and decodes only the requested column segments in parallel.
+ * Column projections are therefore proportional to the size of the selected columns and not of the entire frame.
+ */
+public class FrameReaderColumnar extends FrameReader {
+
+	@Override
+	public FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names, long rlen, long clen)
+		throws IOException {
+		return readColumnarFrame(fname, schema, null, rlen);
+	}
+
+	@Override
+	public FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, long rlen, long clen, IndexRange ix)
+		throws IOException {
+		MatrixReader.checkValidIndexRange(ix, rlen, clen);
+		final int[] cols = new int[(int) (ix.colEnd - ix.colStart + 1)];
+		for(int j = 0; j < cols.length; j++)
+			cols[j] = (int) ix.colStart + j;
+		final FrameBlock ret = readColumnarFrame(fname, schema, cols, rlen);
+		if(ix.rowStart == 0 && ix.rowEnd == ret.getNumRows() - 1)
+			return ret;
+		return ret.slice((int) ix.rowStart, (int) ix.rowEnd, 0, cols.length - 1);
+	}
+
+	/**
+	 * Reads the given columns of a columnar frame file, without decoding any of the other columns.
+	 * 
+	 * @param fname the file name
+	 * @param cols  the 0-based column indexes in output order
+	 * @return frame block of the selected columns
+	 * @throws IOException if the read fails
+	 */
+	public FrameBlock readFrameFromHDFS(String fname, int[] cols) throws IOException {
+		return readColumnarFrame(fname, null, cols, -1);
+	}
+
+	@Override
+	public FrameBlock readFrameFromInputStream(InputStream is, ValueType[] schema, String[] names, long rlen,
+		long clen) throws IOException {
+		final byte[] data = IOUtils.toByteArray(is);
+		return readColumnarFrame(data.length, (off, len) -> new ByteArrayInputStream(data, (int) off, (int) len),
+			schema, null);
+	}
+
+	private static FrameBlock readColumnarFrame(String fname, ValueType[] schema, int[] cols, long rlen)
+		throws IOException {
+		// prepare file access
+		final JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		final Path path = new Path(fname);
+		final FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		// check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		// read the files of a directory in part file order
+		final Path[] files = IOUtilFunctions.getSequenceFilePaths(fs, path);
+		Arrays.sort(files);
+		FrameBlock ret = null;
+		for(Path p : files) {
+			final FrameBlock tmp = readColumnarFrame(fs.getFileStatus(p).getLen(), (off, len) -> {
+				final FSDataInputStream in = fs.open(p);
+				in.seek(off);
+				return in;
+			}, schema, cols);
+			ret = (ret == null) ? tmp : ret.append(tmp, false);
+		}
+		if(rlen >= 0 && rlen != ret.getNumRows())
+			throw new IOException("Mismatch in number of rows: " + ret.getNumRows() + " vs metadata " + rlen);
+		return ret;
+	}
+
+	private static FrameBlock readColumnarFrame(long len, SegmentSource src, ValueType[] schema, int[] cols)
+		throws IOException {
+		final Footer footer = readFooter(len, src);
+		final int nCol = footer.schema.length;
+		if(cols == null) {
+			cols = new int[nCol];
+			for(int j = 0; j < nCol; j++)
+				cols[j] = j;
+		}
+		for(int c : cols)
+			if(c < 0 || c >= nCol)
+				throw new DMLRuntimeException("Invalid column index " + c + " for columnar frame with " + nCol + " columns.");
+
+		// use a given schema if it is not the default all-string schema, otherwise the stored types
+		final boolean useStored = isDefaultSchema(schema, cols.length);
+		final ValueType[] outSchema = new ValueType[cols.length];
+		final String[] outNames = new String[cols.length];
+		final ColumnMetadata[] outMeta = new ColumnMetadata[cols.length];
+		for(int j = 0; j < cols.length; j++) {
+			outSchema[j] = useStored ? footer.schema[cols[j]] : schema[j];
+			outNames[j] = footer.names[cols[j]];
+			outMeta[j] = footer.meta[cols[j]];
+		}
+		if(footer.nRow == 0)
+			return new FrameBlock(outSchema, outNames);
+
+		// read and decode the selected column segments
+		final Array<?>[] data = new Array<?>[cols.length];
+		final int k = Math.min(OptimizerUtils.getParallelBinaryReadParallelism(), cols.length);
+		if(k > 1) {
+			final ExecutorService pool = CommonThreadPool.get(k);
+			try {
+				final List<ReadColumnTask> tasks = new ArrayList<>(cols.length);
+				for(int j = 0; j < cols.length; j++)
+					tasks.add(new ReadColumnTask(src, footer, cols[j], outSchema[j]));
+				final List<Future<Array<?>>> rt = pool.invokeAll(tasks);
+				for(int j = 0; j < cols.length; j++)
+					data[j] = rt.get(j).get();
+			}
+			catch(Exception e) {
+				throw new IOException("Failed parallel read of columnar frame.", e);
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+		else {
+			for(int j = 0; j < cols.length; j++)
+				data[j] = readColumn(src, footer, cols[j], outSchema[j]);
+		}
+		return new FrameBlock(outSchema, outNames, outMeta, data);
+	}
+
+	private static Array<?> readColumn(SegmentSource src, Footer footer, int c, ValueType vt) throws IOException {
+		// segments are self-describing arrays, which are decoded directly from the stream
+		Array<?> a = null;
+		if(footer.lengths[c] == 0)
+			a = ArrayFactory.allocate(footer.schema[c], footer.nRow);
+		else {
+			try(InputStream is = src.open(footer.offsets[c], footer.lengths[c])) {
+				a = ArrayFactory.read(new DataInputStream(new BufferedInputStream(is)), footer.nRow);
+			}
+		}
+		return (vt != footer.schema[c]) ? a.changeType(vt) : a;
+	}
+
+	private static Footer readFooter(long len, SegmentSource src) throws IOException {
+		final int magic = FrameWriterColumnar.MAGIC.length;
+		if(len < 2 * magic + 8)
+			throw new IOException("Invalid columnar frame file of size " + len + ".");
+		final byte[] tail = readFully(src, len - magic - 8, magic + 8);
+		if(!Arrays.equals(FrameWriterColumnar.MAGIC, Arrays.copyOfRange(tail, 8, 8 + magic)))
+			throw new IOException("Invalid columnar frame file, missing magic bytes.");
+		final long footerOffset = new DataInputStream(new ByteArrayInputStream(tail)).readLong();
+		if(footerOffset < magic || footerOffset > len - magic - 8)
+			throw new IOException("Invalid columnar frame file, footer offset " + footerOffset + " out of bounds.");
+		final byte[] fbuf = readFully(src, footerOffset, len - magic - 8 - footerOffset);
+		final DataInputStream in = new DataInputStream(new ByteArrayInputStream(fbuf));
+
+		final Footer footer = new Footer(in.readInt(), in.readInt());
+		for(int j = 0; j < footer.schema.length; j++) {
+			footer.schema[j] = ValueType.values()[in.readByte()];
+			footer.offsets[j] = in.readLong();
+			footer.lengths[j] = in.readLong();
+			footer.names[j] = in.readUTF();
+			footer.meta[j] = ColumnMetadata.read(in);
+		}
+		return footer;
+	}
+
+	private static boolean isDefaultSchema(ValueType[] schema, int nCol) {
+		if(schema == null || schema.length != nCol)
+			return true;
+		for(ValueType vt : schema)
+			if(vt != ValueType.STRING)
+				return false;
+		return true;
+	}
+
+	private static byte[] readFully(SegmentSource src, long offset, long length) throws IOException {
+		if(length > Integer.MAX_VALUE - 8)
+			throw new IOException("Invalid columnar frame footer of size " + length + ".");
+		try(InputStream is = src.open(offset, length)) {
+			return IOUtils.readFully(is, (int) length);
+		}
+	}
+
+	/** Positional access to byte ranges of a columnar frame file */
+	private interface SegmentSource {
+		InputStream open(long offset, long length) throws IOException;
+	}
+
+	private static class Footer {
+		private final int nRow;
+		private final ValueType[] schema;
+		private final long[] offsets;
+		private final long[] lengths;
+		private final String[] names;
+		private final ColumnMetadata[] meta;
+
+		private Footer(int nRow, int nCol) {
+			this.nRow = nRow;
+			schema = new ValueType[nCol];
+			offsets = new long[nCol];
+			lengths = new long[nCol];
+			names = new String[nCol];
+			meta = new ColumnMetadata[nCol];
+		}
+	}
+
+	private static class ReadColumnTask implements Callable<Array<?>> {
+		private final SegmentSource _src;
+		private final Footer _footer;
+		private final int _col;
+		private final ValueType _vt;
+
+		protected ReadColumnTask(SegmentSource src, Footer footer, int col, ValueType vt) {
+			_src = src;
+			_footer = footer;
+			_col = col;
+			_vt = vt;
+		}
+
+		@Override
+		public Array<?> call() throws IOException {
+			return readColumn(_src, _footer, _col, _vt);
+		}
+	}
+}
@@ -51,6 +51,15 @@ public class FrameReaderFactory {
 			case PROTO:
 				// TODO performance improvement: add parallel reader
 				return new FrameReaderProto();
+			case PARQUET:
+				if(props != null && !(props instanceof FileFormatPropertiesParquet))
+					throw new DMLRuntimeException("Wrong type of file format properties for parquet reader.");
+				String[] columns = props != null ? ((FileFormatPropertiesParquet) props).getColumns() : null;
+				return binaryParallel ? new FrameReaderParquetParallel(columns) : new FrameReaderParquet(columns);
+			case ARROW:
+				return new FrameReaderArrow();
+			case COLUMNAR:
+				return new FrameReaderColumnar();
 			default:
 				throw new DMLRuntimeException("Failed to create frame reader for unknown format: " + fmt.toString());
 		}
@@ -25,6 +25,7 @@ package org.apache.sysds.runtime.io;
 // import static org.apache.sysds.runtime.io.FrameReader.createOutputSchema;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import org.apache.commons.logging.Log;
@@ -75,6 +76,51 @@ public class FrameReaderJSONL {
 	}
 
 
+	/**
+	 * Reads the given JSONL file as a sequence of frame blocks with at most chunkRows rows each, without
+	 * materializing the full frame.
+	 * 
+	 * @param fname     the file name
+	 * @param schema    the schema
+	 * @param schemaMap the mapping of JSON paths to column indexes
+	 * @param chunkRows the maximum number of rows per chunk
+	 * @return iterator over frame chunks
+	 * @throws IOException if IOException occurs
+	 */
+	public FrameChunkIterator readFrameChunks(String fname, Types.ValueType[] schema, Map<String, Integer> schemaMap,
+		int chunkRows) throws IOException
+	{
+		//prepare file access
+		JobConf jobConf = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fileSystem = IOUtilFunctions.getFileSystem(path, jobConf);
+		FileInputFormat.addInputPath(jobConf, path);
+		FrameReader.checkValidInputFile(fileSystem, path);
+
+		TextInputFormat inputFormat = new TextInputFormat();
+		inputFormat.configure(jobConf);
+		InputSplit[] splits = IOUtilFunctions.sortInputSplits(inputFormat.getSplits(jobConf, 1));
+		Types.ValueType[] lschema = FrameReader.createOutputSchema(schema, schemaMap.size());
+		String[] lnames = createOutputNamesFromSchemaMap(schemaMap);
+
+		return new TextFrameChunkIterator(splits, inputFormat, jobConf, lschema, lnames, chunkRows) {
+			private final JSONLRowParser _parser = new JSONLRowParser(lschema, schemaMap);
+
+			@Override
+			protected boolean parseLine(String line, FrameBlock dest, int row) throws IOException {
+				byte[] buf = line.getBytes(StandardCharsets.UTF_8);
+				try {
+					if(!_parser.parse(buf, buf.length, dest, row))
+						readJSONLRowGeneric(line, _schema, schemaMap, dest, row);
+					return true;
+				}
+				catch(JSONException e) {
+					throw new IOException(e);
+				}
+			}
+		};
+	}
+
 	protected void readJSONLFrameFromHDFS(Path path, JobConf jobConf, FileSystem fileSystem, FrameBlock dest,
 		Types.ValueType[] schema, Map<String, Integer> schemaMap) throws IOException, JSONException
 	{
@@ -99,13 +145,11 @@ public class FrameReaderJSONL {
 
 		int row = currentRow;
 		try {
+			// schema-driven direct parsing, with generic parsing of unsupported lines
+			JSONLRowParser parser = new JSONLRowParser(schema, schemaMap);
 			while (reader.next(key, value)) {
-				// Potential Problem if JSON/L Object is very large
-				JSONObject jsonObject = new JSONObject(value.toString());
-				for (Map.Entry<String, Integer> entry : schemaMap.entrySet()) {
-					String strCellValue = getStringFromJSONPath(jsonObject, entry.getKey());
-					dest.set(row, entry.getValue(), UtilFunctions.stringToObject(schema[entry.getValue()], strCellValue));
-				}
+				if( !parser.parse(value.getBytes(), value.getLength(), dest, row) )
+					readJSONLRowGeneric(value.toString(), schema, schemaMap, dest, row);
 				row++;
 			}
 		}
@@ -115,6 +159,17 @@ public class FrameReaderJSONL {
 		return row;
 	}
 
+	private static void readJSONLRowGeneric(String line, Types.ValueType[] schema, Map<String, Integer> schemaMap,
+		FrameBlock dest, int row) throws IOException, JSONException
+	{
+		// Potential Problem if JSON/L Object is very large
+		JSONObject jsonObject = new JSONObject(line);
+		for (Map.Entry<String, Integer> entry : schemaMap.entrySet()) {
+			String strCellValue = getStringFromJSONPath(jsonObject, entry.getKey());
+			dest.set(row, entry.getValue(), UtilFunctions.stringToObject(schema[entry.getValue()], strCellValue));
+		}
+	}
+
 	// TODO Needs Optimisation! "split" is inefficient
 	private static String getStringFromJSONPath(JSONObject jsonObject, String path) 
 		throws IOException 
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.schema.MessageType;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
+import org.apache.sysds.runtime.io.ParquetIOUtils.RowGroup;
+
+/**
+ * Single-threaded frame parquet reader. The parquet physical types are mapped onto the typed frame columns, and
+ * optionally only a projection of the columns is read.
+ */
+public class FrameReaderParquet extends FrameReader {
+	/** The projected column names, or null for all columns */
+	protected final String[] _columns;
+
+	public FrameReaderParquet() {
+		this(null);
+	}
+
+	public FrameReaderParquet(String[] columns) {
+		_columns = columns;
+	}
+
+	@Override
+	public FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names, long rlen, long clen)
+		throws IOException {
+		// prepare file access
+		final JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		final Path path = new Path(fname);
+		final FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		// check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		// obtain the schema and row groups of all files
+		final List<Path> files = ParquetIOUtils.getFiles(fs, path);
+		final MessageType readSchema = ParquetIOUtils.project(ParquetIOUtils.getSchema(job, files.get(0)), _columns);
+		final List<RowGroup> groups = ParquetIOUtils.getRowGroups(job, files);
+		final long nRows = ParquetIOUtils.getNumRows(groups);
+		if(rlen >= 0 && rlen != nRows)
+			throw new IOException("Mismatch in number of rows: " + nRows + " vs metadata " + rlen);
+
+		final int nCol = readSchema.getFieldCount();
+		final ValueType[] outSchema = getOutputSchema(schema, readSchema);
+		final String[] outNames = new String[nCol];
+		for(int i = 0; i < nCol; i++)
+			outNames[i] = readSchema.getFieldName(i);
+		final FrameBlock ret = createOutputFrameBlock(outSchema, outNames, nRows);
+		for(int i = 0; i < nCol; i++) // boolean bitsets are not safe for row partitioned writes
+			if(outSchema[i] == ValueType.BOOLEAN)
+				ret.setColumn(i, ArrayFactory.create(new boolean[(int) nRows]));
+
+		// core read (sequential/parallel)
+		readParquetFrame(job, groups, readSchema, ret);
+		return ret;
+	}
+
+	protected void readParquetFrame(JobConf job, List<RowGroup> groups, MessageType schema, FrameBlock dest)
+		throws IOException {
+		for(RowGroup g : groups)
+			readRowGroup(job, g, schema, dest);
+	}
+
+	protected static void readRowGroup(Configuration conf, RowGroup g, MessageType schema, FrameBlock dest)
+		throws IOException {
+		try(ParquetFileReader reader = ParquetFileReader.open(conf, g.file)) {
+			reader.setRequestedSchema(schema);
+			final ColumnReadStoreImpl store = ParquetIOUtils.readRowGroup(reader, g, schema);
+			final List<ColumnDescriptor> cols = schema.getColumns();
+			for(int j = 0; j < cols.size(); j++)
+				ParquetIOUtils.readColumn(store.getColumnReader(cols.get(j)), dest.getColumn(j), (int) g.rowOffset,
+					(int) g.nRows);
+		}
+	}
+
+	private static ValueType[] getOutputSchema(ValueType[] schema, MessageType readSchema) {
+		final int nCol = readSchema.getFieldCount();
+		// use a given schema if it is not the default all-string schema, otherwise the parquet types
+		if(schema != null && schema.length == nCol) {
+			for(ValueType vt : schema)
+				if(vt != ValueType.STRING)
+					return schema;
+		}
+		return ParquetIOUtils.toValueTypes(readSchema);
+	}
+
+	@Override
+	public FrameBlock readFrameFromInputStream(InputStream is, ValueType[] schema, String[] names, long rlen,
+		long clen) {
+		throw new DMLRuntimeException("Parquet frames cannot be read from input streams.");
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.parquet.schema.MessageType;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.ParquetIOUtils.RowGroup;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Multi-threaded frame parquet reader, reading the row groups of all files in parallel into disjoint row ranges of
+ * the output frame.
+ */
+public class FrameReaderParquetParallel extends FrameReaderParquet {
+
+	public FrameReaderParquetParallel() {
+		super();
+	}
+
+	public FrameReaderParquetParallel(String[] columns) {
+		super(columns);
+	}
+
+	@Override
+	protected void readParquetFrame(JobConf job, List<RowGroup> groups, MessageType schema, FrameBlock dest)
+		throws IOException {
+		final int numThreads = Math.min(OptimizerUtils.getParallelBinaryReadParallelism(), groups.size());
+		if(numThreads <= 1) {
+			super.readParquetFrame(job, groups, schema, dest);
+			return;
+		}
+
+		final ExecutorService pool = CommonThreadPool.get(numThreads);
+		try {
+			final List<Callable<Object>> tasks = new ArrayList<>(groups.size());
+			for(RowGroup g : groups)
+				tasks.add(() -> {
+					readRowGroup(job, g, schema, dest);
+					return null;
+				});
+			for(Future<Object> task : pool.invokeAll(tasks))
+				task.get();
+		}
+		catch(Exception e) {
+			throw new IOException("Failed parallel read of parquet input.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+}
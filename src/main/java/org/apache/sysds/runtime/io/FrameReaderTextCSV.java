@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.io;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Set;
 
 import org.apache.hadoop.fs.FileSystem;
@@ -41,6 +42,7 @@ import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.Pair;
 import org.apache.sysds.runtime.transform.TfUtils;
 import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.IndexRange;
 import org.apache.sysds.runtime.util.InputStreamInputFormat;
 
 /**
@@ -102,6 +104,61 @@ public class FrameReaderTextCSV extends FrameReader {
 		return ret;
 	}
 
+	@Override
+	public FrameChunkIterator readFrameChunks(String fname, ValueType[] schema, String[] names, long rlen, long clen,
+		int chunkRows) throws IOException
+	{
+		// prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		FileInputFormat.addInputPath(job, path);
+		checkValidInputFile(fs, path);
+
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		InputSplit[] splits = IOUtilFunctions.sortInputSplits(informat.getSplits(job, 1));
+
+		// obtain the number of columns without a full pass over the data
+		if(clen <= 0)
+			clen = IOUtilFunctions.countNumColumnsCSV(splits, informat, job, _props.getDelim());
+		ValueType[] lschema = createOutputSchema(schema != null ? schema : getDefSchema(clen), clen);
+		String[] lnames = createOutputNames(names != null ? names : getDefColNames(clen), clen);
+		return new CSVFrameChunkIterator(splits, informat, job, lschema, lnames, chunkRows);
+	}
+
+	@Override
+	public FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, long rlen, long clen, IndexRange ix)
+		throws IOException, DMLRuntimeException {
+		// prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		FileInputFormat.addInputPath(job, path);
+		checkValidInputFile(fs, path);
+
+		// compute size if necessary
+		if(rlen <= 0 || clen <= 0) {
+			Pair<Integer, Integer> size = computeCSVSize(path, job, fs);
+			rlen = size.getKey();
+			clen = size.getValue();
+		}
+		MatrixReader.checkValidIndexRange(ix, rlen, clen);
+
+		// allocate output frame block of the requested range
+		int cl = (int) ix.colStart, cu = (int) ix.colEnd;
+		String[] lnames = Arrays.copyOfRange(getDefColNames(clen), cl, cu + 1);
+		FrameBlock ret = createOutputFrameBlock(schema, lnames, ix.rowEnd - ix.rowStart + 1);
+
+		// streaming read of the sorted splits until the last requested row
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		InputSplit[] splits = IOUtilFunctions.sortInputSplits(informat.getSplits(job, 1));
+		for(int i = 0, row = 0; i < splits.length && row <= ix.rowEnd; i++)
+			row = readCSVFrameRangeFromInputSplit(splits[i], informat, job, ret, ix, clen, row, i == 0);
+		return ret;
+	}
+
 	protected void readCSVFrameFromHDFS(Path path, JobConf job, FileSystem fs, FrameBlock dest, ValueType[] schema,
 		String[] names, long rlen, long clen) throws IOException
 	{
@@ -186,19 +243,85 @@ public class FrameReaderTextCSV extends FrameReader {
 		return row;
 	}
 
+	private int readCSVFrameRangeFromInputSplit(InputSplit split, InputFormat<LongWritable, Text> informat,
+		JobConf job, FrameBlock dest, IndexRange ix, long clen, int row, boolean first) throws IOException {
+		final int rl = (int) ix.rowStart, ru = (int) ix.rowEnd;
+		final int cl = (int) ix.colStart, nCol = dest.getNumColumns();
+		final Set<String> naValues = _props.getNAStrings();
+		final String delim = _props.getDelim();
+		final String sfillValue = String.valueOf(_props.getFillValue());
+
+		// create record reader
+		RecordReader<LongWritable, Text> reader = informat.getRecordReader(split, job, Reporter.NULL);
+		LongWritable key = new LongWritable();
+		Text value = new Text();
+
+		// handle header if existing (names of the requested columns only)
+		if(first && _props.hasHeader() && reader.next(key, value))
+			dest.setColumnNames(Arrays.copyOfRange(value.toString().split(delim), cl, cl + nCol));
+
+		try {
+			String[] parts = null; // cache array for line reading.
+			while(row <= ru && reader.next(key, value)) { // foreach line up to the last requested row
+				String cellStr = IOUtilFunctions.trim(value.toString());
+				boolean mtd = cellStr.startsWith(TfUtils.TXMTD_MVPREFIX) || cellStr.startsWith(TfUtils.TXMTD_NDPREFIX);
+				if(row < rl && !mtd) { // skip leading rows w/o parsing
+					row++;
+					continue;
+				}
+				parts = IOUtilFunctions.splitCSV(cellStr, delim, parts);
+
+				// parse frame meta data (missing values / num distinct) of the requested columns
+				final boolean mtdP = parts[0].equals(TfUtils.TXMTD_MVPREFIX);
+				final boolean mtdx = parts[0].equals(TfUtils.TXMTD_NDPREFIX);
+				if(mtdP || mtdx) {
+					if(parts.length != clen + 1)
+						LOG.warn("Invalid metadata ");
+					else
+						for(int j = 0; j < nCol; j++) {
+							if(mtdP)
+								dest.getColumnMetadata(j).setMvValue(parts[cl + j + 1]);
+							else
+								dest.getColumnMetadata(j).setNumDistinct(Long.parseLong(parts[cl + j + 1]));
+						}
+					parts = null;
+					continue;
+				}
+
+				if(row >= rl) {
+					IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", cellStr, parts, clen);
+					boolean emptyValuesFound = (!_props.isFill() && naValues == null) ?
+						assignColumnsNoFillNoNan(row - rl, cl, nCol, dest, parts) :
+						assignColumnsGeneric(row - rl, cl, nCol, dest, parts, naValues, _props.isFill(),
+							_props.getFillValue(), sfillValue);
+					IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _props.isFill(), emptyValuesFound);
+				}
+				row++;
+			}
+		}
+		catch(Exception e) {
+			throw new DMLRuntimeException("Failed parsing string: \"" + value + "\"", e);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(reader);
+		}
+
+		return row;
+	}
+
 	private boolean assignColumns(int row, int nCol, FrameBlock dest, String[] parts, Set<String> naValues,
 		boolean isFill, double dfillValue, String sfillValue) {
 		if(!isFill && naValues == null)
-			return assignColumnsNoFillNoNan(row, nCol, dest, parts);
+			return assignColumnsNoFillNoNan(row, 0, nCol, dest, parts);
 		else 
-			return assignColumnsGeneric(row, nCol, dest, parts, naValues, isFill, dfillValue, sfillValue);
+			return assignColumnsGeneric(row, 0, nCol, dest, parts, naValues, isFill, dfillValue, sfillValue);
 	}
 
-	private boolean assignColumnsGeneric(int row, int nCol, FrameBlock dest, String[] parts, Set<String> naValues,
-		boolean isFill, double dfillValue, String sfillValue) {
+	private boolean assignColumnsGeneric(int row, int cl, int nCol, FrameBlock dest, String[] parts,
+		Set<String> naValues, boolean isFill, double dfillValue, String sfillValue) {
 		boolean emptyValuesFound = false;
 		for(int col = 0; col < nCol; col++) {
-			String part = IOUtilFunctions.trim(parts[col]);
+			String part = IOUtilFunctions.trim(parts[cl + col]);
 			if(part.isEmpty() || (naValues != null && naValues.contains(part))) {
 				if(isFill && dfillValue != 0)
 					dest.set(row, col, sfillValue);
@@ -211,11 +334,11 @@ public class FrameReaderTextCSV extends FrameReader {
 		return emptyValuesFound;
 	}
 
-	private boolean assignColumnsNoFillNoNan(int row, int nCol, FrameBlock dest, String[] parts){
+	private boolean assignColumnsNoFillNoNan(int row, int cl, int nCol, FrameBlock dest, String[] parts){
 		
 		boolean emptyValuesFound = false;
 		for(int col = 0; col < nCol; col++) {
-			String part = IOUtilFunctions.trim(parts[col]);
+			String part = IOUtilFunctions.trim(parts[cl + col]);
 			if(part.isEmpty()) 
 				emptyValuesFound = true;
 			else
@@ -225,6 +348,66 @@ public class FrameReaderTextCSV extends FrameReader {
 		return emptyValuesFound;
 	}
 
+	/**
+	 * Streaming CSV chunk iterator, which consumes the header of the first split and retains frame meta data lines
+	 * (missing values and number of distinct values) for all subsequent chunks.
+	 */
+	private class CSVFrameChunkIterator extends TextFrameChunkIterator {
+		private final String[] _mvValues;
+		private final long[] _numDistinct;
+		private String[] _parts = null;
+
+		protected CSVFrameChunkIterator(InputSplit[] splits, InputFormat<LongWritable, Text> informat, JobConf job,
+			ValueType[] schema, String[] names, int chunkRows) {
+			super(splits, informat, job, schema, names, chunkRows);
+			_mvValues = new String[schema.length];
+			_numDistinct = new long[schema.length];
+		}
+
+		@Override
+		protected void openSplit(int split, RecordReader<LongWritable, Text> reader, LongWritable key, Text value)
+			throws IOException {
+			if(split == 0 && _props.hasHeader() && reader.next(key, value))
+				_names = value.toString().split(_props.getDelim());
+		}
+
+		@Override
+		protected boolean parseLine(String line, FrameBlock dest, int row) throws IOException {
+			final int nCol = _schema.length;
+			String cellStr = IOUtilFunctions.trim(line);
+			_parts = IOUtilFunctions.splitCSV(cellStr, _props.getDelim(), _parts);
+
+			// parse frame meta data (missing values / num distinct)
+			final boolean mtdP = _parts[0].equals(TfUtils.TXMTD_MVPREFIX);
+			final boolean mtdx = _parts[0].equals(TfUtils.TXMTD_NDPREFIX);
+			if(mtdP || mtdx) {
+				if(_parts.length != nCol + 1)
+					LOG.warn("Invalid metadata ");
+				else
+					for(int j = 0; j < nCol; j++) {
+						if(mtdP)
+							_mvValues[j] = _parts[j + 1];
+						else
+							_numDistinct[j] = Long.parseLong(_parts[j + 1]);
+					}
+				_parts = null;
+				return false;
+			}
+
+			IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", cellStr, _parts, nCol);
+			assignColumns(row, nCol, dest, _parts, _props.getNAStrings(), _props.isFill(), _props.getFillValue(),
+				String.valueOf(_props.getFillValue()));
+			if(row == 0)
+				for(int j = 0; j < nCol; j++) {
+					if(_mvValues[j] != null)
+						dest.getColumnMetadata(j).setMvValue(_mvValues[j]);
+					if(_numDistinct[j] > 0)
+						dest.getColumnMetadata(j).setNumDistinct(_numDistinct[j]);
+				}
+			return true;
+		}
+	}
+
 	protected Pair<Integer, Integer> computeCSVSize(Path path, JobConf job, FileSystem fs) throws IOException {
 		TextInputFormat informat = new TextInputFormat();
 		informat.configure(job);
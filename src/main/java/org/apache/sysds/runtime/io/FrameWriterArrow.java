@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.util.HDFSTool;
+
+/**
+ * Frame writer for the Arrow IPC file format (Feather v2), writing uncompressed record batches of bounded size.
+ */
+public class FrameWriterArrow extends FrameWriter {
+
+	@Override
+	public void writeFrameToHDFS(FrameBlock src, String fname, long rlen, long clen) throws IOException {
+		// prepare file access
+		final JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		final Path path = new Path(fname);
+		final FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		// if the file already exists on HDFS, remove it.
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+
+		// validity check frame dimensions
+		if(src.getNumRows() != rlen || src.getNumColumns() != clen)
+			throw new IOException("Frame dimensions mismatch with metadata: " + src.getNumRows() + "x"
+				+ src.getNumColumns() + " vs " + rlen + "x" + clen + ".");
+
+		try(OutputStream os = new BufferedOutputStream(fs.create(path, true))) {
+			ArrowIOUtils.writeFrame(os, src, 0, src.getNumRows());
+		}
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	/**
+	 * Write a frame as a complete Arrow IPC file to the given output stream.
+	 * 
+	 * @param os  The output stream, not closed by this method
+	 * @param src The frame to write
+	 * @throws IOException If the write fails
+	 */
+	public static void writeArrowFrame(OutputStream os, FrameBlock src) throws IOException {
+		ArrowIOUtils.writeFrame(os, src, 0, src.getNumRows());
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.BitSetArray;
+import org.apache.sysds.runtime.frame.data.columns.BooleanArray;
+import org.apache.sysds.runtime.frame.data.columns.DDCArray;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.HDFSTool;
+
+/**
+ * Frame writer for the columnar binary frame format. In contrast to the row-partitioned binary block format, every
+ * column is stored as a separate segment, which allows readers to decode a subset of the columns without touching
+ * the others. The file layout is
+ * 
+ * <pre>
+ * MAGIC | column segments | footer | footer offset (long) | MAGIC
+ * footer: nrow (int), ncol (int), per column: value type, segment offset, segment length, name, metadata
+ * </pre>
+ * 
+ * Columns are encoded independently and in parallel: boolean columns as bitsets, string-like columns with few
+ * distinct values as dictionary (DDC) arrays, and all remaining columns in their plain array representation. The
+ * segments are self-describing (see {@link org.apache.sysds.runtime.frame.data.columns.ArrayFactory#read}) and streamed to the output in column order, while the
+ * footer with their offsets is written last.
+ */
+public class FrameWriterColumnar extends FrameWriter {
+
+	/** Magic bytes at the beginning and the end of a columnar frame file */
+	protected static final byte[] MAGIC = "SDSFCOL1".getBytes(StandardCharsets.US_ASCII);
+
+	@Override
+	public void writeFrameToHDFS(FrameBlock src, String fname, long rlen, long clen) throws IOException {
+		// prepare file access
+		final JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		final Path path = new Path(fname);
+		final FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		// if the file already exists on HDFS, remove it.
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+
+		// validity check frame dimensions
+		if(src.getNumRows() != rlen || src.getNumColumns() != clen)
+			throw new IOException("Frame dimensions mismatch with metadata: " + src.getNumRows() + "x"
+				+ src.getNumColumns() + " vs " + rlen + "x" + clen + ".");
+
+		try(OutputStream os = new BufferedOutputStream(fs.create(path, true))) {
+			writeColumnarFrame(os, src);
+		}
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	/**
+	 * Write a frame as a complete columnar frame file to the given output stream.
+	 * 
+	 * @param os  The output stream, not closed by this method
+	 * @param src The frame to write
+	 * @throws IOException If the write fails
+	 */
+	public static void writeColumnarFrame(OutputStream os, FrameBlock src) throws IOException {
+		final int nCol = src.getNumColumns();
+		final int k = OptimizerUtils.getParallelBinaryWriteParallelism();
+		final CountingOutputStream cos = new CountingOutputStream(os);
+		final DataOutputStream out = new DataOutputStream(cos);
+		final long[] offsets = new long[nCol];
+		final long[] lengths = new long[nCol];
+
+		// write header and column segments (encoded in parallel, but written in column order)
+		out.write(MAGIC);
+		if(k > 1 && nCol > 1) {
+			final ExecutorService pool = CommonThreadPool.get(Math.min(k, nCol));
+			try {
+				final List<Future<Array<?>>> tasks = new ArrayList<>(nCol);
+				for(int j = 0; j < nCol; j++) {
+					final int c = j;
+					tasks.add(pool.submit(() -> encodeColumn(src, c)));
+				}
+				for(int j = 0; j < nCol; j++) {
+					writeColumn(out, cos, tasks.get(j).get(), j, offsets, lengths);
+					tasks.set(j, null); // release the encoded column
+				}
+			}
+			catch(InterruptedException | ExecutionException e) {
+				throw new IOException("Failed parallel encoding of columnar frame.", e);
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+		else {
+			for(int j = 0; j < nCol; j++)
+				writeColumn(out, cos, encodeColumn(src, j), j, offsets, lengths);
+		}
+
+		// write footer with the column directory
+		final long footerOffset = cos.getByteCount();
+		out.writeInt(src.getNumRows());
+		out.writeInt(nCol);
+		for(int j = 0; j < nCol; j++) {
+			out.writeByte(src.getSchema()[j].ordinal());
+			out.writeLong(offsets[j]);
+			out.writeLong(lengths[j]);
+			out.writeUTF(src.getColumnName(j));
+			src.getColumnMetadata(j).write(out);
+		}
+		out.writeLong(footerOffset);
+		out.write(MAGIC);
+		out.flush();
+	}
+
+	private static void writeColumn(DataOutputStream out, CountingOutputStream cos, Array<?> a, int c,
+		long[] offsets, long[] lengths) throws IOException {
+		offsets[c] = cos.getByteCount();
+		if(a != null)
+			a.write(out);
+		lengths[c] = cos.getByteCount() - offsets[c];
+	}
+
+	private static Array<?> encodeColumn(FrameBlock src, int c) {
+		final Array<?> a = src.getNumRows() > 0 ? src.getColumn(c) : null;
+		return (a != null) ? encodeArray(a, src.getSchema()[c]) : null;
+	}
+
+	private static Array<?> encodeArray(Array<?> a, ValueType vt) {
+		if(a instanceof DDCArray || a instanceof BitSetArray)
+			return a;
+		else if(a instanceof BooleanArray)
+			return new BitSetArray(((BooleanArray) a).get());
+		else if(!vt.isNumeric() && vt != ValueType.BOOLEAN)
+			return DDCArray.compressToDDC(a);
+		return a;
+	}
+}
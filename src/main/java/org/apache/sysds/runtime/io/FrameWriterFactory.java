@@ -50,6 +50,12 @@ public class FrameWriterFactory {
 				return binaryParallel ? new FrameWriterBinaryBlockParallel() : new FrameWriterBinaryBlock();
 			case PROTO:
 				return new FrameWriterProto();
+			case PARQUET:
+				return binaryParallel ? new FrameWriterParquetParallel() : new FrameWriterParquet();
+			case ARROW:
+				return new FrameWriterArrow();
+			case COLUMNAR:
+				return new FrameWriterColumnar();
 			default:
 				throw new DMLRuntimeException("Failed to create frame writer for unknown format: " + fmt.toString());
 		}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.schema.MessageType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.util.HDFSTool;
+
+/**
+ * Single-threaded frame parquet writer, writing the typed frame columns as parquet physical types.
+ */
+public class FrameWriterParquet extends FrameWriter {
+
+	@Override
+	public void writeFrameToHDFS(FrameBlock src, String fname, long rlen, long clen) throws IOException {
+		// prepare file access
+		final JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		final Path path = new Path(fname);
+
+		// if the file already exists on HDFS, remove it.
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+
+		// validity check frame dimensions
+		if(src.getNumRows() != rlen || src.getNumColumns() != clen)
+			throw new IOException("Frame dimensions mismatch with metadata: " + src.getNumRows() + "x"
+				+ src.getNumColumns() + " vs " + rlen + "x" + clen + ".");
+
+		final MessageType schema = ParquetIOUtils.createFrameSchema(src.getSchema(), src.getColumnNames());
+		writeParquetFrameToHDFS(path, job, src, schema);
+	}
+
+	protected void writeParquetFrameToHDFS(Path path, JobConf job, FrameBlock src, MessageType schema)
+		throws IOException {
+		final FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		writeParquetFrameToFile(path, job, src, schema, 0, src.getNumRows());
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	protected static void writeParquetFrameToFile(Path path, JobConf job, FrameBlock src, MessageType schema, int rl,
+		int ru) throws IOException {
+		try(ParquetWriter<Integer> writer = ParquetIOUtils.createFrameWriter(path, job, src, schema)) {
+			for(int i = rl; i < ru; i++)
+				writer.write(i);
+		}
+	}
+}
@@ -77,6 +77,14 @@ public class InputOutputInfo implements Serializable
 		TextInputFormat.class, TextOutputFormat.class, LongWritable.class, Text.class);
 	public static final InputOutputInfo HDF5InputOutputInfo = new InputOutputInfo(
 		TextInputFormat.class, TextOutputFormat.class, LongWritable.class, Text.class);
+	public static final InputOutputInfo ParquetInputOutputInfo = new InputOutputInfo(
+		TextInputFormat.class, TextOutputFormat.class, LongWritable.class, Text.class);
+	public static final InputOutputInfo ArrowInputOutputInfo = new InputOutputInfo(
+		TextInputFormat.class, TextOutputFormat.class, LongWritable.class, Text.class);
+	public static final InputOutputInfo NativeInputOutputInfo = new InputOutputInfo(
+		TextInputFormat.class, TextOutputFormat.class, LongWritable.class, Text.class);
+	public static final InputOutputInfo ColumnarInputOutputInfo = new InputOutputInfo(
+		TextInputFormat.class, TextOutputFormat.class, LongWritable.class, Text.class);
 	public static final InputOutputInfo CompressedInputOutputInfo = new InputOutputInfo(
 		SequenceFileInputFormat.class, SequenceFileOutputFormat.class, MatrixIndexes.class, CompressedWriteBlock.class);
 
@@ -88,6 +96,10 @@ public class InputOutputInfo implements Serializable
 			case CSV:    return CSVInputOutputInfo;
 			case LIBSVM: return LIBSVMInputOutputInfo;
 			case HDF5:   return HDF5InputOutputInfo;
+			case PARQUET: return ParquetInputOutputInfo;
+			case NATIVE: return NativeInputOutputInfo;
+			case ARROW:  return ArrowInputOutputInfo;
+			case COLUMNAR: return ColumnarInputOutputInfo;
 			case BINARY: {
 				switch( dt ) {
 					case MATRIX: return BinaryBlockInputOutputInfo;
@@ -0,0 +1,436 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.util.UtilFunctions;
+import org.apache.sysds.utils.DoubleParser;
+
+/**
+ * Schema-driven JSONL row parser, which scans the UTF-8 bytes of a line directly against a prefix tree of the
+ * requested JSON paths. Irrelevant keys are skipped without building objects, string contents are scanned eight bytes
+ * at a time, and numeric and boolean values are parsed from bytes straight into the typed column arrays.
+ * 
+ * Lines with constructs outside this fast path (e.g., arrays or objects as requested values, or nulls on intermediate
+ * path elements) are reported as unsupported, and the caller falls back to the generic JSON parser.
+ */
+final class JSONLRowParser {
+	private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+	private static final long ONES = 0x0101010101010101L;
+	private static final long HIGHS = 0x8080808080808080L;
+	private static final long QUOTES = 0x2222222222222222L;
+	private static final long SLASHES = 0x5C5C5C5C5C5C5C5CL;
+
+	/** Path prefix tree node, with the column index of complete paths */
+	private static final class Node {
+		private byte[][] _keys = new byte[0][];
+		private Node[] _children = new Node[0];
+		private int _col = -1;
+
+		private Node getOrCreate(byte[] key) {
+			Node ret = get(key, 0, key.length);
+			if(ret == null) {
+				ret = new Node();
+				_keys = Arrays.copyOf(_keys, _keys.length + 1);
+				_children = Arrays.copyOf(_children, _children.length + 1);
+				_keys[_keys.length - 1] = key;
+				_children[_children.length - 1] = ret;
+			}
+			return ret;
+		}
+
+		private Node get(byte[] buf, int off, int len) {
+			for(int i = 0; i < _keys.length; i++)
+				if(Arrays.equals(_keys[i], 0, _keys[i].length, buf, off, off + len))
+					return _children[i];
+			return null;
+		}
+
+		private boolean isLeaf() {
+			return _keys.length == 0;
+		}
+	}
+
+	private final Node _root = new Node();
+	private final ValueType[] _schema;
+	private final int[] _cols;
+	private final boolean[] _seen;
+
+	// current line and scan position
+	private byte[] _buf;
+	private int _pos;
+	private int _end;
+	private boolean _unsupported;
+	private byte[] _tmp = new byte[64];
+
+	/**
+	 * Creates a row parser for the given schema and mapping of JSON paths to column indexes.
+	 * 
+	 * @param schema    value types of the input values
+	 * @param schemaMap mapping of JSON paths (e.g., /a/b) to column indexes
+	 */
+	JSONLRowParser(ValueType[] schema, Map<String, Integer> schemaMap) {
+		_schema = schema;
+		List<Integer> cols = new ArrayList<>();
+		for(Map.Entry<String, Integer> e : schemaMap.entrySet()) {
+			Node node = _root;
+			for(String seg : e.getKey().split("/"))
+				if(!seg.isEmpty())
+					node = node.getOrCreate(seg.getBytes(StandardCharsets.UTF_8));
+			if(node != _root)
+				node._col = e.getValue();
+			cols.add(e.getValue());
+		}
+		_cols = cols.stream().mapToInt(i -> i).toArray();
+		_seen = new boolean[Arrays.stream(_cols).max().orElse(-1) + 1];
+	}
+
+	/**
+	 * Parses a single line into the given row of the destination frame. Requested paths that do not exist in the line
+	 * are set to null.
+	 * 
+	 * @param buf  line buffer
+	 * @param len  line length in bytes
+	 * @param dest destination frame
+	 * @param row  row index
+	 * @return false if the line requires the generic parser, true otherwise
+	 */
+	boolean parse(byte[] buf, int len, FrameBlock dest, int row) {
+		_buf = buf;
+		_pos = 0;
+		_end = len;
+		_unsupported = false;
+		Arrays.fill(_seen, false);
+		skipWhitespace();
+		if(_pos >= _end || _buf[_pos] != '{')
+			return false;
+		parseObject(_root, dest, row);
+		if(_unsupported)
+			return false;
+		skipWhitespace();
+		if(_pos != _end)
+			return false;
+		for(int col : _cols)
+			if(!_seen[col])
+				dest.set(row, col, (Object) null);
+		return true;
+	}
+
+	private void parseObject(Node node, FrameBlock dest, int row) {
+		_pos++; // consume '{'
+		skipWhitespace();
+		if(peek() == '}') {
+			_pos++;
+			return;
+		}
+		while(!_unsupported) {
+			skipWhitespace();
+			if(peek() != '"') {
+				_unsupported = true;
+				return;
+			}
+			// match key against the path prefix tree
+			int kbeg = _pos + 1;
+			int kend = scanString();
+			if(kend < 0)
+				return;
+			Node child = matchKey(node, kbeg, kend);
+			skipWhitespace();
+			if(peek() != ':') {
+				_unsupported = true;
+				return;
+			}
+			_pos++;
+			skipWhitespace();
+
+			if(child == null)
+				skipValue();
+			else if(child._col >= 0 && child.isLeaf())
+				parseValue(child._col, dest, row);
+			else if(peek() == '{' && child._col < 0)
+				parseObject(child, dest, row);
+			else if(peek() == '[' || peek() == 'n' || child._col >= 0)
+				_unsupported = true; // array traversal, null prefix, or overlapping paths
+			else
+				skipValue(); // primitive on intermediate path element yields nulls
+
+			skipWhitespace();
+			byte c = peek();
+			_pos++;
+			if(c == '}')
+				return;
+			else if(c != ',')
+				_unsupported = true;
+		}
+	}
+
+	private Node matchKey(Node node, int kbeg, int kend) {
+		if(!containsEscape(kbeg, kend))
+			return node.get(_buf, kbeg, kend - kbeg);
+		byte[] key = unescape(kbeg, kend).getBytes(StandardCharsets.UTF_8);
+		return node.get(key, 0, key.length);
+	}
+
+	private void parseValue(int col, FrameBlock dest, int row) {
+		_seen[col] = true;
+		byte c = peek();
+		if(c == '"') {
+			int beg = _pos + 1;
+			int end = scanString();
+			if(end < 0)
+				return;
+			String str = containsEscape(beg, end) ? unescape(beg, end) :
+				new String(_buf, beg, end - beg, StandardCharsets.UTF_8);
+			if(!_unsupported)
+				dest.set(row, col, UtilFunctions.stringToObject(_schema[col], str));
+		}
+		else if(c == '{' || c == '[') {
+			_unsupported = true; // nested values as json strings
+		}
+		else {
+			int beg = _pos;
+			skipLiteral();
+			int end = _pos;
+			if(end == beg) {
+				_unsupported = true;
+				return;
+			}
+			setLiteral(dest.getColumn(col), col, dest, row, beg, end);
+		}
+	}
+
+	private void setLiteral(Array<?> arr, int col, FrameBlock dest, int row, int beg, int end) {
+		final byte c = _buf[beg];
+		if(c == 'n') {
+			if(!matches(beg, end, "null"))
+				_unsupported = true;
+			else
+				dest.set(row, col, (Object) null);
+			return;
+		}
+		if(c == 't' || c == 'f') {
+			boolean b = c == 't';
+			if(!matches(beg, end, b ? "true" : "false"))
+				_unsupported = true;
+			else if(_schema[col] == ValueType.BOOLEAN && arr.getValueType() == ValueType.BOOLEAN)
+				arr.set(row, b ? 1 : 0);
+			else
+				dest.set(row, col, UtilFunctions.stringToObject(_schema[col], String.valueOf(b)));
+			return;
+		}
+
+		// numeric literals, parsed directly into typed columns
+		final ValueType vt = _schema[col];
+		final boolean isInt = isIntegerLiteral(beg, end);
+		if(vt == ValueType.FP64 && arr.getValueType() == ValueType.FP64)
+			arr.set(row, DoubleParser.parseFloatingPointLiteral(_buf, beg, end));
+		else if(isInt && (vt == ValueType.INT64 || vt == ValueType.INT32) && arr.getValueType() == vt
+			&& end - beg < (vt == ValueType.INT64 ? 16 : 10))
+			arr.set(row, parseLong(beg, end)); // exact via double up to 15 digits
+		else {
+			// normalize number representation as the generic json parser
+			String str = new String(_buf, beg, end - beg, StandardCharsets.US_ASCII);
+			if(isInt && end - beg < 19)
+				str = String.valueOf(Long.parseLong(str));
+			else if(!isInt)
+				str = String.valueOf(Double.parseDouble(str));
+			dest.set(row, col, UtilFunctions.stringToObject(vt, str));
+		}
+	}
+
+	private boolean isIntegerLiteral(int beg, int end) {
+		int i = (_buf[beg] == '-') ? beg + 1 : beg;
+		if(i == end)
+			return false;
+		for(; i < end; i++)
+			if(_buf[i] < '0' || _buf[i] > '9')
+				return false;
+		return true;
+	}
+
+	private long parseLong(int beg, int end) {
+		boolean neg = _buf[beg] == '-';
+		long ret = 0;
+		for(int i = neg ? beg + 1 : beg; i < end; i++)
+			ret = ret * 10 + (_buf[i] - '0');
+		return neg ? -ret : ret;
+	}
+
+	private boolean matches(int beg, int end, String lit) {
+		if(end - beg != lit.length())
+			return false;
+		for(int i = 0; i < lit.length(); i++)
+			if(_buf[beg + i] != lit.charAt(i))
+				return false;
+		return true;
+	}
+
+	private void skipValue() {
+		byte c = peek();
+		if(c == '"')
+			scanString();
+		else if(c == '{' || c == '[') {
+			// skip nested structures by bracket depth, with strings scanned as a whole
+			int depth = 0;
+			while(_pos < _end) {
+				c = _buf[_pos];
+				if(c == '"') {
+					if(scanString() < 0)
+						return;
+					continue;
+				}
+				if(c == '{' || c == '[')
+					depth++;
+				else if(c == '}' || c == ']') {
+					if(--depth == 0) {
+						_pos++;
+						return;
+					}
+				}
+				_pos++;
+			}
+			_unsupported = true;
+		}
+		else {
+			int beg = _pos;
+			skipLiteral();
+			if(beg == _pos)
+				_unsupported = true;
+		}
+	}
+
+	private void skipLiteral() {
+		while(_pos < _end) {
+			byte c = _buf[_pos];
+			if(c == ',' || c == '}' || c == ']' || c == ' ' || c == '\t' || c == '\r' || c == '\n')
+				return;
+			_pos++;
+		}
+	}
+
+	/**
+	 * Scans a string starting at the current quote, and positions after the closing quote.
+	 * 
+	 * @return end index of the string contents (exclusive), or -1 if unterminated
+	 */
+	private int scanString() {
+		int i = _pos + 1;
+		while(true) {
+			i = findQuoteOrEscape(i);
+			if(i >= _end) {
+				_unsupported = true;
+				return -1;
+			}
+			if(_buf[i] == '"') {
+				_pos = i + 1;
+				return i;
+			}
+			i += 2; // skip escaped character
+		}
+	}
+
+	/**
+	 * Finds the next quote or backslash, testing eight bytes at a time via bitwise zero-byte detection.
+	 * 
+	 * @param i start index
+	 * @return index of the next quote or backslash, or the line end
+	 */
+	private int findQuoteOrEscape(int i) {
+		for(; i + 8 <= _end; i += 8) {
+			long w = (long) LONG.get(_buf, i);
+			long q = w ^ QUOTES;
+			long s = w ^ SLASHES;
+			long m = ((q - ONES) & ~q | (s - ONES) & ~s) & HIGHS;
+			if(m != 0)
+				return i + (Long.numberOfTrailingZeros(m) >>> 3);
+		}
+		for(; i < _end; i++)
+			if(_buf[i] == '"' || _buf[i] == '\\')
+				return i;
+		return _end;
+	}
+
+	private boolean containsEscape(int beg, int end) {
+		for(int i = beg; i < end; i++)
+			if(_buf[i] == '\\')
+				return true;
+		return false;
+	}
+
+	private String unescape(int beg, int end) {
+		if(_tmp.length < end - beg)
+			_tmp = new byte[end - beg];
+		StringBuilder sb = new StringBuilder(end - beg);
+		int tlen = 0;
+		for(int i = beg; i < end; i++) {
+			byte c = _buf[i];
+			if(c != '\\') {
+				_tmp[tlen++] = c;
+				continue;
+			}
+			// flush pending utf-8 bytes before decoded escape
+			sb.append(new String(_tmp, 0, tlen, StandardCharsets.UTF_8));
+			tlen = 0;
+			char e = (char) _buf[++i];
+			switch(e) {
+				case 'b': sb.append('\b'); break;
+				case 'f': sb.append('\f'); break;
+				case 'n': sb.append('\n'); break;
+				case 'r': sb.append('\r'); break;
+				case 't': sb.append('\t'); break;
+				case 'u':
+					sb.append((char) Integer.parseInt(new String(_buf, i + 1, 4, StandardCharsets.US_ASCII), 16));
+					i += 4;
+					break;
+				case '"':
+				case '\\':
+				case '/': sb.append(e); break;
+				default: _unsupported = true; // non-standard escapes via generic parser
+			}
+		}
+		sb.append(new String(_tmp, 0, tlen, StandardCharsets.UTF_8));
+		return sb.toString();
+	}
+
+	private void skipWhitespace() {
+		while(_pos < _end) {
+			byte c = _buf[_pos];
+			if(c != ' ' && c != '\t' && c != '\r' && c != '\n')
+				return;
+			_pos++;
+		}
+	}
+
+	private byte peek() {
+		return _pos < _end ? _buf[_pos] : 0;
+	}
+}
@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.io.NativeIOUtils.Index;
+import org.apache.sysds.runtime.io.NativeIOUtils.Panel;
+
+/**
+ * Read-only, memory-mapped view of a matrix in the native binary format (see {@link NativeIOUtils}), which gives
+ * row-wise access without reading the matrix into the heap. This is intended for large lookup tables such as
+ * pretrained word embeddings, where only the rows referenced by the current input are needed.
+ *
+ * Views are shared per file via {@link #get(String)}, such that parfor workers and repeated calls in the same process
+ * reuse one mapping (backed by the OS page cache) instead of creating per-worker heap copies. The shared views are
+ * only weakly referenced, i.e., a mapping is released once no encoder or caller holds its view anymore. All row
+ * accessors are thread-safe.
+ */
+public class MappedNativeMatrix {
+	private static final ConcurrentHashMap<String, WeakReference<MappedNativeMatrix>> _cache =
+		new ConcurrentHashMap<>();
+
+	private final String _fname;
+	private final long _modified;
+	private final int _rlen;
+	private final int _clen;
+	private final int[] _rl;
+	private final int[] _types;
+	private final DoubleBuffer[] _values;
+	private final IntBuffer[] _rowPtr;
+	private final IntBuffer[] _colInd;
+
+	private MappedNativeMatrix(String fname, File file) throws IOException {
+		_fname = fname;
+		_modified = file.lastModified();
+		try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			final Index index = NativeIOUtils.readIndex(channel);
+			if(index.rlen > Integer.MAX_VALUE || index.clen > Integer.MAX_VALUE)
+				throw new IOException("Mapped native matrix exceeds max dimensions: [" + index.rlen + "x"
+					+ index.clen + "].");
+			_rlen = (int) index.rlen;
+			_clen = (int) index.clen;
+			final Panel[] panels = index.panels;
+			_rl = new int[panels.length];
+			_types = new int[panels.length];
+			_values = new DoubleBuffer[panels.length];
+			_rowPtr = new IntBuffer[panels.length];
+			_colInd = new IntBuffer[panels.length];
+			// mappings remain valid after closing the channel
+			for(int i = 0; i < panels.length; i++) {
+				final Panel p = panels[i];
+				_rl[i] = p.rl;
+				_types[i] = p.type;
+				if(p.type == NativeIOUtils.EMPTY)
+					continue;
+				final ByteBuffer buff = NativeIOUtils.mapPanel(channel, p);
+				if(p.type == NativeIOUtils.DENSE) {
+					_values[i] = buff.asDoubleBuffer();
+				}
+				else {
+					_rowPtr[i] = buff.asIntBuffer();
+					_colInd[i] = buff.duplicate().position(4 * (p.rows + 1)).slice().order(buff.order())
+						.asIntBuffer();
+					_values[i] = buff.duplicate().position((int) NativeIOUtils.getValuesOffset(p.rows, p.nnz))
+						.slice().order(buff.order()).asDoubleBuffer();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the shared mapped view of the given native binary file, which is created on first access and re-created if
+	 * the file has been modified since.
+	 *
+	 * @param fname file name on the local file system
+	 * @return the shared mapped view
+	 * @throws IOException if the file is not local or not a valid native binary file
+	 */
+	public static MappedNativeMatrix get(String fname) throws IOException {
+		final Path path = new Path(fname);
+		final FileSystem fs = IOUtilFunctions.getFileSystem(path, ConfigurationManager.getCachedJobConf());
+		if(!NativeIOUtils.isLocal(fs))
+			throw new IOException("Mapped native matrices only supported on local file systems: " + fname);
+		final File file = new File(path.toUri().getPath());
+		if(!file.isFile())
+			throw new IOException("File " + fname + " does not exist or is not a file.");
+		final String key = file.getCanonicalPath();
+		final MappedNativeMatrix[] ret = new MappedNativeMatrix[1];
+		try {
+			_cache.compute(key, (k, ref) -> {
+				ret[0] = (ref != null) ? ref.get() : null;
+				if(ret[0] != null && ret[0]._modified == file.lastModified())
+					return ref;
+				try {
+					ret[0] = new MappedNativeMatrix(key, file);
+					return new WeakReference<>(ret[0]);
+				}
+				catch(IOException e) {
+					throw new RuntimeException(e);
+				}
+			});
+		}
+		catch(RuntimeException e) {
+			if(e.getCause() instanceof IOException)
+				throw (IOException) e.getCause();
+			throw e;
+		}
+		// drop the entries of views that have been garbage collected
+		_cache.values().removeIf(ref -> ref.get() == null);
+		return ret[0];
+	}
+
+	/**
+	 * Remove all shared views; existing references remain valid until they are garbage collected.
+	 */
+	public static void clearCache() {
+		_cache.clear();
+	}
+
+	/**
+	 * Get the canonical path of the mapped file, which identifies the shared view independent of the working directory.
+	 *
+	 * @return the canonical file name
+	 */
+	public String getFileName() {
+		return _fname;
+	}
+
+	public int getNumRows() {
+		return _rlen;
+	}
+
+	public int getNumColumns() {
+		return _clen;
+	}
+
+	/**
+	 * Copy row r into the dense target array at the given offset.
+	 *
+	 * @param r   row index (0-based)
+	 * @param dst target array
+	 * @param pos target offset of the first column
+	 */
+	public void getRow(int r, double[] dst, int pos) {
+		final int p = getPanel(r);
+		final int r2 = r - _rl[p];
+		switch(_types[p]) {
+			case NativeIOUtils.DENSE: {
+				final DoubleBuffer vals = _values[p].duplicate();
+				vals.position(r2 * _clen);
+				vals.get(dst, pos, _clen);
+				break;
+			}
+			case NativeIOUtils.SPARSE:
+				Arrays.fill(dst, pos, pos + _clen, 0);
+				addRowSparse(p, r2, dst, pos);
+				break;
+			default:
+				Arrays.fill(dst, pos, pos + _clen, 0);
+		}
+	}
+
+	/**
+	 * Add row r to the dense target array at the given offset.
+	 *
+	 * @param r   row index (0-based)
+	 * @param dst target array
+	 * @param pos target offset of the first column
+	 */
+	public void addRow(int r, double[] dst, int pos) {
+		final int p = getPanel(r);
+		final int r2 = r - _rl[p];
+		if(_types[p] == NativeIOUtils.DENSE) {
+			final DoubleBuffer vals = _values[p];
+			final int off = r2 * _clen;
+			for(int j = 0; j < _clen; j++)
+				dst[pos + j] += vals.get(off + j);
+		}
+		else if(_types[p] == NativeIOUtils.SPARSE)
+			addRowSparse(p, r2, dst, pos);
+	}
+
+	private void addRowSparse(int p, int r, double[] dst, int pos) {
+		final IntBuffer rptr = _rowPtr[p];
+		final IntBuffer cix = _colInd[p];
+		final DoubleBuffer vals = _values[p];
+		for(int k = rptr.get(r); k < rptr.get(r + 1); k++)
+			dst[pos + cix.get(k)] += vals.get(k);
+	}
+
+	private int getPanel(int r) {
+		if(r < 0 || r >= _rlen)
+			throw new IndexOutOfBoundsException("Row index " + r + " out of bounds [0, " + _rlen + ").");
+		// panels are non-empty row ranges in ascending order
+		final int ix = Arrays.binarySearch(_rl, r);
+		return (ix >= 0) ? ix : -ix - 2;
+	}
+}
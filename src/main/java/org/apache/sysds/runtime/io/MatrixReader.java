@@ -39,6 +39,7 @@ import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.IndexRange;
 
 /**
  * Base class for all format-specific matrix readers. Every reader is required to implement the basic 
@@ -61,6 +62,29 @@ public abstract class MatrixReader
 	public abstract MatrixBlock readMatrixFromInputStream( InputStream is, long rlen, long clen, int blen, long estnnz) 
 		throws IOException, DMLRuntimeException;
 	
+	/**
+	 * Reads the given row and column range of a matrix, e.g., for right indexing pushed down into the read.
+	 * Readers of formats that allow skipping parts of the input override this method; the default
+	 * implementation reads the entire matrix and slices the requested range.
+	 * 
+	 * @param fname file name
+	 * @param rlen number of rows of the entire matrix, or -1 if unknown
+	 * @param clen number of columns of the entire matrix, or -1 if unknown
+	 * @param blen number of rows/columns in a block
+	 * @param estnnz estimated number of non-zeros of the entire matrix
+	 * @param ix row and column range (0-based, inclusive)
+	 * @return matrix block of the requested range
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public MatrixBlock readMatrixFromHDFS( String fname, long rlen, long clen, int blen, long estnnz, IndexRange ix )
+		throws IOException, DMLRuntimeException
+	{
+		MatrixBlock ret = readMatrixFromHDFS(fname, rlen, clen, blen, estnnz);
+		checkValidIndexRange(ix, ret.getNumRows(), ret.getNumColumns());
+		return ret.slice((int)ix.rowStart, (int)ix.rowEnd, (int)ix.colStart, (int)ix.colEnd);
+	}
+	
 	/**
 	 * NOTE: mallocDense controls if the output matrix blocks is fully allocated, this can be redundant
 	 * if binary block read and single block. 
@@ -124,6 +148,21 @@ public abstract class MatrixReader
 		
 	}
 
+	protected static void checkValidIndexRange(IndexRange ix, long rlen, long clen) {
+		if( ix.rowStart < 0 || ix.rowStart > ix.rowEnd || ix.rowEnd >= rlen
+			|| ix.colStart < 0 || ix.colStart > ix.colEnd || ix.colEnd >= clen )
+			throw new DMLRuntimeException("Invalid read range "+ix.add(1)+" for matrix of size "+rlen+"x"+clen+".");
+	}
+
+	protected static long estimateNnzOfRange(long rlen, long clen, long estnnz, IndexRange ix) {
+		//uniform distribution of non-zeros, worst-case dense if unknown
+		long nrow = ix.rowEnd - ix.rowStart + 1;
+		long ncol = ix.colEnd - ix.colStart + 1;
+		if( estnnz < 0 || rlen <= 0 || clen <= 0 )
+			return nrow * ncol;
+		return (long) Math.min(Math.ceil((double) estnnz / rlen * nrow / clen * ncol), nrow * ncol);
+	}
+
 	protected static void sortSparseRowsParallel(MatrixBlock dest, long rlen, int k, ExecutorService pool) 
 		throws InterruptedException, ExecutionException
 	{
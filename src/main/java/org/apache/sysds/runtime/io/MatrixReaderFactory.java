@@ -68,6 +68,14 @@ public class MatrixReaderFactory {
 					new FileFormatPropertiesHDF5()) : new ReaderHDF5(new FileFormatPropertiesHDF5());
 				break;
 
+			case PARQUET:
+				reader = (par & mcsr) ? new ReaderParquetParallel() : new ReaderParquet();
+				break;
+
+			case NATIVE:
+				reader = new ReaderNative();
+				break;
+
 			case COMPRESSED:
 				reader = ReaderCompressed.create();
 				break;
@@ -124,6 +132,14 @@ public class MatrixReaderFactory {
 					fileFormatPropertiesHDF5);
 				break;
 
+			case PARQUET:
+				reader = (par & mcsr) ? new ReaderParquetParallel() : new ReaderParquet();
+				break;
+
+			case NATIVE:
+				reader = new ReaderNative();
+				break;
+
 			case COMPRESSED:
 				reader = new ReaderCompressed();
 				break;
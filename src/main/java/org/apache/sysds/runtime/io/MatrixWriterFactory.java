@@ -91,6 +91,15 @@ public class MatrixWriterFactory{
 				else
 					return new WriterHDF5((FileFormatPropertiesHDF5) props);
 
+			case PARQUET:
+				if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS) )
+					return new WriterParquetParallel();
+				else
+					return new WriterParquet();
+
+			case NATIVE:
+				return new WriterNative();
+
 			case COMPRESSED:
 				return WriterCompressed.create(props);
 
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.RawLocalFileSystem;
+
+/**
+ * Layout of the native binary block format for local file systems. In contrast to the binary block format, which
+ * serializes blocks into Hadoop sequence files, this format stores row panels of the matrix as aligned payloads in
+ * little-endian byte order, which allows reading and writing them with bulk transfers in parallel:
+ * 
+ * <pre>
+ * header:  magic "SYSDSNB1", int version, int npanels, long rlen, long clen, long nnz (padded to 64 bytes)
+ * index:   per panel: int rows, int type, long nnz, long offset, long length
+ * payload: DENSE  rows x clen doubles (row-major)
+ *          SPARSE int[rows+1] row pointers, int[nnz] column indexes, double[nnz] values (8-byte aligned)
+ * </pre>
+ * 
+ * All payloads start at 64-byte aligned offsets, and empty panels have no payload.
+ */
+public class NativeIOUtils {
+	public static final byte[] MAGIC = "SYSDSNB1".getBytes(StandardCharsets.US_ASCII);
+	public static final int VERSION = 1;
+	public static final int HEADER_SIZE = 64;
+	public static final int INDEX_ENTRY_SIZE = 32;
+	public static final int ALIGNMENT = 64;
+	/** Maximum dense payload size per panel, to allow mapping individual panels */
+	public static final long MAX_PANEL_SIZE = 1L << 30;
+
+	public static final int EMPTY = 0;
+	public static final int DENSE = 1;
+	public static final int SPARSE = 2;
+
+	private NativeIOUtils() {
+		// private constructor for static utility class
+	}
+
+	/** Index entry of a single row panel. */
+	protected static class Panel {
+		protected final int rl;
+		protected final int rows;
+		protected int type;
+		protected long nnz;
+		protected long offset;
+		protected long length;
+
+		protected Panel(int rl, int rows) {
+			this.rl = rl;
+			this.rows = rows;
+		}
+	}
+
+	/** Header and panel index of a native binary file. */
+	protected static class Index {
+		protected final long rlen;
+		protected final long clen;
+		protected final long nnz;
+		protected final Panel[] panels;
+
+		protected Index(long rlen, long clen, long nnz, Panel[] panels) {
+			this.rlen = rlen;
+			this.clen = clen;
+			this.nnz = nnz;
+			this.panels = panels;
+		}
+	}
+
+	public static boolean isLocal(FileSystem fs) {
+		return fs instanceof LocalFileSystem || fs instanceof RawLocalFileSystem;
+	}
+
+	protected static long align(long pos, int alignment) {
+		return (pos + alignment - 1) / alignment * alignment;
+	}
+
+	protected static int getPanelRows(long clen, int blen) {
+		return (int) Math.max(1, Math.min(blen, MAX_PANEL_SIZE / (8 * Math.max(clen, 1))));
+	}
+
+	protected static long getDenseSize(int rows, long clen) {
+		return 8L * rows * clen;
+	}
+
+	protected static long getSparseSize(int rows, long nnz) {
+		return getValuesOffset(rows, nnz) + 8L * nnz;
+	}
+
+	protected static long getValuesOffset(int rows, long nnz) {
+		return align(4L * (rows + 1) + 4L * nnz, 8);
+	}
+
+	/**
+	 * Creates the panel index for the given dimensions and panel nnz, and assigns the panel types and payload offsets
+	 * in the order of panels.
+	 * 
+	 * @param panels panels with populated number of non-zeros
+	 * @param clen   number of columns
+	 * @return the total file size
+	 */
+	protected static long layout(Panel[] panels, long clen) {
+		long pos = align(HEADER_SIZE + (long) INDEX_ENTRY_SIZE * panels.length, ALIGNMENT);
+		for(Panel p : panels) {
+			final long dsize = getDenseSize(p.rows, clen);
+			final long ssize = getSparseSize(p.rows, p.nnz);
+			p.type = p.nnz == 0 ? EMPTY : ssize < dsize ? SPARSE : DENSE;
+			p.length = p.type == EMPTY ? 0 : Math.min(dsize, ssize);
+			p.offset = pos;
+			pos = align(pos + p.length, ALIGNMENT);
+		}
+		return pos;
+	}
+
+	protected static void writeIndex(FileChannel channel, Index index) throws IOException {
+		final Panel[] panels = index.panels;
+		final ByteBuffer buff = ByteBuffer.allocate(HEADER_SIZE + INDEX_ENTRY_SIZE * panels.length)
+			.order(ByteOrder.LITTLE_ENDIAN);
+		buff.put(MAGIC).putInt(VERSION).putInt(panels.length);
+		buff.putLong(index.rlen).putLong(index.clen).putLong(index.nnz);
+		buff.position(HEADER_SIZE);
+		for(Panel p : panels)
+			buff.putInt(p.rows).putInt(p.type).putLong(p.nnz).putLong(p.offset).putLong(p.length);
+		buff.flip();
+		long pos = 0;
+		while(buff.hasRemaining())
+			pos += channel.write(buff, pos);
+	}
+
+	protected static Index readIndex(FileChannel channel) throws IOException {
+		final ByteBuffer header = read(channel, 0, HEADER_SIZE);
+		final byte[] magic = new byte[MAGIC.length];
+		header.get(magic);
+		if(!Arrays.equals(magic, MAGIC))
+			throw new IOException("Invalid native binary file: missing magic number.");
+		final int version = header.getInt();
+		if(version != VERSION)
+			throw new IOException("Unsupported native binary file version: " + version);
+		final int npanels = header.getInt();
+		final long rlen = header.getLong();
+		final long clen = header.getLong();
+		final long nnz = header.getLong();
+
+		final ByteBuffer buff = read(channel, HEADER_SIZE, INDEX_ENTRY_SIZE * npanels);
+		final Panel[] panels = new Panel[npanels];
+		int rl = 0;
+		for(int i = 0; i < npanels; i++) {
+			panels[i] = new Panel(rl, buff.getInt());
+			panels[i].type = buff.getInt();
+			panels[i].nnz = buff.getLong();
+			panels[i].offset = buff.getLong();
+			panels[i].length = buff.getLong();
+			rl += panels[i].rows;
+		}
+		if(rl != rlen)
+			throw new IOException("Invalid native binary file: panel rows (" + rl + ") do not match rlen=" + rlen);
+		return new Index(rlen, clen, nnz, panels);
+	}
+
+	/**
+	 * Maps the payload of a panel as a read-only little-endian buffer.
+	 * 
+	 * @param channel file channel
+	 * @param p       panel
+	 * @return the mapped payload
+	 * @throws IOException if the mapping fails
+	 */
+	protected static ByteBuffer mapPanel(FileChannel channel, Panel p) throws IOException {
+		if(p.length > Integer.MAX_VALUE)
+			throw new IOException("Native binary panel exceeds max mappable size: " + p.length);
+		return channel.map(FileChannel.MapMode.READ_ONLY, p.offset, p.length).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private static ByteBuffer read(FileChannel channel, long pos, int len) throws IOException {
+		final ByteBuffer buff = ByteBuffer.allocate(len).order(ByteOrder.LITTLE_ENDIAN);
+		while(buff.hasRemaining())
+			if(channel.read(buff, pos + buff.position()) < 0)
+				throw new IOException("Invalid native binary file: unexpected end of file.");
+		buff.flip();
+		return buff;
+	}
+}
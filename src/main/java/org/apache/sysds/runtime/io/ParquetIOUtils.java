@@ -0,0 +1,546 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.Converter;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type;
+import org.apache.parquet.schema.Type.Repetition;
+import org.apache.parquet.schema.Types;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.BooleanArray;
+import org.apache.sysds.runtime.frame.data.columns.DoubleArray;
+import org.apache.sysds.runtime.frame.data.columns.FloatArray;
+import org.apache.sysds.runtime.frame.data.columns.IntegerArray;
+import org.apache.sysds.runtime.frame.data.columns.LongArray;
+import org.apache.sysds.runtime.frame.data.columns.StringArray;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Shared functionality of the Parquet matrix and frame readers and writers.
+ * 
+ * The readers decode the column chunks of each row group directly into the typed frame columns or matrix rows without
+ * materializing records, and the writers emit the rows of a frame or matrix block directly to the record consumer.
+ * Nested schemas are not supported, and null values are read as the default value of the column type.
+ */
+public final class ParquetIOUtils {
+
+	private ParquetIOUtils() {
+		// private constructor
+	}
+
+	/** A row group of a Parquet file with its row offset in the overall read */
+	protected static final class RowGroup {
+		protected final Path file;
+		protected final int index;
+		protected final long rowOffset;
+		protected final long nRows;
+
+		protected RowGroup(Path file, int index, long rowOffset, long nRows) {
+			this.file = file;
+			this.index = index;
+			this.rowOffset = rowOffset;
+			this.nRows = nRows;
+		}
+	}
+
+	/**
+	 * Get the Parquet files of a path, which is either a single file or a directory of part files.
+	 * 
+	 * @param fs   The file system
+	 * @param path The path to a file or directory
+	 * @return The files sorted by name
+	 * @throws IOException If the listing fails
+	 */
+	protected static List<Path> getFiles(FileSystem fs, Path path) throws IOException {
+		if(!fs.getFileStatus(path).isDirectory())
+			return Arrays.asList(path);
+		final List<Path> ret = new ArrayList<>();
+		for(FileStatus f : fs.listStatus(path)) {
+			final String name = f.getPath().getName();
+			if(f.isFile() && !name.startsWith("_") && !name.startsWith(".") && !name.endsWith(".crc") &&
+				!name.endsWith(".mtd"))
+				ret.add(f.getPath());
+		}
+		if(ret.isEmpty())
+			throw new IOException("No parquet files found in directory " + path + ".");
+		ret.sort((a, b) -> a.getName().compareTo(b.getName()));
+		return ret;
+	}
+
+	protected static List<RowGroup> getRowGroups(Configuration conf, List<Path> files) throws IOException {
+		final List<RowGroup> ret = new ArrayList<>();
+		long offset = 0;
+		for(Path f : files) {
+			try(ParquetFileReader reader = ParquetFileReader.open(conf, f)) {
+				final List<BlockMetaData> blocks = reader.getRowGroups();
+				for(int i = 0; i < blocks.size(); i++) {
+					final long n = blocks.get(i).getRowCount();
+					ret.add(new RowGroup(f, i, offset, n));
+					offset += n;
+				}
+			}
+		}
+		return ret;
+	}
+
+	protected static long getNumRows(List<RowGroup> groups) {
+		return groups.isEmpty() ? 0 : groups.get(groups.size() - 1).rowOffset + groups.get(groups.size() - 1).nRows;
+	}
+
+	protected static MessageType getSchema(Configuration conf, Path file) throws IOException {
+		try(ParquetFileReader reader = ParquetFileReader.open(conf, file)) {
+			return reader.getFooter().getFileMetaData().getSchema();
+		}
+	}
+
+	/**
+	 * Project the file schema to the given columns, in the order of the given columns.
+	 * 
+	 * @param schema  The file schema
+	 * @param columns The column names to keep, or null for all columns
+	 * @return The projected schema
+	 */
+	protected static MessageType project(MessageType schema, String[] columns) {
+		for(Type t : schema.getFields())
+			if(!t.isPrimitive() || t.isRepetition(Repetition.REPEATED))
+				throw new DMLRuntimeException("Unsupported nested or repeated parquet column: " + t);
+		if(columns == null)
+			return schema;
+		final List<Type> fields = new ArrayList<>(columns.length);
+		for(String c : columns) {
+			if(!schema.containsField(c))
+				throw new DMLRuntimeException("Column '" + c + "' not found in parquet schema: " + schema);
+			fields.add(schema.getType(c));
+		}
+		return new MessageType(schema.getName(), fields);
+	}
+
+	protected static ValueType toValueType(PrimitiveType t) {
+		switch(t.getPrimitiveTypeName()) {
+			case DOUBLE:
+				return ValueType.FP64;
+			case FLOAT:
+				return ValueType.FP32;
+			case INT32:
+				return ValueType.INT32;
+			case INT64:
+				return ValueType.INT64;
+			case BOOLEAN:
+				return ValueType.BOOLEAN;
+			default:
+				return ValueType.STRING;
+		}
+	}
+
+	protected static ValueType[] toValueTypes(MessageType schema) {
+		final ValueType[] ret = new ValueType[schema.getFieldCount()];
+		for(int i = 0; i < ret.length; i++)
+			ret[i] = toValueType(schema.getType(i).asPrimitiveType());
+		return ret;
+	}
+
+	protected static MessageType createFrameSchema(ValueType[] schema, String[] names) {
+		final Types.MessageTypeBuilder b = Types.buildMessage();
+		for(int i = 0; i < schema.length; i++) {
+			switch(schema[i]) {
+				case FP64:
+					b.optional(PrimitiveTypeName.DOUBLE).named(names[i]);
+					break;
+				case FP32:
+					b.optional(PrimitiveTypeName.FLOAT).named(names[i]);
+					break;
+				case INT64:
+					b.optional(PrimitiveTypeName.INT64).named(names[i]);
+					break;
+				case INT32:
+				case UINT8:
+					b.optional(PrimitiveTypeName.INT32).named(names[i]);
+					break;
+				case BOOLEAN:
+					b.optional(PrimitiveTypeName.BOOLEAN).named(names[i]);
+					break;
+				default:
+					b.optional(PrimitiveTypeName.BINARY).as(LogicalTypeAnnotation.stringType()).named(names[i]);
+			}
+		}
+		return b.named("frame");
+	}
+
+	protected static MessageType createMatrixSchema(int nCol) {
+		final Types.MessageTypeBuilder b = Types.buildMessage();
+		final String[] names = FrameBlock.createColNames(nCol);
+		for(int i = 0; i < nCol; i++)
+			b.required(PrimitiveTypeName.DOUBLE).named(names[i]);
+		return b.named("matrix");
+	}
+
+	protected static ColumnReadStoreImpl readRowGroup(ParquetFileReader reader, RowGroup g, MessageType schema)
+		throws IOException {
+		final PageReadStore pages = reader.readRowGroup(g.index);
+		return new ColumnReadStoreImpl(pages, new NoopGroupConverter(schema.getFieldCount()), schema,
+			reader.getFileMetaData().getCreatedBy());
+	}
+
+	/**
+	 * Decode a column chunk into a frame column, directly into the primitive arrays if the column type matches the
+	 * physical type.
+	 * 
+	 * @param cr  The column reader of the chunk
+	 * @param a   The frame column to fill
+	 * @param rl  The row offset in the frame column
+	 * @param n   The number of rows in the chunk
+	 */
+	protected static void readColumn(ColumnReader cr, Array<?> a, int rl, int n) {
+		final ColumnDescriptor d = cr.getDescriptor();
+		final int maxDef = d.getMaxDefinitionLevel();
+		final PrimitiveTypeName pt = d.getPrimitiveType().getPrimitiveTypeName();
+		if(pt == PrimitiveTypeName.DOUBLE && a instanceof DoubleArray) {
+			final double[] v = ((DoubleArray) a).get();
+			for(int i = rl; i < rl + n; i++, cr.consume())
+				if(cr.getCurrentDefinitionLevel() == maxDef)
+					v[i] = cr.getDouble();
+		}
+		else if(pt == PrimitiveTypeName.FLOAT && a instanceof FloatArray) {
+			final float[] v = ((FloatArray) a).get();
+			for(int i = rl; i < rl + n; i++, cr.consume())
+				if(cr.getCurrentDefinitionLevel() == maxDef)
+					v[i] = cr.getFloat();
+		}
+		else if(pt == PrimitiveTypeName.INT32 && a instanceof IntegerArray) {
+			final int[] v = ((IntegerArray) a).get();
+			for(int i = rl; i < rl + n; i++, cr.consume())
+				if(cr.getCurrentDefinitionLevel() == maxDef)
+					v[i] = cr.getInteger();
+		}
+		else if(pt == PrimitiveTypeName.INT64 && a instanceof LongArray) {
+			final long[] v = ((LongArray) a).get();
+			for(int i = rl; i < rl + n; i++, cr.consume())
+				if(cr.getCurrentDefinitionLevel() == maxDef)
+					v[i] = cr.getLong();
+		}
+		else if(pt == PrimitiveTypeName.BOOLEAN && a instanceof BooleanArray) {
+			final boolean[] v = ((BooleanArray) a).get();
+			for(int i = rl; i < rl + n; i++, cr.consume())
+				if(cr.getCurrentDefinitionLevel() == maxDef)
+					v[i] = cr.getBoolean();
+		}
+		else if(a instanceof StringArray) {
+			final String[] v = ((StringArray) a).get();
+			for(int i = rl; i < rl + n; i++, cr.consume())
+				if(cr.getCurrentDefinitionLevel() == maxDef)
+					v[i] = getString(cr, pt);
+		}
+		else {
+			// type conversion, e.g., into bitset booleans or a schema that differs from the file
+			for(int i = rl; i < rl + n; i++, cr.consume())
+				if(cr.getCurrentDefinitionLevel() == maxDef)
+					a.set(i, getString(cr, pt));
+		}
+	}
+
+	/**
+	 * Decode a column chunk into a column of a dense row-major matrix.
+	 * 
+	 * @param cr   The column reader of the chunk
+	 * @param v    The dense values of the matrix
+	 * @param col  The column index
+	 * @param nCol The number of columns in the matrix
+	 * @param rl   The row offset in the matrix
+	 * @param n    The number of rows in the chunk
+	 * @return The number of non zeros read
+	 */
+	protected static long readColumn(ColumnReader cr, double[] v, int col, int nCol, int rl, int n) {
+		final int maxDef = cr.getDescriptor().getMaxDefinitionLevel();
+		final PrimitiveTypeName pt = cr.getDescriptor().getPrimitiveType().getPrimitiveTypeName();
+		long nnz = 0;
+		for(int i = rl, off = rl * nCol + col; i < rl + n; i++, off += nCol, cr.consume()) {
+			if(cr.getCurrentDefinitionLevel() == maxDef) {
+				final double d = getDouble(cr, pt);
+				v[off] = d;
+				nnz += d != 0 ? 1 : 0;
+			}
+		}
+		return nnz;
+	}
+
+	/**
+	 * Decode a column chunk into the rows of a sparse matrix, columns have to be read in increasing order.
+	 * 
+	 * @param cr  The column reader of the chunk
+	 * @param sb  The sparse block of the matrix
+	 * @param col The column index
+	 * @param rl  The row offset in the matrix
+	 * @param n   The number of rows in the chunk
+	 * @return The number of non zeros read
+	 */
+	protected static long readColumn(ColumnReader cr, SparseBlock sb, int col, int rl, int n) {
+		final int maxDef = cr.getDescriptor().getMaxDefinitionLevel();
+		final PrimitiveTypeName pt = cr.getDescriptor().getPrimitiveType().getPrimitiveTypeName();
+		long nnz = 0;
+		for(int i = rl; i < rl + n; i++, cr.consume()) {
+			if(cr.getCurrentDefinitionLevel() == maxDef) {
+				final double d = getDouble(cr, pt);
+				if(d != 0) {
+					sb.append(i, col, d);
+					nnz++;
+				}
+			}
+		}
+		return nnz;
+	}
+
+	private static double getDouble(ColumnReader cr, PrimitiveTypeName pt) {
+		switch(pt) {
+			case DOUBLE:
+				return cr.getDouble();
+			case FLOAT:
+				return cr.getFloat();
+			case INT32:
+				return cr.getInteger();
+			case INT64:
+				return cr.getLong();
+			case BOOLEAN:
+				return cr.getBoolean() ? 1 : 0;
+			default:
+				return Double.parseDouble(cr.getBinary().toStringUsingUTF8());
+		}
+	}
+
+	private static String getString(ColumnReader cr, PrimitiveTypeName pt) {
+		switch(pt) {
+			case DOUBLE:
+				return Double.toString(cr.getDouble());
+			case FLOAT:
+				return Float.toString(cr.getFloat());
+			case INT32:
+				return Integer.toString(cr.getInteger());
+			case INT64:
+				return Long.toString(cr.getLong());
+			case BOOLEAN:
+				return Boolean.toString(cr.getBoolean());
+			default:
+				return cr.getBinary().toStringUsingUTF8();
+		}
+	}
+
+	protected static ParquetWriter<Integer> createFrameWriter(Path path, Configuration conf, FrameBlock src,
+		MessageType schema) throws IOException {
+		return new Builder(path, new FrameWriteSupport(src, schema)).withConf(conf)
+			.withWriteMode(ParquetFileWriter.Mode.OVERWRITE).withCompressionCodec(CompressionCodecName.SNAPPY).build();
+	}
+
+	protected static ParquetWriter<Integer> createMatrixWriter(Path path, Configuration conf, MatrixBlock src)
+		throws IOException {
+		return new Builder(path, new MatrixWriteSupport(src, createMatrixSchema(src.getNumColumns()))).withConf(conf)
+			.withWriteMode(ParquetFileWriter.Mode.OVERWRITE).withCompressionCodec(CompressionCodecName.SNAPPY).build();
+	}
+
+	/** Writer builder writing records identified by their row index */
+	private static class Builder extends ParquetWriter.Builder<Integer, Builder> {
+		private final WriteSupport<Integer> _ws;
+
+		protected Builder(Path path, WriteSupport<Integer> ws) {
+			super(path);
+			_ws = ws;
+		}
+
+		@Override
+		protected Builder self() {
+			return this;
+		}
+
+		@Override
+		protected WriteSupport<Integer> getWriteSupport(Configuration conf) {
+			return _ws;
+		}
+	}
+
+	private static abstract class RowWriteSupport extends WriteSupport<Integer> {
+		protected final MessageType _schema;
+		protected RecordConsumer _rc;
+
+		protected RowWriteSupport(MessageType schema) {
+			_schema = schema;
+		}
+
+		@Override
+		public WriteContext init(Configuration configuration) {
+			return new WriteContext(_schema, new HashMap<>());
+		}
+
+		@Override
+		public void prepareForWrite(RecordConsumer recordConsumer) {
+			_rc = recordConsumer;
+		}
+	}
+
+	private static class FrameWriteSupport extends RowWriteSupport {
+		private final FrameBlock _src;
+
+		protected FrameWriteSupport(FrameBlock src, MessageType schema) {
+			super(schema);
+			_src = src;
+		}
+
+		@Override
+		public void write(Integer row) {
+			final int r = row;
+			_rc.startMessage();
+			for(int j = 0; j < _src.getNumColumns(); j++) {
+				final Array<?> a = _src.getColumn(j);
+				final Object v = a.get(r);
+				if(v == null)
+					continue;
+				final String name = _schema.getFieldName(j);
+				_rc.startField(name, j);
+				switch(_schema.getType(j).asPrimitiveType().getPrimitiveTypeName()) {
+					case DOUBLE:
+						_rc.addDouble(a.getAsDouble(r));
+						break;
+					case FLOAT:
+						_rc.addFloat((float) a.getAsDouble(r));
+						break;
+					case INT64:
+						_rc.addLong(v instanceof Number ? ((Number) v).longValue() : (long) a.getAsDouble(r));
+						break;
+					case INT32:
+						_rc.addInteger(v instanceof Number ? ((Number) v).intValue() : (int) a.getAsDouble(r));
+						break;
+					case BOOLEAN:
+						_rc.addBoolean(v instanceof Boolean ? (Boolean) v : a.getAsDouble(r) != 0);
+						break;
+					default:
+						_rc.addBinary(Binary.fromString(v.toString()));
+				}
+				_rc.endField(name, j);
+			}
+			_rc.endMessage();
+		}
+	}
+
+	private static class MatrixWriteSupport extends RowWriteSupport {
+		private final MatrixBlock _src;
+		private final double[] _row;
+
+		protected MatrixWriteSupport(MatrixBlock src, MessageType schema) {
+			super(schema);
+			_src = src;
+			_row = new double[src.getNumColumns()];
+		}
+
+		@Override
+		public void write(Integer row) {
+			final int r = row;
+			final double[] vals = getRow(r);
+			_rc.startMessage();
+			for(int j = 0; j < vals.length; j++) {
+				final String name = _schema.getFieldName(j);
+				_rc.startField(name, j);
+				_rc.addDouble(vals[j]);
+				_rc.endField(name, j);
+			}
+			_rc.endMessage();
+		}
+
+		private double[] getRow(int r) {
+			Arrays.fill(_row, 0);
+			if(_src.isEmpty())
+				return _row;
+			else if(_src.isInSparseFormat()) {
+				final SparseBlock sb = _src.getSparseBlock();
+				if(!sb.isEmpty(r)) {
+					final int apos = sb.pos(r);
+					final int alen = sb.size(r) + apos;
+					final int[] aix = sb.indexes(r);
+					final double[] avals = sb.values(r);
+					for(int k = apos; k < alen; k++)
+						_row[aix[k]] = avals[k];
+				}
+			}
+			else {
+				final DenseBlock db = _src.getDenseBlock();
+				System.arraycopy(db.values(r), db.pos(r), _row, 0, _row.length);
+			}
+			return _row;
+		}
+	}
+
+	/** Converter required by the column read store, values are pulled directly from the column readers */
+	private static class NoopGroupConverter extends GroupConverter {
+		private final PrimitiveConverter _c = new PrimitiveConverter() {
+			// no conversion
+		};
+		private final int _nCol;
+
+		protected NoopGroupConverter(int nCol) {
+			_nCol = nCol;
+		}
+
+		@Override
+		public Converter getConverter(int fieldIndex) {
+			if(fieldIndex >= _nCol)
+				throw new DMLRuntimeException("Invalid field index " + fieldIndex);
+			return _c;
+		}
+
+		@Override
+		public void start() {
+			// do nothing
+		}
+
+		@Override
+		public void end() {
+			// do nothing
+		}
+	}
+}
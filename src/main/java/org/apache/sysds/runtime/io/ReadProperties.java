@@ -20,6 +20,7 @@
 package org.apache.sysds.runtime.io;
 
 import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.runtime.util.IndexRange;
 
 public class ReadProperties 
 {
@@ -34,6 +35,9 @@ public class ReadProperties
 	// Properties specific to CSV files
 	public FileFormatProperties formatProperties;
 	
+	// Row/column range (0-based, inclusive) for partial reads, null for the entire matrix
+	public IndexRange indexRange;
+	
 	public ReadProperties() {
 		rlen = -1;
 		clen = -1;
@@ -40,6 +40,7 @@ import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.IndexRange;
 
 
 public class ReaderBinaryBlockParallel extends ReaderBinaryBlock 
@@ -75,7 +76,7 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		int numThreads = OptimizerUtils.getParallelBinaryReadParallelism();
 		long numBlocks = (long)Math.ceil((double)rlen / blen);
 		readBinaryBlockMatrixFromHDFS(path, job, fs, ret,
-			rlen, clen, blen, numThreads<=numBlocks);
+			rlen, clen, blen, null, numThreads<=numBlocks);
 		
 		//finally check if change of sparse/dense block representation required
 		if( !AGGREGATE_BLOCK_NNZ )
@@ -84,9 +85,44 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		
 		return ret;
 	}
+	
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz, IndexRange ix)
+		throws IOException, DMLRuntimeException
+	{
+		checkValidIndexRange(ix, rlen, clen);
+		long nrow = ix.rowEnd - ix.rowStart + 1;
+		long ncol = ix.colEnd - ix.colStart + 1;
+		
+		//early abort for known empty matrices
+		if( RETURN_EMPTY_NNZ0 && estnnz == 0 )
+			return new MatrixBlock((int)nrow, (int)ncol, true);
+		
+		//allocate output matrix block of the requested range
+		MatrixBlock ret = createOutputMatrixBlock(nrow, ncol, blen,
+			estimateNnzOfRange(rlen, clen, estnnz, ix), true, true);
+		
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( (_localFS ? "file:///" : "") + fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		checkValidInputFile(fs, path);
+		
+		//core read (of overlapping blocks only)
+		int numThreads = OptimizerUtils.getParallelBinaryReadParallelism();
+		long numBlocks = (long)Math.ceil((double)nrow / blen);
+		readBinaryBlockMatrixFromHDFS(path, job, fs, ret,
+			nrow, ncol, blen, ix, numThreads<=numBlocks);
+		
+		if( !AGGREGATE_BLOCK_NNZ )
+			ret.recomputeNonZeros();
+		ret.examSparsity();
+		
+		return ret;
+	}
 
 	private static void readBinaryBlockMatrixFromHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock dest,
-			long rlen, long clen, int blen, boolean syncBlock )
+			long rlen, long clen, int blen, IndexRange ix, boolean syncBlock )
 		throws IOException, DMLRuntimeException
 	{
 		//set up preferred custom serialization framework for binary block format
@@ -99,7 +135,7 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 			//create read tasks for all files
 			ArrayList<ReadFileTask> tasks = new ArrayList<>();
 			for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ){
-				ReadFileTask t = new ReadFileTask(lpath, job, dest, rlen, clen, blen, syncBlock);
+				ReadFileTask t = new ReadFileTask(lpath, job, dest, rlen, clen, blen, ix, syncBlock);
 				tasks.add(t);
 			}
 
@@ -113,7 +149,8 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 			
 			//post-processing
 			dest.setNonZeros( lnnz );
-			if( dest.isInSparseFormat() && clen>blen ) 
+			boolean multiColBlocks = (ix == null) ? clen > blen : ix.colStart/blen != ix.colEnd/blen;
+			if( dest.isInSparseFormat() && multiColBlocks ) 
 				sortSparseRowsParallel(dest, rlen, _numThreads, pool);
 			
 		} 
@@ -132,15 +169,17 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		private final MatrixBlock _dest;
 		private final long _rlen, _clen;
 		private final int _blen;
+		private final IndexRange _ix;
 		private final boolean _syncBlocks;
 		
-		public ReadFileTask(Path path, JobConf job, MatrixBlock dest, long rlen, long clen, int blen, boolean syncBlocks) {
+		public ReadFileTask(Path path, JobConf job, MatrixBlock dest, long rlen, long clen, int blen, IndexRange ix, boolean syncBlocks) {
 			_path = path;
 			_job = job;
 			_dest = dest;
 			_rlen = rlen;
 			_clen = clen;
 			_blen = blen;
+			_ix = ix;
 			_syncBlocks = syncBlocks;
 		}
 
@@ -159,7 +198,7 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 			try
 			{
 				//note: next(key, value) does not yet exploit the given serialization classes, record reader does but is generally slower.
-				while( reader.next(key, value) )
+				while( (_ix == null) ? reader.next(key, value) : nextOverlapping(reader, key, value) )
 				{	
 					//empty block filter (skip entire block)
 					if( value.isEmptyBlock(false) )
@@ -167,6 +206,21 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 					
 					int row_offset = (int)(key.getRowIndex()-1)*_blen;
 					int col_offset = (int)(key.getColumnIndex()-1)*_blen;
+					
+					//slice overlapping part of the block for partial reads
+					if( _ix != null ) {
+						int rl = (int)Math.max(_ix.rowStart-row_offset, 0);
+						int ru = (int)Math.min(_ix.rowEnd-row_offset, value.getNumRows()-1);
+						int cl = (int)Math.max(_ix.colStart-col_offset, 0);
+						int cu = (int)Math.min(_ix.colEnd-col_offset, value.getNumColumns()-1);
+						if( rl > 0 || cl > 0 || ru < value.getNumRows()-1 || cu < value.getNumColumns()-1 )
+							value = value.slice(rl, ru, cl, cu, new MatrixBlock());
+						row_offset = (int)(row_offset + rl - _ix.rowStart);
+						col_offset = (int)(col_offset + cl - _ix.colStart);
+						if( value.isEmptyBlock(false) )
+							continue;
+					}
+					
 					int rows = value.getNumRows();
 					int cols = value.getNumColumns();
 					
@@ -225,5 +279,17 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 			
 			return lnnz;
 		}
+		
+		private boolean nextOverlapping(Reader reader, MatrixIndexes key, MatrixBlock value) throws IOException {
+			//skip blocks outside the requested range without deserializing them
+			while( reader.next(key) ) {
+				long rl = (key.getRowIndex()-1)*_blen, cl = (key.getColumnIndex()-1)*_blen;
+				if( rl <= _ix.rowEnd && rl+_blen > _ix.rowStart && cl <= _ix.colEnd && cl+_blen > _ix.colStart ) {
+					reader.getCurrentValue(value);
+					return true;
+				}
+			}
+			return false;
+		}
 	}
 }
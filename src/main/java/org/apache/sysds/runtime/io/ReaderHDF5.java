@@ -17,28 +17,49 @@
  * under the License.
  */
 
+
 package org.apache.sysds.runtime.io;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
-import java.io.BufferedInputStream;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.io.hdf5.H5;
-import org.apache.sysds.runtime.io.hdf5.H5Constants;
-import org.apache.sysds.runtime.io.hdf5.H5ContiguousDataset;
+import org.apache.sysds.runtime.io.hdf5.H5Dataset;
+import org.apache.sysds.runtime.io.hdf5.H5Group;
+import org.apache.sysds.runtime.io.hdf5.H5ObjectHeader;
 import org.apache.sysds.runtime.io.hdf5.H5RootObject;
+import org.apache.sysds.runtime.io.hdf5.message.H5AttributeMessage;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
+/**
+ * Reader of HDF5 matrices, stored either as dense datasets (of arbitrary layout and numeric value type) or as sparse
+ * matrices in CSR format. Sparse matrices follow the convention of scipy/anndata, i.e., a group with the datasets
+ * data (values), indices (column indices), and indptr (row pointers), and an optional shape attribute.
+ */
 public class ReaderHDF5 extends MatrixReader {
+	public static final String CSR_DATA = "data";
+	public static final String CSR_INDICES = "indices";
+	public static final String CSR_INDPTR = "indptr";
+	public static final String[] CSR_SHAPE_ATTRIBUTES = new String[] {"shape", "h5sparse_shape"};
+
+	/** Maximum number of non-zeros of sparse inputs read at once */
+	private static final int CSR_BATCH_SIZE = 1024 * 1024;
+
 	protected final FileFormatPropertiesHDF5 _props;
 
 	public ReaderHDF5(FileFormatPropertiesHDF5 props) {
@@ -48,11 +69,6 @@ public class ReaderHDF5 extends MatrixReader {
 	@Override
 	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz)
 		throws IOException, DMLRuntimeException {
-		//allocate output matrix block
-		MatrixBlock ret = null;
-		if(rlen >= 0 && clen >= 0) //otherwise allocated on read
-			ret = createOutputMatrixBlock(rlen, clen, (int) rlen, estnnz, true, false);
-
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
 		Path path = new Path(fname);
@@ -62,7 +78,7 @@ public class ReaderHDF5 extends MatrixReader {
 		checkValidInputFile(fs, path);
 
 		//core read 
-		ret = readHDF5MatrixFromHDFS(path, job, fs, ret, rlen, clen, blen, _props.getDatasetName());
+		MatrixBlock ret = readHDF5MatrixFromHDFS(path, fs, clen, _props.getDatasetName());
 
 		//finally check if change of sparse/dense block representation required
 		//(nnz explicitly maintained during read)
@@ -74,24 +90,26 @@ public class ReaderHDF5 extends MatrixReader {
 	@Override
 	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz)
 		throws IOException, DMLRuntimeException {
-		//allocate output matrix block
-		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, (int) rlen, estnnz, true, false);
-
-		//core read
-		String datasetName = _props.getDatasetName();
+		//open file and dataset (fully buffered because chunks and headers are read at arbitrary offsets)
+		byte[] data = IOUtils.toByteArray(is);
+		BufferedInputStream bis = new BufferedInputStream(new ByteArrayInputStream(data), Math.max(data.length, 1));
+		try {
+			HDF5Source src = openSource(H5.H5Fopen(bis), _props.getDatasetName(), clen);
 
-		BufferedInputStream bis = new BufferedInputStream(is, (int) (H5Constants.STATIC_HEADER_SIZE + (clen * rlen * 8)));
-		long lnnz = readMatrixFromHDF5(bis, datasetName, ret, 0, rlen, clen, blen);
+			//allocate output matrix block and core read
+			MatrixBlock ret = createOutputMatrixBlock(src.rows, src.cols, src.rows, src.getNonZeros(), true, true);
+			ret.setNonZeros(readMatrixFromHDF5(src, ret, 0, 0, src.rows));
 
-		//finally check if change of sparse/dense block representation required
-		ret.setNonZeros(lnnz);
-		ret.examSparsity();
-
-		return ret;
+			//finally check if change of sparse/dense block representation required
+			ret.examSparsity();
+			return ret;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(bis);
+		}
 	}
 
-	private static MatrixBlock readHDF5MatrixFromHDFS(Path path, JobConf job,
-		FileSystem fs, MatrixBlock dest, long rlen, long clen, int blen, String datasetName)
+	private MatrixBlock readHDF5MatrixFromHDFS(Path path, FileSystem fs, long clen, String datasetName)
 		throws IOException, DMLRuntimeException {
 		//prepare file paths in alphanumeric order
 		ArrayList<Path> files = new ArrayList<>();
@@ -103,69 +121,194 @@ public class ReaderHDF5 extends MatrixReader {
 		else
 			files.add(path);
 
-		//determine matrix size via additional pass if required
-		if(dest == null) {
-			dest = computeHDF5Size(files, fs, datasetName);
-			clen = dest.getNumColumns();
-			rlen = dest.getNumRows();
-		}
+		List<FSDataInputStream> streams = new ArrayList<>();
+		try {
+			//open all files (positional reads) and determine the matrix size
+			List<HDF5Source> sources = new ArrayList<>();
+			int nrow = 0;
+			long nnz = 0;
+			for(Path file : files) {
+				FSDataInputStream in = fs.open(file);
+				streams.add(in);
+				HDF5Source src = openSource(H5.H5Fopen(in), datasetName, clen);
+				if(!sources.isEmpty() && src.cols != sources.get(0).cols)
+					throw new IOException("Mismatching number of columns in HDF5 files: "
+						+ src.cols + " vs " + sources.get(0).cols + ".");
+				sources.add(src);
+				nrow += src.rows;
+				nnz += src.getNonZeros();
+			}
 
-		//actual read of individual files
-		long lnnz = 0;
-		for(int fileNo = 0; fileNo < files.size(); fileNo++) {
-			BufferedInputStream bis = new BufferedInputStream(fs.open(files.get(fileNo)),
-				(int) (H5Constants.STATIC_HEADER_SIZE + (clen * rlen * 8)));
-			lnnz += readMatrixFromHDF5(bis, datasetName, dest, 0, rlen, clen, blen);
+			//allocate output matrix block
+			MatrixBlock ret = createOutputMatrixBlock(nrow, sources.get(0).cols, nrow, nnz, true, true);
+
+			//actual read of individual files
+			long lnnz = 0;
+			int row = 0;
+			for(HDF5Source src : sources) {
+				lnnz += readMatrixFromHDF5(src, ret, row);
+				row += src.rows;
+			}
+			ret.setNonZeros(lnnz);
+			return ret;
 		}
-		//post processing
-		dest.setNonZeros(lnnz);
+		finally {
+			for(FSDataInputStream in : streams)
+				IOUtilFunctions.closeSilently(in);
+		}
+	}
+
+	/**
+	 * Reads a dense or sparse HDF5 matrix into the given output block, starting at the given row.
+	 * 
+	 * @param src       opened dataset or CSR group
+	 * @param dest      output matrix block
+	 * @param rowOffset row offset of the output
+	 * @return number of non-zeros
+	 * @throws IOException if the read fails
+	 */
+	protected long readMatrixFromHDF5(HDF5Source src, MatrixBlock dest, int rowOffset) throws IOException {
+		return readMatrixFromHDF5(src, dest, rowOffset, 0, src.rows);
+	}
+
+	protected static long readMatrixFromHDF5(HDF5Source src, MatrixBlock dest, int rowOffset, int rl, int ru) {
+		return src.isSparse() ?
+			readCSRRows(src, dest, rowOffset, rl, ru) : readDenseRows(src.dataset, dest, rowOffset, rl, ru);
+	}
 
-		return dest;
+	private static long readDenseRows(H5Dataset ds, MatrixBlock dest, int rowOffset, int rl, int ru) {
+		if(dest.isInSparseFormat())
+			throw new DMLRuntimeException("Unsupported read of dense HDF5 dataset into sparse block.");
+		DenseBlock d = dest.getDenseBlock();
+		//read batches of rows within the same underlying block
+		for(int r = rl; r < ru;) {
+			int bix = d.index(rowOffset + r);
+			int r2 = Math.min(ru, bix * d.blockSize() + d.blockSize(bix) - rowOffset);
+			ds.readRows(r, r2, d.valuesAt(bix), d.pos(rowOffset + r));
+			r = r2;
+		}
+		return d.countNonZeros(rowOffset + rl, rowOffset + ru, 0, ds.getNumCols());
 	}
 
-	public static long readMatrixFromHDF5(BufferedInputStream bis, String datasetName, MatrixBlock dest,
-		int row, long rlen, long clen, int blen) {
-		bis.mark(0);
+	private static long readCSRRows(HDF5Source src, MatrixBlock dest, int rowOffset, int rl, int ru) {
+		final long[] indptr = src.indptr;
+		final int clen = src.cols;
+		double[] vals = null, cix = null;
 		long lnnz = 0;
-		H5RootObject rootObject = H5.H5Fopen(bis);
-		H5ContiguousDataset contiguousDataset = H5.H5Dopen(rootObject, datasetName);
-
-		int[] dims = rootObject.getDimensions();
-		int ncol = dims[1];
-
-		DenseBlock denseBlock = dest.getDenseBlock();
-		double[] data = new double[ncol];
-		for(int i = row; i < rlen; i++) {
-			H5.H5Dread(contiguousDataset, i, data);
-			for(int j = 0; j < ncol; j++) {
-				if(data[j] != 0) {
-					denseBlock.set(i, j, data[j]);
+		//read values and column indices in batches of rows
+		for(int r = rl; r < ru;) {
+			int r2 = r + 1;
+			while(r2 < ru && indptr[r2 + 1] - indptr[r] <= CSR_BATCH_SIZE)
+				r2++;
+			int off = (int) indptr[r];
+			int len = (int) (indptr[r2] - indptr[r]);
+			if(vals == null || vals.length < len) {
+				vals = new double[len];
+				cix = new double[len];
+			}
+			src.dataset.readRows(off, off + len, vals, 0);
+			src.indices.readRows(off, off + len, cix, 0);
+
+			for(int i = r; i < r2; i++) {
+				int ri = rowOffset + i;
+				int p1 = (int) (indptr[i + 1] - off);
+				int lastCol = -1;
+				boolean sorted = true;
+				for(int p = (int) (indptr[i] - off); p < p1; p++) {
+					int c = (int) cix[p];
+					if(c < 0 || c >= clen)
+						throw new DMLRuntimeException("Column index " + c + " of row " + i + " out of bounds [0," + clen + ").");
+					if(vals[p] == 0)
+						continue;
+					if(dest.isInSparseFormat())
+						dest.getSparseBlock().append(ri, c, vals[p]);
+					else
+						dest.getDenseBlock().set(ri, c, vals[p]);
+					sorted &= c > lastCol;
+					lastCol = c;
 					lnnz++;
 				}
+				if(!sorted && dest.isInSparseFormat())
+					dest.getSparseBlock().sort(ri);
 			}
-			row++;
+			r = r2;
 		}
-		IOUtilFunctions.closeSilently(bis);
 		return lnnz;
 	}
 
-	public static MatrixBlock computeHDF5Size(List<Path> files, FileSystem fs, String datasetName)
-		throws IOException, DMLRuntimeException {
-		int nrow = 0;
-		int ncol = 0;
-		for(int fileNo = 0; fileNo < files.size(); fileNo++) {
+	/**
+	 * Opens a dense dataset or a CSR group.
+	 * 
+	 * @param rootObject root object of the opened file
+	 * @param name       path of the dataset or group
+	 * @param clen       number of columns, used if a CSR group does not specify its shape
+	 * @return opened source
+	 */
+	protected static HDF5Source openSource(H5RootObject rootObject, String name, long clen) {
+		H5ObjectHeader header = H5.H5Oopen(rootObject, name);
+		if(!H5Group.isGroup(header))
+			return new HDF5Source(H5.H5Dopen(rootObject, name), null, null, -1);
 
-			BufferedInputStream bis = new BufferedInputStream(fs.open(files.get(fileNo)));
-			H5RootObject rootObject = H5.H5Fopen(bis);
-			H5.H5Dopen(rootObject, datasetName);
+		//sparse matrix in CSR format
+		H5Group group = new H5Group(rootObject, header);
+		for(String child : new String[] {CSR_DATA, CSR_INDICES, CSR_INDPTR})
+			if(!group.hasChild(child))
+				throw new DMLRuntimeException("HDF5 group '" + name + "' is not a CSR matrix (missing dataset '"
+					+ child + "', available: " + group.getChildNames() + ").");
+		H5Dataset data = new H5Dataset(rootObject, group.getChild(CSR_DATA));
+		H5Dataset indices = new H5Dataset(rootObject, group.getChild(CSR_INDICES));
+		H5Dataset indptrDs = new H5Dataset(rootObject, group.getChild(CSR_INDPTR));
+		double[] tmp = new double[indptrDs.getNumRows()];
+		indptrDs.readRows(0, tmp.length, tmp, 0);
+		long[] indptr = new long[tmp.length];
+		for(int i = 0; i < tmp.length; i++)
+			indptr[i] = (long) tmp[i];
 
-			int[] dims = rootObject.getDimensions();
-			nrow += dims[0];
-			ncol += dims[1];
+		//determine number of columns from shape attribute, metadata, or max column index
+		long ncol = -1;
+		for(H5AttributeMessage attr : header.getMessagesOfType(H5AttributeMessage.class))
+			for(String shape : CSR_SHAPE_ATTRIBUTES)
+				if(attr.getName().equals(shape) && attr.getDataSpace().getTotalLength() == 2)
+					ncol = (long) attr.getDoubleValues()[1];
+		if(ncol < 0 && clen > 0)
+			ncol = clen;
+		if(ncol < 0) {
+			double[] cix = new double[indices.getNumRows()];
+			indices.readRows(0, cix.length, cix, 0);
+			for(double c : cix)
+				ncol = Math.max(ncol, (long) c + 1);
+		}
+		return new HDF5Source(data, indices, indptr, (int) Math.max(ncol, 0));
+	}
 
-			IOUtilFunctions.closeSilently(bis);
+	/**
+	 * Opened HDF5 matrix, either a dense dataset or a CSR group with values, column indices, and row pointers.
+	 */
+	protected static class HDF5Source {
+		protected final H5Dataset dataset;
+		protected final H5Dataset indices;
+		protected final long[] indptr;
+		protected final int rows;
+		protected final int cols;
+
+		protected HDF5Source(H5Dataset dataset, H5Dataset indices, long[] indptr, int cols) {
+			this.dataset = dataset;
+			this.indices = indices;
+			this.indptr = indptr;
+			this.rows = (indptr != null) ? indptr.length - 1 : dataset.getNumRows();
+			this.cols = (indptr != null) ? cols : dataset.getNumCols();
+		}
+
+		protected boolean isSparse() {
+			return indptr != null;
+		}
+
+		protected int getRowBlockSize() {
+			return isSparse() ? 1 : dataset.getRowBlockSize();
+		}
+
+		protected long getNonZeros() {
+			return isSparse() ? indptr[indptr.length - 1] - indptr[0] : (long) rows * cols;
 		}
-		// allocate target matrix block based on given size;
-		return createOutputMatrixBlock(nrow, ncol, nrow, (long) nrow * ncol, true, false);
 	}
 }
@@ -17,9 +17,9 @@
  * under the License.
  */
 
+
 package org.apache.sysds.runtime.io;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -27,22 +27,14 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
-import org.apache.hadoop.fs.FileSystem;
-import org.apache.hadoop.fs.Path;
-import org.apache.hadoop.mapred.FileInputFormat;
-import org.apache.hadoop.mapred.JobConf;
-import org.apache.hadoop.mapred.TextInputFormat;
-import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
-import org.apache.sysds.runtime.io.hdf5.H5Constants;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.CommonThreadPool;
 
 public class ReaderHDF5Parallel extends ReaderHDF5 {
 
 	final private int _numThreads;
-	protected JobConf _job;
 
 	public ReaderHDF5Parallel(FileFormatPropertiesHDF5 props) {
 		super(props);
@@ -50,52 +42,30 @@ public class ReaderHDF5Parallel extends ReaderHDF5 {
 	}
 
 	@Override
-	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz)
-		throws IOException, DMLRuntimeException {
-
-		// prepare file access
-		_job = new JobConf(ConfigurationManager.getCachedJobConf());
-
-		Path path = new Path(fname);
-		FileSystem fs = IOUtilFunctions.getFileSystem(path, _job);
-
-		FileInputFormat.addInputPath(_job, path);
-		TextInputFormat informat = new TextInputFormat();
-		informat.configure(_job);
-
-		// check existence and non-empty file
-		checkValidInputFile(fs, path);
-
-		// allocate output matrix block
-		ArrayList<Path> files = new ArrayList<>();
-		files.add(path);
-		MatrixBlock src = computeHDF5Size(files, fs, _props.getDatasetName());
-
-		//create and execute tasks
+	protected long readMatrixFromHDF5(HDF5Source src, MatrixBlock dest, int rowOffset) throws IOException {
+		//determine row partitions, aligned to chunk boundaries
+		int rlen = src.rows;
+		int bsize = src.getRowBlockSize();
+		int blklen = (int) Math.ceil((double) rlen / _numThreads / bsize) * bsize;
+		if(_numThreads <= 1 || blklen >= rlen)
+			return super.readMatrixFromHDF5(src, dest, rowOffset);
+
+		//create and execute tasks (concurrent positional reads of the same file)
 		ExecutorService pool = CommonThreadPool.get(_numThreads);
 		try {
-			int bufferSize = (src.getNumColumns() * src.getNumRows()) * 8 + H5Constants.STATIC_HEADER_SIZE;
 			ArrayList<ReadHDF5Task> tasks = new ArrayList<>();
-			rlen = src.getNumRows();
-			int blklen = (int) Math.ceil((double) rlen / _numThreads);
-			for(int i = 0; i < _numThreads & i * blklen < rlen; i++) {
-				int rl = i * blklen;
-				int ru = (int) Math.min((i + 1) * blklen, rlen);
-				BufferedInputStream bis = new BufferedInputStream(fs.open(path), bufferSize);
-
-				//BufferedInputStream bis, String datasetName, MatrixBlock src, MutableInt rl, int ru
-				tasks.add(new ReadHDF5Task(bis, _props.getDatasetName(), src, rl, ru));
-			}
-
-			for(Future<Object> task : pool.invokeAll(tasks))
-				task.get();
-			
-			return src;
+			for(int rl = 0; rl < rlen; rl += blklen)
+				tasks.add(new ReadHDF5Task(src, dest, rowOffset, rl, Math.min(rl + blklen, rlen)));
+
+			long lnnz = 0;
+			for(Future<Long> task : pool.invokeAll(tasks))
+				lnnz += task.get();
+			return lnnz;
 		}
 		catch(Exception e) {
 			throw new IOException("Failed parallel read of HDF5 input.", e);
 		}
-		finally{
+		finally {
 			pool.shutdown();
 		}
 	}
@@ -107,26 +77,25 @@ public class ReaderHDF5Parallel extends ReaderHDF5 {
 		return new ReaderHDF5(_props).readMatrixFromInputStream(is, rlen, clen, blen, estnnz);
 	}
 
-	private static class ReadHDF5Task implements Callable<Object> {
+	private static class ReadHDF5Task implements Callable<Long> {
 
-		private final BufferedInputStream _bis;
-		private final String _datasetName;
-		private final MatrixBlock _src;
+		private final HDF5Source _src;
+		private final MatrixBlock _dest;
+		private final int _rowOffset;
 		private final int _rl;
 		private final int _ru;
 
-		public ReadHDF5Task(BufferedInputStream bis, String datasetName, MatrixBlock src, int rl, int ru) {
-			_bis = bis;
-			_datasetName = datasetName;
+		public ReadHDF5Task(HDF5Source src, MatrixBlock dest, int rowOffset, int rl, int ru) {
 			_src = src;
+			_dest = dest;
+			_rowOffset = rowOffset;
 			_rl = rl;
 			_ru = ru;
 		}
 
 		@Override
-		public Object call() throws IOException {
-			readMatrixFromHDF5(_bis, _datasetName, _src, _rl, _ru, 0, 0);
-			return null;
+		public Long call() {
+			return readMatrixFromHDF5(_src, _dest, _rowOffset, _rl, _ru);
 		}
 	}
 }
@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.data.SparseRowVector;
+import org.apache.sysds.runtime.io.NativeIOUtils.Index;
+import org.apache.sysds.runtime.io.NativeIOUtils.Panel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Parallel reader of the native binary block format (see {@link NativeIOUtils}) for local file systems. Panels are
+ * memory-mapped and transferred in bulk into the output block; dense panels are copied directly into the dense
+ * output, and sparse panels are concatenated into a CSR output at offsets obtained from the panel index.
+ */
+public class ReaderNative extends MatrixReader {
+	private final int _numThreads;
+
+	public ReaderNative() {
+		this(OptimizerUtils.getParallelBinaryReadParallelism());
+	}
+
+	public ReaderNative(int k) {
+		_numThreads = Math.max(k, 1);
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException {
+		final Path path = new Path(fname);
+		final FileSystem fs = IOUtilFunctions.getFileSystem(path, ConfigurationManager.getCachedJobConf());
+		if(!NativeIOUtils.isLocal(fs))
+			throw new IOException("Native binary format only supported on local file systems: " + fname);
+		checkValidInputFile(fs, path);
+
+		final File file = new File(path.toUri().getPath());
+		try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			final Index index = NativeIOUtils.readIndex(channel);
+			if((rlen >= 0 && rlen != index.rlen) || (clen >= 0 && clen != index.clen))
+				throw new IOException("Read matrix dimensions differ from meta data: [" + index.rlen + "x" + index.clen
+					+ "] vs. [" + rlen + "x" + clen + "].");
+			return readNativeMatrix(channel, index);
+		}
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException {
+		throw new DMLRuntimeException("Native binary format does not support reading from input streams.");
+	}
+
+	private MatrixBlock readNativeMatrix(FileChannel channel, Index index) throws IOException {
+		final int rlen = (int) index.rlen;
+		final int clen = (int) index.clen;
+		final long nnz = index.nnz;
+		final Panel[] panels = index.panels;
+		final boolean sparse = MatrixBlock.evalSparseFormatInMemory(rlen, clen, nnz);
+
+		// allocate the output, with a single CSR block for sparse outputs that fit into int offsets
+		final MatrixBlock ret;
+		final SparseBlockCSR csr;
+		if(!sparse) {
+			ret = new MatrixBlock(rlen, clen, false);
+			if(nnz > 0)
+				ret.allocateDenseBlock();
+			csr = null;
+		}
+		else if(nnz < Integer.MAX_VALUE) {
+			csr = new SparseBlockCSR(new int[rlen + 1], new int[(int) nnz], new double[(int) nnz], (int) nnz);
+			ret = new MatrixBlock(rlen, clen, nnz, csr);
+		}
+		else {
+			ret = new MatrixBlock(rlen, clen, true, nnz);
+			ret.allocateSparseRowsBlock();
+			csr = null;
+		}
+		if(nnz == 0)
+			return ret;
+
+		final ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try {
+			final List<Callable<Object>> tasks = new ArrayList<>(panels.length);
+			long off = 0;
+			for(Panel p : panels) {
+				final int poff = (int) Math.min(off, Integer.MAX_VALUE);
+				if(!sparse)
+					tasks.add(() -> readDensePanel(channel, p, ret.getDenseBlock(), clen));
+				else if(csr != null)
+					tasks.add(() -> readCSRPanel(channel, p, csr, poff, clen));
+				else
+					tasks.add(() -> readMCSRPanel(channel, p, ret.getSparseBlock(), clen));
+				off += p.nnz;
+			}
+			for(Future<Object> f : pool.invokeAll(tasks))
+				f.get();
+		}
+		catch(Exception e) {
+			throw new IOException("Failed parallel read of native binary file.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		if(csr != null)
+			csr.rowPointers()[rlen] = (int) nnz;
+		ret.setNonZeros(nnz);
+		return ret;
+	}
+
+	private static Object readDensePanel(FileChannel channel, Panel p, DenseBlock db, int clen) throws IOException {
+		if(p.type == NativeIOUtils.EMPTY)
+			return null;
+		final ByteBuffer buff = NativeIOUtils.mapPanel(channel, p);
+		if(p.type == NativeIOUtils.DENSE) {
+			final DoubleBuffer vals = buff.asDoubleBuffer();
+			if(db.isContiguous())
+				vals.get(db.values(0), db.pos(p.rl), p.rows * clen);
+			else
+				for(int r = p.rl; r < p.rl + p.rows; r++)
+					vals.get(db.values(r), db.pos(r), clen);
+		}
+		else {
+			final IntBuffer ints = buff.asIntBuffer();
+			final DoubleBuffer vals = valuesBuffer(buff, p);
+			final int cix = p.rows + 1;
+			for(int i = 0; i < p.rows; i++) {
+				final double[] c = db.values(p.rl + i);
+				final int cpos = db.pos(p.rl + i);
+				for(int k = ints.get(i); k < ints.get(i + 1); k++)
+					c[cpos + ints.get(cix + k)] = vals.get(k);
+			}
+		}
+		return null;
+	}
+
+	private static Object readCSRPanel(FileChannel channel, Panel p, SparseBlockCSR csr, int off, int clen)
+		throws IOException {
+		final int[] rowPtr = csr.rowPointers();
+		final int[] colIdx = csr.indexes();
+		final double[] values = csr.values();
+		if(p.type == NativeIOUtils.EMPTY) {
+			for(int i = 0; i < p.rows; i++)
+				rowPtr[p.rl + i] = off;
+			return null;
+		}
+		final ByteBuffer buff = NativeIOUtils.mapPanel(channel, p);
+		final int pnnz = (int) p.nnz;
+		if(p.type == NativeIOUtils.SPARSE) {
+			// bulk transfer of column indexes and values, shifted row pointers
+			final IntBuffer ints = buff.asIntBuffer();
+			for(int i = 0; i < p.rows; i++)
+				rowPtr[p.rl + i] = off + ints.get(i);
+			ints.position(p.rows + 1);
+			ints.get(colIdx, off, pnnz);
+			valuesBuffer(buff, p).get(values, off, pnnz);
+		}
+		else {
+			final DoubleBuffer vals = buff.asDoubleBuffer();
+			int pos = off;
+			for(int i = 0; i < p.rows; i++) {
+				rowPtr[p.rl + i] = pos;
+				for(int j = 0; j < clen; j++) {
+					final double v = vals.get();
+					if(v != 0) {
+						colIdx[pos] = j;
+						values[pos++] = v;
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	private static Object readMCSRPanel(FileChannel channel, Panel p, SparseBlock sb, int clen) throws IOException {
+		if(p.type == NativeIOUtils.EMPTY)
+			return null;
+		final ByteBuffer buff = NativeIOUtils.mapPanel(channel, p);
+		if(p.type == NativeIOUtils.SPARSE) {
+			final IntBuffer ints = buff.asIntBuffer();
+			final DoubleBuffer vals = valuesBuffer(buff, p);
+			final int cix = p.rows + 1;
+			for(int i = 0; i < p.rows; i++) {
+				final int apos = ints.get(i);
+				final int alen = ints.get(i + 1) - apos;
+				if(alen == 0)
+					continue;
+				final int[] aix = new int[alen];
+				final double[] avals = new double[alen];
+				ints.position(cix + apos);
+				ints.get(aix);
+				vals.position(apos);
+				vals.get(avals);
+				sb.set(p.rl + i, new SparseRowVector(avals, aix), false);
+			}
+		}
+		else {
+			final DoubleBuffer vals = buff.asDoubleBuffer();
+			final double[] row = new double[clen];
+			for(int i = 0; i < p.rows; i++) {
+				vals.get(row);
+				for(int j = 0; j < clen; j++)
+					if(row[j] != 0)
+						sb.append(p.rl + i, j, row[j]);
+			}
+		}
+		return null;
+	}
+
+	private static DoubleBuffer valuesBuffer(ByteBuffer buff, Panel p) {
+		return buff.duplicate().order(buff.order())
+			.position((int) NativeIOUtils.getValuesOffset(p.rows, p.nnz)).slice().order(buff.order()).asDoubleBuffer();
+	}
+}
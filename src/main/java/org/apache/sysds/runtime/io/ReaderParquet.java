@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.schema.MessageType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.io.ParquetIOUtils.RowGroup;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Single-threaded matrix parquet reader, decoding the flat numeric columns directly into a dense or sparse block.
+ */
+public class ReaderParquet extends MatrixReader {
+
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException {
+		// prepare file access
+		final JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		final Path path = new Path(fname);
+		final FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		// check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		// obtain the schema and row groups of all files
+		final List<Path> files = ParquetIOUtils.getFiles(fs, path);
+		final MessageType schema = ParquetIOUtils.project(ParquetIOUtils.getSchema(job, files.get(0)), null);
+		final List<RowGroup> groups = ParquetIOUtils.getRowGroups(job, files);
+		final long nRows = ParquetIOUtils.getNumRows(groups);
+		final long nCols = schema.getFieldCount();
+		if((rlen >= 0 && rlen != nRows) || (clen >= 0 && clen != nCols))
+			throw new IOException("Matrix dimensions mismatch with metadata: " + nRows + "x" + nCols + " vs " + rlen
+				+ "x" + clen + ".");
+
+		// allocate output matrix block, dense if the number of non-zeros is unknown
+		final MatrixBlock ret = createOutputMatrixBlock(nRows, nCols, (int) Math.max(nRows, 1), estnnz, true, true);
+
+		// core read (sequential/parallel)
+		final long lnnz = readParquetMatrix(job, groups, schema, ret);
+
+		// finally check if change of sparse/dense block representation required
+		ret.setNonZeros(lnnz);
+		ret.examSparsity();
+		return ret;
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException {
+		throw new DMLRuntimeException("Parquet matrices cannot be read from input streams.");
+	}
+
+	protected long readParquetMatrix(JobConf job, List<RowGroup> groups, MessageType schema, MatrixBlock dest)
+		throws IOException {
+		long lnnz = 0;
+		for(RowGroup g : groups)
+			lnnz += readRowGroup(job, g, schema, dest);
+		return lnnz;
+	}
+
+	protected static long readRowGroup(Configuration conf, RowGroup g, MessageType schema, MatrixBlock dest)
+		throws IOException {
+		try(ParquetFileReader reader = ParquetFileReader.open(conf, g.file)) {
+			reader.setRequestedSchema(schema);
+			final ColumnReadStoreImpl store = ParquetIOUtils.readRowGroup(reader, g, schema);
+			final List<ColumnDescriptor> cols = schema.getColumns();
+			final int nCol = cols.size();
+			final int rl = (int) g.rowOffset;
+			final int n = (int) g.nRows;
+			long lnnz = 0;
+			// columns are decoded in increasing order, which allows sparse appends
+			if(dest.isInSparseFormat()) {
+				for(int j = 0; j < nCol; j++)
+					lnnz += ParquetIOUtils.readColumn(store.getColumnReader(cols.get(j)), dest.getSparseBlock(), j, rl, n);
+			}
+			else {
+				final double[] v = dest.getDenseBlockValues();
+				for(int j = 0; j < nCol; j++)
+					lnnz += ParquetIOUtils.readColumn(store.getColumnReader(cols.get(j)), v, j, nCol, rl, n);
+			}
+			return lnnz;
+		}
+	}
+}
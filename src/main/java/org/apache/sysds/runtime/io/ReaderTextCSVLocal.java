@@ -0,0 +1,563 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RawLocalFileSystem;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.utils.DoubleParser;
+
+/**
+ * Single-pass parallel CSV reader for files on the local file system. Instead of counting rows in a first pass over
+ * Hadoop record readers, the file is memory-mapped in chunks aligned at line boundaries, and each chunk is parsed
+ * directly from bytes (without String allocations per line or cell). If the dimensions are known, a cheap row count
+ * per chunk yields the row offsets and the chunks are parsed directly into the preallocated output block. Otherwise,
+ * the chunks are parsed into chunk-local buffers, which are copied in parallel into the output block once all row
+ * offsets are known.
+ * 
+ * This reader handles single-byte delimiters without NA strings and without quoted fields; files with quoted fields
+ * fall back to the generic readers, and all other configurations use {@link ReaderTextCSVParallel}.
+ */
+public class ReaderTextCSVLocal extends MatrixReader {
+	/** Minimum and maximum number of bytes per parsed chunk */
+	private static final long MIN_CHUNK_SIZE = 1L << 20;
+	private static final long MAX_CHUNK_SIZE = 64L << 20;
+
+	private final FileFormatPropertiesCSV _props;
+	private final int _numThreads;
+
+	public ReaderTextCSVLocal(FileFormatPropertiesCSV props) {
+		this(props, OptimizerUtils.getParallelTextReadParallelism());
+	}
+
+	public ReaderTextCSVLocal(FileFormatPropertiesCSV props, int k) {
+		_props = props;
+		_numThreads = k;
+	}
+
+	/**
+	 * Indicates if the given path and CSV properties are supported by this reader, i.e., a single file on the local
+	 * file system, a single-byte delimiter, and no NA strings.
+	 * 
+	 * @param fs    The file system of the path
+	 * @param path  The path to read
+	 * @param props The CSV properties
+	 * @return true if the local reader is applicable
+	 */
+	public static boolean isApplicable(FileSystem fs, Path path, FileFormatPropertiesCSV props) {
+		final String delim = props.getDelim();
+		return (fs instanceof LocalFileSystem || fs instanceof RawLocalFileSystem) //
+			&& props.getNAStrings() == null //
+			&& delim.length() == 1 && delim.charAt(0) < 128 && delim.charAt(0) != '"' //
+			&& new File(path.toUri().getPath()).isFile();
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException {
+		final MatrixBlock ret = readLocal(fname, rlen, clen, blen, estnnz);
+		// quoted fields are handled by the generic reader
+		return (ret != null) ? ret : new ReaderTextCSV(_props).readMatrixFromHDFS(fname, rlen, clen, blen, estnnz);
+	}
+
+	/**
+	 * Reads the given local file, or returns null if the file contains quoted fields, which are not supported by this
+	 * reader and require the RFC4180-compliant readers.
+	 * 
+	 * @param fname  The file name
+	 * @param rlen   The number of rows or -1 if unknown
+	 * @param clen   The number of columns or -1 if unknown
+	 * @param blen   The block size
+	 * @param estnnz The estimated number of non-zeros or -1 if unknown
+	 * @return the read matrix block, or null if quoted fields were found
+	 * @throws IOException if the file is invalid
+	 */
+	protected MatrixBlock readLocal(String fname, long rlen, long clen, int blen, long estnnz) throws IOException {
+		final Path path = new Path(fname);
+		final FileSystem fs = IOUtilFunctions.getFileSystem(path, ConfigurationManager.getCachedJobConf());
+		checkValidInputFile(fs, path);
+		final File file = new File(path.toUri().getPath());
+
+		try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			final long size = channel.size();
+			final byte delim = (byte) _props.getDelim().charAt(0);
+
+			// determine the data start, number of columns, and line-aligned chunks
+			final long start = _props.hasHeader() ? nextLineStart(channel, 0, size) : 0;
+			final int ncol = countColumns(channel, start, size, delim);
+			final long[] bounds = computeChunkBounds(channel, start, size);
+
+			final ExecutorService pool = CommonThreadPool.get(_numThreads);
+			try {
+				// with known dimensions, parse directly into the preallocated output if the row count matches
+				if(rlen > 0 && clen > 0 && ncol == clen) {
+					final int[] offsets = countRows(pool, channel, bounds);
+					if(offsets[offsets.length - 1] == rlen)
+						return readDirect(pool, channel, bounds, offsets, ncol, delim, blen, estnnz);
+				}
+				return readBuffered(pool, channel, bounds, ncol, delim, rlen, clen, blen, estnnz);
+			}
+			catch(DMLRuntimeException e) {
+				throw e;
+			}
+			catch(Exception e) {
+				if(hasQuotedField(e))
+					return null;
+				throw new IOException("Unable to read matrix in text CSV format. " + e.getMessage(), e);
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+	}
+
+	private MatrixBlock readDirect(ExecutorService pool, FileChannel channel, long[] bounds, int[] offsets, int ncol,
+		byte delim, int blen, long estnnz) throws Exception {
+		final int nrow = offsets[offsets.length - 1];
+		// without nnz meta data, allocate dense and convert afterwards if necessary
+		final long estnnz2 = (estnnz >= 0) ? estnnz : (long) nrow * ncol;
+		final MatrixBlock ret = createOutputMatrixBlock(nrow, ncol, blen, estnnz2, true, true);
+		final int nChunks = bounds.length - 1;
+		final List<Callable<RowSink>> tasks = new ArrayList<>(nChunks);
+		for(int i = 0; i < nChunks; i++)
+			tasks.add(new ParseChunkTask(channel, bounds[i], bounds[i + 1], ncol, delim,
+				new DirectSink(ret, offsets[i])));
+		long nnz = 0;
+		for(Future<RowSink> f : pool.invokeAll(tasks))
+			nnz += f.get().nnz;
+		ret.setNonZeros(nnz);
+		ret.examSparsity();
+		return ret;
+	}
+
+	private MatrixBlock readBuffered(ExecutorService pool, FileChannel channel, long[] bounds, int ncol, byte delim,
+		long rlen, long clen, int blen, long estnnz) throws Exception {
+		// parse chunks into sparse chunk buffers if the meta data indicates a sparse output
+		final boolean sparse = rlen > 0 && clen > 0 && estnnz >= 0 &&
+			MatrixBlock.evalSparseFormatInMemory(rlen, clen, estnnz);
+		final int nChunks = bounds.length - 1;
+		final Chunk[] chunks = new Chunk[nChunks];
+
+		// single read pass over all chunks
+		final List<Callable<RowSink>> tasks = new ArrayList<>(nChunks);
+		for(int i = 0; i < nChunks; i++) {
+			chunks[i] = new Chunk(ncol, sparse, (int) (bounds[i + 1] - bounds[i]));
+			tasks.add(new ParseChunkTask(channel, bounds[i], bounds[i + 1], ncol, delim, chunks[i]));
+		}
+		final List<Future<RowSink>> rt = pool.invokeAll(tasks);
+		long nrow = 0;
+		long nnz = 0;
+		for(int i = 0; i < nChunks; i++) {
+			rt.get(i).get();
+			chunks[i].rowOffset = (int) nrow;
+			nrow += chunks[i].nRows;
+			nnz += chunks[i].nnz;
+		}
+
+		// robustness for wrong dimensions which are already compiled into the plan
+		int nrow2 = (int) nrow;
+		int ncol2 = ncol;
+		if((rlen != -1 && nrow != rlen) || (clen != -1 && ncol != clen)) {
+			String msg = "Read matrix dimensions differ from meta data: [" + nrow + "x" + ncol + "] vs. [" + rlen
+				+ "x" + clen + "].";
+			if(rlen < nrow || clen < ncol)
+				throw new DMLRuntimeException(msg);
+			LOG.warn(msg);
+			nrow2 = (int) rlen;
+			ncol2 = (int) clen;
+		}
+
+		// allocate the output with the exact number of non-zeros, and concatenate chunks
+		final MatrixBlock ret = createOutputMatrixBlock(nrow2, ncol2, blen, nnz, true, true);
+		final List<Callable<Object>> ctasks = new ArrayList<>(nChunks);
+		for(Chunk c : chunks)
+			ctasks.add(() -> c.copyInto(ret));
+		for(Future<Object> f : pool.invokeAll(ctasks))
+			f.get();
+		ret.setNonZeros(nnz);
+		ret.examSparsity();
+		return ret;
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException {
+		return new ReaderTextCSV(_props).readMatrixFromInputStream(is, rlen, clen, blen, estnnz);
+	}
+
+	private long[] computeChunkBounds(FileChannel channel, long start, long size) throws IOException {
+		final long len = size - start;
+		final long chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, len / (4L * _numThreads) + 1));
+		final long[] bounds = new long[(int) ((len + chunkSize - 1) / chunkSize) + 1];
+		int n = 0;
+		bounds[n++] = start;
+		for(long pos = start + chunkSize; pos < size; pos += chunkSize) {
+			// move the nominal boundary to the next line start
+			final long b = nextLineStart(channel, Math.max(pos, bounds[n - 1]), size);
+			if(b < size && b > bounds[n - 1])
+				bounds[n++] = b;
+		}
+		bounds[n++] = size;
+		return Arrays.copyOf(bounds, n);
+	}
+
+	private static long nextLineStart(FileChannel channel, long pos, long size) throws IOException {
+		final ByteBuffer buff = ByteBuffer.allocate(8192);
+		while(pos < size) {
+			buff.clear();
+			final int n = channel.read(buff, pos);
+			if(n <= 0)
+				break;
+			for(int i = 0; i < n; i++)
+				if(buff.get(i) == '\n')
+					return pos + i + 1;
+			pos += n;
+		}
+		return size;
+	}
+
+	private static int countColumns(FileChannel channel, long start, long size, byte delim) throws IOException {
+		final long end = nextLineStart(channel, start, size);
+		final ByteBuffer line = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+		int ncol = 1;
+		while(line.hasRemaining())
+			if(line.get() == delim)
+				ncol++;
+		return ncol;
+	}
+
+	private static int[] countRows(ExecutorService pool, FileChannel channel, long[] bounds) throws Exception {
+		final int nChunks = bounds.length - 1;
+		final List<Callable<Integer>> tasks = new ArrayList<>(nChunks);
+		for(int i = 0; i < nChunks; i++) {
+			final long start = bounds[i];
+			final int len = (int) (bounds[i + 1] - start);
+			tasks.add(() -> {
+				// one row per line, incl a last line without line break
+				final ByteBuffer buff = channel.map(FileChannel.MapMode.READ_ONLY, start, len);
+				int n = 0;
+				for(int j = 0; j < len; j++)
+					if(buff.get(j) == '\n')
+						n++;
+				return (len > 0 && buff.get(len - 1) != '\n') ? n + 1 : n;
+			});
+		}
+		final int[] offsets = new int[nChunks + 1];
+		final List<Future<Integer>> rt = pool.invokeAll(tasks);
+		for(int i = 0; i < nChunks; i++) {
+			final long off = (long) offsets[i] + rt.get(i).get();
+			if(off > Integer.MAX_VALUE)
+				throw new DMLRuntimeException("Number of rows exceeds max matrix dimensions: " + off);
+			offsets[i + 1] = (int) off;
+		}
+		return offsets;
+	}
+
+	private class ParseChunkTask implements Callable<RowSink> {
+		private final FileChannel _channel;
+		private final long _start;
+		private final long _end;
+		private final int _ncol;
+		private final byte _delim;
+		private final RowSink _sink;
+
+		protected ParseChunkTask(FileChannel channel, long start, long end, int ncol, byte delim, RowSink sink) {
+			_channel = channel;
+			_start = start;
+			_end = end;
+			_ncol = ncol;
+			_delim = delim;
+			_sink = sink;
+		}
+
+		@Override
+		public RowSink call() throws IOException {
+			// map the chunk and copy it in bulk into a heap buffer for byte-wise parsing
+			final int len = (int) (_end - _start);
+			final byte[] buf = new byte[len];
+			_channel.map(FileChannel.MapMode.READ_ONLY, _start, len).get(buf);
+
+			final boolean fill = _props.isFill();
+			final double fillValue = _props.getFillValue();
+			final RowSink c = _sink;
+			int pos = 0;
+			while(pos < len) {
+				// find the line end and trim whitespace (incl carriage returns)
+				int eol = pos;
+				while(eol < len && buf[eol] != '\n')
+					eol++;
+				int ls = pos;
+				int le = eol;
+				while(ls < le && buf[ls] <= ' ' && buf[ls] != _delim)
+					ls++;
+				while(le > ls && buf[le - 1] <= ' ' && buf[le - 1] != _delim)
+					le--;
+
+				// parse cells, with the entire line as a single cell for one column
+				c.newRow();
+				int col = 0;
+				int s = ls;
+				while(true) {
+					int e = s;
+					if(_ncol > 1)
+						while(e < le && buf[e] != _delim)
+							e++;
+					else
+						e = le;
+					if(isQuoted(buf, s, e))
+						throw new QuotedFieldException();
+					if(col >= _ncol)
+						throw new IOException(numColumnsError(buf, ls, le, col + 1));
+					double v;
+					if(isBlank(buf, s, e)) {
+						if(!fill)
+							throw new IOException("Empty fields found in delimited file. "
+								+ "Use \"fill\" option to read delimited files with empty fields:" + line(buf, ls, le));
+						v = fillValue;
+					}
+					else
+						v = DoubleParser.parseFloatingPointLiteral(buf, s, e);
+					c.append(col++, v);
+					if(e >= le)
+						break;
+					s = e + 1;
+				}
+				if(col != _ncol)
+					throw new IOException(numColumnsError(buf, ls, le, col));
+				pos = eol + 1;
+			}
+			c.finish();
+			return c;
+		}
+
+		private String numColumnsError(byte[] buf, int ls, int le, int ncol) {
+			return "Invalid number of columns (" + ncol + ", expected=" + _ncol + ") found in delimited file ("
+				+ _start + ":" + _end + ") for line: " + line(buf, ls, le);
+		}
+	}
+
+	private static boolean isBlank(byte[] buf, int s, int e) {
+		for(int i = s; i < e; i++)
+			if(buf[i] > ' ')
+				return false;
+		return true;
+	}
+
+	private static boolean isQuoted(byte[] buf, int s, int e) {
+		while(s < e && buf[s] <= ' ')
+			s++;
+		return s < e && buf[s] == '"';
+	}
+
+	private static boolean hasQuotedField(Throwable e) {
+		// the marker exception might be wrapped multiple times by the thread pool
+		for(Throwable t = e; t != null; t = t.getCause())
+			if(t instanceof QuotedFieldException)
+				return true;
+		return false;
+	}
+
+	private static String line(byte[] buf, int ls, int le) {
+		return new String(buf, ls, le - ls, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Signals a quoted field, for falling back to the RFC4180-compliant readers.
+	 */
+	private static class QuotedFieldException extends IOException {
+		private static final long serialVersionUID = -3016245783294721561L;
+	}
+
+	/**
+	 * Target of parsed rows, which are appended in order with columns in ascending order.
+	 */
+	private static abstract class RowSink {
+		protected int nRows = 0;
+		protected long nnz = 0;
+
+		protected abstract void newRow();
+
+		protected abstract void append(int col, double v);
+
+		protected void finish() {
+			// do nothing
+		}
+	}
+
+	/**
+	 * Writes parsed rows directly into a preallocated output, starting at the given row offset.
+	 */
+	private static class DirectSink extends RowSink {
+		private final DenseBlock _db;
+		private final SparseBlock _sb;
+		private final int _rowOffset;
+		private double[] _vals;
+		private int _pos;
+		private int _row = -1;
+
+		protected DirectSink(MatrixBlock ret, int rowOffset) {
+			_db = ret.isInSparseFormat() ? null : ret.getDenseBlock();
+			_sb = ret.isInSparseFormat() ? ret.getSparseBlock() : null;
+			_rowOffset = rowOffset;
+		}
+
+		@Override
+		protected void newRow() {
+			_row = _rowOffset + nRows++;
+			if(_db != null) {
+				_vals = _db.values(_row);
+				_pos = _db.pos(_row);
+			}
+		}
+
+		@Override
+		protected void append(int col, double v) {
+			if(v == 0)
+				return;
+			if(_db != null)
+				_vals[_pos + col] = v;
+			else
+				_sb.append(_row, col, v);
+			nnz++;
+		}
+	}
+
+	/**
+	 * Parsed rows of a single chunk, either as row-major dense values or in CSR layout (non-zeros only).
+	 */
+	private static class Chunk extends RowSink {
+		private final int _ncol;
+		private final boolean _sparse;
+		private double[] _values;
+		private int[] _indexes; // sparse only
+		private int[] _rowPtr; // sparse only
+		private int _size = 0;
+
+		protected int rowOffset = 0;
+
+		protected Chunk(int ncol, boolean sparse, int nBytes) {
+			_ncol = ncol;
+			_sparse = sparse;
+			// initial capacity assuming four bytes per cell, grown on demand
+			final int cap = Math.max(16, nBytes / 4 + 1);
+			_values = new double[sparse ? Math.max(16, cap / 8) : cap];
+			_indexes = sparse ? new int[_values.length] : null;
+			_rowPtr = sparse ? new int[Math.max(16, cap / ncol)] : null;
+		}
+
+		@Override
+		protected void newRow() {
+			if(_sparse) {
+				if(nRows + 1 >= _rowPtr.length)
+					_rowPtr = Arrays.copyOf(_rowPtr, _rowPtr.length * 2);
+				_rowPtr[nRows] = _size;
+			}
+			else if(_size + _ncol > _values.length)
+				_values = Arrays.copyOf(_values, Math.max(_size + _ncol, _values.length * 2));
+			nRows++;
+		}
+
+		@Override
+		protected void append(int col, double v) {
+			if(_sparse) {
+				if(v == 0)
+					return;
+				if(_size >= _values.length) {
+					_values = Arrays.copyOf(_values, _values.length * 2);
+					_indexes = Arrays.copyOf(_indexes, _values.length);
+				}
+				_indexes[_size] = col;
+				_values[_size++] = v;
+				nnz++;
+			}
+			else {
+				_values[_size++] = v;
+				nnz += v != 0 ? 1 : 0;
+			}
+		}
+
+		@Override
+		protected void finish() {
+			if(_sparse)
+				_rowPtr[nRows] = _size;
+		}
+
+		protected Object copyInto(MatrixBlock ret) {
+			if(ret.isInSparseFormat()) {
+				final SparseBlock sb = ret.getSparseBlock();
+				for(int i = 0; i < nRows; i++) {
+					final int r = rowOffset + i;
+					if(_sparse) {
+						final int apos = _rowPtr[i];
+						final int alen = _rowPtr[i + 1] - apos;
+						if(alen == 0)
+							continue;
+						sb.allocate(r, alen);
+						for(int k = apos; k < apos + alen; k++)
+							sb.append(r, _indexes[k], _values[k]);
+					}
+					else {
+						final int off = i * _ncol;
+						for(int j = 0; j < _ncol; j++)
+							if(_values[off + j] != 0)
+								sb.append(r, j, _values[off + j]);
+					}
+				}
+			}
+			else {
+				final DenseBlock db = ret.getDenseBlock();
+				for(int i = 0; i < nRows; i++) {
+					final int r = rowOffset + i;
+					final double[] c = db.values(r);
+					final int cpos = db.pos(r);
+					if(_sparse)
+						for(int k = _rowPtr[i]; k < _rowPtr[i + 1]; k++)
+							c[cpos + _indexes[k]] = _values[k];
+					else
+						System.arraycopy(_values, i * _ncol, c, cpos, _ncol);
+				}
+			}
+			return null;
+		}
+	}
+}
@@ -22,6 +22,7 @@ package org.apache.sysds.runtime.io;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -46,6 +47,7 @@ import org.apache.sysds.runtime.data.SparseRow;
 import org.apache.sysds.runtime.io.IOUtilFunctions.CountRowsTask;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.IndexRange;
 import org.apache.sysds.runtime.util.UtilFunctions;
 
 /**
@@ -82,6 +84,13 @@ public class ReaderTextCSVParallel extends MatrixReader {
 		Path path = new Path(fname);
 		FileSystem fs = IOUtilFunctions.getFileSystem(path, _job);
 
+		// single-pass read of local files via memory-mapped chunks (null if quoted fields are found)
+		if(ReaderTextCSVLocal.isApplicable(fs, path, _props)) {
+			MatrixBlock ret = new ReaderTextCSVLocal(_props, _numThreads).readLocal(fname, rlen, clen, blen, estnnz);
+			if(ret != null)
+				return ret;
+		}
+
 		FileInputFormat.addInputPath(_job, path);
 		TextInputFormat informat = new TextInputFormat();
 		informat.configure(_job);
@@ -94,7 +103,7 @@ public class ReaderTextCSVParallel extends MatrixReader {
 
 		// allocate output matrix block
 		// First Read Pass (count rows/cols, determine offsets, allocate matrix block)
-		MatrixBlock ret = computeCSVSizeAndCreateOutputMatrixBlock(splits, path, rlen, clen, blen, estnnz);
+		MatrixBlock ret = computeCSVSizeAndCreateOutputMatrixBlock(splits, path, rlen, clen, blen, estnnz, true);
 		
 		// Second Read Pass (read, parse strings, append to matrix block)
 		readCSVMatrixFromHDFS(splits, path, ret);
@@ -112,6 +121,52 @@ public class ReaderTextCSVParallel extends MatrixReader {
 		return ret;
 	}
 
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz, IndexRange ix)
+		throws IOException, DMLRuntimeException {
+		_bLen = blen;
+
+		// prepare file access
+		_job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, _job);
+		FileInputFormat.addInputPath(_job, path);
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(_job);
+		InputSplit[] splits = IOUtilFunctions.sortInputSplits(informat.getSplits(_job, _numThreads));
+		checkValidInputFile(fs, path);
+
+		// First Read Pass (count rows/cols and determine offsets, w/o allocating the entire matrix)
+		computeCSVSizeAndCreateOutputMatrixBlock(splits, path, rlen, clen, blen, estnnz, false);
+		checkValidIndexRange(ix, _rLen, _cLen);
+		MatrixBlock ret = createOutputMatrixBlock(ix.rowEnd - ix.rowStart + 1, ix.colEnd - ix.colStart + 1,
+			blen, estimateNnzOfRange(_rLen, _cLen, estnnz, ix), true, true);
+
+		// Second Read Pass (read and parse the requested columns of overlapping splits only)
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try {
+			ArrayList<Callable<Long>> tasks = new ArrayList<>();
+			for(int i = 0; i < splits.length; i++) {
+				int off = _offsets.getOffsetPerSplit(i);
+				if(off <= ix.rowEnd && off + _offsets.getLenghtPerSplit(i) > ix.rowStart)
+					tasks.add(new CSVReadRangeTask(splits[i], informat, ret, i, ix));
+			}
+			long lnnz = 0;
+			for(Future<Long> rt : pool.invokeAll(tasks))
+				lnnz += rt.get();
+			ret.setNonZeros(lnnz);
+		}
+		catch(Exception e) {
+			throw new IOException("Thread pool issue, while parallel read.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		ret.examSparsity();
+		return ret;
+	}
+
 	@Override
 	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz)
 		throws IOException, DMLRuntimeException {
@@ -159,8 +214,8 @@ public class ReaderTextCSVParallel extends MatrixReader {
 		}
 	}
 
-	private MatrixBlock computeCSVSizeAndCreateOutputMatrixBlock(InputSplit[] splits,
-		Path path, long rlen, long clen, int blen, long estnnz) throws IOException, DMLRuntimeException {
+	private MatrixBlock computeCSVSizeAndCreateOutputMatrixBlock(InputSplit[] splits, Path path,
+		long rlen, long clen, int blen, long estnnz, boolean alloc) throws IOException, DMLRuntimeException {
 		_rLen = 0;
 		_cLen = 0;
 
@@ -169,7 +224,7 @@ public class ReaderTextCSVParallel extends MatrixReader {
 		
 		// count rows in parallel per split
 		try {
-			Future<MatrixBlock> ret = (rlen<0 || clen<0 || estnnz<0) ? null :
+			Future<MatrixBlock> ret = (!alloc || rlen<0 || clen<0 || estnnz<0) ? null :
 				pool.submit(() -> createOutputMatrixBlock(rlen, clen, blen, estnnz, true, true));
 			
 			FileInputFormat.addInputPath(_job, path);
@@ -229,6 +284,8 @@ public class ReaderTextCSVParallel extends MatrixReader {
 			// allocate target matrix block based on given size;
 			// need to allocate sparse as well since lock-free insert into target
 			long estnnz2 = (estnnz < 0) ? (long) _rLen * _cLen : estnnz;
+			if(!alloc)
+				return null;
 			return (ret!=null) ? UtilFunctions.getSafe(ret) :
 				createOutputMatrixBlock(_rLen, _cLen, blen, estnnz2, true, true);
 		}
@@ -543,4 +600,63 @@ public class ReaderTextCSVParallel extends MatrixReader {
 			return nnz;
 		}
 	}
+
+	private class CSVReadRangeTask extends CSVReadTask {
+		private final IndexRange _ix;
+
+		public CSVReadRangeTask(InputSplit split, TextInputFormat informat, MatrixBlock dest, int splitCount,
+			IndexRange ix) {
+			super(split, informat, dest, splitCount);
+			_ix = ix;
+		}
+
+		@Override
+		protected long parse(RecordReader<LongWritable, Text> reader, LongWritable key, Text value) throws IOException {
+			final int rl = (int) _ix.rowStart, ru = (int) _ix.rowEnd;
+			final int cl = (int) _ix.colStart, cu = (int) _ix.colEnd;
+			final boolean sparse = _dest.isInSparseFormat();
+			final Set<String> naStrings = _props.getNAStrings();
+			double cellValue = 0;
+			boolean noFillEmpty = false;
+			long nnz = 0;
+			while(_row <= ru && reader.next(key, value)) { // foreach line up to the last requested row
+				if(_row < rl) { // skip leading rows w/o parsing
+					_row++;
+					continue;
+				}
+				final String cellStr = value.toString().trim();
+				final String[] parts = IOUtilFunctions.split(cellStr, _props.getDelim());
+				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split, cellStr, parts, _cLen);
+				for(_col = cl; _col <= cu; _col++) { // foreach requested cell
+					String part = parts[_col].trim();
+					if(part.isEmpty()) {
+						noFillEmpty |= !_props.isFill();
+						cellValue = _props.getFillValue();
+					}
+					else
+						cellValue = (naStrings != null) ? UtilFunctions.parseToDouble(part, naStrings) :
+							Double.parseDouble(part);
+
+					if(cellValue != 0) {
+						if(sparse)
+							_dest.getSparseBlock().append(_row - rl, _col - cl, cellValue);
+						else
+							_dest.getDenseBlock().set(_row - rl, _col - cl, cellValue);
+						nnz++;
+					}
+				}
+				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _props.isFill(), noFillEmpty);
+				_row++;
+			}
+			return nnz;
+		}
+
+		@Override
+		protected void verifyRows(Text value) throws IOException {
+			int end = _offsets.getOffsetPerSplit(_splitCount) + _offsets.getLenghtPerSplit(_splitCount);
+			if(_row != Math.min(end, _ix.rowEnd + 1))
+				throw new IOException("Incorrect number of rows (" + _row + ") found in delimited file ("
+					+ Math.min(end, _ix.rowEnd + 1) + "): " + value);
+		}
+	}
 }
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.InputFormat;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+
+/**
+ * Chunk iterator for line-based text formats, which reads the given splits sequentially via record readers and
+ * parses lines into frame blocks of at most the given number of rows. Only one chunk is held in memory at a time.
+ */
+abstract class TextFrameChunkIterator implements FrameChunkIterator {
+	private final InputSplit[] _splits;
+	private final InputFormat<LongWritable, Text> _informat;
+	private final JobConf _job;
+	private final int _chunkRows;
+	private final LongWritable _key = new LongWritable();
+	private final Text _value = new Text();
+
+	protected final ValueType[] _schema;
+	protected String[] _names;
+
+	private int _split = -1;
+	private RecordReader<LongWritable, Text> _reader = null;
+	private FrameBlock _next = null;
+	private long _numRows = 0;
+
+	protected TextFrameChunkIterator(InputSplit[] splits, InputFormat<LongWritable, Text> informat, JobConf job,
+		ValueType[] schema, String[] names, int chunkRows) {
+		if(chunkRows <= 0)
+			throw new DMLRuntimeException("Invalid chunk size: " + chunkRows);
+		_splits = splits;
+		_informat = informat;
+		_job = job;
+		_schema = schema;
+		_names = names;
+		_chunkRows = chunkRows;
+	}
+
+	/**
+	 * Parses a single line into the given row of the destination block.
+	 * 
+	 * @param line the line
+	 * @param dest the destination chunk
+	 * @param row  the row index in the chunk
+	 * @return true if a row was parsed, false if the line was skipped (e.g., meta data)
+	 * @throws IOException if the line is invalid
+	 */
+	protected abstract boolean parseLine(String line, FrameBlock dest, int row) throws IOException;
+
+	/**
+	 * Hook called after opening a split, e.g., for consuming a header line.
+	 * 
+	 * @param split  the split index
+	 * @param reader the opened record reader
+	 * @param key    reusable key
+	 * @param value  reusable value
+	 * @throws IOException if reading fails
+	 */
+	protected void openSplit(int split, RecordReader<LongWritable, Text> reader, LongWritable key, Text value)
+		throws IOException {
+		// do nothing
+	}
+
+	@Override
+	public boolean hasNext() {
+		if(_next == null) {
+			try {
+				_next = readChunk();
+			}
+			catch(IOException e) {
+				throw new DMLRuntimeException("Failed to read frame chunk.", e);
+			}
+		}
+		return _next != null;
+	}
+
+	@Override
+	public FrameBlock next() {
+		if(!hasNext())
+			throw new NoSuchElementException();
+		FrameBlock ret = _next;
+		_next = null;
+		return ret;
+	}
+
+	@Override
+	public long getNumRowsRead() {
+		return _numRows;
+	}
+
+	@Override
+	public void close() {
+		IOUtilFunctions.closeSilently(_reader);
+		_reader = null;
+		_split = _splits.length;
+	}
+
+	private FrameBlock readChunk() throws IOException {
+		FrameBlock dest = FrameReader.createOutputFrameBlock(_schema, _names, _chunkRows);
+		int row = 0;
+		while(row < _chunkRows && nextLine()) {
+			try {
+				if(parseLine(_value.toString(), dest, row))
+					row++;
+			}
+			catch(IOException | RuntimeException e) {
+				throw new IOException("Failed parsing string: \"" + _value + "\"", e);
+			}
+		}
+		if(row == 0)
+			return null;
+		if(row < _chunkRows)
+			dest = dest.slice(0, row - 1);
+		dest.setColumnNames(_names);
+		_numRows += row;
+		return dest;
+	}
+
+	private boolean nextLine() throws IOException {
+		while(true) {
+			if(_reader != null && _reader.next(_key, _value))
+				return true;
+			IOUtilFunctions.closeSilently(_reader);
+			_reader = null;
+			if(++_split >= _splits.length)
+				return false;
+			_reader = _informat.getRecordReader(_splits[_split], _job, Reporter.NULL);
+			openSplit(_split, _reader, _key, _value);
+		}
+	}
+}
@@ -25,6 +25,7 @@ import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.io.hdf5.H5;
 import org.apache.sysds.runtime.io.hdf5.H5RootObject;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -32,6 +33,7 @@ import org.apache.sysds.runtime.util.HDFSTool;
 
 import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
 
 public class WriterHDF5 extends MatrixWriter {
 
@@ -80,30 +82,35 @@ public class WriterHDF5 extends MatrixWriter {
 	}
 
 	protected static void writeHDF5MatrixToFile(Path path, JobConf job, FileSystem fs, MatrixBlock src, int rl,
-		int rlen) throws IOException {
+		int ru) throws IOException {
 
 		int clen = src.getNumColumns();
 		BufferedOutputStream bos = new BufferedOutputStream(fs.create(path, true));
 		String datasetName = _props.getDatasetName();
-		H5RootObject rootObject = H5.H5Screate(bos, src.getNumRows(), src.getNumColumns());
-		H5.H5Dcreate(rootObject, src.getNumRows(), src.getNumColumns(), datasetName);
-
-		//write headers
-		if(rl == 0) {
-			H5.H5WriteHeaders(rootObject);
-		}
 
 		try {
-			//TODO: HDF5 format don't support spars matrix
-			// How to store spars matrix in HDF5 format?
+			//write headers (each part file is a self-contained HDF5 file of its row range)
+			H5RootObject rootObject = H5.H5Screate(bos, ru - rl, clen);
+			H5.H5Dcreate(rootObject, ru - rl, clen, datasetName);
+			H5.H5WriteHeaders(rootObject);
 
-			// Write the data to the datasets.
+			// Write the data to the datasets (dense rows, incl. sparse and empty inputs)
 			double[] data = new double[clen];
-			DenseBlock d = src.getDenseBlock();
-			for(int i = rl; i < rlen; i++) {
-				for(int j = 0; j < clen;j++) {
-					double lvalue = d!=null ? d.get(i, j) : 0;
-					data[j] = lvalue;
+			DenseBlock d = src.isInSparseFormat() ? null : src.getDenseBlock();
+			SparseBlock sb = src.isInSparseFormat() ? src.getSparseBlock() : null;
+			for(int i = rl; i < ru; i++) {
+				if(d != null)
+					System.arraycopy(d.values(i), d.pos(i), data, 0, clen);
+				else {
+					Arrays.fill(data, 0);
+					if(sb != null && !sb.isEmpty(i)) {
+						int apos = sb.pos(i);
+						int alen = sb.size(i);
+						int[] aix = sb.indexes(i);
+						double[] avals = sb.values(i);
+						for(int k = apos; k < apos + alen; k++)
+							data[aix[k]] = avals[k];
+					}
 				}
 				H5.H5Dwrite(rootObject, data);
 			}
@@ -0,0 +1,296 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.io.NativeIOUtils.Index;
+import org.apache.sysds.runtime.io.NativeIOUtils.Panel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.UtilFunctions;
+
+/**
+ * Parallel writer of the native binary block format (see {@link NativeIOUtils}) for local file systems. After
+ * computing the panel index, all panels are written concurrently with positional writes into a pre-sized file.
+ */
+public class WriterNative extends MatrixWriter {
+	/** Size of the per-task write buffer */
+	private static final int BUFFER_SIZE = 4 * 1024 * 1024;
+
+	private final int _numThreads;
+
+	public WriterNative() {
+		this(OptimizerUtils.getParallelBinaryWriteParallelism());
+	}
+
+	public WriterNative(int k) {
+		_numThreads = Math.max(k, 1);
+	}
+
+	@Override
+	public void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int blen, long nnz,
+		boolean diag) throws IOException, DMLRuntimeException {
+		// validity check matrix dimensions
+		if(src.getNumRows() != rlen || src.getNumColumns() != clen)
+			throw new IOException("Matrix dimensions mismatch with metadata: " + src.getNumRows() + "x"
+				+ src.getNumColumns() + " vs " + rlen + "x" + clen + ".");
+
+		// prepare file access
+		final JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		final Path path = new Path(fname);
+		final FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		if(!NativeIOUtils.isLocal(fs))
+			throw new IOException("Native binary format only supported on local file systems: " + fname);
+
+		// if the file already exists on HDFS, remove it.
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+
+		if(src instanceof CompressedMatrixBlock)
+			src = CompressedMatrixBlock.getUncompressed(src, "native binary write", _numThreads);
+
+		// core write of index and panels
+		writeNativeMatrixToFile(new File(path.toUri().getPath()), src,
+			blen > 0 ? blen : ConfigurationManager.getBlocksize());
+
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	@Override
+	public final void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int blen)
+		throws IOException, DMLRuntimeException {
+		final MatrixBlock empty = new MatrixBlock((int) rlen, (int) clen, true);
+		writeMatrixToHDFS(empty, fname, rlen, clen, blen, 0);
+	}
+
+	private void writeNativeMatrixToFile(File file, MatrixBlock src, int blen) throws IOException {
+		final int rlen = src.getNumRows();
+		final int clen = src.getNumColumns();
+		final int prows = NativeIOUtils.getPanelRows(clen, blen);
+		final Panel[] panels = new Panel[(rlen + prows - 1) / prows];
+		for(int i = 0; i < panels.length; i++)
+			panels[i] = new Panel(i * prows, Math.min(prows, rlen - i * prows));
+
+		final ExecutorService pool = CommonThreadPool.get(_numThreads);
+		if(file.getParentFile() != null)
+			file.getParentFile().mkdirs();
+		try(RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			// compute the non-zeros per panel, which determine the panel types and offsets
+			final List<Callable<Long>> ctasks = new ArrayList<>(panels.length);
+			for(Panel p : panels)
+				ctasks.add(() -> p.nnz = countNonZeros(src, p.rl, p.rl + p.rows));
+			long nnz = 0;
+			for(Future<Long> f : pool.invokeAll(ctasks))
+				nnz += f.get();
+			final long size = NativeIOUtils.layout(panels, clen);
+
+			// write index and all panels concurrently into the pre-sized file
+			final FileChannel channel = raf.getChannel();
+			raf.setLength(size);
+			NativeIOUtils.writeIndex(channel, new Index(rlen, clen, nnz, panels));
+			final List<Callable<Object>> wtasks = new ArrayList<>(panels.length);
+			for(Panel p : panels)
+				if(p.type != NativeIOUtils.EMPTY)
+					wtasks.add(() -> writePanel(channel, src, p));
+			for(Future<Object> f : pool.invokeAll(wtasks))
+				f.get();
+		}
+		catch(IOException e) {
+			throw e;
+		}
+		catch(Exception e) {
+			throw new IOException("Failed parallel write of native binary file: " + file, e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private static long countNonZeros(MatrixBlock src, int rl, int ru) {
+		if(src.isEmptyBlock(false))
+			return 0;
+		else if(src.isInSparseFormat())
+			return src.getSparseBlock().size(rl, ru);
+		else
+			return src.recomputeNonZeros(rl, ru - 1);
+	}
+
+	private static Object writePanel(FileChannel channel, MatrixBlock src, Panel p) throws IOException {
+		final PanelWriter out = new PanelWriter(channel, p.offset, p.length);
+		final int clen = src.getNumColumns();
+		final int ru = p.rl + p.rows;
+		if(src.isInSparseFormat()) {
+			final SparseBlock sb = src.getSparseBlock();
+			if(p.type == NativeIOUtils.DENSE) {
+				final double[] row = new double[clen];
+				for(int r = p.rl; r < ru; r++) {
+					Arrays.fill(row, 0);
+					if(!sb.isEmpty(r)) {
+						final int apos = sb.pos(r);
+						final int alen = sb.size(r);
+						final int[] aix = sb.indexes(r);
+						final double[] avals = sb.values(r);
+						for(int k = apos; k < apos + alen; k++)
+							row[aix[k]] = avals[k];
+					}
+					out.putDoubles(row, 0, clen);
+				}
+			}
+			else {
+				int nnz = 0;
+				out.putInt(0);
+				for(int r = p.rl; r < ru; r++)
+					out.putInt(nnz += sb.size(r));
+				for(int r = p.rl; r < ru; r++)
+					if(!sb.isEmpty(r))
+						out.putInts(sb.indexes(r), sb.pos(r), sb.size(r));
+				out.pad(8);
+				for(int r = p.rl; r < ru; r++)
+					if(!sb.isEmpty(r))
+						out.putDoubles(sb.values(r), sb.pos(r), sb.size(r));
+			}
+		}
+		else {
+			final DenseBlock db = src.getDenseBlock();
+			if(p.type == NativeIOUtils.DENSE) {
+				for(int r = p.rl; r < ru; r++)
+					out.putDoubles(db.values(r), db.pos(r), clen);
+			}
+			else {
+				int nnz = 0;
+				out.putInt(0);
+				for(int r = p.rl; r < ru; r++)
+					out.putInt(nnz += UtilFunctions.countNonZeros(db.values(r), db.pos(r), clen));
+				for(int r = p.rl; r < ru; r++) {
+					final double[] avals = db.values(r);
+					final int apos = db.pos(r);
+					for(int j = 0; j < clen; j++)
+						if(avals[apos + j] != 0)
+							out.putInt(j);
+				}
+				out.pad(8);
+				for(int r = p.rl; r < ru; r++) {
+					final double[] avals = db.values(r);
+					final int apos = db.pos(r);
+					for(int j = 0; j < clen; j++)
+						if(avals[apos + j] != 0)
+							out.putDouble(avals[apos + j]);
+				}
+			}
+		}
+		out.flush();
+		if(out.written() != p.length)
+			throw new IOException("Invalid native binary panel size: " + out.written() + " vs " + p.length);
+		return null;
+	}
+
+	/** Buffered positional writer of a single panel payload. */
+	private static class PanelWriter {
+		private final FileChannel _channel;
+		private final long _offset;
+		private final ByteBuffer _buff;
+		private long _pos;
+
+		protected PanelWriter(FileChannel channel, long offset, long length) {
+			_channel = channel;
+			_offset = offset;
+			_pos = offset;
+			_buff = ByteBuffer.allocateDirect((int) Math.max(64, Math.min(length, BUFFER_SIZE)))
+				.order(ByteOrder.LITTLE_ENDIAN);
+		}
+
+		protected void putInt(int v) throws IOException {
+			if(_buff.remaining() < 4)
+				flush();
+			_buff.putInt(v);
+		}
+
+		protected void putDouble(double v) throws IOException {
+			if(_buff.remaining() < 8)
+				flush();
+			_buff.putDouble(v);
+		}
+
+		protected void putInts(int[] a, int off, int len) throws IOException {
+			while(len > 0) {
+				if(_buff.remaining() < 4)
+					flush();
+				final int n = Math.min(len, _buff.remaining() / 4);
+				_buff.asIntBuffer().put(a, off, n);
+				_buff.position(_buff.position() + 4 * n);
+				off += n;
+				len -= n;
+			}
+		}
+
+		protected void putDoubles(double[] a, int off, int len) throws IOException {
+			while(len > 0) {
+				if(_buff.remaining() < 8)
+					flush();
+				final int n = Math.min(len, _buff.remaining() / 8);
+				_buff.asDoubleBuffer().put(a, off, n);
+				_buff.position(_buff.position() + 8 * n);
+				off += n;
+				len -= n;
+			}
+		}
+
+		protected void pad(int alignment) throws IOException {
+			while(written() % alignment != 0) {
+				if(!_buff.hasRemaining())
+					flush();
+				_buff.put((byte) 0);
+			}
+		}
+
+		protected long written() {
+			return _pos - _offset + _buff.position();
+		}
+
+		protected void flush() throws IOException {
+			_buff.flip();
+			while(_buff.hasRemaining())
+				_pos += _channel.write(_buff, _pos);
+			_buff.clear();
+		}
+	}
+}
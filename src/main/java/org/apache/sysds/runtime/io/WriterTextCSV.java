@@ -99,143 +99,159 @@ public class WriterTextCSV extends MatrixWriter
 
 	protected static void writeCSVMatrixToFile( Path path, JobConf job, FileSystem fs, MatrixBlock src, int rl, int ru, FileFormatPropertiesCSV props )
 		throws IOException
+	{
+		//create buffered writer
+		BufferedWriter br = new BufferedWriter(new OutputStreamWriter(fs.create(path,true)));		
+		
+		try {
+			writeCSVMatrixToWriter(br, src, rl, ru, props);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(br);
+		}
+	}
+
+	/**
+	 * Writes the rows [rl, ru) of the given matrix as csv lines to an open writer, which allows
+	 * appending multiple blocks to a single file. The header is only written if rl==0.
+	 * 
+	 * @param br    the buffered writer (not closed)
+	 * @param src   the matrix block
+	 * @param rl    row lower index, inclusive
+	 * @param ru    row upper index, exclusive
+	 * @param props csv format properties
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeCSVMatrixToWriter( BufferedWriter br, MatrixBlock src, int rl, int ru, FileFormatPropertiesCSV props )
+		throws IOException
 	{
 		boolean sparse = src.isInSparseFormat();
 		int clen = src.getNumColumns();
 		
-		//create buffered writer
-		BufferedWriter br = new BufferedWriter(new OutputStreamWriter(fs.create(path,true)));		
+		//for obj reuse and preventing repeated buffer re-allocations
+		StringBuilder sb = new StringBuilder();
+		
+		props = (props==null)? new FileFormatPropertiesCSV() : props;
+		String delim = props.getDelim();
+		boolean csvsparse = props.isSparse();
 		
-		try
+		// Write header line, if needed
+		if( props.hasHeader() && rl==0 ) 
 		{
-			//for obj reuse and preventing repeated buffer re-allocations
-			StringBuilder sb = new StringBuilder();
-			
-			props = (props==null)? new FileFormatPropertiesCSV() : props;
-			String delim = props.getDelim();
-			boolean csvsparse = props.isSparse();
-			
-			// Write header line, if needed
-			if( props.hasHeader() && rl==0 ) 
+			//write row chunk-wise to prevent OOM on large number of columns
+			for( int bj=0; bj<clen; bj+=BLOCKSIZE_J )
 			{
-				//write row chunk-wise to prevent OOM on large number of columns
-				for( int bj=0; bj<clen; bj+=BLOCKSIZE_J )
+				for( int j=bj; j < Math.min(clen,bj+BLOCKSIZE_J); j++) 
 				{
-					for( int j=bj; j < Math.min(clen,bj+BLOCKSIZE_J); j++) 
-					{
-						sb.append("C"+ (j+1));
-						if ( j < clen-1 )
-							sb.append(delim);
-					}
-					br.write( sb.toString() );
-		            sb.setLength(0);	
+					sb.append("C"+ (j+1));
+					if ( j < clen-1 )
+						sb.append(delim);
 				}
-				sb.append('\n');
 				br.write( sb.toString() );
-	            sb.setLength(0);
+	            sb.setLength(0);	
 			}
-			
-			// Write data lines
-			if( sparse ) //SPARSE
-			{	
-				SparseBlock sblock = src.getSparseBlock();
-				for(int i=rl; i < ru; i++) 
+			sb.append('\n');
+			br.write( sb.toString() );
+	            sb.setLength(0);
+		}
+		
+		// Write data lines
+		if( sparse ) //SPARSE
+		{	
+			SparseBlock sblock = src.getSparseBlock();
+			for(int i=rl; i < ru; i++) 
 	            {
-					//write row chunk-wise to prevent OOM on large number of columns
-					int prev_jix = -1;
-					if(    sblock!=null && i<sblock.numRows() 
-						&& !sblock.isEmpty(i) )
+				//write row chunk-wise to prevent OOM on large number of columns
+				int prev_jix = -1;
+				if(    sblock!=null && i<sblock.numRows() 
+					&& !sblock.isEmpty(i) )
+				{
+					int pos = sblock.pos(i);
+					int alen = sblock.size(i);
+					int[] aix = sblock.indexes(i);
+					double[] avals = sblock.values(i);
+					
+					for(int j=pos; j<pos+alen; j++) 
 					{
-						int pos = sblock.pos(i);
-						int alen = sblock.size(i);
-						int[] aix = sblock.indexes(i);
-						double[] avals = sblock.values(i);
+						int jix = aix[j];
 						
-						for(int j=pos; j<pos+alen; j++) 
-						{
-							int jix = aix[j];
-							
-							// output empty fields, if needed
-							for( int j2=prev_jix; j2<jix-1; j2++ ) {
-								if( !csvsparse )
-									sb.append('0');
-								sb.append(delim);
-							
-								//flush buffered string
-					            if( j2%BLOCKSIZE_J==0 ){
-									br.write( sb.toString() );
-						            sb.setLength(0);
-					            }
-							}
-							
-							// output the value (non-zero)
-							sb.append( avals[j] );
-							if( jix < clen-1)
-								sb.append(delim);
-							br.write( sb.toString() );
-				            sb.setLength(0);
-				            
-				            //flush buffered string
-				            if( jix%BLOCKSIZE_J==0 ){
+						// output empty fields, if needed
+						for( int j2=prev_jix; j2<jix-1; j2++ ) {
+							if( !csvsparse )
+								sb.append('0');
+							sb.append(delim);
+						
+							//flush buffered string
+				            if( j2%BLOCKSIZE_J==0 ){
 								br.write( sb.toString() );
 					            sb.setLength(0);
 				            }
-				            
-							prev_jix = jix;
-						}
-					}
-					
-					// Output empty fields at the end of the row.
-					// In case of an empty row, output (clen-1) empty fields
-					for( int bj=prev_jix+1; bj<clen; bj+=BLOCKSIZE_J )
-					{
-						for( int j = bj; j < Math.min(clen,bj+BLOCKSIZE_J); j++) {
-							if( !csvsparse )
-								sb.append('0');
-							if( j < clen-1 )
-								sb.append(delim);
 						}
+						
+						// output the value (non-zero)
+						sb.append( avals[j] );
+						if( jix < clen-1)
+							sb.append(delim);
 						br.write( sb.toString() );
-			            sb.setLength(0);	
+			            sb.setLength(0);
+			            
+			            //flush buffered string
+			            if( jix%BLOCKSIZE_J==0 ){
+							br.write( sb.toString() );
+				            sb.setLength(0);
+			            }
+			            
+						prev_jix = jix;
 					}
-
-					sb.append('\n');
-					br.write( sb.toString() ); 
-					sb.setLength(0); 
 				}
+				
+				// Output empty fields at the end of the row.
+				// In case of an empty row, output (clen-1) empty fields
+				for( int bj=prev_jix+1; bj<clen; bj+=BLOCKSIZE_J )
+				{
+					for( int j = bj; j < Math.min(clen,bj+BLOCKSIZE_J); j++) {
+						if( !csvsparse )
+							sb.append('0');
+						if( j < clen-1 )
+							sb.append(delim);
+					}
+					br.write( sb.toString() );
+		            sb.setLength(0);	
+				}
+
+				sb.append('\n');
+				br.write( sb.toString() ); 
+				sb.setLength(0); 
 			}
-			else //DENSE
+		}
+		else //DENSE
+		{
+			DenseBlock d = src.getDenseBlock();
+			for( int i=rl; i<ru; i++ ) 
 			{
-				DenseBlock d = src.getDenseBlock();
-				for( int i=rl; i<ru; i++ ) 
+				//write row chunk-wise to prevent OOM on large number of columns
+				for( int bj=0; bj<clen; bj+=BLOCKSIZE_J )
 				{
-					//write row chunk-wise to prevent OOM on large number of columns
-					for( int bj=0; bj<clen; bj+=BLOCKSIZE_J )
+					for( int j=bj; j<Math.min(clen,bj+BLOCKSIZE_J); j++ )
 					{
-						for( int j=bj; j<Math.min(clen,bj+BLOCKSIZE_J); j++ )
-						{
-							double lvalue = d!=null ? d.get(i, j) : 0;
-							if( lvalue != 0 ) //for nnz
-								sb.append(lvalue);
-							else if( !csvsparse ) 
-								sb.append('0');
-							
-							if( j != clen-1 )
-								sb.append(delim);
-						}
-						br.write( sb.toString() );
-						sb.setLength(0);
+						double lvalue = d!=null ? d.get(i, j) : 0;
+						if( lvalue != 0 ) //for nnz
+							sb.append(lvalue);
+						else if( !csvsparse ) 
+							sb.append('0');
+						
+						if( j != clen-1 )
+							sb.append(delim);
 					}
-					
-					sb.append('\n');
-					br.write( sb.toString() ); //same as append
-					sb.setLength(0); 
+					br.write( sb.toString() );
+					sb.setLength(0);
 				}
+				
+				sb.append('\n');
+				br.write( sb.toString() ); //same as append
+				sb.setLength(0); 
 			}
 		}
-		finally {
-			IOUtilFunctions.closeSilently(br);
-		}
 	}
 
 	public final void addHeaderToCSV(String srcFileName, String destFileName, long rlen, long clen) 
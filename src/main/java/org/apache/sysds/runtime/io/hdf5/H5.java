@@ -22,9 +22,9 @@ package org.apache.sysds.runtime.io.hdf5;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.nio.ByteBuffer;
-import java.util.List;
+import java.nio.ByteOrder;
 
-import org.apache.sysds.runtime.io.hdf5.message.H5SymbolTableMessage;
+import org.apache.hadoop.fs.PositionedReadable;
 
 public class H5 {
 
@@ -38,13 +38,30 @@ public class H5 {
 	public static H5RootObject H5Fopen(BufferedInputStream bis) {
 		H5RootObject rootObject = new H5RootObject();
 		bis.mark(0);
+		rootObject.setBufferedInputStream(bis);
+		return H5Fopen(rootObject);
+	}
+
+	/**
+	 * Opens a file via positional reads, which allows concurrent reads of datasets.
+	 * 
+	 * @param in positional input (e.g., a FSDataInputStream)
+	 * @return root object
+	 */
+	public static H5RootObject H5Fopen(PositionedReadable in) {
+		H5RootObject rootObject = new H5RootObject();
+		rootObject.setPositionedInput(in);
+		return H5Fopen(rootObject);
+	}
+
+	private static H5RootObject H5Fopen(H5RootObject rootObject) {
 		try {
 			// Find out if the file is a HDF5 file
 			int maxSignatureLength = 2048;
 			boolean validSignature = false;
 			long offset;
 			for(offset = 0; offset < maxSignatureLength; offset = nextOffset(offset)) {
-				validSignature = H5Superblock.verifySignature(bis, offset);
+				validSignature = H5Superblock.verifySignature(rootObject, offset);
 				if(validSignature) {
 					break;
 				}
@@ -52,9 +69,8 @@ public class H5 {
 			if(!validSignature) {
 				throw new H5RuntimeException("No valid HDF5 signature found");
 			}
-			rootObject.setBufferedInputStream(bis);
 
-			final H5Superblock superblock = new H5Superblock(bis, offset);
+			final H5Superblock superblock = new H5Superblock(rootObject, offset);
 			rootObject.setSuperblock(superblock);
 		}
 		catch(Exception exception) {
@@ -110,37 +126,38 @@ public class H5 {
 		}
 	}
 
-	// Open a Data Space
-	public static H5ContiguousDataset H5Dopen(H5RootObject rootObject, String datasetName) {
+	/**
+	 * Opens the object header of a group or dataset by its path, e.g., "X" or "/group/X".
+	 * 
+	 * @param rootObject root object
+	 * @param path       path of the object, relative to the root group
+	 * @return object header
+	 */
+	public static H5ObjectHeader H5Oopen(H5RootObject rootObject, String path) {
 		try {
 			H5SymbolTableEntry symbolTableEntry = new H5SymbolTableEntry(rootObject,
 				rootObject.getSuperblock().rootGroupSymbolTableAddress - rootObject.getSuperblock().baseAddressByte);
 
 			H5ObjectHeader objectHeader = new H5ObjectHeader(rootObject, symbolTableEntry.getObjectHeaderAddress());
-
-			final H5SymbolTableMessage stm = (H5SymbolTableMessage) objectHeader.getMessages().get(0);
-			final H5BTree rootBTreeNode = new H5BTree(rootObject, stm.getbTreeAddress());
-			final H5LocalHeap rootNameHeap = new H5LocalHeap(rootObject, stm.getLocalHeapAddress());
-			final ByteBuffer nameBuffer = rootNameHeap.getDataBuffer();
-			final List<Long> childAddresses = rootBTreeNode.getChildAddresses();
-
-			long child = childAddresses.get(0);
-
-			H5GroupSymbolTableNode groupSTE = new H5GroupSymbolTableNode(rootObject, child);
-
-			symbolTableEntry = groupSTE.getSymbolTableEntries()[0];
-
-			nameBuffer.position(symbolTableEntry.getLinkNameOffset());
-			String childName = Utils.readUntilNull(nameBuffer);
-
-			if(!childName.equals(datasetName)) {
-				throw new H5RuntimeException("The requested dataset '" + datasetName + "' differs from available '"+childName+"'.");
+			for(String name : path.split("/")) {
+				if(name.isEmpty())
+					continue;
+				objectHeader = new H5Group(rootObject, objectHeader).getChild(name);
 			}
+			return objectHeader;
+		}
+		catch(Exception exception) {
+			throw new H5RuntimeException(exception);
+		}
+	}
 
-			final H5ObjectHeader header = new H5ObjectHeader(rootObject, symbolTableEntry.getObjectHeaderAddress());
-			final H5ContiguousDataset contiguousDataset = new H5ContiguousDataset(rootObject, header);
-			return contiguousDataset;
-
+	// Open a Data Space
+	public static H5Dataset H5Dopen(H5RootObject rootObject, String datasetName) {
+		H5ObjectHeader objectHeader = H5Oopen(rootObject, datasetName);
+		if(H5Group.isGroup(objectHeader))
+			throw new H5RuntimeException("The requested object '" + datasetName + "' is a group, not a dataset.");
+		try {
+			return new H5Dataset(rootObject, objectHeader);
 		}
 		catch(Exception exception) {
 			throw new H5RuntimeException(exception);
@@ -176,11 +193,9 @@ public class H5 {
 	// Write Data
 	public static void H5Dwrite(H5RootObject rootObject, double[] data) {
 		try {
-			H5BufferBuilder bb = new H5BufferBuilder();
-			for(Double d : data) {
-				bb.writeDouble(d);
-			}
-			rootObject.getBufferedOutputStream().write(bb.noOrderBuild().array());
+			ByteBuffer bb = ByteBuffer.allocate(data.length * 8).order(ByteOrder.LITTLE_ENDIAN);
+			bb.asDoubleBuffer().put(data);
+			rootObject.getBufferedOutputStream().write(bb.array());
 		}
 		catch(Exception exception) {
 			throw new H5RuntimeException(exception);
@@ -194,16 +209,14 @@ public class H5 {
 		}
 	}
 
-	public static void H5Dread(H5RootObject rootObject, H5ContiguousDataset dataset, double[][] data) {
-		for(int i = 0; i < rootObject.getRow(); i++) {
-			ByteBuffer buffer = dataset.getDataBuffer(i);
-			dataset.getDataType().getDoubleDataType().fillData(buffer, data[i]);
+	public static void H5Dread(H5Dataset dataset, double[][] data) {
+		for(int i = 0; i < dataset.getNumRows(); i++) {
+			dataset.readRows(i, i + 1, data[i], 0);
 		}
 	}
 
-	public static void H5Dread(H5ContiguousDataset dataset, int row, double[] data) {
-		ByteBuffer buffer = dataset.getDataBuffer(row);
-		dataset.getDataType().getDoubleDataType().fillData(buffer, data);
+	public static void H5Dread(H5Dataset dataset, int row, double[] data) {
+		dataset.readRows(row, row + 1, data, 0);
 	}
 
 }
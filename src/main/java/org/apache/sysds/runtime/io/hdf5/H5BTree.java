@@ -38,6 +38,7 @@ public class H5BTree {
 	private byte nodeType;
 	private byte nodeLevel;
 	private final List<Long> childAddresses;
+	private final List<H5Chunk> chunks;
 	private final H5RootObject rootObject;
 
 	public H5BTree(H5RootObject rootObject, byte nodeType, byte nodeLevel, int entriesUsed, long leftSiblingAddress,
@@ -50,37 +51,64 @@ public class H5BTree {
 		this.leftSiblingAddress = leftSiblingAddress;
 		this.rightSiblingAddress = rightSiblingAddress;
 		this.childAddresses = childAddresses;
+		this.chunks = null;
 	}
 
 	public H5BTree(H5RootObject rootObject, long address) {
+		this(rootObject, address, 0);
+	}
+
+	/**
+	 * Reads a version 1 B-tree node of a group (node type 0) or a chunked dataset (node type 1).
+	 * 
+	 * @param rootObject     root object
+	 * @param address        node address
+	 * @param dimensionality dimensionality of chunks (dataset rank + 1) for chunk nodes, otherwise ignored
+	 */
+	public H5BTree(H5RootObject rootObject, long address, int dimensionality) {
 
 		this.address = address;
 		this.rootObject = rootObject;
 
-		readHeaderAndValidateSignature(rootObject, address);
+		ByteBuffer header = readHeaderAndValidateSignature(rootObject, address);
+		this.nodeType = header.get();
+		this.nodeLevel = header.get();
 
-		int headerSize = 8 * rootObject.getSuperblock().sizeOfOffsets;
-		ByteBuffer header = rootObject.readBufferFromAddress(address + 6, headerSize);
+		int sizeOfOffsets = rootObject.getSuperblock().sizeOfOffsets;
+		int headerSize = 2 + 2 * sizeOfOffsets;
+		header = rootObject.readBufferFromAddress(address + 6, headerSize);
 
 		this.entriesUsed = Utils.readBytesAsUnsignedInt(header, 2);
 
-		this.leftSiblingAddress = Utils.readBytesAsUnsignedLong(header, rootObject.getSuperblock().sizeOfOffsets);
+		this.leftSiblingAddress = Utils.readBytesAsUnsignedLong(header, sizeOfOffsets);
 
-		this.rightSiblingAddress = Utils.readBytesAsUnsignedLong(header, rootObject.getSuperblock().sizeOfOffsets);
+		this.rightSiblingAddress = Utils.readBytesAsUnsignedLong(header, sizeOfOffsets);
 
-		final int keyBytes = (2 * entriesUsed + 1) * rootObject.getSuperblock().sizeOfLengths;
-		final int childPointerBytes = (2 * entriesUsed) * rootObject.getSuperblock().sizeOfLengths;
-		final int keysAndPointersBytes = keyBytes + childPointerBytes;
+		// group keys are heap offsets, chunk keys are chunk size, filter mask, and chunk offsets
+		final int keyBytes = (nodeType == 0) ? rootObject.getSuperblock().sizeOfLengths : 8 + 8 * dimensionality;
+		final int keysAndPointersBytes = entriesUsed * (keyBytes + sizeOfOffsets) + keyBytes;
 
-		final long keysAddress = address + 8L + 2L * rootObject.getSuperblock().sizeOfOffsets;
+		final long keysAddress = address + 6L + headerSize;
 		final ByteBuffer keysAndPointersBuffer = rootObject.readBufferFromAddress(keysAddress, keysAndPointersBytes);
 
 		childAddresses = new ArrayList<>(entriesUsed);
+		chunks = (nodeType == 1) ? new ArrayList<>(entriesUsed) : null;
 
 		for(int i = 0; i < entriesUsed; i++) {
-			keysAndPointersBuffer.position(keysAndPointersBuffer.position() + rootObject.getSuperblock().sizeOfLengths);
-			childAddresses
-				.add(Utils.readBytesAsUnsignedLong(keysAndPointersBuffer, rootObject.getSuperblock().sizeOfLengths));
+			if(nodeType == 1) {
+				int size = Utils.readBytesAsUnsignedInt(keysAndPointersBuffer, 4);
+				int filterMask = keysAndPointersBuffer.getInt();
+				long[] offsets = new long[dimensionality];
+				for(int j = 0; j < dimensionality; j++)
+					offsets[j] = keysAndPointersBuffer.getLong();
+				long child = Utils.readBytesAsUnsignedLong(keysAndPointersBuffer, sizeOfOffsets);
+				childAddresses.add(child);
+				chunks.add(new H5Chunk(child, size, filterMask, offsets));
+			}
+			else {
+				keysAndPointersBuffer.position(keysAndPointersBuffer.position() + keyBytes);
+				childAddresses.add(Utils.readBytesAsUnsignedLong(keysAndPointersBuffer, sizeOfOffsets));
+			}
 		}
 
 	}
@@ -127,4 +155,21 @@ public class H5BTree {
 	public List<Long> getChildAddresses() {
 		return childAddresses;
 	}
+
+	public byte getNodeType() {
+		return nodeType;
+	}
+
+	public byte getNodeLevel() {
+		return nodeLevel;
+	}
+
+	/**
+	 * Gets the chunks of a chunk node, where the chunk addresses refer to child nodes for non-leaf nodes.
+	 * 
+	 * @return list of chunks, or null for group nodes
+	 */
+	public List<H5Chunk> getChunks() {
+		return chunks;
+	}
 }
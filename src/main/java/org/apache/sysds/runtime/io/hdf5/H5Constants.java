@@ -28,6 +28,23 @@ public final class H5Constants {
 	public static final int DATA_TYPE_MESSAGE = 3;
 	public static final int FILL_VALUE_MESSAGE = 5;
 	public static final int DATA_LAYOUT_MESSAGE = 8;
+	public static final int FILTER_PIPELINE_MESSAGE = 11;
+	public static final int ATTRIBUTE_MESSAGE = 12;
+	public static final int OBJECT_HEADER_CONTINUATION_MESSAGE = 16;
 	public static final int SYMBOL_TABLE_MESSAGE = 17;
 	public static final int OBJECT_MODIFICATION_TIME_MESSAGE = 18;
+
+	// layout classes
+	public static final int COMPACT_LAYOUT = 0;
+	public static final int CONTIGUOUS_LAYOUT = 1;
+	public static final int CHUNKED_LAYOUT = 2;
+
+	// filter identifiers
+	public static final int DEFLATE_FILTER = 1;
+	public static final int SHUFFLE_FILTER = 2;
+	public static final int FLETCHER32_FILTER = 3;
+
+	// data type classes
+	public static final int FIXED_POINT_CLASS = 0;
+	public static final int FLOATING_POINT_CLASS = 1;
 }
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io.hdf5;
+
+import org.apache.sysds.runtime.io.hdf5.message.H5DataLayoutMessage;
+import org.apache.sysds.runtime.io.hdf5.message.H5DataSpaceMessage;
+import org.apache.sysds.runtime.io.hdf5.message.H5DataTypeMessage;
+import org.apache.sysds.runtime.io.hdf5.message.H5FillValueMessage;
+import org.apache.sysds.runtime.io.hdf5.message.H5FilterPipelineMessage;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Dataset of rank 0 to 2 with compact, contiguous, or chunked (and potentially compressed) layout. One-dimensional
+ * datasets are exposed as column vectors.
+ */
+public class H5Dataset {
+
+	/** Maximum number of bytes of contiguous datasets read at once */
+	private static final int MAX_READ_BYTES = 16 * 1024 * 1024;
+
+	private final H5RootObject rootObject;
+	private final H5DataLayoutMessage dataLayoutMessage;
+	private final H5DataTypeMessage dataTypeMessage;
+	private final H5DataSpaceMessage dataSpaceMessage;
+	private final H5FilterPipelineMessage filterPipelineMessage;
+	private final double fillValue;
+	private final int rows;
+	private final int cols;
+	private final List<H5Chunk> chunks;
+
+	public H5Dataset(H5RootObject rootObject, H5ObjectHeader objectHeader) {
+
+		this.rootObject = rootObject;
+		this.dataLayoutMessage = objectHeader.getMessageOfType(H5DataLayoutMessage.class);
+		this.dataTypeMessage = objectHeader.getMessageOfType(H5DataTypeMessage.class);
+		this.dataSpaceMessage = objectHeader.getMessageOfType(H5DataSpaceMessage.class);
+		this.filterPipelineMessage = objectHeader.hasMessageOfType(H5FilterPipelineMessage.class) ?
+			objectHeader.getMessageOfType(H5FilterPipelineMessage.class) : null;
+
+		int[] dims = dataSpaceMessage.getDimensions();
+		if(dims.length > 2)
+			throw new H5RuntimeException("Unsupported dataset rank: " + dims.length + " (supported are ranks 0 to 2).");
+		rows = dims.length > 0 ? dims[0] : 1;
+		cols = dims.length > 1 ? dims[1] : 1;
+
+		// fill value of unallocated storage (e.g., chunks never written)
+		double fill = 0;
+		if(objectHeader.hasMessageOfType(H5FillValueMessage.class)) {
+			H5FillValueMessage fvm = objectHeader.getMessageOfType(H5FillValueMessage.class);
+			if(fvm.isFillValueDefined() && fvm.getFillValue().remaining() == getElementSize()) {
+				double[] tmp = new double[1];
+				dataTypeMessage.getDoubleDataType().fillData(fvm.getFillValue().duplicate(), tmp, 0, 1);
+				fill = tmp[0];
+			}
+		}
+		fillValue = fill;
+
+		// collect all chunks in row-major order of chunk offsets
+		if(isChunked()) {
+			chunks = new ArrayList<>();
+			if(dataLayoutMessage.getAddress() != H5Constants.UNDEFINED_ADDRESS)
+				collectChunks(new H5BTree(rootObject, dataLayoutMessage.getAddress(), dims.length + 1), dims.length + 1);
+			chunks.sort(Comparator.comparingLong((H5Chunk c) -> c.getOffsets()[0])
+				.thenComparingLong(c -> c.getOffsets().length > 2 ? c.getOffsets()[1] : 0));
+		}
+		else
+			chunks = null;
+	}
+
+	private void collectChunks(H5BTree node, int dimensionality) {
+		if(node.getNodeLevel() == 0)
+			chunks.addAll(node.getChunks());
+		else
+			for(long child : node.getChildAddresses())
+				collectChunks(new H5BTree(rootObject, child, dimensionality), dimensionality);
+	}
+
+	public int getRank() {
+		return dataSpaceMessage.getRank();
+	}
+
+	public int getNumRows() {
+		return rows;
+	}
+
+	public int getNumCols() {
+		return cols;
+	}
+
+	public int getElementSize() {
+		return dataTypeMessage.getDoubleDataType().getSize();
+	}
+
+	public boolean isChunked() {
+		return dataLayoutMessage.getLayoutClass() == H5Constants.CHUNKED_LAYOUT;
+	}
+
+	/**
+	 * Gets the number of rows per storage unit, i.e., the number of chunk rows for chunked layouts and one otherwise.
+	 * Reading row ranges aligned to this block size avoids redundant decoding of chunks.
+	 * 
+	 * @return number of rows per block
+	 */
+	public int getRowBlockSize() {
+		return isChunked() ? dataLayoutMessage.getChunkDimensions()[0] : 1;
+	}
+
+	public List<H5Chunk> getChunks() {
+		return chunks;
+	}
+
+	public H5DataTypeMessage getDataType() {
+		return dataTypeMessage;
+	}
+
+	/**
+	 * Reads a range of rows into a row-major array. This method is thread-safe if the root object uses a positional
+	 * input.
+	 * 
+	 * @param rl      row lower bound (inclusive)
+	 * @param ru      row upper bound (exclusive)
+	 * @param dest    output array of at least (ru-rl)*cols values after the start position
+	 * @param destPos start position in the output array
+	 */
+	public void readRows(int rl, int ru, double[] dest, int destPos) {
+		if(ru <= rl)
+			return;
+		final H5DoubleDataType type = dataTypeMessage.getDoubleDataType();
+		final int esize = type.getSize();
+		switch(dataLayoutMessage.getLayoutClass()) {
+			case H5Constants.COMPACT_LAYOUT: {
+				ByteBuffer bb = dataLayoutMessage.getCompactData().duplicate();
+				bb.position((int) ((long) rl * cols * esize));
+				type.fillData(bb, dest, destPos, (ru - rl) * cols);
+				break;
+			}
+			case H5Constants.CONTIGUOUS_LAYOUT: {
+				long address = dataLayoutMessage.getAddress();
+				if(address == H5Constants.UNDEFINED_ADDRESS) {
+					Arrays.fill(dest, destPos, destPos + (ru - rl) * cols, fillValue);
+					break;
+				}
+				// read in batches of rows in order to bound the buffer size
+				int rowBytes = cols * esize;
+				int batch = Math.max(1, MAX_READ_BYTES / rowBytes);
+				for(int r = rl; r < ru; r += batch) {
+					int len = Math.min(ru - r, batch);
+					ByteBuffer bb = rootObject.readBufferFromAddressNoOrder(address + (long) r * rowBytes, len * rowBytes);
+					type.fillData(bb, dest, destPos + (r - rl) * cols, len * cols);
+				}
+				break;
+			}
+			case H5Constants.CHUNKED_LAYOUT:
+				readChunkedRows(rl, ru, dest, destPos);
+				break;
+			default:
+				throw new H5RuntimeException("Unsupported data layout class: " + dataLayoutMessage.getLayoutClass());
+		}
+	}
+
+	private void readChunkedRows(int rl, int ru, double[] dest, int destPos) {
+		final H5DoubleDataType type = dataTypeMessage.getDoubleDataType();
+		final int[] cdims = dataLayoutMessage.getChunkDimensions();
+		final int crows = cdims[0];
+		final int ccols = (getRank() == 2) ? cdims[1] : 1;
+		final int esize = cdims[cdims.length - 1];
+		final int chunkBytes = crows * ccols * esize;
+
+		// initialize missing chunks with the fill value
+		if(fillValue != 0)
+			Arrays.fill(dest, destPos, destPos + (ru - rl) * cols, fillValue);
+
+		for(int i = findFirstChunk(rl - crows + 1); i < chunks.size(); i++) {
+			H5Chunk chunk = chunks.get(i);
+			long[] offsets = chunk.getOffsets();
+			int r0 = (int) offsets[0];
+			if(r0 >= ru)
+				break;
+			int c0 = (getRank() == 2) ? (int) offsets[1] : 0;
+			byte[] data = rootObject.readBytesFromAddress(chunk.getAddress(), chunk.getSize());
+			if(filterPipelineMessage != null)
+				data = filterPipelineMessage.decode(data, chunk.getFilterMask(), chunkBytes, esize);
+			ByteBuffer bb = ByteBuffer.wrap(data);
+
+			// copy rows of the chunk within the requested range (edge chunks are padded)
+			int cn = Math.min(ccols, cols - c0);
+			int ru2 = Math.min(ru, Math.min(r0 + crows, rows));
+			for(int r = Math.max(rl, r0); r < ru2; r++) {
+				bb.position((r - r0) * ccols * esize);
+				type.fillData(bb, dest, destPos + (r - rl) * cols + c0, cn);
+			}
+		}
+	}
+
+	private int findFirstChunk(int rowOffset) {
+		// binary search for the first chunk with row offset >= the given offset
+		int low = 0, high = chunks.size();
+		while(low < high) {
+			int mid = (low + high) >>> 1;
+			if(chunks.get(mid).getOffsets()[0] < rowOffset)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+}
@@ -31,12 +31,13 @@ public class H5DoubleDataType {
 	private int size;
 	protected BitSet classBits;
 
-	private ByteOrder order;
+	private ByteOrder order = ByteOrder.LITTLE_ENDIAN;
 	private boolean lowPadding;
 	private boolean highPadding;
 	private boolean internalPadding;
 	private int mantissaNormalization;
 	private int signLocation;
+	private boolean signed;
 
 	// Properties
 	private short bitOffset;
@@ -64,7 +65,11 @@ public class H5DoubleDataType {
 		// Size
 		size = Utils.readBytesAsUnsignedInt(bb, 4);
 
-		if(classBits.get(6)) {
+		// note: other data classes (e.g., strings of attributes) are parsed but not decodable
+		if(dataClass != H5Constants.FIXED_POINT_CLASS && dataClass != H5Constants.FLOATING_POINT_CLASS)
+			return;
+
+		if(dataClass == H5Constants.FLOATING_POINT_CLASS && classBits.get(6)) {
 			throw new H5RuntimeException("VAX endian is not supported");
 		}
 		if(classBits.get(0)) {
@@ -76,6 +81,14 @@ public class H5DoubleDataType {
 
 		lowPadding = classBits.get(1);
 		highPadding = classBits.get(2);
+
+		if(dataClass == H5Constants.FIXED_POINT_CLASS) {
+			signed = classBits.get(3);
+			bitOffset = bb.getShort();
+			bitPrecision = bb.getShort();
+			return;
+		}
+
 		internalPadding = classBits.get(3);
 
 		// Mask the 4+5 bits and shift to the end
@@ -128,8 +141,55 @@ public class H5DoubleDataType {
 	}
 
 	public void fillData(ByteBuffer buffer, double[] data) {
-		DoubleBuffer db = buffer.asDoubleBuffer();
-		db.get(data);
+		fillData(buffer, data, 0, data.length);
+	}
+
+	/**
+	 * Decodes a sequence of fixed-point or floating-point values, starting at the current buffer position, into
+	 * doubles. The buffer position is advanced by the number of consumed bytes.
+	 * 
+	 * @param buffer  input buffer
+	 * @param data    output array
+	 * @param destPos start position in the output array
+	 * @param len     number of values
+	 */
+	public void fillData(ByteBuffer buffer, double[] data, int destPos, int len) {
+		buffer.order(order);
+		if(dataClass == H5Constants.FLOATING_POINT_CLASS && size == 8) {
+			DoubleBuffer db = buffer.asDoubleBuffer();
+			db.get(data, destPos, len);
+			buffer.position(buffer.position() + len * 8);
+		}
+		else if(dataClass == H5Constants.FLOATING_POINT_CLASS && size == 4) {
+			for(int i = destPos; i < destPos + len; i++)
+				data[i] = buffer.getFloat();
+		}
+		else if(dataClass == H5Constants.FIXED_POINT_CLASS) {
+			switch(size) {
+				case 1:
+					for(int i = destPos; i < destPos + len; i++)
+						data[i] = signed ? buffer.get() : Byte.toUnsignedInt(buffer.get());
+					break;
+				case 2:
+					for(int i = destPos; i < destPos + len; i++)
+						data[i] = signed ? buffer.getShort() : Short.toUnsignedInt(buffer.getShort());
+					break;
+				case 4:
+					for(int i = destPos; i < destPos + len; i++)
+						data[i] = signed ? buffer.getInt() : Integer.toUnsignedLong(buffer.getInt());
+					break;
+				case 8:
+					for(int i = destPos; i < destPos + len; i++) {
+						long v = buffer.getLong();
+						data[i] = (signed || v >= 0) ? v : (v >>> 1) * 2.0;
+					}
+					break;
+				default:
+					throw new H5RuntimeException("Unsupported fixed-point size: " + size);
+			}
+		}
+		else
+			throw new H5RuntimeException("Unsupported data type: class " + dataClass + ", size " + size);
 	}
 
 	public int getVersion() {
@@ -199,4 +259,12 @@ public class H5DoubleDataType {
 	public int getExponentBias() {
 		return exponentBias;
 	}
+
+	public boolean isSigned() {
+		return signed;
+	}
+
+	public boolean isFloatingPoint() {
+		return dataClass == H5Constants.FLOATING_POINT_CLASS;
+	}
 }
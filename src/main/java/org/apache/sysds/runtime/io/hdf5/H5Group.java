@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io.hdf5;
+
+import org.apache.sysds.runtime.io.hdf5.message.H5SymbolTableMessage;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class H5Group {
+
+	private final H5RootObject rootObject;
+	private final Map<String, Long> children = new LinkedHashMap<>();
+
+	public H5Group(H5RootObject rootObject, H5ObjectHeader objectHeader) {
+		this.rootObject = rootObject;
+		if(!isGroup(objectHeader))
+			throw new H5RuntimeException("Object is not a group (or a group without symbol table).");
+		final H5SymbolTableMessage stm = objectHeader.getMessageOfType(H5SymbolTableMessage.class);
+		final H5LocalHeap nameHeap = new H5LocalHeap(rootObject, stm.getLocalHeapAddress());
+		collectChildren(new H5BTree(rootObject, stm.getbTreeAddress()), nameHeap.getDataBuffer());
+	}
+
+	private void collectChildren(H5BTree node, ByteBuffer nameBuffer) {
+		for(long child : node.getChildAddresses()) {
+			if(node.getNodeLevel() > 0) {
+				collectChildren(new H5BTree(rootObject, child), nameBuffer);
+				continue;
+			}
+			H5GroupSymbolTableNode groupSTE = new H5GroupSymbolTableNode(rootObject, child);
+			for(H5SymbolTableEntry entry : groupSTE.getSymbolTableEntries()) {
+				nameBuffer.position(entry.getLinkNameOffset());
+				children.put(Utils.readUntilNull(nameBuffer), entry.getObjectHeaderAddress());
+			}
+		}
+	}
+
+	public static boolean isGroup(H5ObjectHeader objectHeader) {
+		return objectHeader.hasMessageOfType(H5SymbolTableMessage.class);
+	}
+
+	public Set<String> getChildNames() {
+		return children.keySet();
+	}
+
+	public boolean hasChild(String name) {
+		return children.containsKey(name);
+	}
+
+	public H5ObjectHeader getChild(String name) {
+		Long address = children.get(name);
+		if(address == null)
+			throw new H5RuntimeException("The requested object '" + name + "' is not available in " + children.keySet());
+		return new H5ObjectHeader(rootObject, address);
+	}
+}
@@ -24,6 +24,7 @@ import org.apache.sysds.runtime.io.hdf5.message.H5DataTypeMessage;
 import org.apache.sysds.runtime.io.hdf5.message.H5DataSpaceMessage;
 import org.apache.sysds.runtime.io.hdf5.message.H5FillValueMessage;
 import org.apache.sysds.runtime.io.hdf5.message.H5NilMessage;
+import org.apache.sysds.runtime.io.hdf5.message.H5ObjectHeaderContinuationMessage;
 import org.apache.sysds.runtime.io.hdf5.message.H5ObjectModificationTimeMessage;
 import org.apache.sysds.runtime.io.hdf5.message.H5SymbolTableMessage;
 import org.apache.sysds.runtime.io.hdf5.message.H5DataLayoutMessage;
@@ -72,6 +73,14 @@ public class H5ObjectHeader {
 
 			readMessages(header, numberOfMessages);
 
+			// Read messages of continuation blocks (which might again contain continuation messages)
+			for(int i = 0; i < messages.size() && messages.size() < numberOfMessages; i++) {
+				if(messages.get(i) instanceof H5ObjectHeaderContinuationMessage) {
+					H5ObjectHeaderContinuationMessage cm = (H5ObjectHeaderContinuationMessage) messages.get(i);
+					readMessages(rootObject.readBufferFromAddress(cm.getOffset(), cm.getLength()), numberOfMessages);
+				}
+			}
+
 		}
 		catch(Exception e) {
 			throw new H5RuntimeException("Failed to read object header at address: " + address, e);
@@ -100,7 +109,7 @@ public class H5ObjectHeader {
 	}
 
 	private void readMessages(ByteBuffer bb, int numberOfMessages) {
-		while(bb.remaining() > 4 && messages.size() < numberOfMessages) {
+		while(bb.remaining() >= 8 && messages.size() < numberOfMessages) {
 			H5Message m = H5Message.readObjectHeaderMessage(rootObject, bb);
 			messages.add(m);
 		}
@@ -24,11 +24,15 @@ import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.fs.PositionedReadable;
+
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 
 public class H5RootObject {
 
 	protected BufferedInputStream bufferedInputStream;
+	protected PositionedReadable positionedInput;
 	protected BufferedOutputStream bufferedOutputStream;
 	protected H5Superblock superblock;
 	protected int rank;
@@ -52,36 +56,48 @@ public class H5RootObject {
 	protected byte dataLayoutClass = 1;
 
 	public ByteBuffer readBufferFromAddress(long address, int length) {
-		ByteBuffer bb = ByteBuffer.allocate(length);
-		try {
-			byte[] b = new byte[length];
-			bufferedInputStream.reset();
-			bufferedInputStream.skip(address);
-			bufferedInputStream.read(b);
-			bb.put(b);
-		}
-		catch(IOException e) {
-			throw new H5RuntimeException(e);
-		}
+		ByteBuffer bb = readBufferFromAddressNoOrder(address, length);
 		bb.order(LITTLE_ENDIAN);
-		bb.rewind();
 		return bb;
 	}
 
 	public ByteBuffer readBufferFromAddressNoOrder(long address, int length) {
-		ByteBuffer bb = ByteBuffer.allocate(length);
+		return ByteBuffer.wrap(readBytesFromAddress(address, length));
+	}
+
+	/**
+	 * Reads the given number of bytes at the given file address. Positional inputs allow concurrent reads, while
+	 * reads from a buffered input stream are serialized.
+	 * 
+	 * @param address file address
+	 * @param length  number of bytes
+	 * @return byte array of the given length
+	 */
+	public byte[] readBytesFromAddress(long address, int length) {
+		byte[] b = new byte[length];
 		try {
-			byte[] b = new byte[length];
-			bufferedInputStream.reset();
-			bufferedInputStream.skip(address);
-			bufferedInputStream.read(b);
-			bb.put(b);
+			if(positionedInput != null)
+				positionedInput.readFully(address, b);
+			else {
+				synchronized(bufferedInputStream) {
+					bufferedInputStream.reset();
+					IOUtils.skipFully(bufferedInputStream, address);
+					IOUtils.readFully(bufferedInputStream, b);
+				}
+			}
 		}
 		catch(IOException e) {
-			throw new H5RuntimeException(e);
+			throw new H5RuntimeException("Failed to read " + length + " bytes from address " + address, e);
 		}
-		bb.rewind();
-		return bb;
+		return b;
+	}
+
+	public PositionedReadable getPositionedInput() {
+		return positionedInput;
+	}
+
+	public void setPositionedInput(PositionedReadable positionedInput) {
+		this.positionedInput = positionedInput;
 	}
 
 	public BufferedInputStream getBufferedInputStream() {
@@ -180,14 +196,14 @@ public class H5RootObject {
 
 	public void setDimensions(int[] dimensions) {
 		this.dimensions = dimensions;
-		this.row = dimensions[0];
-		this.col = dimensions[1];
+		this.row = dimensions.length > 0 ? dimensions[0] : 1;
+		this.col = dimensions.length > 1 ? dimensions[1] : 1;
 	}
 
 	public void setMaxSizes(int[] maxSizes) {
 		this.maxSizes = maxSizes;
-		this.maxRow = maxSizes[0];
-		this.maxCol = maxSizes[1];
+		this.maxRow = maxSizes.length > 0 ? maxSizes[0] : 1;
+		this.maxCol = maxSizes.length > 1 ? maxSizes[1] : 1;
 	}
 
 	public byte getObjectHeaderVersion() {
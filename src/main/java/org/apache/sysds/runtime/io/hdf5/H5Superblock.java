@@ -20,13 +20,9 @@
 package org.apache.sysds.runtime.io.hdf5;
 
 
-import java.io.BufferedInputStream;
-import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 
-import static java.nio.ByteOrder.LITTLE_ENDIAN;
-
 public class H5Superblock {
 
 	protected static final byte[] HDF5_FILE_SIGNATURE = new byte[] {(byte) 137, 72, 68, 70, 13, 10, 26, 10};
@@ -48,23 +44,21 @@ public class H5Superblock {
 	public H5Superblock() {
 	}
 
-	static boolean verifySignature(BufferedInputStream bis, long offset) {
+	static boolean verifySignature(H5RootObject rootObject, long offset) {
 		// Format Signature
-		byte[] signature = new byte[HDF5_FILE_SIGNATURE_LENGTH];
-
+		byte[] signature;
 		try {
-			bis.reset();
-			bis.skip(offset);
-			bis.read(signature);
+			signature = rootObject.readBytesFromAddress(offset, HDF5_FILE_SIGNATURE_LENGTH);
 		}
-		catch(IOException e) {
-			throw new H5RuntimeException("Failed to read from address: " + offset, e);
+		catch(H5RuntimeException e) {
+			// file smaller than the offset
+			return false;
 		}
 		// Verify signature
 		return Arrays.equals(HDF5_FILE_SIGNATURE, signature);
 	}
 
-	public H5Superblock(BufferedInputStream bis, long address) {
+	public H5Superblock(H5RootObject rootObject, long address) {
 
 		// Calculated bytes for the super block header is = 56
 		int superBlockHeaderSize = 12;
@@ -72,21 +66,7 @@ public class H5Superblock {
 		long fileLocation = address + HDF5_FILE_SIGNATURE_LENGTH;
 		address += 12 + HDF5_FILE_SIGNATURE_LENGTH;
 
-		ByteBuffer header = ByteBuffer.allocate(superBlockHeaderSize);
-
-		try {
-			byte[] b = new byte[superBlockHeaderSize];
-			bis.reset();
-			bis.skip((int) fileLocation);
-			bis.read(b);
-			header.put(b);
-		}
-		catch(IOException e) {
-			throw new H5RuntimeException(e);
-		}
-
-		header.order(LITTLE_ENDIAN);
-		header.rewind();
+		ByteBuffer header = rootObject.readBufferFromAddress(fileLocation, superBlockHeaderSize);
 
 		try {
 
@@ -94,7 +74,8 @@ public class H5Superblock {
 			versionOfSuperblock = header.get();
 
 			if(versionOfSuperblock != 0 && versionOfSuperblock != 1) {
-				throw new H5RuntimeException("Detected superblock version not 0 or 1");
+				throw new H5RuntimeException("Detected superblock version " + versionOfSuperblock
+					+ " not 0 or 1 (files created with libver='latest' are not supported)");
 			}
 
 			// Version # of File Free-space Storage
@@ -127,17 +108,13 @@ public class H5Superblock {
 			// File Consistency Flags (skip)
 			address += 4;
 
-			int nextSectionSize = 4 * sizeOfOffsets;
-			header = ByteBuffer.allocate(nextSectionSize);
+			// Indexed Storage Internal Node K and reserved bytes (skip, version 1 only)
+			if(versionOfSuperblock == 1)
+				address += 4;
 
-			byte[] hb = new byte[nextSectionSize];
-			bis.reset();
-			bis.skip(address);
-			bis.read(hb);
-			header.put(hb);
+			int nextSectionSize = 4 * sizeOfOffsets;
+			header = rootObject.readBufferFromAddress(address, nextSectionSize);
 			address += nextSectionSize;
-			header.order(LITTLE_ENDIAN);
-			header.rewind();
 
 			// Base Address
 			baseAddressByte = Utils.readBytesAsUnsignedLong(header, sizeOfOffsets);
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io.hdf5.message;
+
+import org.apache.sysds.runtime.io.hdf5.H5DoubleDataType;
+import org.apache.sysds.runtime.io.hdf5.H5RootObject;
+import org.apache.sysds.runtime.io.hdf5.H5RuntimeException;
+import org.apache.sysds.runtime.io.hdf5.Utils;
+
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+
+public class H5AttributeMessage extends H5Message {
+
+	private final String name;
+	private final H5DoubleDataType dataType;
+	private final H5DataSpaceMessage dataSpace;
+	private final ByteBuffer data;
+
+	public H5AttributeMessage(H5RootObject rootObject, BitSet flags, ByteBuffer bb) {
+		super(rootObject, flags);
+		byte version = bb.get();
+		if(version < 1 || version > 3)
+			throw new H5RuntimeException("Unsupported attribute message version: " + version);
+
+		// Skip reserved byte (version 1) or flags (version 2+)
+		bb.get();
+		int nameSize = Utils.readBytesAsUnsignedInt(bb, 2);
+		int dataTypeSize = Utils.readBytesAsUnsignedInt(bb, 2);
+		int dataSpaceSize = Utils.readBytesAsUnsignedInt(bb, 2);
+
+		// Skip name character set encoding (version 3 only)
+		if(version == 3)
+			bb.get();
+
+		// Name, data type, and data space (padded to a multiple of eight in version 1)
+		ByteBuffer nameBuffer = Utils.createSubBuffer(bb, nameSize);
+		skipPadding(bb, nameSize, version);
+		name = Utils.readUntilNull(nameBuffer);
+		dataType = new H5DoubleDataType(Utils.createSubBuffer(bb, dataTypeSize));
+		skipPadding(bb, dataTypeSize, version);
+		dataSpace = new H5DataSpaceMessage(rootObject, flags, Utils.createSubBuffer(bb, dataSpaceSize));
+		skipPadding(bb, dataSpaceSize, version);
+
+		int dataSize = (int) Math.min(bb.remaining(), dataSpace.getTotalLength() * dataType.getSize());
+		data = Utils.createSubBuffer(bb, dataSize);
+	}
+
+	private static void skipPadding(ByteBuffer bb, int size, int version) {
+		if(version == 1 && size % 8 != 0)
+			bb.position(bb.position() + 8 - size % 8);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public H5DoubleDataType getDataType() {
+		return dataType;
+	}
+
+	public H5DataSpaceMessage getDataSpace() {
+		return dataSpace;
+	}
+
+	/**
+	 * Gets the values of numeric attributes.
+	 * 
+	 * @return attribute values as doubles
+	 */
+	public double[] getDoubleValues() {
+		double[] ret = new double[(int) dataSpace.getTotalLength()];
+		dataType.fillData(data.duplicate(), ret, 0, ret.length);
+		return ret;
+	}
+}
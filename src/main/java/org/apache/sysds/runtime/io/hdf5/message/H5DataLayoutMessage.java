@@ -23,6 +23,7 @@ package org.apache.sysds.runtime.io.hdf5.message;
 import org.apache.sysds.runtime.io.hdf5.H5BufferBuilder;
 import org.apache.sysds.runtime.io.hdf5.H5Constants;
 import org.apache.sysds.runtime.io.hdf5.H5RootObject;
+import org.apache.sysds.runtime.io.hdf5.H5RuntimeException;
 import org.apache.sysds.runtime.io.hdf5.Utils;
 
 import java.nio.ByteBuffer;
@@ -32,13 +33,43 @@ public class H5DataLayoutMessage extends H5Message {
 
 	private final long address;
 	private final long size;
+	private int layoutClass = H5Constants.CONTIGUOUS_LAYOUT;
+	private int[] chunkDimensions;
+	private ByteBuffer compactData;
 
 	public H5DataLayoutMessage(H5RootObject rootObject, BitSet flags, ByteBuffer bb) {
 		super(rootObject, flags);
-		rootObject.setDataLayoutVersion(bb.get());
-		rootObject.setDataLayoutClass(bb.get());
-		this.address = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfOffsets);
-		this.size = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfLengths);
+		byte version = bb.get();
+		if(version != 3)
+			throw new H5RuntimeException("Unsupported data layout message version: " + version);
+		layoutClass = bb.get();
+		rootObject.setDataLayoutVersion(version);
+		rootObject.setDataLayoutClass((byte) layoutClass);
+		switch(layoutClass) {
+			case H5Constants.COMPACT_LAYOUT:
+				this.size = Utils.readBytesAsUnsignedInt(bb, 2);
+				this.address = H5Constants.UNDEFINED_ADDRESS;
+				this.compactData = Utils.createSubBuffer(bb, (int) size);
+				break;
+			case H5Constants.CONTIGUOUS_LAYOUT:
+				this.address = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfOffsets);
+				this.size = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfLengths);
+				break;
+			case H5Constants.CHUNKED_LAYOUT:
+				// dimensionality is the dataset rank + 1, where the last dimension is the element size
+				int dimensionality = Byte.toUnsignedInt(bb.get());
+				this.address = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfOffsets);
+				this.chunkDimensions = new int[dimensionality];
+				long chunkSize = 1;
+				for(int i = 0; i < dimensionality; i++) {
+					chunkDimensions[i] = Utils.readBytesAsUnsignedInt(bb, 4);
+					chunkSize *= chunkDimensions[i];
+				}
+				this.size = chunkSize;
+				break;
+			default:
+				throw new H5RuntimeException("Unsupported data layout class: " + layoutClass);
+		}
 	}
 
 	public H5DataLayoutMessage(H5RootObject rootObject, BitSet flags, long address, long size) {
@@ -67,12 +98,39 @@ public class H5DataLayoutMessage extends H5Message {
 		bb.writeBytes(reserved);
 	}
 
+	/**
+	 * Gets the data address, or the address of the chunk B-tree for chunked layouts.
+	 * 
+	 * @return file address
+	 */
 	public long getAddress() {
 		return address;
 	}
 
+	/**
+	 * Gets the size of the data in bytes, or the size of an uncompressed chunk for chunked layouts.
+	 * 
+	 * @return size in bytes
+	 */
 	public long getSize() {
 		return size;
 	}
 
+	public int getLayoutClass() {
+		return layoutClass;
+	}
+
+	/**
+	 * Gets the chunk dimensions of chunked layouts, including the element size as last dimension.
+	 * 
+	 * @return chunk dimensions, or null for other layouts
+	 */
+	public int[] getChunkDimensions() {
+		return chunkDimensions;
+	}
+
+	public ByteBuffer getCompactData() {
+		return compactData;
+	}
+
 }
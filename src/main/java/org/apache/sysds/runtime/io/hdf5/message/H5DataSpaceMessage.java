@@ -32,6 +32,9 @@ public class H5DataSpaceMessage extends H5Message {
 
 	private boolean maxSizesPresent;
 	private long totalLength;
+	private int rank;
+	private int[] dimensions;
+	private int[] maxSizes;
 
 	public H5DataSpaceMessage(H5RootObject rootObject, BitSet flags) {
 		super(rootObject, flags);
@@ -39,43 +42,30 @@ public class H5DataSpaceMessage extends H5Message {
 
 	public H5DataSpaceMessage(H5RootObject rootObject, BitSet flags, ByteBuffer bb) {
 		super(rootObject, flags);
-		rootObject.setDataSpaceVersion(bb.get());
-		rootObject.setRank(bb.get());
+		// note: the read dimensions are kept local, because a file might contain multiple datasets and attributes
+		byte version = bb.get();
+		rank = bb.get();
 		byte[] flagBits = new byte[1];
 		bb.get(flagBits);
 		BitSet maxFlags = BitSet.valueOf(flagBits);
 		maxSizesPresent = maxFlags.get(0);
 
-		// Skip 5 reserved bytes
-		bb.position(bb.position() + 5);
+		// Skip 5 reserved bytes (version 1) or the dataspace type (version 2)
+		bb.position(bb.position() + (version == 1 ? 5 : 1));
 
 		// Dimensions sizes
-		if(rootObject.getRank() != 0) {
-			int[] dimensions = new int[rootObject.getRank()];
-			for(int i = 0; i < rootObject.getRank(); i++) {
-				dimensions[i] = Utils.readBytesAsUnsignedInt(bb, rootObject.getSuperblock().sizeOfLengths);
-			}
-			rootObject.setDimensions(dimensions);
-		}
-		else {
-			rootObject.setDimensions(new int[0]);
-		}
+		dimensions = new int[rank];
+		for(int i = 0; i < rank; i++)
+			dimensions[i] = Utils.readBytesAsUnsignedInt(bb, rootObject.getSuperblock().sizeOfLengths);
 
-		// Max dimension sizes
-		if(maxSizesPresent) {
-			int[] maxSizes = new int[rootObject.getRank()];
-			for(int i = 0; i < rootObject.getRank(); i++) {
-				maxSizes[i] = Utils.readBytesAsUnsignedInt(bb, rootObject.getSuperblock().sizeOfLengths);
-			}
-			rootObject.setMaxSizes(maxSizes);
-		}
-		else {
-			rootObject.setMaxSizes(new int[0]);
-		}
+		// Max dimension sizes (unlimited sizes are represented as -1)
+		maxSizes = new int[maxSizesPresent ? rank : 0];
+		for(int i = 0; i < maxSizes.length; i++)
+			maxSizes[i] = (int) Math.min(Integer.MAX_VALUE,
+				Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfLengths));
 
 		// Calculate the total length by multiplying all dimensions
-		totalLength = IntStream.of(rootObject.getDimensions()).mapToLong(Long::valueOf).reduce(1, Math::multiplyExact);
-
+		totalLength = IntStream.of(dimensions).mapToLong(Long::valueOf).reduce(1, Math::multiplyExact);
 	}
 
 	@Override
@@ -115,4 +105,16 @@ public class H5DataSpaceMessage extends H5Message {
 	public long getTotalLength() {
 		return totalLength;
 	}
+
+	public int getRank() {
+		return rank;
+	}
+
+	public int[] getDimensions() {
+		return dimensions;
+	}
+
+	public int[] getMaxSizes() {
+		return maxSizes;
+	}
 }
@@ -51,9 +51,19 @@ public class H5FillValueMessage extends H5Message {
 		// version
 		rootObject.setFillValueVersion(bb.get());
 
-		spaceAllocationTime = bb.get();
-		fillValueWriteTime = bb.get();
-		boolean fillValueMaybeDefined = bb.get() == 1;
+		boolean fillValueMaybeDefined;
+		if(rootObject.getFillValueVersion() >= 3) {
+			// allocation time, write time, and defined flag are encoded in a single byte
+			int fillValueFlags = bb.get();
+			spaceAllocationTime = fillValueFlags & 0x3;
+			fillValueWriteTime = (fillValueFlags >> 2) & 0x3;
+			fillValueMaybeDefined = (fillValueFlags & 0x20) != 0;
+		}
+		else {
+			spaceAllocationTime = bb.get();
+			fillValueWriteTime = bb.get();
+			fillValueMaybeDefined = bb.get() == 1;
+		}
 
 		if(fillValueMaybeDefined) {
 			int size = Utils.readBytesAsUnsignedInt(bb, 4);
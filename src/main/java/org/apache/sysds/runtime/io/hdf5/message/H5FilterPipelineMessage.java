@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io.hdf5.message;
+
+import org.apache.sysds.runtime.io.hdf5.H5Constants;
+import org.apache.sysds.runtime.io.hdf5.H5RootObject;
+import org.apache.sysds.runtime.io.hdf5.H5RuntimeException;
+import org.apache.sysds.runtime.io.hdf5.Utils;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+public class H5FilterPipelineMessage extends H5Message {
+
+	private final int[] filterIds;
+	private final int[][] clientData;
+
+	public H5FilterPipelineMessage(H5RootObject rootObject, BitSet flags, ByteBuffer bb) {
+		super(rootObject, flags);
+		byte version = bb.get();
+		if(version != 1 && version != 2)
+			throw new H5RuntimeException("Unsupported filter pipeline message version: " + version);
+		int numFilters = Byte.toUnsignedInt(bb.get());
+		filterIds = new int[numFilters];
+		clientData = new int[numFilters][];
+
+		// Skip 6 reserved bytes (version 1 only)
+		if(version == 1)
+			bb.position(bb.position() + 6);
+
+		for(int i = 0; i < numFilters; i++) {
+			filterIds[i] = Utils.readBytesAsUnsignedInt(bb, 2);
+			int nameLength = (version == 1 || filterIds[i] >= 256) ? Utils.readBytesAsUnsignedInt(bb, 2) : 0;
+			bb.getShort(); // filter flags
+			int numValues = Utils.readBytesAsUnsignedInt(bb, 2);
+			// Skip the filter name (padded to a multiple of eight in version 1)
+			bb.position(bb.position() + (version == 1 ? (nameLength + 7) / 8 * 8 : nameLength));
+			clientData[i] = new int[numValues];
+			for(int j = 0; j < numValues; j++)
+				clientData[i][j] = bb.getInt();
+			// Skip padding of odd number of client data values (version 1 only)
+			if(version == 1 && numValues % 2 == 1)
+				bb.position(bb.position() + 4);
+			if(filterIds[i] != H5Constants.DEFLATE_FILTER && filterIds[i] != H5Constants.SHUFFLE_FILTER &&
+				filterIds[i] != H5Constants.FLETCHER32_FILTER)
+				throw new H5RuntimeException("Unsupported HDF5 filter: " + filterIds[i]
+					+ " (supported filters are deflate, shuffle, and fletcher32)");
+		}
+	}
+
+	/**
+	 * Decodes a chunk by applying the filters in reverse order, except the filters disabled by the filter mask.
+	 * 
+	 * @param data       encoded chunk
+	 * @param filterMask chunk filter mask, where a set bit i indicates that filter i was not applied
+	 * @param size       size of the decoded chunk in bytes
+	 * @param elemSize   element size in bytes
+	 * @return decoded chunk
+	 */
+	public byte[] decode(byte[] data, int filterMask, int size, int elemSize) {
+		for(int i = filterIds.length - 1; i >= 0; i--) {
+			if((filterMask & (1 << i)) != 0)
+				continue;
+			switch(filterIds[i]) {
+				case H5Constants.DEFLATE_FILTER:
+					data = inflate(data, size);
+					break;
+				case H5Constants.SHUFFLE_FILTER:
+					data = unshuffle(data, elemSize);
+					break;
+				case H5Constants.FLETCHER32_FILTER:
+					// drop the trailing checksum
+					data = Arrays.copyOf(data, data.length - 4);
+					break;
+			}
+		}
+		return data;
+	}
+
+	private static byte[] inflate(byte[] data, int size) {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(data);
+			byte[] ret = new byte[size];
+			int len = 0;
+			while(!inflater.finished()) {
+				// grow larger than expected chunks, e.g., with a trailing checksum
+				if(len == ret.length)
+					ret = Arrays.copyOf(ret, ret.length + 64);
+				int n = inflater.inflate(ret, len, ret.length - len);
+				if(n == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+					throw new H5RuntimeException("Truncated deflate chunk: " + len + " of " + size + " bytes");
+				len += n;
+			}
+			return (len == ret.length) ? ret : Arrays.copyOf(ret, len);
+		}
+		catch(DataFormatException e) {
+			throw new H5RuntimeException("Failed to inflate chunk", e);
+		}
+		finally {
+			inflater.end();
+		}
+	}
+
+	private static byte[] unshuffle(byte[] data, int elemSize) {
+		if(elemSize <= 1)
+			return data;
+		int n = data.length / elemSize;
+		byte[] ret = new byte[data.length];
+		for(int j = 0; j < elemSize; j++) {
+			int off = j * n;
+			for(int i = 0; i < n; i++)
+				ret[i * elemSize + j] = data[off + i];
+		}
+		// copy leftover bytes that were not shuffled
+		System.arraycopy(data, n * elemSize, ret, n * elemSize, data.length - n * elemSize);
+		return ret;
+	}
+
+	public int[] getFilterIds() {
+		return filterIds;
+	}
+
+	public int[][] getClientData() {
+		return clientData;
+	}
+}
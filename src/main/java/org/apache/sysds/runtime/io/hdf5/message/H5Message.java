@@ -142,8 +142,24 @@ public abstract class H5Message {
 			case H5Constants.OBJECT_MODIFICATION_TIME_MESSAGE:
 				return new H5ObjectModificationTimeMessage(rootObject, flags, bb);
 
+			case H5Constants.FILTER_PIPELINE_MESSAGE:
+				return new H5FilterPipelineMessage(rootObject, flags, bb);
+
+			case H5Constants.ATTRIBUTE_MESSAGE:
+				try {
+					return new H5AttributeMessage(rootObject, flags, bb);
+				}
+				catch(RuntimeException ex) {
+					// skip attributes of unsupported types (e.g., shared data types)
+					return new H5NilMessage(rootObject, flags, bb);
+				}
+
+			case H5Constants.OBJECT_HEADER_CONTINUATION_MESSAGE:
+				return new H5ObjectHeaderContinuationMessage(rootObject, flags, bb);
+
 			default:
-				throw new H5RuntimeException("Unrecognized message type = " + messageType);
+				// skip messages irrelevant for reading (e.g., comments, link info, or B-tree K values)
+				return new H5NilMessage(rootObject, flags, bb);
 		}
 	}
 }
@@ -279,7 +279,9 @@ public class LineageCacheConfig
 		updateInplace = updateInplace || ((inst instanceof BinaryMatrixMatrixCPInstruction)
 			&& ((BinaryMatrixMatrixCPInstruction) inst).isInPlace());
 		boolean federatedOutput = false;
-		return insttype && (rightCPOp || rightSPOp) && !updateInplace && !federatedOutput;
+		//never reuse instructions with side effects (e.g., file writes)
+		boolean sideEffects = inst.getOpcode().equals("transformapplyfile");
+		return insttype && (rightCPOp || rightSPOp) && !updateInplace && !federatedOutput && !sideEffects;
 	}
 	
 	private static boolean isVectorAppend(Instruction inst, ExecutionContext ec) {
@@ -24,9 +24,15 @@ import static org.apache.sysds.runtime.matrix.data.LibMatrixFourier.fft_lineariz
 import static org.apache.sysds.runtime.matrix.data.LibMatrixFourier.ifft;
 import static org.apache.sysds.runtime.matrix.data.LibMatrixFourier.ifft_linearized;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -59,6 +65,7 @@ import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
 import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
 import org.apache.sysds.runtime.matrix.operators.TernaryOperator;
 import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.DataConverter;
 import org.apache.sysds.runtime.util.UtilFunctions;
 
@@ -74,6 +81,8 @@ public class LibCommonsMath
 	private static final Log LOG = LogFactory.getLog(LibCommonsMath.class.getName());
 	private static final double RELATIVE_SYMMETRY_THRESHOLD = 1e-6;
 	private static final double EIGEN_LAMBDA = 1e-8;
+	private static final int CHOLESKY_BLOCKSIZE = 128;
+	private static final double SOLVE_RELATIVE_PIVOT_THRESHOLD = 1e-8;
 
 	private LibCommonsMath() {
 		//prevent instantiation via private constructor
@@ -106,11 +115,14 @@ public class LibCommonsMath
 	}
 		
 	public static MatrixBlock unaryOperations(MatrixBlock inj, String opcode) {
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(inj);
+		return unaryOperations(inj, opcode, 1);
+	}
+
+	public static MatrixBlock unaryOperations(MatrixBlock inj, String opcode, int threads) {
 		if(opcode.equals("inverse"))
-			return computeMatrixInverse(matrixInput);
+			return computeMatrixInverse(DataConverter.convertToArray2DRowRealMatrix(inj));
 		else if (opcode.equals("cholesky"))
-			return computeCholesky(matrixInput);
+			return computeCholesky(inj, threads);
 		return null;
 	}
 
@@ -176,10 +188,17 @@ public class LibCommonsMath
 	}
 
 	public static MatrixBlock matrixMatrixOperations(MatrixBlock in1, MatrixBlock in2, String opcode) {
+		return matrixMatrixOperations(in1, in2, opcode, 1);
+	}
+
+	public static MatrixBlock matrixMatrixOperations(MatrixBlock in1, MatrixBlock in2, String opcode, int threads) {
 		if(opcode.equals("solve")) {
 			if (in1.getNumRows() != in1.getNumColumns())
 				throw new DMLRuntimeException("The A matrix, in solve(A,b) should have squared dimensions.");
-			return computeSolve(in1, in2);
+			if (in2.getNumRows() != in1.getNumRows())
+				throw new DMLRuntimeException("The b matrix, in solve(A,b) should have as many rows as A: "
+					+ in2.getNumRows() + " vs " + in1.getNumRows() + ".");
+			return computeSolve(in1, in2, threads);
 		}
 		return null;
 	}
@@ -187,11 +206,25 @@ public class LibCommonsMath
 	/**
 	 * Function to solve a given system of equations.
 	 * 
-	 * @param in1 matrix object 1
-	 * @param in2 matrix object 2
+	 * Symmetric positive definite systems, like the normal equations t(X) %*% X of linear regression, are solved via a
+	 * parallel blocked Cholesky decomposition, all other systems via QR decomposition. Ill-conditioned systems, where a
+	 * pivot of the Cholesky decomposition falls below a threshold relative to its diagonal entry, are also solved via QR
+	 * because the Cholesky factor would lose too many digits to the cancellation.
+	 * 
+	 * @param in1     matrix object 1
+	 * @param in2     matrix object 2
+	 * @param threads the parallelization degree
 	 * @return matrix block
 	 */
-	private static MatrixBlock computeSolve(MatrixBlock in1, MatrixBlock in2) {
+	private static MatrixBlock computeSolve(MatrixBlock in1, MatrixBlock in2, int threads) {
+		if(in1.getNumRows() > 0 && isSymmetric(in1)) {
+			final int n = in1.getNumRows();
+			final double[] l = DataConverter.convertToDoubleVector(in1, true);
+			if(choleskyBlocked(l, n, threads, SOLVE_RELATIVE_PIVOT_THRESHOLD))
+				return solveCholesky(l, n, in2);
+			// not (numerically) positive definite, fall back to QR
+		}
+
 		//convert to commons math BlockRealMatrix instead of Array2DRowRealMatrix
 		//to avoid unnecessary conversion as QR internally creates a BlockRealMatrix
 		BlockRealMatrix matrixInput = DataConverter.convertToBlockRealMatrix(in1);
@@ -535,17 +568,204 @@ public class LibCommonsMath
 	 * Function to compute Cholesky decomposition of the given input matrix. 
 	 * The input must be a real symmetric positive-definite matrix.
 	 * 
-	 * @param in commons-math3 Array2DRowRealMatrix
+	 * @param in      matrix block
+	 * @param threads the parallelization degree
 	 * @return matrix block
 	 */
-	private static MatrixBlock computeCholesky(Array2DRowRealMatrix in) {
-		if(!in.isSquare())
+	private static MatrixBlock computeCholesky(MatrixBlock in, int threads) {
+		final int n = in.getNumRows();
+		if(n != in.getNumColumns())
 			throw new DMLRuntimeException("Input to cholesky() must be square matrix -- given: a "
-				+ in.getRowDimension() + "x" + in.getColumnDimension() + " matrix.");
-		CholeskyDecomposition cholesky = new CholeskyDecomposition(in, RELATIVE_SYMMETRY_THRESHOLD,
-			CholeskyDecomposition.DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD);
-		RealMatrix rmL = cholesky.getL();
-		return DataConverter.convertToMatrixBlock(rmL.getData());
+				+ in.getNumRows() + "x" + in.getNumColumns() + " matrix.");
+		if(!isSymmetric(in))
+			throw new DMLRuntimeException("Input to cholesky() must be a symmetric matrix.");
+		final double[] l = DataConverter.convertToDoubleVector(in, true);
+		if(!choleskyBlocked(l, n, threads, 0))
+			throw new DMLRuntimeException("Input to cholesky() must be a positive definite matrix.");
+		final MatrixBlock ret = new MatrixBlock(n, n, l);
+		ret.recomputeNonZeros();
+		return ret;
+	}
+
+	private static boolean isSymmetric(MatrixBlock in) {
+		final int n = in.getNumRows();
+		if(n != in.getNumColumns())
+			return false;
+		for(int i = 0; i < n; i++) {
+			for(int j = i + 1; j < n; j++) {
+				final double a = in.get(i, j);
+				final double b = in.get(j, i);
+				if(Math.abs(a - b) > RELATIVE_SYMMETRY_THRESHOLD * Math.max(Math.abs(a), Math.abs(b)))
+					return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Right-looking blocked Cholesky decomposition of a dense row-major symmetric matrix, overwriting the input with the
+	 * lower triangular factor L such that A = L %*% t(L). After factorizing a diagonal block, the solve of the panel
+	 * below it and the symmetric update of the trailing matrix are parallelized over row ranges.
+	 * 
+	 * A pivot is rejected if it is not above the absolute positivity threshold of commons-math, or, if relThreshold is
+	 * positive, not above relThreshold times the original diagonal entry.
+	 * 
+	 * @param a            The dense row-major values of the symmetric matrix, replaced with L
+	 * @param n            The number of rows and columns
+	 * @param threads      The parallelization degree
+	 * @param relThreshold The relative pivot threshold, or 0 to only use the absolute threshold
+	 * @return False if the matrix is not positive definite, in which case the content of a is undefined
+	 */
+	protected static boolean choleskyBlocked(double[] a, int n, int threads, double relThreshold) {
+		final double[] minPivot = relThreshold > 0 ? new double[n] : null;
+		for(int i = 0; minPivot != null && i < n; i++)
+			minPivot[i] = relThreshold * a[i * n + i];
+		final ExecutorService pool = threads > 1 && n > CHOLESKY_BLOCKSIZE ? CommonThreadPool.get(threads) : null;
+		try {
+			for(int b = 0; b < n; b += CHOLESKY_BLOCKSIZE) {
+				final int kb = b;
+				final int ke = Math.min(kb + CHOLESKY_BLOCKSIZE, n);
+				if(!choleskyDiagonalBlock(a, n, kb, ke, minPivot))
+					return false;
+				if(ke == n)
+					break;
+				if(pool == null) {
+					choleskyPanel(a, n, kb, ke, ke, n);
+					choleskyTrailingUpdate(a, n, kb, ke, ke, n);
+				}
+				else {
+					final int nTasks = Math.min(threads * 4, n - ke);
+					final int bz = (n - ke + nTasks - 1) / nTasks;
+					final List<Future<?>> tasks = new ArrayList<>(nTasks);
+					for(int rl = ke; rl < n; rl += bz) {
+						final int rlt = rl, rut = Math.min(rl + bz, n);
+						tasks.add(pool.submit(() -> choleskyPanel(a, n, kb, ke, rlt, rut)));
+					}
+					for(Future<?> f : tasks)
+						f.get();
+					tasks.clear();
+					// balance the triangular update by assigning equal numbers of cells per task
+					final long cells = (long) (n - ke) * (n - ke + 1) / 2;
+					int rl = ke;
+					for(int t = 0; t < nTasks && rl < n; t++) {
+						final long target = cells * (t + 1) / nTasks;
+						int ru = rl + 1;
+						while(ru < n && (long) (ru - ke) * (ru - ke + 1) / 2 < target)
+							ru++;
+						final int rlt = rl, rut = ru;
+						tasks.add(pool.submit(() -> choleskyTrailingUpdate(a, n, kb, ke, rlt, rut)));
+						rl = ru;
+					}
+					for(Future<?> f : tasks)
+						f.get();
+				}
+			}
+		}
+		catch(InterruptedException | ExecutionException e) {
+			throw new DMLRuntimeException(e);
+		}
+		finally {
+			if(pool != null)
+				pool.shutdown();
+		}
+
+		// clear the upper triangle
+		for(int i = 0; i < n; i++)
+			Arrays.fill(a, i * n + i + 1, (i + 1) * n, 0);
+		return true;
+	}
+
+	private static boolean choleskyDiagonalBlock(double[] a, int n, int kb, int ke, double[] minPivot) {
+		for(int j = kb; j < ke; j++) {
+			final int offJ = j * n;
+			double d = a[offJ + j];
+			for(int p = kb; p < j; p++)
+				d -= a[offJ + p] * a[offJ + p];
+			if(!(d > CholeskyDecomposition.DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD)
+				|| (minPivot != null && !(d > minPivot[j])))
+				return false;
+			d = Math.sqrt(d);
+			a[offJ + j] = d;
+			for(int i = j + 1; i < ke; i++) {
+				final int offI = i * n;
+				double v = a[offI + j];
+				for(int p = kb; p < j; p++)
+					v -= a[offI + p] * a[offJ + p];
+				a[offI + j] = v / d;
+			}
+		}
+		return true;
+	}
+
+	private static void choleskyPanel(double[] a, int n, int kb, int ke, int rl, int ru) {
+		for(int i = rl; i < ru; i++) {
+			final int offI = i * n;
+			for(int j = kb; j < ke; j++) {
+				final int offJ = j * n;
+				double v = a[offI + j];
+				for(int p = kb; p < j; p++)
+					v -= a[offI + p] * a[offJ + p];
+				a[offI + j] = v / a[offJ + j];
+			}
+		}
+	}
+
+	private static void choleskyTrailingUpdate(double[] a, int n, int kb, int ke, int rl, int ru) {
+		for(int i = rl; i < ru; i++) {
+			final int offI = i * n;
+			for(int j = ke; j <= i; j++) {
+				final int offJ = j * n;
+				double v = 0;
+				for(int p = kb; p < ke; p++)
+					v += a[offI + p] * a[offJ + p];
+				a[offI + j] -= v;
+			}
+		}
+	}
+
+	/**
+	 * Solve L %*% t(L) %*% X = B via forward and backward substitution.
+	 * 
+	 * @param l The dense row-major lower triangular Cholesky factor
+	 * @param n The number of rows and columns in L
+	 * @param b The right hand side
+	 * @return The solution X
+	 */
+	private static MatrixBlock solveCholesky(double[] l, int n, MatrixBlock b) {
+		final int m = b.getNumColumns();
+		final double[] x = DataConverter.convertToDoubleVector(b, true);
+		// forward substitution L %*% Z = B
+		for(int i = 0; i < n; i++) {
+			final int offL = i * n;
+			final int offX = i * m;
+			for(int p = 0; p < i; p++) {
+				final double v = l[offL + p];
+				if(v != 0)
+					for(int c = 0; c < m; c++)
+						x[offX + c] -= v * x[p * m + c];
+			}
+			final double d = l[offL + i];
+			for(int c = 0; c < m; c++)
+				x[offX + c] /= d;
+		}
+		// backward substitution t(L) %*% X = Z
+		for(int i = n - 1; i >= 0; i--) {
+			final int offL = i * n;
+			final int offX = i * m;
+			final double d = l[offL + i];
+			for(int c = 0; c < m; c++)
+				x[offX + c] /= d;
+			for(int p = 0; p < i; p++) {
+				final double v = l[offL + p];
+				if(v != 0)
+					for(int c = 0; c < m; c++)
+						x[p * m + c] -= v * x[offX + c];
+			}
+		}
+		final MatrixBlock ret = new MatrixBlock(n, m, x);
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
 	}
 
 	/**
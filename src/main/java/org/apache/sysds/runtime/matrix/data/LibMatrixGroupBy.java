@@ -0,0 +1,484 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.matrix.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.matrix.data.LibMatrixJoin.JoinKeys;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Native grouped aggregation over one or more key columns with multiple aggregates per group. Each row partition
+ * aggregates into its own open-addressing hash table over the key codes (see {@link JoinKeys}), and the partial
+ * tables are merged in parallel over disjoint hash partitions of the key space. Groups are returned in the order of
+ * their first occurrence, which makes the result independent of the degree of parallelism.
+ *
+ * Missing key values (NaN or null) drop the row, and missing aggregate values are ignored, i.e., count returns the
+ * number of non-missing values and all other aggregates of groups without values are NaN. The variance is the sample
+ * variance, consistent with var().
+ *
+ * The aggregation is shared with the frame group-by in {@link org.apache.sysds.runtime.frame.data.lib.FrameLibGroupBy}.
+ */
+public class LibMatrixGroupBy {
+
+	/** Number of state values per group and aggregate */
+	private static final int STATE = 3;
+
+	public enum AggFn {
+		SUM, COUNT, MIN, MAX, MEAN, VAR;
+
+		public static AggFn parse(String fn) {
+			switch(fn.trim().toLowerCase()) {
+				case "sum":
+					return SUM;
+				case "count":
+					return COUNT;
+				case "min":
+					return MIN;
+				case "max":
+					return MAX;
+				case "mean":
+					return MEAN;
+				case "var":
+				case "variance":
+					return VAR;
+				default:
+					throw new DMLRuntimeException("Unsupported group-by aggregate '" + fn + "', "
+						+ "expected 'sum', 'count', 'min', 'max', 'mean', or 'var'.");
+			}
+		}
+
+		/**
+		 * Parse a comma-separated list of aggregate functions.
+		 *
+		 * @param fns The aggregate functions, e.g., "sum,count"
+		 * @return The parsed aggregate functions
+		 */
+		public static AggFn[] parseList(String fns) {
+			return Arrays.stream(fns.split(",")).map(AggFn::parse).toArray(AggFn[]::new);
+		}
+	}
+
+	private LibMatrixGroupBy() {
+		// private constructor
+	}
+
+	/**
+	 * Group the rows of a matrix by the given key columns and compute the given aggregates per group. The output
+	 * contains one row per group with the key columns followed by one column per aggregate.
+	 *
+	 * @param in   The input matrix
+	 * @param keys The 0-based key columns
+	 * @param cols The 0-based value columns, one per aggregate
+	 * @param fns  The aggregate functions
+	 * @param k    The parallelization degree
+	 * @return The grouped aggregates
+	 */
+	public static MatrixBlock groupBy(MatrixBlock in, int[] keys, int[] cols, AggFn[] fns, int k) {
+		validate(in.getNumColumns(), keys, cols, fns);
+		final JoinKeys codes = LibMatrixJoin.extractKeys(in, keys, k);
+		final double[][] values = extractValues(in, cols, k);
+		final GroupAggregates agg = aggregate(codes, values, fns, k);
+
+		final int ngroups = agg.getNumGroups();
+		final int ncol = keys.length + fns.length;
+		final MatrixBlock ret = new MatrixBlock(ngroups, ncol, false);
+		if(ngroups == 0)
+			return ret;
+		ret.allocateDenseBlock();
+		final DenseBlock c = ret.getDenseBlock();
+		final int[] rows = agg.getFirstRows();
+		for(int g = 0; g < ngroups; g++) {
+			final double[] cvals = c.values(g);
+			final int cpos = c.pos(g);
+			// decode the group keys from the key codes of their first rows
+			for(int j = 0; j < keys.length; j++)
+				cvals[cpos + j] = Double.longBitsToDouble(codes.getCodes(j)[rows[g]]);
+			for(int j = 0; j < fns.length; j++)
+				cvals[cpos + keys.length + j] = agg.getValues(j)[g];
+		}
+		ret.recomputeNonZeros(k);
+		ret.examSparsity(k);
+		return ret;
+	}
+
+	/**
+	 * Aggregate the values per group of equal key codes.
+	 *
+	 * @param keys   The key codes of all rows, where invalid rows are skipped
+	 * @param values The values per aggregate with NaN for missing values (arrays may be shared across aggregates)
+	 * @param fns    The aggregate functions
+	 * @param k      The parallelization degree
+	 * @return The groups in order of first occurrence and their aggregates
+	 */
+	public static GroupAggregates aggregate(JoinKeys keys, double[][] values, AggFn[] fns, int k) {
+		final int n = keys.getNumRows();
+		final int np = LibMatrixJoin.getNumPartitions(n, k);
+
+		// local aggregation per row partition
+		final GroupTable[] local = new GroupTable[np];
+		LibMatrixJoin.parallelRows(n, k, (p, rl, ru) -> {
+			final GroupTable table = new GroupTable(keys, fns);
+			for(int i = rl; i < ru; i++) {
+				if(!keys.isValid(i))
+					continue;
+				final int g = table.lookupOrInsert(i, keys.hash(i));
+				for(int j = 0; j < fns.length; j++)
+					table.add(g, j, values[j][i]);
+			}
+			local[p] = table;
+		});
+		if(np == 1)
+			return local[0].toResult();
+
+		// merge of partial tables over disjoint hash partitions of the key space, where partitions are merged in
+		// row order such that the representative row of each group remains its first occurrence
+		final int nm = Math.min(k, np);
+		final GroupTable[] merged = new GroupTable[nm];
+		final ExecutorService pool = CommonThreadPool.get(nm);
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for(int m = 0; m < nm; m++) {
+				final int mix = m;
+				tasks.add(pool.submit(() -> {
+					final GroupTable table = new GroupTable(keys, fns);
+					for(GroupTable part : local) {
+						for(int g = 0; g < part._ngroups; g++) {
+							final int hash = part._grpHash[g];
+							// partition by the high hash bits, the low bits address the table slots
+							if((int) (((hash & 0xFFFFFFFFL) * nm) >>> 32) == mix)
+								table.merge(table.lookupOrInsert(part._grpRow[g], hash), part, g);
+						}
+					}
+					merged[mix] = table;
+				}));
+			}
+			for(Future<?> f : tasks)
+				f.get();
+		}
+		catch(Exception e) {
+			throw new DMLRuntimeException(e);
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		// concatenate the merged tables, and order the groups by first occurrence
+		int ngroups = 0;
+		for(GroupTable t : merged)
+			ngroups += t._ngroups;
+		final long[] order = new long[ngroups];
+		final double[][] tmp = new double[fns.length][ngroups];
+		for(int m = 0, pos = 0; m < nm; m++) {
+			final GroupTable t = merged[m];
+			for(int g = 0; g < t._ngroups; g++, pos++) {
+				order[pos] = ((long) t._grpRow[g] << 32) | pos;
+				for(int j = 0; j < fns.length; j++)
+					tmp[j][pos] = t.getResult(g, j);
+			}
+		}
+		Arrays.parallelSort(order);
+		final int[] rows = new int[ngroups];
+		final double[][] out = new double[fns.length][ngroups];
+		for(int i = 0; i < ngroups; i++) {
+			rows[i] = (int) (order[i] >>> 32);
+			final int pos = (int) order[i];
+			for(int j = 0; j < fns.length; j++)
+				out[j][i] = tmp[j][pos];
+		}
+		return new GroupAggregates(rows, out);
+	}
+
+	/**
+	 * Validate the key columns, and that each aggregate has a value column within the column bounds.
+	 *
+	 * @param ncol The number of input columns
+	 * @param keys The 0-based key columns
+	 * @param cols The 0-based value columns
+	 * @param fns  The aggregate functions
+	 */
+	public static void validate(int ncol, int[] keys, int[] cols, AggFn[] fns) {
+		if(keys.length == 0)
+			throw new DMLRuntimeException("Group-by requires at least one key column.");
+		if(fns.length == 0 || cols.length != fns.length)
+			throw new DMLRuntimeException("Group-by requires one value column per aggregate, but got "
+				+ cols.length + " columns and " + fns.length + " aggregates.");
+		for(int c : keys)
+			if(c < 0 || c >= ncol)
+				throw new DMLRuntimeException("Group-by key column " + (c + 1) + " out of bounds for input with "
+					+ ncol + " columns.");
+		for(int c : cols)
+			if(c < 0 || c >= ncol)
+				throw new DMLRuntimeException("Group-by value column " + (c + 1) + " out of bounds for input with "
+					+ ncol + " columns.");
+	}
+
+	/**
+	 * Broadcast a single value column to all aggregates.
+	 *
+	 * @param cols The 0-based value columns
+	 * @param nfns The number of aggregates
+	 * @return The value columns, one per aggregate if a single column is given
+	 */
+	public static int[] broadcastColumns(int[] cols, int nfns) {
+		if(cols.length != 1 || nfns <= 1)
+			return cols;
+		final int[] ret = new int[nfns];
+		Arrays.fill(ret, cols[0]);
+		return ret;
+	}
+
+	/**
+	 * Broadcast a single aggregate to all value columns.
+	 *
+	 * @param fns   The aggregate functions
+	 * @param ncols The number of value columns
+	 * @return The aggregate functions, one per value column if a single aggregate is given
+	 */
+	public static AggFn[] broadcastFunctions(AggFn[] fns, int ncols) {
+		if(fns.length != 1 || ncols <= 1)
+			return fns;
+		final AggFn[] ret = new AggFn[ncols];
+		Arrays.fill(ret, fns[0]);
+		return ret;
+	}
+
+	private static double[][] extractValues(MatrixBlock in, int[] cols, int k) {
+		final int n = in.getNumRows();
+		final double[][] ret = new double[cols.length][];
+		for(int j = 0; j < cols.length; j++) {
+			// share the values of repeated columns across aggregates
+			for(int j2 = 0; j2 < j && ret[j] == null; j2++)
+				if(cols[j2] == cols[j])
+					ret[j] = ret[j2];
+			if(ret[j] == null)
+				ret[j] = new double[n];
+		}
+		LibMatrixJoin.parallelRows(n, k, (p, rl, ru) -> LibMatrixJoin.extractColumns(in, cols, rl, ru, ret, rl));
+		return ret;
+	}
+
+	/** Groups in order of first occurrence with one value array per aggregate. */
+	public static class GroupAggregates {
+		private final int[] _rows;
+		private final double[][] _values;
+
+		protected GroupAggregates(int[] rows, double[][] values) {
+			_rows = rows;
+			_values = values;
+		}
+
+		public int getNumGroups() {
+			return _rows.length;
+		}
+
+		/**
+		 * Get the first input row per group, e.g., for gathering the group keys.
+		 *
+		 * @return The 0-based first row of each group
+		 */
+		public int[] getFirstRows() {
+			return _rows;
+		}
+
+		public double[] getValues(int agg) {
+			return _values[agg];
+		}
+	}
+
+	/**
+	 * Growable open-addressing hash table over the distinct keys of a set of rows, with the aggregation state of each
+	 * group. Each group stores its first row as representative for key comparisons. The state per group and aggregate
+	 * is the count of values and two aggregate-specific values (sum and compensation for sum and mean, minimum or
+	 * maximum, and mean and sum of squared deviations for variance).
+	 */
+	private static class GroupTable {
+		private final JoinKeys _keys;
+		private final AggFn[] _fns;
+		private int[] _slots;
+		private int _mask;
+		private int[] _grpRow;
+		private int[] _grpHash;
+		private double[] _state;
+		private int _ngroups;
+
+		protected GroupTable(JoinKeys keys, AggFn[] fns) {
+			_keys = keys;
+			_fns = fns;
+			_slots = new int[1024];
+			_mask = _slots.length - 1;
+			_grpRow = new int[256];
+			_grpHash = new int[256];
+			_state = new double[256 * fns.length * STATE];
+		}
+
+		protected int lookupOrInsert(int r, int hash) {
+			int h = hash & _mask;
+			while(_slots[h] != 0) {
+				final int g = _slots[h] - 1;
+				if(_grpHash[g] == hash && _keys.equals(r, _keys, _grpRow[g]))
+					return g;
+				h = (h + 1) & _mask;
+			}
+			final int g = _ngroups++;
+			if(g == _grpRow.length)
+				grow();
+			_grpRow[g] = r;
+			_grpHash[g] = hash;
+			initState(g);
+			_slots[h] = g + 1;
+			if(2 * _ngroups > _slots.length)
+				rehash();
+			return g;
+		}
+
+		private void grow() {
+			final int len = _grpRow.length * 2;
+			_grpRow = Arrays.copyOf(_grpRow, len);
+			_grpHash = Arrays.copyOf(_grpHash, len);
+			_state = Arrays.copyOf(_state, len * _fns.length * STATE);
+		}
+
+		private void rehash() {
+			_slots = new int[_slots.length * 2];
+			_mask = _slots.length - 1;
+			for(int g = 0; g < _ngroups; g++) {
+				int h = _grpHash[g] & _mask;
+				while(_slots[h] != 0)
+					h = (h + 1) & _mask;
+				_slots[h] = g + 1;
+			}
+		}
+
+		private void initState(int g) {
+			for(int j = 0; j < _fns.length; j++) {
+				final int pos = (g * _fns.length + j) * STATE;
+				_state[pos] = 0;
+				_state[pos + 1] = (_fns[j] == AggFn.MIN) ? Double.POSITIVE_INFINITY :
+					(_fns[j] == AggFn.MAX) ? Double.NEGATIVE_INFINITY : 0;
+				_state[pos + 2] = 0;
+			}
+		}
+
+		protected void add(int g, int agg, double v) {
+			if(Double.isNaN(v))
+				return;
+			final double[] s = _state;
+			final int pos = (g * _fns.length + agg) * STATE;
+			final double n = ++s[pos];
+			switch(_fns[agg]) {
+				case SUM:
+				case MEAN:
+					kahanAdd(s, pos + 1, v);
+					break;
+				case MIN:
+					s[pos + 1] = Math.min(s[pos + 1], v);
+					break;
+				case MAX:
+					s[pos + 1] = Math.max(s[pos + 1], v);
+					break;
+				case VAR: {
+					final double delta = v - s[pos + 1];
+					s[pos + 1] += delta / n;
+					s[pos + 2] += delta * (v - s[pos + 1]);
+					break;
+				}
+				default: // COUNT
+			}
+		}
+
+		protected void merge(int g, GroupTable that, int g2) {
+			final double[] s = _state;
+			final double[] s2 = that._state;
+			for(int j = 0; j < _fns.length; j++) {
+				final int pos = (g * _fns.length + j) * STATE;
+				final int pos2 = (g2 * _fns.length + j) * STATE;
+				final double na = s[pos], nb = s2[pos2];
+				if(nb == 0)
+					continue;
+				switch(_fns[j]) {
+					case SUM:
+					case MEAN:
+						kahanAdd(s, pos + 1, s2[pos2 + 1]);
+						kahanAdd(s, pos + 1, -s2[pos2 + 2]);
+						break;
+					case MIN:
+						s[pos + 1] = Math.min(s[pos + 1], s2[pos2 + 1]);
+						break;
+					case MAX:
+						s[pos + 1] = Math.max(s[pos + 1], s2[pos2 + 1]);
+						break;
+					case VAR: {
+						// pairwise combination of mean and sum of squared deviations
+						final double n = na + nb;
+						final double delta = s2[pos2 + 1] - s[pos + 1];
+						s[pos + 1] += delta * nb / n;
+						s[pos + 2] += s2[pos2 + 2] + delta * delta * na * nb / n;
+						break;
+					}
+					default: // COUNT
+				}
+				s[pos] = na + nb;
+			}
+		}
+
+		protected double getResult(int g, int agg) {
+			final int pos = (g * _fns.length + agg) * STATE;
+			final double n = _state[pos];
+			if(_fns[agg] == AggFn.COUNT)
+				return n;
+			else if(n == 0)
+				return Double.NaN;
+			switch(_fns[agg]) {
+				case SUM:
+					return _state[pos + 1];
+				case MEAN:
+					return _state[pos + 1] / n;
+				case VAR:
+					return (n == 1) ? 0 : _state[pos + 2] / (n - 1);
+				default: // MIN, MAX
+					return _state[pos + 1];
+			}
+		}
+
+		protected GroupAggregates toResult() {
+			final int[] rows = Arrays.copyOf(_grpRow, _ngroups);
+			final double[][] out = new double[_fns.length][_ngroups];
+			for(int g = 0; g < _ngroups; g++)
+				for(int j = 0; j < _fns.length; j++)
+					out[j][g] = getResult(g, j);
+			return new GroupAggregates(rows, out);
+		}
+
+		/** Kahan summation of v into the sum at pos with its compensation at pos+1. */
+		private static void kahanAdd(double[] s, int pos, double v) {
+			final double y = v - s[pos + 1];
+			final double t = s[pos] + y;
+			s[pos + 1] = (t - s[pos]) - y;
+			s[pos] = t;
+		}
+	}
+}
@@ -0,0 +1,600 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.matrix.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Native hash join of two matrices on one or more key columns. The join builds a hash table over the key columns of
+ * the smaller input and probes it with the other input in parallel row partitions. The output is always ordered by the
+ * rows of the left input, and for each left row by the matching rows of the right input, which makes the result
+ * independent of the chosen build side and degree of parallelism.
+ * 
+ * The key handling and index computation is shared with the frame join in
+ * {@link org.apache.sysds.runtime.frame.data.lib.FrameLibJoin}.
+ */
+public class LibMatrixJoin {
+
+	/** Minimum number of rows per parallel partition */
+	private static final int PAR_BLOCK_SIZE = 4096;
+
+	public enum JoinType {
+		/** Pairs of matching left and right rows */
+		INNER,
+		/** Pairs of matching rows, and left rows without match padded with NaN or null */
+		LEFT,
+		/** Left rows with at least one matching right row */
+		SEMI;
+
+		public static JoinType parse(String type) {
+			switch(type.toLowerCase()) {
+				case "inner":
+					return INNER;
+				case "left":
+					return LEFT;
+				case "semi":
+					return SEMI;
+				default:
+					throw new DMLRuntimeException("Unsupported join type '" + type + "', "
+						+ "expected 'inner', 'left', or 'semi'.");
+			}
+		}
+	}
+
+	private LibMatrixJoin() {
+		// private constructor
+	}
+
+	/**
+	 * Join two matrices on the given key columns. The output contains the columns of the left input followed by the
+	 * columns of the right input (except for semi joins that only return left columns). Keys with NaN values never
+	 * match.
+	 * 
+	 * @param left  The left input
+	 * @param right The right input
+	 * @param lkeys The 0-based key columns of the left input
+	 * @param rkeys The 0-based key columns of the right input
+	 * @param type  The join type
+	 * @param k     The parallelization degree
+	 * @return The joined matrix
+	 */
+	public static MatrixBlock join(MatrixBlock left, MatrixBlock right, int[] lkeys, int[] rkeys, JoinType type,
+		int k) {
+		validateKeys(left.getNumColumns(), right.getNumColumns(), lkeys, rkeys);
+		final JoinKeys lk = extractKeys(left, lkeys, k);
+		final JoinKeys rk = extractKeys(right, rkeys, k);
+		final int[][] ix = joinIndexes(lk, rk, type, k);
+
+		final int lcols = left.getNumColumns();
+		final int rcols = right.getNumColumns();
+		final int nrow = ix[0].length;
+		final int ncol = lcols + (type == JoinType.SEMI ? 0 : rcols);
+		final int[] lidx = ix[0];
+		final int[] ridx = ix[1];
+		final long estnnz = estimateNnz(left, right, lidx, ridx);
+		final boolean sparse = MatrixBlock.evalSparseFormatInMemory(nrow, ncol, estnnz);
+		final MatrixBlock ret = new MatrixBlock(nrow, ncol, sparse, estnnz);
+		if(nrow == 0)
+			return ret;
+		if(sparse) {
+			// sparse output of independently allocated rows
+			ret.allocateSparseRowsBlock();
+			final SparseBlock c = ret.getSparseBlock();
+			final double lnnz = getAvgRowNnz(left);
+			final double rnnz = (ridx == null) ? 0 : Math.max(getAvgRowNnz(right), 1);
+			parallelRows(nrow, k, (p, rl, ru) -> {
+				for(int i = rl; i < ru; i++) {
+					c.allocate(i, (int) Math.ceil(lnnz + rnnz));
+					appendRow(left, lidx[i], c, i, 0);
+					if(ridx == null)
+						continue;
+					else if(ridx[i] < 0)
+						for(int j = lcols; j < ncol; j++)
+							c.append(i, j, Double.NaN);
+					else
+						appendRow(right, ridx[i], c, i, lcols);
+				}
+			});
+		}
+		else {
+			ret.allocateDenseBlock();
+			final DenseBlock c = ret.getDenseBlock();
+			parallelRows(nrow, k, (p, rl, ru) -> {
+				for(int i = rl; i < ru; i++) {
+					final double[] cvals = c.values(i);
+					final int cpos = c.pos(i);
+					copyRow(left, lidx[i], cvals, cpos);
+					if(ridx == null)
+						continue;
+					else if(ridx[i] < 0)
+						Arrays.fill(cvals, cpos + lcols, cpos + ncol, Double.NaN);
+					else
+						copyRow(right, ridx[i], cvals, cpos + lcols);
+				}
+			});
+		}
+		ret.recomputeNonZeros(k);
+		ret.examSparsity(k);
+		return ret;
+	}
+
+	/**
+	 * Compute the row indexes of the join result, ordered by left row and for each left row by right row. The hash
+	 * table is built over the input with fewer rows, and the other input probes it in parallel row partitions.
+	 * 
+	 * @param left  The key codes of the left input
+	 * @param right The key codes of the right input
+	 * @param type  The join type
+	 * @param k     The parallelization degree
+	 * @return The left row indexes and right row indexes (-1 for unmatched left rows, null for semi joins)
+	 */
+	public static int[][] joinIndexes(JoinKeys left, JoinKeys right, JoinType type, int k) {
+		final int nl = left.getNumRows();
+		final int nr = right.getNumRows();
+		final int[] lgroup;
+		final int[] gstart;
+		final int[] rlist;
+
+		if(nr <= nl) {
+			// build over the right input, matches per group in ascending right row order
+			final KeyTable table = new KeyTable(right);
+			final int ng = table.getNumGroups();
+			gstart = new int[ng + 1];
+			for(int g = 0; g < ng; g++)
+				gstart[g + 1] = gstart[g] + table.getGroupSize(g);
+			rlist = new int[gstart[ng]];
+			final int[] pos = Arrays.copyOf(gstart, ng);
+			final int[] rgroup = table.getRowGroups();
+			for(int j = 0; j < nr; j++)
+				if(rgroup[j] >= 0)
+					rlist[pos[rgroup[j]]++] = j;
+			// probe with the left input
+			lgroup = new int[nl];
+			parallelRows(nl, k, (p, rl, ru) -> {
+				for(int i = rl; i < ru; i++)
+					lgroup[i] = table.lookup(left, i);
+			});
+		}
+		else {
+			// build over the left input, all rows of a group share the same right matches
+			final KeyTable table = new KeyTable(left);
+			final int ng = table.getNumGroups();
+			lgroup = table.getRowGroups();
+			// probe with the right input, and count the matches per partition and group
+			final int[] rgroup = new int[nr];
+			final int np = getNumPartitions(nr, k);
+			final int[][] cnt = new int[np][ng];
+			parallelRows(nr, k, (p, rl, ru) -> {
+				final int[] pcnt = cnt[p];
+				for(int j = rl; j < ru; j++) {
+					final int g = table.lookup(right, j);
+					rgroup[j] = g;
+					if(g >= 0)
+						pcnt[g]++;
+				}
+			});
+			// turn counts into write positions that keep the right row order per group
+			gstart = new int[ng + 1];
+			for(int g = 0; g < ng; g++) {
+				int off = gstart[g];
+				for(int p = 0; p < np; p++) {
+					final int tmp = cnt[p][g];
+					cnt[p][g] = off;
+					off += tmp;
+				}
+				gstart[g + 1] = off;
+			}
+			rlist = new int[gstart[ng]];
+			parallelRows(nr, k, (p, rl, ru) -> {
+				final int[] ppos = cnt[p];
+				for(int j = rl; j < ru; j++)
+					if(rgroup[j] >= 0)
+						rlist[ppos[rgroup[j]]++] = j;
+			});
+		}
+
+		// count output rows per left partition
+		final int np = getNumPartitions(nl, k);
+		final long[] poff = new long[np + 1];
+		parallelRows(nl, k, (p, rl, ru) -> {
+			long n = 0;
+			for(int i = rl; i < ru; i++)
+				n += getNumOutputRows(type, lgroup[i], gstart);
+			poff[p + 1] = n;
+		});
+		for(int p = 0; p < np; p++)
+			poff[p + 1] += poff[p];
+		if(poff[np] > Integer.MAX_VALUE)
+			throw new DMLRuntimeException("Join output of " + poff[np] + " rows exceeds the maximum number of rows.");
+
+		// materialize the output row indexes
+		final int[] lidx = new int[(int) poff[np]];
+		final int[] ridx = (type == JoinType.SEMI) ? null : new int[lidx.length];
+		parallelRows(nl, k, (p, rl, ru) -> {
+			int off = (int) poff[p];
+			for(int i = rl; i < ru; i++) {
+				final int g = lgroup[i];
+				final boolean matched = g >= 0 && gstart[g + 1] > gstart[g];
+				if(type == JoinType.SEMI) {
+					if(matched)
+						lidx[off++] = i;
+				}
+				else if(matched) {
+					for(int q = gstart[g]; q < gstart[g + 1]; q++) {
+						lidx[off] = i;
+						ridx[off++] = rlist[q];
+					}
+				}
+				else if(type == JoinType.LEFT) {
+					lidx[off] = i;
+					ridx[off++] = -1;
+				}
+			}
+		});
+		return new int[][] {lidx, ridx};
+	}
+
+	/**
+	 * Validate that both sides specify the same, non-zero number of key columns within the column bounds.
+	 * 
+	 * @param lcols The number of left columns
+	 * @param rcols The number of right columns
+	 * @param lkeys The 0-based key columns of the left input
+	 * @param rkeys The 0-based key columns of the right input
+	 */
+	public static void validateKeys(int lcols, int rcols, int[] lkeys, int[] rkeys) {
+		if(lkeys.length == 0 || lkeys.length != rkeys.length)
+			throw new DMLRuntimeException("Join requires the same, non-zero number of left and right key columns, but got "
+				+ lkeys.length + " and " + rkeys.length + ".");
+		for(int j = 0; j < lkeys.length; j++) {
+			if(lkeys[j] < 0 || lkeys[j] >= lcols || rkeys[j] < 0 || rkeys[j] >= rcols)
+				throw new DMLRuntimeException("Join key columns (" + (lkeys[j] + 1) + ", " + (rkeys[j] + 1)
+					+ ") out of bounds for inputs with " + lcols + " and " + rcols + " columns.");
+		}
+	}
+
+	/**
+	 * Encode a numeric key value into a long code, where equal values have equal codes.
+	 * 
+	 * @param v The key value
+	 * @return The code of the value
+	 */
+	public static long encodeKey(double v) {
+		// normalize -0.0 to 0.0
+		return Double.doubleToLongBits(v == 0 ? 0 : v);
+	}
+
+	protected static JoinKeys extractKeys(MatrixBlock in, int[] keys, int k) {
+		final int n = in.getNumRows();
+		final JoinKeys ret = new JoinKeys(keys.length, n);
+		parallelRows(n, k, (p, rl, ru) -> {
+			final double[][] vals = new double[keys.length][ru - rl];
+			extractColumns(in, keys, rl, ru, vals, 0);
+			for(int j = 0; j < keys.length; j++) {
+				final long[] codes = ret.getCodes(j);
+				final double[] v = vals[j];
+				for(int i = rl; i < ru; i++) {
+					if(Double.isNaN(v[i - rl]))
+						ret.setInvalid(i);
+					else
+						codes[i] = encodeKey(v[i - rl]);
+				}
+			}
+		});
+		return ret;
+	}
+
+	/**
+	 * Extract the given columns of a row range by iterating the dense or sparse rows directly, where sparse rows are
+	 * merged with the sorted columns. The output arrays are expected to be zero-initialized.
+	 * 
+	 * @param in   The input matrix
+	 * @param cols The 0-based columns (may contain duplicates)
+	 * @param rl   The row lower bound (inclusive)
+	 * @param ru   The row upper bound (exclusive)
+	 * @param out  The output arrays, one per column
+	 * @param off  The output offset of row rl
+	 */
+	protected static void extractColumns(MatrixBlock in, int[] cols, int rl, int ru, double[][] out, int off) {
+		if(in.isEmptyBlock(false))
+			return;
+		else if(in.isInSparseFormat()) {
+			final SparseBlock a = in.getSparseBlock();
+			final int[] order = getSortedOrder(cols);
+			for(int i = rl; i < ru; i++) {
+				if(a.isEmpty(i))
+					continue;
+				final int apos = a.pos(i);
+				final int alen = a.size(i);
+				final int[] aix = a.indexes(i);
+				final double[] avals = a.values(i);
+				for(int t = apos, q = 0; t < apos + alen && q < order.length; t++) {
+					while(q < order.length && cols[order[q]] < aix[t])
+						q++;
+					for(; q < order.length && cols[order[q]] == aix[t]; q++)
+						out[order[q]][off + i - rl] = avals[t];
+				}
+			}
+		}
+		else {
+			final DenseBlock a = in.getDenseBlock();
+			for(int i = rl; i < ru; i++) {
+				final double[] avals = a.values(i);
+				final int apos = a.pos(i);
+				for(int j = 0; j < cols.length; j++)
+					out[j][off + i - rl] = avals[apos + cols[j]];
+			}
+		}
+	}
+
+	private static int[] getSortedOrder(int[] cols) {
+		return IntStream.range(0, cols.length).boxed()
+			.sorted((a, b) -> Integer.compare(cols[a], cols[b]))
+			.mapToInt(Integer::intValue).toArray();
+	}
+
+	private static void copyRow(MatrixBlock in, int r, double[] c, int cpos) {
+		if(in.isEmptyBlock(false))
+			return;
+		else if(in.isInSparseFormat()) {
+			final SparseBlock a = in.getSparseBlock();
+			if(a.isEmpty(r))
+				return;
+			final int apos = a.pos(r);
+			final int alen = a.size(r);
+			final int[] aix = a.indexes(r);
+			final double[] avals = a.values(r);
+			for(int j = apos; j < apos + alen; j++)
+				c[cpos + aix[j]] = avals[j];
+		}
+		else {
+			final DenseBlock a = in.getDenseBlock();
+			System.arraycopy(a.values(r), a.pos(r), c, cpos, in.getNumColumns());
+		}
+	}
+
+	/**
+	 * Estimate the number of non-zeros of the join output from the average number of non-zeros per row of the inputs,
+	 * where unmatched rows of left joins are padded with NaN values (i.e., non-zeros).
+	 */
+	private static long estimateNnz(MatrixBlock left, MatrixBlock right, int[] lidx, int[] ridx) {
+		double nnz = lidx.length * getAvgRowNnz(left);
+		if(ridx != null) {
+			long unmatched = 0;
+			for(int r : ridx)
+				unmatched += (r < 0) ? 1 : 0;
+			nnz += (ridx.length - unmatched) * getAvgRowNnz(right) + unmatched * right.getNumColumns();
+		}
+		return (long) Math.ceil(nnz);
+	}
+
+	private static double getAvgRowNnz(MatrixBlock in) {
+		final long nnz = in.getNonZeros() >= 0 ? in.getNonZeros() : in.recomputeNonZeros();
+		return in.getNumRows() == 0 ? 0 : (double) nnz / in.getNumRows();
+	}
+
+	private static void appendRow(MatrixBlock in, int r, SparseBlock c, int ci, int cpos) {
+		if(in.isEmptyBlock(false))
+			return;
+		else if(in.isInSparseFormat()) {
+			final SparseBlock a = in.getSparseBlock();
+			if(a.isEmpty(r))
+				return;
+			final int apos = a.pos(r);
+			final int alen = a.size(r);
+			final int[] aix = a.indexes(r);
+			final double[] avals = a.values(r);
+			for(int j = apos; j < apos + alen; j++)
+				c.append(ci, cpos + aix[j], avals[j]);
+		}
+		else {
+			final DenseBlock a = in.getDenseBlock();
+			final double[] avals = a.values(r);
+			final int apos = a.pos(r);
+			for(int j = 0; j < in.getNumColumns(); j++)
+				if(avals[apos + j] != 0)
+					c.append(ci, cpos + j, avals[apos + j]);
+		}
+	}
+
+	private static int getNumOutputRows(JoinType type, int g, int[] gstart) {
+		final int n = (g >= 0) ? gstart[g + 1] - gstart[g] : 0;
+		switch(type) {
+			case SEMI:
+				return Math.min(n, 1);
+			case LEFT:
+				return Math.max(n, 1);
+			default:
+				return n;
+		}
+	}
+
+	protected static int getNumPartitions(int n, int k) {
+		return Math.max(1, Math.min(k, (n + PAR_BLOCK_SIZE - 1) / PAR_BLOCK_SIZE));
+	}
+
+	/**
+	 * Execute the given task over row partitions, where the number and bounds of partitions only depend on the number
+	 * of rows and the parallelization degree.
+	 */
+	protected static void parallelRows(int n, int k, RangeTask task) {
+		final int np = getNumPartitions(n, k);
+		final int blklen = (n + np - 1) / np;
+		if(np == 1) {
+			task.run(0, 0, n);
+			return;
+		}
+		final ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for(int p = 0; p < np; p++) {
+				final int pix = p;
+				final int rl = p * blklen;
+				final int ru = Math.min(n, rl + blklen);
+				tasks.add(pool.submit(() -> task.run(pix, rl, ru)));
+			}
+			for(Future<?> f : tasks)
+				f.get();
+		}
+		catch(Exception e) {
+			throw new DMLRuntimeException(e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	protected interface RangeTask {
+		void run(int p, int rl, int ru);
+	}
+
+	/**
+	 * Column-wise long codes of the key columns of one join input, where equal keys have equal codes across both
+	 * inputs. Rows with missing key values (NaN or null) are marked invalid and never match.
+	 */
+	public static class JoinKeys {
+		private final long[][] _codes;
+		private final boolean[] _invalid;
+
+		public JoinKeys(int nkeys, int nrow) {
+			_codes = new long[nkeys][nrow];
+			_invalid = new boolean[nrow];
+		}
+
+		public int getNumRows() {
+			return _invalid.length;
+		}
+
+		public long[] getCodes(int key) {
+			return _codes[key];
+		}
+
+		public void setInvalid(int r) {
+			_invalid[r] = true;
+		}
+
+		public boolean isValid(int r) {
+			return !_invalid[r];
+		}
+
+		protected int hash(int r) {
+			long h = 0;
+			for(long[] c : _codes)
+				h = h * 0x9E3779B97F4A7C15L + c[r];
+			// final avalanche to spread the bits over the table mask
+			h ^= h >>> 33;
+			h *= 0xff51afd7ed558ccdL;
+			h ^= h >>> 33;
+			return (int) h;
+		}
+
+		protected boolean equals(int r, JoinKeys that, int r2) {
+			for(int j = 0; j < _codes.length; j++)
+				if(_codes[j][r] != that._codes[j][r2])
+					return false;
+			return true;
+		}
+	}
+
+	/**
+	 * Open-addressing hash table over the distinct keys of the build input. Each slot stores a group id, and each group
+	 * a representative row for key comparisons. The table is read-only after construction and safe for concurrent
+	 * probing.
+	 */
+	private static class KeyTable {
+		private final JoinKeys _keys;
+		private final int[] _slots;
+		private final int _mask;
+		private final int[] _rowGroups;
+		private final int[] _grpRow;
+		private final int[] _grpSize;
+		private int _ngroups;
+
+		protected KeyTable(JoinKeys keys) {
+			final int n = keys.getNumRows();
+			final int cap = Math.max(16, Integer.highestOneBit(Math.max(1, 2 * n - 1)) << 1);
+			_keys = keys;
+			_slots = new int[cap];
+			_mask = cap - 1;
+			_rowGroups = new int[n];
+			_grpRow = new int[n];
+			_grpSize = new int[n];
+			for(int i = 0; i < n; i++) {
+				if(!keys.isValid(i)) {
+					_rowGroups[i] = -1;
+					continue;
+				}
+				final int g = lookupOrInsert(i);
+				_rowGroups[i] = g;
+				_grpSize[g]++;
+			}
+		}
+
+		private int lookupOrInsert(int r) {
+			int h = _keys.hash(r) & _mask;
+			while(_slots[h] != 0) {
+				final int g = _slots[h] - 1;
+				if(_keys.equals(r, _keys, _grpRow[g]))
+					return g;
+				h = (h + 1) & _mask;
+			}
+			final int g = _ngroups++;
+			_grpRow[g] = r;
+			_slots[h] = g + 1;
+			return g;
+		}
+
+		protected int lookup(JoinKeys probe, int r) {
+			if(!probe.isValid(r))
+				return -1;
+			int h = probe.hash(r) & _mask;
+			while(_slots[h] != 0) {
+				final int g = _slots[h] - 1;
+				if(probe.equals(r, _keys, _grpRow[g]))
+					return g;
+				h = (h + 1) & _mask;
+			}
+			return -1;
+		}
+
+		protected int getNumGroups() {
+			return _ngroups;
+		}
+
+		protected int getGroupSize(int g) {
+			return _grpSize[g];
+		}
+
+		protected int[] getRowGroups() {
+			return _rowGroups;
+		}
+	}
+}
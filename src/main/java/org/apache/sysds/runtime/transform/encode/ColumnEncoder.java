@@ -45,6 +45,7 @@ import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
 import org.apache.sysds.runtime.data.SparseRowVector;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.MappedNativeMatrix;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.DependencyTask;
 import org.apache.sysds.runtime.util.DependencyThreadPool;
@@ -71,6 +72,11 @@ public abstract class ColumnEncoder implements Encoder, Comparable<ColumnEncoder
 		return;
 	}
 
+	//Override in ColumnEncoderWordEmbedding
+	public void initEmbeddings(MappedNativeMatrix embeddings){
+		return;
+	}
+
 	protected enum TransformType{
 		BIN, RECODE, DUMMYCODE, FEATURE_HASH, PASS_THROUGH, UDF, WORD_EMBEDDING, N_A
 	}
@@ -44,6 +44,7 @@ public class ColumnEncoderBin extends ColumnEncoder {
 	public static final String MIN_PREFIX = "min";
 	public static final String MAX_PREFIX = "max";
 	public static final String NBINS_PREFIX = "nbins";
+	public static final String COUNT_PREFIX = "count";
 	private static final long serialVersionUID = 1917445005206076078L;
 
 	public static final double SAMPLE_FRACTION = 0.1;
@@ -59,6 +60,8 @@ public class ColumnEncoderBin extends ColumnEncoder {
 	// b) column min/max (for partial build)
 	private double _colMins = -1f;
 	private double _colMaxs = -1f;
+	// c) number of values summarized by equi-height bins (for transformupdate)
+	private long _count = -1;
 
 	public ColumnEncoderBin() {
 		super(-1);
@@ -97,6 +100,21 @@ public class ColumnEncoderBin extends ColumnEncoder {
 		return _binMaxs;
 	}
 
+	public long getCount() {
+		return _count;
+	}
+
+	/**
+	 * Records the number of values the equi-height bins were built from, which is then kept in the metadata in order
+	 * to merge the bins with subsequent batches via buildIncremental. Equi-width bins do not require this count.
+	 * 
+	 * @param count number of values (rows) of the build input
+	 */
+	public void initCount(long count) {
+		if(_binMethod != BinMethod.EQUI_WIDTH)
+			_count = count;
+	}
+
 	public BinMethod getBinMethod() {
 		return _binMethod;
 	}
@@ -364,6 +382,59 @@ public class ColumnEncoderBin extends ColumnEncoder {
 		System.arraycopy(_binMaxs, 0, _binMins, 1, _numBin - 1);
 	}
 
+	/**
+	 * Incremental build over an additional batch of rows, which merges the equi-height bins of the previous batches
+	 * with the values of this batch. The existing bins are treated as a sketch, where every bin represents an equal
+	 * share of the recorded count at its upper boundary. Equi-width bins, and equi-height bins without recorded count
+	 * (e.g., metadata of transformencode), remain unchanged.
+	 * 
+	 * @param in input of the new batch
+	 */
+	public void buildIncremental(CacheBlock<?> in) {
+		if(!isApplicable() || _binMethod == BinMethod.EQUI_WIDTH || _count < 0 || _binMaxs == null)
+			return;
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		double[] sortedCol = prepareDataForEqualHeightBins(in, _colID, 0, -1);
+		if(sortedCol.length > 0)
+			mergeEqualHeightBins(sortedCol);
+		if(DMLScript.STATISTICS)
+			TransformStatistics.incBinningBuildTime(System.nanoTime()-t0);
+	}
+
+	private void mergeEqualHeightBins(double[] sortedCol) {
+		final int n = sortedCol.length;
+		final double w = (double) _count / _numBin;
+		final double total = _count + n;
+		final double min = Math.min(_binMins[0], sortedCol[0]);
+		final double max = Math.max(_binMaxs[_numBin - 1], sortedCol[n - 1]);
+
+		// merge the weighted bin boundaries and new values in sorted order, where the
+		// upper boundary of a bin is the first value reaching its quantile (as in build)
+		double[] binMaxs = new double[_numBin];
+		double cum = 0;
+		int b = 0;
+		for(int i = 0, j = 0; b < _numBin && (i < _numBin || j < n);) {
+			double val;
+			if(j >= n || (i < _numBin && _binMaxs[i] <= sortedCol[j])) {
+				val = _binMaxs[i++];
+				cum += w;
+			}
+			else {
+				val = sortedCol[j++];
+				cum += 1;
+			}
+			for(; b < _numBin && cum >= total * (b + 1) / _numBin; b++)
+				binMaxs[b] = val;
+		}
+		Arrays.fill(binMaxs, b, _numBin, max);
+		binMaxs[_numBin - 1] = max;
+
+		_binMaxs = binMaxs;
+		_binMins[0] = min;
+		System.arraycopy(_binMaxs, 0, _binMins, 1, _numBin - 1);
+		_count += n;
+	}
+
 	public void prepareBuildPartial() {
 		// ensure allocated min/max arrays
 		_colMins = -1f;
@@ -415,13 +486,13 @@ public class ColumnEncoderBin extends ColumnEncoder {
 
 	@Override
 	public void allocateMetaData(FrameBlock meta) {
-		meta.ensureAllocatedColumns(_binMaxs.length);
+		meta.ensureAllocatedColumns(_binMaxs.length + (_count >= 0 ? 1 : 0));
 	}
 
 	@Override
 	public FrameBlock getMetaData(FrameBlock meta) {
 		// allocate frame if necessary
-		meta.ensureAllocatedColumns(_binMaxs.length);
+		meta.ensureAllocatedColumns(_binMaxs.length + (_count >= 0 ? 1 : 0));
 
 		// serialize the internal state into frame meta data
 		meta.getColumnMetadata(_colID - 1).setNumDistinct(_numBin);
@@ -429,6 +500,9 @@ public class ColumnEncoderBin extends ColumnEncoder {
 			String sb = _binMins[i] + Lop.DATATYPE_PREFIX + _binMaxs[i];
 			meta.set(i, _colID - 1, sb);
 		}
+		// recorded count after the bins, which is ignored by apply and decode
+		if(_count >= 0)
+			meta.set(_binMaxs.length, _colID - 1, COUNT_PREFIX + Lop.DATATYPE_PREFIX + _count);
 		return meta;
 	}
 
@@ -445,6 +519,11 @@ public class ColumnEncoderBin extends ColumnEncoder {
 			_binMins[i] = Double.parseDouble(tmp[0]);
 			_binMaxs[i] = Double.parseDouble(tmp[1]);
 		}
+		if(meta.getNumRows() > nbins && meta.get(nbins, _colID - 1) != null) {
+			String[] tmp = meta.get(nbins, _colID - 1).toString().split(Lop.DATATYPE_PREFIX);
+			if(tmp[0].equals(COUNT_PREFIX))
+				_count = Long.parseLong(tmp[1]);
+		}
 	}
 
 	@Override
@@ -36,6 +36,7 @@ import org.apache.commons.lang3.NotImplementedException;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.MappedNativeMatrix;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.DependencyTask;
 import org.apache.sysds.runtime.util.DependencyThreadPool;
@@ -324,6 +325,11 @@ public class ColumnEncoderComposite extends ColumnEncoder {
 			columnEncoder.initEmbeddings(embeddings);
 	}
 
+	public void initEmbeddings(MappedNativeMatrix embeddings){
+		for(ColumnEncoder columnEncoder : _columnEncoders)
+			columnEncoder.initEmbeddings(embeddings);
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
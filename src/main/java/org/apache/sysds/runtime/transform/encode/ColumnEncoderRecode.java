@@ -28,7 +28,6 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.concurrent.Callable;
 
@@ -47,12 +46,12 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 	public static boolean SORT_RECODE_MAP = false;
 
 	// recode maps and custom map for partial recode maps
-	private Map<Object, Long> _rcdMap;
+	private RecodeMap _rcdMap;
 	private HashSet<Object> _rcdMapPart = null;
 
 	public ColumnEncoderRecode(int colID) {
 		super(colID);
-		_rcdMap = new HashMap<>();
+		_rcdMap = new RecodeMap();
 	}
 
 	public ColumnEncoderRecode() {
@@ -61,7 +60,7 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 
 	protected ColumnEncoderRecode(int colID, HashMap<Object, Long> rcdMap) {
 		super(colID);
-		_rcdMap = rcdMap;
+		_rcdMap = new RecodeMap(rcdMap);
 	}
 
 	/**
@@ -76,9 +75,9 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		return constructRecodeMapEntry(token, code, sb);
 	}
 
-	private static String constructRecodeMapEntry(Object token, Long code, StringBuilder sb) {
+	private static String constructRecodeMapEntry(Object token, long code, StringBuilder sb) {
 		sb.setLength(0); // reset reused string builder
-		return sb.append(token).append(Lop.DATATYPE_PREFIX).append(code.longValue()).toString();
+		return sb.append(token).append(Lop.DATATYPE_PREFIX).append(code).toString();
 	}
 
 	/**
@@ -103,30 +102,30 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 	}
 
 	public void sortCPRecodeMaps() {
-		sortCPRecodeMaps(_rcdMap);
+		_rcdMap.sort();
 	}
 
-	private static void sortCPRecodeMaps(Map<Object, Long> map) {
-		Object[] keys = map.keySet().toArray(new Object[0]);
-		Arrays.sort(keys);
-		map.clear();
-		for(Object key : keys)
-			putCode(map, key);
+	private static void makeRcdMap(CacheBlock<?> in, RecodeMap map, int colID, int startRow, int blk) {
+		addRcdTokens(in, map, colID, startRow, blk);
+		if(SORT_RECODE_MAP) {
+			map.sort();
+		}
 	}
 
-	private static void makeRcdMap(CacheBlock<?> in, Map<Object, Long> map, int colID, int startRow, int blk) {
-		for(int row = startRow; row < getEndIndex(in.getNumRows(), startRow, blk); row++){
-			String key = in.getString(row, colID - 1);
-			if(key != null && !key.isEmpty() && !map.containsKey(key))
-				putCode(map, key);
-		}
-		if(SORT_RECODE_MAP) {
-			sortCPRecodeMaps(map);
+	private static void addRcdTokens(CacheBlock<?> in, RecodeMap map, int colID, int startRow, int blk) {
+		final int endRow = getEndIndex(in.getNumRows(), startRow, blk);
+		// probe typed frame columns on primitive values, otherwise on string tokens
+		if(!(in instanceof FrameBlock) || !map.addDistinct(((FrameBlock) in).getColumn(colID - 1), startRow, endRow)) {
+			for(int row = startRow; row < endRow; row++) {
+				String key = in.getString(row, colID - 1);
+				if(key != null && !key.isEmpty())
+					map.add(key);
+			}
 		}
 	}
 
 	private long lookupRCDMap(Object key) {
-		return _rcdMap.getOrDefault(key, -1L);
+		return _rcdMap.getCode(key);
 	}
 
 	public void computeRCDMapSizeEstimate(CacheBlock<?> in, int[] sampleIndices) {
@@ -180,6 +179,22 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		}
 	}
 
+	/**
+	 * Extends the existing recode map with the new tokens of the given input. In contrast to build, the map is never
+	 * re-sorted, i.e., tokens of previous batches keep their codes and new tokens are appended with the next codes.
+	 * 
+	 * @param in input data of the new batch
+	 */
+	public void buildIncremental(CacheBlock<?> in) {
+		if(!isApplicable())
+			return;
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		addRcdTokens(in, _rcdMap, _colID, 0, in.getNumRows());
+		if(DMLScript.STATISTICS){
+			TransformStatistics.incRecodeBuildTime(System.nanoTime() - t0);
+		}
+	}
+
 	@Override
 	public Callable<Object> getBuildTask(CacheBlock<?> in) {
 		return new ColumnRecodeBuildTask(this, in);
@@ -196,16 +211,6 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		return new RecodeMergePartialBuildTask(this, ret);
 	}
 
-	/**
-	 * Put the code into the map with the provided key. The code depends on the type of encoder.
-	 *
-	 * @param map column map
-	 * @param key key for the new entry
-	 */
-	protected static void putCode(Map<Object, Long> map, Object key) {
-		map.put(key, (long) (map.size() + 1));
-	}
-
 	protected double getCode(CacheBlock<?> in, int r){
 		// lookup for a single row
 		Object okey = in.getString(r, _colID - 1);
@@ -220,6 +225,8 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 	protected double[] getCodeCol(CacheBlock<?> in, int startInd, int endInd, double[] tmp) {
 		final int endLength = endInd - startInd;
 		final double[] codes = tmp != null && tmp.length == endLength ? tmp : new double[endLength];
+		if(in instanceof FrameBlock && _rcdMap.getCodes(((FrameBlock) in).getColumn(_colID - 1), startInd, endInd, codes))
+			return codes;
 		for (int i=startInd; i<endInd; i++) {
 			String key = in.getString(i, _colID-1);
 			if(key == null || key.isEmpty()) {
@@ -269,15 +276,9 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		assert other._colID == _colID;
 		// merge together overlapping columns
 		ColumnEncoderRecode otherRec = (ColumnEncoderRecode) other;
-		Map<Object, Long> otherMap = otherRec._rcdMap;
-		if(otherMap != null) {
+		if(otherRec._rcdMap != null) {
 			// for each column, add all non present recode values
-			for(Map.Entry<Object, Long> entry : otherMap.entrySet()) {
-				if(lookupRCDMap(entry.getKey()) == -1) {
-					// key does not yet exist
-					putCode(_rcdMap, entry.getKey());
-				}
-			}
+			_rcdMap.merge(otherRec._rcdMap);
 		}
 	}
 
@@ -303,10 +304,9 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 
 		// create compact meta data representation
 		StringBuilder sb = new StringBuilder(); // for reuse
-		int rowID = 0;
-		for(Entry<Object, Long> e : _rcdMap.entrySet()) {
-			meta.set(rowID++, _colID - 1, // 1-based
-				constructRecodeMapEntry(e.getKey(), e.getValue(), sb));
+		for(int i = 0; i < _rcdMap.size(); i++) {
+			meta.set(i, _colID - 1, // 1-based
+				constructRecodeMapEntry(_rcdMap.getKey(i), _rcdMap.getCodeAt(i), sb));
 		}
 		meta.getColumnMetadata(_colID - 1).setNumDistinct(getNumDistinctValues());
 
@@ -322,7 +322,7 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 	public void initMetaData(FrameBlock meta) {
 		if(meta == null || meta.getNumRows() <= 0)
 			return;
-		_rcdMap = meta.getRecodeMap(_colID - 1); // 1-based
+		_rcdMap = new RecodeMap(meta.getRecodeMap(_colID - 1)); // 1-based
 	}
 
 	@Override
@@ -330,9 +330,9 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		super.writeExternal(out);
 		out.writeInt(_rcdMap.size());
 		
-		for(Entry<Object, Long> e : _rcdMap.entrySet()) {
-			out.writeUTF(e.getKey().toString());
-			out.writeLong(e.getValue());
+		for(int i = 0; i < _rcdMap.size(); i++) {
+			out.writeUTF(_rcdMap.getKey(i).toString());
+			out.writeLong(_rcdMap.getCodeAt(i));
 		}
 	}
 
@@ -429,7 +429,7 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		@Override
 		public Object call() throws Exception {
 			long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
-			HashMap<Object, Long> partialMap = new HashMap<>();
+			RecodeMap partialMap = new RecodeMap();
 			makeRcdMap(_input, partialMap, _colID, _startRow, _blockSize);
 			synchronized(_partialMaps) {
 				_partialMaps.put(_startRow, partialMap);
@@ -459,14 +459,12 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		@Override
 		public Object call() throws Exception {
 			long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
-			Map<Object, Long> rcdMap = _encoder.getRcdMap();
-			_partialMaps.forEach((start_row, map) -> {
-				((HashMap<?, ?>) map).forEach((k, v) -> {
-					if(!rcdMap.containsKey(k))
-						putCode(rcdMap, k);
-				});
-			});
-			_encoder._rcdMap = rcdMap;
+			// merge in row order to obtain the same codes as a single-threaded build
+			RecodeMap rcdMap = _encoder._rcdMap;
+			Integer[] startRows = _partialMaps.keySet().toArray(new Integer[0]);
+			Arrays.sort(startRows);
+			for(Integer startRow : startRows)
+				rcdMap.merge((RecodeMap) _partialMaps.get(startRow));
 			if(DMLScript.STATISTICS){
 				TransformStatistics.incRecodeBuildTime(System.nanoTime() - t0);
 			}
@@ -26,7 +26,9 @@ import java.util.Map;
 
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.MappedNativeMatrix;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
 import java.io.IOException;
@@ -35,8 +37,12 @@ import java.io.ObjectOutput;
 
 public class ColumnEncoderWordEmbedding extends ColumnEncoder {
 	private MatrixBlock _wordEmbeddings;
+	// memory-mapped embeddings shared across encoders, used instead of _wordEmbeddings if available
+	private MappedNativeMatrix _mappedEmbeddings;
 	private Map<Object, Long> _rcdMap;
 	private HashMap<String, double[]> _embMap;
+	// mean-pooling of the embeddings of whitespace-separated tokens per cell
+	private boolean _meanPooling = false;
 
 	public ColumnEncoderWordEmbedding() {
 		super(-1);
@@ -52,14 +58,31 @@ public class ColumnEncoderWordEmbedding extends ColumnEncoder {
 	//domain size is equal to the number columns of the embeddings column thats equal to length of an embedding vector
 	@Override
 	public int getDomainSize(){
-		return _wordEmbeddings.getNumColumns();
+		return (_mappedEmbeddings != null) ? _mappedEmbeddings.getNumColumns() : _wordEmbeddings.getNumColumns();
 	}
 
 	public int getNrDistinctEmbeddings(){
-		return _wordEmbeddings.getNumRows();
+		return (_mappedEmbeddings != null) ? _mappedEmbeddings.getNumRows() : _wordEmbeddings.getNumRows();
 	}
+
+	/**
+	 * Indicates if the output rows reference the shared embedding vectors (deduplicated dense output), which is only
+	 * possible for in-memory embeddings without pooling; otherwise the vectors are gathered into a regular dense
+	 * output.
+	 *
+	 * @return true if the output can be deduplicated
+	 */
+	public boolean isDeduplicated(){
+		return _mappedEmbeddings == null && !_meanPooling;
+	}
+
 	protected ColumnEncoderWordEmbedding(int colID) {
+		this(colID, false);
+	}
+
+	protected ColumnEncoderWordEmbedding(int colID, boolean meanPooling) {
 		super(colID);
+		_meanPooling = meanPooling;
 	}
 
 	@Override
@@ -87,16 +110,75 @@ public class ColumnEncoderWordEmbedding extends ColumnEncoder {
 	@Override
 	public void applyDense(CacheBlock<?> in, MatrixBlock out, int outputCol, int rowStart, int blk){
 		int rowEnd = getEndIndex(in.getNumRows(), rowStart, blk);
-		for(int i=rowStart; i<rowEnd; i++){
-			String key = in.getString(i, _colID-1);
+		if(isDeduplicated()) {
+			for(int i=rowStart; i<rowEnd; i++){
+				String key = in.getString(i, _colID-1);
+				if(key == null || key.isEmpty())
+					continue;
+				double[] embedding = _embMap.get(key);
+				if(embedding != null)
+					out.setRow(i, embedding);
+			}
+			return;
+		}
+
+		// gather the (pooled) embeddings of the row range directly into the dense output
+		final DenseBlock db = out.getDenseBlock();
+		final int len = getDomainSize();
+		for(int i = rowStart; i < rowEnd; i++) {
+			String key = in.getString(i, _colID - 1);
 			if(key == null || key.isEmpty())
 				continue;
-			double[] embedding = _embMap.get(key);
-			if(embedding != null)
-				out.setRow(i, embedding);
+			final double[] vals = db.values(i);
+			final int pos = db.pos(i) + outputCol;
+			if(_meanPooling)
+				applyMeanPooling(key, vals, pos, len);
+			else
+				addEmbedding(key, vals, pos, true);
 		}
 	}
 
+	private void applyMeanPooling(String text, double[] vals, int pos, int len) {
+		int cnt = 0;
+		int start = 0;
+		final int n = text.length();
+		for(int i = 0; i <= n; i++) {
+			if(i < n && !Character.isWhitespace(text.charAt(i)))
+				continue;
+			if(i > start && addEmbedding(text.substring(start, i), vals, pos, false))
+				cnt++;
+			start = i + 1;
+		}
+		if(cnt > 1) {
+			final double scale = 1.0 / cnt;
+			for(int j = pos; j < pos + len; j++)
+				vals[j] *= scale;
+		}
+	}
+
+	private boolean addEmbedding(String token, double[] vals, int pos, boolean overwrite) {
+		if(_mappedEmbeddings != null) {
+			final Long r = _rcdMap.get(token);
+			if(r == null)
+				return false;
+			if(overwrite)
+				_mappedEmbeddings.getRow((int) (r - 1), vals, pos);
+			else
+				_mappedEmbeddings.addRow((int) (r - 1), vals, pos);
+		}
+		else {
+			final double[] embedding = _embMap.get(token);
+			if(embedding == null)
+				return false;
+			if(overwrite)
+				System.arraycopy(embedding, 0, vals, pos, embedding.length);
+			else
+				for(int j = 0; j < embedding.length; j++)
+					vals[pos + j] += embedding[j];
+		}
+		return true;
+	}
+
 
 	@Override
 	protected TransformType getTransformType() {
@@ -133,6 +215,13 @@ public class ColumnEncoderWordEmbedding extends ColumnEncoder {
 		_rcdMap.forEach((word, index) -> _embMap.put((String) word, getEmbeddedingFromEmbeddingMatrix(index - 1)));
 	}
 
+	//save mapped embeddings reference for apply step, without materializing the vectors
+	@Override
+	public void initEmbeddings(MappedNativeMatrix embeddings){
+		this._mappedEmbeddings = embeddings;
+		this._embMap = null;
+	}
+
 	@Override
 	public void writeExternal(ObjectOutput out) throws IOException {
 		super.writeExternal(out);
@@ -142,7 +231,13 @@ public class ColumnEncoderWordEmbedding extends ColumnEncoder {
 			out.writeUTF(e.getKey().toString());
 			out.writeLong(e.getValue());
 		}
-		_wordEmbeddings.write(out);
+		out.writeBoolean(_meanPooling);
+		// mapped embeddings are re-opened from the canonical path of the local file instead of being serialized
+		out.writeBoolean(_mappedEmbeddings != null);
+		if(_mappedEmbeddings != null)
+			out.writeUTF(_mappedEmbeddings.getFileName());
+		else
+			_wordEmbeddings.write(out);
 	}
 
 	@Override
@@ -154,7 +249,12 @@ public class ColumnEncoderWordEmbedding extends ColumnEncoder {
 			Long value = in.readLong();
 			_rcdMap.put(key, value);
 		}
-		_wordEmbeddings.readExternal(in);
-		initEmbeddings(_wordEmbeddings);
+		_meanPooling = in.readBoolean();
+		if(in.readBoolean())
+			initEmbeddings(MappedNativeMatrix.get(in.readUTF()));
+		else {
+			_wordEmbeddings.readExternal(in);
+			initEmbeddings(_wordEmbeddings);
+		}
 	}
 }
@@ -37,6 +37,7 @@ import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.MappedNativeMatrix;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.transform.TfUtils.TfMethod;
 import org.apache.sysds.runtime.transform.encode.ColumnEncoder.EncoderType;
@@ -118,8 +119,10 @@ public interface EncoderFactory {
 			List<Integer> weIDs = Arrays.asList(ArrayUtils
 					.toObject(TfMetaUtils.parseJsonIDList(jSpec, colnames, TfMethod.WORD_EMBEDDING.toString(), minCol, maxCol)));
 
-			//check if user passed an embeddings matrix
-			if(!weIDs.isEmpty() && embeddings == null)
+			//check if user passed an embeddings matrix or a file of memory-mapped embeddings
+			String embeddingFile = TfMetaUtils.getEmbeddingFile(jSpec);
+			boolean meanPooling = TfMetaUtils.isEmbeddingMeanPooling(jSpec);
+			if(!weIDs.isEmpty() && embeddings == null && embeddingFile == null)
 				throw new DMLRuntimeException("Missing argument Embeddings Matrix for transform [" + TfMethod.WORD_EMBEDDING + "]");
 
 			// NOTE: any dummycode column requires recode as preparation, unless the dummycode
@@ -152,7 +155,7 @@ public interface EncoderFactory {
 					addEncoderToMap(new ColumnEncoderPassThrough(id), colEncoders);
 			if(!weIDs.isEmpty())
 				for(Integer id : weIDs)
-					addEncoderToMap(new ColumnEncoderWordEmbedding(id), colEncoders);
+					addEncoderToMap(new ColumnEncoderWordEmbedding(id, meanPooling), colEncoders);
 			if(!binIDs.isEmpty())
 				for(Object o : (JSONArray) jSpec.get(TfMethod.BIN.toString())) {
 					JSONObject colspec = (JSONObject) o;
@@ -226,8 +229,11 @@ public interface EncoderFactory {
 				encoder.initMetaData(meta);
 			}
 			//initialize embeddings matrix block in the encoders in case word embedding transform is used
-			if(!weIDs.isEmpty())
+			//(a given embeddings matrix takes precedence over the shared memory-mapped embeddings)
+			if(!weIDs.isEmpty() && embeddings != null)
 				encoder.initEmbeddings(embeddings);
+			else if(!weIDs.isEmpty())
+				encoder.initEmbeddings(MappedNativeMatrix.get(embeddingFile));
 		}
 		catch(Exception ex) {
 			throw new DMLRuntimeException(ex);
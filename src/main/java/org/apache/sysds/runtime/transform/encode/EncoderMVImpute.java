@@ -180,19 +180,7 @@ public class EncoderMVImpute extends LegacyEncoder {
 			for(int j = 0; j < _colList.length; j++) {
 				int colID = _colList[j];
 				if(_mvMethodList[j] == MVMethod.GLOBAL_MEAN) {
-					// compute global column mean (scale)
-					long off = _countList[j];
-					for(int i = 0; i < in.getNumRows(); i++) {
-						Object key = in.get(i, colID - 1);
-						if(key == null) {
-							off--;
-							continue;
-						}
-						_meanFn.execute2(_meanList[j],
-							UtilFunctions.objectToDouble(in.getSchema()[colID - 1], key),
-							off + i + 1);
-					}
-					_replacementList[j] = String.valueOf(_meanList[j]._sum);
+					buildMean(in, j);
 					_countList[j] += in.getNumRows();
 				}
 				else if(_mvMethodList[j] == MVMethod.GLOBAL_MODE) {
@@ -222,6 +210,49 @@ public class EncoderMVImpute extends LegacyEncoder {
 			TransformStatistics.incImputeBuildTime(System.nanoTime()-t0);
 	}
 
+	/**
+	 * Incremental build over an additional batch of rows, which continues the aggregation of global means whose
+	 * running mean and non-missing count have been restored via initMean. In contrast to build, the counts of these
+	 * columns only include non-missing values. All other replacements (modes, constants, and means of unknown count)
+	 * remain unchanged because the metadata does not carry their histograms.
+	 * 
+	 * @param in input frame of the new batch
+	 */
+	public void buildIncremental(FrameBlock in) {
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		for(int j = 0; j < _colList.length; j++)
+			if(_mvMethodList[j] == MVMethod.GLOBAL_MEAN && _countList[j] > 0)
+				_countList[j] += buildMean(in, j);
+		if(DMLScript.STATISTICS)
+			TransformStatistics.incImputeBuildTime(System.nanoTime()-t0);
+	}
+
+	/**
+	 * Continues the global mean of the given column over the rows of the input frame, where the count of previous
+	 * values is taken from the count list but not updated.
+	 * 
+	 * @param in input frame
+	 * @param j  column index in the column list
+	 * @return number of non-missing values in the input frame
+	 */
+	private long buildMean(FrameBlock in, int j) {
+		// compute global column mean (scale)
+		int colID = _colList[j];
+		long off = _countList[j];
+		for(int i = 0; i < in.getNumRows(); i++) {
+			Object key = in.get(i, colID - 1);
+			if(key == null) {
+				off--;
+				continue;
+			}
+			_meanFn.execute2(_meanList[j],
+				UtilFunctions.objectToDouble(in.getSchema()[colID - 1], key),
+				off + i + 1);
+		}
+		_replacementList[j] = String.valueOf(_meanList[j]._sum);
+		return off - _countList[j] + in.getNumRows();
+	}
+
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
 		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
@@ -337,6 +368,22 @@ public class EncoderMVImpute extends LegacyEncoder {
 		}
 	}
 
+	/**
+	 * Restores the running mean of a mean-imputed column from the replacement value of initMetaData and the given
+	 * number of non-missing values (as recorded by transformupdate), in order to continue the aggregation with
+	 * additional rows via buildIncremental.
+	 * 
+	 * @param colID column ID
+	 * @param count number of non-missing values aggregated so far
+	 */
+	public void initMean(int colID, long count) {
+		int idx = isApplicable(colID);
+		if(idx == -1 || _mvMethodList[idx] != MVMethod.GLOBAL_MEAN || count <= 0)
+			return;
+		_meanList[idx] = new KahanObject(Double.parseDouble(_replacementList[idx]), 0);
+		_countList[idx] = count;
+	}
+
 	public void initRecodeIDList(List<Integer> rcList) {
 		_rcList = rcList;
 	}
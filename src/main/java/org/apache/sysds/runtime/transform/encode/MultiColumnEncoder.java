@@ -55,7 +55,9 @@ import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
 import org.apache.sysds.runtime.data.SparseRowVector;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.MappedNativeMatrix;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.transform.encode.EncoderMVImpute.MVMethod;
 import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.DependencyTask;
 import org.apache.sysds.runtime.util.DependencyThreadPool;
@@ -149,6 +151,100 @@ public class MultiColumnEncoder implements Encoder {
 		}
 	}
 
+	/**
+	 * Incrementally builds this encoder over an additional batch of rows and applies it to this batch
+	 * (transformupdate := incremental build + apply). The encoder is expected to be initialized with the metadata of
+	 * the previous batches, or without metadata for the first batch. Recode maps are extended with new tokens while
+	 * existing tokens keep their codes, which in turn extends the domains of dummycoded columns. If the metadata was
+	 * created by transformupdate, global means of missing value imputation are continued (with the number of
+	 * non-missing values recorded as #distinct of mean-imputed pass-through columns), and equi-height bins are merged
+	 * with the new batch (with the number of summarized values recorded after the bin boundaries). Equi-width bins,
+	 * feature hashing, and the remaining imputation replacements stay fixed, because their sketches are not part of
+	 * the metadata. The updated metadata is subsequently available via getMetaData.
+	 * 
+	 * @param in   input frame of the new batch
+	 * @param meta metadata of the previous batches, or null for the first batch
+	 * @param k    degree of parallelism
+	 * @return encoded batch
+	 */
+	public MatrixBlock update(FrameBlock in, FrameBlock meta, int k) {
+		// first batch, equivalent to encode but with recorded counts for subsequent updates
+		if(meta == null || meta.getNumRows() == 0) {
+			MatrixBlock ret = encode(in, k);
+			for(ColumnEncoderBin e : getColumnEncoders(ColumnEncoderBin.class))
+				e.initCount(in.getNumRows());
+			_meta = null; // recompute with the recorded bin counts
+			_meta = getMetaData(new FrameBlock(in.getNumColumns(), ValueType.STRING), k);
+			if(_legacyMVImpute != null)
+				for(int colID : getMeanImputedPassThroughColumns())
+					_meta.getColumnMetadata(colID - 1).setNumDistinct(countNonMissing(in, colID));
+			return ret;
+		}
+
+		try {
+			// restore running means from the non-missing counts of the metadata
+			if(_legacyMVImpute != null)
+				for(int colID : getMeanImputedPassThroughColumns())
+					_legacyMVImpute.initMean(colID, meta.getColumnMetadata(colID - 1).getNumDistinct());
+
+			// extend recode maps, and domains of dummycoded columns
+			List<ColumnEncoderRecode> recoders = getColumnEncoders(ColumnEncoderRecode.class);
+			if(k > 1 && recoders.size() > 1) {
+				ExecutorService pool = CommonThreadPool.get(k);
+				try {
+					List<Future<?>> tasks = new ArrayList<>();
+					for(ColumnEncoderRecode e : recoders)
+						tasks.add(pool.submit(() -> e.buildIncremental(in)));
+					for(Future<?> task : tasks)
+						task.get();
+				}
+				finally {
+					pool.shutdown();
+				}
+			}
+			else {
+				for(ColumnEncoderRecode e : recoders)
+					e.buildIncremental(in);
+			}
+			updateAllDCEncoders();
+
+			// merge equi-height bins with recorded counts
+			for(ColumnEncoderBin e : getColumnEncoders(ColumnEncoderBin.class))
+				e.buildIncremental(in);
+
+			if(_legacyMVImpute != null) {
+				_legacyMVImpute.buildIncremental(in);
+				// replacements of recoded columns are already codes and remain unchanged,
+				// hence we keep the original tokens in the metadata
+				_meta = getMetaData(new FrameBlock(in.getNumColumns(), ValueType.STRING));
+				for(int colID : _legacyMVImpute.getColList())
+					if(containsEncoderForID(colID, ColumnEncoderRecode.class))
+						_meta.getColumnMetadata(colID - 1).setMvValue(meta.getColumnMetadata(colID - 1).getMvValue());
+				for(int colID : getMeanImputedPassThroughColumns())
+					_meta.getColumnMetadata(colID - 1).setNumDistinct(_legacyMVImpute.getNonMVCount(colID));
+			}
+			return apply(in, k);
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException("Failed transform-update frame with encoder:\n" + this, ex);
+		}
+	}
+
+	private List<Integer> getMeanImputedPassThroughColumns() {
+		List<Integer> ret = new ArrayList<>();
+		for(int colID : _legacyMVImpute.getColList())
+			if(_legacyMVImpute.getMethod(colID) == MVMethod.GLOBAL_MEAN && isPassThroughColumn(colID))
+				ret.add(colID);
+		return ret;
+	}
+
+	private static long countNonMissing(FrameBlock in, int colID) {
+		long cnt = 0;
+		for(int i = 0; i < in.getNumRows(); i++)
+			cnt += (in.get(i, colID - 1) != null) ? 1 : 0;
+		return cnt;
+	}
+
 	protected List<ColumnEncoderComposite> getEncoders() {
 		return _columnEncoders;
 	}
@@ -327,6 +423,13 @@ public class MultiColumnEncoder implements Encoder {
 		long estNNz = (long) in.getNumRows() * (hasUDF ? numCols : hasWE ? getEstNNzRow() : in.getNumColumns());
 		// FIXME: estimate nnz for multiple encoders including dummycode and embedding
 		boolean sparse = MatrixBlock.evalSparseFormatInMemory(in.getNumRows(), numCols, estNNz) && !hasUDF;
+		if(ConfigurationManager.isCodegenTransformApply() && in instanceof FrameBlock && in.getNumRows() > 0
+			&& (sparse || (long) in.getNumRows() * numCols < Integer.MAX_VALUE)) {
+			// fused apply via generated kernel, if all encoders are supported
+			TransformApplyKernel kernel = TransformApplyCodegen.getKernel(this, in.getNumColumns());
+			if(kernel != null)
+				return kernel.apply((FrameBlock) in, sparse, k);
+		}
 		MatrixBlock out = new MatrixBlock(in.getNumRows(), numCols, sparse, estNNz);
 		return apply(in, out, 0, k);
 	}
@@ -360,7 +463,8 @@ public class MultiColumnEncoder implements Encoder {
 		for(ColumnEncoderComposite columnEncoder : _columnEncoders) {
 			hasDC |= columnEncoder.hasEncoder(ColumnEncoderDummycode.class);
 			for (ColumnEncoder enc : columnEncoder.getEncoders())
-				if(enc instanceof ColumnEncoderWordEmbedding){
+				// mapped or pooled embeddings are gathered into a regular dense output
+				if(enc instanceof ColumnEncoderWordEmbedding && ((ColumnEncoderWordEmbedding) enc).isDeduplicated()){
 					hasWE = true;
 					distinctWE = ((ColumnEncoderWordEmbedding) enc).getNrDistinctEmbeddings();
 					sizeWE = ((ColumnEncoderWordEmbedding) enc).getDomainSize();
@@ -755,6 +859,11 @@ public class MultiColumnEncoder implements Encoder {
 			columnEncoder.initEmbeddings(embeddings);
 	}
 
+	public void initEmbeddings(MappedNativeMatrix embeddings) {
+		for(ColumnEncoder columnEncoder : _columnEncoders)
+			columnEncoder.initEmbeddings(embeddings);
+	}
+
 	@Override
 	public void prepareBuildPartial() {
 		for(Encoder encoder : _columnEncoders)
@@ -937,6 +1046,10 @@ public class MultiColumnEncoder implements Encoder {
 		return dc.stream().map(ColumnEncoderDummycode::getDomainSize).mapToInt(i -> i).sum() - dc.size();
 	}
 
+	private boolean isPassThroughColumn(int colID) {
+		return getEncoderTypes(colID).stream().allMatch(type -> type == ColumnEncoderPassThrough.class);
+	}
+
 	public <T extends ColumnEncoder> boolean containsEncoderForID(int colID, Class<T> type) {
 		return getColumnEncoders(type).stream().anyMatch(encoder -> encoder.getColID() == colID);
 	}
@@ -1169,7 +1282,8 @@ public class MultiColumnEncoder implements Encoder {
 			int distinctWE = 0;
 			int sizeWE = 0;
 			for (ColumnEncoder enc : _encoder.getEncoders())
-				if(enc instanceof ColumnEncoderWordEmbedding){
+				// mapped or pooled embeddings are gathered into a regular dense output
+				if(enc instanceof ColumnEncoderWordEmbedding && ((ColumnEncoderWordEmbedding) enc).isDeduplicated()){
 					hasWE = true;
 					distinctWE = ((ColumnEncoderWordEmbedding) enc).getNrDistinctEmbeddings();
 					sizeWE = ((ColumnEncoderWordEmbedding) enc).getDomainSize();
@@ -0,0 +1,487 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.transform.encode;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.DoubleArray;
+import org.apache.sysds.runtime.frame.data.columns.IntegerArray;
+import org.apache.sysds.runtime.frame.data.columns.LongArray;
+import org.apache.sysds.runtime.frame.data.columns.StringArray;
+
+/**
+ * Recode dictionary of tokens and codes, implemented as an open-addressing hash table over insertion-ordered entry
+ * arrays. In contrast to a HashMap, lookups and insertions do not allocate entry objects or boxed codes, and the hash
+ * of every key is cached, so that resizing and merging partial dictionaries never recompute key hashes.
+ * 
+ * Integer and floating point frame columns are deduplicated and probed on their primitive values, which avoids the
+ * conversion of every cell into a string token. String keys are only materialized once per distinct value, in the
+ * same representation as {@code FrameBlock.getString}.
+ */
+public class RecodeMap extends AbstractMap<Object, Long> {
+	private static final int MIN_CAPACITY = 16;
+
+	private Object[] _keys; // keys in insertion order
+	private int[] _hashes; // cached hashes of keys
+	private long[] _codes; // codes of keys
+	private int[] _table; // hash slots of entry index + 1, 0 if empty
+	private int _size;
+	private long _maxCode; // largest assigned code
+
+	// lazily constructed primitive lookups for typed columns
+	private LongCodeIndex _intIndex;
+	private LongCodeIndex _fpIndex;
+
+	public RecodeMap() {
+		this(MIN_CAPACITY);
+	}
+
+	public RecodeMap(int expectedSize) {
+		allocate(expectedSize);
+	}
+
+	public RecodeMap(Map<?, Long> map) {
+		this(map.size());
+		for(Entry<?, Long> e : map.entrySet())
+			put(e.getKey(), e.getValue());
+	}
+
+	/**
+	 * Get the code of the given key.
+	 * 
+	 * @param key The key
+	 * @return The code or -1 if the key does not exist
+	 */
+	public long getCode(Object key) {
+		if(key == null)
+			return -1;
+		final int ix = find(key, hash(key));
+		return ix < 0 ? -1 : _codes[ix];
+	}
+
+	/**
+	 * Add the given key with the next code (largest existing code + 1) if it does not exist yet. Codes of existing
+	 * keys are never changed, which allows extending dictionaries restored from metadata with stable codes.
+	 * 
+	 * @param key The key
+	 * @return The code of the key
+	 */
+	public long add(Object key) {
+		return add(key, hash(key));
+	}
+
+	/**
+	 * Add all keys of the other dictionary that do not exist yet, in the insertion order of the other dictionary and
+	 * without recomputing any key hashes.
+	 * 
+	 * @param that The other dictionary
+	 */
+	public void merge(RecodeMap that) {
+		for(int i = 0; i < that._size; i++)
+			add(that._keys[i], that._hashes[i]);
+	}
+
+	/**
+	 * Add the distinct non-empty values of the row range of a frame column in order of first occurrence.
+	 * 
+	 * @param a  The frame column
+	 * @param rl The row start (inclusive)
+	 * @param ru The row end (exclusive)
+	 * @return True if the column type is supported, otherwise nothing is added
+	 */
+	public boolean addDistinct(Array<?> a, int rl, int ru) {
+		if(a instanceof StringArray) {
+			final String[] data = ((StringArray) a).get();
+			for(int i = rl; i < ru; i++)
+				if(data[i] != null && !data[i].isEmpty())
+					add(data[i]);
+		}
+		else if(a instanceof IntegerArray) {
+			final int[] data = ((IntegerArray) a).get();
+			final LongCodeIndex seen = new LongCodeIndex(Math.min(ru - rl, 1024));
+			for(int i = rl; i < ru; i++)
+				if(seen.putIfAbsent(data[i], 1))
+					add(Integer.toString(data[i]));
+		}
+		else if(a instanceof LongArray) {
+			final long[] data = ((LongArray) a).get();
+			final LongCodeIndex seen = new LongCodeIndex(Math.min(ru - rl, 1024));
+			for(int i = rl; i < ru; i++)
+				if(seen.putIfAbsent(data[i], 1))
+					add(Long.toString(data[i]));
+		}
+		else if(a instanceof DoubleArray) {
+			final double[] data = ((DoubleArray) a).get();
+			final LongCodeIndex seen = new LongCodeIndex(Math.min(ru - rl, 1024));
+			for(int i = rl; i < ru; i++)
+				if(seen.putIfAbsent(Double.doubleToLongBits(data[i]), 1))
+					add(Double.toString(data[i]));
+		}
+		else
+			return false;
+		return true;
+	}
+
+	/**
+	 * Look up the codes of the row range of a frame column, with NaN for empty or unknown values.
+	 * 
+	 * @param a   The frame column
+	 * @param rl  The row start (inclusive)
+	 * @param ru  The row end (exclusive)
+	 * @param ret The output codes, starting at offset 0
+	 * @return True if the column type is supported, otherwise the output is not modified
+	 */
+	public boolean getCodes(Array<?> a, int rl, int ru, double[] ret) {
+		if(a instanceof StringArray) {
+			final String[] data = ((StringArray) a).get();
+			for(int i = rl; i < ru; i++) {
+				final String key = data[i];
+				final long code = (key == null || key.isEmpty()) ? -1 : getCode(key);
+				ret[i - rl] = (code < 0) ? Double.NaN : code;
+			}
+		}
+		else if(a instanceof IntegerArray) {
+			final int[] data = ((IntegerArray) a).get();
+			final LongCodeIndex ix = getIntIndex();
+			for(int i = rl; i < ru; i++)
+				ret[i - rl] = ix.get(data[i]);
+		}
+		else if(a instanceof LongArray) {
+			final long[] data = ((LongArray) a).get();
+			final LongCodeIndex ix = getIntIndex();
+			for(int i = rl; i < ru; i++)
+				ret[i - rl] = ix.get(data[i]);
+		}
+		else if(a instanceof DoubleArray) {
+			final double[] data = ((DoubleArray) a).get();
+			final LongCodeIndex ix = getFpIndex();
+			for(int i = rl; i < ru; i++)
+				ret[i - rl] = ix.get(Double.doubleToLongBits(data[i]));
+		}
+		else
+			return false;
+		return true;
+	}
+
+	/**
+	 * Get the key of the i-th entry in insertion order.
+	 * 
+	 * @param i The entry index
+	 * @return The key
+	 */
+	public Object getKey(int i) {
+		return _keys[i];
+	}
+
+	/**
+	 * Get the code of the i-th entry in insertion order.
+	 * 
+	 * @param i The entry index
+	 * @return The code
+	 */
+	public long getCodeAt(int i) {
+		return _codes[i];
+	}
+
+	/**
+	 * Sort the keys and reassign the codes 1 to n in sorted order.
+	 */
+	public void sort() {
+		final Object[] keys = Arrays.copyOf(_keys, _size);
+		Arrays.sort(keys);
+		allocate(_size);
+		for(Object key : keys)
+			add(key);
+	}
+
+	@Override
+	public int size() {
+		return _size;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return getCode(key) >= 0;
+	}
+
+	@Override
+	public Long get(Object key) {
+		final long code = getCode(key);
+		return code < 0 ? null : code;
+	}
+
+	@Override
+	public Long put(Object key, Long code) {
+		final int h = hash(key);
+		final int ix = find(key, h);
+		if(ix >= 0) {
+			final long old = _codes[ix];
+			_codes[ix] = code;
+			invalidateIndexes();
+			return old;
+		}
+		append(key, h, code);
+		return null;
+	}
+
+	@Override
+	public void clear() {
+		allocate(MIN_CAPACITY);
+	}
+
+	@Override
+	public Set<Entry<Object, Long>> entrySet() {
+		return new AbstractSet<Entry<Object, Long>>() {
+			@Override
+			public Iterator<Entry<Object, Long>> iterator() {
+				return new Iterator<Entry<Object, Long>>() {
+					private int _pos = 0;
+
+					@Override
+					public boolean hasNext() {
+						return _pos < _size;
+					}
+
+					@Override
+					public Entry<Object, Long> next() {
+						if(_pos >= _size)
+							throw new NoSuchElementException();
+						final int i = _pos++;
+						return new SimpleImmutableEntry<>(_keys[i], _codes[i]);
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return _size;
+			}
+		};
+	}
+
+	private long add(Object key, int h) {
+		final int ix = find(key, h);
+		if(ix >= 0)
+			return _codes[ix];
+		final long code = _maxCode + 1;
+		append(key, h, code);
+		return code;
+	}
+
+	private int find(Object key, int h) {
+		final int mask = _table.length - 1;
+		for(int s = h & mask;; s = (s + 1) & mask) {
+			final int e = _table[s] - 1;
+			if(e < 0)
+				return -1;
+			else if(_hashes[e] == h && _keys[e].equals(key))
+				return e;
+		}
+	}
+
+	private void append(Object key, int h, long code) {
+		if(_size == _keys.length) {
+			final int len = _keys.length * 2;
+			_keys = Arrays.copyOf(_keys, len);
+			_hashes = Arrays.copyOf(_hashes, len);
+			_codes = Arrays.copyOf(_codes, len);
+		}
+		if((_size + 1) * 4L > _table.length * 3L)
+			rehash(_table.length * 2);
+		_keys[_size] = key;
+		_hashes[_size] = h;
+		_codes[_size] = code;
+		_maxCode = Math.max(_maxCode, code);
+		insertSlot(h, ++_size);
+		invalidateIndexes();
+	}
+
+	private void rehash(int capacity) {
+		_table = new int[capacity];
+		for(int i = 0; i < _size; i++)
+			insertSlot(_hashes[i], i + 1);
+	}
+
+	private void insertSlot(int h, int entry) {
+		final int mask = _table.length - 1;
+		int s = h & mask;
+		while(_table[s] != 0)
+			s = (s + 1) & mask;
+		_table[s] = entry;
+	}
+
+	private void allocate(int expectedSize) {
+		final int len = Math.max(expectedSize, MIN_CAPACITY);
+		_keys = new Object[len];
+		_hashes = new int[len];
+		_codes = new long[len];
+		_table = new int[tableSize(len)];
+		_size = 0;
+		_maxCode = 0;
+		invalidateIndexes();
+	}
+
+	private void invalidateIndexes() {
+		_intIndex = null;
+		_fpIndex = null;
+	}
+
+	private synchronized LongCodeIndex getIntIndex() {
+		if(_intIndex == null) {
+			final LongCodeIndex ix = new LongCodeIndex(_size);
+			for(int i = 0; i < _size; i++) {
+				final String key = _keys[i].toString();
+				if(isIntegerToken(key)) {
+					try {
+						final long v = Long.parseLong(key);
+						if(Long.toString(v).equals(key))
+							ix.putIfAbsent(v, _codes[i]);
+					}
+					catch(NumberFormatException ex) {
+						// out of range, never matches a long value
+					}
+				}
+			}
+			_intIndex = ix;
+		}
+		return _intIndex;
+	}
+
+	private synchronized LongCodeIndex getFpIndex() {
+		if(_fpIndex == null) {
+			final LongCodeIndex ix = new LongCodeIndex(_size);
+			for(int i = 0; i < _size; i++) {
+				final String key = _keys[i].toString();
+				if(isDoubleToken(key)) {
+					try {
+						final double v = Double.parseDouble(key);
+						if(Double.toString(v).equals(key))
+							ix.putIfAbsent(Double.doubleToLongBits(v), _codes[i]);
+					}
+					catch(NumberFormatException ex) {
+						// not a canonical double token, never matches a double value
+					}
+				}
+			}
+			_fpIndex = ix;
+		}
+		return _fpIndex;
+	}
+
+	private static boolean isIntegerToken(String s) {
+		final int len = s.length();
+		if(len == 0 || len > 20)
+			return false;
+		for(int i = (s.charAt(0) == '-') ? 1 : 0; i < len; i++)
+			if(s.charAt(i) < '0' || s.charAt(i) > '9')
+				return false;
+		return true;
+	}
+
+	private static boolean isDoubleToken(String s) {
+		if(s.isEmpty())
+			return false;
+		final char c = s.charAt(0);
+		return (c >= '0' && c <= '9') || c == '-' || c == 'N' || c == 'I';
+	}
+
+	private static int hash(Object key) {
+		final int h = key.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private static int tableSize(int n) {
+		// power of two with a load factor of at most 0.5 after allocation
+		return Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(n, 1) * 2 - 1) << 1);
+	}
+
+	/**
+	 * Open-addressing hash table of primitive long keys and codes, used for the deduplication and lookup of integer
+	 * and floating point (raw bits) column values.
+	 */
+	private static class LongCodeIndex {
+		private long[] _keys;
+		private long[] _vals;
+		private boolean[] _used;
+		private int _size;
+
+		private LongCodeIndex(int expectedSize) {
+			final int len = tableSize(expectedSize);
+			_keys = new long[len];
+			_vals = new long[len];
+			_used = new boolean[len];
+		}
+
+		private double get(long key) {
+			final int mask = _keys.length - 1;
+			for(int s = hash(key) & mask; _used[s]; s = (s + 1) & mask)
+				if(_keys[s] == key)
+					return _vals[s];
+			return Double.NaN;
+		}
+
+		private boolean putIfAbsent(long key, long val) {
+			final int mask = _keys.length - 1;
+			int s = hash(key) & mask;
+			for(; _used[s]; s = (s + 1) & mask)
+				if(_keys[s] == key)
+					return false;
+			_keys[s] = key;
+			_vals[s] = val;
+			_used[s] = true;
+			if(++_size * 2 > _keys.length)
+				resize();
+			return true;
+		}
+
+		private void resize() {
+			final long[] keys = _keys;
+			final long[] vals = _vals;
+			final boolean[] used = _used;
+			_keys = new long[keys.length * 2];
+			_vals = new long[keys.length * 2];
+			_used = new boolean[keys.length * 2];
+			final int mask = _keys.length - 1;
+			for(int i = 0; i < keys.length; i++) {
+				if(used[i]) {
+					int s = hash(keys[i]) & mask;
+					while(_used[s])
+						s = (s + 1) & mask;
+					_keys[s] = keys[i];
+					_vals[s] = vals[i];
+					_used[s] = true;
+				}
+			}
+		}
+
+		private static int hash(long key) {
+			final long h = key * 0x9E3779B97F4A7C15L;
+			return (int) (h ^ (h >>> 32));
+		}
+	}
+}
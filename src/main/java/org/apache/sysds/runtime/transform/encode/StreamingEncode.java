@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.transform.encode;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.FrameChunkIterator;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.io.WriterTextCSV;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.HDFSTool;
+
+/**
+ * Streaming transform apply, which encodes a sequence of frame chunks with a single encoder (created from the given
+ * transform meta data) and incrementally appends the encoded rows to a csv output file. Reading the next chunk is
+ * overlapped with encoding and writing the current chunk, and at most two chunks are held in memory at a time.
+ */
+public class StreamingEncode {
+	protected static final Log LOG = LogFactory.getLog(StreamingEncode.class.getName());
+
+	/** Default number of rows per input chunk */
+	public static final int DEFAULT_CHUNK_ROWS = 65536;
+
+	private StreamingEncode() {
+		// private constructor for code coverage.
+	}
+
+	/**
+	 * Encodes all chunks of the given iterator and writes the result as csv matrix incl. meta data file.
+	 * 
+	 * @param in         iterator over input frame chunks (closed by the caller)
+	 * @param spec       transform specification
+	 * @param meta       transform meta data
+	 * @param embeddings optional word embeddings, or null
+	 * @param fname      output file name
+	 * @param props      csv properties of the output
+	 * @param k          parallelism for encoding individual chunks
+	 * @return number of encoded output rows
+	 * @throws IOException if reading or writing fails
+	 */
+	public static long encode(FrameChunkIterator in, String spec, FrameBlock meta, MatrixBlock embeddings,
+		String fname, FileFormatPropertiesCSV props, int k) throws IOException {
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, ConfigurationManager.getCachedJobConf());
+		FileFormatPropertiesCSV propsNoHeader = new FileFormatPropertiesCSV(false, props.getDelim(), props.isSparse());
+
+		ExecutorService pool = CommonThreadPool.getDynamicPool();
+		BufferedWriter br = new BufferedWriter(new OutputStreamWriter(fs.create(path, true)));
+		long nrow = 0, nnz = 0;
+		int ncol = 0;
+		Future<FrameBlock> next = null;
+		try {
+			MultiColumnEncoder encoder = null;
+			next = pool.submit(() -> nextChunk(in));
+			FrameBlock chunk;
+			while((chunk = next.get()) != null) {
+				// prefetch the next chunk while encoding and writing the current one
+				next = pool.submit(() -> nextChunk(in));
+				if(encoder == null)
+					encoder = EncoderFactory.createEncoder(spec, chunk.getColumnNames(), chunk.getNumColumns(), meta,
+						embeddings);
+				MatrixBlock mb = encoder.apply(chunk, k);
+				if(mb instanceof CompressedMatrixBlock)
+					mb = CompressedMatrixBlock.getUncompressed(mb, "streaming transform apply", k);
+				WriterTextCSV.writeCSVMatrixToWriter(br, mb, 0, mb.getNumRows(), nrow == 0 ? props : propsNoHeader);
+				nrow += mb.getNumRows();
+				nnz += mb.getNonZeros();
+				ncol = mb.getNumColumns();
+			}
+		}
+		catch(InterruptedException | ExecutionException e) {
+			throw new DMLRuntimeException("Failed streaming transform apply.", e);
+		}
+		finally {
+			// wait for a pending prefetch before the caller closes the iterator
+			waitSilently(next);
+			IOUtilFunctions.closeSilently(br);
+		}
+		LOG.debug("Streaming transform apply encoded " + in.getNumRowsRead() + " rows into " + nrow + " rows.");
+
+		HDFSTool.writeMetaDataFile(fname + ".mtd", ValueType.FP64,
+			new MatrixCharacteristics(nrow, ncol, -1, nnz), FileFormat.CSV, props);
+		return nrow;
+	}
+
+	private static FrameBlock nextChunk(FrameChunkIterator in) {
+		return in.hasNext() ? in.next() : null;
+	}
+
+	private static void waitSilently(Future<FrameBlock> f) {
+		try {
+			if(f != null)
+				f.get();
+		}
+		catch(Exception ex) {
+			// ignore, already handled or superseded by the primary error
+		}
+	}
+}
@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.transform.encode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.codegen.CodegenUtils;
+import org.apache.sysds.runtime.transform.encode.ColumnEncoderBin.BinMethod;
+
+/**
+ * Generator of fused transform-apply kernels for a fixed transform specification and metadata. The generated
+ * kernel (a subclass of TransformApplyKernel) specializes the per-column code computation of recode, bin, feature
+ * hashing, and pass-through, and the row-wise output of codes and dummycoded one-hot values. The generated source only
+ * depends on the structure of the specification (column order, encoder types, dummycoding), while all metadata
+ * (recode maps, bin boundaries and ranges, hash domains, output positions) is passed to the kernel instance. Similar
+ * to the generated readers in runtime/iogen, the source is compiled via CodegenUtils, and compiled classes are
+ * reused for identical structures, which bounds the number of classes by the number of distinct specifications.
+ */
+public class TransformApplyCodegen {
+	protected static final Log LOG = LogFactory.getLog(TransformApplyCodegen.class.getName());
+
+	private static final String NAME = "%CLASS_NAME%";
+	private static final ConcurrentHashMap<String, Class<?>> _kernels = new ConcurrentHashMap<>();
+	private static final AtomicInteger _seq = new AtomicInteger(0);
+
+	private enum ColType {
+		PASS_THROUGH, RECODE, BIN_EQUI_WIDTH, BIN_EQUI_HEIGHT, BIN_CONST, HASH
+	}
+
+	private static class ColSpec {
+		private final int _col; // 0-based input column
+		private final int _pos; // 0-based output column
+		private ColType _type;
+		private boolean _dc = false;
+
+		private ColSpec(int col, int pos) {
+			_col = col;
+			_pos = pos;
+		}
+	}
+
+	private TransformApplyCodegen() {
+		// private constructor
+	}
+
+	/**
+	 * Generates, compiles, and instantiates a fused apply kernel for the given encoder, which needs to be initialized
+	 * with its metadata and updated dummycode domains.
+	 * 
+	 * @param encoder multi-column encoder
+	 * @param ncol    number of input columns
+	 * @return kernel, or null if the encoder contains unsupported encoders
+	 */
+	public static TransformApplyKernel getKernel(MultiColumnEncoder encoder, int ncol) {
+		List<ColSpec> cols = getColSpecs(encoder, ncol);
+		if(cols == null)
+			return null;
+		final int clen = encoder.getNumOutCols();
+		final RecodeMap[] rcd = new RecodeMap[ncol];
+		final double[][] binMaxs = new double[ncol][];
+		final double[][] binRanges = new double[ncol][];
+		final long[] domains = new long[ncol];
+		final int[] pos = new int[ncol];
+		for(ColumnEncoderComposite c : encoder.getColumnEncoders()) {
+			ColumnEncoderRecode rc = c.getEncoder(ColumnEncoderRecode.class);
+			ColumnEncoderBin bin = c.getEncoder(ColumnEncoderBin.class);
+			ColumnEncoderFeatureHash hash = c.getEncoder(ColumnEncoderFeatureHash.class);
+			final int col = c.getColID() - 1;
+			if(rc != null)
+				rcd[col] = (RecodeMap) rc.getCPRecodeMaps();
+			if(bin != null && bin.getBinMaxs() != null && bin.getBinMaxs().length > 0) {
+				binMaxs[col] = bin.getBinMaxs();
+				binRanges[col] = new double[] {bin.getBinMins()[0], binMaxs[col][binMaxs[col].length - 1],
+					bin.getNumBin()};
+			}
+			if(hash != null)
+				domains[col] = hash.getK();
+		}
+		for(ColSpec c : cols)
+			pos[c._col] = c._pos;
+		try {
+			final String src = generateCode(cols);
+			final Class<?> cla = _kernels.computeIfAbsent(src, s -> {
+				String name = "TFApplyKernel" + _seq.incrementAndGet();
+				if(LOG.isTraceEnabled())
+					LOG.trace("Generated transform apply kernel:\n" + CodegenUtils.printWithLineNumber(s));
+				return CodegenUtils.compileClass(name, s.replace(NAME, name));
+			});
+			return (TransformApplyKernel) cla
+				.getDeclaredConstructor(RecodeMap[].class, double[][].class, double[][].class, long[].class, int[].class,
+					int.class)
+				.newInstance(rcd, binMaxs, binRanges, domains, pos, clen);
+		}
+		catch(Exception ex) {
+			LOG.warn("Failed to generate transform apply kernel, fallback to encoders: " + ex.getMessage());
+			return null;
+		}
+	}
+
+	private static List<ColSpec> getColSpecs(MultiColumnEncoder encoder, int ncol) {
+		if(encoder.hasLegacyEncoder() || encoder.getColumnEncoders().size() != ncol)
+			return null;
+		List<ColSpec> ret = new ArrayList<>();
+		boolean[] seen = new boolean[ncol];
+		int offset = 0;
+		for(ColumnEncoderComposite c : encoder.getColumnEncoders()) {
+			final int col = c.getColID() - 1;
+			if(col < 0 || col >= ncol || seen[col])
+				return null;
+			seen[col] = true;
+			final ColSpec spec = new ColSpec(col, col + offset);
+			final List<ColumnEncoder> encs = c.getEncoders();
+			if(encs.isEmpty() || encs.size() > 2)
+				return null;
+			final ColumnEncoder first = encs.get(0);
+			if(first instanceof ColumnEncoderPassThrough)
+				spec._type = ColType.PASS_THROUGH;
+			else if(first instanceof ColumnEncoderRecode)
+				spec._type = ColType.RECODE;
+			else if(first instanceof ColumnEncoderFeatureHash)
+				spec._type = ColType.HASH;
+			else if(first instanceof ColumnEncoderBin) {
+				ColumnEncoderBin bin = (ColumnEncoderBin) first;
+				double[] mins = bin.getBinMins(), maxs = bin.getBinMaxs();
+				if(mins == null || mins.length == 0 || maxs == null || maxs.length == 0)
+					spec._type = ColType.BIN_CONST;
+				else if(bin.getBinMethod() == BinMethod.EQUI_WIDTH) {
+					spec._type = ColType.BIN_EQUI_WIDTH;
+					if(bin.getNumBin() <= 0 && mins[0] != maxs[maxs.length - 1])
+						return null;
+				}
+				else
+					spec._type = ColType.BIN_EQUI_HEIGHT;
+			}
+			else
+				return null;
+			if(encs.size() == 2) {
+				if(!(encs.get(1) instanceof ColumnEncoderDummycode) || spec._type == ColType.PASS_THROUGH)
+					return null;
+				spec._dc = true;
+				offset += ((ColumnEncoderDummycode) encs.get(1))._domainSize - 1;
+			}
+			ret.add(spec);
+		}
+		// output positions need to be increasing for sorted CSR rows
+		for(int i = 1; i < ret.size(); i++)
+			if(ret.get(i)._pos <= ret.get(i - 1)._pos)
+				return null;
+		return ret;
+	}
+
+	private static String generateCode(List<ColSpec> cols) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("import org.apache.sysds.runtime.frame.data.FrameBlock;\n");
+		sb.append("import org.apache.sysds.runtime.frame.data.columns.Array;\n");
+		sb.append("import org.apache.sysds.runtime.transform.encode.RecodeMap;\n");
+		sb.append("import org.apache.sysds.runtime.transform.encode.TransformApplyKernel;\n\n");
+		sb.append("public final class " + NAME + " extends TransformApplyKernel {\n");
+		sb.append("  public " + NAME + "(RecodeMap[] rcd, double[][] binMaxs, double[][] binRanges, long[] domains,"
+			+ " int[] pos, int clen) {\n");
+		sb.append("    super(rcd, binMaxs, binRanges, domains, pos, clen);\n");
+		sb.append("  }\n\n");
+
+		// per-column code computation
+		sb.append("  protected void codes(FrameBlock in, int rl, int ru, double[][] tmp) {\n");
+		for(ColSpec c : cols)
+			generateCodes(sb, c);
+		sb.append("  }\n\n");
+
+		// fused dense output
+		sb.append("  protected long writeDense(double[][] tmp, int n, double[] c, int pos) {\n");
+		generateColumnRefs(sb, cols);
+		sb.append("    final int clen = getNumOutCols();\n");
+		sb.append("    long nnz = 0;\n");
+		sb.append("    for(int i = 0; i < n; i++, pos += clen) {\n");
+		sb.append("      double v;\n");
+		for(ColSpec c : cols) {
+			sb.append("      v = t" + c._col + "[i];\n");
+			if(c._dc)
+				sb.append("      if(!Double.isNaN(v)) { c[pos + o" + c._col + " + (int) v] = 1; nnz++; }\n");
+			else
+				sb.append("      if(v != 0) { c[pos + o" + c._col + "] = v; nnz++; }\n");
+		}
+		sb.append("    }\n");
+		sb.append("    return nnz;\n");
+		sb.append("  }\n\n");
+
+		// fused sparse output
+		sb.append("  protected int writeSparse(double[][] tmp, int n, int[] rnnz, int r, int[] ix, double[] vs, int pos) {\n");
+		generateColumnRefs(sb, cols);
+		sb.append("    for(int i = 0; i < n; i++) {\n");
+		sb.append("      final int p0 = pos;\n");
+		sb.append("      double v;\n");
+		for(ColSpec c : cols) {
+			sb.append("      v = t" + c._col + "[i];\n");
+			if(c._dc)
+				sb.append("      if(!Double.isNaN(v)) { ix[pos] = o" + c._col + " + (int) v; vs[pos++] = 1; }\n");
+			else
+				sb.append("      if(v != 0) { ix[pos] = o" + c._col + "; vs[pos++] = v; }\n");
+		}
+		sb.append("      rnnz[r + i] = pos - p0;\n");
+		sb.append("    }\n");
+		sb.append("    return pos;\n");
+		sb.append("  }\n");
+		sb.append("}\n");
+		return sb.toString();
+	}
+
+	private static void generateCodes(StringBuilder sb, ColSpec c) {
+		final String t = "tmp[" + c._col + "]";
+		final String a = "in.getColumn(" + c._col + ")";
+		switch(c._type) {
+			case PASS_THROUGH:
+				sb.append("    passThrough(" + a + ", rl, ru, " + t + ");\n");
+				break;
+			case RECODE:
+				sb.append("    recode(_rcd[" + c._col + "], in, " + c._col + ", rl, ru, " + t + ");\n");
+				break;
+			case BIN_CONST:
+				sb.append("    fill(1, ru - rl, " + t + ");\n");
+				break;
+			case BIN_EQUI_HEIGHT:
+				sb.append("    binEqualHeight(" + a + ", _binMaxs[" + c._col + "], rl, ru, " + t + ");\n");
+				break;
+			case BIN_EQUI_WIDTH:
+			case HASH: {
+				sb.append("    {\n");
+				sb.append("      final Array a = " + a + ";\n");
+				sb.append("      final double[] ret = " + t + ";\n");
+				if(c._type == ColType.HASH)
+					sb.append("      final long K = _domains[" + c._col + "];\n");
+				else {
+					sb.append("      final double min = _binRanges[" + c._col + "][0];\n");
+					sb.append("      final double max = _binRanges[" + c._col + "][1];\n");
+					sb.append("      final int nb = (int) _binRanges[" + c._col + "][2];\n");
+				}
+				sb.append("      for(int i = rl; i < ru; i++) {\n");
+				if(c._type == ColType.HASH)
+					sb.append("        ret[i - rl] = Math.abs(a.hashDouble(i) % K + 1);\n");
+				else {
+					sb.append("        final double v = a.getAsNaNDouble(i);\n");
+					sb.append("        if(Double.isNaN(v)) { ret[i - rl] = Double.NaN; continue; }\n");
+					sb.append("        if(min == max) { ret[i - rl] = 1; continue; }\n");
+					sb.append("        final int b = (int) Math.ceil((v - min) / (max - min) * nb);\n");
+					sb.append("        ret[i - rl] = b > nb ? nb : b < 1 ? 1 : b;\n");
+				}
+				sb.append("      }\n");
+				sb.append("    }\n");
+				break;
+			}
+		}
+	}
+
+	private static void generateColumnRefs(StringBuilder sb, List<ColSpec> cols) {
+		for(ColSpec c : cols) {
+			sb.append("    final double[] t" + c._col + " = tmp[" + c._col + "];\n");
+			// dummycoded one-hot positions start at the output position for code 1
+			sb.append("    final int o" + c._col + " = _pos[" + c._col + "]" + (c._dc ? " - 1" : "") + ";\n");
+		}
+	}
+}
@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.transform.encode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Base class of generated transform-apply kernels (see TransformApplyCodegen). A kernel fuses the encoders of all
+ * columns for a fixed specification structure, with the metadata passed to the instance: it computes the codes of a
+ * tile of rows column by column, and writes each output row exactly once directly into the dense or CSR output. This
+ * avoids the per-column encoder dispatch, the dummycode second pass over the output, and sparse row compaction.
+ */
+public abstract class TransformApplyKernel {
+	protected static final int TILE = 1024;
+
+	protected final RecodeMap[] _rcd; // recode maps by input column
+	protected final double[][] _binMaxs; // equi-height bin boundaries by input column
+	protected final double[][] _binRanges; // equi-width min, max, and number of bins by input column
+	protected final long[] _domains; // feature hashing domains by input column
+	protected final int[] _pos; // output positions by input column
+	private final int _clen;
+
+	protected TransformApplyKernel(RecodeMap[] rcd, double[][] binMaxs, double[][] binRanges, long[] domains,
+		int[] pos, int clen) {
+		_rcd = rcd;
+		_binMaxs = binMaxs;
+		_binRanges = binRanges;
+		_domains = domains;
+		_pos = pos;
+		_clen = clen;
+	}
+
+	/**
+	 * Computes the codes of all input columns (before dummycoding) for the given row range.
+	 * 
+	 * @param in  input frame
+	 * @param rl  row lower index (inclusive)
+	 * @param ru  row upper index (exclusive)
+	 * @param tmp codes per input column, starting at offset 0
+	 */
+	protected abstract void codes(FrameBlock in, int rl, int ru, double[][] tmp);
+
+	/**
+	 * Writes n encoded rows into a zero-initialized dense output.
+	 * 
+	 * @param tmp codes per input column
+	 * @param n   number of rows
+	 * @param c   output values
+	 * @param pos output position of the first row
+	 * @return number of non-zeros
+	 */
+	protected abstract long writeDense(double[][] tmp, int n, double[] c, int pos);
+
+	/**
+	 * Writes n encoded rows in CSR layout (sorted column indexes, no zeros).
+	 * 
+	 * @param tmp  codes per input column
+	 * @param n    number of rows
+	 * @param rnnz output number of non-zeros per row
+	 * @param r    position of the first row in rnnz
+	 * @param ix   output column indexes
+	 * @param vs   output values
+	 * @param pos  output position of the first non-zero
+	 * @return output position after the last non-zero
+	 */
+	protected abstract int writeSparse(double[][] tmp, int n, int[] rnnz, int r, int[] ix, double[] vs, int pos);
+
+	public int getNumOutCols() {
+		return _clen;
+	}
+
+	/**
+	 * Applies the kernel to the given input frame.
+	 * 
+	 * @param in     input frame
+	 * @param sparse true to produce a CSR output, otherwise dense
+	 * @param k      degree of parallelism
+	 * @return encoded matrix
+	 */
+	public MatrixBlock apply(FrameBlock in, boolean sparse, int k) {
+		final int nRow = in.getNumRows();
+		final MatrixBlock out = new MatrixBlock(nRow, _clen, sparse);
+		// row partitions aligned to tiles
+		final int blk = Math.max(TILE, (int) Math.ceil((double) nRow / k / TILE) * TILE);
+		final int nPart = (int) Math.ceil((double) nRow / blk);
+		try {
+			if(sparse) {
+				final int[] rnnz = new int[nRow];
+				final int[][] ix = new int[nPart][];
+				final double[][] vs = new double[nPart][];
+				final int[] pnnz = new int[nPart];
+				List<Callable<Long>> tasks = new ArrayList<>();
+				for(int p = 0; p < nPart; p++) {
+					final int pix = p, rl = p * blk, ru = Math.min(rl + blk, nRow);
+					tasks.add(() -> {
+						final int len = (ru - rl) * in.getNumColumns();
+						ix[pix] = new int[len];
+						vs[pix] = new double[len];
+						pnnz[pix] = applySparse(in, rl, ru, rnnz, ix[pix], vs[pix]);
+						return (long) pnnz[pix];
+					});
+				}
+				final long nnz = execute(tasks, k);
+				if(nnz > Integer.MAX_VALUE)
+					throw new DMLRuntimeException("Transform apply output exceeds the CSR capacity: " + nnz);
+				// concatenate partitions into the final CSR block
+				final int[] rptr = new int[nRow + 1];
+				for(int i = 0; i < nRow; i++)
+					rptr[i + 1] = rptr[i] + rnnz[i];
+				final int[] cix = new int[(int) Math.max(nnz, 1)];
+				final double[] cvs = new double[(int) Math.max(nnz, 1)];
+				for(int p = 0; p < nPart; p++) {
+					System.arraycopy(ix[p], 0, cix, rptr[p * blk], pnnz[p]);
+					System.arraycopy(vs[p], 0, cvs, rptr[p * blk], pnnz[p]);
+				}
+				out.setSparseBlock(new SparseBlockCSR(rptr, cix, cvs, (int) nnz));
+				out.setNonZeros(nnz);
+			}
+			else {
+				out.allocateDenseBlock();
+				final DenseBlock db = out.getDenseBlock();
+				List<Callable<Long>> tasks = new ArrayList<>();
+				for(int p = 0; p < nPart; p++) {
+					final int rl = p * blk, ru = Math.min(rl + blk, nRow);
+					tasks.add(() -> applyDense(in, rl, ru, db));
+				}
+				out.setNonZeros(execute(tasks, k));
+			}
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException("Failed generated transform-apply kernel " + getClass().getSimpleName(), ex);
+		}
+		return out;
+	}
+
+	private long applyDense(FrameBlock in, int rl, int ru, DenseBlock db) {
+		final double[][] tmp = new double[in.getNumColumns()][TILE];
+		long nnz = 0;
+		for(int i = rl; i < ru; i += TILE) {
+			final int n = Math.min(TILE, ru - i);
+			codes(in, i, i + n, tmp);
+			nnz += writeDense(tmp, n, db.values(i), db.pos(i));
+		}
+		return nnz;
+	}
+
+	private int applySparse(FrameBlock in, int rl, int ru, int[] rnnz, int[] ix, double[] vs) {
+		final double[][] tmp = new double[in.getNumColumns()][TILE];
+		int pos = 0;
+		for(int i = rl; i < ru; i += TILE) {
+			final int n = Math.min(TILE, ru - i);
+			codes(in, i, i + n, tmp);
+			pos = writeSparse(tmp, n, rnnz, i, ix, vs, pos);
+		}
+		return pos;
+	}
+
+	private static long execute(List<Callable<Long>> tasks, int k) throws Exception {
+		long nnz = 0;
+		if(k <= 1 || tasks.size() == 1) {
+			for(Callable<Long> task : tasks)
+				nnz += task.call();
+			return nnz;
+		}
+		ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			for(Future<Long> f : pool.invokeAll(tasks))
+				nnz += f.get();
+			return nnz;
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	// helpers called from generated kernels, consistent with the respective column encoders
+
+	protected static void passThrough(Array<?> a, int rl, int ru, double[] ret) {
+		for(int i = rl; i < ru; i++)
+			ret[i - rl] = a.getAsNaNDouble(i);
+	}
+
+	protected static void recode(RecodeMap map, FrameBlock in, int c, int rl, int ru, double[] ret) {
+		if(map.getCodes(in.getColumn(c), rl, ru, ret))
+			return;
+		for(int i = rl; i < ru; i++) {
+			final String key = in.getString(i, c);
+			final long code = (key == null || key.isEmpty()) ? -1 : map.getCode(key);
+			ret[i - rl] = (code < 0) ? Double.NaN : code;
+		}
+	}
+
+	protected static void binEqualHeight(Array<?> a, double[] maxs, int rl, int ru, double[] ret) {
+		for(int i = rl; i < ru; i++) {
+			final double v = a.getAsNaNDouble(i);
+			if(Double.isNaN(v))
+				ret[i - rl] = Double.NaN;
+			else if(maxs.length <= 10) {
+				int b = maxs.length;
+				for(int j = 0; j < maxs.length - 1; j++)
+					if(v <= maxs[j]) {
+						b = j + 1;
+						break;
+					}
+				ret[i - rl] = b;
+			}
+			else {
+				final int ix = Arrays.binarySearch(maxs, v);
+				ret[i - rl] = (ix < 0) ? Math.min(Math.abs(ix + 1) + 1, maxs.length) : //
+					(ix == 0) ? 1 : Math.min(ix + 1, maxs.length);
+			}
+		}
+	}
+
+	protected static void fill(double v, int n, double[] ret) {
+		Arrays.fill(ret, 0, n, v);
+	}
+}
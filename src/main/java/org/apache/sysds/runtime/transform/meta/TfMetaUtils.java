@@ -72,6 +72,26 @@ public class TfMetaUtils
 		return (TfMetaUtils.parseJsonIDList(spec, colnames, TfMethod.OMIT.toString()).length > 0);	
 	}
 
+	/**
+	 * Indicates if the given tokenizer specification requests sparse matrix output, which determines the output data
+	 * type of tokenize at compile time.
+	 *
+	 * @param spec tokenizer specification as json string
+	 * @return true if "format_sparse" is set to true, false otherwise or for invalid specifications
+	 */
+	public static boolean isSparseTokenizeSpec(String spec) {
+		try {
+			return isSparseTokenizeSpec(new JSONObject(spec));
+		}
+		catch(JSONException ex) {
+			return false; //reported by the spec validation
+		}
+	}
+
+	public static boolean isSparseTokenizeSpec(JSONObject spec) throws JSONException {
+		return spec.containsKey("format_sparse") && spec.getBoolean("format_sparse");
+	}
+
 	public static int[] parseJsonIDList(String spec, String[] colnames, String group) {
 		try {
 			JSONObject jSpec = new JSONObject(spec);
@@ -211,6 +231,31 @@ public class TfMetaUtils
 		return parsedSpec.getLong("K");
 	}
 
+	/**
+	 * Get the optional file of memory-mapped word embeddings (native binary format) from parsed specifications.
+	 * @param parsedSpec parsed specifications
+	 * @return file name, or null if not specified
+	 * @throws JSONException if JSONException occurs
+	 */
+	public static String getEmbeddingFile(JSONObject parsedSpec) throws JSONException {
+		return parsedSpec.containsKey("embedding_file") ? parsedSpec.getString("embedding_file") : null;
+	}
+
+	/**
+	 * Get if word embeddings of whitespace-separated tokens are mean-pooled from parsed specifications.
+	 * @param parsedSpec parsed specifications
+	 * @return true for "embedding_pooling": "mean", false for none or "none"
+	 * @throws JSONException if JSONException occurs
+	 */
+	public static boolean isEmbeddingMeanPooling(JSONObject parsedSpec) throws JSONException {
+		if( !parsedSpec.containsKey("embedding_pooling") )
+			return false;
+		String pooling = parsedSpec.getString("embedding_pooling");
+		if( !pooling.equalsIgnoreCase("mean") && !pooling.equalsIgnoreCase("none") )
+			throw new DMLRuntimeException("Unsupported embedding pooling: " + pooling);
+		return pooling.equalsIgnoreCase("mean");
+	}
+
 
 	/**
 	 * Reads transform meta data from an HDFS file path and converts it into an in-memory
@@ -480,7 +525,7 @@ public class TfMetaUtils
 	@SuppressWarnings("unchecked")
 	public static void checkValidEncoders(JSONObject jSpec) {
 		Set<String> validEncoders = new HashSet<>();
-		validEncoders.addAll(Arrays.asList("ids","K"));
+		validEncoders.addAll(Arrays.asList("ids","K","embedding_file","embedding_pooling"));
 		for( TfMethod tf : TfMethod.values() )
 			validEncoders.add(tf.toString());
 		Iterator<String> keys = jSpec.keys();
@@ -20,6 +20,7 @@
 package org.apache.sysds.runtime.transform.tokenize;
 
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.transform.meta.TfMetaUtils;
 import org.apache.sysds.runtime.transform.tokenize.applier.TokenizerApplier;
 import org.apache.sysds.runtime.transform.tokenize.applier.TokenizerApplierCount;
 import org.apache.sysds.runtime.transform.tokenize.applier.TokenizerApplierHash;
@@ -39,6 +40,11 @@ public class TokenizerFactory {
 			//parse transform specification
 			JSONObject jSpec = new JSONObject(spec);
 
+			// sparse output is typed as matrix at compile time, which requires a spec known at compile time
+			if (TfMetaUtils.isSparseTokenizeSpec(jSpec))
+				throw new DMLRuntimeException("Tokenize with {format_sparse=true} requires a specification "
+					+ "that is known at compile time (e.g., a string literal).");
+
 			// tokenization needs an algorithm (with algorithm specific params)
 			String algo = jSpec.getString("algo");
 			JSONObject algoParams = null;
@@ -115,4 +121,56 @@ public class TokenizerFactory {
 		}
 		return tokenizer;
 	}
+
+	/**
+	 * Create a streaming tokenizer with sparse matrix output of hashed feature counts, for specifications with
+	 * "format_sparse": true. Only the "hash" output representation is supported, and id columns, padding, and the
+	 * wide format do not apply because each input row yields exactly one output row.
+	 *
+	 * @param spec      The tokenizer specification
+	 * @param maxTokens The maximum number of distinct features per document
+	 * @return The sparse tokenizer
+	 */
+	public static TokenizerSparse createSparseTokenizer(String spec, int maxTokens) {
+		try {
+			JSONObject jSpec = new JSONObject(spec);
+			String algo = jSpec.getString("algo");
+			JSONObject algoParams = jSpec.has("algo_params") ? jSpec.getJSONObject("algo_params") : null;
+			String out = jSpec.getString("out");
+			JSONObject outParams = jSpec.has("out_params") ? jSpec.getJSONObject("out_params") : null;
+			int tokenizeCol = jSpec.getInt("tokenize_col");
+			if(!out.equals("hash"))
+				throw new IllegalArgumentException("Output representation {out=" + out + "} is not supported "
+					+ "for sparse output, use {out=hash}.");
+
+			// same defaults as the token builders and hash applier
+			String regex = "\\s+";
+			int minGram = 1, maxGram = 1;
+			boolean tokenNgrams = false;
+			if(algoParams != null && algoParams.has("regex"))
+				regex = algoParams.getString("regex");
+			switch(algo) {
+				case "split":
+					break;
+				case "ngram":
+					minGram = (algoParams != null && algoParams.has("min_gram")) ? algoParams.getInt("min_gram") : 1;
+					maxGram = (algoParams != null && algoParams.has("max_gram")) ? algoParams.getInt("max_gram") : 2;
+					if(algoParams != null && algoParams.has("ngram_type")) {
+						String type = algoParams.getString("ngram_type").toLowerCase();
+						if(!type.equals("document") && !type.equals("token"))
+							throw new DMLRuntimeException("Invalid ngram type, choose between 'token' and 'document'");
+						tokenNgrams = type.equals("token");
+					}
+					break;
+				default:
+					throw new IllegalArgumentException("Algorithm {algo=" + algo + "} is not supported.");
+			}
+			int numFeatures = (outParams != null && outParams.has("num_features")) ?
+				outParams.getInt("num_features") : 1048576;
+			return new TokenizerSparse(tokenizeCol, regex, minGram, maxGram, tokenNgrams, numFeatures, maxTokens);
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
 }
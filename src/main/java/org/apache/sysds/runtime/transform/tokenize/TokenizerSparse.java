@@ -0,0 +1,314 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.transform.tokenize;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.UtilFunctions;
+
+/**
+ * Streaming tokenizer for hashed bag-of-words features with direct sparse output. Instead of materializing token
+ * objects per document, it scans the characters of each document once, hashes the tokens or n-grams on the fly, and
+ * writes the per-document feature counts into a CSR matrix of documents x hashed features.
+ *
+ * The feature of a token is identical to the (0-based) feature of the hash output representation, i.e., the
+ * {@link String#hashCode()} of the token's string representation modulo the number of features, such that both
+ * outputs are interchangeable. As there, at most max_tokens distinct features with the smallest indexes are kept per
+ * document. Tokens are split like in the token builders (e.g.,
+ * {@link org.apache.sysds.runtime.transform.tokenize.builder.TokenizerBuilderWhitespaceSplit}), which drop all empty
+ * strings of {@link String#split(String)}, i.e., leading, repeated, and trailing delimiters do not yield tokens.
+ */
+public class TokenizerSparse implements Serializable {
+	private static final long serialVersionUID = -2419420218683478551L;
+
+	/** Default whitespace regex of the split tokenizer */
+	private static final String WHITESPACE = "\\s+";
+
+	// string representation of multi-token n-grams, see Token#toString()
+	private static final String NGRAM_PREFIX = "\"('";
+	private static final String NGRAM_SEPARATOR = "', '";
+	private static final String NGRAM_SUFFIX = "')\"";
+
+	private final int _tokenizeCol;
+	private final String _regex;
+	private final int _minGram;
+	private final int _maxGram;
+	private final boolean _tokenNgrams;
+	private final int _numFeatures;
+	private final int _maxTokens;
+
+	/**
+	 * Create a streaming sparse tokenizer.
+	 *
+	 * @param tokenizeCol The 1-based text column
+	 * @param regex       The delimiter regex
+	 * @param minGram     The minimum n-gram size (1 for plain tokens)
+	 * @param maxGram     The maximum n-gram size (1 for plain tokens)
+	 * @param tokenNgrams True for character n-grams per token, false for token n-grams per document
+	 * @param numFeatures The number of hashed features
+	 * @param maxTokens   The maximum number of distinct features per document
+	 */
+	protected TokenizerSparse(int tokenizeCol, String regex, int minGram, int maxGram, boolean tokenNgrams,
+		int numFeatures, int maxTokens) {
+		if(minGram < 1 || maxGram < minGram)
+			throw new DMLRuntimeException("Invalid n-gram range [" + minGram + ", " + maxGram + "].");
+		if(numFeatures < 1)
+			throw new DMLRuntimeException("Invalid number of hashed features: " + numFeatures);
+		_tokenizeCol = tokenizeCol;
+		_regex = regex;
+		_minGram = minGram;
+		_maxGram = maxGram;
+		_tokenNgrams = tokenNgrams;
+		_numFeatures = numFeatures;
+		_maxTokens = maxTokens;
+	}
+
+	public int getNumFeatures() {
+		return _numFeatures;
+	}
+
+	public MatrixBlock tokenize(FrameBlock in) {
+		return tokenize(in, 1);
+	}
+
+	/**
+	 * Tokenize the text column of the given frame into a sparse matrix of per-document hashed feature counts.
+	 *
+	 * @param in The input frame
+	 * @param k  The parallelization degree
+	 * @return The documents x features count matrix
+	 */
+	public MatrixBlock tokenize(FrameBlock in, int k) {
+		final int nrow = in.getNumRows();
+		if(nrow == 0)
+			return new MatrixBlock(0, _numFeatures, true);
+
+		// tokenize row blocks into partial CSR blocks
+		final int nblk = (k > 1) ? Math.min(nrow, Tokenizer.TOKENIZE_NUM_BLOCKS) : 1;
+		final int[] blkSizes = UtilFunctions.getBlockSizes(nrow, nblk);
+		final PartialCSR[] parts = new PartialCSR[nblk];
+		final int[] rowPtr = new int[nrow + 1];
+		if(k <= 1) {
+			parts[0] = tokenizeRows(in, 0, nrow, rowPtr);
+		}
+		else {
+			final ExecutorService pool = CommonThreadPool.get(k);
+			try {
+				List<Future<?>> tasks = new ArrayList<>();
+				for(int b = 0, rl = 0; b < nblk; rl += blkSizes[b], b++) {
+					final int bix = b, rl2 = rl, ru2 = rl + blkSizes[b];
+					tasks.add(pool.submit(() -> parts[bix] = tokenizeRows(in, rl2, ru2, rowPtr)));
+				}
+				for(Future<?> f : tasks)
+					f.get();
+			}
+			catch(Exception e) {
+				throw new DMLRuntimeException("Failed to tokenize.", e);
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+
+		// turn per-row counts into row pointers and concatenate the partial blocks
+		for(int i = 0; i < nrow; i++)
+			rowPtr[i + 1] += rowPtr[i];
+		final int nnz = rowPtr[nrow];
+		final int[] colInd = new int[nnz];
+		final double[] values = new double[nnz];
+		for(int b = 0, rl = 0; b < nblk; rl += blkSizes[b], b++) {
+			final PartialCSR p = parts[b];
+			System.arraycopy(p.indexes, 0, colInd, rowPtr[rl], p.size);
+			System.arraycopy(p.values, 0, values, rowPtr[rl], p.size);
+		}
+		return new MatrixBlock(nrow, _numFeatures, nnz, new SparseBlockCSR(rowPtr, colInd, values, nnz));
+	}
+
+	/**
+	 * Tokenize rows [rl, ru), and record the number of features of row i at rowPtr[i+1].
+	 */
+	private PartialCSR tokenizeRows(FrameBlock in, int rl, int ru, int[] rowPtr) {
+		final PartialCSR ret = new PartialCSR(Math.max(16, (ru - rl) * 8));
+		final DocumentScanner scanner = new DocumentScanner();
+		for(int i = rl; i < ru; i++) {
+			final String text = in.getString(i, _tokenizeCol - 1);
+			final int n = scanner.scan(text);
+			final int[] hashes = scanner._hashes;
+			Arrays.sort(hashes, 0, n);
+			// run-length count of sorted features, limited to maxTokens distinct features
+			int cnt = 0;
+			for(int j = 0; j < n && cnt < _maxTokens; cnt++) {
+				int j2 = j + 1;
+				while(j2 < n && hashes[j2] == hashes[j])
+					j2++;
+				ret.append(hashes[j], j2 - j);
+				j = j2;
+			}
+			rowPtr[i + 1] = cnt;
+		}
+		return ret;
+	}
+
+	private int getFeature(int hash) {
+		int mod = hash % _numFeatures;
+		return (mod < 0) ? mod + _numFeatures : mod;
+	}
+
+	private static int hash(int h, CharSequence s, int from, int to) {
+		// incremental String.hashCode() of the concatenation
+		for(int i = from; i < to; i++)
+			h = 31 * h + s.charAt(i);
+		return h;
+	}
+
+	private static boolean isWhitespace(char c) {
+		// character class \s of java.util.regex
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	/** Reusable per-thread buffers of token boundaries and feature hashes of one document. */
+	private class DocumentScanner {
+		private final Pattern _pattern = WHITESPACE.equals(_regex) ? null : Pattern.compile(_regex);
+		private int[] _starts = new int[64];
+		private int[] _ends = new int[64];
+		private int[] _hashes = new int[256];
+		private int _ntokens;
+
+		/**
+		 * Scan a document and collect the features of all its tokens or n-grams.
+		 *
+		 * @return The number of collected features
+		 */
+		protected int scan(String text) {
+			_ntokens = 0;
+			if(text == null)
+				return 0;
+			if(_pattern == null)
+				splitWhitespace(text);
+			else
+				splitRegex(text);
+
+			int n = 0;
+			if(!_tokenNgrams && _minGram == 1 && _maxGram == 1) {
+				for(int t = 0; t < _ntokens; t++)
+					n = add(n, hash(0, text, _starts[t], _ends[t]));
+			}
+			else if(_tokenNgrams) {
+				// character n-grams within each token
+				for(int t = 0; t < _ntokens; t++)
+					for(int g = _minGram; g <= _maxGram; g++)
+						for(int i = _starts[t]; i + g <= _ends[t]; i++)
+							n = add(n, hash(0, text, i, i + g));
+			}
+			else {
+				// token n-grams within the document
+				for(int g = _minGram; g <= _maxGram; g++) {
+					for(int t = 0; t + g <= _ntokens; t++) {
+						if(g == 1) {
+							n = add(n, hash(0, text, _starts[t], _ends[t]));
+							continue;
+						}
+						int h = hash(0, NGRAM_PREFIX, 0, NGRAM_PREFIX.length());
+						for(int t2 = t; t2 < t + g; t2++) {
+							if(t2 > t)
+								h = hash(h, NGRAM_SEPARATOR, 0, NGRAM_SEPARATOR.length());
+							h = hash(h, text, _starts[t2], _ends[t2]);
+						}
+						n = add(n, hash(h, NGRAM_SUFFIX, 0, NGRAM_SUFFIX.length()));
+					}
+				}
+			}
+			return n;
+		}
+
+		private int add(int n, int hash) {
+			if(n == _hashes.length)
+				_hashes = Arrays.copyOf(_hashes, 2 * n);
+			_hashes[n] = getFeature(hash);
+			return n + 1;
+		}
+
+		private void addToken(int start, int end) {
+			if(start >= end)
+				return; // empty token, dropped like in the token builders
+			if(_ntokens == _starts.length) {
+				_starts = Arrays.copyOf(_starts, 2 * _ntokens);
+				_ends = Arrays.copyOf(_ends, 2 * _ntokens);
+			}
+			_starts[_ntokens] = start;
+			_ends[_ntokens++] = end;
+		}
+
+		private void splitWhitespace(String text) {
+			final int len = text.length();
+			int start = 0;
+			for(int i = 0; i < len; i++) {
+				if(isWhitespace(text.charAt(i))) {
+					addToken(start, i);
+					start = i + 1;
+				}
+			}
+			addToken(start, len);
+		}
+
+		private void splitRegex(String text) {
+			final Matcher m = _pattern.matcher(text);
+			int start = 0;
+			while(m.find()) {
+				addToken(start, m.start());
+				start = m.end();
+			}
+			addToken(start, text.length());
+		}
+	}
+
+	/** Growable column indexes and values of a contiguous block of CSR rows. */
+	private static class PartialCSR {
+		private int[] indexes;
+		private double[] values;
+		private int size;
+
+		protected PartialCSR(int capacity) {
+			indexes = new int[capacity];
+			values = new double[capacity];
+		}
+
+		protected void append(int col, double val) {
+			if(size == indexes.length) {
+				indexes = Arrays.copyOf(indexes, 2 * size);
+				values = Arrays.copyOf(values, 2 * size);
+			}
+			indexes[size] = col;
+			values[size++] = val;
+		}
+	}
+}
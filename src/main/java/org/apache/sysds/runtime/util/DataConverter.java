@@ -158,6 +158,24 @@ public class DataConverter {
 		return readMatrixFromHDFS(prop);
 	}
 
+	public static MatrixBlock readMatrixFromHDFS(String dir, FileFormat fmt, long rlen, long clen,
+		int blen, long expectedNnz, FileFormatProperties formatProperties, IndexRange indexRange)
+		throws IOException
+	{
+		ReadProperties prop = new ReadProperties();
+
+		prop.path = dir;
+		prop.fmt = fmt;
+		prop.rlen = rlen;
+		prop.clen = clen;
+		prop.blen = blen;
+		prop.expectedNnz = expectedNnz;
+		prop.formatProperties = formatProperties;
+		prop.indexRange = indexRange;
+
+		return readMatrixFromHDFS(prop);
+	}
+
 	public static TensorBlock readTensorFromHDFS(String dir, FileFormat fmt, long[] dims, int blen,
 		ValueType[] schema) throws IOException {
 		TensorBlock ret;
@@ -202,7 +220,9 @@ public class DataConverter {
 		MatrixBlock ret = null;
 		try {
 			MatrixReader reader = MatrixReaderFactory.createMatrixReader(prop);
-			ret = reader.readMatrixFromHDFS(prop.path, prop.rlen, prop.clen, prop.blen, prop.expectedNnz);
+			ret = (prop.indexRange != null) ?
+				reader.readMatrixFromHDFS(prop.path, prop.rlen, prop.clen, prop.blen, prop.expectedNnz, prop.indexRange) :
+				reader.readMatrixFromHDFS(prop.path, prop.rlen, prop.clen, prop.blen, prop.expectedNnz);
 		}
 		catch(DMLRuntimeException rex)
 		{
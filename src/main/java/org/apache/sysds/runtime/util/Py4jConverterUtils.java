@@ -19,15 +19,20 @@
 
 package org.apache.sysds.runtime.util;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 
 import org.apache.sysds.common.Types;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.frame.data.columns.Array;
 import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
 import org.apache.sysds.runtime.frame.data.columns.BooleanArray;
+import org.apache.sysds.runtime.io.FrameReaderArrow;
+import org.apache.sysds.runtime.io.FrameWriterArrow;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
 /**
@@ -221,4 +226,36 @@ public class Py4jConverterUtils {
 
 		return ret;
 	}
+
+	/**
+	 * Convert an Arrow IPC file (e.g., written by pyarrow from a pandas data frame) into a frame block.
+	 * 
+	 * @param data The bytes of the Arrow IPC file
+	 * @return The frame block
+	 */
+	public static FrameBlock convertArrowToFrame(byte[] data) {
+		try {
+			return FrameReaderArrow.readArrowFrame(ByteBuffer.wrap(data), null);
+		}
+		catch(IOException e) {
+			throw new DMLRuntimeException("Failed to convert Arrow data to frame", e);
+		}
+	}
+
+	/**
+	 * Convert a frame block into the bytes of an Arrow IPC file (e.g., to read via pyarrow into pandas).
+	 * 
+	 * @param fb The frame block
+	 * @return The bytes of the Arrow IPC file
+	 */
+	public static byte[] convertFrameToArrow(FrameBlock fb) {
+		try {
+			final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			FrameWriterArrow.writeArrowFrame(bos, fb);
+			return bos.toByteArray();
+		}
+		catch(IOException e) {
+			throw new DMLRuntimeException("Failed to convert frame to Arrow data", e);
+		}
+	}
 }
@@ -19,6 +19,8 @@
 
 package org.apache.sysds.utils;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * A fast double parser inspired from https://github.com/wrandelshofer/FastDoubleParser
  */
@@ -208,6 +210,116 @@ public interface DoubleParser {
 		return isNegative ? -val : val;
 	}
 
+	/**
+	 * Parse a decimal floating point literal directly from ASCII bytes, without allocating a String. Leading and
+	 * trailing whitespace is ignored. Literals the fast path cannot handle (NaN, Infinity, type suffixes, very long or
+	 * ambiguously rounded numbers, or illegal syntax) fall back to Double.parseDouble on the decoded range.
+	 * 
+	 * @param buf      The byte buffer
+	 * @param offset   The start offset (inclusive)
+	 * @param endIndex The end offset (exclusive)
+	 * @return The parsed double
+	 */
+	public static double parseFloatingPointLiteral(byte[] buf, int offset, int endIndex) {
+		// trim whitespace
+		while(offset < endIndex && buf[offset] <= ' ')
+			offset++;
+		while(endIndex > offset && buf[endIndex - 1] <= ' ')
+			endIndex--;
+		if(offset == endIndex || endIndex - offset > 100)
+			return parseSlow(buf, offset, endIndex);
+
+		int index = offset;
+		byte ch = buf[index];
+		final boolean isNegative = ch == '-';
+		if(isNegative || ch == '+')
+			ch = ++index < endIndex ? buf[index] : 0;
+
+		// NaN, Infinity, or type suffixes
+		if(ch >= 'I' || buf[endIndex - 1] >= 'a')
+			return parseSlow(buf, offset, endIndex);
+
+		final double val = parseDecFloatLiteral(buf, index, endIndex);
+		if(Double.isNaN(val))
+			return parseSlow(buf, offset, endIndex);
+		return isNegative ? -val : val;
+	}
+
+	private static double parseSlow(byte[] buf, int offset, int endIndex) {
+		return Double.parseDouble(new String(buf, offset, endIndex - offset, StandardCharsets.US_ASCII));
+	}
+
+	private static double parseDecFloatLiteral(byte[] buf, int index, int endIndex) {
+		long significand = 0;
+		final int sigStart = index;
+		int virtualIndexOfPoint = -1;
+		for(; index < endIndex; index++) {
+			final byte ch = buf[index];
+			if(ch >= '0' && ch <= '9')
+				significand = 10 * significand + ch - '0';
+			else if(ch == '.' && virtualIndexOfPoint < 0)
+				virtualIndexOfPoint = index;
+			else if((ch | 0x20) == 'e')
+				break;
+			else
+				return Double.NaN; // illegal, resolved by the slow path
+		}
+
+		final int sigEnd = index;
+		final int digitCount;
+		int exponent;
+		if(virtualIndexOfPoint < 0) {
+			digitCount = sigEnd - sigStart;
+			virtualIndexOfPoint = sigEnd;
+			exponent = 0;
+		}
+		else {
+			digitCount = sigEnd - sigStart - 1;
+			exponent = virtualIndexOfPoint - sigEnd + 1;
+		}
+		if(digitCount == 0)
+			return Double.NaN;
+
+		int expNumber = 0;
+		if(index < endIndex) {
+			// exponent with optional sign and at least one digit
+			final boolean isExponentNegative = ++index < endIndex && buf[index] == '-';
+			if(index < endIndex && (isExponentNegative || buf[index] == '+'))
+				index++;
+			if(index >= endIndex)
+				return Double.NaN;
+			for(; index < endIndex; index++) {
+				final byte ch = buf[index];
+				if(ch < '0' || ch > '9')
+					return Double.NaN;
+				if(expNumber < MAX_EXPONENT_NUMBER)
+					expNumber = 10 * expNumber + ch - '0';
+			}
+			expNumber = isExponentNegative ? -expNumber : expNumber;
+			exponent += expNumber;
+		}
+
+		if(digitCount > 19) {
+			int skipCountInTruncatedDigits = 0;
+			significand = 0;
+			for(index = sigStart; index < sigEnd; index++) {
+				final byte ch = buf[index];
+				if(ch == '.')
+					skipCountInTruncatedDigits++;
+				else if(Long.compareUnsigned(significand, MINIMAL_NINETEEN_DIGIT_INTEGER) < 0)
+					significand = 10 * significand + ch - '0';
+				else
+					break;
+			}
+			final boolean isSignificandTruncated = index < sigEnd;
+			final int exponentOfTruncatedSignificand = virtualIndexOfPoint - index + skipCountInTruncatedDigits +
+				expNumber;
+			return tryDecFloatToDoubleTruncated(significand, exponent, isSignificandTruncated,
+				exponentOfTruncatedSignificand);
+		}
+		return tryDecFloatToDoubleTruncated(significand, exponent, false, 0);
+	}
+
 	private static void illegal() {
 		throw new NumberFormatException("illegal syntax");
 	}
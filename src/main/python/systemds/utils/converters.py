@@ -24,6 +24,23 @@ import struct
 import numpy as np
 import pandas as pd
 from py4j.java_gateway import JavaClass, JavaGateway, JavaObject, JVMView
+from py4j.protocol import Py4JJavaError
+
+try:
+    import pyarrow as pa
+except ImportError:
+    pa = None
+
+# pandas types that are transferred via Arrow IPC if pyarrow is available
+_arrow_dtypes = {
+    np.dtype(np.object_),
+    np.dtype(np.int64),
+    np.dtype(np.float64),
+    np.dtype(np.bool_),
+    np.dtype(np.int32),
+    np.dtype(np.float32),
+    np.dtype(np.uint8),
+}
 
 
 def numpy_to_matrix_block(sds, np_arr: np.array):
@@ -89,6 +106,19 @@ def pandas_to_frame_block(sds, pd_df: pd.DataFrame):
     """
     assert pd_df.ndim <= 2, "pd_df invalid, because it has more than 2 dimensions"
     rows = pd_df.shape[0]
+
+    if pa is not None and rows > 4 and all(d in _arrow_dtypes for d in pd_df.dtypes):
+        try:
+            return _pandas_to_frame_block_arrow(sds.java_gateway.jvm, pd_df)
+        except (pa.ArrowException, Py4JJavaError, TypeError, ValueError):
+            pass  # fall back to the column-wise byte conversion
+
+    return _pandas_to_frame_block_columnwise(sds, pd_df)
+
+
+def _pandas_to_frame_block_columnwise(sds, pd_df: pd.DataFrame):
+    """Converts a pandas DataFrame to a FrameBlock column by column."""
+    rows = pd_df.shape[0]
     cols = pd_df.shape[1]
 
     jvm: JVMView = sds.java_gateway.jvm
@@ -170,6 +200,17 @@ def pandas_to_frame_block(sds, pd_df: pd.DataFrame):
         sds.exception_and_close(e)
 
 
+def _pandas_to_frame_block_arrow(jvm: JVMView, pd_df: pd.DataFrame):
+    """Converts a pandas DataFrame to a FrameBlock by transferring a single Arrow IPC file."""
+    table = pa.Table.from_pandas(pd_df, preserve_index=False)
+    sink = pa.BufferOutputStream()
+    with pa.ipc.new_file(sink, table.schema) as writer:
+        writer.write_table(table)
+    return jvm.org.apache.sysds.runtime.util.Py4jConverterUtils.convertArrowToFrame(
+        sink.getvalue().to_pybytes()
+    )
+
+
 def frame_block_to_pandas(sds, fb: JavaObject):
     """Converts a FrameBlock object in the JVM to a pandas dataframe.
 
@@ -177,6 +218,25 @@ def frame_block_to_pandas(sds, fb: JavaObject):
     :param fb: A pointer to the JVM's FrameBlock object.
     """
 
+    if pa is not None:
+        try:
+            return _frame_block_to_pandas_arrow(sds.java_gateway.jvm, fb)
+        except (pa.ArrowException, Py4JJavaError, TypeError, ValueError):
+            pass  # fall back to the column-wise byte conversion
+
+    return _frame_block_to_pandas_columnwise(fb)
+
+
+def _frame_block_to_pandas_arrow(jvm: JVMView, fb: JavaObject):
+    """Converts a FrameBlock to a pandas DataFrame by transferring a single Arrow IPC file."""
+    byte_data = jvm.org.apache.sysds.runtime.util.Py4jConverterUtils.convertFrameToArrow(
+        fb
+    )
+    return pa.ipc.open_file(pa.py_buffer(byte_data)).read_pandas()
+
+
+def _frame_block_to_pandas_columnwise(fb: JavaObject):
+    """Converts a FrameBlock to a pandas DataFrame column by column."""
     num_rows = fb.getNumRows()
     num_cols = fb.getNumColumns()
     df = pd.DataFrame()
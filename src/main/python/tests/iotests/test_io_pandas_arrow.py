@@ -0,0 +1,97 @@
+# -------------------------------------------------------------
+#
+# Licensed to the Apache Software Foundation (ASF) under one
+# or more contributor license agreements.  See the NOTICE file
+# distributed with this work for additional information
+# regarding copyright ownership.  The ASF licenses this file
+# to you under the Apache License, Version 2.0 (the
+# "License"); you may not use this file except in compliance
+# with the License.  You may obtain a copy of the License at
+#
+#   http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing,
+# software distributed under the License is distributed on an
+# "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+# KIND, either express or implied.  See the License for the
+# specific language governing permissions and limitations
+# under the License.
+#
+# -------------------------------------------------------------
+
+
+import unittest
+from unittest import mock
+
+import numpy as np
+import pandas as pd
+from systemds.context import SystemDSContext
+from systemds.utils import converters
+
+
+@unittest.skipIf(converters.pa is None, "pyarrow not installed")
+class TestPandasArrowConversion(unittest.TestCase):
+
+    sds: SystemDSContext = None
+    n_rows = 100
+    df = pd.DataFrame(
+        {
+            "C1": [f"col1_string_{i}" for i in range(n_rows)],
+            "C2": np.arange(n_rows, dtype=np.int64),
+            "C3": np.arange(n_rows, dtype=np.float64) * 0.1,
+            "C4": [i % 3 == 0 for i in range(n_rows)],
+            "C5": np.arange(n_rows, dtype=np.int32),
+        }
+    )
+
+    @classmethod
+    def setUpClass(cls):
+        cls.sds = SystemDSContext()
+
+    @classmethod
+    def tearDownClass(cls):
+        cls.sds.close()
+
+    def test_to_frame_block_both_paths(self):
+        jvm = self.sds.java_gateway.jvm
+        fb_arrow = converters._pandas_to_frame_block_arrow(jvm, self.df)
+        fb_cols = converters._pandas_to_frame_block_columnwise(self.sds, self.df)
+        self.assertEqual(fb_arrow.getNumRows(), fb_cols.getNumRows())
+        self.assertEqual(fb_arrow.getNumColumns(), fb_cols.getNumColumns())
+        for j in range(fb_cols.getNumColumns()):
+            self.assertEqual(
+                str(fb_arrow.getSchema()[j]), str(fb_cols.getSchema()[j])
+            )
+            for i in range(self.n_rows):
+                self.assertEqual(fb_arrow.get(i, j), fb_cols.get(i, j))
+
+    def test_from_frame_block_both_paths(self):
+        df = self.df
+        fb = converters._pandas_to_frame_block_columnwise(self.sds, df)
+        jvm = self.sds.java_gateway.jvm
+        ret_arrow = converters._frame_block_to_pandas_arrow(jvm, fb)
+        ret_cols = converters._frame_block_to_pandas_columnwise(fb)
+        pd.testing.assert_frame_equal(ret_arrow, ret_cols, check_dtype=False)
+        pd.testing.assert_frame_equal(df, ret_cols, check_dtype=False)
+
+    def test_from_frame_block_fallback(self):
+        fb = converters.pandas_to_frame_block(self.sds, self.df)
+        failing = mock.Mock(side_effect=converters.pa.ArrowInvalid("unsupported"))
+        with mock.patch.object(converters, "_frame_block_to_pandas_arrow", failing):
+            ret = converters.frame_block_to_pandas(self.sds, fb)
+        failing.assert_called_once()
+        pd.testing.assert_frame_equal(
+            converters._frame_block_to_pandas_columnwise(fb), ret
+        )
+
+    def test_to_frame_block_fallback(self):
+        failing = mock.Mock(side_effect=converters.pa.ArrowInvalid("unsupported"))
+        with mock.patch.object(converters, "_pandas_to_frame_block_arrow", failing):
+            fb = converters.pandas_to_frame_block(self.sds, self.df)
+        failing.assert_called_once()
+        self.assertEqual(self.n_rows, fb.getNumRows())
+        self.assertEqual(self.df.shape[1], fb.getNumColumns())
+
+
+if __name__ == "__main__":
+    unittest.main(exit=False)
@@ -19,6 +19,7 @@
 
 package org.apache.sysds.performance;
 
+import org.apache.sysds.performance.compression.CoCodePerf;
 import org.apache.sysds.performance.compression.IOBandwidth;
 import org.apache.sysds.performance.compression.SchemaTest;
 import org.apache.sysds.performance.compression.Serialize;
@@ -110,6 +111,9 @@ public class Main {
 			case 17: 
 				run17(args);
 				break;
+			case 18:
+				run18(args);
+				break;
 			case 1000:
 				run1000(args);
 				break;
@@ -226,6 +230,16 @@ public class Main {
 		new MatrixReplacePerf(100, g, k).run();
 	}
 
+	private static void run18(String[] args) throws Exception {
+		// ... <rows> <features> <categories> <k> <repetitions>
+		int rows = Integer.parseInt(args[1]);
+		int features = Integer.parseInt(args[2]);
+		int categories = Integer.parseInt(args[3]);
+		int k = Integer.parseInt(args[4]);
+		int n = Integer.parseInt(args[5]);
+		new CoCodePerf(n, CoCodePerf.oneHot(rows, features, categories, 42), k).run();
+	}
+
 	private static void run1000(String[] args) {
 		MatrixMulPerformance perf;
 		if (args.length < 3) {
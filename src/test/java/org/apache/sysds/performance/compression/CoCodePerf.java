@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance.compression;
+
+import java.util.Random;
+
+import org.apache.sysds.performance.generators.ConstMatrix;
+import org.apache.sysds.performance.generators.IGenerate;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
+import org.apache.sysds.runtime.compress.cocode.CoCoderFactory.PartitionerType;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Compression planning performance on wide inputs, comparing co-coding strategies, parallelization degrees and
+ * planning time budgets.
+ */
+public class CoCodePerf extends APerfTest<Object, MatrixBlock> {
+
+	private final int k;
+
+	public CoCodePerf(int N, IGenerate<MatrixBlock> gen, int k) {
+		super(N, gen);
+		this.k = k;
+	}
+
+	public void run() throws Exception, InterruptedException {
+		System.out.println(this);
+		execute(() -> compress(PartitionerType.STATIC, 1, -1), "Static k=1");
+		execute(() -> compress(PartitionerType.PRIORITY_QUE, 1, -1), "PriorityQue k=1");
+		execute(() -> compress(PartitionerType.PRIORITY_QUE, k, -1), "PriorityQue k=" + k);
+		execute(() -> compress(PartitionerType.AUTO, 1, -1), "Auto k=1");
+		execute(() -> compress(PartitionerType.AUTO, k, -1), "Auto k=" + k);
+		execute(() -> compress(PartitionerType.AUTO, k, 1000), "Auto k=" + k + " budget=1s");
+		execute(() -> compress(PartitionerType.AUTO, k, 100), "Auto k=" + k + " budget=100ms");
+	}
+
+	private void compress(PartitionerType type, int k, double budget) {
+		CompressionSettingsBuilder csb = new CompressionSettingsBuilder().setColumnPartitioner(type)
+			.setCoCodeTimeBudget(budget);
+		MatrixBlock mb = CompressedMatrixBlockFactory.compress(gen.take(), k, csb).getLeft();
+		ret.add(mb instanceof CompressedMatrixBlock ? ((CompressedMatrixBlock) mb).getColGroups().size() : -1);
+	}
+
+	@Override
+	protected String makeResString() {
+		double groups = 0;
+		for(Object o : ret)
+			groups += (Integer) o;
+		return String.format("Groups: %8.1f", groups / ret.size());
+	}
+
+	/**
+	 * Create a one-hot encoded matrix with the given number of rows and features, where each feature has the given
+	 * number of distinct categories, resulting in features * categories columns.
+	 * 
+	 * @param rows       The number of rows
+	 * @param features   The number of categorical features
+	 * @param categories The number of categories per feature
+	 * @param seed       The seed for the random categories
+	 * @return A generator returning the one-hot encoded matrix
+	 */
+	public static IGenerate<MatrixBlock> oneHot(int rows, int features, int categories, int seed) {
+		MatrixBlock mb = new MatrixBlock(rows, features * categories, true);
+		mb.allocateSparseRowsBlock();
+		Random r = new Random(seed);
+		for(int i = 0; i < rows; i++)
+			for(int j = 0; j < features; j++)
+				mb.appendValue(i, j * categories + r.nextInt(categories), 1);
+		mb.recomputeNonZeros();
+		mb.examSparsity();
+		return new ConstMatrix(mb, 2);
+	}
+
+	@Override
+	public String toString() {
+		return super.toString() + String.format("%20s %d", "Threads:", k) + "\n";
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress.cocode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
+import org.apache.sysds.runtime.compress.cocode.CoCoderFactory.PartitionerType;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class CoCodeBudgetTest {
+
+	final PartitionerType type;
+	final MatrixBlock mb;
+
+	public CoCodeBudgetTest(PartitionerType type, int cols) {
+		this.type = type;
+		this.mb = TestUtils.ceil(TestUtils.generateTestMatrixBlock(1000, cols, 0, 3, 0.5, 7));
+	}
+
+	@Parameters(name = "{0}, {1}")
+	public static Collection<Object[]> data() {
+		List<Object[]> tests = new ArrayList<>();
+		for(PartitionerType t : new PartitionerType[] {PartitionerType.GREEDY, PartitionerType.PRIORITY_QUE,
+			PartitionerType.AUTO}) {
+			tests.add(new Object[] {t, 20});
+			tests.add(new Object[] {t, 200});
+		}
+		return tests;
+	}
+
+	@Test
+	public void parallelEqualsSingleThreaded() {
+		CompressedMatrixBlock s = compress(1, -1);
+		CompressedMatrixBlock p = compress(4, -1);
+		assertEquals(s.getColGroups().size(), p.getColGroups().size());
+		TestUtils.compareMatricesBitAvgDistance(mb, p, 0, 0, "parallel cocode");
+	}
+
+	@Test
+	public void budgetExceeded() {
+		CompressedMatrixBlock full = compress(1, -1);
+		CompressedMatrixBlock budget = compress(1, 1e-9);
+		// with an exceeded budget no columns are joined
+		assertTrue(budget.getColGroups().size() >= full.getColGroups().size());
+		TestUtils.compareMatricesBitAvgDistance(mb, budget, 0, 0, "budget cocode");
+	}
+
+	@Test
+	public void budgetExceededParallel() {
+		CompressedMatrixBlock budget = compress(4, 1e-9);
+		TestUtils.compareMatricesBitAvgDistance(mb, budget, 0, 0, "budget cocode");
+	}
+
+	private CompressedMatrixBlock compress(int k, double budget) {
+		try {
+			CompressionSettingsBuilder csb = new CompressionSettingsBuilder().setColumnPartitioner(type)
+				.setCoCodeTimeBudget(budget).setSeed(13).setMinimumCompressionRatio(0);
+			MatrixBlock ret = CompressedMatrixBlockFactory.compress(mb, k, csb).getLeft();
+			if(!(ret instanceof CompressedMatrixBlock))
+				fail("Input was not compressed");
+			return (CompressedMatrixBlock) ret;
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+			return null;
+		}
+	}
+}
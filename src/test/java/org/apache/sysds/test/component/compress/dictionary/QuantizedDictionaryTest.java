@@ -0,0 +1,315 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress.dictionary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Random;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.AQuantizedDictionary;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.DictionaryFactory;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.FP16Dictionary;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.IDictionary;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.QDictionary;
+import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
+import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class QuantizedDictionaryTest {
+
+	private static final int nVals = 50;
+	private static final int nCol = 4;
+
+	@Test
+	public void fp16ExactValues() {
+		final float[] exact = new float[] {0f, -0f, 1f, -2.5f, 0.333251953125f, 65504f, 0x1p-24f, 0x1p-14f, -1000.5f};
+		for(float f : exact)
+			assertEquals(f, FP16Dictionary.toFloat(FP16Dictionary.toHalf(f)), 0.0);
+	}
+
+	@Test
+	public void fp16Special() {
+		assertTrue(Float.isNaN(FP16Dictionary.toFloat(FP16Dictionary.toHalf(Float.NaN))));
+		assertEquals(Float.POSITIVE_INFINITY, FP16Dictionary.toFloat(FP16Dictionary.toHalf(65520f)), 0.0);
+		assertEquals(Float.NEGATIVE_INFINITY, FP16Dictionary.toFloat(FP16Dictionary.toHalf(-1e6f)), 0.0);
+		assertEquals(0f, FP16Dictionary.toFloat(FP16Dictionary.toHalf(1e-9f)), 0.0);
+		// ties round to even
+		assertEquals(2048f, FP16Dictionary.toFloat(FP16Dictionary.toHalf(2049f)), 0.0);
+		assertEquals(2052f, FP16Dictionary.toFloat(FP16Dictionary.toHalf(2051f)), 0.0);
+	}
+
+	@Test
+	public void fp16RelativeError() {
+		final Random r = new Random(13);
+		for(int i = 0; i < 10000; i++) {
+			final float f = (float) ((r.nextDouble() - 0.5) * Math.pow(10, r.nextInt(8) - 3));
+			final float h = FP16Dictionary.toFloat(FP16Dictionary.toHalf(f));
+			if(Math.abs(f) > 0x1p-14f)
+				assertEquals(f, h, Math.abs(f) * 0x1p-11);
+		}
+	}
+
+	@Test
+	public void int8ErrorBound() {
+		final double[] values = values(1);
+		final QDictionary d = QDictionary.create(values, nCol, 0.01);
+		assertNotNull(d);
+		assertTrue(d.getMaxRelativeError(values) <= 0.01);
+		verifyBound(values, d, 0.01);
+	}
+
+	@Test
+	public void int8PositiveRange() {
+		final double[] values = values(2);
+		for(int i = 0; i < values.length; i++)
+			values[i] += 1000;
+		final QDictionary d = QDictionary.create(values, nCol, 0.0001);
+		assertNotNull(d);
+		verifyBound(values, d, 0.0001);
+	}
+
+	@Test
+	public void int8KeepsZero() {
+		final double[] values = values(3);
+		values[0] = 0;
+		values[nCol + 1] = 0;
+		final QDictionary d = QDictionary.create(values, nCol, 0.01);
+		assertEquals(0, d.getValue(0), 0.0);
+		assertEquals(0, d.getValue(1, 1, nCol), 0.0);
+	}
+
+	@Test
+	public void int8ConstantColumn() {
+		final double[] values = new double[nVals * nCol];
+		for(int i = 0; i < values.length; i++)
+			values[i] = i % nCol == 2 ? 3.25 : i;
+		final QDictionary d = QDictionary.create(values, nCol, 0.01);
+		for(int k = 0; k < nVals; k++)
+			assertEquals(3.25, d.getValue(k, 2, nCol), 0.0);
+	}
+
+	@Test
+	public void nonFinite() {
+		final double[] values = values(4);
+		values[3] = Double.NaN;
+		assertNull(QDictionary.create(values, nCol, 1));
+		assertNull(FP16Dictionary.create(values, nCol, 1));
+		values[3] = 1e10;
+		assertNull(FP16Dictionary.create(values, nCol, 1));
+	}
+
+	@Test
+	public void factoryFallback() {
+		final IDictionary d = Dictionary.create(values(5));
+		assertSame(d, DictionaryFactory.quantize(d, nCol, 1e-9));
+	}
+
+	@Test
+	public void factoryInt8() {
+		final double[] values = values(6);
+		final IDictionary q = DictionaryFactory.quantize(Dictionary.create(values), nCol, 0.01);
+		assertTrue(q instanceof QDictionary);
+		verifyBound(values, (AQuantizedDictionary) q, 0.01);
+	}
+
+	@Test
+	public void factoryFP16() {
+		final double[] values = values(7);
+		final IDictionary q = DictionaryFactory.quantize(Dictionary.create(values), nCol, 0.001);
+		assertTrue(q instanceof FP16Dictionary);
+		verifyBound(values, (AQuantizedDictionary) q, 0.001);
+	}
+
+	@Test
+	public void serializeInt8() throws IOException {
+		serialize(QDictionary.create(values(8), nCol, 0.01));
+	}
+
+	@Test
+	public void readLegacyInt8() throws IOException {
+		// previous layout: type, single scale, number of values, codes
+		final byte[] codes = new byte[] {0, 1, -1, 127, -128, 5};
+		final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		final DataOutputStream fos = new DataOutputStream(bos);
+		fos.writeByte(DictionaryFactory.Type.INT8_DICT.ordinal());
+		fos.writeDouble(0.5);
+		fos.writeInt(codes.length);
+		fos.write(codes);
+		final IDictionary d = DictionaryFactory.read(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		assertEquals(codes.length, d.getValues().length);
+		for(int i = 0; i < codes.length; i++)
+			assertEquals(codes[i] * 0.5, d.getValue(i), 0.0);
+	}
+
+	@Test
+	public void serializeInt8TypeId() throws IOException {
+		final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		QDictionary.create(values(17), nCol, 0.01).write(new DataOutputStream(bos));
+		assertEquals(DictionaryFactory.Type.INT8_SCALED_DICT.ordinal(), bos.toByteArray()[0]);
+	}
+
+	@Test
+	public void serializeFP16() throws IOException {
+		serialize(FP16Dictionary.create(values(9), nCol, 0.01));
+	}
+
+	@Test
+	public void operationsInt8() {
+		compareOperations(QDictionary.create(values(10), nCol, 0.01));
+	}
+
+	@Test
+	public void operationsFP16() {
+		compareOperations(FP16Dictionary.create(values(11), nCol, 0.01));
+	}
+
+	@Test
+	public void compressedLeftMultiply() {
+		final Random r = new Random(12);
+		final int nRows = 2000;
+		final MatrixBlock emb = TestUtils.generateTestMatrixBlock(30, 8, -1, 1, 1.0, 14);
+		final MatrixBlock mb = new MatrixBlock(nRows, 8, false);
+		mb.allocateDenseBlock();
+		for(int i = 0; i < nRows; i++) {
+			final int e = r.nextInt(30);
+			for(int j = 0; j < 8; j++)
+				mb.set(i, j, emb.get(e, j));
+		}
+		mb.recomputeNonZeros();
+
+		final CompressionSettingsBuilder cs = new CompressionSettingsBuilder().setLossy(true).setLossyMaxError(0.01)
+			.setValidCompressions(EnumSet.of(CompressionType.DDC)).setMaxColGroupCoCode(8);
+		final MatrixBlock cmb = CompressedMatrixBlockFactory.compress(mb, 1, cs).getLeft();
+		assertTrue(cmb instanceof CompressedMatrixBlock);
+		boolean quantized = false;
+		for(AColGroup g : ((CompressedMatrixBlock) cmb).getColGroups())
+			quantized |= g instanceof ColGroupDDC &&
+				((ColGroupDDC) g).getDictionary() instanceof AQuantizedDictionary;
+		assertTrue(quantized);
+
+		// values are in [-1, 1] so the error bound is absolute
+		((CompressedMatrixBlock) cmb).clearSoftReferenceToDecompressed();
+		final MatrixBlock dmb = ((CompressedMatrixBlock) cmb).decompress();
+		TestUtils.compareMatrices(mb, dmb, 0.01, "decompress");
+
+		// the dequantization on the fly has to match the multiplication with the decompressed values
+		final MatrixBlock left = TestUtils.generateTestMatrixBlock(10, nRows, 0, 1, 1.0, 15);
+		final AggregateBinaryOperator abop = InstructionUtils.getMatMultOperator(1);
+		final MatrixBlock exp = dmb.aggregateBinaryOperations(left, dmb, new MatrixBlock(), abop);
+		final MatrixBlock ret = cmb.aggregateBinaryOperations(left, cmb, new MatrixBlock(), abop);
+		TestUtils.compareMatrices(exp, ret, 1e-8, "left multiply");
+	}
+
+	private static double[] values(int seed) {
+		final Random r = new Random(seed);
+		final double[] values = new double[nVals * nCol];
+		for(int i = 0; i < values.length; i++)
+			values[i] = (r.nextDouble() - 0.3) * (i % nCol + 1);
+		return values;
+	}
+
+	private static void verifyBound(double[] values, AQuantizedDictionary d, double maxError) {
+		final double[] maxAbs = new double[nCol];
+		for(int i = 0; i < values.length; i++)
+			maxAbs[i % nCol] = Math.max(maxAbs[i % nCol], Math.abs(values[i]));
+		for(int i = 0; i < values.length; i++)
+			assertEquals(values[i], d.getValue(i), maxError * maxAbs[i % nCol]);
+	}
+
+	private static void serialize(AQuantizedDictionary d) throws IOException {
+		final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		final DataOutputStream fos = new DataOutputStream(bos);
+		d.write(fos);
+		assertEquals(d.getExactSizeOnDisk(), fos.size());
+		final IDictionary n = DictionaryFactory.read(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		assertEquals(d.getClass(), n.getClass());
+		assertTrue(d.equals(n));
+	}
+
+	private static void compareOperations(AQuantizedDictionary q) {
+		final Dictionary d = q.decompress();
+		final IColIndex cols = ColIndexFactory.create(nCol);
+		final int[] counts = new int[nVals];
+		for(int i = 0; i < nVals; i++)
+			counts[i] = i + 1;
+
+		TestUtils.compareMatrices(d.sumAllRowsToDouble(nCol), q.sumAllRowsToDouble(nCol), 1e-10);
+		assertEquals(d.sum(counts, nCol), q.sum(counts, nCol), 1e-8);
+
+		final double[] cse = new double[nCol];
+		final double[] csa = new double[nCol];
+		d.colSum(cse, counts, cols);
+		q.colSum(csa, counts, cols);
+		TestUtils.compareMatrices(cse, csa, 1e-8);
+
+		final double[] me = new double[nCol * 2];
+		final double[] ma = new double[nCol * 2];
+		d.multiplyScalar(3.0, me, nCol, 7, cols);
+		q.multiplyScalar(3.0, ma, nCol, 7, cols);
+		d.addToEntry(me, 3, 0, nCol);
+		q.addToEntry(ma, 3, 0, nCol);
+		TestUtils.compareMatrices(me, ma, 1e-10);
+
+		final double[] b = new double[nCol * 3];
+		for(int i = 0; i < b.length; i++)
+			b[i] = i - 4;
+		final IColIndex agg = ColIndexFactory.create(3);
+		TestUtils.compareMatrices(d.preaggValuesFromDense(nVals, cols, agg, b, 3).getValues(),
+			q.preaggValuesFromDense(nVals, cols, agg, b, 3).getValues(), 1e-10);
+
+		TestUtils.compareMatrices(d.sliceOutColumnRange(1, 3, nCol).getValues(),
+			q.sliceOutColumnRange(1, 3, nCol).getValues(), 0.0);
+
+		final int nRows = 5;
+		final MatrixBlock preAgg = TestUtils.generateTestMatrixBlock(nRows, nVals, -1, 1, 1.0, 16);
+		final MatrixBlock exp = new MatrixBlock(nRows, nCol + 2, false);
+		exp.allocateDenseBlock();
+		final MatrixBlock ret = new MatrixBlock(nRows, nCol + 2, false);
+		ret.allocateDenseBlock();
+		final IColIndex outCols = ColIndexFactory.create(1, nCol + 1);
+		final double[] pv = preAgg.getDenseBlockValues();
+		for(int r = 0; r < nRows; r++)
+			for(int k = 0; k < nVals; k++)
+				d.multiplyScalar(pv[r * nVals + k], exp.getDenseBlockValues(), r * (nCol + 2), k, outCols);
+		q.MMPreAggDense(pv, nRows, outCols, ret.getDenseBlockValues(), 0, nCol + 2);
+		TestUtils.compareMatrices(exp.getDenseBlockValues(), ret.getDenseBlockValues(), 1e-10);
+	}
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.compress.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.io.ReaderCompressed;
+import org.apache.sysds.runtime.compress.io.ReaderCompressedIndexed;
+import org.apache.sysds.runtime.compress.io.WriterCompressed;
+import org.apache.sysds.runtime.compress.io.WriterCompressedIndexed;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.IndexRange;
+import org.apache.sysds.test.TestUtils;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class IOIndexedTest {
+
+	final static String nameBeginning = "target/testTemp/component/compress/io/" + IOIndexedTest.class.getSimpleName()
+		+ "/";
+
+	public IOIndexedTest() {
+		synchronized(IOCompressionTestUtils.lock) {
+			new File(nameBeginning).mkdirs();
+		}
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		IOCompressionTestUtils.deleteDirectory(new File(nameBeginning));
+	}
+
+	@Test
+	public void writeAndRead() throws Exception {
+		MatrixBlock mb = TestUtils.ceil(TestUtils.generateTestMatrixBlock(1000, 20, 1, 5, 1.0, 2514));
+		String n = write(mb);
+		try(ReaderCompressedIndexed r = ReaderCompressedIndexed.open(n)) {
+			assertEquals(1000, r.getNumRows());
+			assertEquals(20, r.getNumColumns());
+			assertEquals(0, r.getNumReadColGroups());
+			compare(mb, r.read(1));
+			assertEquals(r.getNumColGroups(), r.getNumReadColGroups());
+		}
+	}
+
+	@Test
+	public void writeAndReadParallel() throws Exception {
+		MatrixBlock mb = TestUtils.ceil(TestUtils.generateTestMatrixBlock(1000, 20, 1, 5, 0.3, 231));
+		String n = write(mb);
+		try(ReaderCompressedIndexed r = ReaderCompressedIndexed.open(n)) {
+			compare(mb, r.read(4));
+		}
+	}
+
+	@Test
+	public void writeAndReadNotCompressible() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(50, 40, 0, 1, 1.0, 33);
+		String n = write(mb);
+		try(ReaderCompressedIndexed r = ReaderCompressedIndexed.open(n)) {
+			assertTrue(r.getNumColGroups() > 1);
+			compare(mb, r.read(2));
+		}
+	}
+
+	@Test
+	public void sliceColumnsOnlyReadsNeededGroups() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(50, 40, 0, 1, 1.0, 33);
+		String n = write(mb);
+		try(ReaderCompressedIndexed r = ReaderCompressedIndexed.open(n)) {
+			compare(mb.slice(0, 49, 3, 7), r.sliceColumns(3, 7, 1));
+			assertTrue(r.getNumReadColGroups() < r.getNumColGroups());
+		}
+	}
+
+	@Test
+	public void sliceColumnsCompressed() throws Exception {
+		MatrixBlock mb = TestUtils.ceil(TestUtils.generateTestMatrixBlock(1000, 20, 1, 5, 1.0, 2514));
+		String n = write(mb);
+		try(ReaderCompressedIndexed r = ReaderCompressedIndexed.open(n)) {
+			compare(mb.slice(0, 999, 5, 12), r.sliceColumns(5, 12, 4));
+			compare(mb.slice(0, 999, 19, 19), r.sliceColumns(19, 19, 1));
+			compare(mb, r.sliceColumns(0, 19, 1));
+		}
+	}
+
+	@Test
+	public void readThroughReaderCompressed() throws Exception {
+		MatrixBlock mb = TestUtils.ceil(TestUtils.generateTestMatrixBlock(1000, 20, 1, 5, 1.0, 2514));
+		String n = write(mb);
+		assertTrue(ReaderCompressedIndexed.isIndexedFormat(n));
+		compare(mb, ReaderCompressed.readCompressedMatrixFromHDFS(n, 1000, 20, 1000));
+	}
+
+	@Test
+	public void readRangeThroughReaderCompressed() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(50, 40, 0, 1, 1.0, 33);
+		String n = write(mb);
+		ReaderCompressed r = new ReaderCompressed(2);
+		compare(mb.slice(0, 49, 3, 7), r.readMatrixFromHDFS(n, 50, 40, 1000, -1, new IndexRange(0, 49, 3, 7)));
+		TestUtils.compareMatrices(mb.slice(10, 20, 30, 39),
+			r.readMatrixFromHDFS(n, 50, 40, 1000, -1, new IndexRange(10, 20, 30, 39)), 0, "row and column range");
+	}
+
+	@Test
+	public void readRangeReusesOpenReader() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(50, 40, 0, 1, 1.0, 33);
+		String n = write(mb);
+		ReaderCompressed r = new ReaderCompressed(1);
+		compare(mb.slice(0, 49, 3, 7), r.readMatrixFromHDFS(n, 50, 40, 1000, -1, new IndexRange(0, 49, 3, 7)));
+		try(ReaderCompressedIndexed ri = ReaderCompressedIndexed.get(n)) {
+			// the cached reader released the groups of the previous range read
+			assertEquals(0, ri.getNumReadColGroups());
+			assertSame(ri, ReaderCompressedIndexed.get(n));
+			ri.close();
+		}
+		assertTrue(ReaderCompressedIndexed.getNumCachedReaders() <= ReaderCompressedIndexed.READER_CACHE_SIZE);
+
+		// overwriting the file invalidates the cached reader
+		MatrixBlock mb2 = TestUtils.generateTestMatrixBlock(50, 40, 2, 3, 1.0, 34);
+		WriterCompressedIndexed.write(mb2, n, 1);
+		compare(mb2.slice(0, 49, 3, 7), r.readMatrixFromHDFS(n, 50, 40, 1000, -1, new IndexRange(0, 49, 3, 7)));
+	}
+
+	@Test
+	public void writeThroughWriterCompressedIndexedConfig() throws Exception {
+		MatrixBlock mb = TestUtils.ceil(TestUtils.generateTestMatrixBlock(1000, 20, 1, 5, 1.0, 2514));
+		String n = IOCompressionTestUtils.getName(nameBeginning);
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.COMPRESSED_IO_INDEXED, "true");
+		try {
+			ConfigurationManager.setLocalConfig(conf);
+			WriterCompressed.writeCompressedMatrixToHDFS(mb, n, 100);
+		}
+		finally {
+			ConfigurationManager.clearLocalConfigs();
+		}
+		assertTrue(ReaderCompressedIndexed.isIndexedFormat(n));
+		compare(mb, ReaderCompressed.readCompressedMatrixFromHDFS(n, 1000, 20, 100));
+	}
+
+	@Test
+	public void writeDefaultNotIndexed() throws Exception {
+		MatrixBlock mb = TestUtils.ceil(TestUtils.generateTestMatrixBlock(1000, 20, 1, 5, 1.0, 2514));
+		String n = IOCompressionTestUtils.getName(nameBeginning);
+		WriterCompressed.writeCompressedMatrixToHDFS(mb, n, 100);
+		assertFalse(ReaderCompressedIndexed.isIndexedFormat(n));
+		TestUtils.compareMatrices(mb.slice(0, 999, 2, 5), new ReaderCompressed(1).readMatrixFromHDFS(n, 1000, 20, 100,
+			-1, new IndexRange(0, 999, 2, 5)), 0, "sequence file range read");
+	}
+
+	@Test
+	public void notIndexedFormat() throws Exception {
+		assertFalse(ReaderCompressedIndexed.isIndexedFormat(nameBeginning + "doesNotExist"));
+	}
+
+	private static String write(MatrixBlock mb) throws Exception {
+		String n = IOCompressionTestUtils.getName(nameBeginning);
+		WriterCompressedIndexed.write(mb, n, 4);
+		return n;
+	}
+
+	private static void compare(MatrixBlock exp, MatrixBlock ret) {
+		assertTrue(ret instanceof CompressedMatrixBlock);
+		assertEquals(exp.getNumRows(), ret.getNumRows());
+		assertEquals(exp.getNumColumns(), ret.getNumColumns());
+		TestUtils.compareMatrices(exp, ret, 0, "indexed compressed");
+	}
+}
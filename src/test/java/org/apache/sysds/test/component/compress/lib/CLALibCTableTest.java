@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress.lib;
+
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupConst;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
+import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+import org.apache.sysds.runtime.functionobjects.CM;
+import org.apache.sysds.runtime.functionobjects.KahanPlus;
+import org.apache.sysds.runtime.matrix.data.CTableMap;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysds.runtime.matrix.operators.CMOperator;
+import org.apache.sysds.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.LongLongDoubleHashMap.EntryType;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class CLALibCTableTest {
+
+	final int nRows;
+	final int nUnique;
+	final CompressedMatrixBlock cA;
+	final MatrixBlock uA;
+	final CompressedMatrixBlock cB;
+	final MatrixBlock uB;
+	final MatrixBlock w;
+
+	public CLALibCTableTest(int nRows, int nUnique, int seed) {
+		this.nRows = nRows;
+		this.nUnique = nUnique;
+		cA = create(nRows, nUnique, seed);
+		uA = cA.getUncompressed();
+		cB = create(nRows, 3, seed + 1);
+		uB = cB.getUncompressed();
+		w = TestUtils.generateTestMatrixBlock(nRows, 1, 0, 10, 1.0, seed + 2);
+	}
+
+	@Parameters(name = "{0}, {1}")
+	public static Collection<Object[]> data() {
+		List<Object[]> tests = new ArrayList<>();
+		try {
+			tests.add(new Object[] {100, 1, 1});
+			tests.add(new Object[] {100, 4, 2});
+			tests.add(new Object[] {1000, 10, 3});
+			tests.add(new Object[] {100000, 32, 4});
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			fail("failed constructing tests");
+		}
+		return tests;
+	}
+
+	@Test
+	public void histogram() {
+		MatrixBlock exp = ctableHist(uA, null);
+		MatrixBlock ret = ctableHist(cA, null);
+		compare(exp, ret);
+	}
+
+	@Test
+	public void histogramDenseResult() {
+		MatrixBlock exp = new MatrixBlock(nUnique, 2, false);
+		uA.ctableOperations(null, 2, 1.5, null, exp);
+		MatrixBlock ret = new MatrixBlock(nUnique, 2, false);
+		cA.ctableOperations(null, 2, 1.5, null, ret);
+		compare(exp, ret);
+	}
+
+	@Test
+	public void weightedHistogram() {
+		MatrixBlock exp = ctableHist(uA, w);
+		MatrixBlock ret = ctableHist(cA, w);
+		compare(exp, ret);
+	}
+
+	@Test
+	public void weightedHistogramNaN() {
+		MatrixBlock wn = new MatrixBlock(nRows, 1, false);
+		wn.copy(w);
+		wn.set(0, 0, Double.NaN);
+		MatrixBlock exp = ctableHist(uA, wn);
+		MatrixBlock ret = ctableHist(cA, wn);
+		compare(exp, ret);
+	}
+
+	@Test
+	public void twoCompressedInputs() {
+		CTableMap expMap = new CTableMap(EntryType.INT);
+		uA.ctableOperations(null, uB, 1.0, false, expMap, null);
+		CTableMap retMap = new CTableMap(EntryType.INT);
+		cA.ctableOperations(null, cB, 1.0, false, retMap, null);
+		compare(DataConverter.convertToMatrixBlock(expMap), DataConverter.convertToMatrixBlock(retMap));
+	}
+
+	@Test
+	public void twoCompressedInputsWeighted() {
+		CTableMap expMap = new CTableMap(EntryType.INT);
+		uA.ctableOperations(null, uB, w, expMap, null);
+		CTableMap retMap = new CTableMap(EntryType.INT);
+		cA.ctableOperations(null, cB, w, retMap, null);
+		compare(DataConverter.convertToMatrixBlock(expMap), DataConverter.convertToMatrixBlock(retMap));
+	}
+
+	@Test
+	public void oneCompressedInput() {
+		CTableMap expMap = new CTableMap(EntryType.INT);
+		uA.ctableOperations(null, uB, 1.0, false, expMap, null);
+		CTableMap retMap = new CTableMap(EntryType.INT);
+		cA.ctableOperations(null, uB, 1.0, false, retMap, null);
+		compare(DataConverter.convertToMatrixBlock(expMap), DataConverter.convertToMatrixBlock(retMap));
+	}
+
+	@Test
+	public void groupedSum() {
+		AggregateOperator op = new AggregateOperator(0, KahanPlus.getKahanPlusFnObject());
+		MatrixBlock exp = uA.groupedAggOperations(w, null, new MatrixBlock(), -1, op, 1);
+		MatrixBlock ret = cA.groupedAggOperations(w, null, new MatrixBlock(), -1, op, 4);
+		compare(exp, ret);
+	}
+
+	@Test
+	public void groupedSumWeighted() {
+		AggregateOperator op = new AggregateOperator(0, KahanPlus.getKahanPlusFnObject());
+		MatrixBlock exp = uA.groupedAggOperations(w, uB, new MatrixBlock(), nUnique, op, 1);
+		MatrixBlock ret = cA.groupedAggOperations(w, uB, new MatrixBlock(), nUnique, op, 4);
+		compare(exp, ret);
+	}
+
+	@Test
+	public void groupedCount() {
+		CMOperator op = new CMOperator(CM.getCMFnObject(AggregateOperationTypes.COUNT), AggregateOperationTypes.COUNT);
+		MatrixBlock exp = uA.groupedAggOperations(w, null, new MatrixBlock(), -1, op, 1);
+		MatrixBlock ret = cA.groupedAggOperations(w, null, new MatrixBlock(), -1, op, 1);
+		compare(exp, ret);
+	}
+
+	@Test
+	public void groupedCountLessGroups() {
+		CMOperator op = new CMOperator(CM.getCMFnObject(AggregateOperationTypes.COUNT), AggregateOperationTypes.COUNT);
+		int ngroups = Math.max(1, nUnique / 2);
+		MatrixBlock exp = uA.groupedAggOperations(w, null, new MatrixBlock(), ngroups, op, 1);
+		MatrixBlock ret = cA.groupedAggOperations(w, null, new MatrixBlock(), ngroups, op, 1);
+		compare(exp, ret);
+	}
+
+	@Test
+	public void invalidZeroGroup() {
+		CompressedMatrixBlock zero = create(nRows, nUnique, 13, 0);
+		assertThrows(DMLRuntimeException.class, () -> ctableHist(zero, null));
+	}
+
+	private static MatrixBlock ctableHist(MatrixBlock a, MatrixBlock w) {
+		CTableMap map = new CTableMap(EntryType.INT);
+		if(w == null)
+			a.ctableOperations(null, 1, 1.0, map, null);
+		else
+			a.ctableOperations(null, 1, w, map, null);
+		return DataConverter.convertToMatrixBlock(map);
+	}
+
+	private static void compare(MatrixBlock exp, MatrixBlock ret) {
+		TestUtils.compareMatrices(exp, ret, 1e-8, "ctable");
+	}
+
+	private static CompressedMatrixBlock create(int nRows, int nUnique, int seed) {
+		return create(nRows, nUnique, seed, 1);
+	}
+
+	private static CompressedMatrixBlock create(int nRows, int nUnique, int seed, int offset) {
+		final double[] values = new double[nUnique];
+		for(int i = 0; i < nUnique; i++)
+			values[i] = i + offset;
+		final AColGroup g;
+		if(nUnique == 1)
+			g = ColGroupConst.create(ColIndexFactory.create(1), values[0]);
+		else {
+			final AMapToData map = MapToFactory.create(nRows, nUnique);
+			final Random r = new Random(seed);
+			for(int i = 0; i < nRows; i++)
+				map.set(i, i < nUnique ? i : r.nextInt(nUnique));
+			g = ColGroupDDC.create(ColIndexFactory.create(1), Dictionary.create(values), map, null);
+		}
+		final CompressedMatrixBlock ret = new CompressedMatrixBlock(nRows, 1);
+		ret.allocateColGroup(g);
+		ret.recomputeNonZeros();
+		return ret;
+	}
+}
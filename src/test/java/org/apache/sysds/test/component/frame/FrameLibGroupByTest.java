@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.frame;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.lib.FrameLibGroupBy;
+import org.apache.sysds.runtime.matrix.data.LibMatrixGroupBy.AggFn;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class FrameLibGroupByTest {
+
+	@Test
+	public void stringAndLongKeys() {
+		FrameBlock in = new FrameBlock(new ValueType[] {ValueType.STRING, ValueType.INT64, ValueType.FP64},
+			new String[][] {{"a", "1", "1.0"}, {"b", "1", "2.0"}, {"a", "1", "3.0"}, {"a", "2", "4.0"},
+				{null, "1", "5.0"}});
+		FrameBlock ret = FrameLibGroupBy.groupBy(in, new int[] {0, 1}, new int[] {2, 2},
+			new AggFn[] {AggFn.SUM, AggFn.COUNT}, 1);
+		assertEquals(3, ret.getNumRows());
+		assertEquals(4, ret.getNumColumns());
+		assertEquals(ValueType.STRING, ret.getSchema()[0]);
+		assertEquals(ValueType.INT64, ret.getSchema()[1]);
+		assertEquals("a", ret.get(0, 0));
+		assertEquals(1L, ret.get(0, 1));
+		assertEquals(4.0, ret.get(0, 2));
+		assertEquals("b", ret.get(1, 0));
+		assertEquals(2.0, ret.get(1, 2));
+		assertEquals(1.0, ret.get(1, 3));
+		assertEquals(2L, ret.get(2, 1));
+		assertEquals("sum_" + in.getColumnName(2), ret.getColumnName(2));
+	}
+
+	@Test
+	public void parallelMatchesSingleThreaded() {
+		FrameBlock in = TestUtils.generateRandomFrameBlock(40000,
+			new ValueType[] {ValueType.BOOLEAN, ValueType.INT32, ValueType.FP64}, 7, 0.0);
+		for(int i = 0; i < in.getNumRows(); i++)
+			in.set(i, 1, Math.abs((Integer) in.get(i, 1)) % 100);
+		int[] by = new int[] {0, 1};
+		int[] cols = new int[] {2, 2, 2};
+		AggFn[] fns = new AggFn[] {AggFn.MEAN, AggFn.MIN, AggFn.VAR};
+		FrameBlock exp = FrameLibGroupBy.groupBy(in, by, cols, fns, 1);
+		FrameBlock ret = FrameLibGroupBy.groupBy(in, by, cols, fns, 8);
+		assertTrue(exp.getNumRows() <= 200);
+
+		// same groups in the same order of first occurrence, equal aggregates up to rounding
+		assertEquals(exp.getNumRows(), ret.getNumRows());
+		Map<String, Integer> seen = new HashMap<>();
+		for(int i = 0; i < exp.getNumRows(); i++) {
+			assertEquals(exp.get(i, 0), ret.get(i, 0));
+			assertEquals(exp.get(i, 1), ret.get(i, 1));
+			assertTrue(seen.put(exp.get(i, 0) + "_" + exp.get(i, 1), i) == null);
+			for(int j = 2; j < 5; j++)
+				assertEquals((Double) exp.get(i, j), (Double) ret.get(i, j), 1e-9);
+		}
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.frame;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Random;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
+import org.apache.sysds.runtime.frame.data.lib.FrameLibJoin;
+import org.apache.sysds.runtime.matrix.data.LibMatrixJoin.JoinType;
+import org.junit.Test;
+
+public class FrameLibJoinTest {
+
+	@Test
+	public void innerJoinStringKeys() {
+		FrameBlock a = new FrameBlock(new ValueType[] {ValueType.STRING, ValueType.INT64},
+			new String[][] {{"a", "1"}, {"b", "2"}, {"c", "3"}, {"a", "4"}});
+		FrameBlock b = new FrameBlock(new ValueType[] {ValueType.FP64, ValueType.STRING},
+			new String[][] {{"0.5", "a"}, {"1.5", "c"}, {"2.5", "a"}, {"3.5", null}});
+		FrameBlock ret = FrameLibJoin.join(a, b, new int[] {0}, new int[] {1}, JoinType.INNER, 1);
+		assertEquals(5, ret.getNumRows());
+		assertArrayEquals(new ValueType[] {ValueType.STRING, ValueType.INT64, ValueType.FP64, ValueType.STRING},
+			ret.getSchema());
+		assertRow(ret, 0, "a", 1L, 0.5, "a");
+		assertRow(ret, 1, "a", 1L, 2.5, "a");
+		assertRow(ret, 2, "c", 3L, 1.5, "c");
+		assertRow(ret, 3, "a", 4L, 0.5, "a");
+		assertRow(ret, 4, "a", 4L, 2.5, "a");
+	}
+
+	@Test
+	public void leftJoinNullsUnmatched() {
+		FrameBlock a = new FrameBlock(new ValueType[] {ValueType.INT32},
+			new String[][] {{"1"}, {"2"}, {"3"}});
+		FrameBlock b = new FrameBlock(new ValueType[] {ValueType.INT64, ValueType.FP64},
+			new String[][] {{"3", "0.3"}, {"1", "0.1"}});
+		FrameBlock ret = FrameLibJoin.join(a, b, new int[] {0}, new int[] {0}, JoinType.LEFT, 1);
+		assertEquals(3, ret.getNumRows());
+		assertEquals(0.1, ret.get(0, 2));
+		assertNull(ret.get(1, 1));
+		assertNull(ret.get(1, 2));
+		assertEquals(0.3, ret.get(2, 2));
+	}
+
+	@Test
+	public void semiJoinMixedNumericKeys() {
+		FrameBlock a = new FrameBlock(new ValueType[] {ValueType.FP64, ValueType.STRING},
+			new String[][] {{"1.0", "x"}, {"1.5", "y"}, {"2.0", "z"}});
+		FrameBlock b = new FrameBlock(new ValueType[] {ValueType.INT32},
+			new String[][] {{"2"}, {"1"}, {"2"}});
+		FrameBlock ret = FrameLibJoin.join(a, b, new int[] {0}, new int[] {0}, JoinType.SEMI, 1);
+		assertEquals(2, ret.getNumRows());
+		assertEquals(2, ret.getNumColumns());
+		assertEquals("x", ret.get(0, 1));
+		assertEquals("z", ret.get(1, 1));
+	}
+
+	@Test
+	public void parallelMultiKeyJoin() {
+		FrameBlock a = create(20000, 1);
+		FrameBlock b = create(700, 2);
+		a.setColumnNames(new String[] {"k1", "k2", "v"});
+		for(JoinType type : JoinType.values()) {
+			FrameBlock exp = FrameLibJoin.join(a, b, new int[] {0, 1}, new int[] {0, 1}, type, 1);
+			FrameBlock ret = FrameLibJoin.join(a, b, new int[] {0, 1}, new int[] {0, 1}, type, 8);
+			FrameBlock ret2 = FrameLibJoin.join(b, a, new int[] {0, 1}, new int[] {0, 1}, type, 8);
+			assertEquals(exp.getNumRows(), ret.getNumRows());
+			for(int i = 0; i < exp.getNumRows(); i++)
+				for(int j = 0; j < exp.getNumColumns(); j++)
+					assertEquals(exp.get(i, j), ret.get(i, j));
+			if(type == JoinType.INNER) {
+				// same pairs with swapped sides
+				assertEquals(exp.getNumRows(), ret2.getNumRows());
+				assertEquals("k1", ret.getColumnName(0));
+			}
+		}
+	}
+
+	private static FrameBlock create(int rows, int seed) {
+		Random r = new Random(seed);
+		String[] k1 = new String[rows];
+		long[] k2 = new long[rows];
+		double[] v = new double[rows];
+		for(int i = 0; i < rows; i++) {
+			k1[i] = r.nextInt(10) == 0 ? null : "k" + r.nextInt(20);
+			k2[i] = r.nextInt(5);
+			v[i] = r.nextDouble();
+		}
+		return new FrameBlock(new Array<?>[] {ArrayFactory.create(k1),
+			ArrayFactory.create(k2), ArrayFactory.create(v)});
+	}
+
+	private static void assertRow(FrameBlock fb, int r, Object... vals) {
+		for(int j = 0; j < vals.length; j++)
+			assertEquals(vals[j], fb.get(r, j));
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.frame;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
+import org.apache.sysds.runtime.frame.data.columns.DDCArray;
+import org.apache.sysds.runtime.frame.data.lib.FrameLibCompress;
+import org.apache.sysds.runtime.frame.data.lib.FrameLibMap;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.test.component.frame.compress.FrameCompressTestUtils;
+import org.junit.Test;
+
+public class FrameLibMapTest {
+
+	@Test
+	public void untypedMatchesRowMap() {
+		FrameBlock in = TestUtils.generateRandomFrameBlock(20000, new ValueType[] {ValueType.STRING,
+			ValueType.FP64, ValueType.INT64, ValueType.BOOLEAN}, 7, 0.1);
+		String expr = "x -> x.length() > 3 ? x.substring(0, 3) : x + \"_\"";
+		FrameBlock exp = in.map(FrameBlock.getCompiledFunction(expr, 0), 0);
+		for(int k : new int[] {1, 4}) {
+			FrameBlock ret = FrameLibMap.map(in, expr, k);
+			TestUtils.compareFrames(exp, ret, true);
+		}
+	}
+
+	@Test
+	public void typedDouble() {
+		FrameBlock in = new FrameBlock(new ValueType[] {ValueType.FP64, ValueType.INT32, ValueType.STRING},
+			new String[][] {{"1.5", "2", "3"}, {"-2", "4", "0.5"}});
+		FrameBlock ret = FrameLibMap.map(in, "(double x) -> x * 2", 2);
+		for(int j = 0; j < 3; j++)
+			assertEquals(ValueType.FP64, ret.getSchema()[j]);
+		assertEquals(3.0, ret.get(0, 0));
+		assertEquals(4.0, ret.get(0, 1));
+		assertEquals(1.0, ret.get(1, 2));
+	}
+
+	@Test
+	public void typedLongAndBooleanResult() {
+		FrameBlock in = new FrameBlock(new ValueType[] {ValueType.INT64}, new String[][] {{"3"}, {"10"}});
+		FrameBlock ret = FrameLibMap.map(in, "(long x) -> x / 2", 1);
+		assertEquals(ValueType.INT64, ret.getSchema()[0]);
+		assertEquals(5L, ret.get(1, 0));
+		ret = FrameLibMap.map(in, "(long x) -> x % 2 == 0", 1);
+		assertEquals(ValueType.BOOLEAN, ret.getSchema()[0]);
+		assertEquals(false, ret.get(0, 0));
+		assertEquals(true, ret.get(1, 0));
+	}
+
+	@Test
+	public void typedStringResult() {
+		FrameBlock in = new FrameBlock(new ValueType[] {ValueType.INT32}, new String[][] {{"3"}, {"10"}});
+		FrameBlock ret = FrameLibMap.map(in, "(int x) -> \"v\" + x", 1);
+		assertEquals(ValueType.STRING, ret.getSchema()[0]);
+		assertEquals("v10", ret.get(1, 0));
+	}
+
+	@Test
+	public void nullsArePreserved() {
+		FrameBlock opt = new FrameBlock(new Array<?>[] {ArrayFactory.allocateOptional(ValueType.FP64, 3)});
+		opt.set(0, 0, 1.0);
+		opt.set(2, 0, 3.0);
+		FrameBlock ret = FrameLibMap.map(opt, "(double x) -> x + 1", 1);
+		assertEquals(2.0, ret.get(0, 0));
+		assertNull(ret.get(1, 0));
+		assertEquals(4.0, ret.get(2, 0));
+		FrameBlock ret2 = FrameLibMap.map(opt, "x -> x + \"!\"", 1);
+		assertNull(ret2.get(1, 0));
+		assertEquals("3.0!", ret2.get(2, 0));
+	}
+
+	@Test
+	public void kernelCacheBounded() {
+		FrameBlock in = new FrameBlock(new ValueType[] {ValueType.STRING}, new String[][] {{"a"}});
+		for(int i = 0; i < FrameLibMap.KERNEL_CACHE_SIZE + 10; i++) {
+			FrameBlock ret = FrameLibMap.map(in, "x -> x + \"" + i + "\"", 1);
+			assertEquals("a" + i, ret.get(0, 0));
+		}
+		assertTrue(FrameLibMap.getNumCachedKernels() <= FrameLibMap.KERNEL_CACHE_SIZE);
+		// evicted kernels are compiled again
+		assertEquals("a0", FrameLibMap.map(in, "x -> x + \"0\"", 1).get(0, 0));
+	}
+
+	@Test
+	public void dictionaryEncodedColumns() {
+		FrameBlock in = FrameCompressTestUtils.generateCompressableBlock(5000, 3, 11, ValueType.STRING);
+		FrameBlock cin = FrameLibCompress.compressStrings(in, 2);
+		assertTrue(cin.getColumn(0) instanceof DDCArray);
+		for(String expr : new String[] {"x -> x.toUpperCase()", "(String x) -> x.length()"}) {
+			FrameBlock exp = FrameLibMap.map(in, expr, 1);
+			FrameBlock ret = FrameLibMap.map(cin, expr, 2);
+			assertTrue(ret.getColumn(0) instanceof DDCArray);
+			TestUtils.compareFrames(exp, ret, true);
+		}
+	}
+
+	@Test
+	public void dictionaryEncodedReplace() {
+		FrameBlock in = FrameCompressTestUtils.generateCompressableBlock(5000, 2, 13, ValueType.STRING);
+		FrameBlock cin = FrameLibCompress.compressStrings(in, 1);
+		int r = 0;
+		while(in.get(r, 1) == null)
+			r++;
+		String pattern = String.valueOf(in.get(r, 1));
+		FrameBlock exp = in.replaceOperations(pattern, "replaced");
+		FrameBlock ret = cin.replaceOperations(pattern, "replaced");
+		assertTrue(ret.getColumn(1) instanceof DDCArray);
+		assertEquals("replaced", ret.get(r, 1));
+		TestUtils.compareFrames(exp, ret, true);
+		// the input dictionary is not modified
+		TestUtils.compareFrames(in, cin, true);
+	}
+
+	@Test
+	public void invalidParameterType() {
+		FrameBlock in = new FrameBlock(new ValueType[] {ValueType.FP64}, new String[][] {{"1"}});
+		assertThrows(DMLRuntimeException.class, () -> FrameLibMap.map(in, "(float x) -> x", 1));
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.frame;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.lib.FrameLibSort;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class FrameLibSortTest {
+
+	@Test
+	public void stringOrderIsLexicographic() {
+		FrameBlock in = new FrameBlock(new ValueType[] {ValueType.STRING},
+			new String[][] {{"b"}, {"a10"}, {"a9"}, {"A"}});
+		FrameBlock ret = FrameLibSort.sort(in, new int[] {0}, new boolean[] {false}, 1);
+		assertEquals("A", ret.get(0, 0));
+		assertEquals("a10", ret.get(1, 0));
+		assertEquals("a9", ret.get(2, 0));
+		assertEquals("b", ret.get(3, 0));
+	}
+
+	@Test
+	public void multiKeyMixedOrder() {
+		FrameBlock in = new FrameBlock(new ValueType[] {ValueType.INT64, ValueType.STRING, ValueType.FP64},
+			new String[][] {{"3", "u1", "0.5"}, {"1", "u2", "1.5"}, {"3", "u2", "2.5"}, {"1", "u1", "3.5"}});
+		int[] ix = FrameLibSort.sortIndexes(in, new int[] {0, 1}, new boolean[] {true, false}, 1);
+		assertArrayEquals(new int[] {0, 2, 3, 1}, ix);
+		FrameBlock ret = FrameLibSort.sort(in, new int[] {0, 1}, new boolean[] {true, false}, 1);
+		assertEquals(0.5, ret.get(0, 2));
+		assertEquals(1.5, ret.get(3, 2));
+	}
+
+	@Test
+	public void stableForTies() {
+		FrameBlock in = new FrameBlock(new ValueType[] {ValueType.INT32, ValueType.INT32},
+			new String[][] {{"2", "0"}, {"1", "1"}, {"2", "2"}, {"1", "3"}, {"2", "4"}});
+		int[] ix = FrameLibSort.sortIndexes(in, new int[] {0}, new boolean[] {false}, 1);
+		assertArrayEquals(new int[] {1, 3, 0, 2, 4}, ix);
+	}
+
+	@Test
+	public void nullsLast() {
+		FrameBlock in = new FrameBlock(new ValueType[] {ValueType.STRING},
+			new String[][] {{"b"}, {null}, {"a"}});
+		int[] asc = FrameLibSort.sortIndexes(in, new int[] {0}, new boolean[] {false}, 1);
+		assertArrayEquals(new int[] {2, 0, 1}, asc);
+		int[] desc = FrameLibSort.sortIndexes(in, new int[] {0}, new boolean[] {true}, 1);
+		assertArrayEquals(new int[] {1, 0, 2}, desc);
+		assertNull(FrameLibSort.sort(in, new int[] {0}, new boolean[] {false}, 1).get(2, 0));
+	}
+
+	@Test
+	public void indexReturnOneBased() {
+		FrameBlock in = new FrameBlock(new ValueType[] {ValueType.FP64},
+			new String[][] {{"3.0"}, {"-1.0"}, {"2.0"}});
+		MatrixBlock ret = in.sortIndexes(new int[] {0}, new boolean[] {false}, 1);
+		assertEquals(3, ret.getNumRows());
+		assertEquals(2, ret.get(0, 0), 0);
+		assertEquals(3, ret.get(1, 0), 0);
+		assertEquals(1, ret.get(2, 0), 0);
+	}
+
+	@Test
+	public void parallelMatchesSingleThreaded() {
+		FrameBlock in = TestUtils.generateRandomFrameBlock(100000,
+			new ValueType[] {ValueType.BOOLEAN, ValueType.INT64, ValueType.STRING}, 13, 0.0);
+		int[] by = new int[] {0, 2, 1};
+		boolean[] desc = new boolean[] {false, true, false};
+		int[] exp = FrameLibSort.sortIndexes(in, by, desc, 1);
+		int[] ret = FrameLibSort.sortIndexes(in, by, desc, 8);
+		assertArrayEquals(exp, ret);
+
+		FrameBlock sorted = in.sortOperations(by, new boolean[] {true}, 8);
+		assertEquals(in.getNumRows(), sorted.getNumRows());
+		for(int i = 1; i < sorted.getNumRows(); i++) {
+			boolean b1 = (Boolean) sorted.get(i - 1, 0), b2 = (Boolean) sorted.get(i, 0);
+			assertTrue(Boolean.compare(b1, b2) >= 0);
+		}
+	}
+
+	@Test
+	public void invalidColumn() {
+		FrameBlock in = new FrameBlock(new ValueType[] {ValueType.STRING}, new String[][] {{"a"}});
+		assertThrows(DMLRuntimeException.class,
+			() -> FrameLibSort.sort(in, new int[] {1}, new boolean[] {false}, 1));
+		assertThrows(DMLRuntimeException.class,
+			() -> FrameLibSort.sort(in, new int[] {0}, new boolean[] {false, true}, 1));
+	}
+}
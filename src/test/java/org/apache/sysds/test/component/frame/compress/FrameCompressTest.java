@@ -19,6 +19,8 @@
 
 package org.apache.sysds.test.component.frame.compress;
 
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -33,6 +35,7 @@ import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.frame.data.columns.Array;
 import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
 import org.apache.sysds.runtime.frame.data.columns.ArrayFactory.FrameArrayType;
+import org.apache.sysds.runtime.frame.data.columns.DDCArray;
 import org.apache.sysds.runtime.frame.data.columns.StringArray;
 import org.apache.sysds.runtime.frame.data.compress.ArrayCompressionStatistics;
 import org.apache.sysds.runtime.frame.data.compress.CompressedFrameBlockFactory;
@@ -207,6 +210,21 @@ public class FrameCompressTest {
 		}
 	}
 
+	@Test
+	public void testCompressStrings() {
+		FrameBlock a = FrameCompressTestUtils.generateCompressableBlock(1000, 4, 4213, ValueType.STRING);
+		FrameBlock b = FrameLibCompress.compressStrings(a, 4);
+		for(int i = 0; i < b.getNumColumns(); i++)
+			assertTrue(b.getColumn(i) instanceof DDCArray);
+		TestUtils.compareFrames(a, b, true);
+	}
+
+	@Test
+	public void testCompressStringsHighCardinality() {
+		FrameBlock a = TestUtils.generateRandomFrameBlock(1000, new ValueType[] {ValueType.STRING, ValueType.FP64}, 32);
+		assertSame(a, FrameLibCompress.compressStrings(a, 1));
+	}
+
 	public void runTest(FrameBlock a, int k) {
 		try {
 			FrameBlock b = FrameLibCompress.compress(a, k);
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.frame.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.transform.encode.EncoderFactory;
+import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.runtime.transform.encode.RecodeMap;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class RecodeMapTest {
+
+	@Test
+	public void addAndLookup() {
+		RecodeMap map = new RecodeMap();
+		for(int i = 0; i < 10000; i++)
+			assertEquals(i + 1, map.add("k" + i));
+		for(int i = 0; i < 10000; i++)
+			assertEquals(i + 1, map.add("k" + i));
+		assertEquals(10000, map.size());
+		for(int i = 0; i < 10000; i++)
+			assertEquals(i + 1, map.getCode("k" + i));
+		assertEquals(-1, map.getCode("x"));
+		assertEquals(-1, map.getCode(null));
+		assertNull(map.get("x"));
+	}
+
+	@Test
+	public void mergeInInsertionOrder() {
+		RecodeMap a = new RecodeMap();
+		a.add("b");
+		a.add("a");
+		RecodeMap b = new RecodeMap();
+		b.add("c");
+		b.add("a");
+		b.add("d");
+		a.merge(b);
+		assertEquals(4, a.size());
+		assertEquals(2, a.getCode("a"));
+		assertEquals(3, a.getCode("c"));
+		assertEquals(4, a.getCode("d"));
+	}
+
+	@Test
+	public void sortAndMapSemantics() {
+		RecodeMap map = new RecodeMap();
+		map.add("z");
+		map.add("x");
+		map.add("y");
+		map.sort();
+		Map<Object, Long> exp = new HashMap<>();
+		exp.put("x", 1L);
+		exp.put("y", 2L);
+		exp.put("z", 3L);
+		assertEquals(exp, map);
+		assertEquals(map, new RecodeMap(exp));
+		assertEquals(Long.valueOf(2), map.put("y", 7L));
+		assertEquals(7, map.getCode("y"));
+	}
+
+	@Test
+	public void typedColumnsMatchStringTokens() {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(5000,
+			new ValueType[] {ValueType.INT32, ValueType.INT64, ValueType.FP64, ValueType.STRING}, 7);
+		for(int c = 0; c < fb.getNumColumns(); c++) {
+			// reduce the number of distinct values
+			for(int r = 0; r < fb.getNumRows(); r++)
+				fb.set(r, c, fb.get(r % 97, c));
+			Array<?> a = fb.getColumn(c);
+			RecodeMap map = new RecodeMap();
+			assertTrue(map.addDistinct(a, 0, fb.getNumRows()));
+
+			Map<String, Long> exp = new LinkedHashMap<>();
+			for(int r = 0; r < fb.getNumRows(); r++) {
+				String key = fb.getString(r, c);
+				if(key != null)
+					exp.putIfAbsent(key, (long) exp.size() + 1);
+			}
+			assertEquals(exp, map);
+
+			double[] codes = new double[fb.getNumRows() - 10];
+			assertTrue(map.getCodes(a, 10, fb.getNumRows(), codes));
+			for(int r = 10; r < fb.getNumRows(); r++) {
+				String key = fb.getString(r, c);
+				assertEquals(key == null ? Double.NaN : exp.get(key), codes[r - 10], 0);
+			}
+		}
+	}
+
+	@Test
+	public void typedLookupOfUnknownTokens() {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(100, new ValueType[] {ValueType.FP64}, 3);
+		RecodeMap map = new RecodeMap();
+		map.add("1");
+		map.add("abc");
+		map.add(fb.getString(5, 0));
+		double[] codes = new double[100];
+		assertTrue(map.getCodes(fb.getColumn(0), 0, 100, codes));
+		assertEquals(3, codes[5], 0);
+	}
+
+	@Test
+	public void encodeMultiThreaded() {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(100000,
+			new ValueType[] {ValueType.INT64, ValueType.FP64, ValueType.STRING}, 11);
+		for(int c = 0; c < fb.getNumColumns(); c++)
+			for(int r = 0; r < fb.getNumRows(); r++)
+				fb.set(r, c, fb.get(r % 1013, c));
+		String spec = "{recode:[C1,C2,C3]}";
+		MultiColumnEncoder e1 = EncoderFactory.createEncoder(spec, fb.getColumnNames(), fb.getNumColumns(), null);
+		MatrixBlock r1 = e1.encode(fb, 1);
+		MultiColumnEncoder e2 = EncoderFactory.createEncoder(spec, fb.getColumnNames(), fb.getNumColumns(), null);
+		MatrixBlock r2 = e2.encode(fb, 8);
+		TestUtils.compareMatricesBitAvgDistance(r1, r2, 0, 0, "multi-threaded recode");
+
+		// apply with the meta data of the first encoder
+		FrameBlock meta = e1.getMetaData(new FrameBlock(fb.getNumColumns(), ValueType.STRING));
+		MultiColumnEncoder e3 = EncoderFactory.createEncoder(spec, fb.getColumnNames(), fb.getNumColumns(), meta);
+		MatrixBlock r3 = e3.apply(fb, 4);
+		TestUtils.compareMatricesBitAvgDistance(r1, r3, 0, 0, "apply recode");
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.frame.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Random;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.transform.encode.EncoderFactory;
+import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.runtime.transform.encode.TransformApplyCodegen;
+import org.apache.sysds.runtime.transform.encode.TransformApplyKernel;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class TransformApplyCodegenTest {
+
+	private static final int ROWS = 5000;
+	private static final FrameBlock DATA = createData(ROWS, 7);
+
+	@Test
+	public void recodePassThrough() {
+		runTest("{ids:true, recode:[1,3]}");
+	}
+
+	@Test
+	public void recodeDummycode() {
+		runTest("{ids:true, recode:[1,3], dummycode:[1,3]}");
+	}
+
+	@Test
+	public void binEquiWidth() {
+		runTest("{ids:true, recode:[1,3], bin:[{id:2, method:equi-width, numbins:7}, {id:4, method:equi-width, numbins:3}]}");
+	}
+
+	@Test
+	public void binEquiHeightDummycode() {
+		runTest("{ids:true, recode:[1,3], bin:[{id:2, method:equi-height, numbins:5}, {id:4, method:equi-height, numbins:20}],"
+			+ " dummycode:[2]}");
+	}
+
+	@Test
+	public void hashDummycode() {
+		runTest("{ids:true, hash:[1,3], K:10, dummycode:[3]}");
+	}
+
+	@Test
+	public void mixed() {
+		runTest("{ids:true, recode:[1], hash:[3], K:7, bin:[{id:2, method:equi-width, numbins:4}],"
+			+ " dummycode:[1,2,3]}");
+	}
+
+	@Test
+	public void reuseForDifferentMetadata() {
+		String spec = "{ids:true, recode:[1], hash:[3], K:7, bin:[{id:2, method:equi-width, numbins:4},"
+			+ " {id:4, method:equi-height, numbins:5}], dummycode:[1,2,3]}";
+		FrameBlock data = createData(ROWS / 10, 11);
+		data.set(0, 0, "c99"); // additional recode token
+		MultiColumnEncoder encoder = build(spec, data);
+		MatrixBlock expected = encoder.apply(data, 1);
+		TransformApplyKernel kernel = TransformApplyCodegen.getKernel(encoder, data.getNumColumns());
+		TestUtils.compareMatrices(expected, kernel.apply(data, true, 1), 0, spec);
+		assertEquals(kernel.getClass(), TransformApplyCodegen.getKernel(build(spec), DATA.getNumColumns()).getClass());
+	}
+
+	@Test
+	public void unsupportedLegacyImpute() {
+		MultiColumnEncoder encoder = build("{ids:true, recode:[1], impute:[{id:2, method:global_mean}]}");
+		assertNull(TransformApplyCodegen.getKernel(encoder, DATA.getNumColumns()));
+	}
+
+	private static void runTest(String spec) {
+		MultiColumnEncoder encoder = build(spec);
+		MatrixBlock expected = encoder.apply(DATA, 1);
+		TransformApplyKernel kernel = TransformApplyCodegen.getKernel(encoder, DATA.getNumColumns());
+		assertNotNull(kernel);
+		assertEquals(expected.getNumColumns(), kernel.getNumOutCols());
+		for(int k : new int[] {1, 4}) {
+			for(boolean sparse : new boolean[] {false, true}) {
+				MatrixBlock ret = kernel.apply(DATA, sparse, k);
+				assertEquals(sparse, ret.isInSparseFormat());
+				assertEquals(ret.recomputeNonZeros(), ret.getNonZeros());
+				TestUtils.compareMatrices(expected, ret, 0, spec);
+			}
+		}
+		// reuse of the compiled kernel class for identical specification
+		assertEquals(kernel.getClass(), TransformApplyCodegen.getKernel(build(spec), DATA.getNumColumns()).getClass());
+	}
+
+	private static MultiColumnEncoder build(String spec) {
+		return build(spec, DATA);
+	}
+
+	private static MultiColumnEncoder build(String spec, FrameBlock data) {
+		MultiColumnEncoder encoder = EncoderFactory.createEncoder(spec, data.getColumnNames(), data.getNumColumns(), null);
+		encoder.build(data);
+		FrameBlock meta = encoder.getMetaData(new FrameBlock(data.getNumColumns(), ValueType.STRING));
+		MultiColumnEncoder applier = EncoderFactory.createEncoder(spec, data.getColumnNames(), data.getNumColumns(),
+			meta);
+		applier.updateAllDCEncoders();
+		return applier;
+	}
+
+	private static FrameBlock createData(int rows, int seed) {
+		Random r = new Random(seed);
+		FrameBlock ret = new FrameBlock(
+			new ValueType[] {ValueType.STRING, ValueType.FP64, ValueType.STRING, ValueType.INT64, ValueType.FP64});
+		for(int i = 0; i < rows; i++) {
+			ret.appendRow(new Object[] {r.nextInt(20) == 0 ? null : "c" + r.nextInt(13), r.nextGaussian() * 100,
+				"t" + r.nextInt(50), (long) r.nextInt(1000), r.nextInt(3) == 0 ? 0.0 : r.nextDouble()});
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.frame.transform;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.transform.encode.EncoderFactory;
+import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class TransformUpdateTest {
+
+	private static final ValueType[] SCHEMA = new ValueType[] {ValueType.STRING, ValueType.STRING};
+
+	private static final FrameBlock B1 = new FrameBlock(SCHEMA,
+		new String[][] {{"b", "1"}, {"a", "2"}, {"b", null}, {"a", "3"}});
+	private static final FrameBlock B2 = new FrameBlock(SCHEMA,
+		new String[][] {{"c", "4"}, {"a", null}, {"d", "0"}});
+
+	@Test
+	public void recodeStableCodes() {
+		String spec = "{ids:true, recode:[1]}";
+		FrameBlock m1 = encode(spec, B1, 1);
+		FrameBlock m2 = new FrameBlock(SCHEMA);
+		MatrixBlock x2 = update(spec, B2, m1, m2, 1);
+
+		assertEquals(2, m1.getColumnMetadata(0).getNumDistinct());
+		assertEquals(4, m2.getColumnMetadata(0).getNumDistinct());
+		for(String key : new String[] {"a", "b"})
+			assertEquals(m1.getRecodeMap(0).get(key), m2.getRecodeMap(0).get(key));
+		assertEquals(3, x2.get(0, 0), 0);
+		assertEquals(m1.getRecodeMap(0).get("a"), (long) x2.get(1, 0), 0);
+		assertEquals(4, x2.get(2, 0), 0);
+	}
+
+	@Test
+	public void dummycodeDomainGrows() {
+		String spec = "{ids:true, recode:[1], dummycode:[1]}";
+		FrameBlock m1 = encode(spec, B1, 1);
+		FrameBlock m2 = new FrameBlock(SCHEMA);
+		MatrixBlock x2 = update(spec, B2, m1, m2, 3);
+
+		assertEquals(5, x2.getNumColumns());
+		compareApply(spec, B2, m2, x2);
+	}
+
+	@Test
+	public void recodeMultipleBatches() {
+		String spec = "{ids:true, recode:[1,2]}";
+		FrameBlock m1 = encode(spec, B1, 1);
+		FrameBlock m2 = new FrameBlock(SCHEMA);
+		update(spec, B2, m1, m2, 2);
+		FrameBlock m3 = new FrameBlock(SCHEMA);
+		MatrixBlock x3 = update(spec, B1, m2, m3, 2);
+
+		assertEquals(m2.getColumnMetadata(0).getNumDistinct(), m3.getColumnMetadata(0).getNumDistinct());
+		assertEquals(m2.getColumnMetadata(1).getNumDistinct(), m3.getColumnMetadata(1).getNumDistinct());
+		compareApply(spec, B1, m1, x3);
+	}
+
+	@Test
+	public void meanImputeContinues() {
+		String spec = "{ids:true, recode:[1], impute:[{id:2, method:global_mean}]}";
+		FrameBlock b2 = new FrameBlock(SCHEMA, new String[][] {{"c", "8"}, {"a", null}});
+		FrameBlock m1 = new FrameBlock(SCHEMA);
+		update(spec, B1, null, m1, 1);
+		assertEquals(2, Double.parseDouble(m1.getColumnMetadata(1).getMvValue()), 1e-10);
+		assertEquals(3, m1.getColumnMetadata(1).getNumDistinct());
+
+		FrameBlock m2 = new FrameBlock(SCHEMA);
+		MatrixBlock x2 = update(spec, b2, m1, m2, 1);
+		assertEquals(3.5, Double.parseDouble(m2.getColumnMetadata(1).getMvValue()), 1e-10);
+		assertEquals(4, m2.getColumnMetadata(1).getNumDistinct());
+		assertEquals(3.5, x2.get(1, 1), 1e-10);
+
+		// equivalent to a single encode over both batches
+		FrameBlock m12 = encode(spec, B1.append(b2, false), 1);
+		assertEquals(Double.parseDouble(m12.getColumnMetadata(1).getMvValue()),
+			Double.parseDouble(m2.getColumnMetadata(1).getMvValue()), 1e-10);
+	}
+
+	@Test
+	public void meanImputeFixedWithoutCounts() {
+		String spec = "{ids:true, recode:[1], impute:[{id:2, method:global_mean}]}";
+		FrameBlock b2 = new FrameBlock(SCHEMA, new String[][] {{"c", "8"}, {"a", null}});
+		FrameBlock m1 = encode(spec, B1, 1);
+
+		FrameBlock m2 = new FrameBlock(SCHEMA);
+		MatrixBlock x2 = update(spec, b2, m1, m2, 1);
+		assertEquals(2, Double.parseDouble(m2.getColumnMetadata(1).getMvValue()), 1e-10);
+		assertEquals(2, x2.get(1, 1), 1e-10);
+	}
+
+	@Test
+	public void modeImputeRecodedKeepsToken() {
+		String spec = "{ids:true, recode:[1], impute:[{id:1, method:global_mode}]}";
+		FrameBlock b1 = new FrameBlock(SCHEMA, new String[][] {{"b", "1"}, {null, "2"}, {"b", "3"}, {"a", "4"}});
+		FrameBlock m1 = encode(spec, b1, 1);
+		FrameBlock m2 = new FrameBlock(SCHEMA);
+		MatrixBlock x2 = update(spec, new FrameBlock(SCHEMA, new String[][] {{null, "1"}, {"c", "2"}}), m1, m2, 1);
+
+		assertEquals("b", m2.getColumnMetadata(0).getMvValue());
+		assertEquals(m1.getRecodeMap(0).get("b"), (long) x2.get(0, 0), 0);
+		assertEquals(3, x2.get(1, 0), 0);
+	}
+
+	@Test
+	public void binBoundariesStable() {
+		String spec = "{ids:true, recode:[1], bin:[{id:2, method:equi-width, numbins:3}]}";
+		FrameBlock b1 = new FrameBlock(SCHEMA, new String[][] {{"a", "1"}, {"a", "4"}, {"b", "7"}});
+		FrameBlock b2 = new FrameBlock(SCHEMA, new String[][] {{"a", "0"}, {"c", "5"}, {"a", "100"}});
+		FrameBlock m1 = encode(spec, b1, 1);
+		FrameBlock m2 = new FrameBlock(SCHEMA);
+		MatrixBlock x2 = update(spec, b2, m1, m2, 1);
+
+		compareApply(spec, b2, m1, x2);
+		assertEquals(m1.getColumnMetadata(1).getNumDistinct(), m2.getColumnMetadata(1).getNumDistinct());
+	}
+
+	@Test
+	public void binEqualHeightMerged() {
+		String spec = "{ids:true, recode:[1], bin:[{id:2, method:equi-height, numbins:4}]}";
+		FrameBlock b1 = createBinInput(1, 8);
+		FrameBlock b2 = createBinInput(9, 16);
+		FrameBlock m1 = new FrameBlock(SCHEMA);
+		update(spec, b1, null, m1, 1);
+		FrameBlock m2 = new FrameBlock(SCHEMA);
+		MatrixBlock x2 = update(spec, b2, m1, m2, 1);
+
+		// equivalent to a single encode over both batches (exact for aligned quantiles)
+		FrameBlock m12 = encode(spec, b1.append(b2, false), 1);
+		assertEquals(4, m2.getColumnMetadata(1).getNumDistinct());
+		for(int i = 0; i < 4; i++)
+			assertEquals(m12.get(i, 1), m2.get(i, 1));
+		compareApply(spec, b2, m2, x2);
+
+		// metadata of transformencode without count, keeps the bins fixed
+		FrameBlock m1e = encode(spec, b1, 1);
+		assertEquals(4, m1e.getNumRows());
+		FrameBlock m2e = new FrameBlock(SCHEMA);
+		update(spec, b2, m1e, m2e, 1);
+		for(int i = 0; i < 4; i++)
+			assertEquals(m1e.get(i, 1), m2e.get(i, 1));
+	}
+
+	private static FrameBlock createBinInput(int from, int to) {
+		String[][] data = new String[to - from + 1][];
+		for(int i = from; i <= to; i++)
+			data[i - from] = new String[] {"a", String.valueOf(i)};
+		return new FrameBlock(SCHEMA, data);
+	}
+
+	private static FrameBlock encode(String spec, FrameBlock in, int k) {
+		MultiColumnEncoder encoder = EncoderFactory.createEncoder(spec, in.getColumnNames(), in.getNumColumns(), null);
+		encoder.encode(in, k);
+		return encoder.getMetaData(new FrameBlock(in.getNumColumns(), ValueType.STRING));
+	}
+
+	private static MatrixBlock update(String spec, FrameBlock in, FrameBlock meta, FrameBlock out, int k) {
+		MultiColumnEncoder encoder = EncoderFactory.createEncoder(spec, in.getColumnNames(), in.getNumColumns(), meta);
+		MatrixBlock ret = encoder.update(in, meta, k);
+		out.copy(encoder.getMetaData(new FrameBlock(in.getNumColumns(), ValueType.STRING)));
+		return ret;
+	}
+
+	private static void compareApply(String spec, FrameBlock in, FrameBlock meta, MatrixBlock ret) {
+		MultiColumnEncoder encoder = EncoderFactory.createEncoder(spec, in.getColumnNames(), in.getNumColumns(), meta);
+		TestUtils.compareMatrices(encoder.apply(in), ret, 0, "apply vs update");
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.lops.Lop;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.MappedNativeMatrix;
+import org.apache.sysds.runtime.io.WriterNative;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.transform.encode.EncoderFactory;
+import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.test.TestUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class TransformWordEmbeddingMappedTest {
+
+	private final static String dir = "target/testTemp/component/frame/transform/"
+		+ TransformWordEmbeddingMappedTest.class.getSimpleName() + "/";
+	private final static String fname = dir + "embeddings";
+
+	private static final int WORDS = 500;
+	private static final int DIM = 40;
+
+	private static MatrixBlock E;
+	private static FrameBlock meta;
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		E = TestUtils.generateTestMatrixBlock(WORDS, DIM, -1, 1, 1.0, 7);
+		// small panels to exercise the lookup across multiple mapped panels
+		new WriterNative(2).writeMatrixToHDFS(E, fname, WORDS, DIM, 64, E.getNonZeros());
+		String[][] dict = new String[WORDS][1];
+		for(int i = 0; i < WORDS; i++)
+			dict[i][0] = "w" + i + Lop.DATATYPE_PREFIX + (i + 1);
+		meta = new FrameBlock(new ValueType[] {ValueType.STRING}, dict);
+	}
+
+	@AfterClass
+	public static void cleanup() throws Exception {
+		MappedNativeMatrix.clearCache();
+		FileUtils.deleteDirectory(new File(dir));
+	}
+
+	@Test
+	public void mappedMatchesInMemory() {
+		FrameBlock in = createInput(20000, 1, 3);
+		MatrixBlock expected = apply("{ids:true, word_embedding:[1]}", in, E, 1);
+		for(int k : new int[] {1, 4}) {
+			MatrixBlock ret = apply("{ids:true, word_embedding:[1], embedding_file:\"" + fname + "\"}", in, null, k);
+			assertFalse(ret.isInSparseFormat());
+			TestUtils.compareMatrices(expected, ret, 0, "k=" + k);
+		}
+	}
+
+	@Test
+	public void meanPooling() {
+		FrameBlock in = createInput(3000, 4, 5);
+		in.set(0, 0, "w3 unknown  w7");
+		in.set(1, 0, "unknown");
+		for(MatrixBlock emb : new MatrixBlock[] {E, null}) {
+			String spec = "{ids:true, word_embedding:[1], embedding_pooling:\"mean\""
+				+ (emb == null ? ", embedding_file:\"" + fname + "\"}" : "}");
+			MatrixBlock ret = apply(spec, in, emb, 4);
+			TestUtils.compareMatrices(meanPooling(in), ret, 1e-12, "mapped=" + (emb == null));
+			assertEquals((E.get(3, 0) + E.get(7, 0)) / 2, ret.get(0, 0), 1e-12);
+			assertEquals(0, ret.get(1, 0), 0);
+		}
+	}
+
+	@Test
+	public void sharedMapping() throws Exception {
+		assertSame(MappedNativeMatrix.get(fname), MappedNativeMatrix.get(fname));
+		MappedNativeMatrix m = MappedNativeMatrix.get(fname);
+		assertEquals(WORDS, m.getNumRows());
+		assertEquals(DIM, m.getNumColumns());
+		double[] row = new double[DIM + 1];
+		m.getRow(WORDS - 1, row, 1);
+		for(int j = 0; j < DIM; j++)
+			assertEquals(E.get(WORDS - 1, j), row[j + 1], 0);
+	}
+
+	@Test
+	public void serializeCanonicalPath() throws Exception {
+		// the relative file name is serialized as canonical path, independent of the working directory
+		assertEquals(new File(fname).getCanonicalPath(), MappedNativeMatrix.get(fname).getFileName());
+		FrameBlock in = createInput(1000, 3, 9);
+		MultiColumnEncoder encoder = EncoderFactory.createEncoder(
+			"{ids:true, word_embedding:[1], embedding_file:\"" + fname + "\"}", in.getColumnNames(), 1, meta, null);
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try(ObjectOutputStream out = new ObjectOutputStream(bos)) {
+			encoder.writeExternal(out);
+		}
+		MultiColumnEncoder encoder2 = new MultiColumnEncoder();
+		try(ObjectInputStream oin = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+			encoder2.readExternal(oin);
+		}
+		TestUtils.compareMatrices(encoder.apply(in, 1), encoder2.apply(in, 1), 0, "deserialized");
+	}
+
+	private static MatrixBlock apply(String spec, FrameBlock in, MatrixBlock emb, int k) {
+		MultiColumnEncoder encoder = EncoderFactory.createEncoder(spec, in.getColumnNames(), 1, meta, emb);
+		return encoder.apply(in, k);
+	}
+
+	private static MatrixBlock meanPooling(FrameBlock in) {
+		MatrixBlock ret = new MatrixBlock(in.getNumRows(), DIM, false);
+		for(int i = 0; i < in.getNumRows(); i++) {
+			double[] sum = new double[DIM];
+			int cnt = 0;
+			for(String token : in.getString(i, 0).trim().split("\\s+")) {
+				if(!token.startsWith("w"))
+					continue;
+				int r = Integer.parseInt(token.substring(1));
+				for(int j = 0; j < DIM; j++)
+					sum[j] += E.get(r, j);
+				cnt++;
+			}
+			for(int j = 0; j < DIM && cnt > 0; j++)
+				ret.set(i, j, sum[j] / cnt);
+		}
+		return ret;
+	}
+
+	private static FrameBlock createInput(int rows, int maxTokens, int seed) {
+		Random rand = new Random(seed);
+		String[][] data = new String[rows][1];
+		for(int i = 0; i < rows; i++) {
+			StringBuilder sb = new StringBuilder();
+			int n = 1 + rand.nextInt(maxTokens);
+			for(int t = 0; t < n; t++)
+				sb.append(t > 0 ? " " : "").append("w").append(rand.nextInt(WORDS));
+			data[i][0] = sb.toString();
+		}
+		return new FrameBlock(new ValueType[] {ValueType.STRING}, data);
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.FrameReaderArrow;
+import org.apache.sysds.runtime.io.FrameReaderFactory;
+import org.apache.sysds.runtime.io.FrameWriterArrow;
+import org.apache.sysds.runtime.io.FrameWriterFactory;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.util.Py4jConverterUtils;
+import org.apache.sysds.test.TestUtils;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+public class ArrowIOTest {
+
+	private final static String dir = "target/testTemp/component/io/" + ArrowIOTest.class.getSimpleName() + "/";
+
+	private final static ValueType[] schema = new ValueType[] {ValueType.FP64, ValueType.FP32, ValueType.INT32,
+		ValueType.INT64, ValueType.BOOLEAN, ValueType.STRING};
+
+	@AfterClass
+	public static void cleanup() throws Exception {
+		FileUtils.deleteDirectory(new File(dir));
+	}
+
+	@Test
+	public void frameRoundTrip() throws Exception {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(1000, schema, 7);
+		FrameBlock ret = writeAndRead(fb, "frame");
+		assertArrayEquals(schema, ret.getSchema());
+		TestUtils.compareFrames(fb, ret, true);
+	}
+
+	@Test
+	public void frameRoundTripMultipleBatches() throws Exception {
+		// more rows than a single record batch, with bitset boolean columns
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(150000, schema, 8);
+		FrameBlock ret = writeAndRead(fb, "frameBatches");
+		TestUtils.compareFrames(fb, ret, true);
+	}
+
+	@Test
+	public void frameRoundTripWithNulls() throws Exception {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(300, new ValueType[] {ValueType.STRING, ValueType.FP64},
+			13, 0.3);
+		FrameBlock ret = writeAndRead(fb, "frameNulls");
+		for(int i = 0; i < 300; i++) {
+			assertEquals(fb.get(i, 0), ret.get(i, 0));
+			Object d = fb.get(i, 1);
+			if(d == null)
+				assertTrue(Double.isNaN((Double) ret.get(i, 1)));
+			else
+				assertEquals(d, ret.get(i, 1));
+		}
+	}
+
+	@Test
+	public void frameEmptyStrings() throws Exception {
+		FrameBlock fb = new FrameBlock(new ValueType[] {ValueType.STRING});
+		fb.ensureAllocatedColumns(3);
+		fb.set(0, 0, "");
+		fb.set(2, 0, "äbç");
+		FrameBlock ret = writeAndRead(fb, "frameStrings");
+		assertEquals("", ret.get(0, 0));
+		assertNull(ret.get(1, 0));
+		assertEquals("äbç", ret.get(2, 0));
+	}
+
+	@Test
+	public void frameWithGivenSchema() throws Exception {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(100, new ValueType[] {ValueType.INT32, ValueType.FP32}, 3);
+		String fname = dir + "frameSchema";
+		new FrameWriterArrow().writeFrameToHDFS(fb, fname, 100, 2);
+		FrameBlock ret = new FrameReaderArrow().readFrameFromHDFS(fname,
+			new ValueType[] {ValueType.INT64, ValueType.FP64}, null, 100, 2);
+		assertArrayEquals(new ValueType[] {ValueType.INT64, ValueType.FP64}, ret.getSchema());
+		for(int i = 0; i < 100; i++) {
+			assertEquals(((Integer) fb.get(i, 0)).longValue(), ret.get(i, 0));
+			assertEquals(((Float) fb.get(i, 1)).doubleValue(), ret.get(i, 1));
+		}
+	}
+
+	@Test
+	public void frameReadOfPartFiles() throws Exception {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(1000, schema, 11);
+		String fname = dir + "frameParts";
+		new File(fname).mkdirs();
+		for(int i = 0; i < 4; i++) {
+			FrameBlock part = fb.slice(i * 250, i * 250 + 249);
+			new FrameWriterArrow().writeFrameToHDFS(part, fname + "/" + IOUtilFunctions.getPartFileName(i), 250,
+				schema.length);
+		}
+		FrameBlock ret = new FrameReaderArrow().readFrameFromHDFS(fname, null, null, 1000, schema.length);
+		TestUtils.compareFrames(fb, ret, true);
+	}
+
+	@Test
+	public void frameFromInputStream() throws Exception {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(500, schema, 12);
+		byte[] data = Py4jConverterUtils.convertFrameToArrow(fb);
+		FrameBlock ret = new FrameReaderArrow().readFrameFromInputStream(new ByteArrayInputStream(data), null, null,
+			500, schema.length);
+		TestUtils.compareFrames(fb, ret, true);
+		TestUtils.compareFrames(fb, Py4jConverterUtils.convertArrowToFrame(data), true);
+	}
+
+	private static FrameBlock writeAndRead(FrameBlock fb, String name) throws Exception {
+		String fname = dir + name;
+		FrameWriterFactory.createFrameWriter(FileFormat.ARROW).writeFrameToHDFS(fb, fname, fb.getNumRows(),
+			fb.getNumColumns());
+		return FrameReaderFactory.createFrameReader(FileFormat.ARROW).readFrameFromHDFS(fname, null, null, -1, -1);
+	}
+}
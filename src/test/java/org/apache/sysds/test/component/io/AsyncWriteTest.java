@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.api.jmlc.Connection;
+import org.apache.sysds.api.jmlc.PreparedScript;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.AsyncWriteManager;
+import org.apache.sysds.runtime.controlprogram.caching.FrameObject;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.FrameReaderFactory;
+import org.apache.sysds.runtime.io.MatrixReaderFactory;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+public class AsyncWriteTest {
+
+	private final static String dir = "target/testTemp/component/io/" + AsyncWriteTest.class.getSimpleName() + "/";
+
+	@After
+	public void reset() {
+		OptimizerUtils.ASYNC_WRITE = false;
+		AsyncWriteManager.waitForAll(false);
+	}
+
+	@AfterClass
+	public static void cleanup() throws Exception {
+		FileUtils.deleteDirectory(new File(dir));
+	}
+
+	@Test
+	public void waitForPendingWrite() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		AsyncWriteManager.submit(dir + "pending", () -> {
+			latch.await();
+			return null;
+		});
+		assertTrue(AsyncWriteManager.isPending(dir + "pending"));
+		assertEquals(1, AsyncWriteManager.getNumPending());
+		latch.countDown();
+		AsyncWriteManager.waitFor(dir + "pending");
+		assertFalse(AsyncWriteManager.isPending(dir + "pending"));
+		assertEquals(0, AsyncWriteManager.getNumPending());
+	}
+
+	@Test
+	public void boundedPendingWrites() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		for(int i = 0; i < AsyncWriteManager.MAX_PENDING_WRITES; i++)
+			AsyncWriteManager.submit(dir + "bounded" + i, () -> {
+				latch.await();
+				return null;
+			});
+		assertEquals(AsyncWriteManager.MAX_PENDING_WRITES, AsyncWriteManager.getNumPending());
+		latch.countDown();
+		AsyncWriteManager.submit(dir + "bounded", () -> null);
+		assertTrue(AsyncWriteManager.getNumPending() <= AsyncWriteManager.MAX_PENDING_WRITES);
+		AsyncWriteManager.waitForAll(true);
+		assertEquals(0, AsyncWriteManager.getNumPending());
+	}
+
+	@Test
+	public void failedWriteRaisesError() {
+		AsyncWriteManager.submit(dir + "failed", () -> {
+			throw new IOException("injected failure");
+		});
+		assertThrows(DMLRuntimeException.class, () -> AsyncWriteManager.waitForAll(true));
+		assertEquals(0, AsyncWriteManager.getNumPending());
+	}
+
+	@Test
+	public void failedWriteOnRead() {
+		AsyncWriteManager.submit(dir + "failedRead", () -> {
+			throw new IOException("injected failure");
+		});
+		assertThrows(DMLRuntimeException.class, () -> AsyncWriteManager.waitFor(dir + "failedRead"));
+	}
+
+	@Test
+	public void pendingWritesScopedByOwner() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		Object owner = new Object();
+		AsyncWriteManager.setOwner(owner);
+		try {
+			AsyncWriteManager.submit(dir + "owned", () -> {
+				latch.await();
+				throw new IOException("injected failure");
+			});
+			assertEquals(1, AsyncWriteManager.getNumPending());
+		}
+		finally {
+			AsyncWriteManager.setOwner(null);
+		}
+		// other owners neither count, wait for, nor fail on the pending write
+		assertEquals(0, AsyncWriteManager.getNumPending());
+		AsyncWriteManager.waitForAll(true);
+		assertTrue(AsyncWriteManager.isPending(dir + "owned"));
+		latch.countDown();
+		AsyncWriteManager.setOwner(owner);
+		try {
+			assertThrows(DMLRuntimeException.class, () -> AsyncWriteManager.waitForAll(true));
+			assertEquals(0, AsyncWriteManager.getNumPending());
+		}
+		finally {
+			AsyncWriteManager.setOwner(null);
+		}
+	}
+
+	@Test
+	public void exportMatrixBinary() throws Exception {
+		exportMatrix("binary", FileFormat.BINARY);
+	}
+
+	@Test
+	public void exportMatrixText() throws Exception {
+		exportMatrix("text", FileFormat.TEXT);
+	}
+
+	@Test
+	public void exportMatrixCSV() throws Exception {
+		exportMatrix("csv", FileFormat.CSV);
+	}
+
+	@Test
+	public void inPlaceUpdateWaitsForWrite() throws Exception {
+		OptimizerUtils.ASYNC_WRITE = true;
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(1200, 35, -10, 10, 1.0, 3);
+		MatrixBlock expected = new MatrixBlock(mb);
+		MatrixObject mo = createMatrixObject("tmp_inplace", mb, FileFormat.BINARY);
+		String fname = dir + "inplace";
+		mo.exportData(fname, FileFormat.BINARY.toString());
+		mo.setUpdateType(UpdateType.INPLACE);
+		assertFalse(AsyncWriteManager.isPending(fname));
+		// in-place modification after the pin was released
+		mb.set(0, 0, 1e6);
+		MatrixBlock ret = MatrixReaderFactory.createMatrixReader(FileFormat.BINARY)
+			.readMatrixFromHDFS(fname, mb.getNumRows(), mb.getNumColumns(), 1000, -1);
+		TestUtils.compareMatrices(expected, ret, 0);
+	}
+
+	@Test
+	public void exportFrameSnapshot() throws Exception {
+		OptimizerUtils.ASYNC_WRITE = true;
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(500, new ValueType[] {ValueType.STRING, ValueType.FP64}, 7);
+		fb.setColumnNames(new String[] {"a", "b"});
+		FrameObject fo = new FrameObject(dir + "tmp_frame", new MetaDataFormat(
+			new MatrixCharacteristics(fb.getNumRows(), fb.getNumColumns()), FileFormat.CSV), fb.getSchema());
+		fo.acquireModify(fb);
+		fo.release();
+		String fname = dir + "frame";
+		fo.exportData(fname, FileFormat.CSV.toString(), new FileFormatPropertiesCSV(true, ",", false));
+		// modifications of the frame block must not affect the pending write
+		fb.setColumnNames(new String[] {"x", "y"});
+		AsyncWriteManager.waitFor(fname);
+		FrameBlock ret = FrameReaderFactory.createFrameReader(FileFormat.CSV,
+			new FileFormatPropertiesCSV(true, ",", false)).readFrameFromHDFS(fname, fb.getSchema(), -1, -1);
+		assertArrayEquals(new String[] {"a", "b"}, ret.getColumnNames());
+		TestUtils.compareFrames(fb, ret, false);
+	}
+
+	@Test
+	public void jmlcWaitsForPendingWrites() throws Exception {
+		OptimizerUtils.ASYNC_WRITE = true;
+		String fname = dir + "jmlc";
+		try(Connection conn = new Connection()) {
+			PreparedScript ps = conn.prepareScript(
+				"X = rand(rows=1500, cols=20, seed=3); write(X, $out, format=\"binary\");",
+				Collections.singletonMap("$out", fname), new String[] {}, new String[] {});
+			ps.executeScript();
+		}
+		assertEquals(0, AsyncWriteManager.getNumPending());
+		MatrixBlock ret = MatrixReaderFactory.createMatrixReader(FileFormat.BINARY)
+			.readMatrixFromHDFS(fname, 1500, 20, 1000, -1);
+		assertEquals(1500 * 20, ret.getNonZeros());
+	}
+
+	private static MatrixObject createMatrixObject(String name, MatrixBlock mb, FileFormat fmt) {
+		MatrixCharacteristics mc = new MatrixCharacteristics(mb.getNumRows(), mb.getNumColumns(), 1000,
+			mb.getNonZeros());
+		MatrixObject mo = new MatrixObject(ValueType.FP64, dir + name, new MetaDataFormat(mc, fmt));
+		mo.acquireModify(mb);
+		mo.release();
+		return mo;
+	}
+
+	private static void exportMatrix(String name, FileFormat fmt) throws Exception {
+		OptimizerUtils.ASYNC_WRITE = true;
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(1200, 35, -10, 10, 0.7, 7);
+		MatrixObject mo = createMatrixObject("tmp_" + name, mb, fmt);
+		String fname = dir + name;
+		mo.exportData(fname, fmt.toString());
+		assertTrue(new File(fname + ".mtd").exists());
+		AsyncWriteManager.waitFor(fname);
+		assertFalse(AsyncWriteManager.isPending(fname));
+		MatrixBlock ret = MatrixReaderFactory.createMatrixReader(fmt)
+			.readMatrixFromHDFS(fname, mb.getNumRows(), mb.getNumColumns(), 1000, mb.getNonZeros());
+		TestUtils.compareMatrices(mb, ret, 1e-10);
+	}
+}
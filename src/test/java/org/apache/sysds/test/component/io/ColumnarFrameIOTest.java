@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.BitSetArray;
+import org.apache.sysds.runtime.frame.data.columns.DDCArray;
+import org.apache.sysds.runtime.io.FrameReaderColumnar;
+import org.apache.sysds.runtime.io.FrameReaderFactory;
+import org.apache.sysds.runtime.io.FrameWriterColumnar;
+import org.apache.sysds.runtime.io.FrameWriterFactory;
+import org.apache.sysds.runtime.util.IndexRange;
+import org.apache.sysds.test.TestUtils;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+public class ColumnarFrameIOTest {
+
+	private final static String dir = "target/testTemp/component/io/" + ColumnarFrameIOTest.class.getSimpleName() + "/";
+
+	private final static ValueType[] schema = new ValueType[] {ValueType.FP64, ValueType.FP32, ValueType.INT32,
+		ValueType.INT64, ValueType.BOOLEAN, ValueType.STRING};
+
+	@AfterClass
+	public static void cleanup() throws Exception {
+		FileUtils.deleteDirectory(new File(dir));
+	}
+
+	@Test
+	public void frameRoundTrip() throws Exception {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(1000, schema, 7);
+		FrameBlock ret = writeAndRead(fb, "frame");
+		assertArrayEquals(schema, ret.getSchema());
+		TestUtils.compareFrames(fb, ret, true);
+	}
+
+	@Test
+	public void frameRoundTripWithNulls() throws Exception {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(300, new ValueType[] {ValueType.STRING, ValueType.FP64},
+			13, 0.3);
+		FrameBlock ret = writeAndRead(fb, "frameNulls");
+		TestUtils.compareFrames(fb, ret, true);
+	}
+
+	@Test
+	public void frameColumnEncodings() throws Exception {
+		FrameBlock fb = createCategorical(2000);
+		FrameBlock ret = writeAndRead(fb, "frameEncodings");
+		TestUtils.compareFrames(fb, ret, true);
+		assertTrue(ret.getColumn(0) instanceof DDCArray);
+		assertTrue(ret.getColumn(1) instanceof BitSetArray);
+		assertEquals("city", ret.getColumnName(0));
+		assertEquals("flag", ret.getColumnName(1));
+	}
+
+	@Test
+	public void frameColumnProjection() throws Exception {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(500, schema, 3);
+		String fname = dir + "frameProjection";
+		new FrameWriterColumnar().writeFrameToHDFS(fb, fname, 500, schema.length);
+		FrameBlock ret = new FrameReaderColumnar().readFrameFromHDFS(fname, new int[] {5, 0});
+		assertArrayEquals(new ValueType[] {ValueType.STRING, ValueType.FP64}, ret.getSchema());
+		for(int i = 0; i < 500; i++) {
+			assertEquals(fb.get(i, 5), ret.get(i, 0));
+			assertEquals(fb.get(i, 0), ret.get(i, 1));
+		}
+	}
+
+	@Test
+	public void frameIndexRange() throws Exception {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(500, schema, 4);
+		String fname = dir + "frameRange";
+		new FrameWriterColumnar().writeFrameToHDFS(fb, fname, 500, schema.length);
+		FrameBlock ret = new FrameReaderColumnar().readFrameFromHDFS(fname,
+			new ValueType[] {ValueType.INT32, ValueType.INT64}, 500, schema.length, new IndexRange(10, 99, 2, 3));
+		TestUtils.compareFrames(fb.slice(10, 99, 2, 3), ret, true);
+	}
+
+	@Test
+	public void frameEmpty() throws Exception {
+		FrameBlock fb = new FrameBlock(schema);
+		FrameBlock ret = writeAndRead(fb, "frameEmpty");
+		assertEquals(0, ret.getNumRows());
+		assertArrayEquals(schema, ret.getSchema());
+	}
+
+	@Test
+	public void frameFromInputStream() throws Exception {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(500, schema, 12);
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		FrameWriterColumnar.writeColumnarFrame(bos, fb);
+		FrameBlock ret = new FrameReaderColumnar().readFrameFromInputStream(
+			new ByteArrayInputStream(bos.toByteArray()), null, null, 500, schema.length);
+		TestUtils.compareFrames(fb, ret, true);
+	}
+
+	@Test
+	public void invalidFile() throws Exception {
+		String fname = dir + "frameInvalid";
+		new File(dir).mkdirs();
+		FileUtils.writeStringToFile(new File(fname), "not a columnar frame file", "UTF-8");
+		assertThrows(IOException.class, () -> new FrameReaderColumnar().readFrameFromHDFS(fname, null, null, -1, -1));
+	}
+
+	private static FrameBlock createCategorical(int nRow) {
+		FrameBlock fb = new FrameBlock(new ValueType[] {ValueType.STRING, ValueType.BOOLEAN},
+			new String[] {"city", "flag"});
+		fb.ensureAllocatedColumns(nRow);
+		String[] cities = new String[] {"Graz", "Berlin", "Vienna", "Paris"};
+		for(int i = 0; i < nRow; i++) {
+			fb.set(i, 0, cities[i % cities.length]);
+			fb.set(i, 1, i % 3 == 0);
+		}
+		return fb;
+	}
+
+	private static FrameBlock writeAndRead(FrameBlock fb, String name) throws Exception {
+		String fname = dir + name;
+		FrameWriterFactory.createFrameWriter(FileFormat.COLUMNAR).writeFrameToHDFS(fb, fname, fb.getNumRows(),
+			fb.getNumColumns());
+		return FrameReaderFactory.createFrameReader(FileFormat.COLUMNAR).readFrameFromHDFS(fname, null, null, -1, -1);
+	}
+}
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.FrameChunkIterator;
+import org.apache.sysds.runtime.io.FrameReader;
+import org.apache.sysds.runtime.io.FrameReaderFactory;
+import org.apache.sysds.runtime.io.FrameReaderJSONL;
+import org.apache.sysds.runtime.io.FrameReaderTextCSV;
+import org.apache.sysds.runtime.io.FrameWriterFactory;
+import org.apache.sysds.runtime.io.MatrixReaderFactory;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.transform.encode.EncoderFactory;
+import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.runtime.transform.encode.StreamingEncode;
+import org.apache.sysds.test.TestUtils;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+public class FrameChunkReaderTest {
+
+	private final static String dir = "target/testTemp/component/io/" + FrameChunkReaderTest.class.getSimpleName() + "/";
+
+	@AfterClass
+	public static void cleanup() throws Exception {
+		FileUtils.deleteDirectory(new File(dir));
+	}
+
+	@Test
+	public void csvChunks() throws Exception {
+		String fname = writeCSV("csv.csv", 1000, true);
+		FrameReaderTextCSV reader = new FrameReaderTextCSV(new FileFormatPropertiesCSV(true, ",", false));
+		FrameBlock exp = reader.readFrameFromHDFS(fname, -1, -1);
+		FrameBlock ret = readAll(reader.readFrameChunks(fname, null, null, -1, -1, 77), 77, 1000);
+		assertArrayEquals(new String[] {"a", "b", "c"}, ret.getColumnNames());
+		TestUtils.compareFrames(exp, ret, false);
+	}
+
+	@Test
+	public void csvChunksNoHeaderSingleChunk() throws Exception {
+		String fname = writeCSV("csvNoHeader.csv", 50, false);
+		FrameReaderTextCSV reader = new FrameReaderTextCSV(new FileFormatPropertiesCSV(false, ",", false));
+		FrameBlock exp = reader.readFrameFromHDFS(fname, -1, -1);
+		FrameBlock ret = readAll(reader.readFrameChunks(fname, null, null, -1, 3, 100), 100, 50);
+		TestUtils.compareFrames(exp, ret, false);
+	}
+
+	@Test
+	public void csvChunksExactMultiple() throws Exception {
+		String fname = writeCSV("csvExact.csv", 100, true);
+		FrameReaderTextCSV reader = new FrameReaderTextCSV(new FileFormatPropertiesCSV(true, ",", false));
+		try(FrameChunkIterator it = reader.readFrameChunks(fname, null, null, -1, -1, 25)) {
+			int n = 0;
+			while(it.hasNext()) {
+				assertEquals(25, it.next().getNumRows());
+				n++;
+			}
+			assertEquals(4, n);
+			assertEquals(100, it.getNumRowsRead());
+		}
+	}
+
+	@Test
+	public void jsonlChunks() throws Exception {
+		String fname = dir + "data.jsonl";
+		StringBuilder sb = new StringBuilder();
+		for(int i = 0; i < 333; i++)
+			sb.append("{\"id\": " + i + ", \"name\": \"n" + (i % 7) + "\", \"v\": {\"x\": " + (i * 0.5) + "}}\n");
+		FileUtils.writeStringToFile(new File(fname), sb.toString(), StandardCharsets.UTF_8);
+
+		ValueType[] schema = new ValueType[] {ValueType.INT64, ValueType.STRING, ValueType.FP64};
+		Map<String, Integer> schemaMap = new HashMap<>();
+		schemaMap.put("/id", 0);
+		schemaMap.put("/name", 1);
+		schemaMap.put("/v/x", 2);
+		FrameReaderJSONL reader = new FrameReaderJSONL();
+		FrameBlock exp = reader.readFrameFromHDFS(fname, schema, schemaMap, 333, 3);
+		FrameBlock ret = readAll(reader.readFrameChunks(fname, schema, schemaMap, 40), 40, 333);
+		TestUtils.compareFrames(exp, ret, false);
+	}
+
+	@Test
+	public void defaultChunks() throws Exception {
+		String fname = dir + "frame.bin";
+		ValueType[] schema = new ValueType[] {ValueType.FP64, ValueType.STRING, ValueType.INT32};
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(500, schema, 3);
+		FrameWriterFactory.createFrameWriter(FileFormat.BINARY).writeFrameToHDFS(fb, fname, 500, 3);
+		FrameReader reader = FrameReaderFactory.createFrameReader(FileFormat.BINARY);
+		FrameBlock ret = readAll(reader.readFrameChunks(fname, schema, null, 500, 3, 64), 64, 500);
+		TestUtils.compareFrames(fb, ret, false);
+	}
+
+	@Test(expected = DMLRuntimeException.class)
+	public void invalidChunkSize() throws Exception {
+		String fname = writeCSV("invalid.csv", 10, false);
+		new FrameReaderTextCSV(null).readFrameChunks(fname, null, null, -1, -1, 0);
+	}
+
+	@Test
+	public void streamingEncode() throws Exception {
+		String fname = writeCSV("encode.csv", 1000, true);
+		String spec = "{ids: false, recode: [a, b], dummycode: [a], bin: [{name: c, method: equi-width, numbins: 4}]}";
+		FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(true, ",", false);
+		FrameReaderTextCSV reader = new FrameReaderTextCSV(props);
+		FrameBlock in = reader.readFrameFromHDFS(fname, -1, -1);
+
+		// in-memory encode as reference
+		MultiColumnEncoder enc = EncoderFactory.createEncoder(spec, in.getColumnNames(), 3, null);
+		MatrixBlock exp = enc.encode(in);
+		FrameBlock meta = enc.getMetaData(new FrameBlock(3, ValueType.STRING));
+		meta.setColumnNames(in.getColumnNames());
+
+		String oname = dir + "encoded.csv";
+		FileFormatPropertiesCSV oprops = new FileFormatPropertiesCSV(false, ",", false);
+		long nrow;
+		try(FrameChunkIterator it = reader.readFrameChunks(fname, null, null, -1, -1, 99)) {
+			nrow = StreamingEncode.encode(it, spec, meta, null, oname, oprops, 2);
+		}
+		assertEquals(1000, nrow);
+		assertTrue(new File(oname + ".mtd").exists());
+		MatrixBlock ret = MatrixReaderFactory.createMatrixReader(FileFormat.CSV)
+			.readMatrixFromHDFS(oname, nrow, exp.getNumColumns(), -1, -1);
+		TestUtils.compareMatrices(exp, ret, 0, "streaming transform apply");
+	}
+
+	private static FrameBlock readAll(FrameChunkIterator it, int chunkRows, int nrow) throws Exception {
+		FrameBlock ret = null;
+		try {
+			while(it.hasNext()) {
+				FrameBlock chunk = it.next();
+				assertTrue(chunk.getNumRows() <= chunkRows);
+				ret = (ret == null) ? chunk : ret.append(chunk, false);
+			}
+			assertFalse(it.hasNext());
+			assertEquals(nrow, it.getNumRowsRead());
+		}
+		finally {
+			it.close();
+		}
+		assertEquals(nrow, ret.getNumRows());
+		return ret;
+	}
+
+	private static String writeCSV(String name, int nrow, boolean header) throws Exception {
+		String fname = dir + name;
+		StringBuilder sb = new StringBuilder();
+		if(header)
+			sb.append("a,b,c\n");
+		for(int i = 0; i < nrow; i++)
+			sb.append("v" + (i % 5) + "," + (i % 13) + "," + (i * 0.25) + "\n");
+		FileUtils.writeStringToFile(new File(fname), sb.toString(), StandardCharsets.UTF_8);
+		return fname;
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.FrameReaderJSONL;
+import org.apache.sysds.runtime.io.FrameReaderJSONLParallel;
+import org.apache.sysds.test.TestUtils;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+public class FrameReaderJSONLTest {
+
+	private final static String dir = "target/testTemp/component/io/" + FrameReaderJSONLTest.class.getSimpleName() + "/";
+
+	private final static ValueType[] schema = new ValueType[] {ValueType.INT64, ValueType.FP64, ValueType.STRING,
+		ValueType.BOOLEAN, ValueType.INT32, ValueType.STRING};
+
+	@AfterClass
+	public static void cleanup() throws Exception {
+		FileUtils.deleteDirectory(new File(dir));
+	}
+
+	@Test
+	public void typedValues() throws Exception {
+		FrameBlock fb = read("typed.jsonl", //
+			"{\"id\": 7, \"v\": {\"x\": 1.5, \"s\": \"abc\"}, \"b\": true, \"i\": -42, \"n\": 12}", //
+			"{\"id\":-3,\"v\":{\"x\":-2e-3,\"s\":\"\"},\"b\":false,\"i\":0,\"n\":1.50}");
+		assertEquals(7L, fb.get(0, 0));
+		assertEquals(1.5, fb.get(0, 1));
+		assertEquals("abc", fb.get(0, 2));
+		assertEquals(true, fb.get(0, 3));
+		assertEquals(-42, fb.get(0, 4));
+		assertEquals("12", fb.get(0, 5));
+		assertEquals(-3L, fb.get(1, 0));
+		assertEquals(-0.002, fb.get(1, 1));
+		assertNull(fb.get(1, 2));
+		assertEquals(false, fb.get(1, 3));
+		assertEquals("1.5", fb.get(1, 5));
+	}
+
+	@Test
+	public void skipIrrelevantKeys() throws Exception {
+		FrameBlock fb = read("skip.jsonl", //
+			"{\"other\": {\"a\": [1, {\"b\": \"}]\\\"\"}], \"c\": null}, \"id\": 1, \"arr\": [\"x\", [true]],"
+				+ " \"v\": {\"y\": \"z\", \"s\": \"keep\"}, \"last\": false}");
+		assertEquals(1L, fb.get(0, 0));
+		assertEquals("keep", fb.get(0, 2));
+	}
+
+	@Test
+	public void escapesAndUnicode() throws Exception {
+		FrameBlock fb = read("escape.jsonl", //
+			"{\"v\": {\"s\": \"a\\\"b\\\\c\\n\\u00e4\\u20ac ü\"}, \"n\": \"longer string that spans words\"}");
+		assertEquals("a\"b\\c\nä€ ü", fb.get(0, 2));
+		assertEquals("longer string that spans words", fb.get(0, 5));
+	}
+
+	@Test
+	public void nullsAndMissing() throws Exception {
+		FrameBlock fb = read("nulls.jsonl", //
+			"{\"id\": null, \"v\": 5, \"b\": null}", //
+			"{}");
+		assertNull(fb.get(0, 2));
+		assertNull(fb.get(0, 5));
+		assertNull(fb.get(1, 2));
+		assertNull(fb.get(1, 5));
+	}
+
+	@Test
+	public void fallbackNestedValue() throws Exception {
+		// object values of requested paths are returned as json strings
+		FrameBlock fb = read("nested.jsonl", "{\"id\": 1, \"n\": {\"a\": 1}}");
+		assertEquals(1L, fb.get(0, 0));
+		assertEquals("{\"a\":1}", fb.get(0, 5));
+	}
+
+	@Test
+	public void parallelEqualsSequential() throws Exception {
+		String[] lines = new String[5000];
+		for(int i = 0; i < lines.length; i++)
+			lines[i] = "{\"id\": " + i + ", \"pad\": \"" + "x".repeat(i % 37) + "\", \"v\": {\"x\": " + (i * 0.25)
+				+ ", \"s\": \"s" + (i % 11) + "\"}, \"b\": " + (i % 2 == 0) + ", \"i\": " + (i % 100) + "}";
+		String fname = write("parallel.jsonl", lines);
+		FrameBlock exp = new FrameReaderJSONL().readFrameFromHDFS(fname, schema, schemaMap(), lines.length, 6);
+		FrameBlock ret = new FrameReaderJSONLParallel().readFrameFromHDFS(fname, schema, schemaMap(), lines.length, 6);
+		TestUtils.compareFrames(exp, ret, false);
+		assertEquals(4999L, ret.get(4999, 0));
+		assertEquals(4999 * 0.25, ret.get(4999, 1));
+	}
+
+	private static FrameBlock read(String name, String... lines) throws Exception {
+		String fname = write(name, lines);
+		return new FrameReaderJSONL().readFrameFromHDFS(fname, schema, schemaMap(), lines.length, schema.length);
+	}
+
+	private static String write(String name, String... lines) throws Exception {
+		String fname = dir + name;
+		FileUtils.writeStringToFile(new File(fname), String.join("\n", lines) + "\n", StandardCharsets.UTF_8);
+		return fname;
+	}
+
+	private static Map<String, Integer> schemaMap() {
+		Map<String, Integer> ret = new HashMap<>();
+		ret.put("/id", 0);
+		ret.put("/v/x", 1);
+		ret.put("/v/s", 2);
+		ret.put("/b", 3);
+		ret.put("/i", 4);
+		ret.put("/n", 5);
+		return ret;
+	}
+}
@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.runtime.io.FileFormatPropertiesHDF5;
+import org.apache.sysds.runtime.io.MatrixReader;
+import org.apache.sysds.runtime.io.ReaderHDF5;
+import org.apache.sysds.runtime.io.ReaderHDF5Parallel;
+import org.apache.sysds.runtime.io.WriterHDF5;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+public class HDF5IOTest {
+
+	private final static String dir = "target/testTemp/component/io/" + HDF5IOTest.class.getSimpleName() + "/";
+
+	// test file with chunked/compressed, integer, float32, compact and CSR datasets
+	// (generated by src/test/resources/component/io/gen_mixed_h5.py)
+	private final static String mixed = "src/test/resources/component/io/mixed.h5";
+	private final static String transfusion = "src/test/scripts/functions/io/hdf5/in/transfusion_1.h5";
+
+	@AfterClass
+	public static void cleanup() throws Exception {
+		FileUtils.deleteDirectory(new File(dir));
+	}
+
+	@Test
+	public void chunkedShuffleDeflate() throws Exception {
+		// 100 x 37 with 8 x 10 chunks, incl. partial edge chunks
+		MatrixBlock exp = new MatrixBlock(100, 37, false);
+		for(int i = 0; i < 100; i++)
+			for(int j = 0; j < 37; j++)
+				exp.set(i, j, (i * 37 + j) % 11 == 0 ? 0 : i + j / 100.0);
+		compareAll("X", exp);
+	}
+
+	@Test
+	public void chunkedMultiLevelBTree() throws Exception {
+		// 300 x 20 with 4 x 5 chunks, i.e., 300 chunks over multiple b-tree nodes
+		MatrixBlock exp = new MatrixBlock(300, 20, false);
+		for(int i = 0; i < 300; i++)
+			for(int j = 0; j < 20; j++)
+				exp.set(i, j, i * 20 + j);
+		compareAll("B", exp);
+	}
+
+	@Test
+	public void chunkedInt32Fletcher32() throws Exception {
+		MatrixBlock exp = new MatrixBlock(50, 6, false);
+		for(int i = 0; i < 50; i++)
+			for(int j = 0; j < 6; j++)
+				exp.set(i, j, i * 6 - j * 7);
+		compareAll("I32", exp);
+	}
+
+	@Test
+	public void contiguousInt64BigEndian() throws Exception {
+		MatrixBlock exp = new MatrixBlock(20, 3, false);
+		for(int i = 0; i < 20; i++)
+			for(int j = 0; j < 3; j++)
+				exp.set(i, j, (double) ((i - 10) * 1000000000007L + j));
+		compareAll("I64BE", exp);
+	}
+
+	@Test
+	public void contiguousFloat32() throws Exception {
+		MatrixBlock exp = new MatrixBlock(30, 4, false);
+		for(int i = 0; i < 30; i++)
+			for(int j = 0; j < 4; j++)
+				exp.set(i, j, (i * 4 + j) * 0.5);
+		compareAll("F32", exp);
+	}
+
+	@Test
+	public void compactUInt8() throws Exception {
+		MatrixBlock exp = new MatrixBlock(5, 2, false);
+		for(int i = 0; i < 5; i++)
+			for(int j = 0; j < 2; j++)
+				exp.set(i, j, 250 + i + j);
+		compareAll("U8", exp);
+	}
+
+	@Test
+	public void chunkedVector() throws Exception {
+		MatrixBlock exp = new MatrixBlock(40, 1, false);
+		for(int i = 0; i < 40; i++)
+			exp.set(i, 0, i * 1.5);
+		compareAll("V", exp);
+	}
+
+	@Test
+	public void headerContinuation() throws Exception {
+		compareAll("C", tenByTen());
+	}
+
+	@Test
+	public void chunkedMissingChunksFillValue() throws Exception {
+		// only the diagonal 5 x 5 chunks are allocated, others use the fill value
+		MatrixBlock exp = tenByTen();
+		for(int i = 0; i < 10; i++)
+			for(int j = 0; j < 10; j++)
+				if(i / 5 != j / 5)
+					exp.set(i, j, -1);
+		compareAll("M", exp);
+	}
+
+	@Test
+	public void sparseCSRGroup() throws Exception {
+		double[][] exp = new double[][] {{0, 1.5, 0, 0, 2}, {0, 0, 0, 0, 0}, {3, 0, 0, 0, 0}, {0, 0, 4, 5, 6},
+			{0, 0, 0, 0, 0}, {0, 0, 0, 0, 7.25}};
+		MatrixBlock ret = compareAll("grp/csr", DataConverter.convertToMatrixBlock(exp));
+		assertEquals(7, ret.getNonZeros());
+	}
+
+	@Test
+	public void sparseCSRGroupUnsortedWithoutShape() throws Exception {
+		// no shape attribute: number of columns from the max column index
+		double[][] exp = new double[][] {{4, 0, 1, 0}, {0, 0, 0, 0}, {0, 0, 0, 2}};
+		compareAll("csr2", DataConverter.convertToMatrixBlock(exp));
+	}
+
+	@Test
+	public void existingContiguousDataset() throws Exception {
+		MatrixBlock seq = read(new ReaderHDF5(new FileFormatPropertiesHDF5("DATASET_1")), transfusion);
+		MatrixBlock par = read(new ReaderHDF5Parallel(new FileFormatPropertiesHDF5("DATASET_1")), transfusion);
+		assertEquals(50, seq.getNumRows());
+		assertEquals(50, seq.getNumColumns());
+		TestUtils.compareMatricesBitAvgDistance(seq, par, 0, 0, "transfusion");
+	}
+
+	@Test
+	public void missingDataset() {
+		try {
+			read(new ReaderHDF5(new FileFormatPropertiesHDF5("grp/missing")), mixed);
+			fail("expected exception for missing dataset");
+		}
+		catch(Exception e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("missing"));
+		}
+	}
+
+	@Test
+	public void writeSparseMultiPartRoundTrip() throws Exception {
+		// sparse inputs and multiple part files of one directory
+		MatrixBlock mb1 = TestUtils.generateTestMatrixBlock(120, 33, -10, 10, 0.05, 3);
+		MatrixBlock mb2 = TestUtils.generateTestMatrixBlock(77, 33, -10, 10, 0.9, 4);
+		assertTrue(mb1.isInSparseFormat());
+		FileFormatPropertiesHDF5 props = new FileFormatPropertiesHDF5("data");
+		String fname = dir + "multi";
+		new WriterHDF5(props).writeMatrixToHDFS(mb1, fname + "/0-part-00000", 120, 33, -1, mb1.getNonZeros());
+		new WriterHDF5(props).writeMatrixToHDFS(mb2, fname + "/0-part-00001", 77, 33, -1, mb2.getNonZeros());
+
+		MatrixBlock exp = new MatrixBlock(197, 33, false);
+		exp.copy(0, 119, 0, 32, mb1, false);
+		exp.copy(120, 196, 0, 32, mb2, false);
+		exp.recomputeNonZeros();
+		for(MatrixReader reader : new MatrixReader[] {new ReaderHDF5(props), new ReaderHDF5Parallel(props)}) {
+			MatrixBlock ret = reader.readMatrixFromHDFS(fname, -1, 33, -1, -1);
+			TestUtils.compareMatricesBitAvgDistance(exp, ret, 0, 0, "multi");
+			assertEquals(exp.recomputeNonZeros(), ret.getNonZeros());
+		}
+	}
+
+	private static MatrixBlock compareAll(String name, MatrixBlock exp) throws Exception {
+		FileFormatPropertiesHDF5 props = new FileFormatPropertiesHDF5(name);
+		MatrixBlock seq = read(new ReaderHDF5(props), mixed);
+		TestUtils.compareMatricesBitAvgDistance(exp, seq, 0, 0, name);
+		MatrixBlock par = read(new ReaderHDF5Parallel(props), mixed);
+		TestUtils.compareMatricesBitAvgDistance(exp, par, 0, 0, name);
+		try(InputStream is = new FileInputStream(mixed)) {
+			MatrixBlock str = new ReaderHDF5(props).readMatrixFromInputStream(is, exp.getNumRows(),
+				exp.getNumColumns(), -1, -1);
+			TestUtils.compareMatricesBitAvgDistance(exp, str, 0, 0, name);
+		}
+		assertEquals(exp.recomputeNonZeros(), seq.getNonZeros());
+		assertEquals(exp.recomputeNonZeros(), par.getNonZeros());
+		return seq;
+	}
+
+	private static MatrixBlock read(MatrixReader reader, String fname) throws Exception {
+		return reader.readMatrixFromHDFS(fname, -1, -1, -1, -1);
+	}
+
+	private static MatrixBlock tenByTen() {
+		MatrixBlock ret = new MatrixBlock(10, 10, false);
+		for(int i = 0; i < 10; i++)
+			for(int j = 0; j < 10; j++)
+				ret.set(i, j, i * 10 + j);
+		return ret;
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysds.runtime.io.MatrixReaderFactory;
+import org.apache.sysds.runtime.io.MatrixWriterFactory;
+import org.apache.sysds.runtime.io.ReaderNative;
+import org.apache.sysds.runtime.io.WriterNative;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+public class NativeIOTest {
+
+	private final static String dir = "target/testTemp/component/io/" + NativeIOTest.class.getSimpleName() + "/";
+
+	@AfterClass
+	public static void cleanup() throws Exception {
+		FileUtils.deleteDirectory(new File(dir));
+	}
+
+	@Test
+	public void denseRoundTrip() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(1234, 57, -10, 10, 0.9, 7);
+		MatrixBlock ret = roundTrip("dense", mb, 100, 4);
+		assertFalse(ret.isInSparseFormat());
+	}
+
+	@Test
+	public void denseRoundTripSingleThread() throws Exception {
+		roundTrip("dense1", TestUtils.generateTestMatrixBlock(333, 17, -10, 10, 1.0, 8), 1000, 1);
+	}
+
+	@Test
+	public void sparseRoundTrip() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(2000, 300, -10, 10, 0.02, 9);
+		MatrixBlock ret = roundTrip("sparse", mb, 128, 4);
+		assertTrue(ret.isInSparseFormat());
+	}
+
+	@Test
+	public void sparseInputDensePanels() throws Exception {
+		// sparse input with a dense leading row range, stored as dense panels
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(1000, 50, -10, 10, 0.05, 10);
+		MatrixBlock top = TestUtils.generateTestMatrixBlock(100, 50, 1, 2, 1.0, 11);
+		mb = mb.leftIndexingOperations(top, 0, 99, 0, 49, new MatrixBlock(), UpdateType.COPY);
+		mb.examSparsity();
+		roundTrip("mixedSparse", mb, 100, 3);
+	}
+
+	@Test
+	public void denseInputSparsePanels() throws Exception {
+		// dense input with empty and sparse panels, read into a dense output
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(1000, 40, -10, 10, 1.0, 12);
+		mb = mb.leftIndexingOperations(new MatrixBlock(500, 40, 0.0), 200, 699, 0, 39, new MatrixBlock(), UpdateType.COPY);
+		mb.set(600, 3, 7);
+		mb.examSparsity();
+		assertFalse(mb.isInSparseFormat());
+		roundTrip("mixedDense", mb, 100, 4);
+	}
+
+	@Test
+	public void emptyRoundTrip() throws Exception {
+		String fname = dir + "empty";
+		new WriterNative(2).writeEmptyMatrixToHDFS(fname, 100, 10, 1000);
+		MatrixBlock ret = new ReaderNative(2).readMatrixFromHDFS(fname, 100, 10, 1000, 0);
+		assertEquals(100, ret.getNumRows());
+		assertEquals(10, ret.getNumColumns());
+		assertTrue(ret.isEmptyBlock(false));
+	}
+
+	@Test
+	public void factoryRoundTrip() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(500, 20, -1, 1, 0.5, 13);
+		String fname = dir + "factory";
+		MatrixWriterFactory.createMatrixWriter(FileFormat.NATIVE).writeMatrixToHDFS(mb, fname, 500, 20, 1000,
+			mb.getNonZeros());
+		MatrixBlock ret = MatrixReaderFactory.createMatrixReader(FileFormat.NATIVE).readMatrixFromHDFS(fname, -1, -1,
+			-1, -1);
+		TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0);
+	}
+
+	@Test(expected = IOException.class)
+	public void invalidDimensions() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(10, 10, -1, 1, 1.0, 14);
+		String fname = dir + "invalid";
+		new WriterNative(1).writeMatrixToHDFS(mb, fname, 10, 10, 1000, mb.getNonZeros());
+		new ReaderNative(1).readMatrixFromHDFS(fname, 11, 10, 1000, -1);
+	}
+
+	private static MatrixBlock roundTrip(String name, MatrixBlock mb, int blen, int k) throws IOException {
+		String fname = dir + name;
+		new WriterNative(k).writeMatrixToHDFS(mb, fname, mb.getNumRows(), mb.getNumColumns(), blen,
+			mb.getNonZeros());
+		MatrixBlock ret = new ReaderNative(k).readMatrixFromHDFS(fname, mb.getNumRows(), mb.getNumColumns(), blen,
+			mb.getNonZeros());
+		TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0);
+		assertEquals(mb.recomputeNonZeros(), ret.getNonZeros());
+		return ret;
+	}
+}
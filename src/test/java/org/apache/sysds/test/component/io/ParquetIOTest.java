@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.FrameReaderFactory;
+import org.apache.sysds.runtime.io.FrameReaderParquet;
+import org.apache.sysds.runtime.io.FrameReaderParquetParallel;
+import org.apache.sysds.runtime.io.FrameWriterFactory;
+import org.apache.sysds.runtime.io.FrameWriterParquet;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.io.MatrixReaderFactory;
+import org.apache.sysds.runtime.io.MatrixWriterFactory;
+import org.apache.sysds.runtime.io.ReaderParquetParallel;
+import org.apache.sysds.runtime.io.WriterParquet;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+public class ParquetIOTest {
+
+	private final static String dir = "target/testTemp/component/io/" + ParquetIOTest.class.getSimpleName() + "/";
+
+	private final static ValueType[] schema = new ValueType[] {ValueType.FP64, ValueType.FP32, ValueType.INT32,
+		ValueType.INT64, ValueType.BOOLEAN, ValueType.STRING};
+
+	@AfterClass
+	public static void cleanup() throws Exception {
+		FileUtils.deleteDirectory(new File(dir));
+	}
+
+	@Test
+	public void frameRoundTrip() throws Exception {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(1000, schema, 7);
+		String fname = dir + "frame";
+		FrameWriterFactory.createFrameWriter(FileFormat.PARQUET).writeFrameToHDFS(fb, fname, 1000, schema.length);
+		FrameBlock ret = FrameReaderFactory.createFrameReader(FileFormat.PARQUET)
+			.readFrameFromHDFS(fname, null, null, -1, -1);
+		assertArrayEquals(schema, ret.getSchema());
+		TestUtils.compareFrames(fb, ret, true);
+	}
+
+	@Test
+	public void frameRoundTripWithNulls() throws Exception {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(300, new ValueType[] {ValueType.STRING, ValueType.FP64},
+			13, 0.3);
+		String fname = dir + "frameNulls";
+		new FrameWriterParquet().writeFrameToHDFS(fb, fname, 300, 2);
+		FrameBlock ret = new FrameReaderParquet().readFrameFromHDFS(fname, null, null, 300, 2);
+		for(int i = 0; i < 300; i++) {
+			assertEquals(fb.get(i, 0), ret.get(i, 0));
+			Object d = fb.get(i, 1);
+			assertEquals(d == null ? 0.0 : d, ret.get(i, 1));
+		}
+	}
+
+	@Test
+	public void frameProjection() throws Exception {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(500, schema, 3);
+		String fname = dir + "frameProjection";
+		new FrameWriterParquet().writeFrameToHDFS(fb, fname, 500, schema.length);
+		String[] cols = new String[] {fb.getColumnName(5), fb.getColumnName(2)};
+		FrameBlock ret = new FrameReaderParquet(cols).readFrameFromHDFS(fname, null, null, -1, -1);
+		assertEquals(2, ret.getNumColumns());
+		assertArrayEquals(cols, ret.getColumnNames());
+		for(int i = 0; i < 500; i++) {
+			assertEquals(fb.get(i, 5), ret.get(i, 0));
+			assertEquals(fb.get(i, 2), ret.get(i, 1));
+		}
+	}
+
+	@Test
+	public void frameParallelReadOfPartFiles() throws Exception {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(1000, schema, 11);
+		String fname = dir + "frameParts";
+		new File(fname).mkdirs();
+		for(int i = 0; i < 4; i++) {
+			FrameBlock part = fb.slice(i * 250, i * 250 + 249);
+			new FrameWriterParquet().writeFrameToHDFS(part, fname + "/" + IOUtilFunctions.getPartFileName(i), 250,
+				schema.length);
+		}
+		FrameBlock ret = new FrameReaderParquetParallel().readFrameFromHDFS(fname, null, null, 1000, schema.length);
+		TestUtils.compareFrames(fb, ret, true);
+	}
+
+	@Test
+	public void matrixRoundTripDense() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(700, 30, -1, 1, 1.0, 42);
+		MatrixBlock ret = writeAndRead(mb, "matrixDense", -1);
+		assertTrue(!ret.isInSparseFormat());
+		TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0, "dense");
+	}
+
+	@Test
+	public void matrixRoundTripSparse() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(700, 100, -1, 1, 0.02, 43);
+		MatrixBlock ret = writeAndRead(mb, "matrixSparse", mb.getNonZeros());
+		assertTrue(ret.isInSparseFormat());
+		assertEquals(mb.getNonZeros(), ret.getNonZeros());
+		TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0, "sparse");
+	}
+
+	@Test
+	public void matrixParallelReadOfPartFiles() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(1000, 20, -1, 1, 0.5, 44);
+		String fname = dir + "matrixParts";
+		new File(fname).mkdirs();
+		for(int i = 0; i < 4; i++) {
+			MatrixBlock part = mb.slice(i * 250, i * 250 + 249);
+			new WriterParquet().writeMatrixToHDFS(part, fname + "/" + IOUtilFunctions.getPartFileName(i), 250, 20, -1,
+				part.getNonZeros());
+		}
+		MatrixBlock ret = new ReaderParquetParallel().readMatrixFromHDFS(fname, 1000, 20, -1, mb.getNonZeros());
+		assertEquals(mb.getNonZeros(), ret.getNonZeros());
+		TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0, "parts");
+	}
+
+	private static MatrixBlock writeAndRead(MatrixBlock mb, String name, long estnnz) throws Exception {
+		String fname = dir + name;
+		int rlen = mb.getNumRows(), clen = mb.getNumColumns();
+		MatrixWriterFactory.createMatrixWriter(FileFormat.PARQUET).writeMatrixToHDFS(mb, fname, rlen, clen, -1,
+			mb.getNonZeros());
+		return MatrixReaderFactory.createMatrixReader(FileFormat.PARQUET).readMatrixFromHDFS(fname, rlen, clen, -1,
+			estnnz);
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.FrameReader;
+import org.apache.sysds.runtime.io.FrameReaderBinaryBlock;
+import org.apache.sysds.runtime.io.FrameReaderTextCSV;
+import org.apache.sysds.runtime.io.FrameWriterFactory;
+import org.apache.sysds.runtime.io.MatrixReader;
+import org.apache.sysds.runtime.io.MatrixWriterFactory;
+import org.apache.sysds.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysds.runtime.io.ReaderTextCSVParallel;
+import org.apache.sysds.runtime.io.ReaderTextCell;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.IndexRange;
+import org.apache.sysds.test.TestUtils;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+public class ReadRangeTest {
+
+	private final static String dir = "target/testTemp/component/io/" + ReadRangeTest.class.getSimpleName() + "/";
+
+	@AfterClass
+	public static void cleanup() throws Exception {
+		FileUtils.deleteDirectory(new File(dir));
+	}
+
+	@Test
+	public void binaryBlockDenseMultiBlock() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(2500, 1700, -1, 1, 0.9, 7);
+		String fname = writeMatrix("dense.bin", FileFormat.BINARY, mb, 1000);
+		compareRange(new ReaderBinaryBlockParallel(false), fname, mb, 1000, new IndexRange(999, 2100, 500, 1600));
+	}
+
+	@Test
+	public void binaryBlockSparseMultiBlock() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(2500, 1700, -1, 1, 0.05, 8);
+		String fname = writeMatrix("sparse.bin", FileFormat.BINARY, mb, 1000);
+		compareRange(new ReaderBinaryBlockParallel(false), fname, mb, 1000, new IndexRange(3, 2499, 1001, 1699));
+	}
+
+	@Test
+	public void binaryBlockWithinSingleBlock() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(2500, 1700, -1, 1, 0.3, 9);
+		String fname = writeMatrix("single.bin", FileFormat.BINARY, mb, 1000);
+		compareRange(new ReaderBinaryBlockParallel(false), fname, mb, 1000, new IndexRange(1200, 1300, 10, 20));
+	}
+
+	@Test
+	public void csvMultiSplitDense() throws Exception {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(900, 40, 0, 10, 0.8, 10));
+		String fname = writeCSVParts("dense.csv", mb, 3, false);
+		compareRange(new ReaderTextCSVParallel(new FileFormatPropertiesCSV()), fname, mb, 1000,
+			new IndexRange(250, 700, 5, 17));
+	}
+
+	@Test
+	public void csvMultiSplitSparseHeader() throws Exception {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(900, 40, 0, 10, 0.05, 11));
+		String fname = writeCSVParts("sparse.csv", mb, 4, true);
+		FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(true, ",", false);
+		compareRange(new ReaderTextCSVParallel(props), fname, mb, 1000, new IndexRange(0, 120, 30, 39));
+		compareRange(new ReaderTextCSVParallel(props), fname, mb, 1000, new IndexRange(899, 899, 0, 39));
+	}
+
+	@Test
+	public void textCellFallback() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(300, 200, -1, 1, 0.1, 12);
+		String fname = writeMatrix("cell.txt", FileFormat.TEXT, mb, 1000);
+		compareRange(new ReaderTextCell(FileFormat.TEXT), fname, mb, 1000, new IndexRange(10, 200, 50, 60));
+	}
+
+	@Test
+	public void invalidRange() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(100, 10, -1, 1, 1.0, 13);
+		String fname = writeMatrix("invalid.bin", FileFormat.BINARY, mb, 1000);
+		assertThrows(DMLRuntimeException.class, () -> new ReaderBinaryBlockParallel(false)
+			.readMatrixFromHDFS(fname, 100, 10, 1000, mb.getNonZeros(), new IndexRange(0, 99, 5, 10)));
+	}
+
+	@Test
+	public void frameCSVProjection() throws Exception {
+		ValueType[] schema = new ValueType[] {ValueType.INT64, ValueType.STRING, ValueType.FP64, ValueType.BOOLEAN};
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(700, schema, 14);
+		fb.setColumnNames(new String[] {"a", "b", "c", "d"});
+		String fname = dir + "frame.csv";
+		FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(true, ",", false);
+		FrameWriterFactory.createFrameWriter(FileFormat.CSV, props).writeFrameToHDFS(fb, fname, 700, 4);
+
+		FrameReaderTextCSV reader = new FrameReaderTextCSV(props);
+		FrameBlock exp = reader.readFrameFromHDFS(fname, schema, 700, 4).slice(100, 399, 1, 2);
+		FrameBlock ret = reader.readFrameFromHDFS(fname, new ValueType[] {ValueType.STRING, ValueType.FP64},
+			700, 4, new IndexRange(100, 399, 1, 2));
+		assertArrayEquals(new String[] {"b", "c"}, ret.getColumnNames());
+		assertEquals(300, ret.getNumRows());
+		TestUtils.compareFrames(exp, ret, false);
+	}
+
+	@Test
+	public void frameBinaryFallback() throws Exception {
+		ValueType[] schema = new ValueType[] {ValueType.FP64, ValueType.STRING, ValueType.INT32};
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(500, schema, 15);
+		String fname = dir + "frame.bin";
+		FrameWriterFactory.createFrameWriter(FileFormat.BINARY).writeFrameToHDFS(fb, fname, 500, 3);
+
+		FrameReader reader = new FrameReaderBinaryBlock();
+		FrameBlock ret = reader.readFrameFromHDFS(fname, new ValueType[] {ValueType.STRING, ValueType.INT32},
+			500, 3, new IndexRange(0, 49, 1, 2));
+		TestUtils.compareFrames(fb.slice(0, 49, 1, 2), ret, false);
+	}
+
+	private static void compareRange(MatrixReader reader, String fname, MatrixBlock mb, int blen, IndexRange ix)
+		throws Exception {
+		MatrixBlock exp = mb.slice((int) ix.rowStart, (int) ix.rowEnd, (int) ix.colStart, (int) ix.colEnd);
+		MatrixBlock ret = reader.readMatrixFromHDFS(fname, mb.getNumRows(), mb.getNumColumns(), blen,
+			mb.getNonZeros(), ix);
+		assertEquals(exp.getNonZeros(), ret.getNonZeros());
+		TestUtils.compareMatrices(exp, ret, 1e-14, "read range " + ix);
+	}
+
+	private static String writeMatrix(String name, FileFormat fmt, MatrixBlock mb, int blen) throws Exception {
+		String fname = dir + name;
+		MatrixWriterFactory.createMatrixWriter(fmt)
+			.writeMatrixToHDFS(mb, fname, mb.getNumRows(), mb.getNumColumns(), blen, mb.getNonZeros());
+		return fname;
+	}
+
+	private static String writeCSVParts(String name, MatrixBlock mb, int parts, boolean header) throws Exception {
+		String fname = dir + name;
+		int rows = mb.getNumRows(), len = (rows + parts - 1) / parts;
+		for(int p = 0; p < parts; p++) {
+			StringBuilder sb = new StringBuilder();
+			if(p == 0 && header)
+				for(int j = 0; j < mb.getNumColumns(); j++)
+					sb.append(j == 0 ? "" : ",").append("C" + (j + 1));
+			if(p == 0 && header)
+				sb.append("\n");
+			for(int i = p * len; i < Math.min(rows, (p + 1) * len); i++) {
+				for(int j = 0; j < mb.getNumColumns(); j++)
+					sb.append(j == 0 ? "" : ",").append(mb.get(i, j));
+				sb.append("\n");
+			}
+			FileUtils.writeStringToFile(new File(fname + "/" + String.format("0-m-%05d", p)), sb.toString(),
+				StandardCharsets.UTF_8);
+		}
+		return fname;
+	}
+}
@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.io.MatrixReader;
+import org.apache.sysds.runtime.io.ReaderTextCSV;
+import org.apache.sysds.runtime.io.ReaderTextCSVLocal;
+import org.apache.sysds.runtime.io.ReaderTextCSVParallel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+public class ReaderTextCSVLocalTest {
+
+	private final static String dir = "target/testTemp/component/io/" + ReaderTextCSVLocalTest.class.getSimpleName()
+		+ "/";
+
+	@AfterClass
+	public static void cleanup() throws Exception {
+		FileUtils.deleteDirectory(new File(dir));
+	}
+
+	@Test
+	public void readDense() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(1000, 7, -10, 10, 0.9, 7);
+		String fname = write("dense", mb, ",", false);
+		MatrixBlock ret = read(props(false, ","), fname, 1000, 7, -1);
+		assertFalse(ret.isInSparseFormat());
+		TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0);
+	}
+
+	@Test
+	public void readDenseMultipleChunks() throws Exception {
+		// > 4MB to produce multiple line-aligned chunks
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(20000, 13, -1, 1, 1.0, 3);
+		String fname = write("denseLarge", mb, ",", true);
+		MatrixBlock ret = read(props(true, ","), fname, -1, -1, -1);
+		TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0);
+		assertEquals(mb.getNonZeros(), ret.getNonZeros());
+	}
+
+	@Test
+	public void readSparse() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(3000, 100, -10, 10, 0.05, 11);
+		String fname = write("sparse", mb, "\t", false);
+		MatrixBlock ret = read(props(false, "\t"), fname, 3000, 100, mb.getNonZeros());
+		assertTrue(ret.isInSparseFormat());
+		TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0);
+		assertEquals(mb.getNonZeros(), ret.getNonZeros());
+	}
+
+	@Test
+	public void readSparseUnknownNnz() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(3000, 100, -10, 10, 0.05, 12);
+		String fname = write("sparseUnknown", mb, ",", false);
+		MatrixBlock ret = read(props(false, ","), fname, -1, -1, -1);
+		assertTrue(ret.isInSparseFormat());
+		TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0);
+	}
+
+	@Test
+	public void readSingleColumn() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(500, 1, 0, 100, 0.7, 5);
+		String fname = write("vector", mb, ",", true);
+		TestUtils.compareMatricesBitAvgDistance(mb, read(props(true, ","), fname, 500, 1, -1), 0, 0);
+	}
+
+	@Test
+	public void readFillAndSpecialValues() throws Exception {
+		String fname = writeString("fill", "a,b,c\n1.5, ,NaN\r\n,-2e3,Infinity\n  3 ,4,\n");
+		FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(true, ",", true, 7, "");
+		MatrixBlock exp = new ReaderTextCSV(props).readMatrixFromHDFS(fname, 3, 3, 1000, -1);
+		MatrixBlock ret = read(props, fname, 3, 3, -1);
+		TestUtils.compareMatrices(exp, ret, 0, "fill", true);
+		assertEquals(7, ret.get(0, 1), 0);
+		assertTrue(Double.isNaN(ret.get(0, 2)));
+	}
+
+	@Test
+	public void readPaddedDimensions() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(10, 3, 1, 2, 1.0, 9);
+		String fname = write("padded", mb, ",", false);
+		MatrixBlock ret = read(props(false, ","), fname, 12, 4, -1);
+		assertEquals(12, ret.getNumRows());
+		assertEquals(4, ret.getNumColumns());
+		assertEquals(mb.sum(), ret.sum(), 1e-10);
+	}
+
+	@Test
+	public void readInvalidNumColumns() throws Exception {
+		String fname = writeString("invalidCols", "1,2,3\n4,5\n");
+		try {
+			read(props(false, ","), fname, -1, -1, -1);
+			fail("expected exception");
+		}
+		catch(IOException e) {
+			assertTrue(e.getMessage().contains("Invalid number of columns"));
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void readEmptyFieldWithoutFill() throws Exception {
+		String fname = writeString("noFill", "1,,3\n4,5,6\n");
+		read(new FileFormatPropertiesCSV(false, ",", false, 0, ""), fname, -1, -1, -1);
+	}
+
+	@Test
+	public void parallelReaderUsesLocalReader() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(100, 5, -1, 1, 0.5, 17);
+		String fname = write("dispatch", mb, ",", false);
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, ConfigurationManager.getCachedJobConf());
+		assertTrue(ReaderTextCSVLocal.isApplicable(fs, path, props(false, ",")));
+		assertFalse(ReaderTextCSVLocal.isApplicable(fs, path, props(false, "::")));
+		MatrixBlock ret = new ReaderTextCSVParallel(props(false, ",")).readMatrixFromHDFS(fname, 100, 5, 1000, -1);
+		TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0);
+	}
+
+	@Test
+	public void readDenseKnownDimsMultipleChunks() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(20000, 13, -1, 1, 0.7, 4);
+		String fname = write("denseKnown", mb, ",", true);
+		MatrixBlock ret = read(props(true, ","), fname, 20000, 13, -1);
+		assertFalse(ret.isInSparseFormat());
+		TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0);
+		assertEquals(mb.getNonZeros(), ret.getNonZeros());
+	}
+
+	@Test
+	public void readSparseKnownDimsMultipleChunks() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(40000, 50, -10, 10, 0.02, 8);
+		String fname = write("sparseKnown", mb, ",", false);
+		MatrixBlock ret = read(props(false, ","), fname, 40000, 50, mb.getNonZeros());
+		assertTrue(ret.isInSparseFormat());
+		TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0);
+		assertEquals(mb.getNonZeros(), ret.getNonZeros());
+	}
+
+	@Test
+	public void readKnownDimsWithoutTrailingNewline() throws Exception {
+		String fname = writeString("noNewline", "1,2\n3,4\n0,5");
+		MatrixBlock ret = read(props(false, ","), fname, 3, 2, -1);
+		assertEquals(15, ret.sum(), 0);
+		assertEquals(5, ret.getNonZeros());
+		assertEquals(5, ret.get(2, 1), 0);
+	}
+
+	@Test
+	public void readQuotedFallback() throws Exception {
+		// quoted fields are delegated to the RFC4180-compliant reader, incl its error handling
+		String fname = writeString("quoted", "a,b,c\n1,2,3\n4,\"5,5\",6\n");
+		FileFormatPropertiesCSV props = props(true, ",");
+		for(long[] dims : new long[][] {{2, 3}, {-1, -1}}) {
+			Exception exp = readException(new ReaderTextCSV(props), fname, dims);
+			Exception ret = readException(new ReaderTextCSVLocal(props, 4), fname, dims);
+			assertEquals(exp.getClass(), ret.getClass());
+			assertEquals(exp.getMessage(), ret.getMessage());
+		}
+	}
+
+	private static Exception readException(MatrixReader reader, String fname, long[] dims) {
+		try {
+			reader.readMatrixFromHDFS(fname, dims[0], dims[1], 1000, -1);
+		}
+		catch(Exception e) {
+			return e;
+		}
+		fail("expected exception");
+		return null;
+	}
+
+	private static MatrixBlock read(FileFormatPropertiesCSV props, String fname, long rlen, long clen, long nnz)
+		throws IOException {
+		return new ReaderTextCSVLocal(props, 4).readMatrixFromHDFS(fname, rlen, clen, 1000, nnz);
+	}
+
+	private static FileFormatPropertiesCSV props(boolean header, String delim) {
+		return new FileFormatPropertiesCSV(header, delim, false, 0, "");
+	}
+
+	private static String write(String name, MatrixBlock mb, String delim, boolean header) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		if(header) {
+			for(int j = 0; j < mb.getNumColumns(); j++)
+				sb.append(j > 0 ? delim : "").append("C").append(j);
+			sb.append('\n');
+		}
+		for(int i = 0; i < mb.getNumRows(); i++) {
+			for(int j = 0; j < mb.getNumColumns(); j++) {
+				double v = mb.get(i, j);
+				sb.append(j > 0 ? delim : "").append(v == 0 ? "0" : Double.toString(v));
+			}
+			sb.append('\n');
+		}
+		return writeString(name, sb.toString());
+	}
+
+	private static String writeString(String name, String content) throws IOException {
+		File f = new File(dir + name + ".csv");
+		FileUtils.writeStringToFile(f, content, StandardCharsets.UTF_8);
+		return f.getPath();
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertThrows;
+
+import org.apache.commons.math3.linear.CholeskyDecomposition;
+import org.apache.commons.math3.linear.QRDecomposition;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.sysds.lops.MMTSJ.MMTSJType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.matrix.data.LibCommonsMath;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class CholeskySolveTest {
+
+	@Test
+	public void choleskySmall() {
+		testCholesky(10, 1);
+	}
+
+	@Test
+	public void choleskyMultipleBlocks() {
+		testCholesky(300, 1);
+	}
+
+	@Test
+	public void choleskyMultipleBlocksParallel() {
+		testCholesky(300, 4);
+	}
+
+	@Test
+	public void choleskyNotSymmetric() {
+		MatrixBlock in = TestUtils.generateTestMatrixBlock(10, 10, 0, 1, 1.0, 2);
+		assertThrows(DMLRuntimeException.class, () -> LibCommonsMath.unaryOperations(in, "cholesky", 1));
+	}
+
+	@Test
+	public void choleskyNotPositiveDefinite() {
+		MatrixBlock in = new MatrixBlock(2, 2, new double[] {1, 2, 2, 1});
+		assertThrows(DMLRuntimeException.class, () -> LibCommonsMath.unaryOperations(in, "cholesky", 1));
+	}
+
+	@Test
+	public void solveSPD() {
+		testSolve(spd(50, 3), 1, 1);
+	}
+
+	@Test
+	public void solveSPDMultipleBlocksParallel() {
+		testSolve(spd(400, 4), 3, 4);
+	}
+
+	@Test
+	public void solveSymmetricIndefinite() {
+		testSolve(new MatrixBlock(2, 2, new double[] {1, 2, 2, 1}), 1, 1);
+	}
+
+	@Test
+	public void solveSPDInvalidRightHandSide() {
+		MatrixBlock a = spd(20, 3);
+		MatrixBlock b = TestUtils.generateTestMatrixBlock(19, 1, -1, 1, 1.0, 4);
+		assertThrows(DMLRuntimeException.class, () -> LibCommonsMath.matrixMatrixOperations(a, b, "solve", 1));
+	}
+
+	@Test
+	public void solveNotSymmetric() {
+		MatrixBlock a = TestUtils.generateTestMatrixBlock(20, 20, 0, 1, 1.0, 5);
+		for(int i = 0; i < 20; i++)
+			a.set(i, i, a.get(i, i) + 20);
+		testSolve(a, 2, 1);
+	}
+
+	@Test
+	public void solveNearSingularSPDFallsBackToQR() {
+		// scaled such that the last pivot is not rejected by the absolute threshold alone
+		MatrixBlock a = nearSingularSPD(1e-9, 1e12);
+		MatrixBlock b = TestUtils.generateTestMatrixBlock(a.getNumRows(), 1, -1, 1, 1.0, 11);
+		MatrixBlock x = LibCommonsMath.matrixMatrixOperations(a, b, "solve", 1);
+		RealMatrix exp = new QRDecomposition(DataConverter.convertToBlockRealMatrix(a)).getSolver()
+			.solve(DataConverter.convertToBlockRealMatrix(b));
+		TestUtils.compareMatrices(DataConverter.convertToMatrixBlock(exp), x, 0, "solve via QR");
+	}
+
+	@Test
+	public void solveIllConditionedSPD() {
+		MatrixBlock a = nearSingularSPD(1e-3, 1);
+		MatrixBlock b = TestUtils.generateTestMatrixBlock(a.getNumRows(), 2, -1, 1, 1.0, 11);
+		MatrixBlock x = LibCommonsMath.matrixMatrixOperations(a, b, "solve", 1);
+		TestUtils.compareMatrices(b, LibMatrixMult.matrixMult(a, x), 1e-6, "solve");
+	}
+
+	private static void testCholesky(int n, int threads) {
+		MatrixBlock in = spd(n, 7);
+		MatrixBlock ret = LibCommonsMath.unaryOperations(in, "cholesky", threads);
+		CholeskyDecomposition exp = new CholeskyDecomposition(DataConverter.convertToArray2DRowRealMatrix(in));
+		TestUtils.compareMatrices(DataConverter.convertToMatrixBlock(exp.getL().getData()), ret, 1e-8, "cholesky");
+	}
+
+	private static void testSolve(MatrixBlock a, int m, int threads) {
+		MatrixBlock b = TestUtils.generateTestMatrixBlock(a.getNumRows(), m, -1, 1, 1.0, 11);
+		MatrixBlock x = LibCommonsMath.matrixMatrixOperations(a, b, "solve", threads);
+		// verify the residual instead of comparing against another decomposition
+		TestUtils.compareMatrices(b, LibMatrixMult.matrixMult(a, x), 1e-8, "solve");
+	}
+
+	/**
+	 * Gram matrix of a matrix whose last column is a perturbed copy of the first column.
+	 */
+	private static MatrixBlock nearSingularSPD(double perturbation, double scale) {
+		MatrixBlock r = TestUtils.generateTestMatrixBlock(100, 6, -1, 1, 1.0, 13);
+		MatrixBlock noise = TestUtils.generateTestMatrixBlock(100, 1, -1, 1, 1.0, 17);
+		for(int i = 0; i < 100; i++)
+			r.set(i, 5, r.get(i, 0) + perturbation * noise.get(i, 0));
+		MatrixBlock ret = r.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT);
+		for(int i = 0; i < 6; i++)
+			for(int j = 0; j < 6; j++)
+				ret.set(i, j, ret.get(i, j) * scale);
+		return ret;
+	}
+
+	private static MatrixBlock spd(int n, int seed) {
+		MatrixBlock r = TestUtils.generateTestMatrixBlock(2 * n, n, -1, 1, 1.0, seed);
+		MatrixBlock ret = r.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT);
+		for(int i = 0; i < n; i++)
+			ret.set(i, i, ret.get(i, i) + 1);
+		return ret;
+	}
+}
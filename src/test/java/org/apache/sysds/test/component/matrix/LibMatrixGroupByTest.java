@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.matrix.data.LibMatrixGroupBy;
+import org.apache.sysds.runtime.matrix.data.LibMatrixGroupBy.AggFn;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class LibMatrixGroupByTest {
+
+	private static final AggFn[] ALL = new AggFn[] {AggFn.SUM, AggFn.COUNT, AggFn.MIN, AggFn.MAX, AggFn.MEAN,
+		AggFn.VAR};
+
+	@Test
+	public void singleKeyAllAggregates() {
+		compare(create(20000, 3, 50, 1), new int[] {0}, new int[] {1, 1, 2, 2, 1, 2}, ALL);
+	}
+
+	@Test
+	public void multiKey() {
+		compare(create(30000, 4, 8, 2), new int[] {0, 3}, new int[] {1, 2}, new AggFn[] {AggFn.SUM, AggFn.VAR});
+	}
+
+	@Test
+	public void manyGroups() {
+		compare(create(50000, 2, 20000, 3), new int[] {0}, new int[] {1, 1}, new AggFn[] {AggFn.COUNT, AggFn.MEAN});
+	}
+
+	@Test
+	public void sparseInput() {
+		MatrixBlock a = TestUtils.round(TestUtils.generateTestMatrixBlock(20000, 20, 0, 10, 0.05, 4));
+		compare(a, new int[] {3, 7}, new int[] {5, 5}, new AggFn[] {AggFn.SUM, AggFn.MAX});
+	}
+
+	@Test
+	public void sparseInputUnorderedColumns() {
+		MatrixBlock a = TestUtils.round(TestUtils.generateTestMatrixBlock(20000, 30, 0, 10, 0.1, 6));
+		assertTrue(a.isInSparseFormat());
+		compare(a, new int[] {17, 2}, new int[] {29, 0, 17, 29},
+			new AggFn[] {AggFn.SUM, AggFn.MIN, AggFn.MEAN, AggFn.MAX});
+	}
+
+	@Test
+	public void missingValues() {
+		MatrixBlock a = new MatrixBlock(5, 2, new double[] {1, 2, Double.NaN, 3, 1, Double.NaN, 2, 4, 2, 6});
+		MatrixBlock ret = LibMatrixGroupBy.groupBy(a, new int[] {0}, new int[] {1, 1, 1},
+			new AggFn[] {AggFn.COUNT, AggFn.SUM, AggFn.VAR}, 1);
+		assertEquals(2, ret.getNumRows());
+		assertEquals(1, ret.get(0, 0), 0);
+		assertEquals(1, ret.get(0, 1), 0);
+		assertEquals(2, ret.get(0, 2), 0);
+		assertEquals(0, ret.get(0, 3), 0);
+		assertEquals(2, ret.get(1, 0), 0);
+		assertEquals(10, ret.get(1, 2), 0);
+		assertEquals(2, ret.get(1, 3), 0);
+	}
+
+	@Test
+	public void broadcast() {
+		assertEquals(3, LibMatrixGroupBy.broadcastColumns(new int[] {1}, 3).length);
+		assertEquals(2, LibMatrixGroupBy.broadcastFunctions(new AggFn[] {AggFn.MIN}, 2).length);
+		assertEquals(2, LibMatrixGroupBy.broadcastColumns(new int[] {1, 2}, 2).length);
+	}
+
+	@Test
+	public void invalidArguments() {
+		MatrixBlock a = create(10, 2, 5, 5);
+		assertThrows(DMLRuntimeException.class,
+			() -> LibMatrixGroupBy.groupBy(a, new int[] {0}, new int[] {1, 0}, new AggFn[] {AggFn.SUM}, 1));
+		assertThrows(DMLRuntimeException.class,
+			() -> LibMatrixGroupBy.groupBy(a, new int[] {2}, new int[] {1}, new AggFn[] {AggFn.SUM}, 1));
+		assertThrows(DMLRuntimeException.class, () -> AggFn.parse("median"));
+	}
+
+	private static void compare(MatrixBlock in, int[] keys, int[] cols, AggFn[] fns) {
+		MatrixBlock expected = naiveGroupBy(in, keys, cols, fns);
+		for(int k : new int[] {1, 4}) {
+			MatrixBlock ret = LibMatrixGroupBy.groupBy(in, keys, cols, fns, k);
+			TestUtils.compareMatrices(expected, ret, 1e-9, "k=" + k);
+		}
+	}
+
+	private static MatrixBlock naiveGroupBy(MatrixBlock in, int[] keys, int[] cols, AggFn[] fns) {
+		Map<List<Double>, List<double[]>> groups = new LinkedHashMap<>();
+		for(int i = 0; i < in.getNumRows(); i++) {
+			List<Double> key = new ArrayList<>();
+			for(int c : keys)
+				key.add(in.get(i, c));
+			double[] vals = new double[cols.length];
+			for(int j = 0; j < cols.length; j++)
+				vals[j] = in.get(i, cols[j]);
+			groups.computeIfAbsent(key, x -> new ArrayList<>()).add(vals);
+		}
+		MatrixBlock ret = new MatrixBlock(groups.size(), keys.length + fns.length, false);
+		int r = 0;
+		for(Map.Entry<List<Double>, List<double[]>> e : groups.entrySet()) {
+			for(int j = 0; j < keys.length; j++)
+				ret.set(r, j, e.getKey().get(j));
+			for(int j = 0; j < fns.length; j++) {
+				final int jj = j;
+				double[] v = e.getValue().stream().mapToDouble(x -> x[jj]).toArray();
+				ret.set(r, keys.length + j, aggregate(v, fns[j]));
+			}
+			r++;
+		}
+		return ret;
+	}
+
+	private static double aggregate(double[] v, AggFn fn) {
+		double mean = Arrays.stream(v).average().orElse(Double.NaN);
+		switch(fn) {
+			case SUM:
+				return Arrays.stream(v).sum();
+			case COUNT:
+				return v.length;
+			case MIN:
+				return Arrays.stream(v).min().getAsDouble();
+			case MAX:
+				return Arrays.stream(v).max().getAsDouble();
+			case MEAN:
+				return mean;
+			default:
+				return v.length == 1 ? 0 : Arrays.stream(v).map(x -> (x - mean) * (x - mean)).sum() / (v.length - 1);
+		}
+	}
+
+	private static MatrixBlock create(int rows, int cols, int distinct, int seed) {
+		return TestUtils.round(TestUtils.generateTestMatrixBlock(rows, cols, 1, distinct, 1.0, seed));
+	}
+}
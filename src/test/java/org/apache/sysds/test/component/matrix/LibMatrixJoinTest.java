@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.matrix.data.LibMatrixJoin;
+import org.apache.sysds.runtime.matrix.data.LibMatrixJoin.JoinType;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class LibMatrixJoinTest {
+
+	@Test
+	public void innerJoinSmallRight() {
+		compare(create(10000, 3, 50, 1), create(200, 2, 50, 2), new int[] {0}, new int[] {1}, JoinType.INNER);
+	}
+
+	@Test
+	public void innerJoinSmallLeft() {
+		compare(create(200, 2, 50, 3), create(10000, 3, 50, 4), new int[] {1}, new int[] {0}, JoinType.INNER);
+	}
+
+	@Test
+	public void leftJoinSmallRight() {
+		compare(create(10000, 3, 80, 5), create(100, 2, 40, 6), new int[] {0}, new int[] {0}, JoinType.LEFT);
+	}
+
+	@Test
+	public void leftJoinSmallLeft() {
+		compare(create(100, 2, 80, 7), create(10000, 3, 40, 8), new int[] {0}, new int[] {0}, JoinType.LEFT);
+	}
+
+	@Test
+	public void semiJoin() {
+		compare(create(10000, 3, 80, 9), create(300, 2, 40, 10), new int[] {2}, new int[] {1}, JoinType.SEMI);
+		compare(create(300, 3, 80, 11), create(10000, 2, 40, 12), new int[] {2}, new int[] {1}, JoinType.SEMI);
+	}
+
+	@Test
+	public void multiKeyJoin() {
+		compare(create(5000, 4, 5, 13), create(500, 3, 5, 14), new int[] {0, 3}, new int[] {2, 1}, JoinType.INNER);
+		compare(create(500, 4, 5, 15), create(5000, 3, 5, 16), new int[] {0, 3}, new int[] {2, 1}, JoinType.LEFT);
+	}
+
+	@Test
+	public void sparseInputs() {
+		MatrixBlock a = TestUtils.round(TestUtils.generateTestMatrixBlock(1000, 50, 0, 10, 0.05, 17));
+		MatrixBlock b = TestUtils.round(TestUtils.generateTestMatrixBlock(40, 40, 0, 10, 0.1, 18));
+		compare(a, b, new int[] {3}, new int[] {7}, JoinType.LEFT);
+	}
+
+	@Test
+	public void sparseOutput() {
+		MatrixBlock a = TestUtils.round(TestUtils.generateTestMatrixBlock(3000, 100, 1, 10, 0.02, 21));
+		MatrixBlock b = TestUtils.round(TestUtils.generateTestMatrixBlock(50, 80, 1, 10, 0.05, 22));
+		compare(a, b, new int[] {3}, new int[] {7}, JoinType.INNER);
+		compare(a, b, new int[] {3}, new int[] {7}, JoinType.SEMI);
+		for(int k : new int[] {1, 4}) {
+			MatrixBlock ret = LibMatrixJoin.join(a, b, new int[] {3}, new int[] {7}, JoinType.INNER, k);
+			assertTrue(ret.isInSparseFormat());
+			assertEquals(ret.recomputeNonZeros(), ret.getNonZeros());
+		}
+	}
+
+	@Test
+	public void nanKeysNeverMatch() {
+		MatrixBlock a = new MatrixBlock(3, 1, new double[] {1, Double.NaN, -0.0});
+		MatrixBlock b = new MatrixBlock(3, 1, new double[] {Double.NaN, 0, 1});
+		MatrixBlock ret = LibMatrixJoin.join(a, b, new int[] {0}, new int[] {0}, JoinType.INNER, 1);
+		assertEquals(2, ret.getNumRows());
+		assertEquals(1, ret.get(0, 1), 0);
+		assertEquals(0, ret.get(1, 1), 0);
+	}
+
+	@Test
+	public void emptyResult() {
+		MatrixBlock ret = LibMatrixJoin.join(create(10, 2, 5, 19), new MatrixBlock(3, 2, 7.0), new int[] {0},
+			new int[] {0}, JoinType.INNER, 4);
+		assertEquals(0, ret.getNumRows());
+		assertEquals(4, ret.getNumColumns());
+	}
+
+	@Test
+	public void invalidKeys() {
+		MatrixBlock a = create(10, 2, 5, 20);
+		assertThrows(DMLRuntimeException.class,
+			() -> LibMatrixJoin.join(a, a, new int[] {0}, new int[] {0, 1}, JoinType.INNER, 1));
+		assertThrows(DMLRuntimeException.class,
+			() -> LibMatrixJoin.join(a, a, new int[] {2}, new int[] {0}, JoinType.INNER, 1));
+		assertThrows(DMLRuntimeException.class, () -> JoinType.parse("outer"));
+	}
+
+	private static void compare(MatrixBlock a, MatrixBlock b, int[] lkeys, int[] rkeys, JoinType type) {
+		MatrixBlock expected = nestedLoopJoin(a, b, lkeys, rkeys, type);
+		for(int k : new int[] {1, 4}) {
+			MatrixBlock ret = LibMatrixJoin.join(a, b, lkeys, rkeys, type, k);
+			TestUtils.compareMatrices(expected, ret, 0, type + " k=" + k);
+		}
+	}
+
+	private static MatrixBlock nestedLoopJoin(MatrixBlock a, MatrixBlock b, int[] lkeys, int[] rkeys,
+		JoinType type) {
+		int ncol = a.getNumColumns() + (type == JoinType.SEMI ? 0 : b.getNumColumns());
+		List<double[]> rows = new ArrayList<>();
+		for(int i = 0; i < a.getNumRows(); i++) {
+			boolean matched = false;
+			for(int j = 0; j < b.getNumRows() && !(matched && type == JoinType.SEMI); j++) {
+				boolean eq = true;
+				for(int c = 0; c < lkeys.length; c++)
+					eq &= a.get(i, lkeys[c]) == b.get(j, rkeys[c]);
+				if(eq) {
+					rows.add(concat(a, i, b, j, ncol));
+					matched = true;
+				}
+			}
+			if(!matched && type == JoinType.LEFT)
+				rows.add(concat(a, i, b, -1, ncol));
+		}
+		MatrixBlock ret = new MatrixBlock(rows.size(), ncol, false);
+		for(int i = 0; i < rows.size(); i++)
+			for(int j = 0; j < ncol; j++)
+				ret.set(i, j, rows.get(i)[j]);
+		return ret;
+	}
+
+	private static double[] concat(MatrixBlock a, int i, MatrixBlock b, int j, int ncol) {
+		double[] row = new double[ncol];
+		for(int c = 0; c < a.getNumColumns(); c++)
+			row[c] = a.get(i, c);
+		for(int c = a.getNumColumns(); c < ncol; c++)
+			row[c] = (j < 0) ? Double.NaN : b.get(j, c - a.getNumColumns());
+		return row;
+	}
+
+	private static MatrixBlock create(int rows, int cols, int distinct, int seed) {
+		return TestUtils.round(TestUtils.generateTestMatrixBlock(rows, cols, 1, distinct, 1.0, seed));
+	}
+}
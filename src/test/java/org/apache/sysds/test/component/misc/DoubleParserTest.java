@@ -21,6 +21,8 @@ package org.apache.sysds.test.component.misc;
 
 import static org.junit.Assert.assertEquals;
 
+import java.nio.charset.StandardCharsets;
+
 import org.apache.sysds.utils.DoubleParser;
 import org.junit.Test;
 
@@ -172,11 +174,48 @@ public class DoubleParserTest {
 		parse("      ");
 	}
 
+	@Test(expected = Exception.class)
+	public void invalidBytes() {
+		parseBytes("0ds");
+	}
+
+	@Test(expected = Exception.class)
+	public void parseBytesErrorWithMultipleDots() {
+		parseBytes("132.14.13");
+	}
+
+	@Test(expected = Exception.class)
+	public void parseBytesSignOnly() {
+		parseBytes("-");
+	}
+
+	@Test(expected = Exception.class)
+	public void parseBytesEmptyExponent() {
+		parseBytes("12e");
+	}
+
+	@Test
+	public void parseBytesWithTrailingWhitespace() {
+		assertEquals(-132.14, parseBytes(" -132.14 \r"), 0.00);
+	}
+
+	@Test
+	public void parseBytesRange() {
+		byte[] buf = "1.5,-2e3,7".getBytes(StandardCharsets.US_ASCII);
+		assertEquals(-2e3, DoubleParser.parseFloatingPointLiteral(buf, 4, 8), 0.00);
+	}
+
 	private void compareToDoubleParser(String s) {
 		assertEquals(Double.parseDouble(s), parse(s), 0.00);
+		assertEquals(Double.parseDouble(s), parseBytes(s), 0.00);
 	}
 
 	private double parse(String s) {
 		return DoubleParser.parseFloatingPointLiteral(s, 0, s.length());
 	}
+
+	private double parseBytes(String s) {
+		byte[] buf = s.getBytes(StandardCharsets.US_ASCII);
+		return DoubleParser.parseFloatingPointLiteral(buf, 0, buf.length);
+	}
 }
@@ -64,6 +64,11 @@ public class BuiltinRaJoinTest extends AutomatedTestBase
 		testRaJoinTestwithDifferentColumn("hash2");
 	}
 	
+	@Test
+	public void testRaJoinTestwithDifferentColumn4() {
+		testRaJoinTestwithDifferentColumn("native");
+	}
+	
 	@Test
 	public void testRaJoinTestwithDifferentColumn21() {
 		testRaJoinTestwithDifferentColumn2("nested-loop");
@@ -93,6 +98,11 @@ public class BuiltinRaJoinTest extends AutomatedTestBase
 		testRaJoinTestwithNoMatchingRows("hash2");
 	}
 	
+	@Test
+	public void testRaJoinTestwithNoMatchingRows4() {
+		testRaJoinTestwithNoMatchingRows("native");
+	}
+	
 	@Test
 	public void testRaJoinTestwithAllMatchingRows1() {
 		testRaJoinTestwithAllMatchingRows("nested-loop");
@@ -132,6 +142,11 @@ public class BuiltinRaJoinTest extends AutomatedTestBase
 	public void testRaJoinTestwithOneToMany4() {
 		testRaJoinTestwithOneToMany("hash2");
 	}
+
+	@Test
+	public void testRaJoinTestwithOneToMany5() {
+		testRaJoinTestwithOneToMany("native");
+	}
 	
 	
 	private void testRaJoinTest(String method) {
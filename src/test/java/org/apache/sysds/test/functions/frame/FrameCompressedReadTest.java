@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.frame;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.util.UtilFunctions;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class FrameCompressedReadTest extends AutomatedTestBase {
+	private final static String TEST_NAME = "FrameCompressedRead";
+	private final static String TEST_DIR = "functions/frame/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + FrameCompressedReadTest.class.getSimpleName() + "/";
+
+	private final static int rows = 2000;
+	private final static ValueType[] schema = new ValueType[] {ValueType.STRING, ValueType.FP64, ValueType.STRING};
+
+	private String _config = null;
+
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"R"}));
+	}
+
+	@Test
+	public void testLeftIndexingRbindCompression() {
+		// frame compression of CLA may narrow value types (e.g., FP64 to INT32)
+		runFrameCompressedReadTest("SystemDS-config-compress.xml", false);
+	}
+
+	@Test
+	public void testLeftIndexingRbindCompressedFrameRead() {
+		runFrameCompressedReadTest("SystemDS-config-compress-read.xml", true);
+	}
+
+	private void runFrameCompressedReadTest(String config, boolean sameSchema) {
+		_config = config;
+		try {
+			getAndLoadTestConfiguration(TEST_NAME);
+
+			// low-cardinality string columns, which qualify for dictionary encoding
+			FrameBlock in = new FrameBlock(schema);
+			for(int i = 0; i < rows; i++)
+				in.appendRow(new Object[] {"a" + (i % 7), (double) i, String.valueOf((char) ('a' + i % 5))});
+			writeInputFrameWithMTD("F", in, false, schema, FileFormat.BINARY);
+
+			fullDMLScriptName = SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml";
+			programArgs = new String[] {"-args", input("F"), output("R")};
+			runTest(true, false, null, -1);
+
+			FrameBlock expected = new FrameBlock(schema);
+			for(int i = 0; i < 2 * rows; i++) {
+				int r = i % rows;
+				expected.appendRow(new Object[] {(i < 10) ? in.get(i + 10, 2) : in.get(r, 0), in.get(r, 1), in.get(r, 2)});
+			}
+			FrameBlock ret = readDMLFrameFromHDFS("R", FileFormat.BINARY);
+			if(sameSchema) {
+				assertArrayEquals(schema, ret.getSchema());
+				TestUtils.compareFrames(expected, ret, true);
+			}
+			else {
+				assertEquals(expected.getNumRows(), ret.getNumRows());
+				for(int i = 0; i < expected.getNumRows(); i++) {
+					assertEquals(expected.get(i, 0), String.valueOf(ret.get(i, 0)));
+					assertEquals((double) expected.get(i, 1), UtilFunctions.objectToDouble(ret.getSchema()[1], ret.get(i, 1)), 0);
+					assertEquals(expected.get(i, 2), String.valueOf(ret.get(i, 2)));
+				}
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			_config = null;
+		}
+	}
+
+	@Override
+	protected File getConfigTemplateFile() {
+		return (_config != null) ? new File(SCRIPT_DIR + TEST_DIR, _config) : super.getConfigTemplateFile();
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.io.parquet;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.FrameReaderFactory;
+import org.apache.sysds.runtime.io.FrameWriterParquet;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class ReadParquetProjectionTest extends AutomatedTestBase {
+	private final static String TEST_NAME1 = "ReadParquetProjection";
+	private final static String TEST_NAME2 = "ReadParquetProjectionMatrix";
+	private final static String TEST_DIR = "functions/io/parquet/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ReadParquetProjectionTest.class.getSimpleName() + "/";
+
+	private final static int rows = 1200;
+	private final static ValueType[] schema = new ValueType[] {ValueType.FP64, ValueType.INT64, ValueType.STRING,
+		ValueType.BOOLEAN};
+	private final static String[] names = new String[] {"a", "b", "c", "d"};
+
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] {"F"}));
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] {"X"}));
+	}
+
+	@Test
+	public void testFrameProjection() throws Exception {
+		getAndLoadTestConfiguration(TEST_NAME1);
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(rows, schema, 7);
+		fb.setColumnNames(names);
+		new FrameWriterParquet().writeFrameToHDFS(fb, input("F"), rows, schema.length);
+
+		fullDMLScriptName = SCRIPT_DIR + TEST_DIR + TEST_NAME1 + ".dml";
+		programArgs = new String[] {"-args", input("F"), output("F")};
+		runTest(true, false, null, -1);
+
+		ValueType[] pschema = new ValueType[] {schema[1], schema[3]};
+		FrameBlock ret = FrameReaderFactory.createFrameReader(FileFormat.BINARY)
+			.readFrameFromHDFS(output("F"), pschema, rows, 2);
+		assertArrayEquals(pschema, ret.getSchema());
+		for(int i = 0; i < rows; i++) {
+			assertArrayEquals(new Object[] {fb.get(i, 1), fb.get(i, 3)}, new Object[] {ret.get(i, 0), ret.get(i, 1)});
+		}
+	}
+
+	@Test
+	public void testMatrixProjectionRejected() throws Exception {
+		getAndLoadTestConfiguration(TEST_NAME2);
+		fullDMLScriptName = SCRIPT_DIR + TEST_DIR + TEST_NAME2 + ".dml";
+		programArgs = new String[] {"-args", input("X"), output("X")};
+		runTest(true, true, null, -1);
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.rewrite;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.lops.RightIndex;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.Statistics;
+
+public class RewritePushdownReadIndexingTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "RewritePushdownReadIndexing";
+	private final static String TEST_DIR = "functions/rewrite/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + RewritePushdownReadIndexingTest.class.getSimpleName() + "/";
+
+	private final static int rows = 200;
+	private final static int cols = 20;
+	private final static int blen = 16;
+
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"A", "B", "R"}) );
+	}
+
+	@Test
+	public void testPushdownReadIndexingBinary() {
+		runPushdownReadIndexingTest(FileFormat.BINARY, true, ExecMode.HYBRID);
+	}
+
+	@Test
+	public void testPushdownReadIndexingCSV() {
+		runPushdownReadIndexingTest(FileFormat.CSV, true, ExecMode.HYBRID);
+	}
+
+	@Test
+	public void testPushdownReadIndexingBinaryRecompile() {
+		runPushdownReadIndexingTest(FileFormat.BINARY, true, ExecMode.SINGLE_NODE);
+	}
+
+	@Test
+	public void testPushdownReadIndexingCSVRecompile() {
+		runPushdownReadIndexingTest(FileFormat.CSV, true, ExecMode.SINGLE_NODE);
+	}
+
+	@Test
+	public void testNoPushdownReadIndexingBinary() {
+		runPushdownReadIndexingTest(FileFormat.BINARY, false, ExecMode.HYBRID);
+	}
+
+	@Test
+	public void testNoPushdownReadIndexingCSV() {
+		runPushdownReadIndexingTest(FileFormat.CSV, false, ExecMode.HYBRID);
+	}
+
+	private void runPushdownReadIndexingTest(FileFormat fmt, boolean rewrites, ExecMode mode) {
+		ExecMode oldMode = setExecMode(mode);
+		boolean oldFlag = OptimizerUtils.ALLOW_PUSHDOWN_READ_INDEXING;
+		boolean oldSplit = OptimizerUtils.ALLOW_SPLIT_HOP_DAGS;
+		try {
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			OptimizerUtils.ALLOW_PUSHDOWN_READ_INDEXING = rewrites;
+			//keep removeEmpty in the block of the read, which is then recompiled at runtime
+			//in singlenode (unknown output size), while hybrid checks for CP reblocks of the read
+			OptimizerUtils.ALLOW_SPLIT_HOP_DAGS = false;
+
+			//input with empty rows in the second slice (removed by removeEmpty)
+			MatrixBlock X = TestUtils.round(TestUtils.generateTestMatrixBlock(rows, cols, 1, 9, 0.7, 7));
+			for( int i = 110; i < 115; i++ )
+				for( int j = 0; j < cols; j++ )
+					X.set(i, j, 0);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, blen, X.recomputeNonZeros());
+			if( fmt == FileFormat.BINARY )
+				writeBinaryWithMTD("X", X, mc);
+			else
+				writeCSVMatrix("X", DataConverter.convertToDoubleMatrix(X), false, mc);
+
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-explain", "recompile_runtime", "-stats", "-args",
+				input("X"), output("A"), output("B"), output("R"), fmt.toString().toLowerCase()};
+
+			setOutputBuffering(true);
+			String out = runTest(null).toString();
+
+			//check results (slice written as slice and not as copy of the source file)
+			MatrixBlock A = X.slice(10, 59, 2, 6);
+			MatrixBlock B = X.slice(100, 149, 0, 9).removeEmptyOperations(new MatrixBlock(), true, false, null);
+			TestUtils.compareMatrices(A, readOutput("A", fmt, 50, 5), 0, "A");
+			TestUtils.compareMatrices(B, readOutput("B", fmt, 45, 10), 0, "B");
+			Assert.assertEquals(X.sum(), readOutput("R", fmt, 1, 1).get(0, 0), 1e-10);
+
+			//check applied rewrite, incl. the read range of the recompiled block
+			String recompiled = out.substring(out.indexOf("EXPLAIN RECOMPILE"));
+			Assert.assertEquals(rewrites, out.contains("pRANGE=10,59,2,6,200,20,"));
+			Assert.assertEquals(rewrites, out.contains("pRANGE=100,149,0,9,200,20,"));
+			Assert.assertEquals(rewrites && mode == ExecMode.SINGLE_NODE,
+				recompiled.contains("pRANGE=100,149,0,9,200,20,"));
+			Assert.assertEquals(rewrites ? 0 : 2, Statistics.getCPHeavyHitterCount(RightIndex.OPCODE));
+		}
+		finally {
+			OptimizerUtils.ALLOW_PUSHDOWN_READ_INDEXING = oldFlag;
+			OptimizerUtils.ALLOW_SPLIT_HOP_DAGS = oldSplit;
+			resetExecMode(oldMode);
+		}
+	}
+
+	private MatrixBlock readOutput(String name, FileFormat fmt, int rlen, int clen) {
+		try {
+			return DataConverter.readMatrixFromHDFS(output(name), fmt, rlen, clen, OptimizerUtils.DEFAULT_BLOCKSIZE);
+		}
+		catch(Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -21,12 +21,16 @@ package org.apache.sysds.test.functions.transform;
 
 import org.apache.sysds.common.Types;
 import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
 import org.apache.sysds.runtime.io.FrameReaderFactory;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.transform.tokenize.Tokenizer;
 import org.apache.sysds.runtime.transform.tokenize.TokenizerFactory;
+import org.apache.sysds.runtime.transform.tokenize.TokenizerSparse;
 import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.UtilFunctions;
 import org.apache.sysds.test.AutomatedTestBase;
 import org.apache.sysds.test.TestConfiguration;
 import org.apache.sysds.test.TestUtils;
@@ -134,6 +138,77 @@ public class TokenizeMultithreadedTest extends AutomatedTestBase  {
 			2000, true, ngram_algo_params0, hash_out_params0);
 	}
 
+	@Test
+	public void testTokenizeSplitHashSparse() {
+		runTokenizeSparseTest(TokenizerBuilder.WHITESPACE_SPLIT, 2000, null);
+	}
+
+	@Test
+	public void testTokenizeNgramHashSparse() {
+		runTokenizeSparseTest(TokenizerBuilder.NGRAM, 2000, ngram_algo_params0);
+	}
+
+	@Test
+	public void testTokenizeNgramTokenHashSparseMaxTokens() {
+		JsonObject algoParams = Json.createObjectBuilder().add("min_gram", 1).add("max_gram", 3)
+			.add("ngram_type", "token").build();
+		runTokenizeSparseTest(TokenizerBuilder.NGRAM, 20, algoParams);
+	}
+
+	@Test
+	public void testTokenizeHashSparseLeadingDelimiters() {
+		// leading, repeated, and trailing delimiters (incl. a document of only delimiters)
+		String[] texts = new String[] {" a b", "  a  b ", "\tb a\n", "   ", "a", "", ",a,,b", ",,", "a b, "};
+		String[][] data = new String[texts.length][];
+		for(int i = 0; i < texts.length; i++)
+			data[i] = new String[] {"x", String.valueOf(i), "y", texts[i]};
+		FrameBlock input = new FrameBlock(UtilFunctions.nCopies(4, ValueType.STRING), data);
+		JsonObject regex = Json.createObjectBuilder().add("regex", "[\\s,]+").build();
+		JsonObject ngram = Json.createObjectBuilder().add("min_gram", 1).add("max_gram", 2).build();
+		compareSparseToHash(input, createTokenizerSpec(TokenizerBuilder.WHITESPACE_SPLIT, TokenizerApplier.HASH,
+			false, null, hash_out_params0), 2000);
+		compareSparseToHash(input, createTokenizerSpec(TokenizerBuilder.WHITESPACE_SPLIT, TokenizerApplier.HASH,
+			false, regex, hash_out_params0), 2000);
+		compareSparseToHash(input, createTokenizerSpec(TokenizerBuilder.NGRAM, TokenizerApplier.HASH,
+			false, ngram, hash_out_params0), 2000);
+	}
+
+	private void runTokenizeSparseTest(TokenizerBuilder builder, int max_tokens, JsonObject algo_params) {
+		try{
+			getAndLoadTestConfiguration(this.getClass().getSimpleName());
+			FileFormatPropertiesCSV props = new FileFormatPropertiesCSV();
+			props.setHeader(false);
+			FrameBlock input = FrameReaderFactory.createFrameReader(Types.FileFormat.CSV, props)
+				.readFrameFromHDFS(DATASET_DIR+DATASET, -1L, -1L);
+			String spec = createTokenizerSpec(builder, TokenizerApplier.HASH, false, algo_params, hash_out_params0);
+			compareSparseToHash(input, spec, max_tokens);
+		} catch (Exception ex){
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static void compareSparseToHash(FrameBlock input, String spec, int max_tokens) {
+		FrameBlock expected = TokenizerFactory.createTokenizer(spec, max_tokens).tokenize(input, 1);
+		TokenizerSparse tokenizer = TokenizerFactory.createSparseTokenizer(spec, max_tokens);
+		for(int k : new int[] {1, 12}) {
+			MatrixBlock out = tokenizer.tokenize(input, k);
+			Assert.assertEquals(input.getNumRows(), out.getNumRows());
+			Assert.assertEquals(128, out.getNumColumns());
+			Assert.assertEquals(expected.getNumRows(), out.getNonZeros());
+			// long format lists the hashed features of each document in ascending order
+			int row = 0;
+			for(int i = 0; i < out.getNumRows(); i++) {
+				for(int j = 0; j < out.getNumColumns(); j++) {
+					if(out.get(i, j) == 0)
+						continue;
+					Assert.assertEquals((long) j + 1, expected.get(row, 2));
+					Assert.assertEquals((long) out.get(i, j), expected.get(row, 3));
+					row++;
+				}
+			}
+		}
+	}
+
 	private void runTokenizeTest(ExecMode rt, TokenizerBuilder builder, TokenizerApplier applier,
 		int max_tokens, boolean format_wide, JsonObject algo_params, JsonObject out_params) {
 		try{
@@ -19,11 +19,15 @@
 
 package org.apache.sysds.test.functions.transform;
 
+import java.util.HashMap;
+
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
 import org.apache.sysds.test.AutomatedTestBase;
 import org.apache.sysds.test.TestConfiguration;
 import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
 import org.junit.Test;
 
 public class TokenizeTest extends AutomatedTestBase {
@@ -34,6 +38,8 @@ public class TokenizeTest extends AutomatedTestBase {
 	private static final String TEST_NGRAM_POS_LONG = "tokenize/TokenizeNgramPosLong";
 	private static final String TEST_NGRAM_POS_WIDE = "tokenize/TokenizeNgramPosWide";
 	private static final String TEST_UNI_HASH_WIDE = "tokenize/TokenizeUniHashWide";
+	private static final String TEST_HASH_SPARSE = "tokenize/TokenizeHashSparse";
+	private static final String TEST_HASH_SPARSE_READ = "tokenize/TokenizeHashSparseRead";
 
 	// dataset and transform tasks without missing values
 	private final static String DATASET = "20news/20news_subset_untokenized.csv";
@@ -49,6 +55,10 @@ public class TokenizeTest extends AutomatedTestBase {
 			new TestConfiguration(TEST_CLASS_DIR, TEST_NGRAM_POS_WIDE, new String[] {"R"}));
 		addTestConfiguration(TEST_UNI_HASH_WIDE,
 			new TestConfiguration(TEST_CLASS_DIR, TEST_UNI_HASH_WIDE, new String[] {"R"}));
+		addTestConfiguration(TEST_HASH_SPARSE,
+			new TestConfiguration(TEST_CLASS_DIR, TEST_HASH_SPARSE, new String[] {"R"}));
+		addTestConfiguration(TEST_HASH_SPARSE_READ,
+			new TestConfiguration(TEST_CLASS_DIR, TEST_HASH_SPARSE_READ, new String[] {"R"}));
 	}
 
 	@Test
@@ -173,6 +183,43 @@ public class TokenizeTest extends AutomatedTestBase {
 		runTokenizeTest(ExecMode.HYBRID, TEST_UNI_HASH_WIDE, true);
 	}
 
+	@Test
+	public void testTokenizeHashSparseConstantSpec() {
+		ExecMode oldMode = setExecMode(ExecMode.SINGLE_NODE);
+		try {
+			getAndLoadTestConfiguration(TEST_HASH_SPARSE);
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_HASH_SPARSE + ".dml";
+			programArgs = new String[] {"-args", DATASET_DIR + DATASET, output("R")};
+			runTest(true, false, null, -1);
+
+			// matrix output of documents x num_features (typed at compile time)
+			HashMap<CellIndex, Double> R = readDMLMatrixFromOutputDir("R");
+			Assert.assertEquals(1, R.get(new CellIndex(1, 1)), 0);
+			Assert.assertEquals(128, R.get(new CellIndex(1, 2)), 0);
+			Assert.assertEquals(1, R.get(new CellIndex(1, 3)), 0);
+		}
+		finally {
+			resetExecMode(oldMode);
+		}
+	}
+
+	@Test
+	public void testTokenizeHashSparseUnknownSpec() {
+		ExecMode oldMode = setExecMode(ExecMode.SINGLE_NODE);
+		try {
+			// spec read at runtime, where the frame output cannot honor format_sparse
+			getAndLoadTestConfiguration(TEST_HASH_SPARSE_READ);
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_HASH_SPARSE_READ + ".dml";
+			programArgs = new String[] {"-args", DATASET_DIR + DATASET, HOME + TEST_HASH_SPARSE + ".json", output("R")};
+			runTest(true, true, null, -1);
+		}
+		finally {
+			resetExecMode(oldMode);
+		}
+	}
+
 	private void runTokenizeTest(ExecMode rt, String test_name, boolean parRead) {
 		// set runtime platform
 		ExecMode rtold = rtplatform;
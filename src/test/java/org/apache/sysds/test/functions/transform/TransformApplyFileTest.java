@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class TransformApplyFileTest extends AutomatedTestBase {
+	private final static String TEST_NAME1 = "TransformApplyFile1";
+	private final static String TEST_NAME2 = "TransformApplyFile2";
+
+	private final static String TEST_DIR = "functions/transform/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + TransformApplyFileTest.class.getSimpleName() + "/";
+
+	private final static String DATASET = "homes3/homes.csv";
+	private final static String SPEC = "homes3/homes.tfspec_recode.json";
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] {"tfout"}));
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] {"tfout"}));
+	}
+
+	@Test
+	public void testUnusedResult() {
+		runTransformApplyFileTest(TEST_NAME1, false);
+	}
+
+	@Test
+	public void testUnusedResultLineageReuse() {
+		runTransformApplyFileTest(TEST_NAME1, true);
+	}
+
+	@Test
+	public void testUnusedFunctionResult() {
+		runTransformApplyFileTest(TEST_NAME2, false);
+	}
+
+	@Test
+	public void testUnusedFunctionResultLineageReuse() {
+		runTransformApplyFileTest(TEST_NAME2, true);
+	}
+
+	private void runTransformApplyFileTest(String testname, boolean reuse) {
+		try {
+			getAndLoadTestConfiguration(testname);
+			HDFSTool.deleteFileIfExistOnHDFS(output("tfout"));
+
+			fullDMLScriptName = SCRIPT_DIR + TEST_DIR + testname + ".dml";
+			String[] args = new String[] {"-nvargs", "DATA=" + DATASET_DIR + DATASET, "TFSPEC=" + DATASET_DIR + SPEC,
+				"TFDATA=" + output("tfout"), "EXP=" + output("exp")};
+			programArgs = reuse ? ArrayUtils.addAll(new String[] {"-stats", "-lineage",
+				ReuseCacheType.REUSE_FULL.name().toLowerCase()}, args) : args;
+			runTest(true, false, null, -1);
+
+			// the streaming encode must have been executed despite its unused result
+			assertTrue(HDFSTool.existsFileOnHDFS(output("tfout")));
+			MatrixBlock expected = DataConverter.readMatrixFromHDFS(output("exp"), FileFormat.CSV, -1, -1, 1000);
+			MatrixBlock actual = DataConverter.readMatrixFromHDFS(output("tfout"), FileFormat.CSV, -1, -1, 1000);
+			assertEquals(expected.getNumRows(), actual.getNumRows());
+			TestUtils.compareMatrices(expected, actual, 0, testname);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
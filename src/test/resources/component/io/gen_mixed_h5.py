@@ -0,0 +1,121 @@
+#-------------------------------------------------------------
+#
+# Licensed to the Apache Software Foundation (ASF) under one
+# or more contributor license agreements.  See the NOTICE file
+# distributed with this work for additional information
+# regarding copyright ownership.  The ASF licenses this file
+# to you under the Apache License, Version 2.0 (the
+# "License"); you may not use this file except in compliance
+# with the License.  You may obtain a copy of the License at
+#
+#   http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing,
+# software distributed under the License is distributed on an
+# "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+# KIND, either express or implied.  See the License for the
+# specific language governing permissions and limitations
+# under the License.
+#
+#-------------------------------------------------------------
+
+# Generates mixed.h5, the test file of HDF5IOTest with chunked, compressed,
+# integer, float32, compact, and sparse (CSR) datasets. The file uses the
+# earliest file format (superblock v0, v1 object headers, symbol tables)
+# as supported by the SystemDS HDF5 reader.
+#
+# Usage: python gen_mixed_h5.py [path]  (requires numpy and h5py)
+
+import os
+import sys
+import numpy as np
+import h5py
+
+
+def gen_chunked(f):
+    # 100 x 37 with 8 x 10 chunks (incl. partial edge chunks), shuffle + deflate
+    i, j = np.indices((100, 37))
+    X = np.where((i * 37 + j) % 11 == 0, 0, i + j / 100.0)
+    f.create_dataset("X", data=X, chunks=(8, 10), shuffle=True, compression="gzip", compression_opts=6)
+
+    # 300 x 20 with 4 x 5 chunks, i.e., 300 chunks over multiple b-tree nodes
+    B = np.arange(300 * 20, dtype=np.float64).reshape(300, 20)
+    f.create_dataset("B", data=B, chunks=(4, 5), compression="gzip", compression_opts=6)
+
+    # int32 with shuffle + deflate + fletcher32 checksums
+    i, j = np.indices((50, 6))
+    f.create_dataset("I32", data=(i * 6 - j * 7).astype(np.int32), chunks=(16, 4),
+                     shuffle=True, compression="gzip", compression_opts=6, fletcher32=True)
+
+    # 1-dimensional vector
+    V = np.arange(40, dtype=np.float64) * 1.5
+    f.create_dataset("V", data=V, chunks=(7,), compression="gzip", compression_opts=6)
+
+    # 10 x 10 with 5 x 5 chunks, where only the diagonal chunks are written
+    # and all other chunks remain unallocated (i.e., read as fill value)
+    M = f.create_dataset("M", shape=(10, 10), dtype=np.float64, chunks=(5, 5), fillvalue=-1)
+    T = ten_by_ten()
+    M[0:5, 0:5] = T[0:5, 0:5]
+    M[5:10, 5:10] = T[5:10, 5:10]
+
+
+def gen_contiguous(f):
+    # big-endian int64 with values beyond the int32 range
+    i, j = np.indices((20, 3))
+    f.create_dataset("I64BE", data=((i - 10) * 1000000000007 + j).astype(">i8"))
+
+    i, j = np.indices((30, 4))
+    f.create_dataset("F32", data=((i * 4 + j) * 0.5).astype(np.float32))
+
+    # object header continuation: attributes overflow the initial header, which
+    # is then continued in a separate block; removing the attributes again
+    # leaves the dataset messages split across both header blocks
+    C = f.create_dataset("C", data=ten_by_ten())
+    for k in range(64):
+        C.attrs["attr%02d" % k] = np.arange(16, dtype=np.float64) + k
+    for k in range(64):
+        del C.attrs["attr%02d" % k]
+
+
+def gen_compact(f):
+    # compact layout (data stored in the object header) via the low-level api
+    U8 = np.array([[250 + i + j for j in range(2)] for i in range(5)], dtype=np.uint8)
+    dcpl = h5py.h5p.create(h5py.h5p.DATASET_CREATE)
+    dcpl.set_layout(h5py.h5d.COMPACT)
+    space = h5py.h5s.create_simple(U8.shape)
+    dsid = h5py.h5d.create(f.id, b"U8", h5py.h5t.STD_U8LE, space, dcpl=dcpl)
+    dsid.write(h5py.h5s.ALL, h5py.h5s.ALL, U8)
+
+
+def gen_sparse(f):
+    # scipy-style CSR group with shape attribute, int32 indices, int64 indptr
+    g = f.create_group("grp").create_group("csr")
+    g.create_dataset("data", data=np.array([1.5, 2, 3, 4, 5, 6, 7.25], dtype=np.float64))
+    g.create_dataset("indices", data=np.array([1, 4, 0, 2, 3, 4, 4], dtype=np.int32))
+    g.create_dataset("indptr", data=np.array([0, 2, 2, 3, 6, 6, 7], dtype=np.int64))
+    g.attrs["shape"] = np.array([6, 5], dtype=np.int64)
+
+    # CSR group without shape attribute and unsorted column indices
+    g = f.create_group("csr2")
+    g.create_dataset("data", data=np.array([1, 4, 2], dtype=np.float64))
+    g.create_dataset("indices", data=np.array([2, 0, 3], dtype=np.int64))
+    g.create_dataset("indptr", data=np.array([0, 2, 2, 3], dtype=np.int32))
+
+
+def ten_by_ten():
+    return np.arange(100, dtype=np.float64).reshape(10, 10)
+
+
+def main():
+    path = sys.argv[1] if len(sys.argv) > 1 else \
+        os.path.join(os.path.dirname(os.path.abspath(__file__)), "mixed.h5")
+    with h5py.File(path, "w", libver="earliest") as f:
+        gen_chunked(f)
+        gen_contiguous(f)
+        gen_compact(f)
+        gen_sparse(f)
+    print("Saved " + path)
+
+
+if __name__ == '__main__':
+    main()